@@ -17,10 +17,13 @@
 package ai.metaheuristic.commons.spi;
 
 import ai.metaheuristic.commons.yaml.task.TaskParamsYaml;
+import org.jspecify.annotations.Nullable;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.sql.SQLException;
+import java.util.Collection;
+import java.util.function.BooleanSupplier;
 import java.util.function.Consumer;
 
 /**
@@ -34,6 +37,13 @@ public interface DispatcherBlobStorage {
 
     InputStream getVariableDataAsStreamById(Long variableBlobId);
 
+    // Ranged read of variable's data, without materializing the whole variable in a temp file.
+    // null means that backend doesn't support random access and data must be accessed via accessVariableData()
+    @Nullable
+    default VariableDataRange getVariableDataRange(Long variableBlobId, long offset, long maxLength) throws SQLException, IOException {
+        return null;
+    }
+
     void storeVariableData(Long variableBlobId, InputStream is, long size);
 
     // Immutability (WORM): create the VariableBlob and store its data in one operation, returning the new id.
@@ -56,6 +66,30 @@ public interface DispatcherBlobStorage {
     void storeCacheVariableData(Long cacheVariableId, InputStream is, long size) throws IOException;
 
     void accessCacheVariableData(Long cacheVariableId, Consumer<InputStream> processBlobDataFunc) throws SQLException, IOException;
+
+    // Methods below are for backends which share data between records and count references to it.
+    // A backend which copies data for every record keeps the default implementations.
+
+    // Points the cache variable to data of variable blob without copying the data.
+    // false means that data must be stored via storeCacheVariableData()
+    default boolean linkCacheVariableData(Long cacheVariableId, Long variableBlobId) {
+        return false;
+    }
+
+    // Called after records of MH_VARIABLE were deleted, within the same transaction.
+    // A blob which is still referenced by another variable, i.e. by a clone of execContext, must be kept
+    default void releaseVariableData(Collection<Long> variableBlobIds) {
+    }
+
+    // Called before records of MH_CACHE_VARIABLE are deleted, within the same transaction
+    default void releaseCacheVariableData(Collection<Long> cacheVariableIds) {
+    }
+
+    // Deletes data which isn't referenced anymore, returns the number of deleted blobs.
+    // isInterrupted is checked between blobs, so a long reclaiming can be stopped
+    default int reclaimUnreferencedData(BooleanSupplier isInterrupted) {
+        return 0;
+    }
 }
 
 
@@ -0,0 +1,106 @@
+/*
+ * Metaheuristic, Copyright (C) 2017-2025, Innovation platforms, LLC
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package ai.metaheuristic.commons.spi;
+
+import org.apache.commons.io.input.BoundedInputStream;
+import org.jspecify.annotations.Nullable;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A byte range of variable's data, which can be streamed without materializing the whole variable.
+ *
+ * <p>File-backed range is read with a positioned FileChannel, so nothing before the offset is read
+ * and the file is opened only when {@link #getInputStream()} is called.
+ * Bytes-backed range holds the data of range itself, it's used by backends which can read a range
+ * only within a transaction, i.e. LOBs in database.
+ *
+ * @author Serge
+ * Date: 10/18/2026
+ * Time: 4:05 PM
+ */
+public final class VariableDataRange {
+
+    public final long totalSize;
+    public final long offset;
+    public final long length;
+
+    @Nullable
+    private final Path path;
+    @Nullable
+    private final byte[] bytes;
+
+    private VariableDataRange(long totalSize, long offset, long length, @Nullable Path path, @Nullable byte[] bytes) {
+        this.totalSize = totalSize;
+        this.offset = offset;
+        this.length = length;
+        this.path = path;
+        this.bytes = bytes;
+    }
+
+    /**
+     * @param maxLength max length of range, the actual length is truncated by the size of file
+     */
+    public static VariableDataRange ofFile(Path path, long offset, long maxLength) throws IOException {
+        long totalSize = Files.size(path);
+        return new VariableDataRange(totalSize, offset, rangeLength(totalSize, offset, maxLength), path, null);
+    }
+
+    public static VariableDataRange ofBytes(byte[] bytes, long offset, long totalSize) {
+        return new VariableDataRange(totalSize, offset, bytes.length, null, bytes);
+    }
+
+    public static long rangeLength(long totalSize, long offset, long maxLength) {
+        if (offset<0 || maxLength<0) {
+            throw new IllegalArgumentException("Negative offset or length, offset: " + offset + ", maxLength: " + maxLength);
+        }
+        return offset>=totalSize ? 0 : Math.min(maxLength, totalSize - offset);
+    }
+
+    public boolean isLast() {
+        return offset + length >= totalSize;
+    }
+
+    public InputStream getInputStream() throws IOException {
+        if (bytes!=null) {
+            return new ByteArrayInputStream(bytes);
+        }
+        if (path==null) {
+            throw new IllegalStateException("(path==null)");
+        }
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            channel.position(offset);
+            return BoundedInputStream.builder()
+                    .setInputStream(Channels.newInputStream(channel))
+                    .setMaxCount(length)
+                    .get();
+        }
+        catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Metaheuristic, Copyright (C) 2017-2025, Innovation platforms, LLC
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package ai.metaheuristic.commons.system;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The last lines of console output of an external process, kept in memory while the output is being received.
+ *
+ * <p>Lines are stored as raw bytes in a ring of fixed size and are decoded only when the tail is requested,
+ * so receiving the output doesn't cost more than searching for line separators.
+ * '\n', '\r' and "\r\n" are line separators, the same as for {@link java.io.BufferedReader#readLine()}.
+ * A line longer than {@link #MAX_LINE_BYTES} is truncated.
+ *
+ * <p>Instance is thread-safe, {@link #getTail()} can be called while the output is still being received.
+ *
+ * @author Serge
+ * Date: 10/18/2026
+ * Time: 6:05 PM
+ */
+public class ConsoleTail {
+
+    public static final int MAX_LINE_BYTES = 64 * 1024;
+
+    private final byte[][] lines;
+    private int first = 0;
+    private int count = 0;
+
+    private final ByteArrayOutputStream current = new ByteArrayOutputStream(256);
+    private boolean prevCR = false;
+    private long totalBytes = 0;
+    private long totalLines = 0;
+
+    public ConsoleTail(int maxLines) {
+        if (maxLines<1) {
+            throw new IllegalArgumentException("maxLines must be positive, actual: " + maxLines);
+        }
+        this.lines = new byte[maxLines][];
+    }
+
+    public synchronized void append(byte[] bytes, int offset, int length) {
+        totalBytes += length;
+        int start = offset;
+        final int end = offset + length;
+        for (int i = offset; i < end; i++) {
+            byte b = bytes[i];
+            if (b!='\n' && b!='\r') {
+                continue;
+            }
+            appendToCurrent(bytes, start, i - start);
+            start = i + 1;
+            if (b=='\n' && prevCR && current.size()==0 && i==offset) {
+                // the second half of "\r\n" which was split between two blocks
+                prevCR = false;
+                continue;
+            }
+            endOfLine();
+            prevCR = b=='\r';
+            if (prevCR && i + 1 < end && bytes[i + 1]=='\n') {
+                prevCR = false;
+                i++;
+                start = i + 1;
+            }
+        }
+        if (start<end) {
+            prevCR = false;
+            appendToCurrent(bytes, start, end - start);
+        }
+    }
+
+    /**
+     * Completes the last line if the output didn't end with a line separator
+     */
+    public synchronized void close() {
+        if (current.size()>0) {
+            endOfLine();
+        }
+    }
+
+    /**
+     * The last lines, each one is trimmed and ends with '\n'. An incomplete last line is included too.
+     */
+    public synchronized String getTail() {
+        StringBuilder sb = new StringBuilder();
+        // an incomplete line takes the place of the eldest one
+        int skip = current.size()>0 && count==lines.length ? 1 : 0;
+        for (int i = skip; i < count; i++) {
+            byte[] line = lines[(first + i) % lines.length];
+            sb.append(new String(line, StandardCharsets.UTF_8).trim()).append('\n');
+        }
+        if (current.size()>0) {
+            sb.append(current.toString(StandardCharsets.UTF_8).trim()).append('\n');
+        }
+        return sb.toString();
+    }
+
+    public synchronized long getTotalBytes() {
+        return totalBytes;
+    }
+
+    public synchronized long getTotalLines() {
+        return totalLines;
+    }
+
+    private void appendToCurrent(byte[] bytes, int offset, int length) {
+        int len = Math.min(length, MAX_LINE_BYTES - current.size());
+        if (len>0) {
+            current.write(bytes, offset, len);
+        }
+    }
+
+    private void endOfLine() {
+        byte[] line = current.toByteArray();
+        current.reset();
+        totalLines++;
+        if (count<lines.length) {
+            lines[(first + count) % lines.length] = line;
+            count++;
+        }
+        else {
+            lines[first] = line;
+            first = (first + 1) % lines.length;
+        }
+    }
+}
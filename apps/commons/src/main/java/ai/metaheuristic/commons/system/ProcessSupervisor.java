@@ -0,0 +1,209 @@
+/*
+ * Metaheuristic, Copyright (C) 2017-2025, Innovation platforms, LLC
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package ai.metaheuristic.commons.system;
+
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.Nullable;
+
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Processor-wide supervisor of external processes.
+ *
+ * <p>All supervised processes share one daemon thread. A deadline is a task scheduled on this thread,
+ * the end of process is observed via {@link Process#onExit()}, so nothing is waiting or sleeping
+ * for a particular process. Interrupters, i.e. a check that execContext was deleted or that the current time
+ * is inside an inactive period of strict schedule, are evaluated right away when {@link #signal()} is called
+ * and once per {@link #CHECK_PERIOD_MILLIS} as a fallback for sources which can't signal.
+ *
+ * <p>Completion latency is the time between the exit of process and the moment when its output was fully
+ * received and the result was ready, see {@link #getStats()}.
+ *
+ * @author Serge
+ * Date: 10/18/2026
+ * Time: 7:15 PM
+ */
+@Slf4j
+public class ProcessSupervisor {
+
+    public static final long CHECK_PERIOD_MILLIS = TimeUnit.SECONDS.toMillis(2);
+
+    public record Stats(long supervised, long terminated, int active, long completed, long completionLatencyMills, long maxCompletionLatencyMills) {}
+
+    private static final ScheduledThreadPoolExecutor executor = createExecutor();
+    private static final Set<Supervised> active = ConcurrentHashMap.newKeySet();
+    private static final AtomicBoolean signalPending = new AtomicBoolean();
+
+    private static final AtomicLong supervisedCount = new AtomicLong();
+    private static final AtomicLong terminatedCount = new AtomicLong();
+    private static final AtomicLong completedCount = new AtomicLong();
+    private static final AtomicLong completionLatencyNanos = new AtomicLong();
+    private static final AtomicLong maxCompletionLatencyNanos = new AtomicLong();
+
+    static {
+        executor.scheduleWithFixedDelay(ProcessSupervisor::checkInterrupters, CHECK_PERIOD_MILLIS, CHECK_PERIOD_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    public static final class Supervised {
+        public final Process process;
+        public final String name;
+        private final List<Supplier<Boolean>> interrupters;
+        private final long startedOn = System.nanoTime();
+        private volatile long exitedOn = 0;
+        private volatile @Nullable ScheduledFuture<?> deadline = null;
+        private final AtomicReference<@Nullable String> terminationReason = new AtomicReference<>();
+        private final AtomicBoolean completed = new AtomicBoolean();
+
+        private Supervised(Process process, String name, List<Supplier<Boolean>> interrupters) {
+            this.process = process;
+            this.name = name;
+            this.interrupters = interrupters;
+        }
+
+        /**
+         * Destroys the process with all its descendants. Only the first call has an effect.
+         *
+         * @return false if the process was already terminated or has been finished
+         */
+        public boolean terminate(String reason) {
+            if (exitedOn!=0 || !terminationReason.compareAndSet(null, reason)) {
+                return false;
+            }
+            terminatedCount.incrementAndGet();
+            log.info("027.110 process '{}', pid #{} will be destroyed, reason: {}", name, process.pid(), reason);
+            final LinkedList<ProcessHandle> handles = new LinkedList<>();
+            SystemProcessLauncher.collectHandlers(handles, process.toHandle());
+            SystemProcessLauncher.destroy(handles);
+            return true;
+        }
+
+        @Nullable
+        public String getTerminationReason() {
+            return terminationReason.get();
+        }
+
+        public boolean isTerminated() {
+            return terminationReason.get()!=null;
+        }
+
+        /**
+         * Must be called when the output of process was received completely
+         */
+        public void completed() {
+            if (!completed.compareAndSet(false, true)) {
+                return;
+            }
+            onExit();
+            final long now = System.nanoTime();
+            final long latency = now - exitedOn;
+            completedCount.incrementAndGet();
+            completionLatencyNanos.addAndGet(latency);
+            maxCompletionLatencyNanos.accumulateAndGet(latency, Math::max);
+            log.info("027.120 process '{}' was completed, running time: {}ms, completion latency: {}ms",
+                    name, TimeUnit.NANOSECONDS.toMillis(exitedOn - startedOn), TimeUnit.NANOSECONDS.toMillis(latency));
+        }
+
+        private synchronized void onExit() {
+            if (exitedOn!=0) {
+                return;
+            }
+            exitedOn = System.nanoTime();
+            active.remove(this);
+            ScheduledFuture<?> f = deadline;
+            if (f!=null) {
+                f.cancel(false);
+            }
+        }
+
+        private void checkInterrupters() {
+            for (Supplier<Boolean> interrupter : interrupters) {
+                try {
+                    if (Boolean.TRUE.equals(interrupter.get())) {
+                        terminate("interrupted");
+                        return;
+                    }
+                }
+                catch (Throwable th) {
+                    log.warn("027.130 error of interrupter of process '{}', {}", name, th.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Starts supervising the process.
+     *
+     * @param timeoutMillis 0 means there isn't any timeout
+     */
+    public static Supervised supervise(Process process, String name, long timeoutMillis, List<Supplier<Boolean>> interrupters) {
+        final Supervised supervised = new Supervised(process, name, List.copyOf(interrupters));
+        supervisedCount.incrementAndGet();
+        if (!interrupters.isEmpty()) {
+            active.add(supervised);
+        }
+        if (timeoutMillis>0) {
+            supervised.deadline = executor.schedule(() -> supervised.terminate("timeout"), timeoutMillis, TimeUnit.MILLISECONDS);
+        }
+        process.onExit().thenRun(supervised::onExit);
+        return supervised;
+    }
+
+    /**
+     * Evaluates interrupters of all running processes without waiting for the next periodic check.
+     * Calls which are made while an evaluation is pending are coalesced.
+     */
+    public static void signal() {
+        if (active.isEmpty() || !signalPending.compareAndSet(false, true)) {
+            return;
+        }
+        executor.execute(() -> {
+            signalPending.set(false);
+            checkInterrupters();
+        });
+    }
+
+    public static Stats getStats() {
+        return new Stats(supervisedCount.get(), terminatedCount.get(), active.size(), completedCount.get(),
+                TimeUnit.NANOSECONDS.toMillis(completionLatencyNanos.get()), TimeUnit.NANOSECONDS.toMillis(maxCompletionLatencyNanos.get()));
+    }
+
+    private static void checkInterrupters() {
+        for (Supervised supervised : active) {
+            if (supervised.exitedOn==0 && !supervised.isTerminated()) {
+                supervised.checkInterrupters();
+            }
+        }
+    }
+
+    private static ScheduledThreadPoolExecutor createExecutor() {
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, r -> {
+            Thread t = new Thread(r, "mh-process-supervisor");
+            t.setDaemon(true);
+            return t;
+        });
+        executor.setRemoveOnCancelPolicy(true);
+        return executor;
+    }
+}
@@ -25,17 +25,22 @@ import lombok.extern.slf4j.Slf4j;
 import org.jspecify.annotations.Nullable;
 
 import java.io.*;
-import java.nio.charset.StandardCharsets;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
-import java.util.Date;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
 
 @Slf4j
 public class SystemProcessLauncher {
@@ -46,6 +51,9 @@ public class SystemProcessLauncher {
             ===============================================================
             """;
 
+    private static final int BUFFER_SIZE = 64 * 1024;
+    public static final String GZIP_EXT = ".gz";
+
     @ToString
     public static class ExecResult {
         @Nullable
@@ -128,9 +136,9 @@ public class SystemProcessLauncher {
             List<String> cmd, Path execDir, Path consoleLogFile, @Nullable Long timeoutBeforeTerminate, String functionCode,
             @Nullable final DispatcherSchedule schedule, int taskConsoleOutputMaxLines,
             List<Supplier<Boolean>> outerInterrupters, @Nullable Path inputPath,
-            @Nullable SecretHandoff secretHandoff) throws IOException, InterruptedException {
+            @Nullable SecretHandoff secretHandoff, @Nullable ConsoleTail consoleTail) throws IOException, InterruptedException {
         return execCommand(cmd, execDir, consoleLogFile, timeoutBeforeTerminate, functionCode, schedule,
-                taskConsoleOutputMaxLines, outerInterrupters, inputPath, secretHandoff);
+                taskConsoleOutputMaxLines, outerInterrupters, inputPath, secretHandoff, consoleTail);
     }
 
     @SuppressWarnings({"WeakerAccess", "BusyWait"})
@@ -142,12 +150,29 @@ public class SystemProcessLauncher {
                 taskConsoleOutputMaxLines, outerInterrupters, inputPath, null);
     }
 
-    @SuppressWarnings({"WeakerAccess", "BusyWait"})
     public static FunctionApiData.SystemExecResult execCommand(
             List<String> cmd, Path execDir, Path consoleLogFile, @Nullable Long timeoutBeforeTerminate, String functionCode,
             @Nullable final DispatcherSchedule schedule, int taskConsoleOutputMaxLines,
             List<Supplier<Boolean>> outerInterrupters, @Nullable Path inputPath,
             @Nullable SecretHandoff secretHandoff) throws IOException, InterruptedException {
+        return execCommand(cmd, execDir, consoleLogFile, timeoutBeforeTerminate, functionCode, schedule,
+                taskConsoleOutputMaxLines, outerInterrupters, inputPath, secretHandoff, null);
+    }
+
+    /**
+     * Output of process is copied to consoleLogFile by blocks, and the last lines of output
+     * are collected in consoleTail at the same time, so the file isn't read again after the process was finished.
+     * If the name of consoleLogFile ends with {@link #GZIP_EXT}, the file is compressed on the fly.
+     *
+     * @param consoleTail the tail of output, which can be read while the process is running.
+     *                    If null, a tail with taskConsoleOutputMaxLines lines will be created.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static FunctionApiData.SystemExecResult execCommand(
+            List<String> cmd, Path execDir, Path consoleLogFile, @Nullable Long timeoutBeforeTerminate, String functionCode,
+            @Nullable final DispatcherSchedule schedule, int taskConsoleOutputMaxLines,
+            List<Supplier<Boolean>> outerInterrupters, @Nullable Path inputPath,
+            @Nullable SecretHandoff secretHandoff, @Nullable ConsoleTail consoleTail) throws IOException, InterruptedException {
         log.info("Exec info:");
         log.info("\tcmd: {}", cmd);
         log.info("\ttaskDir: {}", execDir.toAbsolutePath());
@@ -205,90 +230,54 @@ public class SystemProcessLauncher {
             });
         }
 
-        Thread timeoutThread = null;
         final StreamHolder streamHolder = new StreamHolder();
+        final ConsoleTail tail = consoleTail!=null ? consoleTail : new ConsoleTail(taskConsoleOutputMaxLines);
         int exitCode;
 
         final StringBuilder timeoutMessage = new StringBuilder();
         final AtomicBoolean isTerminated = new AtomicBoolean(false);
         final AtomicBoolean isInactivePeriod = new AtomicBoolean(false);
-        try (final OutputStream fos = Files.newOutputStream(consoleLogFile); BufferedOutputStream bos = new BufferedOutputStream(fos)) {
-            final AtomicBoolean isRun = new AtomicBoolean(false);
-            final AtomicBoolean isDone = new AtomicBoolean(false);
+        try (final WritableByteChannel out = openConsoleLog(consoleLogFile)) {
             final Thread reader = Thread.ofVirtual().start(() -> {
                 try {
                     log.info("thread #{}, start receiving stream from external process", Thread.currentThread().threadId());
                     streamHolder.is = process.getInputStream();
-                    int c;
-                    isRun.set(true);
-                    while ((c = streamHolder.is.read()) != -1) {
-                        bos.write(c);
+                    ReadableByteChannel in = Channels.newChannel(streamHolder.is);
+                    ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+                    while (in.read(buffer) != -1) {
+                        buffer.flip();
+                        tail.append(buffer.array(), 0, buffer.limit());
+                        while (buffer.hasRemaining()) {
+                            out.write(buffer);
+                        }
+                        buffer.clear();
                     }
                 }
                 catch (IOException e) {
                     log.error("Error collect data from output stream", e);
                 }
-                finally {
-                    isDone.set(true);
-                }
             });
 
-            if (timeout.get()>0 || !outerInterrupters.isEmpty()) {
-                final List<Supplier<Boolean>> interrupters = new ArrayList<>();
-                if (!outerInterrupters.isEmpty()) {
-                    interrupters.addAll(outerInterrupters);
-                }
-                if (timeout.get()>0) {
-                    final long terminateAt = System.currentTimeMillis() + timeout.get();
-                    interrupters.add( ()-> System.currentTimeMillis() > terminateAt );
-                }
+            final List<Supplier<Boolean>> interrupters = new ArrayList<>(outerInterrupters);
+            if (schedule!=null) {
                 interrupters.add( () -> {
-                    if (schedule!=null && schedule.policy==ExtendedTimePeriod.SchedulePolicy.strict && schedule.isCurrentTimeInactive()) {
+                    if (schedule.policy==ExtendedTimePeriod.SchedulePolicy.strict && schedule.isCurrentTimeInactive()) {
                         isInactivePeriod.set(true);
                         return true;
                     }
                     return false;
                 });
-
-                timeoutThread = Thread.ofVirtual().start(() -> {
-                    try {
-                        while (!isRun.get()) {
-                            log.info("thread #{} is waiting for reader thread, time - {}", Thread.currentThread().threadId(), new Date());
-                            Thread.sleep(TimeUnit.MILLISECONDS.toMillis(500));
-                        }
-                        log.info("thread #{}, time before sleep - {}", Thread.currentThread().threadId(), new Date());
-                        while (true) {
-                            Thread.sleep(TimeUnit.SECONDS.toMillis(2));
-                            if (interrupters.stream().anyMatch(Supplier::get)) {
-                                break;
-                            }
-                            // normal termination of the reader thread. We don't need to terminate any application
-                            if (isDone.get()) {
-                                log.info("A reader thread stopped the execution in a normal way");
-                                return;
-                            }
-                        }
-                        log.info("thread #{}, time before destroy - {}", Thread.currentThread().threadId(), new Date());
-
-                        final LinkedList<ProcessHandle> handles = new LinkedList<>();
-                        collectHandlers(handles, process.toHandle());
-                        log.info("Processes to destroy");
-                        for (ProcessHandle handle : handles) {
-                            log.info("\t{}", handle);
-                        }
-                        destroy(handles);
-                        timeoutMessage.append(String.format(TIMEOUT_MESSAGE, timeoutBeforeTerminate));
-                        isTerminated.set(true);
-                        log.info("thread #{}, time after destroy - {}",  Thread.currentThread().threadId(), new Date());
-                    } catch (InterruptedException e) {
-                        // this is a normal operation so it'll be debug level
-                        log.debug("thread #{}, current thread was interrupted", Thread.currentThread().threadId());
-                    }
-                });
             }
+            final ProcessSupervisor.Supervised supervised = ProcessSupervisor.supervise(process, functionCode, timeout.get(), interrupters);
 
             exitCode = process.waitFor();
             reader.join();
+            tail.close();
+            supervised.completed();
+            if (supervised.isTerminated()) {
+                timeoutMessage.append(String.format(TIMEOUT_MESSAGE, timeoutBeforeTerminate));
+                isTerminated.set(true);
+            }
         }
         finally {
             try {
@@ -304,14 +293,6 @@ public class SystemProcessLauncher {
             catch(Throwable th) {
                 log.warn("Error with closing InputStream", th);
             }
-            try {
-                if (timeoutThread!=null && timeoutThread.isAlive()) {
-                    timeoutThread.interrupt();
-                }
-            }
-            catch(Throwable th) {
-                log.warn("Error with interrupting InputStream", th);
-            }
         }
         if (isInactivePeriod.get()) {
             throw new ScheduleInactivePeriodException();
@@ -322,7 +303,7 @@ public class SystemProcessLauncher {
         log.debug("'\tdestroyed with timeout or for other reason: {}", isTerminated.get());
         log.debug("'\tcmd: {}", cmd);
         log.debug("'\texecDir: {}", execDir.toAbsolutePath());
-        String console = readLastLines(taskConsoleOutputMaxLines, consoleLogFile) + '\n' + timeoutMessage;
+        String console = tail.getTail() + '\n' + timeoutMessage;
 
         log.debug("'\tconsole output:\n{}", console);
         if (isTerminated.get() && exitCode==0) {
@@ -368,24 +349,11 @@ public class SystemProcessLauncher {
         }
     }
 
-    private static String readLastLines(int maxSize, Path consoleLogFile) throws IOException {
-        LinkedList<String> lines = new LinkedList<>();
-        String inputLine;
-        try (InputStream is = Files.newInputStream(consoleLogFile); InputStreamReader isr = new InputStreamReader(is, StandardCharsets.UTF_8);
-                BufferedReader br = new BufferedReader(isr)) {
-            while ((inputLine = br.readLine()) != null) {
-                inputLine = inputLine.trim();
-                if (lines.size()==maxSize) {
-                    lines.removeFirst();
-                }
-                lines.add(inputLine);
-            }
-        }
-        StringBuilder sb = new StringBuilder();
-        for (String line : lines) {
-            sb.append(line).append('\n');
+    private static WritableByteChannel openConsoleLog(Path consoleLogFile) throws IOException {
+        if (consoleLogFile.getFileName().toString().endsWith(GZIP_EXT)) {
+            return Channels.newChannel(new GZIPOutputStream(Files.newOutputStream(consoleLogFile), BUFFER_SIZE));
         }
-        return sb.toString();
+        return FileChannel.open(consoleLogFile, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
     }
 
 
@@ -26,6 +26,7 @@ import org.apache.commons.io.IOUtils;
 
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -58,6 +59,17 @@ public class Checksum {
         };
     }
 
+    /**
+     * Digest for calculating checksum incrementally, the hex of its result is the same as {@link #getChecksum} returns
+     */
+    public static MessageDigest getMessageDigest(EnumsApi.HashAlgo type) {
+        return switch (type) {
+            case MD5 -> DigestUtils.getMd5Digest();
+            case SHA256, SHA256WithSignature -> DigestUtils.getSha256Digest();
+            default -> throw new IllegalStateException("Checksum for " + type + "  isn't supported yet");
+        };
+    }
+
     @SuppressWarnings("unused")
     public String toJson() {
         try {
@@ -0,0 +1,116 @@
+/*
+ * Metaheuristic, Copyright (C) 2017-2025, Innovation platforms, LLC
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package ai.metaheuristic.commons.utils;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Variable-length encoding of numbers (LEB128, 7 bits per byte) for compact binary params.
+ * Signed values are zigzag-encoded, so small negative deltas stay small too.
+ *
+ * @author Serge
+ * Date: 10/18/2026
+ * Time: 11:20 AM
+ */
+public class VarIntUtils {
+
+    public static void writeLong(ByteArrayOutputStream out, long value) {
+        if (value<0) {
+            throw new IllegalArgumentException("Negative value: " + value + ", use writeSignedLong()");
+        }
+        writeUnsigned(out, value);
+    }
+
+    public static void writeSignedLong(ByteArrayOutputStream out, long value) {
+        writeUnsigned(out, (value << 1) ^ (value >> 63));
+    }
+
+    public static void writeString(ByteArrayOutputStream out, String s) {
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        writeLong(out, bytes.length);
+        out.write(bytes, 0, bytes.length);
+    }
+
+    private static void writeUnsigned(ByteArrayOutputStream out, long value) {
+        long v = value;
+        while ((v & ~0x7FL) != 0) {
+            out.write((int) ((v & 0x7F) | 0x80));
+            v >>>= 7;
+        }
+        out.write((int) v);
+    }
+
+    public static class Reader {
+        private final byte[] bytes;
+        private int pos = 0;
+
+        public Reader(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        public int readByte() {
+            if (pos>=bytes.length) {
+                throw new IllegalStateException("Unexpected end of data at position " + pos);
+            }
+            return bytes[pos++] & 0xFF;
+        }
+
+        public long readLong() {
+            long result = 0;
+            int shift = 0;
+            while (true) {
+                if (shift>63) {
+                    throw new IllegalStateException("Malformed varint at position " + pos);
+                }
+                int b = readByte();
+                result |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80)==0) {
+                    return result;
+                }
+                shift += 7;
+            }
+        }
+
+        public int readInt() {
+            long v = readLong();
+            if (v>Integer.MAX_VALUE) {
+                throw new IllegalStateException("Value is too big for int: " + v);
+            }
+            return (int) v;
+        }
+
+        public long readSignedLong() {
+            long v = readLong();
+            return (v >>> 1) ^ -(v & 1);
+        }
+
+        public String readString() {
+            int len = readInt();
+            if (pos+len>bytes.length) {
+                throw new IllegalStateException("Unexpected end of data at position " + pos + ", string length: " + len);
+            }
+            String s = new String(bytes, pos, len, StandardCharsets.UTF_8);
+            pos += len;
+            return s;
+        }
+
+        public boolean hasRemaining() {
+            return pos<bytes.length;
+        }
+    }
+}
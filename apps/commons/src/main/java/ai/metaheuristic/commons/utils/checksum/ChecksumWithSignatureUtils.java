@@ -29,6 +29,7 @@ import java.security.GeneralSecurityException;
 import java.security.PublicKey;
 import java.security.Signature;
 import java.util.Map;
+import java.util.function.Supplier;
 
 import static ai.metaheuristic.api.data.checksum_signature.ChecksumAndSignatureData.*;
 
@@ -55,14 +56,28 @@ public class ChecksumWithSignatureUtils {
         return status;
     }
 
+    /**
+     * The same as {@link #verifyChecksumAndSignature(String, InputStream, PublicKey, String, EnumsApi.HashAlgo)}
+     * but for a checksum which was already calculated, i.e. while data was being downloaded
+     */
+    public static CheckSumAndSignatureStatus verifyCalculatedChecksumAndSignature(String infoPrefix, String actualSum, @Nullable PublicKey publicKey, String value, EnumsApi.HashAlgo hashAlgo) {
+        CheckSumAndSignatureStatus status = verifyChecksumAndSignatureInternal(infoPrefix, () -> actualSum, publicKey, value, hashAlgo);
+        log.info("{}, signature is {}", infoPrefix, status.signature);
+        return status;
+    }
+
     private static CheckSumAndSignatureStatus verifyChecksumAndSignatureInternal(String infoPrefix, InputStream fis, @Nullable PublicKey publicKey, String value, EnumsApi.HashAlgo hashAlgo) {
+        return verifyChecksumAndSignatureInternal(infoPrefix, () -> Checksum.getChecksum(hashAlgo, fis), publicKey, value, hashAlgo);
+    }
+
+    private static CheckSumAndSignatureStatus verifyChecksumAndSignatureInternal(String infoPrefix, Supplier<String> actualSumFunc, @Nullable PublicKey publicKey, String value, EnumsApi.HashAlgo hashAlgo) {
         ChecksumWithSignature checksumWithSignature = parse(value);
         // there isn't a signature without a checksum
         if (checksumWithSignature.checksum==null) {
             return CHECK_SUM_AND_SIGNATURE_NOT_PRESENTED;
         }
 
-        String actualSum = Checksum.getChecksum(hashAlgo, fis);
+        String actualSum = actualSumFunc.get();
 
         if (!actualSum.equals(checksumWithSignature.checksum)) {
             log.error("{}, checksum is wrong, expected: {}, actual: {}", infoPrefix, checksumWithSignature.checksum, actualSum);
@@ -0,0 +1,126 @@
+/*
+ * Metaheuristic, Copyright (C) 2017-2025, Innovation platforms, LLC
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package ai.metaheuristic.commons.utils.checksum;
+
+import org.apache.commons.codec.binary.Hex;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.jspecify.annotations.Nullable;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+
+/**
+ * Computes SHA-256 and length of data while the data is being read by a consumer,
+ * so a stored blob gets its checksum without a second pass over the data.
+ * The value of SHA-256 is the same as Checksum.getChecksum(EnumsApi.HashAlgo.SHA256, ...) returns.
+ * Mark/reset isn't supported because re-read bytes would be hashed twice.
+ *
+ * @author Serge
+ * Date: 10/18/2026
+ * Time: 4:10 PM
+ */
+public class Sha256LengthInputStream extends FilterInputStream {
+
+    private final MessageDigest digest = DigestUtils.getSha256Digest();
+    private long length = 0;
+    private boolean eof = false;
+    @Nullable
+    private String sha256 = null;
+
+    public Sha256LengthInputStream(InputStream in) {
+        super(in);
+    }
+
+    @Override
+    public int read() throws IOException {
+        int b = in.read();
+        if (b==-1) {
+            eof = true;
+        }
+        else {
+            digest.update((byte) b);
+            length++;
+        }
+        return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        int n = in.read(b, off, len);
+        if (n==-1) {
+            eof = true;
+        }
+        else if (n>0) {
+            digest.update(b, off, n);
+            length += n;
+        }
+        return n;
+    }
+
+    // skipped bytes must be hashed too, so they are read instead of being skipped
+    @Override
+    public long skip(long n) throws IOException {
+        byte[] buffer = new byte[(int) Math.min(n, 8192)];
+        long skipped = 0;
+        while (skipped<n) {
+            int r = read(buffer, 0, (int) Math.min(buffer.length, n - skipped));
+            if (r==-1) {
+                break;
+            }
+            skipped += r;
+        }
+        return skipped;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    @Override
+    public synchronized void mark(int readlimit) {
+    }
+
+    @Override
+    public synchronized void reset() throws IOException {
+        throw new IOException("mark/reset isn't supported");
+    }
+
+    /**
+     * true if the stream was read until its end, only in this case the checksum is a checksum of the whole data
+     */
+    public boolean isFullyRead() {
+        return eof;
+    }
+
+    public long getLength() {
+        return length;
+    }
+
+    /**
+     * SHA-256 of bytes which were read so far, as lower-case hex. After the first call the stream must not be read anymore.
+     */
+    public String getSha256() {
+        if (sha256==null) {
+            sha256 = Hex.encodeHexString(digest.digest());
+        }
+        return sha256;
+    }
+}
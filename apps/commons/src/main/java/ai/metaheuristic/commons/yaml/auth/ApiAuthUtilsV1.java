@@ -83,12 +83,12 @@ public class ApiAuthUtilsV1 extends
     public String toString(ApiAuthV1 yaml) {
         yaml.checkIntegrity();
 
-        return getYaml().dump(yaml);
+        return dump(yaml);
     }
 
     @Override
     public ApiAuthV1 to(String s) {
-        final ApiAuthV1 p = getYaml().load(s);
+        final ApiAuthV1 p = load(s);
         return p;
     }
 
@@ -83,12 +83,12 @@ public class ApiAuthUtilsV2 extends
     public String toString(ApiAuthV2 yaml) {
         yaml.checkIntegrity();
 
-        return getYaml().dump(yaml);
+        return dump(yaml);
     }
 
     @Override
     public ApiAuthV2 to(String s) {
-        final ApiAuthV2 p = getYaml().load(s);
+        final ApiAuthV2 p = load(s);
         return p;
     }
 
@@ -72,7 +72,7 @@ public class BatchItemMappingYamlUtilsV1
 
     @Override
     public String toString(@NonNull BatchItemMappingYamlV1 yaml) {
-        return getYaml().dump(yaml);
+        return dump(yaml);
     }
 
     @NonNull
@@ -81,7 +81,7 @@ public class BatchItemMappingYamlUtilsV1
         if (S.b(yaml)) {
             throw new BlankYamlParamsException("'yaml' parameter is blank");
         }
-        final BatchItemMappingYamlV1 p = getYaml().load(yaml);
+        final BatchItemMappingYamlV1 p = load(yaml);
         return p;
     }
 
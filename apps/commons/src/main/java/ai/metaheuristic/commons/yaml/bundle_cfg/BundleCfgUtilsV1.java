@@ -74,7 +74,7 @@ public class BundleCfgUtilsV1
 
     @Override
     public String toString(@NonNull BundleCfgYamlV1 yaml) {
-        return getYaml().dump(yaml);
+        return dump(yaml);
     }
 
     @NonNull
@@ -83,7 +83,7 @@ public class BundleCfgUtilsV1
         if (S.b(yaml)) {
             throw new BlankYamlParamsException("'yaml' parameter is blank");
         }
-        final BundleCfgYamlV1 p = getYaml().load(yaml);
+        final BundleCfgYamlV1 p = load(yaml);
         return p;
     }
 
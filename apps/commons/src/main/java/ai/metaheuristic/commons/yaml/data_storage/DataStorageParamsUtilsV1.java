@@ -87,7 +87,7 @@ public class DataStorageParamsUtilsV1
 
     @Override
     public String toString(@NonNull DataStorageParamsV1 params) {
-        return getYaml().dump(params);
+        return dump(params);
     }
 
     @NonNull
@@ -97,7 +97,7 @@ public class DataStorageParamsUtilsV1
             throw new BlankYamlParamsException("'yaml' parameter is blank");
         }
         //noinspection UnnecessaryLocalVariable
-        final DataStorageParamsV1 p = getYaml().load(yaml);
+        final DataStorageParamsV1 p = load(yaml);
         return p;
     }
 
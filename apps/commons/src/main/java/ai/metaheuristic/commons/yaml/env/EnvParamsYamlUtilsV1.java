@@ -78,7 +78,7 @@ public class EnvParamsYamlUtilsV1
 
     @Override
     public String toString(@NonNull EnvParamsYamlV1 yaml) {
-        return getYaml().dump(yaml);
+        return dump(yaml);
     }
 
     @NonNull
@@ -87,7 +87,7 @@ public class EnvParamsYamlUtilsV1
         if (S.b(yaml)) {
             throw new BlankYamlParamsException("'yaml' parameter is blank");
         }
-        final EnvParamsYamlV1 p = getYaml().load(yaml);
+        final EnvParamsYamlV1 p = load(yaml);
         return p;
     }
 
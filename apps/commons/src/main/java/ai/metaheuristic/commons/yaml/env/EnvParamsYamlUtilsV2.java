@@ -77,7 +77,7 @@ public class EnvParamsYamlUtilsV2
 
     @Override
     public String toString(@NonNull EnvParamsYamlV2 yaml) {
-        return getYaml().dump(yaml);
+        return dump(yaml);
     }
 
     @NonNull
@@ -86,7 +86,7 @@ public class EnvParamsYamlUtilsV2
         if (S.b(yaml)) {
             throw new BlankYamlParamsException("'yaml' parameter is blank");
         }
-        final EnvParamsYamlV2 p = getYaml().load(yaml);
+        final EnvParamsYamlV2 p = load(yaml);
         return p;
     }
 
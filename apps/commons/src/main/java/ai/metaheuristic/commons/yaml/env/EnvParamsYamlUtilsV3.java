@@ -82,7 +82,7 @@ public class EnvParamsYamlUtilsV3
 
     @Override
     public String toString(@NonNull EnvParamsYamlV3 yaml) {
-        return getYaml().dump(yaml);
+        return dump(yaml);
     }
 
     @NonNull
@@ -91,7 +91,7 @@ public class EnvParamsYamlUtilsV3
         if (S.b(yaml)) {
             throw new BlankYamlParamsException("'yaml' parameter is blank");
         }
-        final EnvParamsYamlV3 p = getYaml().load(yaml);
+        final EnvParamsYamlV3 p = load(yaml);
         return p;
     }
 
@@ -96,7 +96,7 @@ public class EnvParamsYamlUtilsV4
 
     @Override
     public String toString(@NonNull EnvParamsYamlV4 yaml) {
-        return getYaml().dump(yaml);
+        return dump(yaml);
     }
 
     @NonNull
@@ -105,7 +105,7 @@ public class EnvParamsYamlUtilsV4
         if (S.b(yaml)) {
             throw new BlankYamlParamsException("'yaml' parameter is blank");
         }
-        final EnvParamsYamlV4 p = getYaml().load(yaml);
+        final EnvParamsYamlV4 p = load(yaml);
         return p;
     }
 
@@ -96,7 +96,7 @@ public class EnvParamsYamlUtilsV5
 
     @Override
     public String toString(@NonNull EnvParamsYamlV5 yaml) {
-        return getYaml().dump(yaml);
+        return dump(yaml);
     }
 
     @NonNull
@@ -105,7 +105,7 @@ public class EnvParamsYamlUtilsV5
         if (S.b(yaml)) {
             throw new BlankYamlParamsException("'yaml' parameter is blank");
         }
-        final EnvParamsYamlV5 p = getYaml().load(yaml);
+        final EnvParamsYamlV5 p = load(yaml);
         return p;
     }
 
@@ -88,7 +88,7 @@ public class DispatcherEventYamlUtilsV1
 
     @Override
     public String toString(@NonNull DispatcherEventYamlV1 yaml) {
-        return getYaml().dump(yaml);
+        return dump(yaml);
     }
 
     @NonNull
@@ -98,7 +98,7 @@ public class DispatcherEventYamlUtilsV1
             throw new BlankYamlParamsException("'yaml' parameter is blank");
         }
         //noinspection UnnecessaryLocalVariable
-        final DispatcherEventYamlV1 p = getYaml().load(yaml);
+        final DispatcherEventYamlV1 p = load(yaml);
         return p;
     }
 
@@ -91,7 +91,7 @@ public class DispatcherEventYamlUtilsV2
 
     @Override
     public String toString(@NonNull DispatcherEventYamlV2 yaml) {
-        return getYaml().dump(yaml);
+        return dump(yaml);
     }
 
     @NonNull
@@ -101,7 +101,7 @@ public class DispatcherEventYamlUtilsV2
             throw new BlankYamlParamsException("'yaml' parameter is blank");
         }
         //noinspection UnnecessaryLocalVariable
-        final DispatcherEventYamlV2 p = getYaml().load(yaml);
+        final DispatcherEventYamlV2 p = load(yaml);
         return p;
     }
 
@@ -84,7 +84,7 @@ public class FunctionConfigYamlUtilsV1
 
     @Override
     public String toString(@NonNull FunctionConfigYamlV1 yaml) {
-        return getYaml().dump(yaml);
+        return dump(yaml);
     }
 
     @NonNull
@@ -93,7 +93,7 @@ public class FunctionConfigYamlUtilsV1
         if (S.b(yaml)) {
             throw new BlankYamlParamsException("'yaml' parameter is blank");
         }
-        final FunctionConfigYamlV1 p = getYaml().load(yaml);
+        final FunctionConfigYamlV1 p = load(yaml);
         return p;
     }
 
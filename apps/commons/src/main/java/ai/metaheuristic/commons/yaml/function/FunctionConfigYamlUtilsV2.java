@@ -101,7 +101,7 @@ public class FunctionConfigYamlUtilsV2
 
     @Override
     public String toString(FunctionConfigYamlV2 yaml) {
-        return getYaml().dump(yaml);
+        return dump(yaml);
     }
 
     @Override
@@ -109,7 +109,7 @@ public class FunctionConfigYamlUtilsV2
         if (S.b(yaml)) {
             throw new BlankYamlParamsException("'yaml' parameter is blank");
         }
-        final FunctionConfigYamlV2 p = getYaml().load(yaml);
+        final FunctionConfigYamlV2 p = load(yaml);
         return p;
     }
 
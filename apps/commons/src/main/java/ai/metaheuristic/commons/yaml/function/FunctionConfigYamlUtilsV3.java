@@ -113,7 +113,7 @@ public class FunctionConfigYamlUtilsV3
 
     @Override
     public String toString(FunctionConfigYamlV3 yaml) {
-        return getYaml().dump(yaml);
+        return dump(yaml);
     }
 
     @Override
@@ -121,7 +121,7 @@ public class FunctionConfigYamlUtilsV3
         if (S.b(yaml)) {
             throw new BlankYamlParamsException("'yaml' parameter is blank");
         }
-        final FunctionConfigYamlV3 p = getYaml().load(yaml);
+        final FunctionConfigYamlV3 p = load(yaml);
         return p;
     }
 
@@ -88,7 +88,7 @@ public class LicenseConfigYamlUtilsV1
 
     @Override
     public String toString(@NonNull LicenseConfigYamlV1 yaml) {
-        return getYaml().dump(yaml);
+        return dump(yaml);
     }
 
     @NonNull
@@ -98,7 +98,7 @@ public class LicenseConfigYamlUtilsV1
             throw new BlankYamlParamsException("'yaml' parameter is blank");
         }
         //noinspection UnnecessaryLocalVariable
-        final LicenseConfigYamlV1 p = getYaml().load(yaml);
+        final LicenseConfigYamlV1 p = load(yaml);
         return p;
     }
 }
@@ -70,7 +70,7 @@ public class FittingYamlUtilsV1
 
     @Override
     public String toString(@NonNull FittingYamlV1 yaml) {
-        return getYaml().dump(yaml);
+        return dump(yaml);
     }
 
     @NonNull
@@ -80,7 +80,7 @@ public class FittingYamlUtilsV1
             throw new BlankYamlParamsException("'yaml' parameter is blank");
         }
         //noinspection UnnecessaryLocalVariable
-        final FittingYamlV1 p = getYaml().load(yaml);
+        final FittingYamlV1 p = load(yaml);
         return p;
     }
 
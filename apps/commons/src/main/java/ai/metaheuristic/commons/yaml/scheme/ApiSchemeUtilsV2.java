@@ -100,12 +100,12 @@ public class ApiSchemeUtilsV2 extends
     public String toString(ApiSchemeV2 yaml) {
         yaml.checkIntegrity();
 
-        return getYaml().dump(yaml);
+        return dump(yaml);
     }
 
     @Override
     public ApiSchemeV2 to(String s) {
-        final ApiSchemeV2 p = getYaml().load(s);
+        final ApiSchemeV2 p = load(s);
         return p;
     }
 
@@ -114,13 +114,13 @@ public class SourceCodeParamsYamlUtilsV1
 
     @Override
     public String toString(@NonNull SourceCodeParamsYamlV1 sourceCodeParamsYaml) {
-        return getYaml().dump(sourceCodeParamsYaml);
+        return dump(sourceCodeParamsYaml);
     }
 
     @NonNull
     @Override
     public SourceCodeParamsYamlV1 to(@NonNull String s) {
-        final SourceCodeParamsYamlV1 p = getYaml().load(s);
+        final SourceCodeParamsYamlV1 p = load(s);
         if (p.source ==null) {
             throw new IllegalStateException("635.010 SourceCode Yaml is null");
         }
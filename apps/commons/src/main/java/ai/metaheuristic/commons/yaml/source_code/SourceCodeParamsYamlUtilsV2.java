@@ -126,13 +126,13 @@ public class SourceCodeParamsYamlUtilsV2
 
     @Override
     public String toString(@NonNull SourceCodeParamsYamlV2 sourceCodeParamsYaml) {
-        return getYaml().dump(sourceCodeParamsYaml);
+        return dump(sourceCodeParamsYaml);
     }
 
     @NonNull
     @Override
     public SourceCodeParamsYamlV2 to(@NonNull String s) {
-        final SourceCodeParamsYamlV2 p = getYaml().load(s);
+        final SourceCodeParamsYamlV2 p = load(s);
         if (p.source ==null) {
             throw new IllegalStateException("635.010 SourceCode Yaml is null");
         }
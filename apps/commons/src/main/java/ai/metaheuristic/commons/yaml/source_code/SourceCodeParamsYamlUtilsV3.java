@@ -129,13 +129,13 @@ public class SourceCodeParamsYamlUtilsV3
 
     @Override
     public String toString(@NonNull SourceCodeParamsYamlV3 sourceCodeParamsYaml) {
-        return getYaml().dump(sourceCodeParamsYaml);
+        return dump(sourceCodeParamsYaml);
     }
 
     @NonNull
     @Override
     public SourceCodeParamsYamlV3 to(@NonNull String s) {
-        final SourceCodeParamsYamlV3 p = getYaml().load(s);
+        final SourceCodeParamsYamlV3 p = load(s);
         if (p.source ==null) {
             throw new IllegalStateException("635.010 SourceCode Yaml is null");
         }
@@ -131,13 +131,13 @@ public class SourceCodeParamsYamlUtilsV4
 
     @Override
     public String toString(@NonNull SourceCodeParamsYamlV4 sourceCodeParamsYaml) {
-        return getYaml().dump(sourceCodeParamsYaml);
+        return dump(sourceCodeParamsYaml);
     }
 
     @NonNull
     @Override
     public SourceCodeParamsYamlV4 to(@NonNull String s) {
-        final SourceCodeParamsYamlV4 p = getYaml().load(s);
+        final SourceCodeParamsYamlV4 p = load(s);
         if (p.source ==null) {
             throw new IllegalStateException("635.010 SourceCode Yaml is null");
         }
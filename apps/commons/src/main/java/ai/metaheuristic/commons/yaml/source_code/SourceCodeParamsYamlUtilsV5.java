@@ -128,12 +128,12 @@ public class SourceCodeParamsYamlUtilsV5
 
     @Override
     public String toString(SourceCodeParamsYamlV5 sourceCodeParamsYaml) {
-        return getYaml().dump(sourceCodeParamsYaml);
+        return dump(sourceCodeParamsYaml);
     }
 
     @Override
     public SourceCodeParamsYamlV5 to(String s) {
-        final SourceCodeParamsYamlV5 p = getYaml().load(s);
+        final SourceCodeParamsYamlV5 p = load(s);
         if (p.source ==null) {
             throw new IllegalStateException("635.010 SourceCode Yaml is null");
         }
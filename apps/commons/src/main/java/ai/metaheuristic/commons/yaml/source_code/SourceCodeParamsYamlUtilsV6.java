@@ -137,12 +137,12 @@ public class SourceCodeParamsYamlUtilsV6
 
     @Override
     public String toString(SourceCodeParamsYamlV6 sourceCodeParamsYaml) {
-        return getYaml().dump(sourceCodeParamsYaml);
+        return dump(sourceCodeParamsYaml);
     }
 
     @Override
     public SourceCodeParamsYamlV6 to(String s) {
-        final SourceCodeParamsYamlV6 p = getYaml().load(s);
+        final SourceCodeParamsYamlV6 p = load(s);
         if (p.source==null) {
             throw new IllegalStateException("636.010 SourceCode Yaml is null");
         }
@@ -76,13 +76,13 @@ public class SourceCodeStoredParamsYamlUtilsV1
 
     @Override
     public String toString(@NonNull SourceCodeStoredParamsYamlV1 sourceCodeParamsYaml) {
-        return getYaml().dump(sourceCodeParamsYaml);
+        return dump(sourceCodeParamsYaml);
     }
 
     @NonNull
     @Override
     public SourceCodeStoredParamsYamlV1 to(@NonNull String s) {
-        final SourceCodeStoredParamsYamlV1 p = getYaml().load(s);
+        final SourceCodeStoredParamsYamlV1 p = load(s);
         if (p.source ==null) {
             throw new IllegalStateException("631.010 SourceCode Yaml is null");
         }
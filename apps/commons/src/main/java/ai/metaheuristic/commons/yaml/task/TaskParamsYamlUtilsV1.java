@@ -115,7 +115,7 @@ public class TaskParamsYamlUtilsV1
     @Override
     public String toString(@NonNull TaskParamsYamlV1 params) {
         params.checkIntegrity();
-        return getYaml().dump(params);
+        return dump(params);
     }
 
     @NonNull
@@ -124,7 +124,7 @@ public class TaskParamsYamlUtilsV1
         if (S.b(yaml)) {
             throw new BlankYamlParamsException("'yaml' parameter is blank");
         }
-        final TaskParamsYamlV1 p = getYaml().load(yaml);
+        final TaskParamsYamlV1 p = load(yaml);
         return p;
     }
 
@@ -131,7 +131,7 @@ public class TaskParamsYamlUtilsV2
     @Override
     public String toString(@NonNull TaskParamsYamlV2 params) {
         params.checkIntegrity();
-        return getYaml().dump(params);
+        return dump(params);
     }
 
     @NonNull
@@ -140,7 +140,7 @@ public class TaskParamsYamlUtilsV2
         if (S.b(yaml)) {
             throw new BlankYamlParamsException("'yaml' parameter is blank");
         }
-        final TaskParamsYamlV2 p = getYaml().load(yaml);
+        final TaskParamsYamlV2 p = load(yaml);
         return p;
     }
 
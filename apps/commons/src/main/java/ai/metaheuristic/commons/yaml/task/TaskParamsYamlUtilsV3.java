@@ -127,7 +127,7 @@ public class TaskParamsYamlUtilsV3
     @Override
     public String toString(@NonNull TaskParamsYamlV3 params) {
         params.checkIntegrity();
-        return getYaml().dump(params);
+        return dump(params);
     }
 
     @NonNull
@@ -136,7 +136,7 @@ public class TaskParamsYamlUtilsV3
         if (S.b(yaml)) {
             throw new BlankYamlParamsException("'yaml' parameter is blank");
         }
-        final TaskParamsYamlV3 p = getYaml().load(yaml);
+        final TaskParamsYamlV3 p = load(yaml);
         return p;
     }
 
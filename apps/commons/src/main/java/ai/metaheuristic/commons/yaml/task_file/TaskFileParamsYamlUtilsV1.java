@@ -111,7 +111,7 @@ public class TaskFileParamsYamlUtilsV1
 
     @Override
     public String toString(@NonNull TaskFileParamsYamlV1 params) {
-        return getYaml().dump(params);
+        return dump(params);
     }
 
     @NonNull
@@ -120,7 +120,7 @@ public class TaskFileParamsYamlUtilsV1
         if (S.b(yaml)) {
             throw new BlankYamlParamsException("'yaml' parameter is blank");
         }
-        final TaskFileParamsYamlV1 p = getYaml().load(yaml);
+        final TaskFileParamsYamlV1 p = load(yaml);
         return p;
     }
 
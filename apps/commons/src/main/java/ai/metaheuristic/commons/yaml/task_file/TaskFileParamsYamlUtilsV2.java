@@ -150,7 +150,7 @@ public class TaskFileParamsYamlUtilsV2
 
     @Override
     public String toString(TaskFileParamsYamlV2 params) {
-        return getYaml().dump(params);
+        return dump(params);
     }
 
     @Override
@@ -158,7 +158,7 @@ public class TaskFileParamsYamlUtilsV2
         if (S.b(yaml)) {
             throw new BlankYamlParamsException("'yaml' parameter is blank");
         }
-        final TaskFileParamsYamlV2 p = getYaml().load(yaml);
+        final TaskFileParamsYamlV2 p = load(yaml);
         return p;
     }
 
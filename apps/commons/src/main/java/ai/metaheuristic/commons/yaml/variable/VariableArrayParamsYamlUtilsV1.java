@@ -85,7 +85,7 @@ public class VariableArrayParamsYamlUtilsV1
 
     @Override
     public String toString(@NonNull VariableArrayParamsYamlV1 params) {
-        return getYaml().dump(params);
+        return dump(params);
     }
 
     @NonNull
@@ -95,7 +95,7 @@ public class VariableArrayParamsYamlUtilsV1
             throw new BlankYamlParamsException("'yaml' parameter is blank");
         }
         //noinspection UnnecessaryLocalVariable
-        final VariableArrayParamsYamlV1 p = getYaml().load(yaml);
+        final VariableArrayParamsYamlV1 p = load(yaml);
         return p;
     }
 
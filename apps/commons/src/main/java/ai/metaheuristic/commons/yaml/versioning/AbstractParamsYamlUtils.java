@@ -32,8 +32,26 @@ import org.yaml.snakeyaml.Yaml;
 abstract public class AbstractParamsYamlUtils
         <CurrT extends BaseParams, NextT extends BaseParams, NextU, PrevT, PrevU, CurrForDownT> {
 
+    private final YamlPool yamlPool = new YamlPool(this::getYaml);
+
+    /**
+     * Creates a new instance of Yaml. For serialization use {@link #dump}, {@link #dumpAsMap} and {@link #load},
+     * which reuse pooled instances.
+     */
     public abstract Yaml getYaml();
 
+    protected final String dump(Object o) {
+        return yamlPool.dump(o);
+    }
+
+    public final String dumpAsMap(Object o) {
+        return yamlPool.dumpAsMap(o);
+    }
+
+    protected final <T> T load(String s) {
+        return yamlPool.load(s);
+    }
+
     public abstract NextT upgradeTo(CurrT yaml);
 
     public abstract PrevT downgradeTo(CurrForDownT yaml);
@@ -57,7 +57,7 @@ public class BaseYamlUtils<T extends BaseParams> {
 
     public String toString(BaseParams baseParams) {
         baseParams.checkIntegrity();
-        return Objects.requireNonNull(getDefault().getYaml().dumpAsMap(baseParams));
+        return Objects.requireNonNull(getDefault().dumpAsMap(baseParams));
     }
 
     public String toStringAsVersion(BaseParams baseParamsYaml, int version) {
@@ -104,7 +104,7 @@ public class BaseYamlUtils<T extends BaseParams> {
             //noinspection unchecked
             T p = (T)currBaseParamsYaml;
 
-            return Objects.requireNonNull(utils.getYaml().dumpAsMap(p));
+            return Objects.requireNonNull(utils.dumpAsMap(p));
         }
     }
 
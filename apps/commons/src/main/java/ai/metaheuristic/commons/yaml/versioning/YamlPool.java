@@ -0,0 +1,88 @@
+/*
+ * Metaheuristic, Copyright (C) 2017-2025, Innovation platforms, LLC
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package ai.metaheuristic.commons.yaml.versioning;
+
+import org.yaml.snakeyaml.Yaml;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Pool of Yaml instances for one params class and version.
+ *
+ * <p>Yaml isn't thread-safe, so before the pool each call of toString()/to() created a new Yaml together with
+ * Constructor, Representer and LoaderOptions, and SnakeYAML introspected the params classes from the scratch.
+ * A pooled instance keeps its introspected properties and type descriptions between calls.
+ * The pool is used instead of ThreadLocal because with virtual threads there isn't any reuse of thread-local instances.
+ *
+ * <p>An instance is borrowed exclusively for one call. An instance which has thrown an exception isn't returned
+ * to the pool because a Representer doesn't clean its state after a failed dump.
+ *
+ * @author Serge
+ * Date: 10/18/2026
+ * Time: 4:10 PM
+ */
+public class YamlPool {
+
+    public static final int MAX_IDLE = 32;
+
+    private final Supplier<Yaml> factory;
+    private final Queue<Yaml> idle = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger idleCount = new AtomicInteger();
+
+    public YamlPool(Supplier<Yaml> factory) {
+        this.factory = factory;
+    }
+
+    public <R> R apply(Function<Yaml, R> function) {
+        Yaml yaml = idle.poll();
+        if (yaml==null) {
+            yaml = factory.get();
+        }
+        else {
+            idleCount.decrementAndGet();
+        }
+        R result = function.apply(yaml);
+        if (idleCount.incrementAndGet()<=MAX_IDLE) {
+            idle.offer(yaml);
+        }
+        else {
+            idleCount.decrementAndGet();
+        }
+        return result;
+    }
+
+    public String dump(Object o) {
+        return apply(yaml -> yaml.dump(o));
+    }
+
+    public String dumpAsMap(Object o) {
+        return apply(yaml -> yaml.dumpAsMap(o));
+    }
+
+    public <T> T load(String s) {
+        return apply(yaml -> yaml.load(s));
+    }
+
+    public int idle() {
+        return idleCount.get();
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Metaheuristic, Copyright (C) 2017-2025, Innovation platforms, LLC
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package ai.metaheuristic.commons.system;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * @author Serge
+ * Date: 10/18/2026
+ * Time: 6:40 PM
+ */
+@Execution(ExecutionMode.CONCURRENT)
+public class ConsoleTailTest {
+
+    private static void append(ConsoleTail tail, String s) {
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        tail.append(bytes, 0, bytes.length);
+    }
+
+    @Test
+    public void test_lastLines() {
+        ConsoleTail tail = new ConsoleTail(3);
+        append(tail, "line 1\nline 2\n  line 3  \nline 4\nline 5");
+        assertEquals("line 3\nline 4\nline 5\n", tail.getTail());
+        tail.close();
+        assertEquals("line 3\nline 4\nline 5\n", tail.getTail());
+        assertEquals(5, tail.getTotalLines());
+    }
+
+    @Test
+    public void test_separatorsSplitBetweenBlocks() {
+        ConsoleTail tail = new ConsoleTail(10);
+        append(tail, "a\r");
+        append(tail, "\nb");
+        append(tail, "c\r\nd\re\n\n");
+        append(tail, "f");
+        tail.close();
+        assertEquals("a\nbc\nd\ne\n\nf\n", tail.getTail());
+        assertEquals(6, tail.getTotalLines());
+    }
+
+    @Test
+    public void test_multiByteCharSplitBetweenBlocks() {
+        ConsoleTail tail = new ConsoleTail(2);
+        byte[] bytes = "Привет\n".getBytes(StandardCharsets.UTF_8);
+        tail.append(bytes, 0, 3);
+        tail.append(bytes, 3, bytes.length - 3);
+        assertEquals("Привет\n", tail.getTail());
+        assertEquals(bytes.length, tail.getTotalBytes());
+    }
+
+    @Test
+    public void test_longLineIsTruncated() {
+        ConsoleTail tail = new ConsoleTail(2);
+        append(tail, "x".repeat(ConsoleTail.MAX_LINE_BYTES + 100) + "\nnext\n");
+        String[] lines = tail.getTail().split("\n");
+        assertEquals(ConsoleTail.MAX_LINE_BYTES, lines[0].length());
+        assertEquals("next", lines[1]);
+    }
+}
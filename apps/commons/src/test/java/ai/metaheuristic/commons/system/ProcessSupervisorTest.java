@@ -0,0 +1,90 @@
+/*
+ * Metaheuristic, Copyright (C) 2017-2025, Innovation platforms, LLC
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package ai.metaheuristic.commons.system;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Serge
+ * Date: 10/18/2026
+ * Time: 7:50 PM
+ */
+@Execution(ExecutionMode.CONCURRENT)
+public class ProcessSupervisorTest {
+
+    @TempDir
+    public Path tempDir;
+
+    private Process startSleeping() throws IOException {
+        Path source = tempDir.resolve("Sleep.java");
+        Files.writeString(source, "public class Sleep { public static void main(String[] args) throws Exception { Thread.sleep(60_000); } }");
+        String java = ProcessHandle.current().info().command().orElse("java");
+        return new ProcessBuilder(java, source.toString()).start();
+    }
+
+    @Test
+    public void test_timeout() throws Exception {
+        Process process = startSleeping();
+        ProcessSupervisor.Supervised supervised = ProcessSupervisor.supervise(process, "test-timeout", 500, List.of());
+        assertTrue(process.waitFor(30, TimeUnit.SECONDS));
+        supervised.completed();
+        assertEquals("timeout", supervised.getTerminationReason());
+    }
+
+    @Test
+    public void test_signal() throws Exception {
+        Process process = startSleeping();
+        AtomicBoolean deleted = new AtomicBoolean();
+        ProcessSupervisor.Supervised supervised = ProcessSupervisor.supervise(
+                process, "test-signal", TimeUnit.MINUTES.toMillis(5), List.<Supplier<Boolean>>of(deleted::get));
+        deleted.set(true);
+        ProcessSupervisor.signal();
+        // much less than the timeout
+        assertTrue(process.waitFor(30, TimeUnit.SECONDS));
+        supervised.completed();
+        assertEquals("interrupted", supervised.getTerminationReason());
+    }
+
+    @Test
+    public void test_normalExit() throws Exception {
+        String java = ProcessHandle.current().info().command().orElse("java");
+        Process process = new ProcessBuilder(java, "-version").start();
+        ProcessSupervisor.Supervised supervised = ProcessSupervisor.supervise(
+                process, "test-normal", TimeUnit.MINUTES.toMillis(5), List.<Supplier<Boolean>>of(() -> false));
+        process.getInputStream().transferTo(OutputStream.nullOutputStream());
+        assertEquals(0, process.waitFor());
+        supervised.completed();
+        assertFalse(supervised.isTerminated());
+        assertFalse(supervised.terminate("too late"));
+        assertTrue(ProcessSupervisor.getStats().completed()>0);
+    }
+}
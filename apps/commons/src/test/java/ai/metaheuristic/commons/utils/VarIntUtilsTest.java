@@ -0,0 +1,74 @@
+/*
+ * Metaheuristic, Copyright (C) 2017-2025, Innovation platforms, LLC
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package ai.metaheuristic.commons.utils;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+import java.io.ByteArrayOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Serge
+ * Date: 10/18/2026
+ * Time: 1:30 PM
+ */
+@Execution(ExecutionMode.CONCURRENT)
+public class VarIntUtilsTest {
+
+    @Test
+    public void test_roundTrip() {
+        long[] unsigned = {0, 1, 127, 128, 16_383, 16_384, Integer.MAX_VALUE, Long.MAX_VALUE};
+        long[] signed = {0, -1, 1, -64, 64, Integer.MIN_VALUE, Long.MIN_VALUE, Long.MAX_VALUE};
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (long v : unsigned) {
+            VarIntUtils.writeLong(out, v);
+        }
+        for (long v : signed) {
+            VarIntUtils.writeSignedLong(out, v);
+        }
+        VarIntUtils.writeString(out, "");
+        VarIntUtils.writeString(out, "ctx-1|2#3 Привет");
+
+        VarIntUtils.Reader r = new VarIntUtils.Reader(out.toByteArray());
+        for (long v : unsigned) {
+            assertEquals(v, r.readLong());
+        }
+        for (long v : signed) {
+            assertEquals(v, r.readSignedLong());
+        }
+        assertEquals("", r.readString());
+        assertEquals("ctx-1|2#3 Привет", r.readString());
+        assertFalse(r.hasRemaining());
+        assertThrows(IllegalStateException.class, r::readByte);
+    }
+
+    @Test
+    public void test_smallValuesAreOneByte() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        VarIntUtils.writeLong(out, 127);
+        VarIntUtils.writeSignedLong(out, -64);
+        assertEquals(2, out.size());
+    }
+
+    @Test
+    public void test_negativeUnsigned() {
+        assertThrows(IllegalArgumentException.class, () -> VarIntUtils.writeLong(new ByteArrayOutputStream(), -1));
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Metaheuristic, Copyright (C) 2017-2025, Innovation platforms, LLC
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package ai.metaheuristic.commons.utils.checksum;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.output.NullOutputStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Serge
+ * Date: 10/18/2026
+ * Time: 4:35 PM
+ */
+@Execution(ExecutionMode.CONCURRENT)
+public class Sha256LengthInputStreamTest {
+
+    @Test
+    public void test_sameAsDigestUtils() throws IOException {
+        byte[] bytes = new byte[100_000];
+        new Random(42).nextBytes(bytes);
+
+        Sha256LengthInputStream is = new Sha256LengthInputStream(new ByteArrayInputStream(bytes));
+        IOUtils.copyLarge(is, NullOutputStream.INSTANCE);
+
+        assertTrue(is.isFullyRead());
+        assertEquals(bytes.length, is.getLength());
+        assertEquals(DigestUtils.sha256Hex(bytes), is.getSha256());
+        assertEquals(is.getSha256(), is.getSha256());
+    }
+
+    @Test
+    public void test_singleBytesAndSkip() throws IOException {
+        byte[] bytes = "0123456789abcdef".getBytes(StandardCharsets.UTF_8);
+
+        Sha256LengthInputStream is = new Sha256LengthInputStream(new ByteArrayInputStream(bytes));
+        assertEquals('0', is.read());
+        assertEquals(5, is.skip(5));
+        byte[] buffer = new byte[4];
+        assertEquals(4, is.read(buffer, 0, 4));
+        assertFalse(is.isFullyRead());
+        while (is.read()!=-1) {}
+
+        assertTrue(is.isFullyRead());
+        assertEquals(bytes.length, is.getLength());
+        assertEquals(DigestUtils.sha256Hex(bytes), is.getSha256());
+        assertFalse(is.markSupported());
+    }
+
+    @Test
+    public void test_empty() throws IOException {
+        Sha256LengthInputStream is = new Sha256LengthInputStream(new ByteArrayInputStream(new byte[0]));
+        assertEquals(-1, is.read(new byte[16], 0, 16));
+        assertTrue(is.isFullyRead());
+        assertEquals(0, is.getLength());
+        assertEquals(DigestUtils.sha256Hex(new byte[0]), is.getSha256());
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Metaheuristic, Copyright (C) 2017-2025, Innovation platforms, LLC
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package ai.metaheuristic.commons.yaml.versioning;
+
+import ai.metaheuristic.commons.yaml.YamlUtils;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import org.yaml.snakeyaml.Yaml;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.parallel.ExecutionMode.CONCURRENT;
+
+/**
+ * @author Serge
+ * Date: 10/18/2026
+ * Time: 4:35 PM
+ */
+@Execution(CONCURRENT)
+class YamlPoolTest {
+
+    public static class Bean {
+        public String code;
+        public int value;
+    }
+
+    @Test
+    void test_reuse() {
+        AtomicInteger created = new AtomicInteger();
+        YamlPool pool = new YamlPool(() -> {
+            created.incrementAndGet();
+            return YamlUtils.init(Bean.class);
+        });
+
+        Bean b = new Bean();
+        b.code = "code-1";
+        b.value = 42;
+        for (int i = 0; i < 10; i++) {
+            String s = pool.dumpAsMap(b);
+            Bean b1 = pool.load(s);
+            assertEquals("code-1", b1.code);
+            assertEquals(42, b1.value);
+        }
+        assertEquals(1, created.get());
+        assertEquals(1, pool.idle());
+    }
+
+    @Test
+    void test_failedInstanceIsDropped() {
+        AtomicInteger created = new AtomicInteger();
+        YamlPool pool = new YamlPool(() -> {
+            created.incrementAndGet();
+            return YamlUtils.init(Bean.class);
+        });
+        assertThrows(RuntimeException.class, () -> pool.load("code: [unclosed"));
+        assertEquals(0, pool.idle());
+
+        Bean b = pool.load("code: code-2");
+        assertEquals("code-2", b.code);
+        assertEquals(2, created.get());
+    }
+
+    @Test
+    void test_exclusiveUse() throws Exception {
+        Set<Yaml> inUse = Collections.synchronizedSet(Collections.newSetFromMap(new IdentityHashMap<>()));
+        AtomicInteger sharedUse = new AtomicInteger();
+        YamlPool pool = new YamlPool(() -> YamlUtils.init(Bean.class));
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                futures.add(executor.submit(() -> {
+                    for (int j = 0; j < 500; j++) {
+                        pool.apply(yaml -> {
+                            if (!inUse.add(yaml)) {
+                                sharedUse.incrementAndGet();
+                            }
+                            Bean bean = yaml.load("code: c" + Thread.currentThread().threadId());
+                            inUse.remove(yaml);
+                            return bean;
+                        });
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+        finally {
+            executor.shutdown();
+        }
+        assertEquals(0, sharedUse.get());
+        assertTrue(pool.idle()<=YamlPool.MAX_IDLE);
+    }
+}
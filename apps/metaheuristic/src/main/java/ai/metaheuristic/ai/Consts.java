@@ -49,6 +49,8 @@ public class Consts {
     public static final String VARIABLE_STATUS_REST_URL = "/variable-status";
     public static final String REST_ASSET_URL = "/rest/v1/asset";
     public static final String WS_DISPATCHER_URL = "/ws/dispatcher";
+    // personal topic of processor, the full name is WS_PROCESSOR_TOPIC_PREFIX + processorId
+    public static final String WS_PROCESSOR_TOPIC_PREFIX = "/topic/processor-";
 
     public static final MediaType APPLICATION_JSON_UTF8 = new MediaType(MediaType.APPLICATION_JSON.getType(), MediaType.APPLICATION_JSON.getSubtype(), StandardCharsets.UTF_8);
 
@@ -78,6 +80,7 @@ public class Consts {
     public static final String GLOBAL_VARIABLES_DIR = "global-variables";
     public static final String FUNCTIONS_DIR = "functions";
     public static final String CACHE_VARIABLES_DIR = "cache-variables";
+    public static final String CONTENT_DIR = "content";
 
 
     public static final String METADATA_YAML_FILE_NAME = "metadata.yaml";
@@ -90,6 +93,7 @@ public class Consts {
 
     public static final String PARAMS_YAML_MASK = "params-v%d.yaml";
     public static final String TASK_YAML = "task.yaml";
+    public static final String TASK_JOURNAL = "task-journal.bin";
 
     public static final String MH_EXEC_CONTEXT_INPUT_VARIABLE = "mh.exec-context-input-variable";
     public static final String LOCALHOST_IP = "127.0.0.1";
@@ -115,7 +119,9 @@ public class Consts {
 
     public static final String HEADER_MH_IS_LAST_CHUNK = "mh-is-last-chunk";
     public static final String HEADER_MH_CHUNK_SIZE = "mh-chunk-size";
+    public static final String HEADER_MH_TOTAL_SIZE = "mh-total-size";
     public static final String RESOURCES_TO_CLEAN = "mh-to-clean";
+    public static final int DOWNLOAD_CONCURRENCY_DEFAULT = 4;
 
     public static final String META_PREDICTED_DATA = "mh-predicted-data";
     public static final String META_FITTED = "mh-fitted";
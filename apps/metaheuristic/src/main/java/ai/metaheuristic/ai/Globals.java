@@ -210,6 +210,12 @@ public class Globals {
         @DurationUnit(ChronoUnit.SECONDS)
         public Duration artifactCleaner = ConstsApi.SECONDS_60;
 
+        /**
+         * max duration of one pass of ArtifactCleanerAtDispatcher, the rest of work is done by next passes
+         */
+        @DurationUnit(ChronoUnit.SECONDS)
+        public Duration artifactCleanerBudget = ConstsApi.SECONDS_60;
+
         @DurationUnit(ChronoUnit.SECONDS)
         public Duration updateBatchStatuses = Duration.ofSeconds(5);
 
@@ -242,6 +248,10 @@ public class Globals {
             return artifactCleaner.toSeconds() >= 60 && artifactCleaner.toSeconds() <=600 ? artifactCleaner : ConstsApi.SECONDS_300;
         }
 
+        public Duration getArtifactCleanerBudget() {
+            return artifactCleanerBudget.toSeconds() >= 10 && artifactCleanerBudget.toSeconds() <=600 ? artifactCleanerBudget : ConstsApi.SECONDS_60;
+        }
+
         public Duration getGc() {
             return gc.toSeconds() >= 600 && gc.toSeconds() <= 3600*24*7 ? gc : ConstsApi.SECONDS_3600;
         }
@@ -258,6 +268,10 @@ public class Globals {
             this.artifactCleaner = artifactCleaner;
         }
 
+        public void setArtifactCleanerBudget(Duration artifactCleanerBudget) {
+            this.artifactCleanerBudget = artifactCleanerBudget;
+        }
+
         public void setUpdateBatchStatuses(Duration updateBatchStatuses) {
             this.updateBatchStatuses = updateBatchStatuses;
         }
@@ -285,6 +299,35 @@ public class Globals {
         }
     }
 
+    @Getter
+    @Setter
+    public static class Lucene {
+        /**
+         * commit_per_op - every addOrUpdate/delete/addBatch is committed before the call returns.
+         * periodic - changes are visible to searches immediately via NRT reopen,
+         * and are committed every commitInterval or after commitMaxDocs uncommitted documents, whatever comes first.
+         */
+        public Enums.LuceneDurability durability = Enums.LuceneDurability.commit_per_op;
+
+        @DurationUnit(ChronoUnit.SECONDS)
+        public Duration commitInterval = Duration.ofSeconds(5);
+
+        public int commitMaxDocs = 1000;
+
+        public Enums.LuceneDirectoryType directory = Enums.LuceneDirectoryType.nio;
+
+        // prefixes of buckets which are read-heavy and are opened with MMapDirectory regardless of 'directory'
+        public List<String> mmapBuckets = new ArrayList<>();
+
+        public Duration getCommitInterval() {
+            return commitInterval.toSeconds() >= 1 && commitInterval.toSeconds() <= 300 ? commitInterval : Duration.ofSeconds(5);
+        }
+
+        public void setCommitMaxDocs(int commitMaxDocs) {
+            this.commitMaxDocs = EnvProperty.minMax(commitMaxDocs, 1, 1_000_000);
+        }
+    }
+
     @Getter
     @Setter
     public static class Trusted {
@@ -369,6 +412,7 @@ public class Globals {
         public RowsLimit rowsLimit = new RowsLimit();
         public DispatcherTimeout timeout = new DispatcherTimeout();
         public ExecutionGate executionGate = new ExecutionGate();
+        public Lucene lucene = new Lucene();
 
         @PeriodUnit(ChronoUnit.DAYS)
         public Period keepEventsInDb = ConstsApi.DAYS_90;
@@ -397,6 +441,10 @@ public class Globals {
         @DataSizeUnit(DataUnit.MEGABYTES)
         public DataSize chunkSize = DataSize.ofMegabytes(10);
 
+        // max size of decompressed gzip-json body of /srv-v2 and /keep-alive requests
+        @DataSizeUnit(DataUnit.MEGABYTES)
+        public DataSize maxCommRequestSize = DataSize.ofMegabytes(16);
+
         public Period getKeepEventsInDb() {
             return keepEventsInDb.getDays() >= 7 && keepEventsInDb.getDays() <= ConstsApi.DAYS_IN_YEARS_3.getDays() ? keepEventsInDb : ConstsApi.DAYS_90;
         }
@@ -597,7 +645,13 @@ public class Globals {
             this.taskConsoleOutputMaxLines = EnvProperty.minMax( taskConsoleOutputMaxLines, 1000, 100000);
         }
 
+        // console output of functions is stored as mh-system-console.log.gz
+        public boolean compressConsoleLog = false;
+
         public int initCoreNumber = 1;
+
+        // shared by all downloads of variables and functions, bytes per second, 0 means unlimited
+        public DataSize downloadBandwidthLimit = DataSize.ofBytes(0);
     }
 
     @Getter
@@ -710,6 +764,7 @@ public class Globals {
     public Path dispatcherStorageGlobalVariablesPath;
     public Path dispatcherStorageFunctionsPath;
     public Path dispatcherStorageCacheVariablessPath;
+    public Path dispatcherStorageContentPath;
     public Path processorPath;
     public Path processorResourcesPath;
 
@@ -784,6 +839,9 @@ public class Globals {
 
             dispatcherStorageCacheVariablessPath = dispatcherStoragePath.resolve(Consts.CACHE_VARIABLES_DIR);
             Files.createDirectories(dispatcherStorageCacheVariablessPath);
+
+            dispatcherStorageContentPath = dispatcherStoragePath.resolve(Consts.CONTENT_DIR);
+            Files.createDirectories(dispatcherStorageContentPath);
         }
         initOperationSystem();
 
@@ -1040,6 +1098,7 @@ public class Globals {
         log.info("'\tprocessor.enabled: {}", processor.enabled);
         log.info("'\tprocessor.dir: {}", processorPath.toAbsolutePath().normalize());
         log.info("'\tprocessor.taskConsoleOutputMaxLines: {}", processor.taskConsoleOutputMaxLines);
+        log.info("'\tprocessor.compressConsoleLog: {}", processor.compressConsoleLog);
         log.info("'\tprocessor.timeout.artifactCleaner: {}", processor.timeout.artifactCleaner);
         log.info("'\tprocessor.timeout.downloadFunction: {}", processor.timeout.downloadFunction);
         log.info("'\tprocessor.timeout.downloadResource: {}", processor.timeout.downloadResource);
@@ -25,10 +25,12 @@ import ai.metaheuristic.ai.dispatcher.exec_context.ExecContextTaskResettingTopLe
 import ai.metaheuristic.ai.dispatcher.exec_context_task_state.ExecContextTaskStateService;
 import ai.metaheuristic.ai.dispatcher.exec_context_variable_state.ExecContextVariableStateTopLevelService;
 import ai.metaheuristic.ai.dispatcher.long_running.LongRunningTopLevelService;
+import ai.metaheuristic.ai.dispatcher.lucene.LuceneIndexService;
 import ai.metaheuristic.ai.dispatcher.replication.ReplicationService;
 import ai.metaheuristic.ai.dispatcher.signal_bus.SignalBusSweeper;
 import ai.metaheuristic.ai.dispatcher.task.TaskCheckCachingService;
 import ai.metaheuristic.ai.dispatcher.thread.DeadLockDetector;
+import ai.metaheuristic.ai.dispatcher.ws.TaskOfferService;
 import ai.metaheuristic.ai.functions.FunctionRepositoryDispatcherService;
 import ai.metaheuristic.ai.functions.FunctionRepositoryProcessorService;
 import ai.metaheuristic.ai.processor.*;
@@ -149,6 +151,33 @@ public class Schedulers {
         }
     }
 
+    @Configuration
+    @EnableScheduling
+    @RequiredArgsConstructor(onConstructor_={@Autowired})
+    @Slf4j @SuppressWarnings("DuplicatedCode")
+    @Profile("dispatcher")
+    public static class LuceneCommitSchedulingConfig implements SchedulingConfigurer {
+        private final Globals globals;
+        private final LuceneIndexService luceneIndexService;
+
+        @Override
+        public void configureTasks(ScheduledTaskRegistrar taskRegistrar) {
+            taskRegistrar.setScheduler(Executors.newSingleThreadScheduledExecutor());
+            taskRegistrar.addTriggerTask( this::commitLuceneIndexes, context -> getInstant(context, globals.dispatcher.lucene.getCommitInterval()));
+        }
+
+        public void commitLuceneIndexes() {
+            if (globals.testing || !globals.dispatcher.enabled) {
+                return;
+            }
+            if (globals.dispatcher.lucene.durability!=Enums.LuceneDurability.periodic) {
+                return;
+            }
+            log.debug("Invoking luceneIndexService.commitPending()");
+            luceneIndexService.commitPending();
+        }
+    }
+
     @Configuration
     @EnableScheduling
     @RequiredArgsConstructor(onConstructor_={@Autowired})
@@ -179,6 +208,29 @@ public class Schedulers {
         }
     }
 
+    @Service
+    @EnableScheduling
+    @Slf4j
+    @Profile("dispatcher & websocket")
+    @RequiredArgsConstructor(onConstructor_={@Autowired})
+    public static class TaskOfferSchedulers {
+        private final Globals globals;
+        private final TaskOfferService taskOfferService;
+
+        // offers are checked on each round of offering too, but without new tasks there isn't any round
+        @Scheduled(initialDelay = 30_000, fixedDelay = 30_000 )
+        public void resetExpiredTaskOffers() {
+            if (globals.testing || !globals.dispatcher.enabled) {
+                return;
+            }
+            try {
+                taskOfferService.resetExpiredOffers();
+            } catch (Throwable th) {
+                log.error("Error while resetExpiredOffers()", th);
+            }
+        }
+    }
+
     @Service
     @EnableScheduling
     @Slf4j
@@ -21,6 +21,7 @@ import ai.metaheuristic.ai.Globals;
 import ai.metaheuristic.ai.MetaheuristicThreadLocal;
 import ai.metaheuristic.ai.data.DispatcherData;
 import ai.metaheuristic.ai.dispatcher.event.events.CheckForLostTaskEvent;
+import ai.metaheuristic.ai.dispatcher.event.events.CoreTaskRequestedEvent;
 import ai.metaheuristic.ai.dispatcher.exec_context.ExecContextTopLevelService;
 import ai.metaheuristic.ai.dispatcher.processor.ProcessorTxService;
 import ai.metaheuristic.ai.dispatcher.task.TaskProviderTopLevelService;
@@ -160,6 +161,9 @@ public class DispatcherCommandProcessor {
         if (assignedTask!=null) {
             log.info("997.180 Assign task #{} to processor #{}, core #{}", assignedTask.getTaskId(), request.processorCommContext.processorId, core.coreId);
         }
+        eventPublisher.publishEvent(new CoreTaskRequestedEvent(
+                request.processorCommContext.processorId, core.coreId, core.requestTask.isAcceptOnlySigned(), quotas.initial, taskIds,
+                assignedTask==null ? null : assignedTask.getTaskId()));
         return assignedTask;
     }
 
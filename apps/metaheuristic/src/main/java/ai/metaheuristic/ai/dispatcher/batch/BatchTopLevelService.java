@@ -76,8 +76,8 @@ import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
-import java.util.Set;
 import java.util.function.Function;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -117,7 +117,7 @@ public class BatchTopLevelService {
     public static final Function<ZipEntry, ZipUtils.ValidationResult> VALIDATE_ZIP_FUNCTION = BatchTopLevelService::isZipEntityNameOk;
     public static final Function<ZipEntry, ZipUtils.ValidationResult> VALIDATE_ZIP_ENTRY_SIZE_FUNCTION = BatchTopLevelService::isZipEntitySizeOk;
 
-    public void deleteOrphanOrObsoletedBatches(Set<Long> batchIds) {
+    public void deleteOrphanOrObsoletedBatches(Collection<Long> batchIds) {
         for (Long batchId : batchIds) {
             try {
                 batchTxService.deleteBatch(batchId);
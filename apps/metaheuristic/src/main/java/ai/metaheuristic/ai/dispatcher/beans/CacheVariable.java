@@ -69,4 +69,9 @@ public class CacheVariable implements Serializable {
     @Lob
     public Blob data;
 
+    // content-addressed storage only, SHA-256 of data in MH_CONTENT_BLOB
+    @Nullable
+    @Column(name = "SHA256")
+    public String sha256;
+
 }
@@ -0,0 +1,69 @@
+/*
+ * Metaheuristic, Copyright (C) 2017-2025, Innovation platforms, LLC
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package ai.metaheuristic.ai.dispatcher.beans;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+/**
+ * Data of content-addressed storage. The data itself is kept in a file which is named by SHA-256 of the data,
+ * VariableBlob and CacheVariable point to it via their own SHA256 columns.
+ *
+ * @author Serge
+ * Date: 10/18/2026
+ * Time: 6:10 PM
+ */
+@Entity
+@Table(name = "MH_CONTENT_BLOB")
+@Data
+@EqualsAndHashCode(of = {"sha256"})
+@NoArgsConstructor
+public class ContentBlob implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 2781561170434591762L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    public Long id;
+
+    @Version
+    private Integer version;
+
+    @Column(name = "SHA256")
+    public String sha256;
+
+    @Column(name = "DATA_LENGTH")
+    public long dataLength;
+
+    /**
+     * the number of VariableBlob and CacheVariable records which point to this data
+     */
+    @Column(name = "REF_COUNT")
+    public long refCount;
+
+    /**
+     * time of the last change of refCount, data without references is deleted only after a grace period since this time
+     */
+    @Column(name = "UPDATED_ON")
+    public long updatedOn;
+}
@@ -15,6 +15,7 @@
  */
 package ai.metaheuristic.ai.dispatcher.beans;
 
+import ai.metaheuristic.ai.dispatcher.task.TaskParamsYamlCache;
 import ai.metaheuristic.commons.yaml.task.TaskParamsYaml;
 import ai.metaheuristic.api.dispatcher.Task;
 import ai.metaheuristic.commons.utils.threads.ThreadUtils;
@@ -114,28 +115,52 @@ public class TaskImpl implements Serializable, Task {
     }
 
     public void setParams(String params) {
-        this.paramsLocked.reset(()->this.params = params);
+        this.paramsLocked.reset(()->{
+            this.params = params;
+            this.paramsChanged = true;
+        });
     }
 
+    // params were changed after loading, so they can't be found in TaskParamsYamlCache by the current version
+    @Transient
+    @JsonIgnore
+    private boolean paramsChanged = false;
+
     @Transient
     @JsonIgnore
     private final ThreadUtils.CommonThreadLocker<TaskParamsYaml> paramsLocked =
             new ThreadUtils.CommonThreadLocker<>(this::parseParams);
 
     private TaskParamsYaml parseParams() {
-        TaskParamsYaml temp = TaskParamsYamlUtils.UTILS.to(params);
-        TaskParamsYaml ecpy = temp==null ? new TaskParamsYaml() : temp;
-        return ecpy;
+        if (!paramsChanged && id!=null && version!=null) {
+            return TaskParamsYamlCache.get(id, version, params);
+        }
+        return TaskParamsYamlCache.parse(params);
     }
 
+    /**
+     * Parsed params which are shared with other instances of this task, must not be changed.
+     * For changing use {@link #getTaskParamsYamlForUpdate()}
+     */
     @JsonIgnore
     public TaskParamsYaml getTaskParamsYaml() {
         return paramsLocked.get();
     }
 
+    /**
+     * A private copy of params, which can be changed and stored back with {@link #updateParams}
+     */
+    @JsonIgnore
+    public TaskParamsYaml getTaskParamsYamlForUpdate() {
+        return TaskParamsYamlCache.parse(params);
+    }
+
     @JsonIgnore
     public void updateParams(TaskParamsYaml tpy) {
         setParams(TaskParamsYamlUtils.UTILS.toString(tpy));
+        if (id!=null) {
+            TaskParamsYamlCache.evict(id);
+        }
     }
 
 }
\ No newline at end of file
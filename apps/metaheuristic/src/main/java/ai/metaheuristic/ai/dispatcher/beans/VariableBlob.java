@@ -54,6 +54,14 @@ public class VariableBlob implements Serializable {
     @Column(name = "IS_MATERIALIZED")
     private boolean materialized;
 
-    // TODO 2020-12-21 need to add a way to check the length of variable with length of stored on disk variable
-    //  maybe even with checksum
+    // SHA-256 and length of data, computed while the data was being stored. Because of WORM they never change.
+    // null for a stub and for a blob which was stored before these columns were introduced.
+    // With content-addressed storage SHA256 also points to the data in MH_CONTENT_BLOB.
+    @Nullable
+    @Column(name = "SHA256")
+    private String sha256;
+
+    @Nullable
+    @Column(name = "DATA_LENGTH")
+    private Long dataLength;
 }
@@ -0,0 +1,81 @@
+/*
+ * Metaheuristic, Copyright (C) 2017-2025, Innovation platforms, LLC
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package ai.metaheuristic.ai.dispatcher.cache;
+
+import ai.metaheuristic.ai.dispatcher.data.CacheData;
+import ai.metaheuristic.ai.dispatcher.repositories.VariableBlobRepository;
+import ai.metaheuristic.ai.dispatcher.storage.MhGeneralBlobTxService;
+import ai.metaheuristic.commons.spi.DispatcherBlobStorage;
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import java.io.InputStream;
+import java.util.List;
+
+/**
+ * SHA-256 plus length of inputs for a cache key.
+ *
+ * <p>A VariableBlob is write-once, so its checksum is computed while the data is being stored
+ * and here it's only a lookup. A blob without a stored checksum (i.e. it was stored by an older version
+ * or was copied on the database side) is read once and its checksum is persisted for the next time.
+ *
+ * @author Serge
+ * Date: 10/18/2026
+ * Time: 5:05 PM
+ */
+@Service
+@Slf4j
+@Profile("dispatcher")
+@RequiredArgsConstructor(onConstructor_={@Autowired})
+public class CacheChecksumService {
+
+    private final VariableBlobRepository variableBlobRepository;
+    private final MhGeneralBlobTxService mhGeneralBlobTxService;
+    private final DispatcherBlobStorage dispatcherBlobStorage;
+
+    @SneakyThrows
+    public CacheData.Sha256PlusLength getVariableSha256PlusLength(Long variableBlobId) {
+        List<Object[]> rows = variableBlobRepository.getSha256AndLengthById(variableBlobId);
+        if (!rows.isEmpty() && rows.get(0)[0]!=null && rows.get(0)[1]!=null) {
+            Object[] row = rows.get(0);
+            return new CacheData.Sha256PlusLength((String) row[0], ((Number) row[1]).longValue());
+        }
+
+        CacheData.Sha256PlusLength sha256PlusLength;
+        try (InputStream is = dispatcherBlobStorage.getVariableDataAsStreamById(variableBlobId)) {
+            sha256PlusLength = CacheUtils.getSha256PlusLength(is);
+        }
+        if (!rows.isEmpty()) {
+            log.info("183.020 SHA-256 of variableBlob #{} was calculated and will be stored", variableBlobId);
+            mhGeneralBlobTxService.updateVariableSha256AndLength(variableBlobId, sha256PlusLength.sha256, sha256PlusLength.length);
+        }
+        return sha256PlusLength;
+    }
+
+    // a global variable can be re-uploaded, so its checksum is always calculated from its data
+    @SneakyThrows
+    public CacheData.Sha256PlusLength getGlobalVariableSha256PlusLength(Long globalVariableId) {
+        try (InputStream is = dispatcherBlobStorage.getGlobalVariableDataAsStreamById(globalVariableId)) {
+            return CacheUtils.getSha256PlusLength(is);
+        }
+    }
+}
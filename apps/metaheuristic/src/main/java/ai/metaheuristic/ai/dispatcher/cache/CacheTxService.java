@@ -72,9 +72,11 @@ public class CacheTxService {
     private final DispatcherBlobStorage dispatcherBlobStorage;
     private final GeneralBlobTxService generalBlobTxService;
     private final CacheBlobTxService cacheBlobTxService;
+    private final CacheChecksumService cacheChecksumService;
 
     @Transactional
     public void deleteCacheVariable(Long cacheProcessId) {
+        dispatcherBlobStorage.releaseCacheVariableData(cacheVariableRepository.findIdsByCacheProcessId(cacheProcessId));
         cacheVariableRepository.deleteByCacheProcessId(cacheProcessId);
     }
 
@@ -123,6 +125,11 @@ public class CacheTxService {
                 return;
             }
 
+            CacheVariable cacheVariable = cacheBlobTxService.createEmptyCacheVariable(cacheProcess.id, output.name);
+            // a storage which shares data between records links the cache variable to the data without any copying
+            if (v.variableBlobId!=null && dispatcherBlobStorage.linkCacheVariableData(cacheVariable.id, v.variableBlobId)) {
+                continue;
+            }
 
             try {
                 tempFile = Files.createTempFile(globals.dispatcherTempPath, "var-" + output.id + "-", CommonConsts.BIN_EXT);
@@ -147,7 +154,6 @@ public class CacheTxService {
             final long size;
             try {
                 size = Files.size(tempFile);
-                CacheVariable cacheVariable = cacheBlobTxService.createEmptyCacheVariable(cacheProcess.id, output.name);
                 dispatcherBlobStorage.storeCacheVariableData(cacheVariable.id, is, size);
             }
             catch (IOException e) {
@@ -160,8 +166,8 @@ public class CacheTxService {
         return CacheUtils.getKey(tpy, function.params,
             variableTopLevelService::variableBlobIdRef,
             variableTxService::getVariableBlobDataAsString,
-            dispatcherBlobStorage::getVariableDataAsStreamById,
-            dispatcherBlobStorage::getGlobalVariableDataAsStreamById);
+            cacheChecksumService::getVariableSha256PlusLength,
+            cacheChecksumService::getGlobalVariableSha256PlusLength);
     }
 
 }
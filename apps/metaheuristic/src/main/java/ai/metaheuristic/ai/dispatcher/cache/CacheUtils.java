@@ -54,8 +54,8 @@ public class CacheUtils {
             @Nullable String functionParams,
             Function<Long, @Nullable Long> variableBlobIdRefFunc,
             Function<Long, String> variableAsStringFunc,
-            Function<Long, InputStream> variableAsStreamFunc,
-            Function<Long, InputStream> globalVariableAsStreamFunc) {
+            Function<Long, CacheData.Sha256PlusLength> variableSha256Func,
+            Function<Long, CacheData.Sha256PlusLength> globalVariableSha256Func) {
 
         String params = initParas(tpy, functionParams);
 
@@ -63,7 +63,7 @@ public class CacheUtils {
 
         collectInlines(tpy, fullKey);
         addMetasIfNeeded(tpy, fullKey);
-        collectChecksums(tpy, variableBlobIdRefFunc, variableAsStringFunc, variableAsStreamFunc, globalVariableAsStreamFunc, fullKey);
+        collectChecksums(tpy, variableBlobIdRefFunc, variableAsStringFunc, variableSha256Func, globalVariableSha256Func, fullKey);
 
         fullKey.inputs.sort(CacheData.SHA_256_PLUS_LENGTH_COMPARATOR);
         fullKey.metas.sort(CacheData.SHA_256_PLUS_LENGTH_COMPARATOR);
@@ -73,10 +73,11 @@ public class CacheUtils {
     public static final String NULL_VARIABLE = "<null-variable>";
 
     private static void collectChecksums(TaskParamsYaml tpy, Function<Long, @Nullable Long> variableBlobIdRefFunc, Function<Long, String> variableAsStringFunc,
-                                         Function<Long, InputStream> variableAsStreamFunc, Function<Long, InputStream> globalVariableAsStreamFunc, CacheData.FullKey fullKey) {
+                                         Function<Long, CacheData.Sha256PlusLength> variableSha256Func, Function<Long, CacheData.Sha256PlusLength> globalVariableSha256Func,
+                                         CacheData.FullKey fullKey) {
         for (TaskParamsYaml.InputVariable input : tpy.task.inputs) {
             if (input.context==global) {
-                fullKey.inputs.add(getSha256Length(input.id, globalVariableAsStreamFunc));
+                fullKey.inputs.add(getSha256Length(input.id, globalVariableSha256Func));
                 continue;
             }
 
@@ -93,14 +94,14 @@ public class CacheUtils {
                     for (VariableArrayParamsYaml.Variable variable : vapy.array) {
                         long variableId = Long.parseLong(variable.id);
                         if (variable.dataType==EnumsApi.DataType.variable) {
-                            fullKey.inputs.add(getSha256Length(variableId, variableAsStreamFunc));
+                            fullKey.inputs.add(getSha256Length(variableId, variableSha256Func));
                         }
                         else {
-                            fullKey.inputs.add(getSha256Length(variableId, globalVariableAsStreamFunc));
+                            fullKey.inputs.add(getSha256Length(variableId, globalVariableSha256Func));
                         }
                     }
                 }
-                case local -> fullKey.inputs.add(getSha256Length(variableBlobId, variableAsStreamFunc));
+                case local -> fullKey.inputs.add(getSha256Length(variableBlobId, variableSha256Func));
                 default -> throw new IllegalStateException("input.context " + input.context);
             }
         }
@@ -134,15 +135,13 @@ public class CacheUtils {
         return params;
     }
 
-    private static CacheData.Sha256PlusLength getSha256Length(Long variableId, Function<Long, InputStream> streamFunction) {
+    private static CacheData.Sha256PlusLength getSha256Length(Long variableId, Function<Long, CacheData.Sha256PlusLength> sha256Function) {
         try {
-            try (InputStream is = streamFunction.apply(variableId)) {
-                return getSha256PlusLength(is);
-            }
+            return sha256Function.apply(variableId);
         } catch (CommonErrorWithDataException e) {
             throw e;
         } catch (Throwable e) {
-            String es = "181.040 Error while storing data to file";
+            String es = "181.040 Error while calculating a checksum of variable";
             log.error(es, e);
             throw new VariableCommonException(es, variableId);
         }
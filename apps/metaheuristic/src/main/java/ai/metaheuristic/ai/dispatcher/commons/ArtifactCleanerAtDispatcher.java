@@ -14,11 +14,9 @@
  * along with this program.  If not, see <https://www.gnu.org/licenses/>.
  */
 package ai.metaheuristic.ai.dispatcher.commons;
-
 import ai.metaheuristic.ai.Consts;
 import ai.metaheuristic.ai.Globals;
 import ai.metaheuristic.ai.dispatcher.batch.BatchTopLevelService;
-import ai.metaheuristic.ai.dispatcher.beans.*;
 import ai.metaheuristic.ai.dispatcher.cache.CacheTxService;
 import ai.metaheuristic.ai.dispatcher.event.DispatcherEventService;
 import ai.metaheuristic.ai.dispatcher.exec_context.ExecContextCache;
@@ -32,21 +30,35 @@ import ai.metaheuristic.ai.dispatcher.task.TaskQueueService;
 import ai.metaheuristic.ai.dispatcher.task.TaskTransactionalService;
 import ai.metaheuristic.ai.dispatcher.variable.VariableTxService;
 import ai.metaheuristic.ai.shutdown.ShutdownInterface;
+import ai.metaheuristic.commons.spi.DispatcherBlobStorage;
 import ai.metaheuristic.commons.utils.CollectionUtils;
 import ai.metaheuristic.ai.utils.TxUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongFunction;
+import java.util.function.ToIntFunction;
 import java.util.stream.Collectors;
 
+/**
+ * Deletes orphan and obsolete rows at dispatcher.
+ *
+ * <p>Orphans are found by anti-join queries (not exists) and are read in pages by id,
+ * so neither full lists of ids are loaded nor membership is checked in memory.
+ * Each pass has a time budget, {@link Globals.DispatcherTimeout#getArtifactCleanerBudget()},
+ * and whatever is left is done by the next pass. Time and number of affected rows are logged for each phase.
+ */
 @SuppressWarnings("DuplicatedCode")
 @Service
 @Slf4j
@@ -54,15 +66,16 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor(onConstructor_={@Autowired})
 public class ArtifactCleanerAtDispatcher implements ShutdownInterface {
 
+    private static final int ORPHAN_PAGE_SIZE = 500;
+    private static final PageRequest ORPHAN_PAGE_REQUEST = PageRequest.of(0, ORPHAN_PAGE_SIZE);
+
     private final Globals globals;
     private final ExecContextTopLevelService execContextTopLevelService;
     private final ExecContextRepository execContextRepository;
     private final ExecContextGraphRepository execContextGraphRepository;
     private final ExecContextTaskStateRepository execContextTaskStateRepository;
     private final ExecContextVariableStateRepository execContextVariableStateRepository;
-    private final SourceCodeRepository sourceCodeRepository;
     private final BatchRepository batchRepository;
-    private final CompanyRepository companyRepository;
     private final BatchTopLevelService batchTopLevelService;
     private final ExecContextCache execContextCache;
     private final TaskRepository taskRepository;
@@ -79,12 +92,34 @@ public class ArtifactCleanerAtDispatcher implements ShutdownInterface {
     private final ProcessorCoreTxService processorCoreService;
     private final ProcessorCoreRepository processorCoreRepository;
     private final InternalFunctionRegisterService internalFunctionRegisterService;
+    private final DispatcherBlobStorage dispatcherBlobStorage;
 
     private static final AtomicInteger busy = new AtomicInteger(0);
     private static long mills = 0L;
 
     private boolean shutdown = false;
 
+    /**
+     * One pass of cleaning - the deadline of pass and the statistics of phases
+     */
+    private static class CleaningPass {
+        private final long started = System.currentTimeMillis();
+        private final long deadline;
+        private final List<String> phases = new ArrayList<>();
+        private boolean outOfBudget = false;
+
+        private CleaningPass(Duration budget) {
+            this.deadline = started + budget.toMillis();
+        }
+
+        private boolean isOutOfBudget() {
+            if (!outOfBudget && System.currentTimeMillis() > deadline) {
+                outOfBudget = true;
+            }
+            return outOfBudget;
+        }
+    }
+
     public void shutdown() {
         shutdown = true;
     }
@@ -116,36 +151,94 @@ public class ArtifactCleanerAtDispatcher implements ShutdownInterface {
         }
     }
 
+    private boolean isInterrupted(CleaningPass pass) {
+        return pass.isOutOfBudget() || isShutdown();
+    }
+
     public void fixedDelay() {
         TxUtils.checkTxNotExists();
+        CleaningPass pass = new CleaningPass(globals.dispatcher.timeout.getArtifactCleanerBudget());
+        try {
+            // execContext must be deleted without checking isBusy() because we need to terminate all running tasks
+            // all running tasks at processor will be terminated only if a related ExecContext doesn't exist
+            runPhase(pass, "deleteOrphanExecContexts", this::deleteOrphanExecContexts);
+
+            // this operation isn't complex so don't need to use isBusy()
+            runPhase(pass, "markTasksAsFinishedForFinishedExecContext", this::markTasksAsFinishedForFinishedExecContext);
+
+            if (isShutdown()) {
+                return;
+            }
 
-        deleteOrphanExecContexts();
+            // do not change the order of calling
+            runPhase(pass, "deleteOrphanExecContextGraph", this::deleteOrphanExecContextGraph);
+            runPhase(pass, "deleteOrphanExecContextTaskState", this::deleteOrphanExecContextTaskState);
+            runPhase(pass, "deleteOrphanExecContextVariableState", this::deleteOrphanExecContextVariableState);
+            runPhase(pass, "deleteOrphanAndObsoletedBatches", this::deleteOrphanAndObsoletedBatches);
+            runPhase(pass, "deleteOrphanTasks", this::deleteOrphanTasks);
+            // mechanic behind how to decide that Variable is orphan needs to be re-written
+//            runPhase(pass, "deleteOrphanVariables", this::deleteOrphanVariables);
+            runPhase(pass, "deleteOrphanCacheData", this::deleteOrphanCacheData);
+            runPhase(pass, "reclaimUnreferencedBlobs", p -> dispatcherBlobStorage.reclaimUnreferencedData(() -> isInterrupted(p)));
+            runPhase(pass, "deleteObsoleteEvents", this::deleteObsoleteEvents);
+            runPhase(pass, "deleteObsoleteFunctionData", this::deleteObsoleteFunctionData);
+            runPhase(pass, "deleteOrphanCores", this::deleteOrphanCores);
+        }
+        finally {
+            log.info("510.020 cleaning pass took {} ms{}, phases: {}",
+                    System.currentTimeMillis() - pass.started, pass.isOutOfBudget() ? " (time budget is exhausted)" : "", pass.phases);
+        }
+    }
 
-        if (isShutdown() || isShutdown()) {
+    /**
+     * @param phase returns the number of deleted or updated rows
+     */
+    private void runPhase(CleaningPass pass, String name, ToIntFunction<CleaningPass> phase) {
+        if (pass.isOutOfBudget()) {
+            pass.phases.add(name + ": skipped");
             return;
         }
+        long start = System.currentTimeMillis();
+        int rows = 0;
+        try {
+            rows = phase.applyAsInt(pass);
+        }
+        catch (Throwable th) {
+            log.error("510.025 error in " + name, th);
+        }
+        long time = System.currentTimeMillis() - start;
+        pass.phases.add(name + ": " + rows + " rows, " + time + " ms");
+        log.info("510.027 {} finished in {} ms, rows: {}", name, time, rows);
+    }
 
-        // do not change the order of calling
-        deleteOrphanAndObsoletedBatches();
-        deleteOrphanTasks();
-        // mechanic behind how to decide that Variable is orphan needs to be re-written
-//        deleteOrphanVariables();
-        deleteOrphanCacheData();
-        deleteObsoleteEvents();
-        deleteObsoleteFunctionData();
-        deleteOrphanCores();
+    /**
+     * Reads ids of orphans page by page, ordered by id, and passes each page to deleter.
+     * Paging by the last seen id doesn't depend on whether rows of previous pages were actually deleted.
+     *
+     * @param checkBusy whether the loop has to stop when dispatcher is busy, in addition to the time budget
+     * @return the number of rows which deleter reported as deleted
+     */
+    private int forEachOrphanPage(CleaningPass pass, boolean checkBusy, LongFunction<List<Long>> pageFunc, ToIntFunction<List<Long>> deleter) {
+        int deleted = 0;
+        long lastId = 0;
+        while (checkBusy ? !isInterrupted(pass) : !pass.isOutOfBudget() && !shutdown) {
+            List<Long> ids = pageFunc.apply(lastId);
+            if (ids.isEmpty()) {
+                break;
+            }
+            lastId = ids.get(ids.size() - 1);
+            deleted += deleter.applyAsInt(ids);
+            if (ids.size() < ORPHAN_PAGE_SIZE) {
+                break;
+            }
+        }
+        return deleted;
     }
 
-    private void deleteOrphanCores() {
+    private int deleteOrphanCores(CleaningPass pass) {
         log.info("510.030 start deleteOrphanCores()");
-        List<Long> coresIds = processorCoreRepository.getAllProcessorIds();
-        List<Long> processorIds = processorRepository.findAllIds();
-
-        //noinspection SimplifyStreamApiCallChains
-        List<Long> orphanProcessorIds = coresIds.stream()
-                .filter(o->!processorIds.contains(o)).collect(Collectors.toList());
-
-        for (Long processorId : orphanProcessorIds) {
+        int deleted = 0;
+        for (Long processorId : processorCoreRepository.findOrphanProcessorIds()) {
             if (processorRepository.findById(processorId).isPresent()) {
                 log.warn("processorId #{} wasn't deleted, actually", processorId);
                 continue;
@@ -155,8 +248,8 @@ public class ArtifactCleanerAtDispatcher implements ShutdownInterface {
             while (!(ids = processorCoreRepository.findIdsByProcessorId(Consts.PAGE_REQUEST_100_REC, processorId)).isEmpty()) {
                 List<List<Long>> pages = CollectionUtils.parseAsPages(ids, 10);
                 for (List<Long> page : pages) {
-                    if (isShutdown()) {
-                        return;
+                    if (isInterrupted(pass)) {
+                        return deleted;
                     }
                     if (page.isEmpty()) {
                         continue;
@@ -164,6 +257,7 @@ public class ArtifactCleanerAtDispatcher implements ShutdownInterface {
                     log.info("Found orphan ProcessorCore, processorId: #{}, cores #{}", processorId, page);
                     try {
                         ProcessorSyncService.getWithSyncVoid(processorId, ()->processorCoreService.deleteOrphanProcessorCores(page));
+                        deleted += page.size();
                     }
                     catch (Throwable th) {
                         log.error("510.060 variableService.deleteOrphanVariables("+processorId+")", th);
@@ -171,28 +265,28 @@ public class ArtifactCleanerAtDispatcher implements ShutdownInterface {
                 }
             }
         }
+        return deleted;
     }
 
-    private void deleteObsoleteFunctionData() {
+    private int deleteObsoleteFunctionData(CleaningPass pass) {
         log.info("510.090 start deleteObsoleteFunctionData()");
-        List<String> functionCodesInData = functionDataRepository.findAllFunctionCodes();
-        List<String> functionCodes = functionRepository.findAllFunctionCodes();
-        for (String functionCode : functionCodesInData) {
-            if (!functionCodes.contains(functionCode)) {
-                if (isShutdown()) {
-                    return;
-                }
-                try {
-                    functionDataRepository.deleteByFunctionCode(functionCode);
-                }
-                catch (Throwable th) {
-                    log.warn("510.120 error while deleting obsolete function " + functionCode+", " + th);
-                }
+        int deleted = 0;
+        for (String functionCode : functionDataRepository.findOrphanFunctionCodes()) {
+            if (isInterrupted(pass)) {
+                return deleted;
+            }
+            try {
+                functionDataRepository.deleteByFunctionCode(functionCode);
+                deleted++;
+            }
+            catch (Throwable th) {
+                log.warn("510.120 error while deleting obsolete function " + functionCode+", " + th);
             }
         }
+        return deleted;
     }
 
-    private void deleteObsoleteEvents() {
+    private int deleteObsoleteEvents(CleaningPass pass) {
         log.info("510.150 start deleteObsoleteEvents()");
         final int keepPeriod = globals.dispatcher.getKeepEventsInDb().getDays();
         if (keepPeriod >100000) {
@@ -205,11 +299,12 @@ public class ArtifactCleanerAtDispatcher implements ShutdownInterface {
         LocalDate keepStartDate = today.minusDays(keepPeriod);
         int period = DispatcherEventService.getPeriod(keepStartDate);
 
+        int deleted = 0;
         List<Long> periodsForDelete = dispatcherEventRepository.getPeriodIdsBefore(period);
         List<List<Long>> pages = CollectionUtils.parseAsPages(periodsForDelete, 20);
         for (List<Long> page : pages) {
-            if (isShutdown()) {
-                return;
+            if (isInterrupted(pass)) {
+                return deleted;
             }
             if (page.isEmpty()) {
                 continue;
@@ -217,72 +312,38 @@ public class ArtifactCleanerAtDispatcher implements ShutdownInterface {
             log.info("510.210 Found obsolete events #{}", page);
             try {
                 dispatcherEventRepository.deleteAllByIdIn(page);
+                deleted += page.size();
             }
             catch (Throwable th) {
                 log.error("510.240 dispatcherEventRepository.deleteAllByIdIn("+page+")", th);
             }
         }
+        return deleted;
     }
 
-    private void deleteOrphanAndObsoletedBatches() {
+    private int deleteOrphanAndObsoletedBatches(CleaningPass pass) {
         log.info("510.270 start deleteOrphanAndObsoletedBatches()");
-        List<Long> execContextIds = execContextRepository.findAllIds();
-        List<Long> companyUniqueIds = companyRepository.findAllUniqueIds();
-        Set<Long> forDeletion = new HashSet<>();
-        List<Object[]> batches = batchRepository.findAllIdAndCreatedOnAndDeleted();
-        for (Object[] obj : batches) {
-            if (isShutdown()) {
-                return;
-            }
-            long batchId = ((Number)obj[0]).longValue();
-            long createdOn = ((Number)obj[1]).longValue();
-            boolean deleted = Boolean.TRUE.equals(obj[2]);
-
-            if (deleted && System.currentTimeMillis() > createdOn + globals.dispatcher.timeout.batchDeletion.toMillis()) {
-                forDeletion.add(batchId);
-            }
-            else {
-                Batch b = batchRepository.findByIdWithNull(batchId);
-                if (b == null) {
-                    continue;
-                }
-                if (!execContextIds.contains(b.execContextId) || !companyUniqueIds.contains(b.companyId)) {
-                    forDeletion.add(b.id);
-                }
-            }
-        }
-        batchTopLevelService.deleteOrphanOrObsoletedBatches(forDeletion);
+        final long deletedBefore = System.currentTimeMillis() - globals.dispatcher.timeout.batchDeletion.toMillis();
+        return forEachOrphanPage(pass, true,
+                lastId -> batchRepository.findOrphanOrObsoletedIds(ORPHAN_PAGE_REQUEST, lastId, deletedBefore),
+                page -> {
+                    batchTopLevelService.deleteOrphanOrObsoletedBatches(page);
+                    return page.size();
+                });
     }
 
-    private void deleteOrphanExecContexts() {
+    private int deleteOrphanExecContexts(CleaningPass pass) {
         log.info("510.300 start deleteOrphanExecContexts()");
-        List<Long> execContextIds = execContextRepository.findAllIds();
-        if (execContextIds.isEmpty()) {
-            return;
-        }
-
-        // execContext mus be deleted without checking isBusy() because we need to terminate all running tasks
-        // all running tasks at processor will be terminated only if a related ExecContext doesn't exist
-        deleteOrphanExecContexts(execContextIds);
-
-        // this operation isn't complex so don't need to use isBusy()
-        markTasksAsFinishedForFinishedExecContext();
-
-        if (isShutdown()) {
-            return;
-        }
-        deleteOrphanExecContextGraph(execContextIds);
-        if (isShutdown()) {
-            return;
-        }
-        deleteOrphanExecContextTaskState(execContextIds);
-        if (isShutdown()) {
-            return;
-        }
-        deleteOrphanExecContextVariableState(execContextIds);
+        return forEachOrphanPage(pass, false,
+                lastId -> execContextRepository.findOrphanIds(ORPHAN_PAGE_REQUEST, lastId),
+                page -> {
+                    execContextTopLevelService.deleteOrphanExecContexts(page);
+                    return page.size();
+                });
     }
 
-    private void markTasksAsFinishedForFinishedExecContext() {
+    private int markTasksAsFinishedForFinishedExecContext(CleaningPass pass) {
+        int updated = 0;
         List<Long> forUpdating = taskRepository.getUnfinishedTaskForFinishedExecContext();
         List<List<Long>> pages = CollectionUtils.parseAsPages(forUpdating, 5);
         for (List<Long> page : pages) {
@@ -292,111 +353,95 @@ public class ArtifactCleanerAtDispatcher implements ShutdownInterface {
             log.info("Found tasks with lost state, tasks #{}", page);
             try {
                 taskRepository.updateTaskAsFinished(page);
+                updated += page.size();
             }
             catch (Throwable th) {
                 log.error("510.330 taskRepository.updateTaskAsFinished("+page+")", th);
             }
         }
+        return updated;
     }
 
-    private void deleteOrphanExecContexts(List<Long> execContextIds) {
-        log.info("510.360 start deleteOrphanExecContexts(execContextIds)");
-        Set<Long> forDeletion = new HashSet<>();
-        List<Long> sourceCodeIds = sourceCodeRepository.findAllAsIds();
-        for (Long execContextId : execContextIds) {
-            ExecContextImpl ec = execContextRepository.findByIdNullable(execContextId);
-            if (ec==null) {
-                continue;
-            }
-            if ((ec.rootExecContextId!=null && !execContextIds.contains(ec.rootExecContextId)) || !sourceCodeIds.contains(ec.sourceCodeId)) {
-                forDeletion.add(execContextId);
-            }
-        }
-        execContextTopLevelService.deleteOrphanExecContexts(forDeletion);
-    }
-
-    private void deleteOrphanExecContextGraph(List<Long> execContextIds) {
-        log.info("510.420 start deleteOrphanExecContextGraph(execContextIds)");
-        Set<Long> execContextGraphIds = execContextRepository.findExecContextGraphIds(execContextIds);
-        List<Long> allExecContextGraphIds = execContextGraphRepository.findAllIds();
-        for (Long allExecContextGraphId : allExecContextGraphIds) {
-            if (!execContextGraphIds.contains(allExecContextGraphId)) {
-                ExecContextGraph execContextGraph = execContextGraphRepository.findById(allExecContextGraphId).orElse(null);
-                if (execContextGraph==null || execContextGraph.createdOn==null ||
-                        execContextGraph.createdOn==0 || (System.currentTimeMillis()-execContextGraph.createdOn) < 3_600_000 ) {
-                    continue;
-                }
-                log.info("510.450 Found orphan ExecContextGraph #{}", allExecContextGraphId);
-                try {
-                    execContextTxService.deleteOrphanExecContextGraph(allExecContextGraphId);
-                }
-                catch (Throwable th) {
-                    log.warn("510.480 error while deleting ExecContextGraph #" + allExecContextGraphId);
-                }
-            }
-        }
+    private int deleteOrphanExecContextGraph(CleaningPass pass) {
+        log.info("510.420 start deleteOrphanExecContextGraph()");
+        final long createdBefore = System.currentTimeMillis() - 3_600_000;
+        return forEachOrphanPage(pass, true,
+                lastId -> execContextGraphRepository.findOrphanIds(ORPHAN_PAGE_REQUEST, lastId, createdBefore),
+                page -> {
+                    int deleted = 0;
+                    for (Long execContextGraphId : page) {
+                        if (isInterrupted(pass)) {
+                            break;
+                        }
+                        log.info("510.450 Found orphan ExecContextGraph #{}", execContextGraphId);
+                        try {
+                            execContextTxService.deleteOrphanExecContextGraph(execContextGraphId);
+                            deleted++;
+                        }
+                        catch (Throwable th) {
+                            log.warn("510.480 error while deleting ExecContextGraph #" + execContextGraphId);
+                        }
+                    }
+                    return deleted;
+                });
     }
 
-    private void deleteOrphanExecContextTaskState(List<Long> execContextIds) {
-        log.info("510.510 start deleteOrphanExecContextTaskState(execContextIds)");
-        Set<Long> execContextTaskStateIds = execContextRepository.findExecContextTaskStateIds(execContextIds);
-
-        List<Long> allExecContextTaskStateIds = execContextTaskStateRepository.findAllIds();
-        for (Long allExecContextTaskStateId : allExecContextTaskStateIds) {
-            if (!execContextTaskStateIds.contains(allExecContextTaskStateId)) {
-                ExecContextTaskState execContextTaskState = execContextTaskStateRepository.findById(allExecContextTaskStateId).orElse(null);
-                if (execContextTaskState==null || execContextTaskState.createdOn==null ||
-                        execContextTaskState.createdOn==0 || (System.currentTimeMillis()-execContextTaskState.createdOn) < 18_000_000 ) {
-                    continue;
-                }
-                log.info("510.540 Found orphan ExecContextTaskState #{}", allExecContextTaskStateId);
-                try {
-                    execContextTxService.deleteOrphanExecContextTaskState(allExecContextTaskStateId);
-                }
-                catch (Throwable th) {
-                    log.warn("510.570 error while deleting ExecContextTaskState #" + allExecContextTaskStateId);
-                }
-            }
-        }
+    private int deleteOrphanExecContextTaskState(CleaningPass pass) {
+        log.info("510.510 start deleteOrphanExecContextTaskState()");
+        final long createdBefore = System.currentTimeMillis() - 18_000_000;
+        return forEachOrphanPage(pass, true,
+                lastId -> execContextTaskStateRepository.findOrphanIds(ORPHAN_PAGE_REQUEST, lastId, createdBefore),
+                page -> {
+                    int deleted = 0;
+                    for (Long execContextTaskStateId : page) {
+                        if (isInterrupted(pass)) {
+                            break;
+                        }
+                        log.info("510.540 Found orphan ExecContextTaskState #{}", execContextTaskStateId);
+                        try {
+                            execContextTxService.deleteOrphanExecContextTaskState(execContextTaskStateId);
+                            deleted++;
+                        }
+                        catch (Throwable th) {
+                            log.warn("510.570 error while deleting ExecContextTaskState #" + execContextTaskStateId);
+                        }
+                    }
+                    return deleted;
+                });
     }
 
-    private void deleteOrphanExecContextVariableState(List<Long> execContextIds) {
-        log.info("510.600 start deleteOrphanExecContextVariableState(execContextIds)");
-        Set<Long> execContextVariableStateIds = execContextRepository.findExecContextVariableStateIds(execContextIds);
-
-        List<Long> allExecContextVariableStateIds = execContextVariableStateRepository.findAllIds();
-        for (Long allExecContextVariableStateId : allExecContextVariableStateIds) {
-            if (!execContextVariableStateIds.contains(allExecContextVariableStateId)) {
-                ExecContextVariableState execContextVariableState = execContextVariableStateRepository.findById(allExecContextVariableStateId).orElse(null);
-                if (execContextVariableState==null || execContextVariableState.createdOn==null ||
-                        execContextVariableState.createdOn==0 || (System.currentTimeMillis()-execContextVariableState.createdOn) < 3_600_000 ) {
-                    continue;
-                }
-                log.info("510.630 Found orphan ExecContextVariableState #{}", allExecContextVariableStateId);
-                try {
-                    execContextTxService.deleteOrphanExecContextVariableState(allExecContextVariableStateId);
-                }
-                catch (Throwable th) {
-                    log.warn("510.660 error while deleting ExecContextVariableState " + allExecContextVariableStateId);
-                }
-            }
-        }
+    private int deleteOrphanExecContextVariableState(CleaningPass pass) {
+        log.info("510.600 start deleteOrphanExecContextVariableState()");
+        final long createdBefore = System.currentTimeMillis() - 3_600_000;
+        return forEachOrphanPage(pass, true,
+                lastId -> execContextVariableStateRepository.findOrphanIds(ORPHAN_PAGE_REQUEST, lastId, createdBefore),
+                page -> {
+                    int deleted = 0;
+                    for (Long execContextVariableStateId : page) {
+                        if (isInterrupted(pass)) {
+                            break;
+                        }
+                        log.info("510.630 Found orphan ExecContextVariableState #{}", execContextVariableStateId);
+                        try {
+                            execContextTxService.deleteOrphanExecContextVariableState(execContextVariableStateId);
+                            deleted++;
+                        }
+                        catch (Throwable th) {
+                            log.warn("510.660 error while deleting ExecContextVariableState " + execContextVariableStateId);
+                        }
+                    }
+                    return deleted;
+                });
     }
 
-    private void deleteOrphanTasks() {
+    private int deleteOrphanTasks(CleaningPass pass) {
         TxUtils.checkTxNotExists();
         log.info("510.690 start deleteOrphanTasks()");
 
-        List<Long> taskExecContextIds = taskRepository.getAllExecContextIds();
-        List<Long> execContextIds = execContextRepository.findAllIds();
-
-        //noinspection SimplifyStreamApiCallChains
-        List<Long> orphanExecContextIds = taskExecContextIds.stream()
-                .filter(o->!execContextIds.contains(o)).collect(Collectors.toList());
-
-        for (Long execContextId : orphanExecContextIds) {
-            if (isShutdown()) {
-                return;
+        int deleted = 0;
+        for (Long execContextId : taskRepository.findOrphanExecContextIds()) {
+            if (isInterrupted(pass)) {
+                return deleted;
             }
             if (execContextCache.findById(execContextId, true)!=null) {
                 log.warn("execContextId #{} still here", execContextId);
@@ -417,12 +462,13 @@ public class ArtifactCleanerAtDispatcher implements ShutdownInterface {
             while (!(ids = taskRepository.findAllByExecContextId(Consts.PAGE_REQUEST_100_REC, execContextId)).isEmpty()) {
                 List<List<Long>> pages = CollectionUtils.parseAsPages(ids, 10);
                 for (List<Long> page : pages) {
-                    if (page.isEmpty() || isShutdown()) {
-                        return;
+                    if (page.isEmpty() || isInterrupted(pass)) {
+                        return deleted;
                     }
                     log.info("Found orphan task, execContextId: #{}, tasks #{}", execContextId, page);
                     try {
                         taskTransactionalService.deleteOrphanTasks(page);
+                        deleted += page.size();
                     }
                     catch (Throwable th) {
                         log.error("510.750 taskTransactionalService.deleteOrphanTasks("+execContextId+")", th);
@@ -430,18 +476,13 @@ public class ArtifactCleanerAtDispatcher implements ShutdownInterface {
                 }
             }
         }
+        return deleted;
     }
 
-    private void deleteOrphanVariables() {
+    private int deleteOrphanVariables(CleaningPass pass) {
         log.info("510.780 start deleteOrphanVariables()");
-        List<Long> variableExecContextIds = variableRepository.getAllExecContextIds();
-        List<Long> execContextIds = execContextRepository.findAllIds();
-
-        //noinspection SimplifyStreamApiCallChains
-        List<Long> orphanExecContextIds = variableExecContextIds.stream()
-                .filter(o->!execContextIds.contains(o)).collect(Collectors.toList());
-
-        for (Long execContextId : orphanExecContextIds) {
+        int deleted = 0;
+        for (Long execContextId : variableRepository.findOrphanExecContextIds()) {
             if (execContextCache.findById(execContextId, true)!=null) {
                 log.warn("execContextId #{} wasn't deleted, actually", execContextId);
                 continue;
@@ -451,8 +492,8 @@ public class ArtifactCleanerAtDispatcher implements ShutdownInterface {
             while (!(ids = variableRepository.findAllByExecContextId(Consts.PAGE_REQUEST_100_REC, execContextId)).isEmpty()) {
                 List<List<Long>> pages = CollectionUtils.parseAsPages(ids, 10);
                 for (List<Long> page : pages) {
-                    if (isShutdown()) {
-                        return;
+                    if (isInterrupted(pass)) {
+                        return deleted;
                     }
                     if (page.isEmpty()) {
                         continue;
@@ -460,6 +501,7 @@ public class ArtifactCleanerAtDispatcher implements ShutdownInterface {
                     log.info("Found orphan variables, execContextId: #{}, variables #{}", execContextId, page);
                     try {
                         variableService.deleteOrphanVariables(page);
+                        deleted += page.size();
                     }
                     catch (Throwable th) {
                         log.error("510.810 variableService.deleteOrphanVariables("+execContextId+")", th);
@@ -467,11 +509,12 @@ public class ArtifactCleanerAtDispatcher implements ShutdownInterface {
                 }
             }
         }
+        return deleted;
     }
 
-    private void deleteOrphanCacheData() {
+    private int deleteOrphanCacheData(CleaningPass pass) {
         log.info("510.840 start deleteOrphanCacheData()");
-        List<String> funcCodes = functionRepository.findAllFunctionCodes();
+        Set<String> funcCodes = new HashSet<>(functionRepository.findAllFunctionCodes());
         funcCodes.addAll(internalFunctionRegisterService.getCachableFunctions());
 
         Set<String> currFuncCodes = cacheProcessRepository.findAllFunctionCodes();
@@ -479,13 +522,14 @@ public class ArtifactCleanerAtDispatcher implements ShutdownInterface {
         //noinspection SimplifyStreamApiCallChains
         List<String> missingCodes = currFuncCodes.stream().filter(currFuncCode -> !funcCodes.contains(currFuncCode)).collect(Collectors.toList());
 
+        int deleted = 0;
         for (String funcCode : missingCodes) {
             List<Long> ids;
             while (!(ids = cacheProcessRepository.findByFunctionCode(Consts.PAGE_REQUEST_100_REC, funcCode)).isEmpty()) {
                 List<List<Long>> pages = CollectionUtils.parseAsPages(ids, 10);
                 for (List<Long> page : pages) {
-                    if (isShutdown()) {
-                        return;
+                    if (isInterrupted(pass)) {
+                        return deleted;
                     }
                     if (page.isEmpty()) {
                         continue;
@@ -493,6 +537,7 @@ public class ArtifactCleanerAtDispatcher implements ShutdownInterface {
                     log.info("Found orphan cache entries, funcCode: #{}, cacheProcessIds #{}", funcCode, page);
                     try {
                         cacheService.deleteCacheProcesses(page);
+                        deleted += page.size();
                     }
                     catch (Throwable th) {
                         log.error("510.860 cacheService.deleteCacheProcesses("+page+")", th);
@@ -508,5 +553,6 @@ public class ArtifactCleanerAtDispatcher implements ShutdownInterface {
                 }
             }
         }
+        return deleted;
     }
 }
@@ -14,50 +14,244 @@
  * along with this program.  If not, see <https://www.gnu.org/licenses/>.
  */
 
+
 package ai.metaheuristic.ai.dispatcher.commons;
 
-import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
 
-import java.util.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 /**
+ * Registry of per-entity locks of one sync domain, i.e. tasks, execContexts, processors.
+ *
+ * <p>Locks are kept in ConcurrentHashMap, so getting a lock of one entity doesn't contend
+ * with getting a lock of another one. Every lock counts the threads which are holding it or waiting for it,
+ * and an entry is evicted only when this count is zero, the lock isn't held and the entry wasn't requested recently.
+ * The last condition covers the short window between getting a lock from registry and locking it.
+ * An active lock is never evicted, so there can't be two different locks for the same id.
+ *
+ * <p>Each domain collects the metrics of contention, see {@link #getStats()} and {@link #getAllStats()}.
+ *
  * @author Serge
  * Date: 8/14/2020
  * Time: 3:24 PM
  */
+@Slf4j
 public class CommonSync<T> {
 
     private static final int MAX_SYNC_MAP_SIZE = 10000;
-    // private static final long TEN_MINUTES_TO_MILLS = TimeUnit.MINUTES.toMillis(10);
     private static final long ONE_HOUR_TO_MILLS = TimeUnit.HOURS.toMillis(1);
+    // an entry which wasn't requested for this time can be evicted when the registry is over MAX_SYNC_MAP_SIZE
+    private static final long MIN_IDLE_MILLS = TimeUnit.SECONDS.toMillis(30);
+    private static final long EVICTION_PERIOD_MILLS = TimeUnit.MINUTES.toMillis(1);
+    // min interval between scans of an overflowed registry, otherwise every getLock() would scan the whole map
+    private static final long OVERFLOW_EVICTION_PERIOD_MILLS = TimeUnit.SECONDS.toMillis(1);
 
-    @Data
-    public static class TimedLock {
-        public volatile long mills;
-        public ReentrantReadWriteLock lock;
+    private static final List<CommonSync<?>> registries = new CopyOnWriteArrayList<>();
 
-        public TimedLock() {
+    public record Stats(String name, int size, long acquisitions, long contended, long waitMills, long maxWaitMills, long evictions) {}
+
+    public static class CountedLock extends ReentrantReadWriteLock {
+        private final CommonSync<?> sync;
+        private final AtomicInteger holders = new AtomicInteger();
+        private volatile long mills;
+        private final CountedWriteLock writeLock;
+        private final CountedReadLock readLock;
+
+        private CountedLock(CommonSync<?> sync) {
+            this.sync = sync;
             this.mills = System.currentTimeMillis();
-            this.lock = new ReentrantReadWriteLock();
+            this.writeLock = new CountedWriteLock(this);
+            this.readLock = new CountedReadLock(this);
         }
 
-        public TimedLock(ReentrantReadWriteLock lock) {
-            this.mills = System.currentTimeMillis();
-            this.lock = lock;
+        @Override
+        public WriteLock writeLock() {
+            return writeLock;
+        }
+
+        @Override
+        public ReadLock readLock() {
+            return readLock;
+        }
+
+        public int getHolders() {
+            return holders.get();
+        }
+
+        private boolean isEvictable(long now, long idleMills) {
+            return holders.get()==0 && !isWriteLocked() && getReadLockCount()==0 && !hasQueuedThreads() && now - mills > idleMills;
         }
     }
 
-    private final LinkedHashMap<T, TimedLock> map = new LinkedHashMap<>(100) {
-        protected boolean removeEldestEntry(Map.Entry<T, TimedLock> eldest) {
-            // TODO p0 2023-07-30 there is a possible situation
-            //  when a number of active locks greater than MAX_SYNC_MAP_SIZE and the last lock is active,
-            //  then deleting this lock (the last lock in map) and in the same time requesting a new lock for the same T
-            //  will lead to situation when there are 2 WriteLock for one T
-            return this.size()>MAX_SYNC_MAP_SIZE || System.currentTimeMillis() - eldest.getValue().mills > ONE_HOUR_TO_MILLS;
+    private static class CountedWriteLock extends ReentrantReadWriteLock.WriteLock {
+        private final CountedLock owner;
+
+        private CountedWriteLock(CountedLock owner) {
+            super(owner);
+            this.owner = owner;
+        }
+
+        @Override
+        public void lock() {
+            owner.holders.incrementAndGet();
+            if (super.tryLock()) {
+                owner.sync.acquired();
+                return;
+            }
+            long start = System.nanoTime();
+            super.lock();
+            owner.sync.contended(System.nanoTime() - start);
+        }
+
+        @Override
+        public void lockInterruptibly() throws InterruptedException {
+            owner.holders.incrementAndGet();
+            try {
+                long start = System.nanoTime();
+                super.lockInterruptibly();
+                owner.sync.contended(System.nanoTime() - start);
+            }
+            catch (InterruptedException e) {
+                owner.holders.decrementAndGet();
+                throw e;
+            }
+        }
+
+        @Override
+        public boolean tryLock() {
+            owner.holders.incrementAndGet();
+            if (super.tryLock()) {
+                owner.sync.acquired();
+                return true;
+            }
+            owner.holders.decrementAndGet();
+            return false;
+        }
+
+        @Override
+        public boolean tryLock(long timeout, TimeUnit unit) throws InterruptedException {
+            owner.holders.incrementAndGet();
+            boolean locked = false;
+            try {
+                long start = System.nanoTime();
+                locked = super.tryLock(timeout, unit);
+                if (locked) {
+                    owner.sync.contended(System.nanoTime() - start);
+                }
+                return locked;
+            }
+            finally {
+                if (!locked) {
+                    owner.holders.decrementAndGet();
+                }
+            }
+        }
+
+        @Override
+        public void unlock() {
+            super.unlock();
+            owner.holders.decrementAndGet();
+        }
+    }
+
+    private static class CountedReadLock extends ReentrantReadWriteLock.ReadLock {
+        private final CountedLock owner;
+
+        private CountedReadLock(CountedLock owner) {
+            super(owner);
+            this.owner = owner;
+        }
+
+        @Override
+        public void lock() {
+            owner.holders.incrementAndGet();
+            if (super.tryLock()) {
+                owner.sync.acquired();
+                return;
+            }
+            long start = System.nanoTime();
+            super.lock();
+            owner.sync.contended(System.nanoTime() - start);
+        }
+
+        @Override
+        public void lockInterruptibly() throws InterruptedException {
+            owner.holders.incrementAndGet();
+            try {
+                long start = System.nanoTime();
+                super.lockInterruptibly();
+                owner.sync.contended(System.nanoTime() - start);
+            }
+            catch (InterruptedException e) {
+                owner.holders.decrementAndGet();
+                throw e;
+            }
+        }
+
+        @Override
+        public boolean tryLock() {
+            owner.holders.incrementAndGet();
+            if (super.tryLock()) {
+                owner.sync.acquired();
+                return true;
+            }
+            owner.holders.decrementAndGet();
+            return false;
+        }
+
+        @Override
+        public boolean tryLock(long timeout, TimeUnit unit) throws InterruptedException {
+            owner.holders.incrementAndGet();
+            boolean locked = false;
+            try {
+                long start = System.nanoTime();
+                locked = super.tryLock(timeout, unit);
+                if (locked) {
+                    owner.sync.contended(System.nanoTime() - start);
+                }
+                return locked;
+            }
+            finally {
+                if (!locked) {
+                    owner.holders.decrementAndGet();
+                }
+            }
+        }
+
+        @Override
+        public void unlock() {
+            super.unlock();
+            owner.holders.decrementAndGet();
         }
-    };
+    }
+
+    private final String name;
+    private final Map<T, CountedLock> map = new ConcurrentHashMap<>(100);
+    private final AtomicLong lastEviction = new AtomicLong(System.currentTimeMillis());
+
+    private final AtomicLong acquisitions = new AtomicLong();
+    private final AtomicLong contended = new AtomicLong();
+    private final AtomicLong waitNanos = new AtomicLong();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public CommonSync() {
+        this("common");
+    }
+
+    public CommonSync(String name) {
+        this.name = name;
+        registries.add(this);
+    }
 
     public ReentrantReadWriteLock.WriteLock getWriteLock(T id) {
         return getLock(id).writeLock();
@@ -67,19 +261,82 @@ public class CommonSync<T> {
         return getLock(id).readLock();
     }
 
-    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
-    private final ReentrantReadWriteLock.WriteLock writeLock = lock.writeLock();
-
     public ReentrantReadWriteLock getLock(T id) {
-        writeLock.lock();
-        try {
-            final TimedLock timedLock = map.computeIfAbsent(id, (o) ->new TimedLock());
-            timedLock.mills = System.currentTimeMillis();
-            return timedLock.lock;
-        } finally {
-            writeLock.unlock();
+        final long now = System.currentTimeMillis();
+        // compute() is atomic with eviction of the same id in evictIdle()
+        CountedLock lock = map.compute(id, (k, v) -> {
+            if (v==null) {
+                return new CountedLock(this);
+            }
+            v.mills = now;
+            return v;
+        });
+        evictIfNeeded(now);
+        return lock;
+    }
+
+    public int size() {
+        return map.size();
+    }
+
+    public Stats getStats() {
+        return new Stats(name, map.size(), acquisitions.get(), contended.get(),
+                TimeUnit.NANOSECONDS.toMillis(waitNanos.get()), TimeUnit.NANOSECONDS.toMillis(maxWaitNanos.get()), evictions.get());
+    }
+
+    public static List<Stats> getAllStats() {
+        List<Stats> stats = new ArrayList<>(registries.size());
+        for (CommonSync<?> registry : registries) {
+            stats.add(registry.getStats());
         }
+        return stats;
+    }
+
+    private void acquired() {
+        acquisitions.incrementAndGet();
     }
 
+    private void contended(long nanos) {
+        acquisitions.incrementAndGet();
+        contended.incrementAndGet();
+        waitNanos.addAndGet(nanos);
+        maxWaitNanos.accumulateAndGet(nanos, Math::max);
+    }
 
+    private void evictIfNeeded(long now) {
+        final boolean overflow = map.size() > MAX_SYNC_MAP_SIZE;
+        final long last = lastEviction.get();
+        if (now - last < (overflow ? OVERFLOW_EVICTION_PERIOD_MILLS : EVICTION_PERIOD_MILLS)) {
+            return;
+        }
+        // only one thread scans the registry, the others go on without waiting
+        if (!lastEviction.compareAndSet(last, now)) {
+            return;
+        }
+        int evicted = evictIdle(now, overflow ? MIN_IDLE_MILLS : ONE_HOUR_TO_MILLS);
+        if (evicted>0 && log.isDebugEnabled()) {
+            Stats stats = getStats();
+            log.debug("970.020 sync '{}', evicted: {}, size: {}, acquisitions: {}, contended: {}, wait: {}ms, max wait: {}ms",
+                    name, evicted, stats.size(), stats.acquisitions(), stats.contended(), stats.waitMills(), stats.maxWaitMills());
+        }
+    }
+
+    int evictIdle(long now, long idleMills) {
+        int evicted = 0;
+        for (T id : map.keySet()) {
+            boolean[] removed = new boolean[1];
+            map.computeIfPresent(id, (k, v) -> {
+                if (v.isEvictable(now, idleMills)) {
+                    removed[0] = true;
+                    return null;
+                }
+                return v;
+            });
+            if (removed[0]) {
+                evicted++;
+            }
+        }
+        evictions.addAndGet(evicted);
+        return evicted;
+    }
 }
@@ -0,0 +1,109 @@
+/*
+ * Metaheuristic, Copyright (C) 2017-2025, Innovation platforms, LLC
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package ai.metaheuristic.ai.dispatcher.commons;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * Inserting of many new rows with identity ids by JDBC batches.
+ *
+ * <p>Ids of rows are taken from generated keys of batch. A driver which can't return generated keys
+ * of a batch, i.e. Derby's, is detected by database metadata and rows are inserted one by one
+ * with the provided fallback, which usually is a repository's save().
+ *
+ * <p>Rows are inserted within the current transaction, via the connection which is bound to it,
+ * so they are visible to JPA queries of the same transaction.
+ *
+ * @author Serge
+ * Date: 10/18/2026
+ * Time: 5:20 PM
+ */
+@Slf4j
+public class JdbcBatchUtils {
+
+    public static final int JDBC_BATCH_SIZE = 500;
+
+    private static final String DERBY_PRODUCT_NAME = "Apache Derby";
+
+    /**
+     * @param sql insert statement, must not insert the id
+     * @param setter sets parameters of statement for one item
+     * @param idSetter receives the generated id of item
+     * @param fallback inserts one item when batch with generated keys isn't supported
+     */
+    public static <T> void insertWithGeneratedIds(
+            JdbcTemplate jdbcTemplate, String sql, List<T> items,
+            ParameterizedPreparedStatementSetter<T> setter, BiConsumer<T, Long> idSetter, Consumer<T> fallback) {
+        if (items.isEmpty()) {
+            return;
+        }
+        Boolean batched = jdbcTemplate.execute((ConnectionCallback<Boolean>) con -> {
+            if (!isBatchWithKeysSupported(con.getMetaData())) {
+                return false;
+            }
+            try (PreparedStatement ps = con.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                for (int from = 0; from < items.size(); from += JDBC_BATCH_SIZE) {
+                    List<T> batch = items.subList(from, Math.min(from + JDBC_BATCH_SIZE, items.size()));
+                    for (T item : batch) {
+                        setter.setValues(ps, item);
+                        ps.addBatch();
+                    }
+                    ps.executeBatch();
+                    assignIds(ps, batch, idSetter);
+                }
+            }
+            return true;
+        });
+        if (!Boolean.TRUE.equals(batched)) {
+            log.debug("968.020 batch with generated keys isn't supported, {} rows will be inserted one by one", items.size());
+            items.forEach(fallback);
+        }
+    }
+
+    private static <T> void assignIds(PreparedStatement ps, List<T> batch, BiConsumer<T, Long> idSetter) throws SQLException {
+        int i = 0;
+        try (ResultSet rs = ps.getGeneratedKeys()) {
+            while (rs.next()) {
+                if (i==batch.size()) {
+                    throw new IllegalStateException("968.040 too many generated keys, expected: " + batch.size());
+                }
+                // the identity is the first column of generated keys for all supported drivers
+                idSetter.accept(batch.get(i++), rs.getLong(1));
+            }
+        }
+        if (i!=batch.size()) {
+            throw new IllegalStateException("968.060 count of generated keys " + i + " doesn't match count of rows " + batch.size());
+        }
+    }
+
+    private static boolean isBatchWithKeysSupported(DatabaseMetaData metaData) throws SQLException {
+        return metaData.supportsGetGeneratedKeys() && !DERBY_PRODUCT_NAME.equals(metaData.getDatabaseProductName());
+    }
+}
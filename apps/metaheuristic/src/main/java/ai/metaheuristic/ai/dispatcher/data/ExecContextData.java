@@ -66,6 +66,11 @@ public class ExecContextData {
 
     public record GraphAndStates(ExecContextGraph graph, ExecContextTaskState states) {}
 
+    /**
+     * A task which will be added to graph, parents are either already in graph or precede this task in the same bulk
+     */
+    public record NewTaskVertex(Long taskId, String taskContextId, @Nullable String tag, List<Long> parentTaskIds, EnumsApi.TaskExecState state) {}
+
     public record ExecContextDAC(Long execContextId, DirectedAcyclicGraph<TaskVertex, DefaultEdge> graph,
                                  Integer version) {}
 
@@ -101,7 +106,7 @@ public class ExecContextData {
         public String taskContextId;
         // A process tag carried into the DAG. Almost always null; set only for the rare process
         // that declared one in .mhsc (e.g. `tag terminal`). Serialized to the graph DOT only when
-        // non-null (ExecContextGraphService.asString), so untagged vertices stay byte-identical.
+        // non-null (ExecContextGraphDotUtils.asString), so untagged vertices stay byte-identical.
         @org.jspecify.annotations.Nullable public String tag;
 
         public TaskVertex(Long taskId) {
@@ -23,6 +23,7 @@ import lombok.*;
 import org.jspecify.annotations.Nullable;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -32,6 +33,11 @@ import java.util.Map;
  */
 public class TaskData {
 
+    /**
+     * One instance of sub-processes, which is created by a fan-out function, with its input variables
+     */
+    public record SubProcessTaskSpec(String currTaskContextId, List<VariableData.SubProcessVariables> variables) {}
+
     @Data
     @NoArgsConstructor
     @AllArgsConstructor
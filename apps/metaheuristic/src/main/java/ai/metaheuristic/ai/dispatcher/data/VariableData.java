@@ -27,6 +27,7 @@ import lombok.NoArgsConstructor;
 import org.apache.commons.lang3.tuple.Pair;
 import org.jspecify.annotations.Nullable;
 
+import java.nio.file.Path;
 import java.util.List;
 import java.util.Map;
 
@@ -37,6 +38,11 @@ import java.util.Map;
  */
 public class VariableData {
 
+    /**
+     * Input variables of one sub-process instance for bulk creation
+     */
+    public record SubProcessVariables(String taskContextId, String inputVariableName, VariableDataSource variableDataSource, boolean contentAsArray) {}
+
     @Data
     public static class VariableDataSource {
         @Nullable
@@ -47,6 +53,9 @@ public class VariableData {
         @Nullable
         public String inputVariableContent = null;
 
+        @Nullable
+        public Path inputVariableFile = null;
+
         public List<Pair<String, Boolean>> booleanVariables = List.of();
 
         public VariableDataSource(Permutation permutation) {
@@ -65,6 +74,10 @@ public class VariableData {
             this.inputVariableContent = inputVariableContent;
         }
 
+        public VariableDataSource(Path inputVariableFile) {
+            this.inputVariableFile = inputVariableFile;
+        }
+
         public VariableDataSource(List<BatchTopLevelService.FileWithMapping> files) {
             this.files = files;
         }
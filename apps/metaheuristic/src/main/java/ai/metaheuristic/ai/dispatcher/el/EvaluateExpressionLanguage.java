@@ -33,7 +33,6 @@ import org.apache.commons.lang3.NotImplementedException;
 import org.springframework.core.ResolvableType;
 import org.springframework.core.convert.TypeDescriptor;
 import org.springframework.expression.*;
-import org.springframework.expression.spel.standard.SpelExpressionParser;
 import org.jspecify.annotations.Nullable;
 
 import java.io.ByteArrayInputStream;
@@ -41,7 +40,9 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.function.Consumer;
 import java.util.function.Function;
 
@@ -72,6 +73,12 @@ public class EvaluateExpressionLanguage {
 
         private final Ctx ctx;
 
+        // values are memoized for one evaluation only, the same variable is usually referenced more than once
+        private final Map<String, VariableUtils.VariableHolder> variableHolders = new HashMap<>();
+        private final Map<Long, String> variableValues = new HashMap<>();
+        private final Map<Long, String> globalVariableValues = new HashMap<>();
+        private final List<PropertyAccessor> propertyAccessors;
+
         public MhEvalContext(String taskContextId, Long taskId, Long execContextId, InternalFunctionVariableService internalFunctionVariableService,
                              GlobalVariableTxService globalVariableService, VariableTxService variableTxService,
                              VariableRepository variableRepository,
@@ -86,7 +93,10 @@ public class EvaluateExpressionLanguage {
             this.variableRepository = variableRepository;
             this.setAsNullFunction = setAsNullFunction;
 
-            ctx = new Ctx(variableTxService::getVariableDataAsString, globalVariableService::getVariableDataAsString);
+            ctx = new Ctx(
+                    id -> variableValues.computeIfAbsent(id, variableTxService::getVariableDataAsString),
+                    id -> globalVariableValues.computeIfAbsent(id, globalVariableService::getVariableDataAsString));
+            propertyAccessors = List.of(createPropertyAccessor());
         }
 
         @Override
@@ -96,6 +106,10 @@ public class EvaluateExpressionLanguage {
 
         @Override
         public List<PropertyAccessor> getPropertyAccessors() {
+            return propertyAccessors;
+        }
+
+        private PropertyAccessor createPropertyAccessor() {
             PropertyAccessor pa = new PropertyAccessor() {
                 @Override
                 public Class<?>@Nullable [] getSpecificTargetClasses() {
@@ -136,6 +150,7 @@ public class EvaluateExpressionLanguage {
                                         "509.060 variable '"+ name+"' wasn't found"));
                     }
 
+                    variableValues.remove(variableHolderOutput.variable.id);
                     if (newValue==null) {
                         setAsNullFunction.accept(variableHolderOutput.variable);
                         return;
@@ -193,7 +208,7 @@ public class EvaluateExpressionLanguage {
                     int _=0;
                 }
             };
-            return List.of(pa);
+            return pa;
         }
 
         private void storeToFile(VariableUtils.VariableHolder variableHolderOutput, VariableUtils.VariableHolder variableHolderInput) throws IOException {
@@ -520,6 +535,15 @@ public class EvaluateExpressionLanguage {
         }
 
         public VariableUtils.VariableHolder getVariableHolder(String name) {
+            VariableUtils.VariableHolder variableHolder = variableHolders.get(name);
+            if (variableHolder==null) {
+                variableHolder = discoverVariableHolder(name);
+                variableHolders.put(name, variableHolder);
+            }
+            return variableHolder;
+        }
+
+        private VariableUtils.VariableHolder discoverVariableHolder(String name) {
             List<VariableUtils.VariableHolder> holders = internalFunctionVariableService.discoverVariables(
                     execContextId, taskContextId, name);
             if (holders.size()>1) {
@@ -539,13 +563,11 @@ public class EvaluateExpressionLanguage {
         VariableRepository variableRepository, Consumer<Variable> setAsNullFunction
     ) {
 
-        ExpressionParser parser = new SpelExpressionParser();
-
         EvaluateExpressionLanguage.MhEvalContext mhEvalContext = new EvaluateExpressionLanguage.MhEvalContext(
                 taskContextId, taskId, execContextId, internalFunctionVariableService, globalVariableService, variableService,
                 variableRepository, setAsNullFunction);
 
-        Expression exp = parser.parseExpression(expression);
+        Expression exp = SpelExpressionCache.get(expression);
         try {
             Object obj = exp.getValue(mhEvalContext);
             return obj;
@@ -0,0 +1,79 @@
+/*
+ * Metaheuristic, Copyright (C) 2017-2025, Innovation platforms, LLC
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package ai.metaheuristic.ai.dispatcher.el;
+
+import ai.metaheuristic.ai.utils.IdleEvictingCache;
+import org.springframework.expression.Expression;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelParserConfiguration;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Dispatcher-wide cache of parsed SpEL expressions, keyed by the text of expression.
+ *
+ * <p>Conditions of source codes are evaluated for each task of exec context, but the set of different
+ * expressions is small, so parsing is done once per expression. A parsed expression doesn't keep any state
+ * of evaluation and is shared between threads, the state is in {@link EvaluateExpressionLanguage.MhEvalContext}.
+ *
+ * <p>Expressions aren't compiled to bytecode. Variables are resolved by a custom PropertyAccessor and
+ * operators are handled by a custom OperatorOverloader and TypeComparator, which can't be compiled,
+ * and compiled code of an operator over literals wouldn't use OperatorOverloader at all.
+ *
+ * @author Serge
+ * Date: 10/18/2026
+ * Time: 8:40 PM
+ */
+public class SpelExpressionCache {
+
+    private static final int MAX_ENTRIES = 1_000;
+    private static final long IDLE_EVICTION_MILLS = TimeUnit.MINUTES.toMillis(30);
+
+    private static final SpelExpressionParser PARSER = new SpelExpressionParser(
+            new SpelParserConfiguration(SpelCompilerMode.OFF, null));
+
+    private static final IdleEvictingCache<String, Expression> cache =
+            new IdleEvictingCache<>("SpelExpressionCache", MAX_ENTRIES, IDLE_EVICTION_MILLS);
+
+    /**
+     * Returns the parsed expression. An expression which can't be parsed isn't cached,
+     * and the exception of parser is thrown for each call.
+     */
+    public static Expression get(String expression) {
+        Expression exp = cache.get(expression);
+        if (exp!=null) {
+            return exp;
+        }
+        exp = parse(expression);
+        cache.put(expression, exp);
+        return exp;
+    }
+
+    public static Expression parse(String expression) {
+        return PARSER.parseExpression(expression);
+    }
+
+    public static IdleEvictingCache.Stats getStats() {
+        return cache.getStats();
+    }
+
+    public static void clear() {
+        cache.clear();
+    }
+}
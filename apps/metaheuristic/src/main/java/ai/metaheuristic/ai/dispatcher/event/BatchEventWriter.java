@@ -0,0 +1,175 @@
+/*
+ * Metaheuristic, Copyright (C) 2017-2025, Innovation platforms, LLC
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package ai.metaheuristic.ai.dispatcher.event;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Bounded buffer of events which are written by batches in a background thread.
+ *
+ * <p>A batch is written when batchSize events were collected or when the window has passed since
+ * the first event of batch was taken. When the buffer is full, {@link #put} waits up to offerTimeoutMills,
+ * so producers are slowed down instead of creating an unbound number of pending writes,
+ * and an event is dropped only if the writer can't keep up even after that.
+ * {@link #shutdown()} writes all buffered events before returning.
+ *
+ * @author Serge
+ * Date: 10/18/2026
+ * Time: 8:30 PM
+ */
+@Slf4j
+public class BatchEventWriter<T> {
+
+    public record Stats(int queueDepth, long written, long batches, long dropped, long failed, long lastFlushMills, long maxFlushMills) {}
+
+    private final String name;
+    private final ArrayBlockingQueue<T> queue;
+    private final int batchSize;
+    private final long windowNanos;
+    private final long offerTimeoutMills;
+    private final Consumer<List<T>> sink;
+    private final Thread writer;
+    private volatile boolean shutdown = false;
+
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong lastFlushNanos = new AtomicLong();
+    private final AtomicLong maxFlushNanos = new AtomicLong();
+
+    public BatchEventWriter(String name, int capacity, int batchSize, long windowMills, long offerTimeoutMills, Consumer<List<T>> sink) {
+        this.name = name;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMills);
+        this.offerTimeoutMills = offerTimeoutMills;
+        this.sink = sink;
+        this.writer = Thread.ofVirtual().name(name).start(this::run);
+    }
+
+    /**
+     * @return false if the event was dropped because the buffer stayed full
+     */
+    public boolean put(T event) {
+        if (shutdown) {
+            // the writer thread is gone, the event is written by the caller
+            flush(new ArrayList<>(List.of(event)));
+            return true;
+        }
+        try {
+            if (queue.offer(event) || queue.offer(event, offerTimeoutMills, TimeUnit.MILLISECONDS)) {
+                if (shutdown && !writer.isAlive()) {
+                    // shutdown() was called while the event was being put
+                    List<T> rest = new ArrayList<>();
+                    queue.drainTo(rest);
+                    flush(rest);
+                }
+                return true;
+            }
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        long count = dropped.incrementAndGet();
+        log.error("456.100 {}, buffer is full, event was dropped, total dropped: {}", name, count);
+        return false;
+    }
+
+    public void shutdown() {
+        shutdown = true;
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(30));
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // the writer could stop before the last events were put
+        List<T> rest = new ArrayList<>();
+        queue.drainTo(rest);
+        if (!rest.isEmpty()) {
+            flush(rest);
+        }
+    }
+
+    public Stats getStats() {
+        return new Stats(queue.size(), written.get(), batches.get(), dropped.get(), failed.get(),
+                TimeUnit.NANOSECONDS.toMillis(lastFlushNanos.get()), TimeUnit.NANOSECONDS.toMillis(maxFlushNanos.get()));
+    }
+
+    private void run() {
+        final List<T> batch = new ArrayList<>(batchSize);
+        try {
+            while (!shutdown || !queue.isEmpty()) {
+                T first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first==null) {
+                    continue;
+                }
+                batch.add(first);
+                final long deadline = System.nanoTime() + windowNanos;
+                while (batch.size()<batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long left = deadline - System.nanoTime();
+                    if (batch.size()>=batchSize || left<=0 || shutdown) {
+                        break;
+                    }
+                    T next = queue.poll(left, TimeUnit.NANOSECONDS);
+                    if (next==null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                flush(batch);
+                batch.clear();
+            }
+        }
+        catch (InterruptedException e) {
+            queue.drainTo(batch);
+            flush(batch);
+        }
+    }
+
+    private void flush(List<T> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        final long start = System.nanoTime();
+        try {
+            sink.accept(batch);
+            written.addAndGet(batch.size());
+        }
+        catch (Throwable th) {
+            failed.addAndGet(batch.size());
+            log.error("456.120 " + name + ", error of writing a batch of " + batch.size() + " events", th);
+        }
+        final long nanos = System.nanoTime() - start;
+        batches.incrementAndGet();
+        lastFlushNanos.set(nanos);
+        maxFlushNanos.accumulateAndGet(nanos, Math::max);
+        if (log.isDebugEnabled()) {
+            log.debug("456.140 {}, written {} events in {}ms, queue depth: {}", name, batch.size(), TimeUnit.NANOSECONDS.toMillis(nanos), queue.size());
+        }
+    }
+}
@@ -31,29 +31,37 @@ import ai.metaheuristic.commons.account.UserContext;
 import ai.metaheuristic.commons.utils.DirUtils;
 import ai.metaheuristic.commons.utils.ZipUtils;
 import ai.metaheuristic.commons.yaml.YamlUtils;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.jspecify.annotations.Nullable;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.context.annotation.Profile;
 import org.springframework.context.event.EventListener;
 import org.springframework.core.io.FileSystemResource;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.yaml.snakeyaml.Yaml;
 
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.sql.Types;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 import static ai.metaheuristic.commons.CommonConsts.EVENT_DATE_TIME_FORMATTER;
 
@@ -71,11 +79,34 @@ public class DispatcherEventService {
 
     private static final int PAGE_SIZE = 1000;
 
+    private static final int EVENT_BUFFER_CAPACITY = 10_000;
+    private static final int EVENT_BATCH_SIZE = 500;
+    private static final long EVENT_BATCH_WINDOW_MILLS = 200;
+    private static final long EVENT_OFFER_TIMEOUT_MILLS = TimeUnit.SECONDS.toMillis(5);
+
+    private static final String INSERT_EVENT_SQL =
+            "insert into MH_EVENT (VERSION, COMPANY_ID, CREATED_ON, PERIOD, EVENT, PARAMS) values (?, ?, ?, ?, ?, ?)";
+
     private final Globals globals;
     private final DispatcherEventRepository dispatcherEventRepository;
     private final CompanyRepository companyRepository;
     private final CompanyRevisionRepository companyRevisionRepository;
     private final ApplicationEventPublisher applicationEventPublisher;
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+
+    private BatchEventWriter<DispatcherApplicationEvent> eventWriter;
+
+    @PostConstruct
+    public void init() {
+        eventWriter = new BatchEventWriter<>("DispatcherEventWriter", EVENT_BUFFER_CAPACITY, EVENT_BATCH_SIZE,
+                EVENT_BATCH_WINDOW_MILLS, EVENT_OFFER_TIMEOUT_MILLS, this::storeEvents);
+    }
+
+    @PreDestroy
+    public void onDestroy() {
+        eventWriter.shutdown();
+    }
 
     public void publishBatchEvent(
             EnumsApi.DispatcherEventType event, @Nullable Long companyUniqueId, @Nullable String filename,
@@ -116,24 +147,72 @@ public class DispatcherEventService {
         applicationEventPublisher.publishEvent(new DispatcherApplicationEvent(event, taskEventData));
     }
 
-    @Async
+    /**
+     * Events are buffered and stored by batches, see {@link BatchEventWriter}.
+     * When the buffer is full, the publishing thread waits up to EVENT_OFFER_TIMEOUT_MILLS.
+     */
     @EventListener
-    public void handleAsync(DispatcherApplicationEvent event) {
+    public void handleEvent(DispatcherApplicationEvent event) {
         try {
             if (!globals.eventEnabled) {
                 return;
             }
-            DispatcherEvent le = new DispatcherEvent();
-            le.companyId = event.companyUniqueId;
-            le.period = getPeriod( LocalDateTime.parse( event.dispatcherEventYaml.createdOn, EVENT_DATE_TIME_FORMATTER) );
-            le.event = event.dispatcherEventYaml.event.toString();
-            le.updateParams(event.dispatcherEventYaml);
-            dispatcherEventRepository.save(le);
+            eventWriter.put(event);
         } catch (Throwable th) {
             log.error("Error, need to investigate ", th);
         }
     }
 
+    public BatchEventWriter.Stats getEventWriterStats() {
+        return eventWriter.getStats();
+    }
+
+    private static DispatcherEvent toDispatcherEvent(DispatcherApplicationEvent event) {
+        DispatcherEvent le = new DispatcherEvent();
+        le.companyId = event.companyUniqueId;
+        le.period = getPeriod( LocalDateTime.parse( event.dispatcherEventYaml.createdOn, EVENT_DATE_TIME_FORMATTER) );
+        le.event = event.dispatcherEventYaml.event.toString();
+        le.updateParams(event.dispatcherEventYaml);
+        return le;
+    }
+
+    private void storeEvents(List<DispatcherApplicationEvent> events) {
+        List<DispatcherEvent> list = new ArrayList<>(events.size());
+        for (DispatcherApplicationEvent event : events) {
+            try {
+                list.add(toDispatcherEvent(event));
+            } catch (Throwable th) {
+                log.error("456.160 Error of converting event " + event.dispatcherEventYaml.event, th);
+            }
+        }
+        try {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                    jdbcTemplate.batchUpdate(INSERT_EVENT_SQL, list, list.size(), (ps, le) -> {
+                        ps.setInt(1, 0);
+                        if (le.companyId==null) {
+                            ps.setNull(2, Types.BIGINT);
+                        }
+                        else {
+                            ps.setLong(2, le.companyId);
+                        }
+                        ps.setLong(3, le.createdOn);
+                        ps.setInt(4, le.period);
+                        ps.setString(5, le.event);
+                        ps.setString(6, le.getParams());
+                    }));
+        } catch (DataAccessException | TransactionException e) {
+            // one broken event mustn't cost the whole batch
+            log.error("456.180 Error of batch insert of {} events, events will be stored one by one, error: {}", list.size(), e.getMessage());
+            for (DispatcherEvent le : list) {
+                try {
+                    dispatcherEventRepository.save(le);
+                } catch (Throwable th) {
+                    log.error("456.200 Error of storing event " + le.event, th);
+                }
+            }
+        }
+    }
+
     public static int getPeriod(LocalDateTime createdOn) {
         return createdOn.getYear() * 100 + createdOn.getMonthValue();
     }
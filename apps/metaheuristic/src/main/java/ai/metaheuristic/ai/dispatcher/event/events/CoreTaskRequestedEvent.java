@@ -0,0 +1,41 @@
+/*
+ * Metaheuristic, Copyright (C) 2017-2025, Innovation platforms, LLC
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package ai.metaheuristic.ai.dispatcher.event.events;
+
+import lombok.RequiredArgsConstructor;
+import org.jspecify.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * A core of processor has requested a task via /srv-v2
+ *
+ * @author Serge
+ * Date: 10/18/2026
+ * Time: 10:10 PM
+ */
+@RequiredArgsConstructor
+public class CoreTaskRequestedEvent {
+    public final Long processorId;
+    public final Long coreId;
+    public final boolean acceptOnlySigned;
+    public final int currentQuota;
+    public final List<Long> taskIds;
+    @Nullable
+    public final Long assignedTaskId;
+}
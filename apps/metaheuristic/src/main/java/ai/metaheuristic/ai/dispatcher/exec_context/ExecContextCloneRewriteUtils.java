@@ -16,7 +16,7 @@
 package ai.metaheuristic.ai.dispatcher.exec_context;
 
 import ai.metaheuristic.ai.dispatcher.data.ExecContextData;
-import ai.metaheuristic.ai.dispatcher.exec_context_graph.ExecContextGraphService;
+import ai.metaheuristic.ai.yaml.exec_context_graph.ExecContextGraphPackUtils;
 import ai.metaheuristic.ai.yaml.exec_context_graph.ExecContextGraphParamsYaml;
 import ai.metaheuristic.ai.yaml.exec_context_task_state.ExecContextTaskStateParamsYaml;
 import ai.metaheuristic.api.EnumsApi;
@@ -41,7 +41,7 @@ import java.util.Map;
  * Stage 1 — copy MH_EXEC_CONTEXT, MH_TASK and MH_VARIABLE rows; build
  *           an in-memory Map<oldTaskId, newTaskId>.
  * Stage 2 — using the Stage 1 map, rewrite the task IDs that appear inside
- *           ExecContextGraph.params (DOT graph vertices) and inside
+ *           ExecContextGraph.params (packed graph vertices) and inside
  *           ExecContextTaskStateParamsYaml.states / triesWasMade map keys.
  *
  * The methods here implement Stage 2.
@@ -52,7 +52,7 @@ public class ExecContextCloneRewriteUtils {
     }
 
     /**
-     * Rewrite the DOT graph held inside an {@link ExecContextGraphParamsYaml}
+     * Rewrite the packed graph held inside an {@link ExecContextGraphParamsYaml}
      * using {@code taskIdMap} (oldTaskId -> newTaskId). Vertices not present
      * in the map are left unchanged. Edge structure and per-vertex
      * {@code taskContextId} attribute are preserved. Returns a new params
@@ -61,21 +61,14 @@ public class ExecContextCloneRewriteUtils {
     public static ExecContextGraphParamsYaml rewriteGraph(
             ExecContextGraphParamsYaml source, Map<Long, Long> taskIdMap) {
         ExecContextGraphParamsYaml target = new ExecContextGraphParamsYaml();
-        target.graph = rewriteDotGraph(source.graph, taskIdMap);
+        target.packedGraph = taskIdMap.isEmpty()
+                ? source.packedGraph
+                : ExecContextGraphPackUtils.pack(rewriteTaskGraph(ExecContextGraphPackUtils.unpack(source.packedGraph), taskIdMap));
         return target;
     }
 
-    /**
-     * Pure DOT-string -> DOT-string rewrite. Public for unit-testing the
-     * vertex/edge rewrite logic without a YAML envelope.
-     */
-    public static String rewriteDotGraph(String graphAsString, Map<Long, Long> taskIdMap) {
-        if (taskIdMap.isEmpty()) {
-            return graphAsString;
-        }
-        DirectedAcyclicGraph<ExecContextData.TaskVertex, DefaultEdge> source =
-                ExecContextGraphService.importExecContextGraph(graphAsString);
-
+    private static DirectedAcyclicGraph<ExecContextData.TaskVertex, DefaultEdge> rewriteTaskGraph(
+            DirectedAcyclicGraph<ExecContextData.TaskVertex, DefaultEdge> source, Map<Long, Long> taskIdMap) {
         DirectedAcyclicGraph<ExecContextData.TaskVertex, DefaultEdge> target =
                 new DirectedAcyclicGraph<>(
                         ExecContextData.TaskVertex::new,
@@ -97,7 +90,7 @@ public class ExecContextCloneRewriteUtils {
             Long newTo = taskIdMap.getOrDefault(sTo.taskId, sTo.taskId);
             target.addEdge(targetById.get(newFrom), targetById.get(newTo));
         }
-        return ExecContextGraphService.asString(target);
+        return target;
     }
 
     /**
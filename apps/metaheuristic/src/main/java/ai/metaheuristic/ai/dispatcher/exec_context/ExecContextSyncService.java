@@ -31,7 +31,7 @@ import java.util.function.Supplier;
  */
 public class ExecContextSyncService {
 
-    private static final CommonSync<Long> commonSync = new CommonSync<>();
+    private static final CommonSync<Long> commonSync = new CommonSync<>("execContext");
 
     public static void checkWriteLockPresent(Long execContextId) {
         if (!getWriteLock(execContextId).isHeldByCurrentThread()) {
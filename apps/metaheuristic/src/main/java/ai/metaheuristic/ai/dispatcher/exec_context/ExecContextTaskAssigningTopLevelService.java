@@ -188,7 +188,7 @@ public class ExecContextTaskAssigningTopLevelService implements ShutdownInterfac
         List<ExecContextData.TaskVertex> filteredVertices = new ArrayList<>();
         boolean hasUnclaimedAssignable = false;
         for (ExecContextData.TaskVertex vertex : vertices) {
-            final TaskQueue.AllocatedTask allocatedTask = TaskQueueService.alreadyRegisteredAsTaskWithSync(vertex.taskId);
+            final TaskQueue.AllocatedTask allocatedTask = TaskQueueService.alreadyRegisteredAsTask(vertex.taskId);
             if (allocatedTask==null) {
                 filteredVertices.add(vertex);
             }
@@ -268,7 +268,7 @@ public class ExecContextTaskAssigningTopLevelService implements ShutdownInterfac
                     continue;
                 }
 
-                if (TaskQueueService.alreadyRegisteredWithSync(task.id)) {
+                if (TaskQueueService.alreadyRegistered(task.id)) {
                     if (log.isInfoEnabled()) stat.notAllocatedReasons.add("703.530 task #"+task.getId()+" task is already registered");
                     continue;
                 }
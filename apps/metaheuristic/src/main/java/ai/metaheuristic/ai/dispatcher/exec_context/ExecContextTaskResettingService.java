@@ -136,7 +136,7 @@ public class ExecContextTaskResettingService {
             return null;
         }
 
-        TaskParamsYaml taskParams = task.getTaskParamsYaml();
+        TaskParamsYaml taskParams = task.getTaskParamsYamlForUpdate();
         final ExecContextParamsYaml.Process process = execContext.getExecContextParamsYaml().findProcess(taskParams.task.processCode);
         if (process==null) {
             throw new CommonRollbackException("155.160 Process '" + taskParams.task.processCode + "' wasn't found", EnumsApi.OperationStatus.ERROR);
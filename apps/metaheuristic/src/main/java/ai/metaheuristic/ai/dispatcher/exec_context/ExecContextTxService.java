@@ -24,7 +24,7 @@ import ai.metaheuristic.ai.dispatcher.event.EventPublisherService;
 import ai.metaheuristic.ai.dispatcher.event.events.DeleteExecContextInListTxEvent;
 import ai.metaheuristic.ai.dispatcher.event.events.ProcessDeletedExecContextTxEvent;
 import ai.metaheuristic.ai.dispatcher.event.events.TaskQueueCleanByExecContextIdTxEvent;
-import ai.metaheuristic.ai.dispatcher.exec_context_graph.ExecContextGraphService;
+import ai.metaheuristic.ai.dispatcher.exec_context_graph.ExecContextGraphResidentCache;
 import ai.metaheuristic.ai.dispatcher.repositories.*;
 import ai.metaheuristic.ai.dispatcher.source_code.SourceCodeCache;
 import ai.metaheuristic.ai.dispatcher.source_code.SourceCodeUtils;
@@ -161,7 +161,7 @@ public class ExecContextTxService {
         ExecContextGraph execContextGraph = execContextGraphRepository.findById(ec.execContextGraphId).orElse(null);
         List<long[]> taskEdges = null;
         if (execContextGraph != null) {
-            var taskGraph = ExecContextGraphService.importExecContextGraph(execContextGraph.getExecContextGraphParamsYaml());
+            var taskGraph = ExecContextGraphResidentCache.getGraph(execContextGraph);
             Set<Long> graphTaskIds = taskGraph.vertexSet().stream().map(v -> v.taskId).collect(Collectors.toSet());
             taskStates.keySet().retainAll(graphTaskIds);
 
@@ -0,0 +1,142 @@
+/*
+ * Metaheuristic, Copyright (C) 2017-2025, Innovation platforms, LLC
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package ai.metaheuristic.ai.dispatcher.exec_context_graph;
+
+import ai.metaheuristic.ai.dispatcher.beans.ExecContextGraph;
+import ai.metaheuristic.ai.dispatcher.data.ExecContextData;
+import ai.metaheuristic.ai.utils.IdleEvictingCache;
+import ai.metaheuristic.ai.yaml.exec_context_graph.ExecContextGraphPackUtils;
+import org.jgrapht.graph.DefaultEdge;
+import org.jgrapht.graph.DirectedAcyclicGraph;
+import org.jgrapht.util.SupplierUtil;
+import org.jspecify.annotations.Nullable;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-ExecContextGraph resident copy of the parsed DAG.
+ *
+ * <p>Unpacking {@link ai.metaheuristic.ai.yaml.exec_context_graph.ExecContextGraphParamsYaml#packedGraph}
+ * into DirectedAcyclicGraph is the dominant cost of every graph operation, so the graph is kept in memory together with
+ * the packed text it was built from. An entry is reused only when the packed text of the entity at hand is equal
+ * to the text of the entry, so a row changed by another node, a rolled back transaction or a stale
+ * entity instance can never be served from a wrong graph.
+ *
+ * <p>A resident graph is shared between readers and must never be mutated. Mutation goes through
+ * {@link #copyForMutation}, which is done under {@link ExecContextGraphSyncService} write lock, and
+ * the mutated copy becomes resident via {@link #put} after it was serialized back to the entity.
+ *
+ * @author Serge
+ * Date: 10/18/2026
+ * Time: 9:12 AM
+ */
+public class ExecContextGraphResidentCache {
+
+    private static final int MAX_RESIDENT_GRAPHS = 200;
+    private static final long IDLE_EVICTION_MILLS = TimeUnit.MINUTES.toMillis(30);
+
+    public static final class ResidentGraph {
+        public final Long execContextGraphId;
+        public final String source;
+        public final DirectedAcyclicGraph<ExecContextData.TaskVertex, DefaultEdge> graph;
+        private final Map<Long, ExecContextData.TaskVertex> vertexByTaskId;
+
+        private ResidentGraph(Long execContextGraphId, String source, DirectedAcyclicGraph<ExecContextData.TaskVertex, DefaultEdge> graph) {
+            this.execContextGraphId = execContextGraphId;
+            this.source = source;
+            this.graph = graph;
+            this.vertexByTaskId = new HashMap<>(graph.vertexSet().size()*2);
+            for (ExecContextData.TaskVertex v : graph.vertexSet()) {
+                this.vertexByTaskId.put(v.taskId, v);
+            }
+        }
+
+        public ExecContextData.@Nullable TaskVertex vertex(Long taskId) {
+            return vertexByTaskId.get(taskId);
+        }
+    }
+
+    private static final IdleEvictingCache<Long, ResidentGraph> graphs =
+            new IdleEvictingCache<>("ExecContextGraphResidentCache", MAX_RESIDENT_GRAPHS, IDLE_EVICTION_MILLS);
+
+    /**
+     * Returns the resident graph for the execContextGraph, unpacking the graph only when there isn't
+     * a resident graph which was built from the same text.
+     */
+    public static ResidentGraph get(ExecContextGraph execContextGraph) {
+        String source = execContextGraph.getExecContextGraphParamsYaml().packedGraph;
+        if (execContextGraph.id==null) {
+            // not persisted yet, there isn't a key for keeping it
+            return new ResidentGraph(0L, source, ExecContextGraphPackUtils.unpack(source));
+        }
+        ResidentGraph resident = graphs.get(execContextGraph.id, o -> isSameSource(o.source, source));
+        if (resident!=null) {
+            return resident;
+        }
+        return put(execContextGraph.id, source, ExecContextGraphPackUtils.unpack(source));
+    }
+
+    public static DirectedAcyclicGraph<ExecContextData.TaskVertex, DefaultEdge> getGraph(ExecContextGraph execContextGraph) {
+        return get(execContextGraph).graph;
+    }
+
+    /**
+     * Makes the graph resident. The graph must not be changed after this call.
+     */
+    public static ResidentGraph put(Long execContextGraphId, String source, DirectedAcyclicGraph<ExecContextData.TaskVertex, DefaultEdge> graph) {
+        ResidentGraph resident = new ResidentGraph(execContextGraphId, source, graph);
+        graphs.put(execContextGraphId, resident);
+        return resident;
+    }
+
+    /**
+     * Structural copy of a resident graph. Vertices are shared because TaskVertex isn't changed after creation.
+     * Vertices are added in the topological order of source graph, so DirectedAcyclicGraph doesn't
+     * have to reorder anything while edges are being added.
+     */
+    public static DirectedAcyclicGraph<ExecContextData.TaskVertex, DefaultEdge> copyForMutation(DirectedAcyclicGraph<ExecContextData.TaskVertex, DefaultEdge> source) {
+        DirectedAcyclicGraph<ExecContextData.TaskVertex, DefaultEdge> copy = new DirectedAcyclicGraph<>(
+                ExecContextData.TaskVertex::new, SupplierUtil.DEFAULT_EDGE_SUPPLIER, false);
+        for (ExecContextData.TaskVertex v : source) {
+            copy.addVertex(v);
+        }
+        for (DefaultEdge e : source.edgeSet()) {
+            copy.addEdge(source.getEdgeSource(e), source.getEdgeTarget(e));
+        }
+        return copy;
+    }
+
+    public static void evict(Long execContextGraphId) {
+        graphs.remove(execContextGraphId);
+    }
+
+    public static void evict(Collection<Long> execContextGraphIds) {
+        execContextGraphIds.forEach(graphs::remove);
+    }
+
+    public static int size() {
+        return graphs.size();
+    }
+
+    private static boolean isSameSource(String residentSource, String source) {
+        //noinspection StringEquality
+        return residentSource==source || residentSource.equals(source);
+    }
+}
@@ -28,7 +28,7 @@ import ai.metaheuristic.ai.dispatcher.repositories.ExecContextGraphRepository;
 import ai.metaheuristic.ai.dispatcher.repositories.ExecContextTaskStateRepository;
 import ai.metaheuristic.commons.utils.ContextUtils;
 import ai.metaheuristic.ai.utils.TxUtils;
-import ai.metaheuristic.ai.yaml.exec_context.ExecContextParamsYamlUtils;
+import ai.metaheuristic.ai.yaml.exec_context_graph.ExecContextGraphPackUtils;
 import ai.metaheuristic.ai.yaml.exec_context_graph.ExecContextGraphParamsYaml;
 import ai.metaheuristic.ai.yaml.exec_context_task_state.ExecContextTaskStateParamsYaml;
 import ai.metaheuristic.api.EnumsApi;
@@ -36,18 +36,11 @@ import ai.metaheuristic.api.data.OperationStatusRest;
 import ai.metaheuristic.api.data.task.TaskApiData;
 import ai.metaheuristic.commons.S;
 import lombok.RequiredArgsConstructor;
-import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
-import org.jgrapht.alg.util.Pair;
 import org.jgrapht.graph.DefaultEdge;
 import org.jgrapht.graph.DirectedAcyclicGraph;
-import org.jgrapht.nio.Attribute;
-import org.jgrapht.nio.DefaultAttribute;
-import org.jgrapht.nio.dot.DOTExporter;
-import org.jgrapht.nio.dot.DOTImporter;
 import org.jgrapht.traverse.BreadthFirstIterator;
 import org.jgrapht.traverse.TopologicalOrderIterator;
-import org.jgrapht.util.SupplierUtil;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Profile;
 
@@ -55,8 +48,6 @@ import org.jspecify.annotations.Nullable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.io.StringReader;
-import java.io.StringWriter;
 import java.util.*;
 import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
@@ -77,9 +68,6 @@ import java.util.stream.Collectors;
 @SuppressWarnings("WeakerAccess")
 public class ExecContextGraphService {
 
-    private static final String TASK_CONTEXT_ID_ATTR = "ctxid";
-    private static final String TAG_ATTR = "tag";
-
     private final ExecContextGraphCache execContextGraphCache;
     private final ExecContextGraphRepository execContextGraphRepository;
     private final ExecContextTaskStateRepository execContextTaskStateRepository;
@@ -118,13 +106,15 @@ public class ExecContextGraphService {
         ExecContextGraphSyncService.checkWriteLockPresent(execContextGraph.id);
 
         ExecContextGraphParamsYaml ecpy = execContextGraph.getExecContextGraphParamsYaml();
-        DirectedAcyclicGraph<ExecContextData.TaskVertex, DefaultEdge> graph = importExecContextGraph(ecpy);
+        DirectedAcyclicGraph<ExecContextData.TaskVertex, DefaultEdge> graph =
+                ExecContextGraphResidentCache.copyForMutation(ExecContextGraphResidentCache.getGraph(execContextGraph));
         try {
             callable.accept(graph);
         } finally {
-            ecpy.graph = asString(graph);
-            execContextGraph.setParams(ExecContextParamsYamlUtils.BASE_YAML_UTILS.toString(ecpy));
+            ecpy.packedGraph = ExecContextGraphPackUtils.pack(graph);
+            execContextGraph.updateParams(ecpy);
             save(execContextGraph);
+            ExecContextGraphResidentCache.put(execContextGraph.id, ecpy.packedGraph, graph);
         }
     }
 
@@ -136,15 +126,17 @@ public class ExecContextGraphService {
         ExecContextTaskStateSyncService.checkWriteLockPresent(graphAndStates.states().id);
 
         ExecContextGraphParamsYaml ecgpy = graphAndStates.graph().getExecContextGraphParamsYaml();
-        DirectedAcyclicGraph<ExecContextData.TaskVertex, DefaultEdge> graph = importExecContextGraph(ecgpy);
+        DirectedAcyclicGraph<ExecContextData.TaskVertex, DefaultEdge> graph =
+                ExecContextGraphResidentCache.copyForMutation(ExecContextGraphResidentCache.getGraph(graphAndStates.graph()));
         ExecContextTaskStateParamsYaml ectspy = graphAndStates.states().getExecContextTaskStateParamsYaml();
         try {
             callable.accept(graph, ectspy);
         } finally {
-            ecgpy.graph = asString(graph);
+            ecgpy.packedGraph = ExecContextGraphPackUtils.pack(graph);
             graphAndStates.graph().updateParams(ecgpy);
             graphAndStates.states().updateParams(ectspy);
             save(graphAndStates);
+            ExecContextGraphResidentCache.put(graphAndStates.graph().id, ecgpy.packedGraph, graph);
         }
     }
 
@@ -169,26 +161,6 @@ public class ExecContextGraphService {
         }
     }
 
-    public static String asString(DirectedAcyclicGraph<ExecContextData.TaskVertex, DefaultEdge> graph) {
-        Function<ExecContextData.TaskVertex, String> vertexIdProvider = v -> v.taskId.toString();
-        Function<ExecContextData.TaskVertex, Map<String, Attribute>> vertexAttributeProvider = v -> {
-            Map<String, Attribute> m = new HashMap<>();
-            m.put(TASK_CONTEXT_ID_ATTR, DefaultAttribute.createAttribute(v.taskContextId));
-            // rare: only a tagged vertex adds this key, so all other vertices serialize unchanged.
-            if (v.tag != null) {
-                m.put(TAG_ATTR, DefaultAttribute.createAttribute(v.tag));
-            }
-            return m;
-        };
-
-        DOTExporter<ExecContextData.TaskVertex, DefaultEdge> exporter = new DOTExporter<>(vertexIdProvider);
-        exporter.setVertexAttributeProvider(vertexAttributeProvider);
-
-        StringWriter writer = new StringWriter();
-        exporter.exportGraph(graph, writer);
-        return writer.toString();
-    }
-
     private static <T> @Nullable T readOnlyGraphNullable(
             ExecContextGraph execContextGraph,
             Function<DirectedAcyclicGraph<ExecContextData.TaskVertex, DefaultEdge>, @Nullable T> callable) {
@@ -213,52 +185,19 @@ public class ExecContextGraphService {
     }
 
     private static DirectedAcyclicGraph<ExecContextData.TaskVertex, DefaultEdge> prepareGraph(ExecContextGraph execContextGraph) {
-        return importExecContextGraph(execContextGraph.getExecContextGraphParamsYaml());
-    }
-
-    public static DirectedAcyclicGraph<ExecContextData.TaskVertex, DefaultEdge> importExecContextGraph(ExecContextGraphParamsYaml wpy) {
-        return importExecContextGraph(wpy.graph);
-    }
-
-    private static final DOTImporter<ExecContextData.TaskVertex, DefaultEdge> DOT_IMPORTER = new DOTImporter<>();
-    static {
-        // https://stackoverflow.com/questions/60461351/import-graph-with-1-4-0
-        DOT_IMPORTER.setVertexFactory(ExecContextGraphService::getTaskVertexFactory);
-        DOT_IMPORTER.addVertexAttributeConsumer(ExecContextGraphService::getVertexAttributeConsumer);
+        return ExecContextGraphResidentCache.getGraph(execContextGraph);
     }
 
-    @SneakyThrows
-    public static DirectedAcyclicGraph<ExecContextData.TaskVertex, DefaultEdge> importExecContextGraph(String graphAsString) {
-        DirectedAcyclicGraph<ExecContextData.TaskVertex, DefaultEdge> graph = new DirectedAcyclicGraph<>(
-                ExecContextData.TaskVertex::new, SupplierUtil.DEFAULT_EDGE_SUPPLIER, false);
-
-        // https://stackoverflow.com/questions/60461351/import-graph-with-1-4-0
-//        DOTImporter<ExecContextData.TaskVertex, DefaultEdge> importer = new DOTImporter<>();
-//        importer.setVertexFactory(ExecContextGraphService::getTaskVertexFactory);
-//        importer.addVertexAttributeConsumer((ExecContextGraphService::getVertexAttributeConsumer));
-
-        DOT_IMPORTER.importGraph(graph, new StringReader(graphAsString));
-        return graph;
-    }
-
-    private static void getVertexAttributeConsumer(Pair<ExecContextData.TaskVertex, String> vertex, Attribute attribute) {
-        switch(vertex.getSecond()) {
-            case TASK_CONTEXT_ID_ATTR:
-                vertex.getFirst().taskContextId = attribute.getValue();
-                break;
-            case TAG_ATTR:
-                vertex.getFirst().tag = attribute.getValue();
-                break;
-            case "ID":
-                // do nothing
-                break;
-            default:
-                log.error("Unknown attribute in task graph, attr: " + vertex.getSecond()+", attr value: " + attribute.getValue());
+    private static Map<Long, ExecContextData.TaskVertex> vertexIndex(DirectedAcyclicGraph<ExecContextData.TaskVertex, DefaultEdge> graph) {
+        Map<Long, ExecContextData.TaskVertex> index = new HashMap<>(graph.vertexSet().size()*2);
+        for (ExecContextData.TaskVertex v : graph.vertexSet()) {
+            index.put(v.taskId, v);
         }
+        return index;
     }
 
-    private static ExecContextData.TaskVertex getTaskVertexFactory(String id) {
-        return new ExecContextData.TaskVertex(Long.parseLong(id));
+    public static DirectedAcyclicGraph<ExecContextData.TaskVertex, DefaultEdge> importExecContextGraph(ExecContextGraphParamsYaml wpy) {
+        return ExecContextGraphPackUtils.unpack(wpy.packedGraph);
     }
 
     /**
@@ -274,17 +213,17 @@ public class ExecContextGraphService {
     private ExecContextOperationStatusWithTaskList updateTaskExecState(ExecContextData.ExecContextDAC execContextDAC, ExecContextTaskState execContextTaskState, List<TaskData.TaskWithStateAndTaskContextId> taskWithStates) {
         final ExecContextOperationStatusWithTaskList status = new ExecContextOperationStatusWithTaskList();
         status.status = OperationStatusRest.OPERATION_STATUS_OK;
+        final String prevStates = execContextTaskState.getParams();
+        // the same instance is changed by changeState(), after updateParams() it would be parsed again
+        final Map<Long, EnumsApi.TaskExecState> states = execContextTaskState.getExecContextTaskStateParamsYaml().states;
 
         changeState(execContextDAC, execContextTaskState, (graph, stateParamsYaml) -> {
+            Map<Long, ExecContextData.TaskVertex> index = vertexIndex(graph.graph());
             for (TaskData.TaskWithStateAndTaskContextId taskWithState : taskWithStates) {
                 Long taskId = taskWithState.taskId;
                 EnumsApi.TaskExecState execState = taskWithState.state;
 
-                ExecContextData.TaskVertex tv = graph.graph().vertexSet()
-                    .stream()
-                    .filter(o -> o.taskId.equals(taskId))
-                    .findFirst()
-                    .orElse(null);
+                ExecContextData.TaskVertex tv = index.get(taskId);
 
                 // Don't combine with stream, a side-effect could be occurred
                 if (tv!=null) {
@@ -315,6 +254,13 @@ public class ExecContextGraphService {
                 }
             }
         });
+
+        // all changed states are either in taskWithStates or in status.childrenTasks
+        List<Long> changedTaskIds = new ArrayList<>(taskWithStates.size() + status.childrenTasks.size());
+        taskWithStates.forEach(o->changedTaskIds.add(o.taskId));
+        status.childrenTasks.forEach(o->changedTaskIds.add(o.taskId));
+        ExecContextReadyFrontierCache.afterStatesChanged(execContextDAC.graph(), execContextTaskState, states, prevStates, changedTaskIds);
+
         status.status = OperationStatusRest.OPERATION_STATUS_OK;
         return status;
     }
@@ -424,11 +370,8 @@ public class ExecContextGraphService {
     public static Set<ExecContextData.TaskVertex> findDescendantsBounded(
             DirectedAcyclicGraph<ExecContextData.TaskVertex, DefaultEdge> graph, Long taskId,
             Predicate<ExecContextData.TaskVertex> descendThrough) {
-        ExecContextData.TaskVertex start = graph.vertexSet()
-                .stream()
-                .filter(o -> taskId.equals(o.taskId))
-                .findFirst().orElse(null);
-        if (start==null) {
+        ExecContextData.TaskVertex start = new ExecContextData.TaskVertex(taskId);
+        if (!graph.containsVertex(start)) {
             return Set.of();
         }
 
@@ -458,11 +401,8 @@ public class ExecContextGraphService {
     }
 
     private static Set<ExecContextData.TaskVertex> findDescendantsInternal(DirectedAcyclicGraph<ExecContextData.TaskVertex, DefaultEdge> graph, Long taskId) {
-        ExecContextData.TaskVertex vertex = graph.vertexSet()
-                .stream()
-                .filter(o -> taskId.equals(o.taskId))
-                .findFirst().orElse(null);
-        if (vertex==null) {
+        ExecContextData.TaskVertex vertex = new ExecContextData.TaskVertex(taskId);
+        if (!graph.containsVertex(vertex)) {
             return Set.of();
         }
 
@@ -485,11 +425,8 @@ public class ExecContextGraphService {
 
     public static Set<ExecContextData.TaskVertex> findDirectDescendants(ExecContextGraph execContextGraph, Long taskId) {
         return readOnlyGraph(execContextGraph, graph -> {
-            ExecContextData.TaskVertex vertex = graph.vertexSet()
-                .stream()
-                .filter(o -> taskId.equals(o.taskId))
-                .findFirst().orElse(null);
-            if (vertex == null) {
+            ExecContextData.TaskVertex vertex = findVertexByTaskId(execContextGraph, taskId);
+            if (vertex==null) {
                 return Set.of();
             }
 
@@ -518,115 +455,15 @@ public class ExecContextGraphService {
     }
 
     public static List<ExecContextData.TaskVertex> findAllForAssigning(ExecContextGraph execContextGraph, ExecContextTaskState execContextTaskState, boolean includeForCaching) {
-        return readOnlyGraphWithState(execContextGraph, execContextTaskState, (graph,stateParamsYaml) -> {
-
-            log.debug("Start searching a task for assigning");
+        return readOnlyGraph(execContextGraph, graph -> {
+            List<ExecContextData.TaskVertex> vertices = ExecContextReadyFrontierCache.findAllForAssigning(graph, execContextTaskState, includeForCaching);
             if (log.isDebugEnabled()) {
-                log.debug("\tcurrent state of tasks:");
-                graph.vertexSet().forEach(o->log.debug("\t\ttask #{}, state {}", o.taskId, stateParamsYaml.states.getOrDefault(o.taskId, EnumsApi.TaskExecState.NONE)));
-            }
-
-            ExecContextData.TaskVertex startVertex = graph.vertexSet().stream()
-                    .filter( v -> graph.incomingEdgesOf(v).isEmpty())
-                    .findFirst()
-                    .orElse(null);
-
-            // if this is newly created graph then return only the start vertex of graph
-            if (startVertex!=null) {
-                EnumsApi.TaskExecState state = stateParamsYaml.states.getOrDefault(startVertex.taskId, EnumsApi.TaskExecState.NONE);
-                boolean found = includeForCaching ?
-                        (state == EnumsApi.TaskExecState.NONE || state == EnumsApi.TaskExecState.CHECK_CACHE) :
-                        state == EnumsApi.TaskExecState.NONE;
-
-                if (found) {
-                    if (log.isDebugEnabled()) {
-                        log.debug("\tThe root vertex of graph wasn't processed, #{}, state {}",
-                                startVertex.taskId, stateParamsYaml.states.getOrDefault(startVertex.taskId, EnumsApi.TaskExecState.NONE));
-                    }
-                    return List.of(startVertex);
-                }
-            }
-
-            log.debug("\tThe root vertex of execContextGraph was already processes");
-
-            // get all non-processed tasks
-            Iterator<ExecContextData.TaskVertex> iterator = new BreadthFirstIterator<>(graph, (ExecContextData.TaskVertex)null);
-            List<ExecContextData.TaskVertex> vertices = new ArrayList<>();
-
-            iterator.forEachRemaining(v -> {
-                EnumsApi.TaskExecState state = stateParamsYaml.states.getOrDefault(v.taskId, EnumsApi.TaskExecState.NONE);
-                if (includeForCaching) {
-                    if (state == EnumsApi.TaskExecState.NONE || state == EnumsApi.TaskExecState.CHECK_CACHE) {
-                        // remove all tasks which have non-processed tasks as a direct parent
-                        if (isParentFullyProcessed(graph, execContextTaskState, v)) {
-                            vertices.add(v);
-                        }
-                    }
-                }
-                else {
-                    if (state == EnumsApi.TaskExecState.NONE) {
-                        // remove all tasks which have non-processed tasks as a direct parent
-                        if (isParentFullyProcessed(graph, execContextTaskState, v)) {
-                            vertices.add(v);
-                        }
-                    }
-                }
-            });
-
-            if (!vertices.isEmpty()) {
-                if (log.isDebugEnabled()) {
-                    log.debug("\tfound tasks for assigning:");
-                    StringBuilder sb = new StringBuilder("\t\t");
-                    vertices.forEach(o->sb.append(S.f("#%s: %s, ", o.taskId, stateParamsYaml.states.getOrDefault(o.taskId, EnumsApi.TaskExecState.NONE))));
-                    log.debug(sb.toString());
-                }
-                return vertices;
-            }
-
-            log.debug("\tthere isn't any task for assigning, let's check for 'mh.finish' task");
-
-            // this case is about when all tasks in graph is completed and only mh_finish is left
-            ExecContextData.TaskVertex endVertex = graph.vertexSet().stream()
-                    .filter( v -> {
-                        if (!graph.outgoingEdgesOf(v).isEmpty()) {
-                            return false;
-                        }
-                        EnumsApi.TaskExecState state = stateParamsYaml.states.getOrDefault(v.taskId, EnumsApi.TaskExecState.NONE);
-                        if (includeForCaching) {
-                            return (state == EnumsApi.TaskExecState.NONE || state == EnumsApi.TaskExecState.CHECK_CACHE);
-                        }
-                        else {
-                            return state == EnumsApi.TaskExecState.NONE;
-                        }
-                    })
-                    .findFirst()
-                    .orElse(null);
-
-            if (endVertex!=null) {
-                if (log.isDebugEnabled()) {
-                    EnumsApi.TaskExecState state = stateParamsYaml.states.getOrDefault(endVertex.taskId, EnumsApi.TaskExecState.NONE);
-                    log.debug("\tfound task which doesn't have any descendant, #{}, state {}", endVertex.taskId, state);
-                }
-
-                boolean allDone = graph.incomingEdgesOf(endVertex).stream()
-                        .map(graph::getEdgeSource)
-                        .peek(o->{
-                            if (log.isDebugEnabled()) {
-                                EnumsApi.TaskExecState state = stateParamsYaml.states.getOrDefault(o.taskId, EnumsApi.TaskExecState.NONE);
-                                log.debug("\t\tancestor of task #{} is #{}, state {}", endVertex.taskId, o.taskId, state);
-                            }
-                        })
-                        .allMatch( v -> {
-                            EnumsApi.TaskExecState state = stateParamsYaml.states.getOrDefault(v.taskId, EnumsApi.TaskExecState.NONE);
-                            return EnumsApi.TaskExecState.isFinishedState(state);
-                        });
-
-                log.debug("\tall done: {}", allDone);
-                if (allDone) {
-                    return List.of(endVertex);
-                }
+                Map<Long, EnumsApi.TaskExecState> states = execContextTaskState.getExecContextTaskStateParamsYaml().states;
+                StringBuilder sb = new StringBuilder("\t\t");
+                vertices.forEach(o->sb.append(S.f("#%s: %s, ", o.taskId, states.getOrDefault(o.taskId, EnumsApi.TaskExecState.NONE))));
+                log.debug("\tfound tasks for assigning:\n{}", sb);
             }
-            return List.of();
+            return vertices;
         });
     }
 
@@ -650,47 +487,6 @@ public class ExecContextGraphService {
         return ExecContextGraphService.findAllRootVertices(graph).size()<2;
     }
 
-    private static boolean isParentFullyProcessed(
-            DirectedAcyclicGraph<ExecContextData.TaskVertex, DefaultEdge> graph, ExecContextTaskState execContextTaskState, ExecContextData.TaskVertex vertex) {
-
-        // we don't need to get all ancestors, we need only direct.
-        // So it can be done just with edges
-        ExecContextTaskStateParamsYaml stateParamsYaml = execContextTaskState.getExecContextTaskStateParamsYaml();
-        for (ExecContextData.TaskVertex ancestor : graph.getAncestors(vertex)) {
-            EnumsApi.TaskExecState state = stateParamsYaml.states.getOrDefault(ancestor.taskId, EnumsApi.TaskExecState.NONE);
-            if (!EnumsApi.TaskExecState.isFinishedState(state)) {
-                return false;
-            }
-        }
-        // A task on a dead branch must never be handed out for assigning: if any ancestor terminally
-        // ERRORed or was SKIPPED, this task is unreachable and must be SKIPPED by skip-propagation,
-        // not executed on a broken/absent upstream (e.g. an in-band grafted line whose head terminally failed).
-        // Refined: a task is unreachable ONLY when EVERY DIRECT parent is dead (ERROR/SKIPPED) - i.e. there is
-        // no live incoming path. A task that still has a LIVE (non-dead) direct parent IS reachable and must
-        // run, even if a sibling conditional branch that rejoins here was SKIPPED (e.g. mh.nop-objectives when
-        // its when-condition is false); blocking on ANY dead ANCESTOR stalls that legitimate convergence forever.
-        // A `tag terminal` process is a 'finally' for its upstream: the loop above already guaranteed every
-        // ancestor reached a FINISHED state, and terminal must then run regardless of HOW they finished.
-        // Without this, rule 2 (never SKIP a terminal vertex) only gets it as far as NONE - the dead-branch
-        // check below then refuses to hand it out for assigning, so it never runs and mh.finish behind it
-        // stays PRE_INIT forever (production ExecContext #13, task #580).
-        if (Consts.TAG_TERMINAL.equals(vertex.tag)) {
-            return true;
-        }
-        Set<ExecContextData.TaskVertex> directParents = graph.incomingEdgesOf(vertex).stream()
-                .map(graph::getEdgeSource).collect(Collectors.toSet());
-        if (!directParents.isEmpty()) {
-            boolean anyLiveParent = directParents.stream().anyMatch(p -> {
-                EnumsApi.TaskExecState st = stateParamsYaml.states.getOrDefault(p.taskId, EnumsApi.TaskExecState.NONE);
-                return st != EnumsApi.TaskExecState.ERROR && st != EnumsApi.TaskExecState.SKIPPED;
-            });
-            if (!anyLiveParent) {
-                return false;
-            }
-        }
-        return true;
-    }
-
     public List<ExecContextData.TaskVertex> findAll(Long execContextGraphId) {
         ExecContextGraph execContextGraph = prepareExecContextGraph(execContextGraphId);
         return findAll(execContextGraph);
@@ -725,14 +521,7 @@ public class ExecContextGraphService {
     }
 
     public static ExecContextData.@Nullable TaskVertex findVertexByTaskId(ExecContextGraph execContextGraph, Long taskId) {
-        return readOnlyGraphNullable(execContextGraph, (graph) -> {
-            for (ExecContextData.TaskVertex v : graph.vertexSet()) {
-                if (taskId.equals(v.taskId)) {
-                    return v;
-                }
-            }
-            return null;
-        });
+        return ExecContextGraphResidentCache.get(execContextGraph).vertex(taskId);
     }
 
     public void setStateForAllChildrenTasks(ExecContextData.ExecContextDAC execContextDAC, Long execContextTaskStateId, Long taskId, ExecContextOperationStatusWithTaskList withTaskList, EnumsApi.TaskExecState state) {
@@ -874,10 +663,7 @@ public class ExecContextGraphService {
         TxUtils.checkTxExists();
 
         changeGraphWithState(graphAndStates, (graph, stateParamsYaml) -> {
-            List<ExecContextData.TaskVertex> vertices = graph.vertexSet()
-                    .stream()
-                    .filter(o -> parentTaskIds.contains(o.taskId))
-                    .collect(Collectors.toList());
+            List<ExecContextData.TaskVertex> vertices = findVerticesByTaskIds(graph, parentTaskIds);
 
             taskIds.forEach(taskWithContext -> {
                 stateParamsYaml.states.put(taskWithContext.taskId, state);
@@ -889,13 +675,62 @@ public class ExecContextGraphService {
         return OperationStatusRest.OPERATION_STATUS_OK;
     }
 
+    /**
+     * Adds all tasks with one mutation of graph and states, instead of a mutation per task,
+     * which copies and packs the whole graph each time.
+     */
+    public void addNewTasksToGraph(ExecContextData.GraphAndStates graphAndStates, List<ExecContextData.NewTaskVertex> newTasks) {
+        TxUtils.checkTxExists();
+        if (newTasks.isEmpty()) {
+            return;
+        }
+
+        changeGraphWithState(graphAndStates, (graph, stateParamsYaml) -> {
+            // vertices which are already in graph and the ones added by this bulk
+            Map<Long, ExecContextData.TaskVertex> index = vertexIndex(graph);
+            for (ExecContextData.NewTaskVertex newTask : newTasks) {
+                stateParamsYaml.states.put(newTask.taskId(), newTask.state());
+                final ExecContextData.TaskVertex v = new ExecContextData.TaskVertex(newTask.taskId(), newTask.taskContextId(), newTask.tag());
+                graph.addVertex(v);
+                index.put(v.taskId, v);
+                for (Long parentTaskId : newTask.parentTaskIds()) {
+                    ExecContextData.TaskVertex parentV = index.get(parentTaskId);
+                    if (parentV!=null) {
+                        graph.addEdge(parentV, v);
+                    }
+                }
+            }
+        });
+    }
+
     public void createEdges(ExecContextGraph execContextGraph, List<Long> lastIds, Set<ExecContextData.TaskVertex> descendants) {
         TxUtils.checkTxExists();
-        changeGraph(execContextGraph, graph ->
-                graph.vertexSet().stream()
-                        .filter(o -> lastIds.contains(o.taskId))
-                        .forEach(parentV-> descendants.forEach(trgV -> graph.addEdge(parentV, trgV)))
-        );
+        changeGraph(execContextGraph, graph -> addEdgesToGraph(graph, lastIds, descendants));
+    }
+
+    /**
+     * Static entry point for unit tests that operate directly on the graph
+     * without requiring Spring context or DB access.
+     */
+    public static void addEdgesToGraph(DirectedAcyclicGraph<ExecContextData.TaskVertex, DefaultEdge> graph, List<Long> lastIds, Set<ExecContextData.TaskVertex> descendants) {
+        findVerticesByTaskIds(graph, lastIds)
+                .forEach(parentV-> descendants.forEach(trgV -> graph.addEdge(parentV, trgV)));
+    }
+
+    /**
+     * Returns vertices which are in graph. A vertex which is created only by taskId must never be used
+     * as an edge source or target because graph would keep it instead of the vertex with taskContextId.
+     */
+    private static List<ExecContextData.TaskVertex> findVerticesByTaskIds(DirectedAcyclicGraph<ExecContextData.TaskVertex, DefaultEdge> graph, Collection<Long> taskIds) {
+        Map<Long, ExecContextData.TaskVertex> index = vertexIndex(graph);
+        List<ExecContextData.TaskVertex> vertices = new ArrayList<>(taskIds.size());
+        for (Long taskId : new LinkedHashSet<>(taskIds)) {
+            ExecContextData.TaskVertex v = index.get(taskId);
+            if (v!=null) {
+                vertices.add(v);
+            }
+        }
+        return vertices;
     }
 
     /**
@@ -920,10 +755,9 @@ public class ExecContextGraphService {
         changeGraph(execContextGraph, graph -> {
             // Collect the full subtree of all old children across all sub-layers
             Set<ExecContextData.TaskVertex> toRemove = new java.util.LinkedHashSet<>();
+            Map<Long, ExecContextData.TaskVertex> index = vertexIndex(graph);
             for (ExecContextData.TaskVertex oldChild : oldChildren) {
-                ExecContextData.TaskVertex graphVertex = graph.vertexSet().stream()
-                        .filter(v -> v.taskId.equals(oldChild.taskId))
-                        .findFirst().orElse(null);
+                ExecContextData.TaskVertex graphVertex = index.get(oldChild.taskId);
                 if (graphVertex == null) {
                     log.warn("995.110 Old subProcess child task #{} not found in graph, skipping removal", oldChild.taskId);
                     continue;
@@ -1011,11 +845,10 @@ public class ExecContextGraphService {
      * without requiring Spring context or DB access.
      */
     public static void removeVerticesFromGraph(DirectedAcyclicGraph<ExecContextData.TaskVertex, DefaultEdge> graph, Collection<ExecContextData.TaskVertex> vertices) {
+        Map<Long, ExecContextData.TaskVertex> index = vertexIndex(graph);
         for (ExecContextData.TaskVertex vertex : vertices) {
-            ExecContextData.TaskVertex graphVertex = graph.vertexSet().stream()
-                    .filter(v -> v.taskId.equals(vertex.taskId))
-                    .findFirst().orElse(null);
-            if (graphVertex == null) {
+            ExecContextData.TaskVertex graphVertex = index.get(vertex.taskId);
+            if (graphVertex == null || !graph.containsVertex(graphVertex)) {
                 continue;
             }
             // Collect parents and children before removal
@@ -1060,6 +893,7 @@ public class ExecContextGraphService {
     @Transactional
     public Void deleteOrphanGraphs(List<Long> ids) {
         execContextGraphRepository.deleteAllByIdIn(ids);
+        ExecContextGraphResidentCache.evict(ids);
         return null;
     }
 
@@ -1075,7 +909,7 @@ public class ExecContextGraphService {
     }
 
     public static ExecContextData.ExecContextDAC getExecContextDAC(Long execContextId, ExecContextGraph execContextGraph) {
-        DirectedAcyclicGraph<ExecContextData.TaskVertex, DefaultEdge> graph = importExecContextGraph(execContextGraph.getExecContextGraphParamsYaml());
+        DirectedAcyclicGraph<ExecContextData.TaskVertex, DefaultEdge> graph = ExecContextGraphResidentCache.getGraph(execContextGraph);
         ExecContextData.ExecContextDAC execContextDAC = new ExecContextData.ExecContextDAC(execContextId, graph, execContextGraph.version);
         return execContextDAC;
     }
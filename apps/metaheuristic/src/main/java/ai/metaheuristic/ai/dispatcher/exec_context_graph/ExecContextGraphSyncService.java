@@ -31,7 +31,7 @@ import java.util.function.Supplier;
  */
 public class ExecContextGraphSyncService {
 
-    private static final CommonSync<Long> commonSync = new CommonSync<>();
+    private static final CommonSync<Long> commonSync = new CommonSync<>("execContextGraph");
 
     public static void checkWriteLockPresent(Long execContextGraphId) {
         if (!getWriteLock(execContextGraphId).isHeldByCurrentThread()) {
@@ -0,0 +1,333 @@
+/*
+ * Metaheuristic, Copyright (C) 2017-2025, Innovation platforms, LLC
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package ai.metaheuristic.ai.dispatcher.exec_context_graph;
+
+import ai.metaheuristic.ai.Consts;
+import ai.metaheuristic.ai.dispatcher.beans.ExecContextTaskState;
+import ai.metaheuristic.ai.dispatcher.data.ExecContextData;
+import ai.metaheuristic.ai.utils.IdleEvictingCache;
+import ai.metaheuristic.api.EnumsApi;
+import lombok.extern.slf4j.Slf4j;
+import org.jgrapht.graph.DefaultEdge;
+import org.jgrapht.graph.DirectedAcyclicGraph;
+import org.jgrapht.traverse.BreadthFirstIterator;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-ExecContextTaskState ready frontier, i.e. the set of tasks which can be assigned right now.
+ *
+ * <p>A frontier is built once for a resident graph (see {@link ExecContextGraphResidentCache}) and then
+ * is kept up-to-date incrementally: every vertex has a counter of direct parents which aren't 'closed' yet,
+ * where a vertex is closed when it is in a finished state and all its parents are closed too.
+ * A change of the state of a task costs O(out-degree) plus the cascade over descendants whose closed flag
+ * actually changed, instead of the traversal of the whole graph with a walk over all ancestors of every NONE vertex.
+ *
+ * <p>An entry is reused only for the same instance of resident graph and only when the params text of
+ * ExecContextTaskState at hand is equal to the text the frontier was synced with. When the text differs,
+ * i.e. states were changed without {@link #afterStatesChanged}, the frontier is synced by comparing states
+ * of all vertices, which is still O(V) without walking ancestors.
+ *
+ * @author Serge
+ * Date: 10/18/2026
+ * Time: 3:20 PM
+ */
+@Slf4j
+public class ExecContextReadyFrontierCache {
+
+    private static final int MAX_RESIDENT_FRONTIERS = 200;
+    private static final long IDLE_EVICTION_MILLS = TimeUnit.MINUTES.toMillis(30);
+
+    private static final IdleEvictingCache<Long, ReadyFrontier> frontiers =
+            new IdleEvictingCache<>("ExecContextReadyFrontierCache", MAX_RESIDENT_FRONTIERS, IDLE_EVICTION_MILLS);
+
+    public static final class ReadyFrontier {
+        private final DirectedAcyclicGraph<ExecContextData.TaskVertex, DefaultEdge> graph;
+
+        // vertices are indexed in the order of BreadthFirstIterator, so the frontier is returned
+        // in the same order as it was returned by full traversal
+        private final ExecContextData.TaskVertex[] vertices;
+        private final Map<Long, Integer> indexByTaskId;
+        private final int[][] children;
+        private final int[][] parents;
+        private final boolean[] terminal;
+
+        // the first root and sinks in the order of graph.vertexSet()
+        private final int startIndex;
+        private final int[] sinks;
+
+        private final EnumsApi.TaskExecState[] states;
+        private final boolean[] closed;
+        private final int[] notClosedParents;
+        private final int[] deadParents;
+
+        private final BitSet readyNone;
+        private final BitSet readyCheckCache;
+
+        private String source;
+
+        ReadyFrontier(DirectedAcyclicGraph<ExecContextData.TaskVertex, DefaultEdge> graph, Map<Long, EnumsApi.TaskExecState> taskStates, String source) {
+            this.graph = graph;
+            int n = graph.vertexSet().size();
+            this.vertices = new ExecContextData.TaskVertex[n];
+            this.indexByTaskId = new HashMap<>(n*2);
+
+            Iterator<ExecContextData.TaskVertex> iterator = new BreadthFirstIterator<>(graph, (ExecContextData.TaskVertex)null);
+            int idx = 0;
+            while (iterator.hasNext()) {
+                ExecContextData.TaskVertex v = iterator.next();
+                vertices[idx] = v;
+                indexByTaskId.put(v.taskId, idx);
+                idx++;
+            }
+
+            this.children = new int[n][];
+            this.parents = new int[n][];
+            this.terminal = new boolean[n];
+            for (int i = 0; i < n; i++) {
+                ExecContextData.TaskVertex v = vertices[i];
+                children[i] = graph.outgoingEdgesOf(v).stream().mapToInt(e -> indexByTaskId.get(graph.getEdgeTarget(e).taskId)).toArray();
+                parents[i] = graph.incomingEdgesOf(v).stream().mapToInt(e -> indexByTaskId.get(graph.getEdgeSource(e).taskId)).toArray();
+                terminal[i] = Consts.TAG_TERMINAL.equals(v.tag);
+            }
+
+            int start = -1;
+            List<Integer> sinkList = new ArrayList<>();
+            for (ExecContextData.TaskVertex v : graph.vertexSet()) {
+                int i = indexByTaskId.get(v.taskId);
+                if (start==-1 && parents[i].length==0) {
+                    start = i;
+                }
+                if (children[i].length==0) {
+                    sinkList.add(i);
+                }
+            }
+            this.startIndex = start;
+            this.sinks = sinkList.stream().mapToInt(Integer::intValue).toArray();
+
+            this.states = new EnumsApi.TaskExecState[n];
+            this.closed = new boolean[n];
+            this.notClosedParents = new int[n];
+            this.deadParents = new int[n];
+            this.readyNone = new BitSet(n);
+            this.readyCheckCache = new BitSet(n);
+
+            for (int i = 0; i < n; i++) {
+                states[i] = taskStates.getOrDefault(vertices[i].taskId, EnumsApi.TaskExecState.NONE);
+                notClosedParents[i] = parents[i].length;
+            }
+            for (int i = 0; i < n; i++) {
+                if (isDead(states[i])) {
+                    for (int c : children[i]) {
+                        deadParents[c]++;
+                    }
+                }
+            }
+            // closed flags are initialized in topological order, so all parents are already settled
+            for (ExecContextData.TaskVertex v : graph) {
+                int i = indexByTaskId.get(v.taskId);
+                if (notClosedParents[i]==0 && EnumsApi.TaskExecState.isFinishedState(states[i])) {
+                    closed[i] = true;
+                    for (int c : children[i]) {
+                        notClosedParents[c]--;
+                    }
+                }
+            }
+            for (int i = 0; i < n; i++) {
+                refreshReady(i);
+            }
+            this.source = source;
+        }
+
+        /**
+         * Re-syncs the frontier with the states of all vertices, is used when states were changed by an unknown code
+         */
+        synchronized void sync(Map<Long, EnumsApi.TaskExecState> taskStates, String source) {
+            for (int i = 0; i < vertices.length; i++) {
+                setState(i, taskStates.getOrDefault(vertices[i].taskId, EnumsApi.TaskExecState.NONE));
+            }
+            this.source = source;
+        }
+
+        /**
+         * Applies the changes of states for taskIds only. Must be called only when taskIds cover all changes
+         * which were made after the last sync.
+         */
+        synchronized void update(Collection<Long> taskIds, Map<Long, EnumsApi.TaskExecState> taskStates, String source) {
+            for (Long taskId : taskIds) {
+                Integer i = indexByTaskId.get(taskId);
+                if (i!=null) {
+                    setState(i, taskStates.getOrDefault(taskId, EnumsApi.TaskExecState.NONE));
+                }
+            }
+            this.source = source;
+        }
+
+        synchronized boolean isSyncedWith(String source) {
+            //noinspection StringEquality
+            return this.source==source || this.source.equals(source);
+        }
+
+        public synchronized List<ExecContextData.TaskVertex> findAllForAssigning(boolean includeForCaching) {
+            // if this is newly created graph then return only the start vertex of graph
+            if (startIndex!=-1 && isWaiting(states[startIndex], includeForCaching)) {
+                log.debug("\tThe root vertex of graph wasn't processed, #{}, state {}", vertices[startIndex].taskId, states[startIndex]);
+                return List.of(vertices[startIndex]);
+            }
+
+            BitSet ready = readyNone;
+            if (includeForCaching && !readyCheckCache.isEmpty()) {
+                ready = (BitSet) readyNone.clone();
+                ready.or(readyCheckCache);
+            }
+            if (!ready.isEmpty()) {
+                List<ExecContextData.TaskVertex> result = new ArrayList<>(ready.cardinality());
+                for (int i = ready.nextSetBit(0); i >= 0; i = ready.nextSetBit(i + 1)) {
+                    result.add(vertices[i]);
+                }
+                return result;
+            }
+
+            // this case is about when all tasks in graph is completed and only mh_finish is left
+            for (int sink : sinks) {
+                if (!isWaiting(states[sink], includeForCaching)) {
+                    continue;
+                }
+                for (int p : parents[sink]) {
+                    if (!EnumsApi.TaskExecState.isFinishedState(states[p])) {
+                        return List.of();
+                    }
+                }
+                return List.of(vertices[sink]);
+            }
+            return List.of();
+        }
+
+        private void setState(int i, EnumsApi.TaskExecState state) {
+            EnumsApi.TaskExecState old = states[i];
+            if (old==state) {
+                return;
+            }
+            states[i] = state;
+            boolean wasDead = isDead(old);
+            boolean dead = isDead(state);
+            if (wasDead!=dead) {
+                for (int c : children[i]) {
+                    deadParents[c] += dead ? 1 : -1;
+                    refreshReady(c);
+                }
+            }
+            updateClosed(i);
+            refreshReady(i);
+        }
+
+        private void updateClosed(int start) {
+            ArrayDeque<Integer> queue = new ArrayDeque<>();
+            queue.add(start);
+            while (!queue.isEmpty()) {
+                int i = queue.poll();
+                boolean isClosed = notClosedParents[i]==0 && EnumsApi.TaskExecState.isFinishedState(states[i]);
+                if (isClosed==closed[i]) {
+                    continue;
+                }
+                closed[i] = isClosed;
+                for (int c : children[i]) {
+                    notClosedParents[c] += isClosed ? -1 : 1;
+                    refreshReady(c);
+                    queue.add(c);
+                }
+            }
+        }
+
+        /**
+         * A task is ready when all its ancestors are in finished state. But a task on a dead branch must never be
+         * handed out for assigning: when EVERY direct parent is ERROR or SKIPPED, there isn't a live incoming path
+         * and the task will be SKIPPED by skip-propagation. A 'tag terminal' task is a 'finally' for its upstream
+         * and is ready regardless of how its ancestors were finished.
+         */
+        private void refreshReady(int i) {
+            boolean ready = notClosedParents[i]==0 &&
+                    (terminal[i] || parents[i].length==0 || deadParents[i] < parents[i].length);
+            readyNone.set(i, ready && states[i]==EnumsApi.TaskExecState.NONE);
+            readyCheckCache.set(i, ready && states[i]==EnumsApi.TaskExecState.CHECK_CACHE);
+        }
+
+        private static boolean isWaiting(EnumsApi.TaskExecState state, boolean includeForCaching) {
+            return state==EnumsApi.TaskExecState.NONE || (includeForCaching && state==EnumsApi.TaskExecState.CHECK_CACHE);
+        }
+
+        private static boolean isDead(EnumsApi.TaskExecState state) {
+            return state==EnumsApi.TaskExecState.ERROR || state==EnumsApi.TaskExecState.SKIPPED;
+        }
+    }
+
+    /**
+     * Returns tasks which can be assigned, building the frontier only when there isn't
+     * a frontier for the same graph instance.
+     */
+    public static List<ExecContextData.TaskVertex> findAllForAssigning(
+            DirectedAcyclicGraph<ExecContextData.TaskVertex, DefaultEdge> graph, ExecContextTaskState execContextTaskState, boolean includeForCaching) {
+        Map<Long, EnumsApi.TaskExecState> states = execContextTaskState.getExecContextTaskStateParamsYaml().states;
+        String source = execContextTaskState.getParams();
+        if (execContextTaskState.id==null) {
+            return new ReadyFrontier(graph, states, source).findAllForAssigning(includeForCaching);
+        }
+        ReadyFrontier frontier = frontiers.get(execContextTaskState.id, o -> o.graph==graph);
+        if (frontier==null) {
+            frontier = new ReadyFrontier(graph, states, source);
+            frontiers.put(execContextTaskState.id, frontier);
+        }
+        // sync and search must be atomic, otherwise a concurrent call with other states could change the frontier in between
+        synchronized (frontier) {
+            if (!frontier.isSyncedWith(source)) {
+                log.debug("974.210 states of execContextTaskState #{} were changed outside, sync the frontier", execContextTaskState.id);
+                frontier.sync(states, source);
+            }
+            return frontier.findAllForAssigning(includeForCaching);
+        }
+    }
+
+    /**
+     * Applies changed states to the frontier of the graph, states must be the already changed states of execContextTaskState.
+     * When the frontier wasn't synced with prevSource,
+     * some change is unknown and the frontier will be re-synced with all states on the next {@link #findAllForAssigning}.
+     */
+    public static void afterStatesChanged(
+            DirectedAcyclicGraph<ExecContextData.TaskVertex, DefaultEdge> graph, ExecContextTaskState execContextTaskState,
+            Map<Long, EnumsApi.TaskExecState> states, String prevSource, Collection<Long> taskIds) {
+        if (execContextTaskState.id==null) {
+            return;
+        }
+        ReadyFrontier frontier = frontiers.get(execContextTaskState.id, o -> o.graph==graph);
+        if (frontier==null) {
+            return;
+        }
+        synchronized (frontier) {
+            if (frontier.isSyncedWith(prevSource)) {
+                frontier.update(taskIds, states, execContextTaskState.getParams());
+            }
+        }
+    }
+
+    public static void evict(Collection<Long> execContextTaskStateIds) {
+        execContextTaskStateIds.forEach(frontiers::remove);
+    }
+
+    public static int size() {
+        return frontiers.size();
+    }
+}
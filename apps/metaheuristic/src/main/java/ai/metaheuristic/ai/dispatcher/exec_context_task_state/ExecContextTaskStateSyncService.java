@@ -31,7 +31,7 @@ import java.util.function.Supplier;
  */
 public class ExecContextTaskStateSyncService {
 
-    private static final CommonSync<Long> commonSync = new CommonSync<>();
+    private static final CommonSync<Long> commonSync = new CommonSync<>("execContextTaskState");
 
     public static void checkWriteLockPresent(Long execContextTaskStateId) {
         if (!getWriteLock(execContextTaskStateId).isHeldByCurrentThread()) {
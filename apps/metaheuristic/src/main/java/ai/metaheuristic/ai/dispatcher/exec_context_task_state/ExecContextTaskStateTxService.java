@@ -22,6 +22,7 @@ import ai.metaheuristic.ai.dispatcher.event.EventPublisherService;
 import ai.metaheuristic.ai.dispatcher.event.events.FindUnassignedTasksAndRegisterInQueueTxEvent;
 import ai.metaheuristic.ai.dispatcher.exec_context.ExecContextOperationStatusWithTaskList;
 import ai.metaheuristic.ai.dispatcher.exec_context_graph.ExecContextGraphService;
+import ai.metaheuristic.ai.dispatcher.exec_context_graph.ExecContextReadyFrontierCache;
 import ai.metaheuristic.ai.dispatcher.repositories.ExecContextTaskStateRepository;
 import ai.metaheuristic.ai.dispatcher.task.TaskExecStateService;
 import ai.metaheuristic.ai.dispatcher.task.TaskProviderTopLevelService;
@@ -108,6 +109,7 @@ public class ExecContextTaskStateTxService {
     @Transactional
     public Void deleteOrphanTaskStates(List<Long> ids) {
         execContextTaskStateRepository.deleteAllByIdIn(ids);
+        ExecContextReadyFrontierCache.evict(ids);
         return null;
     }
 
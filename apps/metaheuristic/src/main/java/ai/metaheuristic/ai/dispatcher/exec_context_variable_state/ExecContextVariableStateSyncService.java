@@ -33,7 +33,7 @@ import java.util.function.Supplier;
  */
 public class ExecContextVariableStateSyncService {
 
-    private static final CommonSync<Long> commonSync = new CommonSync<>();
+    private static final CommonSync<Long> commonSync = new CommonSync<>("execContextVariableState");
 
     public static void checkWriteLockPresent(Long execContextVariableStateId) {
         if (!getWriteLock(execContextVariableStateId).isHeldByCurrentThread()) {
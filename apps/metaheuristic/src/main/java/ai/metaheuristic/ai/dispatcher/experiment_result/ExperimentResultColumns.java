@@ -0,0 +1,289 @@
+/*
+ * Metaheuristic, Copyright (C) 2017-2025, Innovation platforms, LLC
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package ai.metaheuristic.ai.dispatcher.experiment_result;
+
+import ai.metaheuristic.ai.dispatcher.variable.InlineVariableUtils;
+import ai.metaheuristic.ai.yaml.experiment_result.ExperimentResultParamsYamlWithCache;
+import ai.metaheuristic.api.data.experiment.ExperimentApiData;
+import ai.metaheuristic.api.data.experiment_result.ExperimentResultParams;
+import ai.metaheuristic.api.data.experiment_result.ExperimentResultTaskParams;
+import org.apache.commons.lang3.StringUtils;
+import org.jspecify.annotations.Nullable;
+
+import java.math.BigDecimal;
+import java.util.*;
+
+/**
+ * Column-oriented copy of one ExperimentResult together with all its ExperimentTasks.
+ *
+ * <p>A row is a task of experiment, rows are sorted by taskId. Each inline variable of tasks is a column
+ * of codes, where a code is the index of value in the variants of hyper-param, {@link #ABSENT} or {@link #UNKNOWN}.
+ * Each metric is a column of values. Features are indexed, i.e. rows of a feature are known without any scanning.
+ * Filtering by hyper-params, pagination and aggregation for plots work with arrays of rows,
+ * so only the tasks of the requested page have to be loaded from db.
+ *
+ * <p>An instance isn't changed after {@link Builder#build()} and is shared between requests.
+ *
+ * @author Serge
+ * Date: 10/18/2026
+ * Time: 8:05 PM
+ */
+public class ExperimentResultColumns {
+
+    // task doesn't have such inline variable
+    public static final int ABSENT = -1;
+    // value of inline variable isn't a variant of hyper-param
+    public static final int UNKNOWN = -2;
+
+    private static final int[] NO_ROWS = new int[0];
+
+    public final Long experimentResultId;
+    public final ExperimentResultParamsYamlWithCache ypywc;
+
+    private final long[] taskIds;
+    private final int[] taskTypes;
+    private final boolean[] withInline;
+    private final @Nullable String[] firstMetrics;
+
+    // key - name of inline variable
+    private final Map<String, int[]> inlineColumns;
+    // key - name of metric
+    private final Map<String, BigDecimal[]> metricColumns;
+    // key - featureId, value - rows of tasks with execState>1
+    private final Map<Long, int[]> rowsByFeature;
+
+    // key - hyper-param, value - variants of hyper-param
+    private final Map<String, List<String>> variants;
+    // key - hyper-param, value - number of distinct variants
+    private final Map<String, Integer> distinctVariants;
+
+    private ExperimentResultColumns(Builder b, List<Builder.Row> rows) {
+        this.experimentResultId = b.experimentResultId;
+        this.ypywc = b.ypywc;
+        this.variants = b.variants;
+        this.distinctVariants = b.distinctVariants;
+
+        int size = rows.size();
+        this.taskIds = new long[size];
+        this.taskTypes = new int[size];
+        this.withInline = new boolean[size];
+        this.firstMetrics = new String[size];
+        this.inlineColumns = new HashMap<>();
+        this.metricColumns = new HashMap<>();
+        Map<Long, List<Integer>> featureRows = new HashMap<>();
+
+        for (int i = 0; i < size; i++) {
+            Builder.Row row = rows.get(i);
+            taskIds[i] = row.taskId;
+            withInline[i] = !row.codes.isEmpty();
+            for (Map.Entry<String, Integer> e : row.codes.entrySet()) {
+                inlineColumns.computeIfAbsent(e.getKey(), k -> newColumn(size))[i] = e.getValue();
+            }
+            for (Map.Entry<String, BigDecimal> e : row.metrics.entrySet()) {
+                if (firstMetrics[i]==null) {
+                    firstMetrics[i] = e.getKey();
+                }
+                metricColumns.computeIfAbsent(e.getKey(), k -> new BigDecimal[size])[i] = e.getValue();
+            }
+            ExperimentResultParams.ExperimentTaskFeature taskFeature = b.taskFeatures.get(row.taskId);
+            if (taskFeature!=null) {
+                taskTypes[i] = taskFeature.taskType;
+                if (row.execState > 1) {
+                    featureRows.computeIfAbsent(taskFeature.featureId, k -> new ArrayList<>()).add(i);
+                }
+            }
+        }
+        this.rowsByFeature = new HashMap<>();
+        featureRows.forEach((k, v) -> rowsByFeature.put(k, v.stream().mapToInt(Integer::intValue).toArray()));
+    }
+
+    private static int[] newColumn(int size) {
+        int[] column = new int[size];
+        Arrays.fill(column, ABSENT);
+        return column;
+    }
+
+    public int size() {
+        return taskIds.length;
+    }
+
+    public long taskId(int row) {
+        return taskIds[row];
+    }
+
+    public int taskType(int row) {
+        return taskTypes[row];
+    }
+
+    private static class ParamFilter {
+        final Set<Integer> variants = new HashSet<>();
+        final int @Nullable [] column;
+        final int distinct;
+
+        ParamFilter(int @Nullable [] column, int distinct) {
+            this.column = column;
+            this.distinct = distinct;
+        }
+    }
+
+    /**
+     * Rows of finished tasks of feature which are matched to filter. Each element of filter is {@code <hyper-param>-<index of variant>},
+     * variants of one hyper-param are OR-ed, different hyper-params are AND-ed. A hyper-param with only one variant isn't filtered.
+     * If filter isn't empty, tasks without inline variables aren't selected.
+     *
+     * @return rows in order of taskId
+     */
+    public int[] select(Long featureId, String[] params) {
+        int[] rows = rowsByFeature.getOrDefault(featureId, NO_ROWS);
+        Map<String, ParamFilter> filters = new HashMap<>();
+        for (String param : params) {
+            if (StringUtils.isBlank(param)) {
+                continue;
+            }
+            final int endIndex = param.lastIndexOf('-');
+            String key = param.substring(0, endIndex);
+            filters.computeIfAbsent(key, k -> new ParamFilter(inlineColumns.get(k), distinctVariants.getOrDefault(k, 0)))
+                    .variants.add(Integer.parseInt(param.substring(endIndex + 1)));
+        }
+        if (filters.isEmpty()) {
+            return rows;
+        }
+        int[] selected = new int[rows.length];
+        int count = 0;
+        for (int row : rows) {
+            if (isIncluded(row, filters.values())) {
+                selected[count++] = row;
+            }
+        }
+        return Arrays.copyOf(selected, count);
+    }
+
+    private boolean isIncluded(int row, Collection<ParamFilter> filters) {
+        if (!withInline[row]) {
+            return false;
+        }
+        for (ParamFilter filter : filters) {
+            int code = filter.column==null ? ABSENT : filter.column[row];
+            if (code==ABSENT || filter.distinct==1) {
+                continue;
+            }
+            // UNKNOWN is never a variant, and an inline variable, which isn't a hyper-param, can't be matched
+            if (filter.distinct==0 || !filter.variants.contains(code)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Adds the value of metric of each row to the cell of z, which is addressed by values of two hyper-params.
+     * The metric is the first metric of the first row which has any metrics.
+     *
+     * @param positionsX key - value of hyper-param for axis X, value - index in z[][]
+     * @param positionsY key - value of hyper-param for axis Y, value - index in z[]
+     */
+    public void sumMetric(int[] rows, String keyX, Map<String, Integer> positionsX, String keyY, Map<String, Integer> positionsY, BigDecimal[][] z) {
+        int[] columnX = inlineColumns.getOrDefault(keyX, NO_ROWS);
+        int[] columnY = inlineColumns.getOrDefault(keyY, NO_ROWS);
+        int[] posX = positions(keyX, positionsX);
+        int[] posY = positions(keyY, positionsY);
+
+        BigDecimal[] metric = null;
+        for (int row : rows) {
+            if (metric==null) {
+                String metricKey = firstMetrics[row];
+                if (metricKey==null) {
+                    continue;
+                }
+                metric = metricColumns.get(metricKey);
+            }
+            BigDecimal value = metric[row];
+            if (value==null) {
+                continue;
+            }
+            int idxX = position(columnX, posX, row);
+            int idxY = position(columnY, posY, row);
+            z[idxY][idxX] = z[idxY][idxX].add(value);
+        }
+    }
+
+    private int[] positions(String key, Map<String, Integer> positions) {
+        List<String> values = variants.getOrDefault(key, List.of());
+        int[] result = new int[values.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = positions.getOrDefault(values.get(i), 0);
+        }
+        return result;
+    }
+
+    private static int position(int[] column, int[] positions, int row) {
+        if (column.length==0) {
+            return 0;
+        }
+        int code = column[row];
+        return code < 0 ? 0 : positions[code];
+    }
+
+    public static class Builder {
+
+        private record Row(long taskId, int execState, Map<String, Integer> codes, Map<String, BigDecimal> metrics) {}
+
+        private final Long experimentResultId;
+        private final ExperimentResultParamsYamlWithCache ypywc;
+        private final Map<Long, ExperimentResultParams.ExperimentTaskFeature> taskFeatures = new HashMap<>();
+        private final Map<String, List<String>> variants = new HashMap<>();
+        private final Map<String, Integer> distinctVariants = new HashMap<>();
+        // key - hyper-param, value - map of value to the index of its variant
+        private final Map<String, Map<String, Integer>> codes = new HashMap<>();
+        private final List<Row> rows = new ArrayList<>();
+
+        public Builder(Long experimentResultId, ExperimentResultParamsYamlWithCache ypywc) {
+            this.experimentResultId = experimentResultId;
+            this.ypywc = ypywc;
+            for (ExperimentResultParams.ExperimentTaskFeature taskFeature : ypywc.experimentResult.taskFeatures) {
+                taskFeatures.putIfAbsent(taskFeature.taskId, taskFeature);
+            }
+            for (ExperimentApiData.HyperParam hyperParam : ypywc.experimentResult.hyperParams) {
+                List<String> values = InlineVariableUtils.getNumberOfVariants(hyperParam.getValues()).values;
+                Map<String, Integer> map = new HashMap<>();
+                for (int i = 0; i < values.size(); i++) {
+                    // the same as ExperimentResultService.getHyperParamsAsMap(), i.e. the last index of duplicated value
+                    map.put(values.get(i), i);
+                }
+                variants.put(hyperParam.getKey(), List.copyOf(values));
+                distinctVariants.put(hyperParam.getKey(), map.size());
+                codes.put(hyperParam.getKey(), map);
+            }
+        }
+
+        public void add(ExperimentResultTaskParams task) {
+            Map<String, Integer> rowCodes = new HashMap<>();
+            if (task.taskParams!=null) {
+                for (Map.Entry<String, String> e : task.taskParams.inline.entrySet()) {
+                    Map<String, Integer> map = codes.get(e.getKey());
+                    rowCodes.put(e.getKey(), map==null ? UNKNOWN : map.getOrDefault(e.getValue(), UNKNOWN));
+                }
+            }
+            rows.add(new Row(task.taskId, task.execState, rowCodes, task.metrics.values));
+        }
+
+        public ExperimentResultColumns build() {
+            rows.sort(Comparator.comparingLong(Row::taskId));
+            return new ExperimentResultColumns(this, rows);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Metaheuristic, Copyright (C) 2017-2025, Innovation platforms, LLC
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package ai.metaheuristic.ai.dispatcher.experiment_result;
+
+import ai.metaheuristic.ai.utils.IdleEvictingCache;
+import org.jspecify.annotations.Nullable;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resident {@link ExperimentResultColumns} of recently viewed experiment results.
+ *
+ * <p>An experiment result isn't changed after it was stored, so an entry is valid while the version of
+ * ExperimentResult and the number of its ExperimentTasks are the same as at the time of building.
+ * The number of tasks is checked because uploading of experiment result stores tasks after ExperimentResult itself.
+ *
+ * @author Serge
+ * Date: 10/18/2026
+ * Time: 8:40 PM
+ */
+public class ExperimentResultColumnsCache {
+
+    private static final int MAX_ENTRIES = 20;
+    private static final long IDLE_EVICTION_MILLS = TimeUnit.MINUTES.toMillis(30);
+
+    private record Entry(@Nullable Integer version, long numberOfTasks, ExperimentResultColumns columns) {}
+
+    private static final IdleEvictingCache<Long, Entry> entries =
+            new IdleEvictingCache<>("ExperimentResultColumnsCache", MAX_ENTRIES, IDLE_EVICTION_MILLS);
+
+    @Nullable
+    public static ExperimentResultColumns get(Long experimentResultId, @Nullable Integer version, long numberOfTasks) {
+        Entry entry = entries.get(experimentResultId, o -> Objects.equals(o.version, version) && o.numberOfTasks==numberOfTasks);
+        return entry==null ? null : entry.columns;
+    }
+
+    public static void put(Long experimentResultId, @Nullable Integer version, long numberOfTasks, ExperimentResultColumns columns) {
+        entries.put(experimentResultId, new Entry(version, numberOfTasks, columns));
+    }
+
+    public static void evict(Long experimentResultId) {
+        entries.remove(experimentResultId);
+    }
+}
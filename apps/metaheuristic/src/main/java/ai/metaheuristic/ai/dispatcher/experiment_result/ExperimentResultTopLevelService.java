@@ -30,6 +30,7 @@ import ai.metaheuristic.ai.utils.RestUtils;
 import ai.metaheuristic.ai.utils.cleaner.CleanerInfo;
 import ai.metaheuristic.ai.yaml.experiment_result.ExperimentResultParamsJsonUtils;
 import ai.metaheuristic.ai.yaml.experiment_result.ExperimentResultParamsYamlWithCache;
+import ai.metaheuristic.ai.yaml.experiment_result.ExperimentResultTaskParamsYamlUtils;
 import ai.metaheuristic.ai.yaml.function_exec.FunctionExecUtils;
 import ai.metaheuristic.api.EnumsApi;
 import ai.metaheuristic.api.data.FunctionApiData;
@@ -94,19 +95,7 @@ public class ExperimentResultTopLevelService {
     private final ExperimentResultRepository experimentResultRepository;
     private final ExperimentTaskRepository experimentTaskRepository;
 
-    private static class ParamFilter {
-        String key;
-        int idx;
-
-        ParamFilter(String filter) {
-            final int endIndex = filter.lastIndexOf('-');
-            this.key = filter.substring( 0, endIndex);
-            this.idx = Integer.parseInt(filter.substring( endIndex+1));
-        }
-        static ParamFilter of(String filter) {
-            return new ParamFilter(filter);
-        }
-    }
+    private static final int COLUMNS_PAGE_SIZE = 500;
 
     public OperationStatusRest uploadExperiment(MultipartFile file, UserContext context) {
         String originFilename = file.getOriginalFilename();
@@ -395,6 +384,7 @@ public class ExperimentResultTopLevelService {
                     });
         } while (isFound.get());
         experimentResultRepository.deleteById(id);
+        ExperimentResultColumnsCache.evict(id);
         return OperationStatusRest.OPERATION_STATUS_OK;
     }
 
@@ -405,19 +395,19 @@ public class ExperimentResultTopLevelService {
             return new PlotData("422.230 experiment wasn't found in ExperimentResult, id: " + experimentResultId);
         }
 
-        ExperimentResultParamsYamlWithCache ypywc;
+        ExperimentResultColumns columns;
         try {
-            ypywc = new ExperimentResultParamsYamlWithCache(ExperimentResultParamsJsonUtils.BASE_UTILS.to(experimentResult.getParams()));
+            columns = getColumns(experimentResult);
         } catch (YAMLException e) {
             String es = "422.240 Can't parse an experimentResult, error: " + e.getMessage();
             log.error(es, e);
             return new PlotData(es);
         }
-        ExperimentFeature feature = ypywc.getFeature(featureId);
+        ExperimentFeature feature = columns.ypywc.getFeature(featureId);
         if (feature==null) {
             return EMPTY_PLOT_DATA;
         }
-        PlotData data = findExperimentTaskForPlot(experimentResultId, ypywc, feature, params, paramsAxis);
+        PlotData data = findExperimentTaskForPlot(columns, feature, params, paramsAxis);
         // TODO 2019-07-23 right now 2D lines plot isn't working. need to investigate
         //  so it'll be 3D with a fake zero data
         fixData(data);
@@ -465,41 +455,47 @@ public class ExperimentResultTopLevelService {
         }
     }
 
-    private PlotData findExperimentTaskForPlot(
-            Long experimentResultId, ExperimentResultParamsYamlWithCache apywc, ExperimentFeature feature, String[] params, String[] paramsAxis) {
-        if (apywc.experimentResult.features.isEmpty() ) {
+    private static PlotData findExperimentTaskForPlot(
+            ExperimentResultColumns columns, ExperimentFeature feature, String[] params, String[] paramsAxis) {
+        if (columns.ypywc.experimentResult.features.isEmpty() ) {
             return EMPTY_PLOT_DATA;
         }
-        List<ExperimentResultTaskParams> selected = getTasksForFeatureIdAndParams(experimentResultId, apywc.experimentResult, feature, params);
-        return collectDataForPlotting(apywc, selected, paramsAxis);
+        int[] selected = columns.select(feature.getId(), params);
+        return collectDataForPlotting(columns, selected, paramsAxis);
     }
 
-    private List<ExperimentResultTaskParams> getTasksForFeatureIdAndParams(
-            Long experimentResultId, ExperimentResultParams experimentResult, ExperimentFeature feature, String[] params) {
-        final Map<Long, Integer> taskToTaskType = experimentResult.taskFeatures
-                .stream()
-                .filter(taskFeature -> taskFeature.featureId.equals(feature.getId()))
-                .collect(Collectors.toMap(o -> o.taskId, o -> o.taskType));
-
-        final Set<Long> taskIds = taskToTaskType.keySet();
-
-        if (taskIds.isEmpty()) {
-            return List.of();
-        }
-
-        List<ExperimentTask> experimentTasks = experimentTaskRepository.findTasksById(experimentResultId, taskIds);
-        List<ExperimentResultTaskParams> selected = experimentTasks.stream()
-                .map(ExperimentTask::getExperimentResultTaskParams)
-                .filter(atpy -> atpy.execState > 1)
-                .collect(Collectors.toList());
-
-        if (!isEmpty(params)) {
-            selected = filterTasks(experimentResult, params, selected);
+    /**
+     * Params of experimentResult and all its tasks are parsed only once, while the experimentResult stays the same
+     */
+    private ExperimentResultColumns getColumns(ExperimentResult experimentResult) {
+        final long numberOfTasks = experimentTaskRepository.countByExperimentResultId(experimentResult.id);
+        ExperimentResultColumns columns = ExperimentResultColumnsCache.get(experimentResult.id, experimentResult.version, numberOfTasks);
+        if (columns!=null) {
+            return columns;
+        }
+        long mills = System.currentTimeMillis();
+        ExperimentResultColumns.Builder builder = new ExperimentResultColumns.Builder(experimentResult.id,
+                new ExperimentResultParamsYamlWithCache(ExperimentResultParamsJsonUtils.BASE_UTILS.to(experimentResult.getParams())));
+        Long lastId = 0L;
+        List<Object[]> page;
+        while (!(page = experimentTaskRepository.findIdsAndParamsWithPage(PageRequest.of(0, COLUMNS_PAGE_SIZE), experimentResult.id, lastId)).isEmpty()) {
+            for (Object[] o : page) {
+                lastId = ((Number) o[0]).longValue();
+                String params = (String) o[1];
+                if (S.b(params)) {
+                    continue;
+                }
+                builder.add(ExperimentResultTaskParamsYamlUtils.BASE_YAML_UTILS.to(params));
+            }
         }
-        return selected;
+        columns = builder.build();
+        ExperimentResultColumnsCache.put(experimentResult.id, experimentResult.version, numberOfTasks, columns);
+        log.info("422.340 columns of experimentResult #{} with {} tasks were built for {} milliseconds",
+                experimentResult.id, columns.size(), System.currentTimeMillis() - mills);
+        return columns;
     }
 
-    private static PlotData collectDataForPlotting(ExperimentResultParamsYamlWithCache estb, List<ExperimentResultTaskParams> selected, String[] paramsAxis) {
+    private static PlotData collectDataForPlotting(ExperimentResultColumns columns, int[] selected, String[] paramsAxis) {
         final PlotData data = new PlotData();
         final List<String> paramCleared = new ArrayList<>();
         for (String param : paramsAxis) {
@@ -513,7 +509,7 @@ public class ExperimentResultTopLevelService {
         if (paramCleared.size()!=2) {
             throw new IllegalStateException("422.250 Wrong number of params for axes. Expected: 2, actual: " + paramCleared.size());
         }
-        Map<String, Map<String, Integer>> map = estb.getHyperParamsAsMap(false);
+        Map<String, Map<String, Integer>> map = columns.ypywc.getHyperParamsAsMap(false);
         data.x.addAll(map.get(paramCleared.get(0)).keySet());
         data.y.addAll(map.get(paramCleared.get(1)).keySet());
 
@@ -535,96 +531,10 @@ public class ExperimentResultTopLevelService {
             }
         }
 
-        String metricKey = null;
-        for (ExperimentResultTaskParams task : selected) {
-
-            if (metricKey==null) {
-                for (Map.Entry<String, BigDecimal> entry : task.metrics.values.entrySet()) {
-                    metricKey = entry.getKey();
-                    break;
-                }
-            }
-
-            Integer idxX1 = mapX.get(task.taskParams.inline.get(paramCleared.get(0)));
-            int idxX = idxX1 != null ? idxX1 : 0;
-            Integer idxY1 = mapY.get(task.taskParams.inline.get(paramCleared.get(1)));
-            int idxY = idxY1!=null ? idxY1 : 0;
-
-            data.z[idxY][idxX] = data.z[idxY][idxX].add(task.metrics.values.get(metricKey));
-        }
-
+        columns.sumMetric(selected, paramCleared.get(0), mapX, paramCleared.get(1), mapY, data.z);
         return data;
     }
 
-
-    private static List<ExperimentResultTaskParams> filterTasks(ExperimentResultParams epy, String[] params, List<ExperimentResultTaskParams> tasks) {
-        final Set<String> paramSet = new HashSet<>();
-        final Set<String> paramFilterKeys = new HashSet<>();
-        for (String param : params) {
-            if (StringUtils.isBlank(param)) {
-                continue;
-            }
-            paramSet.add(param);
-            paramFilterKeys.add(ParamFilter.of(param).key);
-        }
-        final Map<String, Map<String, Integer>> paramByIndex = ExperimentResultService.getHyperParamsAsMap(epy.hyperParams);
-
-        List<ExperimentResultTaskParams> selected = new ArrayList<>();
-        for (ExperimentResultTaskParams task : tasks) {
-            if (task.taskParams.inline.isEmpty()) {
-                continue;
-            }
-            boolean[] isOk = new boolean[task.taskParams.inline.size()];
-            int idx = 0;
-            for (Map.Entry<String, String> entry : task.taskParams.inline.entrySet()) {
-                try {
-                    if (!paramFilterKeys.contains(entry.getKey())) {
-                        isOk[idx] = true;
-                        continue;
-                    }
-                    final Map<String, Integer> map = paramByIndex.getOrDefault(entry.getKey(), new HashMap<>());
-                    if (map.isEmpty()) {
-                        continue;
-                    }
-                    if (map.size()==1) {
-                        isOk[idx] = true;
-                        continue;
-                    }
-
-                    boolean isFilter = paramSet.contains(entry.getKey() + "-" + paramByIndex.get(entry.getKey()).get(entry.getKey() + "-" + entry.getValue()));
-                    if (isFilter) {
-                        isOk[idx] = true;
-                    }
-                }
-                finally {
-                    idx++;
-                }
-            }
-            if (isInclude(isOk)) {
-                selected.add(task);
-            }
-        }
-        return selected;
-    }
-
-    private static boolean isInclude(boolean[] isOk ) {
-        for (boolean b : isOk) {
-            if (!b) {
-                return false;
-            }
-        }
-        return true;
-    }
-
-    private static boolean isEmpty(String[] params) {
-        for (String param : params) {
-            if (StringUtils.isNotBlank(param)) {
-                return false;
-            }
-        }
-        return true;
-    }
-
     public ExperimentFeatureExtendedResult getExperimentFeatureExtended(long experimentResultId, Long experimentId, Long featureId) {
         ExperimentResult experimentResult = experimentResultRepository.findById(experimentResultId).orElse(null);
         if (experimentResult == null) {
@@ -633,7 +543,7 @@ public class ExperimentResultTopLevelService {
 
         ExperimentResultParamsYamlWithCache ypywc;
         try {
-            ypywc = new ExperimentResultParamsYamlWithCache(ExperimentResultParamsJsonUtils.BASE_UTILS.to(experimentResult.getParams()));
+            ypywc = getColumns(experimentResult).ypywc;
         } catch (YAMLException e) {
             final String es = "422.270 Can't extract experiment from experimentResult, error: " + e.getMessage();
             log.error(es, e);
@@ -758,14 +668,15 @@ public class ExperimentResultTopLevelService {
             return new ExperimentFeatureExtendedResult("422.320 experiment wasn't found in ExperimentResult, id: " + experimentResultId);
         }
 
-        ExperimentResultParamsYamlWithCache ypywc;
+        ExperimentResultColumns columns;
         try {
-            ypywc = new ExperimentResultParamsYamlWithCache(ExperimentResultParamsJsonUtils.BASE_UTILS.to(experimentResult.getParams()));
+            columns = getColumns(experimentResult);
         } catch (YAMLException e) {
             final String es = "422.330 Can't extract experiment from experimentResult, error: " + e.getMessage();
             log.error(es, e);
             return new ExperimentFeatureExtendedResult(es);
         }
+        ExperimentResultParamsYamlWithCache ypywc = columns.ypywc;
 
         ExperimentFeature feature = ypywc.getFeature(featureId);
 
@@ -775,7 +686,7 @@ public class ExperimentResultTopLevelService {
         execContext.state = EnumsApi.ExecContextState.FINISHED.code;
 
         ExperimentFeatureExtendedResult result = new ExperimentFeatureExtendedResult();
-        result.tasks = feature==null ?  Page.empty() : findTasks(experimentResultId, ypywc, PageUtils.fixPageSize(10, pageable), feature, params);
+        result.tasks = feature==null ?  Page.empty() : findTasks(experimentResultId, columns, PageUtils.fixPageSize(10, pageable), feature, params);
         result.consoleResult = new ConsoleResult();
 
         result.experimentFeature = asExperimentFeatureData(feature, ypywc.experimentResult.taskFeatures);
@@ -783,22 +694,35 @@ public class ExperimentResultTopLevelService {
         return result;
     }
 
-    private Slice<ExperimentResultTaskParams> findTasks(Long experimentResultId, ExperimentResultParamsYamlWithCache estb, Pageable pageable, @Nullable ExperimentFeature feature, String[] params) {
+    private Slice<ExperimentResultTaskParams> findTasks(Long experimentResultId, ExperimentResultColumns columns, Pageable pageable, @Nullable ExperimentFeature feature, String[] params) {
         if (feature == null) {
             return Page.empty();
         }
-        List<ExperimentResultTaskParams> selected = getTasksForFeatureIdAndParams(experimentResultId, estb.experimentResult, feature, params);
-        List<ExperimentResultTaskParams> subList = selected.subList((int)pageable.getOffset(), (int)Math.min(selected.size(), pageable.getOffset() + pageable.getPageSize()));
+        int[] selected = columns.select(feature.id, params);
+        int from = (int) Math.min(selected.length, pageable.getOffset());
+        int to = (int) Math.min(selected.length, pageable.getOffset() + pageable.getPageSize());
 
-        for (ExperimentResultTaskParams atpy : subList) {
-            atpy.typeAsString = estb.experimentResult.taskFeatures.stream()
-                    .filter(tf->tf.taskId.equals(atpy.taskId))
-                    .map(tf->EnumsApi.ExperimentTaskType.from(tf.taskType))
-                    .findFirst()
-                    .orElse(EnumsApi.ExperimentTaskType.UNKNOWN)
-                    .toString();
+        // key - taskId, value - row in columns
+        Map<Long, Integer> rows = new LinkedHashMap<>();
+        for (int i = from; i < to; i++) {
+            rows.put(columns.taskId(selected[i]), selected[i]);
+        }
+        List<ExperimentResultTaskParams> subList = new ArrayList<>(rows.size());
+        if (!rows.isEmpty()) {
+            Map<Long, ExperimentResultTaskParams> tasks = new HashMap<>();
+            for (ExperimentTask experimentTask : experimentTaskRepository.findTasksById(experimentResultId, rows.keySet())) {
+                tasks.put(experimentTask.taskId, experimentTask.getExperimentResultTaskParams());
+            }
+            for (Map.Entry<Long, Integer> entry : rows.entrySet()) {
+                ExperimentResultTaskParams atpy = tasks.get(entry.getKey());
+                if (atpy==null) {
+                    continue;
+                }
+                atpy.typeAsString = EnumsApi.ExperimentTaskType.from(columns.taskType(entry.getValue())).toString();
+                subList.add(atpy);
+            }
         }
-        Slice<ExperimentResultTaskParams> slice = new PageImpl<>(subList, pageable, selected.size());
+        Slice<ExperimentResultTaskParams> slice = new PageImpl<>(subList, pageable, selected.length);
         return slice;
     }
 }
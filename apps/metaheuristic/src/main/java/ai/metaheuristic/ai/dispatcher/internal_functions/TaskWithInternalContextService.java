@@ -119,7 +119,7 @@ public class TaskWithInternalContextService {
             log.warn("707.220 Task {} was reset, can't set new value to field resultReceived", task.id);
             return Enums.UploadVariableStatus.TASK_WAS_RESET;
         }
-        TaskParamsYaml tpy = task.getTaskParamsYaml();
+        TaskParamsYaml tpy = task.getTaskParamsYamlForUpdate();
         tpy.task.outputs.forEach(o->o.uploaded = true);
         task.updateParams(tpy);
 
@@ -150,7 +150,7 @@ public class TaskWithInternalContextService {
         taskExecStateService.updateTaskExecStates(task, EnumsApi.TaskExecState.IN_PROGRESS, false);
         task = taskTxService.save(task);
 
-        TaskParamsYaml taskParamsYaml = task.getTaskParamsYaml();
+        TaskParamsYaml taskParamsYaml = task.getTaskParamsYamlForUpdate();
         ExecContextParamsYaml.Process p = simpleExecContext.paramsYaml.findProcess(taskParamsYaml.task.processCode);
         if (p == null) {
             if (CommonConsts.MH_FINISH_FUNCTION.equals(taskParamsYaml.task.processCode)) {
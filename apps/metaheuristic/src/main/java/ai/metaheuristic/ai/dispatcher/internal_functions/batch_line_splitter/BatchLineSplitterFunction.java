@@ -23,14 +23,13 @@ import ai.metaheuristic.ai.dispatcher.exec_context_graph.ExecContextGraphSyncSer
 import ai.metaheuristic.ai.dispatcher.exec_context_task_state.ExecContextTaskStateSyncService;
 import ai.metaheuristic.api.dispatcher.InternalFunction;
 import ai.metaheuristic.ai.dispatcher.internal_functions.InternalFunctionVariableService;
-import ai.metaheuristic.ai.dispatcher.variable.VariableTxService;
 import ai.metaheuristic.ai.dispatcher.variable.VariableUtils;
-import ai.metaheuristic.ai.dispatcher.variable_global.GlobalVariableTxService;
 import ai.metaheuristic.ai.exceptions.InternalFunctionException;
 import ai.metaheuristic.ai.utils.TxUtils;
 import ai.metaheuristic.api.data.exec_context.ExecContextApiData;
 import ai.metaheuristic.commons.yaml.task.TaskParamsYaml;
 import ai.metaheuristic.commons.S;
+import ai.metaheuristic.commons.utils.DirUtils;
 import ai.metaheuristic.commons.utils.MetaUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -38,6 +37,11 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Service;
 
+import java.io.BufferedReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -56,8 +60,10 @@ public class BatchLineSplitterFunction implements InternalFunction {
     public static final String NUMBER_OF_LINES_PER_TASK = "number-of-lines-per-task";
     public static final String OUTPUT_VARIABLE = "output-variable";
     public static final String IS_ARRAY = "is-array";
-    private final VariableTxService variableService;
-    private final GlobalVariableTxService globalVariableService;
+
+    // chunks are turned into tasks by bounded transactions, so neither a transaction nor the graph's lock is held for the whole input
+    private static final int CHUNKS_PER_TX = 100;
+
     private final InternalFunctionVariableService internalFunctionVariableService;
     private final BatchLineSplitterTxService batchLineSplitterTxService;
 
@@ -131,29 +137,78 @@ public class BatchLineSplitterFunction implements InternalFunction {
             return;
         }
 
-        String content;
+        if (variableHolder.variable==null && variableHolder.globalVariable==null) {
+            throw new InternalFunctionException(Enums.InternalFunctionProcessing.system_error, "994.060 Global variable and variable both are null");
+        }
+
+        Path tempDir = DirUtils.createMhTempPath("batch-line-splitter-");
+        // true when at least one batch of sub-process tasks was committed
+        boolean tasksCommitted = false;
         try {
-            if (variableHolder.variable!=null) {
-                content = variableService.getVariableDataAsString(variableHolder.variable.id);
+            if (tempDir==null || !Files.isDirectory(tempDir)) {
+                String es = "994.070 can't create temporary directory in " + System.getProperty("java.io.tmpdir");
+                log.error(es);
+                throw new InternalFunctionException(Enums.InternalFunctionProcessing.system_error, es);
             }
-            else if (variableHolder.globalVariable!=null) {
-                content = globalVariableService.getVariableDataAsString(variableHolder.globalVariable.id);
-            }
-            else {
-                throw new InternalFunctionException(Enums.InternalFunctionProcessing.system_error, "994.060 Global variable and variable both are null");
+            // the content is streamed from blob storage, it's never loaded into memory as a whole
+            final Path dataFile = tempDir.resolve("content.txt");
+            internalFunctionVariableService.storeToFile(variableHolder, dataFile);
+
+            final List<Long> lastIds = new ArrayList<>();
+            try (BufferedReader reader = Files.newBufferedReader(dataFile, StandardCharsets.UTF_8)) {
+                LineChunkSplitter splitter = new LineChunkSplitter(reader, tempDir, numberOfLines);
+                int prevTaskNumber = 0;
+                List<Path> chunkFiles;
+                while (!(chunkFiles = splitter.nextChunks(CHUNKS_PER_TX)).isEmpty()) {
+                    createTasks(simpleExecContext, taskId, taskParamsYaml, chunkFiles, prevTaskNumber, lastIds, false);
+                    tasksCommitted = true;
+                    prevTaskNumber = splitter.getChunkNumber();
+                    for (Path chunkFile : chunkFiles) {
+                        Files.deleteIfExists(chunkFile);
+                    }
+                }
+                if (prevTaskNumber==0) {
+                    log.warn("994.290 there isn't any lines in variable '{}'", inputVariableName);
+                }
             }
+            createTasks(simpleExecContext, taskId, taskParamsYaml, List.of(), 0, lastIds, true);
         }
         catch (InternalFunctionException e) {
+            if (tasksCommitted) {
+                deleteSubProcessTasks(simpleExecContext, taskId, taskContextId);
+            }
             throw e;
         }
         catch (Throwable th) {
             final String es = "994.160 General processing error.\nError: " + th.getMessage() + ", class: " + th.getClass();
             log.error(es, th);
+            if (tasksCommitted) {
+                deleteSubProcessTasks(simpleExecContext, taskId, taskContextId);
+            }
             throw new InternalFunctionException(Enums.InternalFunctionProcessing.system_error, es);
         }
+        finally {
+            DirUtils.deletePathAsync(tempDir);
+        }
+    }
+
+    private void deleteSubProcessTasks(ExecContextApiData.SimpleExecContext simpleExecContext, Long taskId, String taskContextId) {
+        try {
+            ExecContextGraphSyncService.getWithSync(simpleExecContext.execContextGraphId, ()->
+                    ExecContextTaskStateSyncService.getWithSync(simpleExecContext.execContextTaskStateId, ()->
+                            batchLineSplitterTxService.deleteSubProcessTasksTx(simpleExecContext, taskId, taskContextId)));
+        }
+        catch (Throwable th) {
+            // the original error is more important, it will be reported by the caller
+            log.error("994.390 Error while deleting sub-process tasks of task #" + taskId + ", execContextId: " + simpleExecContext.execContextId, th);
+        }
+    }
 
+    private void createTasks(
+            ExecContextApiData.SimpleExecContext simpleExecContext, Long taskId, TaskParamsYaml taskParamsYaml,
+            List<Path> chunkFiles, int prevTaskNumber, List<Long> lastIds, boolean lastBatch) {
         ExecContextGraphSyncService.getWithSync(simpleExecContext.execContextGraphId, ()->
                 ExecContextTaskStateSyncService.getWithSync(simpleExecContext.execContextTaskStateId, ()->
-                        batchLineSplitterTxService.createTasksTx(simpleExecContext, taskId, taskParamsYaml, numberOfLines, content)));
+                        batchLineSplitterTxService.createTasksTx(simpleExecContext, taskId, taskParamsYaml, chunkFiles, prevTaskNumber, lastIds, lastBatch)));
     }
 }
@@ -19,27 +19,34 @@ package ai.metaheuristic.ai.dispatcher.internal_functions.batch_line_splitter;
 import ai.metaheuristic.ai.Enums;
 import ai.metaheuristic.ai.dispatcher.data.ExecContextData;
 import ai.metaheuristic.ai.dispatcher.data.InternalFunctionData;
+import ai.metaheuristic.ai.dispatcher.data.TaskData;
 import ai.metaheuristic.ai.dispatcher.data.VariableData;
 import ai.metaheuristic.ai.dispatcher.event.events.FindUnassignedTasksAndRegisterInQueueTxEvent;
+import ai.metaheuristic.ai.dispatcher.exec_context_graph.ExecContextGraphResidentCache;
 import ai.metaheuristic.ai.dispatcher.exec_context_graph.ExecContextGraphService;
+import ai.metaheuristic.ai.dispatcher.exec_context_variable_state.ExecContextVariableStateService;
+import ai.metaheuristic.ai.dispatcher.exec_context_variable_state.ExecContextVariableStateSyncService;
 import ai.metaheuristic.ai.dispatcher.internal_functions.InternalFunctionService;
-import ai.metaheuristic.ai.dispatcher.task.TaskProducingService;
-import ai.metaheuristic.ai.dispatcher.variable.VariableTxService;
+import ai.metaheuristic.ai.dispatcher.repositories.TaskRepository;
+import ai.metaheuristic.ai.dispatcher.repositories.VariableRepository;
+import ai.metaheuristic.ai.dispatcher.task.TaskBulkProducingService;
+import ai.metaheuristic.ai.dispatcher.task.TaskProviderTopLevelService;
 import ai.metaheuristic.ai.exceptions.BatchProcessingException;
 import ai.metaheuristic.ai.exceptions.BatchResourceProcessingException;
 import ai.metaheuristic.ai.exceptions.InternalFunctionException;
 import ai.metaheuristic.ai.exceptions.StoreNewFileWithRedirectException;
+import ai.metaheuristic.ai.yaml.exec_context_task_state.ExecContextTaskStateParamsYaml;
+import ai.metaheuristic.commons.utils.CollectionUtils;
 import ai.metaheuristic.commons.utils.ContextUtils;
 import ai.metaheuristic.api.data.exec_context.ExecContextApiData;
 import ai.metaheuristic.commons.yaml.task.TaskParamsYaml;
 import ai.metaheuristic.commons.S;
 import ai.metaheuristic.commons.exceptions.UnzipArchiveException;
+import ai.metaheuristic.commons.spi.DispatcherBlobStorage;
 import ai.metaheuristic.commons.utils.MetaUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import ai.metaheuristic.ai.dispatcher.exec_context_graph.GraftExpander;
-import org.apache.commons.io.LineIterator;
-import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Profile;
@@ -48,13 +55,8 @@ import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.io.ByteArrayInputStream;
-import java.io.InputStreamReader;
-import java.io.Reader;
-import java.nio.charset.StandardCharsets;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.nio.file.Path;
+import java.util.*;
 
 /**
  * @author Serge
@@ -67,18 +69,31 @@ import java.util.concurrent.atomic.AtomicInteger;
 @RequiredArgsConstructor(onConstructor_={@Autowired})
 public class BatchLineSplitterTxService {
 
-    private final VariableTxService variableService;
     private final InternalFunctionService internalFunctionService;
     private final GraftExpander graftExpander;
-    private final TaskProducingService taskProducingService;
+    private final TaskBulkProducingService taskBulkProducingService;
     private final ExecContextGraphService execContextGraphService;
     private final ApplicationEventPublisher eventPublisher;
-
+    private final TaskRepository taskRepository;
+    private final VariableRepository variableRepository;
+    private final ExecContextVariableStateService execContextVariableStateService;
+    private final DispatcherBlobStorage dispatcherBlobStorage;
+
+    /**
+     * Creates sub-process tasks for one batch of chunks. Edges to descendants are created only
+     * with the last batch, till then the descendants are waiting for the current task anyway.
+     *
+     * @param chunkFiles files with lines of chunks, in order
+     * @param prevTaskNumber number of tasks which were created by previous batches
+     * @param lastIds ids of last tasks of sub-processes, accumulated through all batches
+     */
     @Transactional(propagation = Propagation.REQUIRED, isolation = Isolation.READ_UNCOMMITTED)
-    public Void createTasksTx(ExecContextApiData.SimpleExecContext simpleExecContext, Long taskId, TaskParamsYaml taskParamsYaml, Long numberOfLines, String content) {
+    public Void createTasksTx(
+            ExecContextApiData.SimpleExecContext simpleExecContext, Long taskId, TaskParamsYaml taskParamsYaml,
+            List<Path> chunkFiles, int prevTaskNumber, List<Long> lastIds, boolean lastBatch) {
         try {
             ExecContextData.GraphAndStates graphAndStates = execContextGraphService.prepareGraphAndStates(simpleExecContext.execContextGraphId, simpleExecContext.execContextTaskStateId);
-            createTasks(simpleExecContext, graphAndStates, content, taskParamsYaml, taskId, numberOfLines);
+            createTasks(simpleExecContext, graphAndStates, chunkFiles, taskParamsYaml, taskId, prevTaskNumber, lastIds, lastBatch);
             execContextGraphService.save(graphAndStates);
         }
         catch (InternalFunctionException e) {
@@ -103,7 +118,61 @@ public class BatchLineSplitterTxService {
         return null;
     }
 
-    private void createTasks(ExecContextApiData.SimpleExecContext simpleExecContext, ExecContextData.GraphAndStates graphAndStates, String content, TaskParamsYaml taskParamsYaml, Long taskId, Long numberOfLines) {
+    /**
+     * Deletes sub-process tasks which were committed by previous batches when a later batch has failed.
+     * Edges to descendants are created only with the last batch, so otherwise these tasks would stay
+     * in graph without any connection to descendants of the current task.
+     */
+    @Transactional
+    public Void deleteSubProcessTasksTx(ExecContextApiData.SimpleExecContext simpleExecContext, Long taskId, String taskContextId) {
+        ExecContextData.GraphAndStates graphAndStates = execContextGraphService.prepareGraphAndStates(simpleExecContext.execContextGraphId, simpleExecContext.execContextTaskStateId);
+
+        // expansion stops at the first vertex which isn't a sub-process task, i.e. at descendants of the current task
+        List<ExecContextData.TaskVertex> forDeletion = ExecContextGraphService.findDescendantsBounded(
+                        ExecContextGraphResidentCache.getGraph(graphAndStates.graph()), taskId, v -> isSubProcessTask(v, taskContextId))
+                .stream().filter(v -> isSubProcessTask(v, taskContextId)).toList();
+        if (forDeletion.isEmpty()) {
+            return null;
+        }
+        execContextGraphService.removeVertices(graphAndStates.graph(), forDeletion);
+
+        ExecContextTaskStateParamsYaml stateParams = graphAndStates.states().getExecContextTaskStateParamsYaml();
+        List<Long> deletedTaskIds = new ArrayList<>(forDeletion.size());
+        Set<String> deletedCtxIds = new LinkedHashSet<>();
+        for (ExecContextData.TaskVertex v : forDeletion) {
+            deletedTaskIds.add(v.taskId);
+            deletedCtxIds.add(v.taskContextId);
+            stateParams.states.remove(v.taskId);
+            stateParams.triesWasMade.remove(v.taskId);
+            TaskProviderTopLevelService.deregisterTask(simpleExecContext.execContextId, v.taskId);
+        }
+        graphAndStates.states().updateParams(stateParams);
+        execContextGraphService.saveState(graphAndStates.states());
+
+        for (List<Long> page : CollectionUtils.parseAsPages(deletedTaskIds, 100)) {
+            taskRepository.deleteByIds(page);
+        }
+        for (String ctxId : deletedCtxIds) {
+            List<Long> variableBlobIds = variableRepository.findVariableBlobIdsByExecContextIdAndTaskContextId(simpleExecContext.execContextId, ctxId);
+            variableRepository.deleteByExecContextIdAndTaskContextId(simpleExecContext.execContextId, ctxId);
+            dispatcherBlobStorage.releaseVariableData(variableBlobIds);
+        }
+        if (simpleExecContext.execContextVariableStateId!=null) {
+            ExecContextVariableStateSyncService.getWithSyncNullableForCreation(simpleExecContext.execContextVariableStateId,
+                    () -> { execContextVariableStateService.removeTaskStates(simpleExecContext.execContextVariableStateId, new HashSet<>(deletedTaskIds)); return null; });
+        }
+        log.warn("994.380 {} sub-process tasks of task #{} were deleted after failed splitting, execContextId: {}",
+                deletedTaskIds.size(), taskId, simpleExecContext.execContextId);
+        return null;
+    }
+
+    private static boolean isSubProcessTask(ExecContextData.TaskVertex v, String taskContextId) {
+        return v.taskContextId!=null && ExecContextGraphService.isDescendantContext(v.taskContextId, taskContextId);
+    }
+
+    private void createTasks(
+            ExecContextApiData.SimpleExecContext simpleExecContext, ExecContextData.GraphAndStates graphAndStates, List<Path> chunkFiles,
+            TaskParamsYaml taskParamsYaml, Long taskId, int prevTaskNumber, List<Long> lastIds, boolean lastBatch) {
 
         InternalFunctionData.ExecutionContextData executionContextData = internalFunctionService.getSubProcesses(simpleExecContext, taskParamsYaml, taskId);
         if (executionContextData.internalFunctionProcessingResult.processing!= Enums.InternalFunctionProcessing.ok) {
@@ -123,83 +192,32 @@ public class BatchLineSplitterTxService {
 
         boolean isArray = MetaUtils.isTrue(executionContextData.process.metas, true, BatchLineSplitterFunction.IS_ARRAY);
 
-        List<List<String>> allLines = stringToListOfList(content, numberOfLines);
-
-        final List<Long> lastIds = new ArrayList<>();
-        AtomicInteger currTaskNumber = new AtomicInteger(0);
+        int currTaskNumber = prevTaskNumber;
         String subProcessContextId = ContextUtils.getCurrTaskContextIdForSubProcesses(
                 taskParamsYaml.task.taskContextId, executionContextData.subProcesses.get(0).processContextId);
 
-        allLines.forEach( lines -> {
-            if (lines.isEmpty()) {
-                log.error("994.290 there isn't any lines");
-                return;
-            }
-            currTaskNumber.incrementAndGet();
-            String currTaskContextId = ContextUtils.buildTaskContextId(subProcessContextId, Integer.toString(currTaskNumber.get()));
-            String str = StringUtils.join(lines, '\n' );
-            VariableData.VariableDataSource variableDataSource = new VariableData.VariableDataSource(str);
-
-            try {
-                variableService.createInputVariablesForSubProcess(
-                        variableDataSource, simpleExecContext.execContextId, variableName, currTaskContextId, isArray);
-            } catch (BatchProcessingException | StoreNewFileWithRedirectException e) {
-                throw e;
-            } catch (Throwable th) {
-                // NAME, TASK_CONTEXT_ID, EXEC_CONTEXT_ID
-                String es = S.f("994.300 An error in createInputVariablesForSubProcess(), name: %s, execContextId: %s, taskCtxId: %s, error: %s",
-                        variableName, simpleExecContext.execContextId, currTaskContextId, th.getMessage());
-                log.error(es, th);
-                throw new BatchResourceProcessingException(es);
-            }
-            try {
-                taskProducingService.createTasksForSubProcesses(graphAndStates, simpleExecContext, executionContextData, currTaskContextId, taskId, lastIds, graftExpander);
-
-            } catch (BatchProcessingException | StoreNewFileWithRedirectException e) {
-                throw e;
-            } catch (Throwable th) {
-                String es = S.f("994.360 An error in createTasksForSubProcesses(), execContextId: %s, taskCtxId: %s, error: %s",
-                        simpleExecContext.execContextId, currTaskContextId, th.getMessage());
-                log.error(es, th);
-                throw new BatchResourceProcessingException(es);
-            }
-        });
-        execContextGraphService.createEdges(graphAndStates.graph(), lastIds, executionContextData.descendants);
-    }
-
-    private static class CustomLineIterator extends LineIterator {
-
-        /**
-         * Constructs an iterator of the lines for a <code>Reader</code>.
-         *
-         * @param reader the <code>Reader</code> to read from, not null
-         * @throws IllegalArgumentException if the reader is null
-         */
-        public CustomLineIterator(Reader reader) throws IllegalArgumentException {
-            super(reader);
+        List<TaskData.SubProcessTaskSpec> specs = new ArrayList<>(chunkFiles.size());
+        for (Path chunkFile : chunkFiles) {
+            currTaskNumber++;
+            String currTaskContextId = ContextUtils.buildTaskContextId(subProcessContextId, Integer.toString(currTaskNumber));
+            VariableData.VariableDataSource variableDataSource = new VariableData.VariableDataSource(chunkFile);
+            specs.add(new TaskData.SubProcessTaskSpec(currTaskContextId,
+                    List.of(new VariableData.SubProcessVariables(currTaskContextId, variableName, variableDataSource, isArray))));
         }
 
-        @Override
-        protected boolean isValidLine(String line) {
-            //noinspection ConstantConditions
-            return line!=null && !line.isBlank();
+        try {
+            taskBulkProducingService.createTasksForSubProcesses(graphAndStates, simpleExecContext, executionContextData, specs, taskId, lastIds, graftExpander);
+        } catch (BatchProcessingException | StoreNewFileWithRedirectException e) {
+            throw e;
+        } catch (Throwable th) {
+            String es = S.f("994.360 An error in createTasksForSubProcesses(), name: %s, execContextId: %s, tasks: %d-%d, error: %s",
+                    variableName, simpleExecContext.execContextId, prevTaskNumber + 1, currTaskNumber, th.getMessage());
+            log.error(es, th);
+            throw new BatchResourceProcessingException(es);
         }
-    }
-
-    private static List<List<String>> stringToListOfList(String content, Long numberOfLines) {
-        List<List<String>> allLines = new ArrayList<>();
-        LineIterator it = new CustomLineIterator(new InputStreamReader(new ByteArrayInputStream(content.getBytes()), StandardCharsets.UTF_8));
-
-        List<String> currList = new ArrayList<>();
-        allLines.add(currList);
-        while (it.hasNext()) {
-            if (currList.size()==numberOfLines) {
-                currList = new ArrayList<>();
-                allLines.add(currList);
-            }
-            currList.add(it.next());
+        if (lastBatch) {
+            execContextGraphService.createEdges(graphAndStates.graph(), lastIds, executionContextData.descendants);
         }
-        return allLines;
     }
 
 }
@@ -0,0 +1,108 @@
+/*
+ * Metaheuristic, Copyright (C) 2017-2025, Innovation platforms, LLC
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package ai.metaheuristic.ai.dispatcher.internal_functions.batch_line_splitter;
+
+import org.jspecify.annotations.Nullable;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Cuts a line-oriented content into chunks of N lines, each chunk is written into its own file.
+ * Only the current line is kept in memory, so the size of content doesn't matter.
+ *
+ * <p>Blank lines are skipped, lines of chunk are joined with '\n' without a trailing separator.
+ *
+ * @author Serge
+ * Date: 10/18/2026
+ * Time: 4:10 PM
+ */
+public class LineChunkSplitter {
+
+    private final BufferedReader reader;
+    private final Path dir;
+    private final long numberOfLines;
+    private int chunkNumber = 0;
+    private boolean eof = false;
+
+    public LineChunkSplitter(BufferedReader reader, Path dir, long numberOfLines) {
+        if (numberOfLines<1) {
+            throw new IllegalArgumentException("994.400 number of lines per chunk must be positive, actual: " + numberOfLines);
+        }
+        this.reader = reader;
+        this.dir = dir;
+        this.numberOfLines = numberOfLines;
+    }
+
+    /**
+     * @return files of up to maxChunks next chunks, an empty list when the content is exhausted
+     */
+    public List<Path> nextChunks(int maxChunks) throws IOException {
+        List<Path> chunks = new ArrayList<>(Math.min(maxChunks, 128));
+        while (chunks.size()<maxChunks) {
+            Path chunk = nextChunk();
+            if (chunk==null) {
+                break;
+            }
+            chunks.add(chunk);
+        }
+        return chunks;
+    }
+
+    @Nullable
+    private Path nextChunk() throws IOException {
+        if (eof) {
+            return null;
+        }
+        String line = nextLine();
+        if (line==null) {
+            return null;
+        }
+        Path chunk = dir.resolve("chunk-" + (++chunkNumber) + ".txt");
+        try (BufferedWriter writer = Files.newBufferedWriter(chunk, StandardCharsets.UTF_8)) {
+            writer.write(line);
+            for (long i = 1; i<numberOfLines && (line = nextLine())!=null; i++) {
+                writer.write('\n');
+                writer.write(line);
+            }
+        }
+        return chunk;
+    }
+
+    @Nullable
+    private String nextLine() throws IOException {
+        String line;
+        while ((line = reader.readLine())!=null) {
+            if (!line.isBlank()) {
+                return line;
+            }
+        }
+        eof = true;
+        return null;
+    }
+
+    public int getChunkNumber() {
+        return chunkNumber;
+    }
+}
@@ -20,13 +20,13 @@ import ai.metaheuristic.ai.Enums;
 import ai.metaheuristic.ai.dispatcher.batch.BatchTopLevelService;
 import ai.metaheuristic.ai.dispatcher.data.ExecContextData;
 import ai.metaheuristic.ai.dispatcher.data.InternalFunctionData;
+import ai.metaheuristic.ai.dispatcher.data.TaskData;
 import ai.metaheuristic.ai.dispatcher.data.VariableData;
 import ai.metaheuristic.ai.dispatcher.event.events.FindUnassignedTasksAndRegisterInQueueTxEvent;
 import ai.metaheuristic.ai.dispatcher.exec_context_graph.ExecContextGraphService;
 import ai.metaheuristic.ai.dispatcher.internal_functions.InternalFunctionService;
 import ai.metaheuristic.ai.dispatcher.exec_context_graph.GraftExpander;
-import ai.metaheuristic.ai.dispatcher.task.TaskProducingService;
-import ai.metaheuristic.ai.dispatcher.variable.VariableTxService;
+import ai.metaheuristic.ai.dispatcher.task.TaskBulkProducingService;
 import ai.metaheuristic.ai.exceptions.BatchProcessingException;
 import ai.metaheuristic.ai.exceptions.BatchResourceProcessingException;
 import ai.metaheuristic.ai.exceptions.InternalFunctionException;
@@ -71,9 +71,8 @@ public class BatchSplitterTxService {
 
     private final ExecContextGraphService execContextGraphService;
     private final InternalFunctionService internalFunctionService;
-    private final TaskProducingService taskProducingService;
+    private final TaskBulkProducingService taskBulkProducingService;
     private final GraftExpander graftExpander;
-    private final VariableTxService variableService;
     private final ApplicationEventPublisher eventPublisher;
 
     @Transactional(propagation = Propagation.REQUIRED, isolation = Isolation.READ_UNCOMMITTED)
@@ -105,6 +104,7 @@ public class BatchSplitterTxService {
 
         ExecContextData.GraphAndStates graphAndStates = execContextGraphService.prepareGraphAndStates(simpleExecContext.execContextGraphId, simpleExecContext.execContextTaskStateId);
 
+        final List<TaskData.SubProcessTaskSpec> specs = new ArrayList<>();
         try {
             // do not remove try(Stream<Path>){}
             try (final Stream<Path> list = Files.list(srcDir)) {
@@ -117,11 +117,8 @@ public class BatchSplitterTxService {
                                     return;
                                 }
                                 String currTaskContextId = ContextUtils.buildTaskContextId(subProcessContextId, Integer.toString(currTaskNumber.get()));
-                                variableService.createInputVariablesForSubProcess(
-                                        variableDataSource, simpleExecContext.execContextId, variableName, currTaskContextId, true);
-
-                                taskProducingService.createTasksForSubProcesses(graphAndStates, simpleExecContext, executionContextData, currTaskContextId, taskId, lastIds, graftExpander);
-
+                                specs.add(new TaskData.SubProcessTaskSpec(currTaskContextId,
+                                        List.of(new VariableData.SubProcessVariables(currTaskContextId, variableName, variableDataSource, true))));
                             }
                             catch (BatchProcessingException | StoreNewFileWithRedirectException e) {
                                 throw e;
@@ -133,11 +130,21 @@ public class BatchSplitterTxService {
                             }
                         });
             }
-        } catch (IOException e) {
+            taskBulkProducingService.createTasksForSubProcesses(graphAndStates, simpleExecContext, executionContextData, specs, taskId, lastIds, graftExpander);
+        }
+        catch (BatchProcessingException | StoreNewFileWithRedirectException e) {
+            throw e;
+        }
+        catch (IOException e) {
             String es = "995.310 An error while saving data to file, " + e;
             log.error(es, e);
             throw new BatchResourceProcessingException(es);
         }
+        catch (Throwable th) {
+            String es = "995.300 An error while saving data to file, " + th.getMessage();
+            log.error(es, th);
+            throw new BatchResourceProcessingException(es);
+        }
         execContextGraphService.createEdges(graphAndStates.graph(), lastIds, executionContextData.descendants);
 
         eventPublisher.publishEvent(new FindUnassignedTasksAndRegisterInQueueTxEvent());
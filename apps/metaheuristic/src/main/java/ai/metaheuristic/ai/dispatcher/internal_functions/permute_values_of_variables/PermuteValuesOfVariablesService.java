@@ -19,12 +19,12 @@ package ai.metaheuristic.ai.dispatcher.internal_functions.permute_values_of_vari
 import ai.metaheuristic.ai.Enums;
 import ai.metaheuristic.ai.dispatcher.data.ExecContextData;
 import ai.metaheuristic.ai.dispatcher.data.InternalFunctionData;
+import ai.metaheuristic.ai.dispatcher.data.TaskData;
 import ai.metaheuristic.ai.dispatcher.data.VariableData;
 import ai.metaheuristic.ai.dispatcher.exec_context_graph.ExecContextGraphService;
 import ai.metaheuristic.ai.dispatcher.exec_context_graph.GraftExpander;
-import ai.metaheuristic.ai.dispatcher.task.TaskProducingService;
+import ai.metaheuristic.ai.dispatcher.task.TaskBulkProducingService;
 import ai.metaheuristic.ai.dispatcher.variable.InlineVariable;
-import ai.metaheuristic.ai.dispatcher.variable.VariableTxService;
 import ai.metaheuristic.ai.exceptions.BreakFromLambdaException;
 import ai.metaheuristic.ai.exceptions.InternalFunctionException;
 import ai.metaheuristic.commons.utils.ContextUtils;
@@ -55,9 +55,8 @@ import java.util.concurrent.atomic.AtomicInteger;
 @RequiredArgsConstructor(onConstructor_={@Autowired})
 public class PermuteValuesOfVariablesService {
 
-    private final VariableTxService variableService;
     private final ExecContextGraphService execContextGraphService;
-    private final TaskProducingService taskProducingService;
+    private final TaskBulkProducingService taskBulkProducingService;
     private final GraftExpander graftExpander;
 
     @Transactional(propagation = Propagation.REQUIRED, isolation = Isolation.READ_UNCOMMITTED)
@@ -69,23 +68,24 @@ public class PermuteValuesOfVariablesService {
         final List<Long> lastIds = new ArrayList<>();
         ExecContextData.GraphAndStates graphAndStates = execContextGraphService.prepareGraphAndStates(simpleExecContext.execContextGraphId, simpleExecContext.execContextTaskStateId);
 
+        List<TaskData.SubProcessTaskSpec> specs = new ArrayList<>(inlineVariables.size());
         for (InlineVariable inlineVariable : inlineVariables) {
-            try {
-                currTaskNumber.incrementAndGet();
-                String currTaskContextId = ContextUtils.buildTaskContextId(subProcessContextId, Integer.toString(currTaskNumber.get()));
+            currTaskNumber.incrementAndGet();
+            String currTaskContextId = ContextUtils.buildTaskContextId(subProcessContextId, Integer.toString(currTaskNumber.get()));
 
-                for (Map.Entry<String, String> entry : inlineVariable.params.entrySet()) {
-                    VariableData.VariableDataSource variableDataSource = new VariableData.VariableDataSource(entry.getValue());
-                    variableService.createInputVariablesForSubProcess(
-                            variableDataSource, simpleExecContext.execContextId, entry.getKey(), currTaskContextId, false);
-                }
-                taskProducingService.createTasksForSubProcesses(graphAndStates, simpleExecContext, executionContextData, currTaskContextId, taskId, lastIds, graftExpander);
-
-            } catch (BreakFromLambdaException e) {
-                log.error(e.getMessage());
-                throw new InternalFunctionException(
-                        new InternalFunctionData.InternalFunctionProcessingResult(Enums.InternalFunctionProcessing.source_code_is_broken, e.getMessage()));
+            List<VariableData.SubProcessVariables> variables = new ArrayList<>(inlineVariable.params.size());
+            for (Map.Entry<String, String> entry : inlineVariable.params.entrySet()) {
+                VariableData.VariableDataSource variableDataSource = new VariableData.VariableDataSource(entry.getValue());
+                variables.add(new VariableData.SubProcessVariables(currTaskContextId, entry.getKey(), variableDataSource, false));
             }
+            specs.add(new TaskData.SubProcessTaskSpec(currTaskContextId, variables));
+        }
+        try {
+            taskBulkProducingService.createTasksForSubProcesses(graphAndStates, simpleExecContext, executionContextData, specs, taskId, lastIds, graftExpander);
+        } catch (BreakFromLambdaException e) {
+            log.error(e.getMessage());
+            throw new InternalFunctionException(
+                    new InternalFunctionData.InternalFunctionProcessingResult(Enums.InternalFunctionProcessing.source_code_is_broken, e.getMessage()));
         }
         execContextGraphService.createEdges(graphAndStates.graph(), lastIds, descendants);
     }
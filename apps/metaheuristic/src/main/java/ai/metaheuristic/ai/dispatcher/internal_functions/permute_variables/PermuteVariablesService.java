@@ -19,11 +19,11 @@ package ai.metaheuristic.ai.dispatcher.internal_functions.permute_variables;
 import ai.metaheuristic.ai.Enums;
 import ai.metaheuristic.ai.dispatcher.data.ExecContextData;
 import ai.metaheuristic.ai.dispatcher.data.InternalFunctionData;
+import ai.metaheuristic.ai.dispatcher.data.TaskData;
 import ai.metaheuristic.ai.dispatcher.data.VariableData;
 import ai.metaheuristic.ai.dispatcher.exec_context_graph.ExecContextGraphService;
 import ai.metaheuristic.ai.dispatcher.exec_context_graph.GraftExpander;
-import ai.metaheuristic.ai.dispatcher.task.TaskProducingService;
-import ai.metaheuristic.ai.dispatcher.variable.VariableService;
+import ai.metaheuristic.ai.dispatcher.task.TaskBulkProducingService;
 import ai.metaheuristic.ai.dispatcher.variable.VariableUtils;
 import ai.metaheuristic.ai.exceptions.BreakFromLambdaException;
 import ai.metaheuristic.ai.exceptions.InternalFunctionException;
@@ -59,9 +59,8 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor(onConstructor_={@Autowired})
 public class PermuteVariablesService {
 
-    private final VariableService variableTopLevelService;
     private final ExecContextGraphService execContextGraphService;
-    private final TaskProducingService taskProducingService;
+    private final TaskBulkProducingService taskBulkProducingService;
     private final GraftExpander graftExpander;
 
     /**
@@ -89,6 +88,7 @@ public class PermuteVariablesService {
 
         final AtomicInteger currTaskNumber = new AtomicInteger(0);
         final List<Long> lastIds = new ArrayList<>();
+        final List<TaskData.SubProcessTaskSpec> specs = new ArrayList<>();
         ExecContextData.GraphAndStates graphAndStates = execContextGraphService.prepareGraphAndStates(simpleExecContext.execContextGraphId, simpleExecContext.execContextTaskStateId);
 
         if (variablesAs== Enums.VariablesAs.permute) {
@@ -96,10 +96,10 @@ public class PermuteVariablesService {
             for (int i = 0; i < holders.size(); i++) {
                 try {
                     permutation.printCombination(holders, i + 1,
-                            permutedVariables -> createTaskWIthVariables(
-                                graphAndStates, simpleExecContext, taskId, executionContextData, variableName, subProcessContextId,
+                            permutedVariables -> createTaskSpec(
+                                variableName, subProcessContextId,
                                 producePresentVariable, producePresentVariablePrefix, upperCaseFirstChar, presentVariable,
-                                currTaskNumber, lastIds, permutedVariables)
+                                currTaskNumber, specs, permutedVariables)
                     );
                 }
                 catch (BreakFromLambdaException e) {
@@ -111,10 +111,10 @@ public class PermuteVariablesService {
         }
         else if (variablesAs== Enums.VariablesAs.array) {
             try {
-                    createTaskWIthVariables(
-                        graphAndStates, simpleExecContext, taskId, executionContextData, variableName, subProcessContextId,
+                    createTaskSpec(
+                        variableName, subProcessContextId,
                             producePresentVariable, producePresentVariablePrefix, upperCaseFirstChar, presentVariable,
-                            currTaskNumber, lastIds, holders);
+                            currTaskNumber, specs, holders);
             }
             catch (BreakFromLambdaException e) {
                 log.error(e.getMessage());
@@ -125,14 +125,21 @@ public class PermuteVariablesService {
         else {
             throw new IllegalStateException("unknown Enums.VariablesAs - "+variablesAs);
         }
+        try {
+            taskBulkProducingService.createTasksForSubProcesses(graphAndStates, simpleExecContext, executionContextData, specs, taskId, lastIds, graftExpander);
+        }
+        catch (BreakFromLambdaException e) {
+            log.error(e.getMessage());
+            throw new InternalFunctionException(
+                    new InternalFunctionData.InternalFunctionProcessingResult(Enums.InternalFunctionProcessing.source_code_is_broken, e.getMessage()));
+        }
         execContextGraphService.createEdges(graphAndStates.graph(), lastIds, descendants);
     }
 
-    private boolean createTaskWIthVariables(
-            ExecContextData.GraphAndStates graphAndStates, ExecContextApiData.SimpleExecContext simpleExecContext, Long taskId, InternalFunctionData.ExecutionContextData executionContextData,
+    private boolean createTaskSpec(
             String variableName, String subProcessContextId, boolean producePresentVariable, String producePresentVariablePrefix,
             boolean upperCaseFirstChar, List<Pair<VariableUtils.VariableHolder, Boolean>> presentVariable,
-            AtomicInteger currTaskNumber, List<Long> lastIds, List<VariableUtils.VariableHolder> permutedVariables) {
+            AtomicInteger currTaskNumber, List<TaskData.SubProcessTaskSpec> specs, List<VariableUtils.VariableHolder> permutedVariables) {
 
         if (log.isInfoEnabled()) {
             log.info(permutedVariables.stream().map(VariableUtils.VariableHolder::getName).collect(Collectors.joining(", ")));
@@ -158,11 +165,8 @@ public class PermuteVariablesService {
                         null, null, false),
                 booleanVariables);
 
-        variableTopLevelService.createInputVariablesForSubProcess(
-                variableDataSource, simpleExecContext.execContextId, variableName, currTaskContextId, true);
-
-        taskProducingService.createTasksForSubProcesses(
-            graphAndStates, simpleExecContext, executionContextData, currTaskContextId, taskId, lastIds, graftExpander);
+        specs.add(new TaskData.SubProcessTaskSpec(currTaskContextId,
+                List.of(new VariableData.SubProcessVariables(currTaskContextId, variableName, variableDataSource, true))));
         return true;
     }
 
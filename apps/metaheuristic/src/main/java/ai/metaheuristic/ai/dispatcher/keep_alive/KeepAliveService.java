@@ -33,6 +33,7 @@ import ai.metaheuristic.ai.dispatcher.processor.ProcessorTopLevelService;
 import ai.metaheuristic.ai.dispatcher.processor.ProcessorTxService;
 import ai.metaheuristic.ai.dispatcher.processor_core.ProcessorCoreTxService;
 import ai.metaheuristic.ai.dispatcher.repositories.ProcessorCoreRepository;
+import ai.metaheuristic.ai.yaml.communication.keep_alive.KeepAliveDigestUtils;
 import ai.metaheuristic.ai.yaml.communication.keep_alive.KeepAliveRequestParamYaml;
 import ai.metaheuristic.ai.yaml.communication.keep_alive.KeepAliveResponseParamYaml;
 import ai.metaheuristic.ai.yaml.core_status.CoreStatusYaml;
@@ -64,6 +65,8 @@ public class KeepAliveService {
 
     public static final int MAX_REQUEST_PROCESSING_TIME = 12_000;
 
+    private static final String EMPTY_CORES_DIGEST = KeepAliveDigestUtils.coresDigest(List.of());
+
     private final Globals globals;
     private final ProcessorTopLevelService processorTopLevelService;
     private final ProcessorCache processorCache;
@@ -164,7 +167,7 @@ public class KeepAliveService {
             }
         }
         log.debug("Start processing commands");
-        processorTopLevelService.processKeepAliveData(processorRequest, processor);
+        processStatus(processorRequest, processor, dispatcherResponse);
 
         //      keepAliveCommandProcessor.processLogRequest(processorRequest.processorCommContext.processorId, dispatcherResponse);
 
@@ -186,12 +189,46 @@ public class KeepAliveService {
         return processorRequest.processorCommContext.processorId;
     }
 
+    /**
+     * Differential keep-alive. A processor which knows about digests omits its status when the status wasn't changed
+     * since it was accepted last time. The status which is omitted but isn't known here isn't accepted, and the processor
+     * will send it in full with the next request.
+     */
+    private void processStatus(KeepAliveRequestParamYaml.Processor processorRequest, Processor processor, KeepAliveResponseParamYaml.DispatcherResponse dispatcherResponse) {
+        final String statusDigest = processorRequest.statusDigest;
+        if (processorRequest.status==null) {
+            if (statusDigest!=null && KeepAliveStatusCache.isStatusAccepted(processor.id, statusDigest)) {
+                dispatcherResponse.acceptedStatusDigest = statusDigest;
+            }
+            return;
+        }
+        boolean stored = processorTopLevelService.processKeepAliveData(processorRequest, processor);
+        if (stored && statusDigest!=null) {
+            // the digest is calculated from what was actually received, so a section which was changed in transfer won't be accepted
+            final String digest = KeepAliveDigestUtils.statusDigest(processorRequest.status);
+            KeepAliveStatusCache.acceptStatus(processor.id, digest);
+            dispatcherResponse.acceptedStatusDigest = digest;
+        }
+    }
+
     private DispatcherApiData.ProcessorSessionId checkProcessorIdSynced(CheckProcessorIdEvent event) {
         return ProcessorSyncService.getWithSync(event.processorId(),
             () -> processorTxService.checkProcessorId(event.processorAndSessionStatus(), event.processorId(), event.remoteAddress()));
     }
 
     public void processInfoAboutCores(Long processorId, KeepAliveRequestParamYaml req, long startMills, KeepAliveResponseParamYaml resp) {
+        final String coresDigest = req.processor.coresDigest;
+        if (coresDigest!=null && req.cores.isEmpty() && !coresDigest.equals(EMPTY_CORES_DIGEST)) {
+            // cores were omitted by processor
+            List<KeepAliveResponseParamYaml.CoreInfo> coreInfos = KeepAliveStatusCache.getAcceptedCores(processorId, coresDigest);
+            if (coreInfos!=null) {
+                resp.response.coreInfos.addAll(coreInfos);
+                resp.response.acceptedCoresDigest = coresDigest;
+            }
+            return;
+        }
+        final String digest = coresDigest==null ? null : KeepAliveDigestUtils.coresDigest(req.cores);
+        boolean complete = true;
         // this solution changes request object. can't decide rn is it ok or not.
         // List<ProcessorData.ProcessorCore> cores = processorCoreRepository.findIdsAndCodesByProcessorId(processorId);
         for (KeepAliveRequestParamYaml.Core core : req.cores) {
@@ -200,6 +237,7 @@ public class KeepAliveService {
                 // this solution changes request object. can't decide rn is it ok or not.
                 req.cores.stream().filter(c-> coreId.equals(c.coreId)).forEach(c->c.coreId=null);
                 resp.response.coreInfos.add(new KeepAliveResponseParamYaml.CoreInfo(coreId, core.coreCode));
+                complete = false;
                 continue;
             }
 
@@ -211,6 +249,7 @@ public class KeepAliveService {
                 // this solution changes request object. can't decide rn is it ok or not.
                 req.cores.stream().filter(c-> coreId.equals(c.coreId)).forEach(c->c.coreId=null);
                 resp.response.coreInfos.add(new KeepAliveResponseParamYaml.CoreInfo(coreId, core.coreCode));
+                complete = false;
                 continue;
             }
             if (coreMetadataDifferent(core, processorCore.getCoreStatusYaml())) {
@@ -220,9 +259,15 @@ public class KeepAliveService {
             resp.response.coreInfos.add(new KeepAliveResponseParamYaml.CoreInfo(core.coreId, core.coreCode));
 
             if (System.currentTimeMillis() - startMills > MAX_REQUEST_PROCESSING_TIME) {
+                complete = false;
                 break;
             }
         }
+        // cores with new ids will be reported with a new digest, so only cores which all are known here are accepted
+        if (complete && digest!=null) {
+            KeepAliveStatusCache.acceptCores(processorId, digest, resp.response.coreInfos);
+            resp.response.acceptedCoresDigest = digest;
+        }
     }
 
     public static boolean coreMetadataDifferent(KeepAliveRequestParamYaml.Core core, CoreStatusYaml coreStatusYaml) {
@@ -0,0 +1,98 @@
+/*
+ * Metaheuristic, Copyright (C) 2017-2025, Innovation platforms, LLC
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package ai.metaheuristic.ai.dispatcher.keep_alive;
+
+import ai.metaheuristic.ai.utils.IdleEvictingCache;
+import ai.metaheuristic.ai.yaml.communication.keep_alive.KeepAliveResponseParamYaml;
+import org.jspecify.annotations.Nullable;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Last status and cores of processor which were accepted by this dispatcher, as digests.
+ *
+ * <p>A processor omits a section of keep-alive request when the section wasn't changed since it was accepted,
+ * so the section is neither parsed nor compared with the one which is stored in db. The cache is per
+ * dispatcher's node and isn't persisted, a processor which sends only a digest which isn't known here gets
+ * a response without accepted digest and sends the section in full with the next request.
+ * An accepted section is trusted for {@link #MAX_ACCEPTED_AGE_MILLS} at most, so the sections
+ * are still compared with db regularly, i.e. after processor's row was changed at another dispatcher's node.
+ *
+ * @author Serge
+ * Date: 10/18/2026
+ * Time: 6:25 PM
+ */
+public class KeepAliveStatusCache {
+
+    private static final int MAX_ENTRIES = 20_000;
+    private static final long IDLE_EVICTION_MILLS = TimeUnit.MINUTES.toMillis(10);
+    private static final long MAX_ACCEPTED_AGE_MILLS = TimeUnit.MINUTES.toMillis(10);
+
+    private static final class Accepted {
+        @Nullable volatile String statusDigest;
+        volatile long statusAcceptedOn;
+        @Nullable volatile String coresDigest;
+        volatile long coresAcceptedOn;
+        volatile List<KeepAliveResponseParamYaml.CoreInfo> coreInfos = List.of();
+    }
+
+    private static final IdleEvictingCache<Long, Accepted> accepted =
+            new IdleEvictingCache<>("KeepAliveStatusCache", MAX_ENTRIES, IDLE_EVICTION_MILLS);
+
+    public static boolean isStatusAccepted(Long processorId, String statusDigest) {
+        Accepted a = accepted.get(processorId);
+        return a!=null && statusDigest.equals(a.statusDigest) && !isExpired(a.statusAcceptedOn);
+    }
+
+    /**
+     * @return core infos which were sent to processor when cores with this digest were accepted, null if the digest isn't known
+     */
+    @Nullable
+    public static List<KeepAliveResponseParamYaml.CoreInfo> getAcceptedCores(Long processorId, String coresDigest) {
+        Accepted a = accepted.get(processorId);
+        if (a==null || !coresDigest.equals(a.coresDigest) || isExpired(a.coresAcceptedOn)) {
+            return null;
+        }
+        return a.coreInfos;
+    }
+
+    public static void acceptStatus(Long processorId, String statusDigest) {
+        Accepted a = accepted.computeIfAbsent(processorId, id -> new Accepted());
+        a.statusAcceptedOn = System.currentTimeMillis();
+        a.statusDigest = statusDigest;
+    }
+
+    public static void acceptCores(Long processorId, String coresDigest, List<KeepAliveResponseParamYaml.CoreInfo> coreInfos) {
+        Accepted a = accepted.computeIfAbsent(processorId, id -> new Accepted());
+        a.coreInfos = List.copyOf(coreInfos);
+        a.coresAcceptedOn = System.currentTimeMillis();
+        a.coresDigest = coresDigest;
+    }
+
+    public static void evict(Long processorId) {
+        accepted.remove(processorId);
+    }
+
+    public static int size() {
+        return accepted.size();
+    }
+
+    private static boolean isExpired(long acceptedOn) {
+        return System.currentTimeMillis() - acceptedOn > MAX_ACCEPTED_AGE_MILLS;
+    }
+}
@@ -16,6 +16,7 @@
 
 package ai.metaheuristic.ai.dispatcher.lucene;
 
+import ai.metaheuristic.ai.Enums;
 import ai.metaheuristic.ai.Globals;
 import ai.metaheuristic.ai.shutdown.ShutdownInterface;
 import jakarta.annotation.Nullable;
@@ -45,7 +46,9 @@ import org.apache.lucene.search.Query;
 import org.apache.lucene.search.ScoreDoc;
 import org.apache.lucene.search.SearcherManager;
 import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.AlreadyClosedException;
 import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.MMapDirectory;
 import org.apache.lucene.store.NIOFSDirectory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Profile;
@@ -63,6 +66,8 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.regex.Pattern;
 import java.util.stream.Stream;
 
@@ -87,6 +92,18 @@ import java.util.stream.Stream;
  *   • A {@link SearcherManager} per bucket caches open readers and is refreshed
  *     after every mutation (addOrUpdate / delete) and on rebuild swap.
  * <br/>
+ *   • Writes go through a long-lived {@link IndexWriter} per bucket, opened on the first
+ *     write. Once the writer is open, the bucket's SearcherManager is a near-real-time one
+ *     over that writer, so a change is searchable right after the call returns, whether or
+ *     not it was committed. When a commit happens is defined by
+ *     {@link Globals.Lucene#durability}: after every operation (the default), or
+ *     periodically via {@link #commitPending()} and after
+ *     {@link Globals.Lucene#commitMaxDocs} uncommitted documents. Uncommitted changes are
+ *     lost on a crash, but are committed on a regular shutdown.
+ * <br/>
+ *   • Buckets are opened with {@link NIOFSDirectory}, or with {@link MMapDirectory} when
+ *     configured globally or for buckets matching {@link Globals.Lucene#mmapBuckets}.
+ * <br/>
  *   • {@link #rebuildAtomic(String, Stream)} performs a zero-downtime rebuild:
  *     it writes a new index to {@code <bucket>.next}, then closes the live
  *     SearcherManager, performs an atomic directory swap, opens a fresh
@@ -137,6 +154,21 @@ public class LuceneIndexService implements ShutdownInterface {
      */
     private final Map<String, Directory> searcherDirs = new ConcurrentHashMap<>();
 
+    /**
+     * Long-lived writer per bucket. It shares the Directory from {@link #searcherDirs}
+     * and the bucket's entry in {@link #searchers} is the NRT manager over this writer.
+     */
+    private final Map<String, BucketWriter> writers = new ConcurrentHashMap<>();
+
+    /**
+     * Writes through a bucket writer are done under the read lock. Closing of writers,
+     * i.e. the directory swap of {@link #rebuildAtomic} and shutdown, is done under the
+     * write lock, so no write can reopen a writer on a directory which is being moved.
+     */
+    private final ReentrantReadWriteLock writersLock = new ReentrantReadWriteLock();
+
+    private record BucketWriter(IndexWriter writer, SearcherManager searcher, AtomicInteger uncommitted) {}
+
     /**
      * Per-bucket write-op flag — presence means a bucket-level write operation
      * (rebuildAtomic or addBatch) is in progress for that bucket. Lucene allows
@@ -161,9 +193,9 @@ public class LuceneIndexService implements ShutdownInterface {
      * Add or replace a single document in the bucket. If a document with the same
      * docId exists, it is overwritten; otherwise a new one is created.
      *
-     * Implementation note: each call opens an IndexWriter, commits, and refreshes
-     * the SearcherManager. For bulk inserts during a full reindex, prefer
-     * {@link #rebuildAtomic(String, Stream)}.
+     * Implementation note: the document goes to the bucket's long-lived IndexWriter
+     * and is committed according to {@link Globals.Lucene#durability}. For bulk inserts
+     * during a full reindex, prefer {@link #rebuildAtomic(String, Stream)}.
      */
     @SneakyThrows
     public void addOrUpdate(String bucket, LuceneDocument doc) {
@@ -174,15 +206,15 @@ public class LuceneIndexService implements ShutdownInterface {
         if (doc.docId() == null || doc.docId().isEmpty()) {
             throw new IllegalArgumentException("docId must not be null or empty");
         }
-        Path bucketDir = bucketPath(bucket);
-        ensureBucketInitialized(bucketDir);
-        try (Directory dir = openDir(bucketDir);
-             IndexWriter writer = new IndexWriter(dir, new IndexWriterConfig(analyzer))) {
-            Document luceneDoc = toLuceneDocument(doc);
-            writer.updateDocument(new Term(DOC_ID_FIELD, doc.docId()), luceneDoc);
-            writer.commit();
-        }
-        refreshSearcher(bucket);
+        Document luceneDoc = toLuceneDocument(doc);
+        writersLock.readLock().lock();
+        try {
+            BucketWriter bw = getOrOpenWriter(bucket);
+            bw.writer().updateDocument(new Term(DOC_ID_FIELD, doc.docId()), luceneDoc);
+            afterWrite(bw, 1);
+        } finally {
+            writersLock.readLock().unlock();
+        }
     }
 
     /**
@@ -199,12 +231,14 @@ public class LuceneIndexService implements ShutdownInterface {
         if (!Files.isDirectory(bucketDir)) {
             return;
         }
-        try (Directory dir = openDir(bucketDir);
-             IndexWriter writer = new IndexWriter(dir, new IndexWriterConfig(analyzer))) {
-            writer.deleteDocuments(new Term(DOC_ID_FIELD, docId));
-            writer.commit();
+        writersLock.readLock().lock();
+        try {
+            BucketWriter bw = getOrOpenWriter(bucket);
+            bw.writer().deleteDocuments(new Term(DOC_ID_FIELD, docId));
+            afterWrite(bw, 1);
+        } finally {
+            writersLock.readLock().unlock();
         }
-        refreshSearcher(bucket);
     }
 
     /**
@@ -270,11 +304,25 @@ public class LuceneIndexService implements ShutdownInterface {
         if (!Files.isDirectory(bucketDir)) {
             return List.of();
         }
-        SearcherManager mgr = getOrOpenSearcher(bucket);
-        if (mgr == null) {
-            return List.of();
+        SearcherManager mgr;
+        IndexSearcher searcher;
+        while (true) {
+            mgr = getOrOpenSearcher(bucket);
+            if (mgr == null) {
+                return List.of();
+            }
+            try {
+                searcher = mgr.acquire();
+                break;
+            } catch (AlreadyClosedException e) {
+                // the manager was replaced by the NRT manager of a just opened writer, or closed by
+                // rebuildAtomic, after it was read from the map. The map already doesn't hold it, so take
+                // the current one. A searcher which was acquired before closing stays valid till release.
+                if (searchers.get(bucket) == mgr) {
+                    throw e;
+                }
+            }
         }
-        IndexSearcher searcher = mgr.acquire();
         try {
             TopDocs topDocs = searcher.search(query, maxResults);
             List<LuceneHit> out = new ArrayList<>(topDocs.scoreDocs.length);
@@ -375,7 +423,7 @@ public class LuceneIndexService implements ShutdownInterface {
         try {
             deleteDirectoryIfExists(nextDir);
             Files.createDirectories(nextDir);
-            try (Directory dir = openDir(nextDir);
+            try (Directory dir = openDir(bucket, nextDir);
                  IndexWriter writer = new IndexWriter(dir, new IndexWriterConfig(analyzer));
                  Stream<LuceneDocument> s = docs) {
                 List<LuceneDocument> batch = s.toList();
@@ -385,14 +433,20 @@ public class LuceneIndexService implements ShutdownInterface {
                 }
                 writer.commit();
             }
-            // Atomic swap. Close any live searcher first so the OS can release file handles
+            // Atomic swap. Close the live writer and searcher first so the OS can release file handles
             // before the directory is moved (matters on Windows; harmless on Linux).
-            closeSearcher(bucket);
-            deleteDirectoryIfExists(oldDir);
-            if (Files.isDirectory(liveDir)) {
-                Files.move(liveDir, oldDir, StandardCopyOption.ATOMIC_MOVE);
+            writersLock.writeLock().lock();
+            try {
+                closeWriter(bucket);
+                closeSearcher(bucket);
+                deleteDirectoryIfExists(oldDir);
+                if (Files.isDirectory(liveDir)) {
+                    Files.move(liveDir, oldDir, StandardCopyOption.ATOMIC_MOVE);
+                }
+                Files.move(nextDir, liveDir, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                writersLock.writeLock().unlock();
             }
-            Files.move(nextDir, liveDir, StandardCopyOption.ATOMIC_MOVE);
             // Reopen searcher against the new live dir. Best-effort: failure here just
             // means the next read call will open it lazily.
             try {
@@ -417,9 +471,11 @@ public class LuceneIndexService implements ShutdownInterface {
      * with a docId that already exists overwrites it rather than duplicating it;
      * callers can therefore safely re-run a batch (idempotent).
      *
-     * <p>Zero-downtime: readers continue to see the pre-commit view via the
-     * cached {@link SearcherManager} until {@code maybeRefresh()} runs after the
-     * single commit. There is no directory swap and no read-side gap.
+     * <p>Zero-downtime: the batch goes to the bucket's long-lived IndexWriter,
+     * readers see it as a whole after the NRT refresh at the end of the batch.
+     * The batch is committed at once in {@code commit_per_op} mode and counted as
+     * uncommitted documents in {@code periodic} mode. There is no directory swap
+     * and no read-side gap.
      *
      * <p>Shares the per-bucket write lock with {@link #rebuildAtomic}; a
      * concurrent write on the same bucket is rejected with
@@ -439,31 +495,54 @@ public class LuceneIndexService implements ShutdownInterface {
         if (prev != null) {
             throw new LuceneBucketLockedException("A write operation is already in progress for bucket: " + bucket);
         }
+        writersLock.readLock().lock();
         try {
-            Path bucketDir = bucketPath(bucket);
-            ensureBucketInitialized(bucketDir);
             int written = 0;
-            try (Directory dir = openDir(bucketDir);
-                 IndexWriter writer = new IndexWriter(dir, new IndexWriterConfig(analyzer));
-                 Stream<LuceneDocument> s = docs) {
+            try (Stream<LuceneDocument> s = docs) {
                 List<LuceneDocument> batch = s.toList();
+                BucketWriter bw = getOrOpenWriter(bucket);
                 for (LuceneDocument d : batch) {
                     if (d.docId() == null || d.docId().isEmpty()) {
                         throw new IllegalArgumentException("docId must not be null or empty");
                     }
-                    writer.updateDocument(new Term(DOC_ID_FIELD, d.docId()), toLuceneDocument(d));
+                    bw.writer().updateDocument(new Term(DOC_ID_FIELD, d.docId()), toLuceneDocument(d));
                     written++;
                 }
-                writer.commit();
+                afterWrite(bw, written);
             }
-            refreshSearcher(bucket);
             log.info("Lucene bucket '{}' received a batch of {} document(s)", bucket, written);
             return written;
         } finally {
+            writersLock.readLock().unlock();
             activeBucketOps.remove(bucket);
         }
     }
 
+    /**
+     * Commit every bucket writer which has uncommitted documents. Invoked by the scheduler
+     * with {@link Globals.Lucene#commitInterval} when durability is {@code periodic}.
+     */
+    public void commitPending() {
+        if (isShutdown()) {
+            return;
+        }
+        writersLock.readLock().lock();
+        try {
+            for (Map.Entry<String, BucketWriter> e : writers.entrySet()) {
+                if (e.getValue().uncommitted().get() == 0) {
+                    continue;
+                }
+                try {
+                    commit(e.getValue());
+                } catch (Throwable t) {
+                    log.error("Failed to commit Lucene bucket {}: {}", e.getKey(), t.getMessage());
+                }
+            }
+        } finally {
+            writersLock.readLock().unlock();
+        }
+    }
+
     // ==================== Lifecycle ====================
 
     @PreDestroy
@@ -472,6 +551,15 @@ public class LuceneIndexService implements ShutdownInterface {
             return;
         }
         shutdown = true;
+        // IndexWriter.close() commits pending changes, so nothing is lost in periodic mode
+        writersLock.writeLock().lock();
+        try {
+            for (String bucket : List.copyOf(writers.keySet())) {
+                closeWriter(bucket);
+            }
+        } finally {
+            writersLock.writeLock().unlock();
+        }
         for (Map.Entry<String, SearcherManager> e : searchers.entrySet()) {
             try {
                 e.getValue().close();
@@ -520,20 +608,97 @@ public class LuceneIndexService implements ShutdownInterface {
     }
 
     @SneakyThrows
-    private void ensureBucketInitialized(Path bucketDir) {
-        if (!Files.isDirectory(bucketDir)) {
+    private Directory openDir(String bucket, Path bucketDir) {
+        Globals.Lucene cfg = globals.dispatcher.lucene;
+        boolean mmap = cfg.directory == Enums.LuceneDirectoryType.mmap
+                || cfg.mmapBuckets.stream().anyMatch(bucket::startsWith);
+        return mmap ? new MMapDirectory(bucketDir) : new NIOFSDirectory(bucketDir);
+    }
+
+    /**
+     * Returns the long-lived writer of the bucket, opening it on the first call. The writer
+     * reuses the Directory of an already opened read-only searcher, so readers which still
+     * hold a searcher of the replaced manager keep working.
+     * Must be called under the read lock of {@link #writersLock}.
+     */
+    private BucketWriter getOrOpenWriter(String bucket) throws IOException {
+        BucketWriter existing = writers.get(bucket);
+        if (existing != null) {
+            return existing;
+        }
+        synchronized (searchers) {
+            BucketWriter again = writers.get(bucket);
+            if (again != null) {
+                return again;
+            }
+            Path bucketDir = bucketPath(bucket);
             Files.createDirectories(bucketDir);
-            // Write an empty initial commit so a SearcherManager can be opened later.
-            try (Directory dir = openDir(bucketDir);
-                 IndexWriter writer = new IndexWriter(dir, new IndexWriterConfig(analyzer))) {
-                writer.commit();
+            Directory dir = searcherDirs.get(bucket);
+            boolean newDir = dir == null;
+            if (newDir) {
+                dir = openDir(bucket, bucketDir);
+            }
+            IndexWriter writer = null;
+            try {
+                writer = new IndexWriter(dir, new IndexWriterConfig(analyzer));
+                if (!DirectoryReader.indexExists(dir)) {
+                    // Write an empty initial commit so the bucket is a valid index on disk.
+                    writer.commit();
+                }
+                BucketWriter bw = new BucketWriter(writer, new SearcherManager(writer, null), new AtomicInteger());
+                SearcherManager prev = searchers.put(bucket, bw.searcher());
+                searcherDirs.put(bucket, dir);
+                writers.put(bucket, bw);
+                // the NRT manager is published before the read-only one is closed, a search which still
+                // got the closed manager takes the published one, see search()
+                if (prev != null) {
+                    try {
+                        prev.close();
+                    } catch (Throwable t) {
+                        log.warn("Error closing SearcherManager for bucket {}: {}", bucket, t.getMessage());
+                    }
+                }
+                return bw;
+            } catch (IOException | RuntimeException e) {
+                if (writer != null) {
+                    writer.rollback();
+                }
+                if (newDir) {
+                    dir.close();
+                }
+                throw e;
             }
         }
     }
 
-    @SneakyThrows
-    private static Directory openDir(Path bucketDir) {
-        return new NIOFSDirectory(bucketDir);
+    private void afterWrite(BucketWriter bw, int docs) throws IOException {
+        Globals.Lucene cfg = globals.dispatcher.lucene;
+        if (cfg.durability == Enums.LuceneDurability.commit_per_op || bw.uncommitted().addAndGet(docs) >= cfg.commitMaxDocs) {
+            commit(bw);
+        }
+        bw.searcher().maybeRefreshBlocking();
+    }
+
+    private static void commit(BucketWriter bw) throws IOException {
+        // documents added after the reset are counted towards the next commit even if this commit includes them
+        bw.uncommitted().set(0);
+        bw.writer().commit();
+    }
+
+    /**
+     * Commits and closes the writer of the bucket. The bucket's NRT searcher and the Directory
+     * are closed separately by {@link #closeSearcher(String)}.
+     * Must be called under the write lock of {@link #writersLock}.
+     */
+    private void closeWriter(String bucket) {
+        BucketWriter bw = writers.remove(bucket);
+        if (bw != null) {
+            try {
+                bw.writer().close();
+            } catch (Throwable t) {
+                log.warn("Error closing IndexWriter for bucket {}: {}", bucket, t.getMessage());
+            }
+        }
     }
 
     @SneakyThrows
@@ -543,7 +708,7 @@ public class LuceneIndexService implements ShutdownInterface {
             return Optional.empty();
         }
         try {
-            Directory dir = openDir(bucketDir);
+            Directory dir = openDir(bucket, bucketDir);
             if (!DirectoryReader.indexExists(dir)) {
                 dir.close();
                 return Optional.empty();
@@ -576,14 +741,6 @@ public class LuceneIndexService implements ShutdownInterface {
         }
     }
 
-    @SneakyThrows
-    private void refreshSearcher(String bucket) {
-        SearcherManager mgr = searchers.get(bucket);
-        if (mgr != null) {
-            mgr.maybeRefresh();
-        }
-    }
-
     private void closeSearcher(String bucket) {
         SearcherManager mgr = searchers.remove(bucket);
         if (mgr != null) {
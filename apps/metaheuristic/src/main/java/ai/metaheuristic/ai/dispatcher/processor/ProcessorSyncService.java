@@ -32,7 +32,7 @@ import java.util.function.Supplier;
 @Slf4j
 public class ProcessorSyncService {
 
-    private static final CommonSync<Long> commonSync = new CommonSync<>();
+    private static final CommonSync<Long> commonSync = new CommonSync<>("processor");
 
     public static void checkWriteLockPresent(Long processorId) {
         if (!getWriteLock(processorId).isHeldByCurrentThread()) {
@@ -113,7 +113,10 @@ public class ProcessorTopLevelService {
         return ProcessorSyncService.getWithSync(coreId, ()-> processorTransactionService.deleteProcessorCoreById(coreId));
     }
 
-    public void processKeepAliveData(
+    /**
+     * @return true if the status of processor which is stored in db is the same as the reported one
+     */
+    public boolean processKeepAliveData(
             KeepAliveRequestParamYaml.Processor processorRequest,
             final Processor processor) {
 
@@ -125,7 +128,7 @@ public class ProcessorTopLevelService {
         KeepAliveRequestParamYaml.ProcessorStatus status = processorRequest.status;
 
         if (status==null) {
-            return;
+            return false;
         }
         ProcessorStatusYaml psy = processor.getProcessorStatusYaml();
         final boolean processorStatusDifferent = isProcessorStatusDifferent(psy, status);
@@ -142,9 +145,10 @@ public class ProcessorTopLevelService {
                                 processorId, status, psy,
                                 processorStatusDifferent));
             } catch (CommonRollbackException e) {
-                //
+                return false;
             }
         }
+        return true;
     }
 
     public static Enums.ProcessorAndSessionStatus checkProcessorAndSessionStatus(final Processor processor, @Nullable String sessionId) {
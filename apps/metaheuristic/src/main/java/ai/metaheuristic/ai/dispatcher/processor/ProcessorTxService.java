@@ -21,6 +21,7 @@ import ai.metaheuristic.ai.Enums;
 import ai.metaheuristic.ai.dispatcher.beans.Processor;
 import ai.metaheuristic.ai.dispatcher.beans.ProcessorCore;
 import ai.metaheuristic.ai.dispatcher.data.ProcessorData;
+import ai.metaheuristic.ai.dispatcher.keep_alive.KeepAliveStatusCache;
 import ai.metaheuristic.ai.dispatcher.repositories.ProcessorCoreRepository;
 import ai.metaheuristic.ai.dispatcher.repositories.ProcessorRepository;
 import ai.metaheuristic.commons.exceptions.CommonRollbackException;
@@ -215,6 +216,7 @@ public class ProcessorTxService {
             return new OperationStatusRest(EnumsApi.OperationStatus.ERROR, "807.080 Processor wasn't found, processorId: " + id);
         }
         processorRepository.deleteById(id);
+        KeepAliveStatusCache.evict(id);
         return OperationStatusRest.OPERATION_STATUS_OK;
     }
 
@@ -226,6 +228,7 @@ public class ProcessorTxService {
             return new OperationStatusRest(EnumsApi.OperationStatus.ERROR, "807.082 ProcessorCore wasn't found, processorCoreId: " + id);
         }
         processorCoreRepository.deleteById(id);
+        KeepAliveStatusCache.evict(core.processorId);
         return OperationStatusRest.OPERATION_STATUS_OK;
     }
 
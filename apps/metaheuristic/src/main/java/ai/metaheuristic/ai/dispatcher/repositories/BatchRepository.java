@@ -49,6 +49,17 @@ public interface BatchRepository extends CrudRepository<Batch, Long> {
     @Query(value="select b.id, b.createdOn, b.deleted from Batch b ")
     List<Object[]> findAllIdAndCreatedOnAndDeleted();
 
+    // virtually deleted batches which are older than deletedBefore, and batches without execContext or company
+    @Transactional(readOnly = true)
+    @Query(value= """
+            select b.id from Batch b
+            where b.id>:lastId and (
+                (b.deleted=true and b.createdOn<:deletedBefore)
+                or not exists (select e.id from ExecContextImpl e where e.id=b.execContextId)
+                or not exists (select c.id from Company c where c.uniqueId=b.companyId))
+            order by b.id""")
+    List<Long> findOrphanOrObsoletedIds(Pageable pageable, Long lastId, long deletedBefore);
+
     @Override
     @Modifying
     @Query(value="delete from Batch t where t.id=:id")
@@ -17,6 +17,7 @@
 package ai.metaheuristic.ai.dispatcher.repositories;
 
 import ai.metaheuristic.ai.dispatcher.beans.CacheVariable;
+import org.jspecify.annotations.Nullable;
 import org.springframework.context.annotation.Profile;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -56,4 +57,20 @@ public interface CacheVariableRepository extends CrudRepository<CacheVariable, L
     @Transactional(readOnly = true, propagation=Propagation.NOT_SUPPORTED)
     List<Object[]> getVarsByCacheProcessId(Long cacheProcessId);
 
+    @Query(value="select b.id from CacheVariable b where b.cacheProcessId=:cacheProcessId")
+    List<Long> findIdsByCacheProcessId(Long cacheProcessId);
+
+    @Nullable
+    @Query(value="select b.sha256 from CacheVariable b where b.id=:id")
+    String findSha256ById(Long id);
+
+    // content-addressed storage. Both return the number of updated rows, so a reference is counted exactly once
+    @Modifying
+    @Query(value="update CacheVariable b set b.sha256=:sha256, b.nullified=false, b.createdOn=:createdOn where b.id=:id and b.sha256 is null")
+    int linkSha256(Long id, String sha256, long createdOn);
+
+    @Modifying
+    @Query(value="update CacheVariable b set b.sha256=null where b.id=:id and b.sha256=:sha256")
+    int unlinkSha256(Long id, String sha256);
+
 }
@@ -0,0 +1,58 @@
+/*
+ * Metaheuristic, Copyright (C) 2017-2025, Innovation platforms, LLC
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package ai.metaheuristic.ai.dispatcher.repositories;
+
+import ai.metaheuristic.ai.dispatcher.beans.ContentBlob;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * @author Serge
+ * Date: 10/18/2026
+ * Time: 6:20 PM
+ */
+@Repository
+@Profile("dispatcher")
+public interface ContentBlobRepository extends CrudRepository<ContentBlob, Long> {
+
+    @Modifying
+    @Query(value="update ContentBlob c set c.updatedOn=:updatedOn where c.sha256=:sha256")
+    int touch(String sha256, long updatedOn);
+
+    @Modifying
+    @Query(value="update ContentBlob c set c.refCount=c.refCount+1, c.updatedOn=:updatedOn where c.sha256=:sha256")
+    int incrementRefCount(String sha256, long updatedOn);
+
+    @Modifying
+    @Query(value="update ContentBlob c set c.refCount=c.refCount-1, c.updatedOn=:updatedOn where c.sha256=:sha256")
+    int decrementRefCount(String sha256, long updatedOn);
+
+    @Query(value="select c.id, c.sha256 from ContentBlob c where c.refCount<=0 and c.updatedOn<:updatedBefore and c.id>:lastId order by c.id")
+    List<Object[]> findUnreferenced(Pageable pageable, Long lastId, long updatedBefore);
+
+    // the condition is checked again at deleting, so data which was referenced again in the meantime is kept
+    @Modifying
+    @Query(value="delete from ContentBlob c where c.id=:id and c.refCount<=0 and c.updatedOn<:updatedBefore")
+    int deleteIfUnreferenced(Long id, long updatedBefore);
+}
@@ -18,6 +18,7 @@ package ai.metaheuristic.ai.dispatcher.repositories;
 
 import ai.metaheuristic.ai.dispatcher.beans.ExecContextGraph;
 import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
@@ -37,6 +38,13 @@ public interface ExecContextGraphRepository extends CrudRepository<ExecContextGr
     @Query(value="select w.id from ExecContextGraph w")
     List<Long> findAllIds();
 
+    @Query(value= """
+            select g.id from ExecContextGraph g
+            where g.id>:lastId and g.createdOn>0 and g.createdOn<:createdBefore
+                and not exists (select e.id from ExecContextImpl e where e.execContextGraphId=g.id)
+            order by g.id""")
+    List<Long> findOrphanIds(Pageable pageable, Long lastId, long createdBefore);
+
 //    @Query(value="select distinct v.execContextId from ExecContextGraph v")
 //    List<Long> getAllExecContextIds();
 
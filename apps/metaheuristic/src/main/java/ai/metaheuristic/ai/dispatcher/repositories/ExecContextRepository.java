@@ -129,5 +129,14 @@ public interface ExecContextRepository extends CrudRepository<ExecContextImpl, L
     @Query("SELECT t.execContextGraphId FROM ExecContextImpl t where t.id in :execContextIds")
     Set<Long> findExecContextGraphIds(List<Long> execContextIds);
 
+    @Transactional(readOnly = true)
+    @Query(value= """
+            select e.id from ExecContextImpl e
+            where e.id>:lastId and (
+                (e.rootExecContextId is not null and not exists (select r.id from ExecContextImpl r where r.id=e.rootExecContextId))
+                or not exists (select s.id from SourceCodeImpl s where s.id=e.sourceCodeId))
+            order by e.id""")
+    List<Long> findOrphanIds(Pageable pageable, Long lastId);
+
 }
 
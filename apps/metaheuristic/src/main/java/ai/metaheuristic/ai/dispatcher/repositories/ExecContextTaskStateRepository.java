@@ -52,6 +52,14 @@ public interface ExecContextTaskStateRepository extends CrudRepository<ExecConte
     @Transactional(readOnly = true, propagation = Propagation.NOT_SUPPORTED)
     List<Long> findAllIds();
 
+    @Transactional(readOnly = true, propagation = Propagation.NOT_SUPPORTED)
+    @Query(value= """
+            select s.id from ExecContextTaskState s
+            where s.id>:lastId and s.createdOn>0 and s.createdOn<:createdBefore
+                and not exists (select e.id from ExecContextImpl e where e.execContextTaskStateId=s.id)
+            order by s.id""")
+    List<Long> findOrphanIds(Pageable pageable, Long lastId, long createdBefore);
+
     @Query(value="select w.version from ExecContextTaskState w where w.id=:id")
     @Nullable
     Integer findVersionById(Long id);
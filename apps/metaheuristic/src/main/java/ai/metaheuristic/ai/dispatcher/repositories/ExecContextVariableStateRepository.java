@@ -50,4 +50,12 @@ public interface ExecContextVariableStateRepository extends CrudRepository<ExecC
     @Query(value="select w.id from ExecContextVariableState w")
     @Transactional(readOnly = true, propagation = Propagation.NOT_SUPPORTED)
     List<Long> findAllIds();
+
+    @Transactional(readOnly = true, propagation = Propagation.NOT_SUPPORTED)
+    @Query(value= """
+            select s.id from ExecContextVariableState s
+            where s.id>:lastId and s.createdOn>0 and s.createdOn<:createdBefore
+                and not exists (select e.id from ExecContextImpl e where e.execContextVariableStateId=s.id)
+            order by s.id""")
+    List<Long> findOrphanIds(Pageable pageable, Long lastId, long createdBefore);
 }
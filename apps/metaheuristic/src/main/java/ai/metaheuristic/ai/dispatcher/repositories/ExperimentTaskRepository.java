@@ -57,6 +57,13 @@ public interface ExperimentTaskRepository extends CrudRepository<ExperimentTask,
     @Nullable
     ExperimentTask findByExperimentResultIdAndTaskId(Long experimentResultId, Long taskId);
 
+    @Transactional(readOnly = true)
+    @Query("SELECT at.id, at.params FROM ExperimentTask at where at.experimentResultId=:experimentResultId and at.id>:lastId order by at.id")
+    List<Object[]> findIdsAndParamsWithPage(Pageable pageable, Long experimentResultId, Long lastId);
+
+    @Transactional(readOnly = true)
+    long countByExperimentResultId(Long experimentResultId);
+
     @Modifying
     @Query("delete from ExperimentTask e where e.experimentResultId=:experimentResultId")
     void deleteByExperimentResultId(Long experimentResultId);
@@ -43,6 +43,12 @@ public interface FunctionDataRepository extends CrudRepository<FunctionData, Lon
     @Query(value="select b.functionCode from FunctionData b ")
     List<String> findAllFunctionCodes();
 
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    @Query(value= """
+            select b.functionCode from FunctionData b
+            where not exists (select f.id from Function f where f.code=b.functionCode)""")
+    List<String> findOrphanFunctionCodes();
+
     @Nullable
     @Transactional(propagation = Propagation.MANDATORY, readOnly = true)
     @Query(value="select b.data from FunctionData b where b.id=:id")
@@ -50,6 +50,11 @@ public interface ProcessorCoreRepository extends CrudRepository<ProcessorCore, L
     @Query(value="select distinct p.processorId from ProcessorCore p")
     List<Long> getAllProcessorIds();
 
+    @Query(value= """
+            select distinct c.processorId from ProcessorCore c
+            where not exists (select p.id from Processor p where p.id=c.processorId)""")
+    List<Long> findOrphanProcessorIds();
+
     /**
      * A Task records the CORE it ran on, but a block covers a whole Processor - a core is a virtual
      * part of one Processor in the same JVM, so it is not a meaningful unit to withhold work from.
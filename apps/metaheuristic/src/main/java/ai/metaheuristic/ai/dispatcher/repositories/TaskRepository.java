@@ -86,6 +86,11 @@ public interface TaskRepository extends CrudRepository<TaskImpl, Long> {
     @Query(value="select distinct t.execContextId from TaskImpl t")
     List<Long> getAllExecContextIds();
 
+    @Query(value= """
+            select distinct t.execContextId from TaskImpl t
+            where not exists (select e.id from ExecContextImpl e where e.id=t.execContextId)""")
+    List<Long> findOrphanExecContextIds();
+
     @Nullable
     @Transactional(propagation = Propagation.NOT_SUPPORTED, readOnly = true)
     @Query(value="select t.execContextId from TaskImpl t where t.id=:taskId")
@@ -34,7 +34,7 @@ public interface VariableBlobMysqlRepository extends VariableBlobDatabaseSpecifi
     @Override
     @Modifying
     @Query(nativeQuery = true, value="update mh_variable_blob as trg, (select data from mh_cache_variable where id=:srcId) as src " +
-            "set trg.DATA= src.data " +
+            "set trg.DATA= src.data, trg.SHA256=null, trg.DATA_LENGTH=null " +
             "where trg.id=:trgId")
     void copyData(Long srcId, Long trgId);
 
@@ -34,7 +34,7 @@ public interface VariableBlobPostgresqlRepository extends VariableBlobDatabaseSp
     @Override
     @Modifying
     @Query(nativeQuery = true, value="update mh_variable_blob " +
-            "set DATA= (select data from mh_cache_variable where id=:srcId) " +
+            "set DATA= (select data from mh_cache_variable where id=:srcId), SHA256=null, DATA_LENGTH=null " +
             "where id=:trgId")
     void copyData(Long srcId, Long trgId);
 
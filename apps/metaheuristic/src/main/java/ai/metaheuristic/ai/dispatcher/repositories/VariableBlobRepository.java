@@ -18,6 +18,7 @@ package ai.metaheuristic.ai.dispatcher.repositories;
 
 import ai.metaheuristic.ai.dispatcher.beans.VariableBlob;
 import org.springframework.context.annotation.Profile;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
 import org.jspecify.annotations.Nullable;
@@ -25,6 +26,7 @@ import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.sql.Blob;
+import java.util.List;
 
 /**
  * @author Sergio Lissner
@@ -38,4 +40,23 @@ public interface VariableBlobRepository extends CrudRepository<VariableBlob, Lon
     @Query(value="select vb.data from VariableBlob vb where vb.id=:id")
     @Transactional(readOnly = true)
     Blob getDataAsStreamById(Long id);
+
+    // returns a list with one element - [sha256, dataLength], or an empty list if there isn't such blob
+    @Query(value="select vb.sha256, vb.dataLength from VariableBlob vb where vb.id=:id")
+    @Transactional(readOnly = true)
+    List<Object[]> getSha256AndLengthById(Long id);
+
+    // a bulk update, so DATA isn't touched and a write-once blob stays write-once
+    @Modifying
+    @Query(value="update VariableBlob vb set vb.sha256=:sha256, vb.dataLength=:dataLength where vb.id=:id")
+    void updateSha256AndLength(Long id, String sha256, Long dataLength);
+
+    // content-addressed storage. Both return the number of updated rows, so a reference is counted exactly once
+    @Modifying
+    @Query(value="update VariableBlob vb set vb.sha256=:sha256, vb.dataLength=:dataLength where vb.id=:id and vb.sha256 is null")
+    int linkSha256AndLength(Long id, String sha256, Long dataLength);
+
+    @Modifying
+    @Query(value="update VariableBlob vb set vb.sha256=null, vb.dataLength=null where vb.id=:id and vb.sha256=:sha256")
+    int unlinkSha256(Long id, String sha256);
 }
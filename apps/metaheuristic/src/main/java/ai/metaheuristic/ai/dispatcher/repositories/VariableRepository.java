@@ -52,10 +52,25 @@ public interface VariableRepository extends CrudRepository<Variable, Long> {
     @Query(value="select distinct v.execContextId from Variable v")
     List<Long> getAllExecContextIds();
 
+    @Query(value= """
+            select distinct v.execContextId from Variable v
+            where not exists (select e.id from ExecContextImpl e where e.id=v.execContextId)""")
+    List<Long> findOrphanExecContextIds();
+
     @Modifying
     @Query(value="delete from Variable t where t.id in (:ids)")
     void deleteByIds(List<Long> ids);
 
+    @Query(value="select v.variableBlobId from Variable v where v.id in (:ids) and v.variableBlobId is not null")
+    List<Long> findVariableBlobIdsByIds(List<Long> ids);
+
+    @Query(value="select v.variableBlobId from Variable v where v.execContextId=:execContextId and v.taskContextId=:taskContextId and v.variableBlobId is not null")
+    List<Long> findVariableBlobIdsByExecContextIdAndTaskContextId(Long execContextId, String taskContextId);
+
+    // a VariableBlob can be shared by variables of cloned execContexts
+    @Query(value="select count(v) from Variable v where v.variableBlobId=:variableBlobId")
+    long countByVariableBlobId(Long variableBlobId);
+
 //    @Transactional(readOnly = true, propagation = Propagation.NOT_SUPPORTED)
     @Query(value="select v from Variable v where v.name in :vars and v.execContextId=:execContextId")
     List<Variable> findByExecContextIdAndNames(Long execContextId, Collection<String> vars);
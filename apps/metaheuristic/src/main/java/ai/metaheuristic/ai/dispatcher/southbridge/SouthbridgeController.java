@@ -19,9 +19,11 @@ package ai.metaheuristic.ai.dispatcher.southbridge;
 import ai.metaheuristic.ai.Consts;
 import ai.metaheuristic.ai.dispatcher.commons.ArtifactCleanerAtDispatcher;
 import ai.metaheuristic.ai.dispatcher.exec_context.ExecContextVariableTopLevelService;
+import ai.metaheuristic.ai.exceptions.CommPayloadTooLargeException;
 import ai.metaheuristic.ai.exceptions.CommonErrorWithDataException;
 import ai.metaheuristic.ai.functions.FunctionRepositoryDispatcherService;
 import ai.metaheuristic.ai.utils.cleaner.CleanerInfo;
+import ai.metaheuristic.ai.yaml.communication.CommFormatUtils;
 import ai.metaheuristic.api.EnumsApi;
 import ai.metaheuristic.commons.S;
 import jakarta.servlet.http.HttpServletRequest;
@@ -31,6 +33,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Profile;
 import org.springframework.core.io.AbstractResource;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -40,6 +43,7 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 
 /**
  * User: Serg
@@ -74,19 +78,35 @@ public class SouthbridgeController {
     }
 
     @PostMapping("/srv-v2/{random-part}")
-    public String processRequestWithAuth(
-            HttpServletRequest request, HttpServletResponse response,
+    public ResponseEntity<byte[]> processRequestWithAuth(
+            HttpServletRequest request,
             @SuppressWarnings("unused") @PathVariable("random-part") String randomPart,
-            @Nullable @RequestBody String data
-            ) throws IOException {
+            @Nullable @RequestHeader(value = CommFormatUtils.HEADER_COMM_FORMAT, required = false) String format,
+            @Nullable @RequestHeader(value = CommFormatUtils.HEADER_COMM_ACCEPT, required = false) String accept,
+            @Nullable @RequestBody byte[] data
+            ) {
         ArtifactCleanerAtDispatcher.setBusy();
         try {
-            log.debug("processRequestAuth(), data: {}", data);
-            if (S.b(data)) {
-                response.sendError(HttpServletResponse.SC_BAD_REQUEST);
-                return "";
+            log.debug("processRequestAuth(), format: {}, size of data: {}", format, data==null ? 0 : data.length);
+            if (data==null || data.length==0) {
+                return ResponseEntity.badRequest().build();
+            }
+            final CommFormatUtils.CommFormat requestFormat;
+            try {
+                requestFormat = CommFormatUtils.requestFormat(format);
+            }
+            catch (IllegalArgumentException e) {
+                log.warn("444.400 {}", e.getMessage());
+                return ResponseEntity.badRequest().build();
+            }
+            CommFormatUtils.CommFormat responseFormat = CommFormatUtils.negotiate(accept);
+            try {
+                return toCommResponse(responseFormat, serverService.processRequest(data, requestFormat, responseFormat, request.getRemoteAddr()));
+            }
+            catch (CommPayloadTooLargeException e) {
+                log.warn("444.405 {}, remote address: {}", e.getMessage(), request.getRemoteAddr());
+                return ResponseEntity.status(HttpStatus.CONTENT_TOO_LARGE).build();
             }
-            return serverService.processRequest(data, request.getRemoteAddr());
         }
         finally {
             ArtifactCleanerAtDispatcher.notBusy();
@@ -94,19 +114,49 @@ public class SouthbridgeController {
     }
 
     @PostMapping("/keep-alive/{random-part}")
-    public String keepAlive(
-            HttpServletRequest request, HttpServletResponse response,
+    public ResponseEntity<byte[]> keepAlive(
+            HttpServletRequest request,
             @SuppressWarnings("unused") @PathVariable("random-part") String randomPart,
-            @Nullable @RequestBody String data
-    ) throws IOException {
+            @Nullable @RequestHeader(value = CommFormatUtils.HEADER_COMM_FORMAT, required = false) String format,
+            @Nullable @RequestHeader(value = CommFormatUtils.HEADER_COMM_ACCEPT, required = false) String accept,
+            @Nullable @RequestBody byte[] data
+    ) {
         // there isn't ArtifactCleanerAtDispatcher.setBusy() because /keep-alive is requesting constantly
         //  but /srv-v2 only when there is task for processing
-        log.debug("keepAlive(), data: {}", data);
-        if (S.b(data)) {
-            response.sendError(HttpServletResponse.SC_BAD_REQUEST);
-            return "";
+        log.debug("keepAlive(), format: {}, size of data: {}", format, data==null ? 0 : data.length);
+        if (data==null || data.length==0) {
+            return ResponseEntity.badRequest().build();
+        }
+        final CommFormatUtils.CommFormat requestFormat;
+        try {
+            requestFormat = CommFormatUtils.requestFormat(format);
+        }
+        catch (IllegalArgumentException e) {
+            log.warn("444.410 {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+        CommFormatUtils.CommFormat responseFormat = CommFormatUtils.negotiate(accept);
+        try {
+            return toCommResponse(responseFormat, serverService.keepAlive(data, requestFormat, responseFormat, request.getRemoteAddr()));
+        }
+        catch (CommPayloadTooLargeException e) {
+            log.warn("444.415 {}, remote address: {}", e.getMessage(), request.getRemoteAddr());
+            return ResponseEntity.status(HttpStatus.CONTENT_TOO_LARGE).build();
+        }
+    }
+
+    private static ResponseEntity<byte[]> toCommResponse(CommFormatUtils.CommFormat format, byte[] body) {
+        HttpHeaders headers = new HttpHeaders();
+        String formatHeader = format.headerValue();
+        if (formatHeader!=null) {
+            headers.setContentType(MediaType.APPLICATION_OCTET_STREAM);
+            headers.set(CommFormatUtils.HEADER_COMM_FORMAT, formatHeader);
+        }
+        else {
+            // YAML is returned as application/json because processors of previous versions accept only application/json
+            headers.setContentType(new MediaType(MediaType.APPLICATION_JSON, StandardCharsets.UTF_8));
         }
-        return serverService.keepAlive(data, request.getRemoteAddr());
+        return new ResponseEntity<>(body, headers, HttpStatus.OK);
     }
 
     @GetMapping(value="/payload/resource/{variableType}/{taskId}/{random-part}", produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
@@ -115,15 +165,17 @@ public class SouthbridgeController {
             @PathVariable("variableType") String variableType,
             @PathVariable("taskId") Long taskId,
             @SuppressWarnings("unused") @Nullable @PathVariable("random-part") String randomPart,
-            @Nullable String id, @Nullable String chunkSize, @Nullable Integer chunkNum) {
-        log.debug("deliverResourceAuth(), id: {}, chunkSize: {}, chunkNum: {}", id, chunkSize, chunkNum);
-        if (S.b(id) || S.b(chunkSize) || chunkNum==null) {
+            @Nullable String id, @Nullable String chunkSize, @Nullable Integer chunkNum,
+            @Nullable @RequestHeader(value=HttpHeaders.RANGE, required=false) String range) {
+        log.debug("deliverResourceAuth(), id: {}, chunkSize: {}, chunkNum: {}, range: {}", id, chunkSize, chunkNum, range);
+        // either a chunk or HTTP range must be requested
+        if (S.b(id) || (S.b(range) && (S.b(chunkSize) || chunkNum==null))) {
             return new ResponseEntity<>(Consts.ZERO_BYTE_ARRAY_RESOURCE, HttpStatus.BAD_REQUEST);
         }
 
         final ResponseEntity<AbstractResource> entity;
         try {
-            CleanerInfo resource = serverService.deliverData(taskId, EnumsApi.DataType.valueOf(variableType), id, chunkSize, chunkNum);
+            CleanerInfo resource = serverService.deliverData(taskId, EnumsApi.DataType.valueOf(variableType), id, chunkSize, chunkNum==null ? 0 : chunkNum, range);
             entity = resource.entity;
             request.setAttribute(Consts.RESOURCES_TO_CLEAN, resource.toClean);
         } catch (CommonErrorWithDataException e) {
@@ -137,15 +189,17 @@ public class SouthbridgeController {
             HttpServletRequest request,
             @PathVariable("variableType") String variableType,
             @SuppressWarnings("unused") @Nullable @PathVariable("random-part") String randomPart,
-            @Nullable String id, @Nullable String chunkSize, @Nullable Integer chunkNum) {
-        log.debug("deliverResourceAuth(), id: {}, chunkSize: {}, chunkNum: {}", id, chunkSize, chunkNum);
-        if (S.b(id) || S.b(chunkSize) || chunkNum==null) {
+            @Nullable String id, @Nullable String chunkSize, @Nullable Integer chunkNum,
+            @Nullable @RequestHeader(value=HttpHeaders.RANGE, required=false) String range) {
+        log.debug("deliverResourceAuth(), id: {}, chunkSize: {}, chunkNum: {}, range: {}", id, chunkSize, chunkNum, range);
+        // either a chunk or HTTP range must be requested
+        if (S.b(id) || (S.b(range) && (S.b(chunkSize) || chunkNum==null))) {
             return new ResponseEntity<>(Consts.ZERO_BYTE_ARRAY_RESOURCE, HttpStatus.BAD_REQUEST);
         }
 
         final ResponseEntity<AbstractResource> entity;
         try {
-            CleanerInfo resource = serverService.deliverData(null, EnumsApi.DataType.valueOf(variableType), id, chunkSize, chunkNum);
+            CleanerInfo resource = serverService.deliverData(null, EnumsApi.DataType.valueOf(variableType), id, chunkSize, chunkNum==null ? 0 : chunkNum, range);
             entity = resource.entity;
             request.setAttribute(Consts.RESOURCES_TO_CLEAN, resource.toClean);
         } catch (CommonErrorWithDataException e) {
@@ -40,6 +40,7 @@ import ai.metaheuristic.ai.utils.TxUtils;
 import ai.metaheuristic.api.data.AssetFile;
 import ai.metaheuristic.ai.utils.asset.AssetUtils;
 import ai.metaheuristic.ai.utils.cleaner.CleanerInfo;
+import ai.metaheuristic.ai.yaml.communication.CommFormatUtils;
 import ai.metaheuristic.ai.yaml.communication.dispatcher.DispatcherCommParamsYaml;
 import ai.metaheuristic.ai.yaml.communication.dispatcher.DispatcherCommParamsYamlUtils;
 import ai.metaheuristic.ai.yaml.communication.keep_alive.KeepAliveRequestParamYaml;
@@ -50,15 +51,14 @@ import ai.metaheuristic.ai.yaml.communication.processor.ProcessorCommParamsYaml;
 import ai.metaheuristic.ai.yaml.communication.processor.ProcessorCommParamsYamlUtils;
 import ai.metaheuristic.api.EnumsApi;
 import ai.metaheuristic.api.data.DispatcherApiData;
-import ai.metaheuristic.commons.S;
+import ai.metaheuristic.commons.spi.VariableDataRange;
 import tools.jackson.core.JacksonException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.io.input.BoundedInputStream;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Profile;
-import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.AbstractResource;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -66,8 +66,7 @@ import org.jspecify.annotations.Nullable;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
-import java.io.InputStream;
-import java.nio.file.Files;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.function.BiConsumer;
@@ -90,7 +89,7 @@ public class SouthbridgeService {
     private final ProcessorCache processorCache;
     private final ProcessorTxService processorTransactionService;
 
-    private static final CommonSync<String> commonSync = new CommonSync<>();
+    private static final CommonSync<String> commonSync = new CommonSync<>("southbridge");
 
     private static void getWithSyncVoid(final EnumsApi.DataType binaryType, final String code, Runnable runnable) {
         TxUtils.checkTxNotExists();
@@ -117,23 +116,82 @@ public class SouthbridgeService {
         }
     }
 
+    /**
+     * Requested range of data. Either a chunk of processor's protocol, chunkSize and chunkNum,
+     * or a single range of HTTP header Range, i.e. "bytes=100-199" or "bytes=100-".
+     * Other forms of header Range are ignored, as RFC 9110 allows, and the whole data is returned.
+     */
+    record DataRange(long offset, long maxLength, boolean httpRange) {
+        static final DataRange WHOLE = new DataRange(0, Long.MAX_VALUE, false);
+
+        static DataRange of(@Nullable String chunkSize, int chunkNum, @Nullable String rangeHeader) {
+            DataRange range = parseRangeHeader(rangeHeader);
+            if (range!=null) {
+                return range;
+            }
+            if (chunkSize == null || chunkSize.isBlank()) {
+                return WHOLE;
+            }
+            final long size = Long.parseLong(chunkSize);
+            return new DataRange(size * chunkNum, size, false);
+        }
+
+        @Nullable
+        static DataRange parseRangeHeader(@Nullable String rangeHeader) {
+            if (rangeHeader==null) {
+                return null;
+            }
+            String s = rangeHeader.strip();
+            if (!s.startsWith("bytes=") || s.indexOf(',')!=-1) {
+                return null;
+            }
+            s = s.substring("bytes=".length()).strip();
+            int idx = s.indexOf('-');
+            if (idx<=0) {
+                return null;
+            }
+            try {
+                long first = Long.parseLong(s.substring(0, idx).strip());
+                String lastStr = s.substring(idx + 1).strip();
+                if (lastStr.isEmpty()) {
+                    return new DataRange(first, Long.MAX_VALUE, true);
+                }
+                long last = Long.parseLong(lastStr);
+                if (first<0 || last<first) {
+                    return null;
+                }
+                return new DataRange(first, last - first + 1, true);
+            }
+            catch (NumberFormatException e) {
+                return null;
+            }
+        }
+    }
+
+    public CleanerInfo deliverData(@Nullable Long taskId, final EnumsApi.DataType binaryType, final String dataId, @Nullable final String chunkSize, final int chunkNum) {
+        return deliverData(taskId, binaryType, dataId, chunkSize, chunkNum, null);
+    }
+
     // return a requested data to a processor
     // data can be Function or Variable
-    public CleanerInfo deliverData(@Nullable Long taskId, final EnumsApi.DataType binaryType, final String dataId, @Nullable final String chunkSize, final int chunkNum) {
+    public CleanerInfo deliverData(
+        @Nullable Long taskId, final EnumsApi.DataType binaryType, final String dataId,
+        @Nullable final String chunkSize, final int chunkNum, @Nullable String rangeHeader) {
+        final DataRange range = DataRange.of(chunkSize, chunkNum, rangeHeader);
         switch (binaryType) {
             case function:
-                return deliverFunction(dataId, chunkSize, chunkNum);
+                return deliverFunction(dataId, range);
             case variable:
-                return deliverVariable(taskId, dataId, chunkSize, chunkNum);
+                return deliverVariable(taskId, dataId, range);
             case global_variable:
-                return deliverGlobalVariable(dataId, chunkSize, chunkNum);
+                return deliverGlobalVariable(dataId, range);
             default:
                 throw new IllegalStateException("444.160 Unknown type of data: " + binaryType);
         }
     }
 
     // Delivers a Function asset. Path computed from dispatcherResourcesPath.
-    private CleanerInfo deliverFunction(final String dataId, @Nullable final String chunkSize, final int chunkNum) {
+    private CleanerInfo deliverFunction(final String dataId, DataRange range) {
         AssetFile assetFile = AssetUtils.prepareFunctionAssetFile(globals.dispatcherResourcesPath, dataId, null);
         if (assetFile.isError) {
             String es = "444.100 Function with id " + dataId + " is broken";
@@ -141,13 +199,34 @@ public class SouthbridgeService {
             throw new FunctionDataNotFoundException(dataId, es);
         }
         BiConsumer<String, Path> dataSaver = functionDataService::storeToFile;
-        return streamAssetFile(EnumsApi.DataType.function, assetFile, dataId, dataSaver, chunkSize, chunkNum);
+        return streamAssetFile(EnumsApi.DataType.function, assetFile, dataId, dataSaver, range);
     }
 
     // Delivers a local Variable asset. Path computed from dispatcherTempPath.
     // Extracted so it can be exercised directly in characterization tests without
     // wiring the full dispatcher context.
     CleanerInfo deliverVariable(@Nullable Long taskId, final String dataId, @Nullable final String chunkSize, final int chunkNum) {
+        return deliverVariable(taskId, dataId, DataRange.of(chunkSize, chunkNum, null));
+    }
+
+    CleanerInfo deliverVariable(@Nullable Long taskId, final String dataId, DataRange range) {
+        if (taskId!=null) {
+            eventPublisher.publishEvent(new TaskCommunicationEvent(taskId));
+        }
+        // a storage with random access serves the range directly, without a temp file
+        CleanerInfo resource = new CleanerInfo();
+        try {
+            VariableDataRange dataRange = variableService.getVariableDataRangeWithTx(Long.parseLong(dataId), range.offset, range.maxLength);
+            if (dataRange!=null) {
+                resource.entity = toEntity(EnumsApi.DataType.variable, dataId, dataRange, range);
+                return resource;
+            }
+        }
+        catch(VariableIsNullException e) {
+            resource.entity = new ResponseEntity<>(Consts.ZERO_BYTE_ARRAY_RESOURCE, new HttpHeaders(), HttpStatus.NO_CONTENT);
+            return resource;
+        }
+
         AssetFile assetFile = AssetUtils.prepareFileForVariable(globals.dispatcherTempPath, "" + EnumsApi.DataType.variable + '-' + dataId, null, EnumsApi.DataType.variable);
         if (assetFile.isError) {
             String es = "444.120 Resource with id " + dataId + " is broken";
@@ -155,14 +234,11 @@ public class SouthbridgeService {
             throw new VariableDataNotFoundException(Long.parseLong(dataId), EnumsApi.VariableContext.local, es);
         }
         BiConsumer<String, Path> dataSaver = (variableId, trgFile) -> variableService.storeToFileWithTx(Long.parseLong(variableId), trgFile);
-        if (taskId!=null) {
-            eventPublisher.publishEvent(new TaskCommunicationEvent(taskId));
-        }
-        return streamAssetFile(EnumsApi.DataType.variable, assetFile, dataId, dataSaver, chunkSize, chunkNum);
+        return streamAssetFile(EnumsApi.DataType.variable, assetFile, dataId, dataSaver, range);
     }
 
     // Delivers a Global Variable asset. Path computed from dispatcherTempPath.
-    private CleanerInfo deliverGlobalVariable(final String dataId, @Nullable final String chunkSize, final int chunkNum) {
+    private CleanerInfo deliverGlobalVariable(final String dataId, DataRange range) {
         AssetFile assetFile = AssetUtils.prepareFileForVariable(globals.dispatcherTempPath, "" + EnumsApi.DataType.global_variable + '-' + dataId, null, EnumsApi.DataType.global_variable);
         if (assetFile.isError) {
             String es = "444.140 Global variable with id " + dataId + " is broken";
@@ -170,7 +246,7 @@ public class SouthbridgeService {
             throw new VariableDataNotFoundException(Long.parseLong(dataId), EnumsApi.VariableContext.local, es);
         }
         BiConsumer<String, Path> dataSaver = (variableId, trgFile) -> globalVariableService.storeToFileWithTx(Long.parseLong(variableId), trgFile);
-        return streamAssetFile(EnumsApi.DataType.global_variable, assetFile, dataId, dataSaver, chunkSize, chunkNum);
+        return streamAssetFile(EnumsApi.DataType.global_variable, assetFile, dataId, dataSaver, range);
     }
 
     // Shared streaming path. If the asset file hasn't been populated yet, the dataSaver is
@@ -180,7 +256,7 @@ public class SouthbridgeService {
     // underlying variable blob has been updated since.
     private static CleanerInfo streamAssetFile(
         final EnumsApi.DataType binaryType, AssetFile assetFile, final String dataId,
-        BiConsumer<String, Path> dataSaver, @Nullable final String chunkSize, final int chunkNum) {
+        BiConsumer<String, Path> dataSaver, DataRange range) {
 
         CleanerInfo resource = new CleanerInfo();
 
@@ -198,69 +274,74 @@ public class SouthbridgeService {
             }
         }
 
-        InputStream fis;
         try {
-            fis = Files.newInputStream(assetFile.file);
-            resource.inputStreams.add(fis);
-
-            InputStream realInputStream = fis;
-
-            boolean isLastChunk;
-            long byteToRead = Files.size(assetFile.file);
-            if (chunkSize == null || chunkSize.isBlank()) {
-                isLastChunk = true;
-            } else {
-                final long size = Long.parseLong(chunkSize);
-                final long offset = size * chunkNum;
-                if (offset >= Files.size(assetFile.file)) {
-                    HttpHeaders headers = new HttpHeaders();
-                    headers.add(Consts.HEADER_MH_IS_LAST_CHUNK, "true");
-                    headers.add(Consts.HEADER_MH_CHUNK_SIZE, "0");
-                    resource.entity = new ResponseEntity<>(Consts.ZERO_BYTE_ARRAY_RESOURCE, headers, HttpStatus.OK);
-                    return resource;
-                }
-                final long realSize = Files.size(assetFile.file) < offset + size ? Files.size(assetFile.file) - offset : size;
-                byteToRead = realSize;
-                long skipped = fis.skip(offset);
-                if (skipped!=offset) {
-                    String es = S.f("444.190 Error (skipped!=offset), skipped: %d, offset: %d", skipped, offset);
-                    log.error(es);
-                    throw new CommonIOErrorWithDataException(es);
-                }
-
-                realInputStream =
-                    BoundedInputStream.builder()
-                    .setInputStream(fis)
-                    .setMaxCount(realSize)
-                    .get();
-
-                isLastChunk = (Files.size(assetFile.file) == (offset + realSize));
-            }
-            final HttpHeaders headers = RestUtils.getHeader(byteToRead);
-            headers.add(Consts.HEADER_MH_CHUNK_SIZE, Long.toString(byteToRead));
-            headers.add(Consts.HEADER_MH_IS_LAST_CHUNK, Boolean.toString(isLastChunk));
-            resource.entity = new ResponseEntity<>(new InputStreamResource(realInputStream), headers, HttpStatus.OK);
+            VariableDataRange dataRange = VariableDataRange.ofFile(assetFile.file, range.offset, range.maxLength);
+            resource.entity = toEntity(binaryType, dataId, dataRange, range);
             return resource;
         } catch (IOException e) {
             throw new CommonIOErrorWithDataException("Error: " + e);
         }
     }
 
+    private static ResponseEntity<AbstractResource> toEntity(
+        final EnumsApi.DataType binaryType, final String dataId, VariableDataRange dataRange, DataRange range) {
+
+        if (dataRange.length==0) {
+            HttpHeaders headers = new HttpHeaders();
+            if (range.httpRange && dataRange.totalSize>0) {
+                headers.set(HttpHeaders.CONTENT_RANGE, "bytes */" + dataRange.totalSize);
+                return new ResponseEntity<>(Consts.ZERO_BYTE_ARRAY_RESOURCE, headers, HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE);
+            }
+            headers.add(Consts.HEADER_MH_IS_LAST_CHUNK, "true");
+            headers.add(Consts.HEADER_MH_CHUNK_SIZE, "0");
+            headers.add(Consts.HEADER_MH_TOTAL_SIZE, Long.toString(dataRange.totalSize));
+            return new ResponseEntity<>(Consts.ZERO_BYTE_ARRAY_RESOURCE, headers, HttpStatus.OK);
+        }
+        final HttpHeaders headers = RestUtils.getHeader(dataRange.length);
+        headers.add(Consts.HEADER_MH_CHUNK_SIZE, Long.toString(dataRange.length));
+        headers.add(Consts.HEADER_MH_IS_LAST_CHUNK, Boolean.toString(dataRange.isLast()));
+        headers.add(Consts.HEADER_MH_TOTAL_SIZE, Long.toString(dataRange.totalSize));
+        headers.set(HttpHeaders.ACCEPT_RANGES, "bytes");
+        AbstractResource body = new VariableDataRangeResource(binaryType + " #" + dataId, dataRange);
+        if (range.httpRange) {
+            headers.set(HttpHeaders.CONTENT_RANGE,
+                "bytes " + dataRange.offset + '-' + (dataRange.offset + dataRange.length - 1) + '/' + dataRange.totalSize);
+            return new ResponseEntity<>(body, headers, HttpStatus.PARTIAL_CONTENT);
+        }
+        return new ResponseEntity<>(body, headers, HttpStatus.OK);
+    }
+
     public String keepAlive(String data, String remoteAddress) {
+        byte[] bytes = keepAlive(data.getBytes(StandardCharsets.UTF_8), CommFormatUtils.CommFormat.yaml, CommFormatUtils.CommFormat.yaml, remoteAddress);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    public byte[] keepAlive(byte[] data, CommFormatUtils.CommFormat requestFormat, CommFormatUtils.CommFormat responseFormat, String remoteAddress) {
         globals.state.awaitingForProcessor = false;
-        KeepAliveRequestParamYaml karpy = KeepAliveRequestParamYamlUtils.BASE_YAML_UTILS.to(data);
+        KeepAliveRequestParamYaml karpy = CommFormatUtils.decode(
+                requestFormat, KeepAliveRequestParamYamlUtils.BASE_YAML_UTILS, KeepAliveRequestParamYaml.class, data, maxCommRequestSize());
         KeepAliveResponseParamYaml response = keepAliveService.processKeepAliveInternal(karpy, remoteAddress, System.currentTimeMillis());
-        String yaml = KeepAliveResponseParamYamlUtils.BASE_YAML_UTILS.toString(response);
-        log.info("444.194 keepAlive(), size of request yaml: {}, response yaml: {}", data.length(), yaml.length());
-        return yaml;
+        byte[] bytes = CommFormatUtils.encode(responseFormat, KeepAliveResponseParamYamlUtils.BASE_YAML_UTILS, response);
+        log.info("444.194 keepAlive(), size of request {}: {}, response {}: {}", requestFormat, data.length, responseFormat, bytes.length);
+        return bytes;
     }
 
     public String processRequest(String data, String remoteAddress) {
-        ProcessorCommParamsYaml scpy = ProcessorCommParamsYamlUtils.BASE_YAML_UTILS.to(data);
+        byte[] bytes = processRequest(data.getBytes(StandardCharsets.UTF_8), CommFormatUtils.CommFormat.yaml, CommFormatUtils.CommFormat.yaml, remoteAddress);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    public byte[] processRequest(byte[] data, CommFormatUtils.CommFormat requestFormat, CommFormatUtils.CommFormat responseFormat, String remoteAddress) {
+        ProcessorCommParamsYaml scpy = CommFormatUtils.decode(
+                requestFormat, ProcessorCommParamsYamlUtils.BASE_YAML_UTILS, ProcessorCommParamsYaml.class, data, maxCommRequestSize());
         DispatcherCommParamsYaml lcpy = processRequestInternal(remoteAddress, scpy);
-        String yaml = DispatcherCommParamsYamlUtils.BASE_YAML_UTILS.toString(lcpy);
-        log.info("444.210 processRequest(), size of request yaml: {}, response yaml: {}", data.length(), yaml.length());
-        return yaml;
+        byte[] bytes = CommFormatUtils.encode(responseFormat, DispatcherCommParamsYamlUtils.BASE_YAML_UTILS, lcpy);
+        log.info("444.210 processRequest(), size of request {}: {}, response {}: {}", requestFormat, data.length, responseFormat, bytes.length);
+        return bytes;
+    }
+
+    private int maxCommRequestSize() {
+        return (int) Math.min(globals.dispatcher.maxCommRequestSize.toBytes(), Integer.MAX_VALUE - 1);
     }
 
     private DispatcherCommParamsYaml processRequestInternal(String remoteAddress, ProcessorCommParamsYaml scpy) {
@@ -0,0 +1,74 @@
+/*
+ * Metaheuristic, Copyright (C) 2017-2025, Innovation platforms, LLC
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package ai.metaheuristic.ai.dispatcher.southbridge;
+
+import ai.metaheuristic.commons.spi.VariableDataRange;
+import org.jspecify.annotations.Nullable;
+import org.springframework.core.io.AbstractResource;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Resource over a range of variable's data. Unlike InputStreamResource, nothing is opened
+ * until the response is being written, and the stream is closed by the message converter.
+ *
+ * @author Serge
+ * Date: 10/18/2026
+ * Time: 4:30 PM
+ */
+public class VariableDataRangeResource extends AbstractResource {
+
+    private final String description;
+    public final VariableDataRange range;
+
+    public VariableDataRangeResource(String description, VariableDataRange range) {
+        this.description = description;
+        this.range = range;
+    }
+
+    @Override
+    public String getDescription() {
+        return description + ", range " + range.offset + '+' + range.length + " of " + range.totalSize;
+    }
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+        return range.getInputStream();
+    }
+
+    @Override
+    public boolean exists() {
+        return true;
+    }
+
+    @Override
+    public long contentLength() {
+        return range.length;
+    }
+
+    @Override
+    public boolean equals(@Nullable Object other) {
+        return this==other;
+    }
+
+    @Override
+    public int hashCode() {
+        return System.identityHashCode(this);
+    }
+}
@@ -18,9 +18,11 @@ package ai.metaheuristic.ai.dispatcher.status;
 
 import ai.metaheuristic.ai.dispatcher.beans.*;
 import ai.metaheuristic.ai.dispatcher.exec_context.ExecContextTopLevelService;
+import ai.metaheuristic.ai.dispatcher.exec_context_graph.ExecContextGraphService;
 import ai.metaheuristic.ai.dispatcher.repositories.*;
 import ai.metaheuristic.commons.utils.CollectionUtils;
 import ai.metaheuristic.ai.utils.StatusUtils;
+import ai.metaheuristic.ai.yaml.exec_context_graph.ExecContextGraphDotUtils;
 import ai.metaheuristic.ai.yaml.exec_context_graph.ExecContextGraphParamsYaml;
 import ai.metaheuristic.ai.yaml.exec_context_task_state.ExecContextTaskStateParamsYaml;
 import ai.metaheuristic.api.EnumsApi;
@@ -100,7 +102,7 @@ public class DispatcherStatusService {
         s.append(S.f("""
               Graph #%d
             %s
-            """, ecg.id, ecgParams.graph.indent(2)));
+            """, ecg.id, ExecContextGraphDotUtils.asString(ExecContextGraphService.importExecContextGraph(ecgParams)).indent(2)));
 
         ExecContextApiData.ExecContextStateResult execContextState = execContextTopLevelService.getExecContextState(sc.id, ec.id, null, authentication);
         if (execContextState.taskStateInfos!=null) {
@@ -0,0 +1,471 @@
+/*
+ * Metaheuristic, Copyright (C) 2017-2025, Innovation platforms, LLC
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package ai.metaheuristic.ai.dispatcher.storage;
+
+import ai.metaheuristic.ai.Globals;
+import ai.metaheuristic.ai.dispatcher.beans.GlobalVariable;
+import ai.metaheuristic.ai.dispatcher.beans.Variable;
+import ai.metaheuristic.ai.dispatcher.commons.CommonSync;
+import ai.metaheuristic.ai.dispatcher.repositories.*;
+import ai.metaheuristic.ai.exceptions.FunctionDataErrorException;
+import ai.metaheuristic.ai.exceptions.VariableCommonException;
+import ai.metaheuristic.ai.exceptions.VariableDataNotFoundException;
+import ai.metaheuristic.api.EnumsApi;
+import ai.metaheuristic.commons.CommonConsts;
+import ai.metaheuristic.commons.spi.DispatcherBlobStorage;
+import ai.metaheuristic.commons.spi.StoredVariable;
+import ai.metaheuristic.commons.spi.VariableDataRange;
+import ai.metaheuristic.commons.utils.checksum.Sha256LengthInputStream;
+import ai.metaheuristic.commons.yaml.task.TaskParamsYaml;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.io.IOUtils;
+import org.jspecify.annotations.Nullable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.*;
+import java.nio.file.*;
+import java.nio.file.attribute.FileTime;
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Content-addressed storage on disk. Data of variables and cache variables is stored in files which are named
+ * by SHA-256 of data, so identical data is stored once. VariableBlob and CacheVariable point to the data via
+ * their SHA256 columns, and MH_CONTENT_BLOB counts these references. Because of that, storing the outputs of task
+ * in cache and copying them back on a cache hit are updates of pointers, without any copying of data.
+ *
+ * <p>Data without references is deleted by {@link #reclaimUnreferencedData} which is called by ArtifactCleanerAtDispatcher.
+ * Data is deleted only when the last change of its references is older than {@link #RECLAIM_GRACE_MILLS}, and
+ * the file is deleted only if it wasn't touched by a store during the same period, so data which is being referenced
+ * right now by an uncommitted transaction can't be lost.
+ *
+ * <p>Global variables and functions are stored as in DiskBlobStorageService.
+ *
+ * @author Serge
+ * Date: 10/18/2026
+ * Time: 6:50 PM
+ */
+@Slf4j
+@Service
+@Profile({"dispatcher & external-storage & cas-storage"})
+@RequiredArgsConstructor(onConstructor_={@Autowired})
+public class ContentAddressedBlobStorageService implements DispatcherBlobStorage {
+
+    private static final long RECLAIM_GRACE_MILLS = TimeUnit.HOURS.toMillis(1);
+    private static final Pageable RECLAIM_PAGE_REQUEST = PageRequest.of(0, 500);
+
+    // file operations of the same data are serialized, there isn't any db call under this lock
+    private static final CommonSync<String> contentSync = new CommonSync<>("content-blob");
+
+    public record StoredContent(String sha256, long length) {}
+
+    public static class ContentStorage {
+        public final Path basePath;
+        private final Path tempPath;
+
+        public ContentStorage(Path basePath) {
+            this.basePath = basePath;
+            this.tempPath = basePath.resolve("temp");
+        }
+
+        public Path getPath(String sha256) {
+            return basePath.resolve(sha256.substring(0, 2)).resolve(sha256.substring(2, 4)).resolve(sha256 + CommonConsts.BIN_EXT);
+        }
+
+        public Path getExistingPath(String sha256, Long id, EnumsApi.VariableContext context) {
+            Path path = getPath(sha256);
+            if (Files.notExists(path)) {
+                String es = "175.020 Data of variable #" + id + " wasn't found, sha256: " + sha256;
+                log.warn(es);
+                throw new VariableDataNotFoundException(id, context, es);
+            }
+            return path;
+        }
+
+        /**
+         * Writes data into a temp file while computing its SHA-256, then moves the file to its place,
+         * if the same data wasn't stored before. The time of modification of an existing file is updated,
+         * so the file can't be reclaimed while a new reference to it is being created.
+         */
+        public StoredContent store(InputStream is) throws IOException {
+            Files.createDirectories(tempPath);
+            Path tempFile = Files.createTempFile(tempPath, "content-", CommonConsts.BIN_EXT);
+            try {
+                Sha256LengthInputStream hashingStream = new Sha256LengthInputStream(is);
+                try (OutputStream os = Files.newOutputStream(tempFile); BufferedOutputStream bos = new BufferedOutputStream(os)) {
+                    IOUtils.copyLarge(hashingStream, bos);
+                }
+                final StoredContent content = new StoredContent(hashingStream.getSha256(), hashingStream.getLength());
+                final Path path = getPath(content.sha256());
+                withContentLock(content.sha256(), () -> touch(path) || moveTo(tempFile, path));
+                return content;
+            }
+            finally {
+                Files.deleteIfExists(tempFile);
+            }
+        }
+
+        public boolean deleteIfNotTouchedSince(String sha256, long before) {
+            final Path path = getPath(sha256);
+            return withContentLock(sha256, () -> {
+                try {
+                    if (Files.notExists(path) || Files.getLastModifiedTime(path).toMillis() >= before) {
+                        return false;
+                    }
+                    Files.delete(path);
+                    return true;
+                }
+                catch (IOException e) {
+                    log.error("175.040 Error while deleting " + path, e);
+                    return false;
+                }
+            });
+        }
+
+        private static boolean moveTo(Path tempFile, Path path) {
+            try {
+                Files.createDirectories(path.getParent());
+                Files.move(tempFile, path, StandardCopyOption.ATOMIC_MOVE);
+                return true;
+            }
+            catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private static boolean touch(Path path) {
+            try {
+                Files.setLastModifiedTime(path, FileTime.fromMillis(System.currentTimeMillis()));
+                return true;
+            }
+            catch (NoSuchFileException e) {
+                return false;
+            }
+            catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private static <T> T withContentLock(String sha256, Supplier<T> supplier) {
+            final ReentrantReadWriteLock.WriteLock lock = contentSync.getWriteLock(sha256);
+            try {
+                lock.lock();
+                return supplier.get();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private final Globals globals;
+    private final ContentBlobTxService contentBlobTxService;
+    private final ContentBlobRepository contentBlobRepository;
+    private final VariableBlobRepository variableBlobRepository;
+    private final CacheVariableRepository cacheVariableRepository;
+    private final VariableRepository variableRepository;
+    private final GlobalVariableRepository globalVariableRepository;
+    private final FunctionDataRepository functionDataRepository;
+    private final GeneralBlobService generalBlobService;
+
+    private ContentStorage contentStorage;
+    private DiskBlobStorageService.DataStorage dataStorageGlobalVariable;
+    private DiskBlobStorageService.DataStorage dataStorageFunction;
+
+    @PostConstruct
+    public void init() {
+        contentStorage = new ContentStorage(globals.getDispatcherStorageContentPath());
+        dataStorageGlobalVariable = new DiskBlobStorageService.DataStorage(globals.getDispatcherStorageGlobalVariablesPath());
+        dataStorageFunction = new DiskBlobStorageService.DataStorage(globals.getDispatcherStorageFunctionsPath());
+    }
+
+    // === variables
+
+    private Path getVariablePath(Long variableBlobId) {
+        List<Object[]> rows = variableBlobRepository.getSha256AndLengthById(variableBlobId);
+        @Nullable String sha256 = rows.isEmpty() ? null : (String) rows.get(0)[0];
+        if (sha256==null) {
+            String es = "175.060 Variable #" + variableBlobId + " wasn't found";
+            log.warn(es);
+            throw new VariableDataNotFoundException(variableBlobId, EnumsApi.VariableContext.local, es);
+        }
+        return contentStorage.getExistingPath(sha256, variableBlobId, EnumsApi.VariableContext.local);
+    }
+
+    @Override
+    public void accessVariableData(Long variableBlobId, Consumer<InputStream> processBlobDataFunc) throws IOException {
+        try (InputStream is = Files.newInputStream(getVariablePath(variableBlobId)); BufferedInputStream bis = new BufferedInputStream(is, 0x1000)) {
+            processBlobDataFunc.accept(bis);
+        }
+    }
+
+    @SneakyThrows
+    @Override
+    public InputStream getVariableDataAsStreamById(Long variableBlobId) {
+        return Files.newInputStream(getVariablePath(variableBlobId));
+    }
+
+    // data is write-once, so a range can be read directly from the file
+    @Override
+    public VariableDataRange getVariableDataRange(Long variableBlobId, long offset, long maxLength) throws IOException {
+        return VariableDataRange.ofFile(getVariablePath(variableBlobId), offset, maxLength);
+    }
+
+    @SneakyThrows
+    @Override
+    @Transactional
+    public void storeVariableData(Long variableBlobId, InputStream is, long size) {
+        if (size<=0) {
+            throw new IllegalStateException("175.080 Variable can't be of zero length, variableBlobId: " + variableBlobId);
+        }
+        StoredContent content = contentStorage.store(is);
+        ensureContentBlob(content);
+        linkVariableBlob(variableBlobId, content);
+    }
+
+    @SneakyThrows
+    @Override
+    @Transactional
+    public Long createAndStoreVariableData(InputStream is, long size) {
+        if (size<=0) {
+            throw new IllegalStateException("175.100 Variable can't be of zero length");
+        }
+        StoredContent content = contentStorage.store(is);
+        ensureContentBlob(content);
+        final Long variableBlobId = generalBlobService.createVariableIfNotExist(null);
+        linkVariableBlob(variableBlobId, content);
+        return variableBlobId;
+    }
+
+    @SneakyThrows
+    @Override
+    @Transactional
+    public void copyVariableData(StoredVariable sourceVariable, TaskParamsYaml.OutputVariable targetVariable) {
+        Variable trg = variableRepository.findById(targetVariable.id).orElse(null);
+        if (trg==null) {
+            log.warn("!!! trying to copy date to non-existed variable");
+            return;
+        }
+        @Nullable String sha256 = cacheVariableRepository.findSha256ById(sourceVariable.id);
+        if (sha256==null) {
+            String es = "175.120 Data of cache variable #" + sourceVariable.id + " wasn't found";
+            log.warn(es);
+            throw new VariableDataNotFoundException(sourceVariable.id, EnumsApi.VariableContext.local, es);
+        }
+        long length = Files.size(contentStorage.getExistingPath(sha256, sourceVariable.id, EnumsApi.VariableContext.local));
+
+        trg.variableBlobId = generalBlobService.createVariableIfNotExist(trg.variableBlobId);
+        if (trg.variableBlobId==null) {
+            throw new IllegalStateException("(trg.variableBlobId==null)");
+        }
+        // that's correct - targetVariable.filename
+        trg.filename = targetVariable.filename;
+        trg.uploadTs = new Timestamp(System.currentTimeMillis());
+        trg.inited = true;
+        trg.nullified = false;
+        variableRepository.save(trg);
+
+        // a re-used VariableBlob releases the data which it pointed to before
+        unlinkVariableBlob(trg.variableBlobId);
+        linkVariableBlob(trg.variableBlobId, new StoredContent(sha256, length));
+    }
+
+    @Override
+    @Transactional
+    public void releaseVariableData(Collection<Long> variableBlobIds) {
+        for (Long variableBlobId : new LinkedHashSet<>(variableBlobIds)) {
+            if (variableRepository.countByVariableBlobId(variableBlobId)>0) {
+                continue;
+            }
+            unlinkVariableBlob(variableBlobId);
+        }
+    }
+
+    private void linkVariableBlob(Long variableBlobId, StoredContent content) {
+        // WORM: a VariableBlob which already points to data is immutable
+        if (variableBlobRepository.linkSha256AndLength(variableBlobId, content.sha256(), content.length())==0) {
+            throw new IllegalStateException("175.140 VariableBlob #"+variableBlobId+" already has data or doesn't exist; record is immutable (write-once)");
+        }
+        addReference(content.sha256());
+    }
+
+    private void unlinkVariableBlob(Long variableBlobId) {
+        List<Object[]> rows = variableBlobRepository.getSha256AndLengthById(variableBlobId);
+        @Nullable String sha256 = rows.isEmpty() ? null : (String) rows.get(0)[0];
+        if (sha256!=null && variableBlobRepository.unlinkSha256(variableBlobId, sha256)>0) {
+            contentBlobRepository.decrementRefCount(sha256, System.currentTimeMillis());
+        }
+    }
+
+    // === cache variables
+
+    @Override
+    @Transactional
+    public boolean linkCacheVariableData(Long cacheVariableId, Long variableBlobId) {
+        List<Object[]> rows = variableBlobRepository.getSha256AndLengthById(variableBlobId);
+        @Nullable String sha256 = rows.isEmpty() ? null : (String) rows.get(0)[0];
+        if (sha256==null || Files.notExists(contentStorage.getPath(sha256))) {
+            return false;
+        }
+        linkCacheVariable(cacheVariableId, sha256);
+        return true;
+    }
+
+    @SneakyThrows
+    @Override
+    @Transactional
+    public void storeCacheVariableData(Long cacheVariableId, InputStream is, long size) {
+        StoredContent content = contentStorage.store(is);
+        ensureContentBlob(content);
+        linkCacheVariable(cacheVariableId, content.sha256());
+    }
+
+    @SneakyThrows
+    @Override
+    public void accessCacheVariableData(Long cacheVariableId, Consumer<InputStream> processBlobDataFunc) {
+        @Nullable String sha256 = cacheVariableRepository.findSha256ById(cacheVariableId);
+        if (sha256==null) {
+            String es = "175.160 Data of cache variable #" + cacheVariableId + " wasn't found";
+            log.warn(es);
+            throw new VariableDataNotFoundException(cacheVariableId, EnumsApi.VariableContext.local, es);
+        }
+        Path path = contentStorage.getExistingPath(sha256, cacheVariableId, EnumsApi.VariableContext.local);
+        try (InputStream is = Files.newInputStream(path); BufferedInputStream bis = new BufferedInputStream(is, 0x1000)) {
+            processBlobDataFunc.accept(bis);
+        }
+    }
+
+    @Override
+    @Transactional
+    public void releaseCacheVariableData(Collection<Long> cacheVariableIds) {
+        for (Long cacheVariableId : cacheVariableIds) {
+            @Nullable String sha256 = cacheVariableRepository.findSha256ById(cacheVariableId);
+            if (sha256!=null && cacheVariableRepository.unlinkSha256(cacheVariableId, sha256)>0) {
+                contentBlobRepository.decrementRefCount(sha256, System.currentTimeMillis());
+            }
+        }
+    }
+
+    private void linkCacheVariable(Long cacheVariableId, String sha256) {
+        if (cacheVariableRepository.linkSha256(cacheVariableId, sha256, System.currentTimeMillis())==0) {
+            throw new IllegalStateException("175.180 CacheVariable #"+cacheVariableId+" already has data or doesn't exist");
+        }
+        addReference(sha256);
+    }
+
+    // === references and reclaiming
+
+    private void ensureContentBlob(StoredContent content) {
+        try {
+            contentBlobTxService.ensureContentBlob(content.sha256(), content.length());
+        }
+        catch (DataIntegrityViolationException e) {
+            // the same data was stored concurrently, the record exists now
+            contentBlobTxService.ensureContentBlob(content.sha256(), content.length());
+        }
+    }
+
+    private void addReference(String sha256) {
+        if (contentBlobRepository.incrementRefCount(sha256, System.currentTimeMillis())==0) {
+            throw new IllegalStateException("175.200 Content #" + sha256 + " wasn't found");
+        }
+    }
+
+    @Override
+    public int reclaimUnreferencedData(BooleanSupplier isInterrupted) {
+        final long updatedBefore = System.currentTimeMillis() - RECLAIM_GRACE_MILLS;
+        int deleted = 0;
+        long lastId = 0;
+        List<Object[]> page;
+        while (!isInterrupted.getAsBoolean() && !(page = contentBlobRepository.findUnreferenced(RECLAIM_PAGE_REQUEST, lastId, updatedBefore)).isEmpty()) {
+            for (Object[] row : page) {
+                if (isInterrupted.getAsBoolean()) {
+                    break;
+                }
+                Long id = ((Number) row[0]).longValue();
+                String sha256 = (String) row[1];
+                lastId = id;
+                if (contentBlobTxService.deleteIfUnreferenced(id, updatedBefore)) {
+                    deleted++;
+                    if (!contentStorage.deleteIfNotTouchedSince(sha256, updatedBefore)) {
+                        log.info("175.220 File of content #{} was kept because it was stored again", sha256);
+                    }
+                }
+            }
+            if (page.size() < RECLAIM_PAGE_REQUEST.getPageSize()) {
+                break;
+            }
+        }
+        return deleted;
+    }
+
+    // === global variables and functions
+
+    @SneakyThrows
+    @Override
+    public InputStream getGlobalVariableDataAsStreamById(Long globalVariableId) {
+        return dataStorageGlobalVariable.getStreamById(globalVariableId);
+    }
+
+    @Override
+    public void accessGlobalVariableData(Long globalVariableId, Consumer<InputStream> processBlobDataFunc) throws IOException {
+        dataStorageGlobalVariable.accessData(globalVariableId, processBlobDataFunc);
+    }
+
+    @Override
+    @Transactional
+    public void storeGlobalVariableData(Long globalVariableId, InputStream is, long size) throws IOException {
+        GlobalVariable globalVariable = globalVariableRepository.findById(globalVariableId).orElse(null);
+        if (globalVariable==null) {
+            throw new VariableCommonException("175.240 globalVariable not found", globalVariableId);
+        }
+        globalVariable.uploadTs = new Timestamp(System.currentTimeMillis());
+        globalVariableRepository.save(globalVariable);
+        dataStorageGlobalVariable.storeData(globalVariableId, is, size);
+    }
+
+    @Override
+    public void accessFunctionData(String functionCode, Consumer<InputStream> processBlobDataFunc) throws IOException {
+        Long functionId = functionDataRepository.findIdByCode(functionCode);
+        if (functionId == null) {
+            throw new FunctionDataErrorException(functionCode, "175.260 error");
+        }
+        dataStorageFunction.accessData(functionId, processBlobDataFunc);
+    }
+
+    @SneakyThrows
+    @Override
+    public void storeFunctionData(Long functionDataId, InputStream is, long size) {
+        dataStorageFunction.storeData(functionDataId, is, size);
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Metaheuristic, Copyright (C) 2017-2025, Innovation platforms, LLC
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package ai.metaheuristic.ai.dispatcher.storage;
+
+import ai.metaheuristic.ai.dispatcher.beans.ContentBlob;
+import ai.metaheuristic.ai.dispatcher.repositories.ContentBlobRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * @author Serge
+ * Date: 10/18/2026
+ * Time: 6:35 PM
+ */
+@Service
+@Slf4j
+@Profile({"dispatcher & external-storage & cas-storage"})
+@RequiredArgsConstructor(onConstructor_={@Autowired})
+public class ContentBlobTxService {
+
+    private final ContentBlobRepository contentBlobRepository;
+
+    /**
+     * Creates a record of data without references, or marks an existing one as just used.
+     * The record is committed at once, so a reference to it can be added within a caller's transaction.
+     * If the same data is being stored concurrently, DataIntegrityViolationException will be thrown by unique index
+     * and this method can be called again.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void ensureContentBlob(String sha256, long dataLength) {
+        final long now = System.currentTimeMillis();
+        if (contentBlobRepository.touch(sha256, now)>0) {
+            return;
+        }
+        ContentBlob contentBlob = new ContentBlob();
+        contentBlob.sha256 = sha256;
+        contentBlob.dataLength = dataLength;
+        contentBlob.refCount = 0;
+        contentBlob.updatedOn = now;
+        contentBlobRepository.save(contentBlob);
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public boolean deleteIfUnreferenced(Long contentBlobId, long updatedBefore) {
+        return contentBlobRepository.deleteIfUnreferenced(contentBlobId, updatedBefore)>0;
+    }
+}
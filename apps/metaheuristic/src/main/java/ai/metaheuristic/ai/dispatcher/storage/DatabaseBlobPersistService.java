@@ -28,6 +28,7 @@ import ai.metaheuristic.ai.dispatcher.repositories.VariableBlobRepository;
 import ai.metaheuristic.ai.exceptions.FunctionDataErrorException;
 import ai.metaheuristic.ai.exceptions.FunctionDataNotFoundException;
 import ai.metaheuristic.ai.exceptions.VariableCommonException;
+import ai.metaheuristic.commons.utils.checksum.Sha256LengthInputStream;
 import ai.metaheuristic.commons.yaml.data_storage.DataStorageParamsUtils;
 import ai.metaheuristic.api.EnumsApi;
 import ai.metaheuristic.api.data_storage.DataStorageParams;
@@ -87,10 +88,12 @@ public class DatabaseBlobPersistService {
             throw new IllegalStateException("174.045 VariableBlob #"+variableBlobId+" already has data; record is immutable (write-once)");
         }
 
-        Blob blob = em.unwrap(SessionImplementor.class).getLobCreator().createBlob(is, size);
+        Sha256LengthInputStream hashingStream = new Sha256LengthInputStream(is);
+        Blob blob = em.unwrap(SessionImplementor.class).getLobCreator().createBlob(hashingStream, size);
         variableBlob.setData(blob);
         variableBlob.setMaterialized(true);
         VariableBlob result = variableBlobRepository.save(variableBlob);
+        storeSha256AndLength(result.id, hashingStream, size);
     }
 
     @Transactional(propagation = Propagation.REQUIRES_NEW)
@@ -99,13 +102,26 @@ public class DatabaseBlobPersistService {
         // together with its real data in a single operation - no empty pre-create, no stub, no later UPDATE of
         // DATA. This is the create-at-store-time path that makes the record literally touched once.
         VariableBlob variableBlob = new VariableBlob();
-        Blob blob = em.unwrap(SessionImplementor.class).getLobCreator().createBlob(is, size);
+        Sha256LengthInputStream hashingStream = new Sha256LengthInputStream(is);
+        Blob blob = em.unwrap(SessionImplementor.class).getLobCreator().createBlob(hashingStream, size);
         variableBlob.setData(blob);
         variableBlob.setMaterialized(true);
         VariableBlob result = variableBlobRepository.save(variableBlob);
+        storeSha256AndLength(result.id, hashingStream, size);
         return result.id;
     }
 
+    private void storeSha256AndLength(Long variableBlobId, Sha256LengthInputStream hashingStream, long size) {
+        // the stream is consumed by jdbc driver while flushing, a driver reads exactly 'size' bytes
+        em.flush();
+        if (hashingStream.getLength()!=size) {
+            // the data wasn't read at flush time by this driver. The checksum will be calculated on the first demand
+            log.debug("174.060 SHA-256 of variableBlob #{} wasn't calculated, read {} of {} bytes", variableBlobId, hashingStream.getLength(), size);
+            return;
+        }
+        variableBlobRepository.updateSha256AndLength(variableBlobId, hashingStream.getSha256(), size);
+    }
+
     @Transactional(propagation = Propagation.REQUIRES_NEW)
     public void storeGlobalVariable(Long globalVariableId, InputStream is, long size) {
         GlobalVariable globalVariable = globalVariableRepository.findById(globalVariableId).orElse(null);
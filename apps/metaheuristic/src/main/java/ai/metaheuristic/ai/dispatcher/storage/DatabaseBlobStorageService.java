@@ -26,10 +26,12 @@ import ai.metaheuristic.ai.utils.TxUtils;
 import ai.metaheuristic.api.EnumsApi;
 import ai.metaheuristic.commons.spi.DispatcherBlobStorage;
 import ai.metaheuristic.commons.spi.StoredVariable;
+import ai.metaheuristic.commons.spi.VariableDataRange;
 import ai.metaheuristic.commons.yaml.task.TaskParamsYaml;
 import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.Nullable;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Service;
@@ -54,6 +56,10 @@ import java.util.function.Consumer;
 @RequiredArgsConstructor(onConstructor_={@Autowired})
 public class DatabaseBlobStorageService implements DispatcherBlobStorage {
 
+    // a range is read within a transaction, so it's kept in memory until it will be sent.
+    // bigger ranges are served via temp file
+    private static final long MAX_RANGE_IN_MEMORY = 32L * 1024 * 1024;
+
     private final VariableDatabaseSpecificService variableDatabaseSpecificService;
     private final VariableBlobRepository variableBlobRepository;
     private final DatabaseBlobPersistService databaseBlobStoreService;
@@ -89,6 +95,30 @@ public class DatabaseBlobStorageService implements DispatcherBlobStorage {
         return is;
     }
 
+    @Nullable
+    @Override
+    public VariableDataRange getVariableDataRange(Long variableBlobId, long offset, long maxLength) throws SQLException, IOException {
+        TxUtils.checkTxExists();
+        Blob blob = variableBlobRepository.getDataAsStreamById(Objects.requireNonNull(variableBlobId));
+        if (blob==null) {
+            String es = "174.090 Variable #"+ variableBlobId +" wasn't found";
+            log.warn(es);
+            throw new VariableDataNotFoundException(variableBlobId, EnumsApi.VariableContext.local, es);
+        }
+        final long totalSize = blob.length();
+        final long length = VariableDataRange.rangeLength(totalSize, offset, maxLength);
+        if (length>MAX_RANGE_IN_MEMORY) {
+            return null;
+        }
+        if (length==0) {
+            return VariableDataRange.ofBytes(new byte[0], offset, totalSize);
+        }
+        // position of the first byte in Blob is 1
+        try (InputStream is = blob.getBinaryStream(offset + 1, length)) {
+            return VariableDataRange.ofBytes(is.readNBytes((int) length), offset, totalSize);
+        }
+    }
+
     public void storeVariableData(Long variableBlobId, InputStream is, long size ) {
         if (size<=0) {
             throw new IllegalStateException("174.165 Variable can't be of zero length, variableBlobId: " + variableBlobId);
@@ -32,8 +32,10 @@ import ai.metaheuristic.api.EnumsApi;
 import ai.metaheuristic.commons.CommonConsts;
 import ai.metaheuristic.commons.spi.DispatcherBlobStorage;
 import ai.metaheuristic.commons.spi.StoredVariable;
+import ai.metaheuristic.commons.spi.VariableDataRange;
 import ai.metaheuristic.commons.yaml.task.TaskParamsYaml;
 import ai.metaheuristic.commons.utils.DirUtils;
+import ai.metaheuristic.commons.utils.checksum.Sha256LengthInputStream;
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
@@ -106,6 +108,16 @@ public class DiskBlobStorageService implements DispatcherBlobStorage {
             return Files.newInputStream(dataPath);
         }
 
+        public VariableDataRange getRange(Long id, long offset, long maxLength) throws IOException {
+            final Path path = getPath(basePath, id);
+            if (path==null) {
+                String es = "176.090 Variable #"+ id +" wasn't found";
+                log.warn(es);
+                throw new VariableDataNotFoundException(id, EnumsApi.VariableContext.local, es);
+            }
+            return VariableDataRange.ofFile(path.resolve(id + CommonConsts.BIN_EXT), offset, maxLength);
+        }
+
         @SuppressWarnings("unused")
         public void storeData(Long id, InputStream is, long size) throws IOException {
             final Path path = getPoweredPath(basePath, id);
@@ -128,6 +140,7 @@ public class DiskBlobStorageService implements DispatcherBlobStorage {
     private final VariableRepository variableRepository;
     private final GeneralBlobService generalBlobService;
     private final GlobalVariableRepository globalVariableRepository;
+    private final MhGeneralBlobTxService mhGeneralBlobTxService;
 
     private DataStorage dataStorageVariable;
     private DataStorage dataStorageGlobalVariable;
@@ -154,6 +167,12 @@ public class DiskBlobStorageService implements DispatcherBlobStorage {
         return dataStorageVariable.getStreamById(variableBlobId);
     }
 
+    // a file of VariableBlob is write-once, so a range can be read directly from it, without any copying
+    @Override
+    public VariableDataRange getVariableDataRange(Long variableBlobId, long offset, long maxLength) throws IOException {
+        return dataStorageVariable.getRange(variableBlobId, offset, maxLength);
+    }
+
     @SneakyThrows
     @Override
     public void storeVariableData(Long variableBlobId, InputStream is, long size) {
@@ -168,7 +187,7 @@ public class DiskBlobStorageService implements DispatcherBlobStorage {
         if (Files.exists(dataPath)) {
             throw new IllegalStateException("174.247 VariableBlob file already exists and is immutable (write-once): " + dataPath);
         }
-        dataStorageVariable.storeData(variableBlobId, is, size);
+        storeVariableDataWithSha256(variableBlobId, is);
     }
 
     @SneakyThrows
@@ -185,10 +204,17 @@ public class DiskBlobStorageService implements DispatcherBlobStorage {
         if (Files.exists(newDataPath)) {
             throw new IllegalStateException("174.174 VariableBlob file already exists and is immutable (write-once): " + newDataPath);
         }
-        dataStorageVariable.storeData(variableBlobId, is, size);
+        storeVariableDataWithSha256(variableBlobId, is);
         return variableBlobId;
     }
 
+    // SHA-256 and length are computed while the file is being written, and kept in the anchor VariableBlob
+    private void storeVariableDataWithSha256(Long variableBlobId, InputStream is) throws IOException {
+        Sha256LengthInputStream hashingStream = new Sha256LengthInputStream(is);
+        dataStorageVariable.storeData(variableBlobId, hashingStream, -1);
+        mhGeneralBlobTxService.updateVariableSha256AndLength(variableBlobId, hashingStream.getSha256(), hashingStream.getLength());
+    }
+
     @SneakyThrows
     @Override
     public void copyVariableData(StoredVariable sourceVariable, TaskParamsYaml.OutputVariable targetVariable) {
@@ -212,7 +238,7 @@ public class DiskBlobStorageService implements DispatcherBlobStorage {
 
         dataStorageCacheVariable.accessData(sourceVariable.id, (is)-> {
             try {
-                dataStorageVariable.storeData(trg.variableBlobId, is, -1);
+                storeVariableDataWithSha256(trg.variableBlobId, is);
             } catch (IOException e) {
                 throw new RuntimeException("176.120 error", e);
             }
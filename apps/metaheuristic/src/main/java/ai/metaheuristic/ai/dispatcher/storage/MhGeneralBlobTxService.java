@@ -72,6 +72,11 @@ public class MhGeneralBlobTxService implements GeneralBlobTxService {
         return r.id;
     }
 
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void updateVariableSha256AndLength(Long variableBlobId, String sha256, long length) {
+        variableBlobRepository.updateSha256AndLength(variableBlobId, sha256, length);
+    }
+
     @Transactional(propagation = Propagation.REQUIRES_NEW)
     @Override
     public Long createEmptyGlobalVariable(String variable, @Nullable String filename) {
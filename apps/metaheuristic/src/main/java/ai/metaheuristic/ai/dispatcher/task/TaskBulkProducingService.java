@@ -0,0 +1,214 @@
+/*
+ * Metaheuristic, Copyright (C) 2017-2025, Innovation platforms, LLC
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package ai.metaheuristic.ai.dispatcher.task;
+
+import ai.metaheuristic.ai.dispatcher.beans.TaskImpl;
+import ai.metaheuristic.ai.dispatcher.data.ExecContextData;
+import ai.metaheuristic.ai.dispatcher.data.InternalFunctionData;
+import ai.metaheuristic.ai.dispatcher.data.TaskData;
+import ai.metaheuristic.ai.dispatcher.data.VariableData;
+import ai.metaheuristic.ai.dispatcher.event.events.InitVariablesTxEvent;
+import ai.metaheuristic.ai.dispatcher.exec_context_graph.ExecContextGraphService;
+import ai.metaheuristic.ai.dispatcher.exec_context_graph.ExecContextGraphSyncService;
+import ai.metaheuristic.ai.dispatcher.exec_context_graph.GraftExpander;
+import ai.metaheuristic.ai.dispatcher.exec_context_task_state.ExecContextTaskStateSyncService;
+import ai.metaheuristic.ai.dispatcher.variable.VariableTxService;
+import ai.metaheuristic.ai.exceptions.BreakFromLambdaException;
+import ai.metaheuristic.ai.utils.TxUtils;
+import ai.metaheuristic.api.EnumsApi;
+import ai.metaheuristic.api.data.exec_context.ExecContextApiData;
+import ai.metaheuristic.api.data.exec_context.ExecContextParamsYaml;
+import ai.metaheuristic.commons.utils.ContextUtils;
+import ai.metaheuristic.commons.yaml.task.TaskParamsYaml;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bulk producing of tasks for fan-out internal functions, such as mh.permute-variables or mh.batch-line-splitter.
+ *
+ * <p>The result is the same as of calling {@link VariableTxService#createInputVariablesForSubProcess} and
+ * {@link TaskProducingService#createTasksForSubProcesses} for each instance of sub-processes, but
+ * <ul>
+ *     <li>rows of variables and tasks are inserted by JDBC batches,</li>
+ *     <li>params of task are built once per sub-process and only taskContextId is changed between instances,</li>
+ *     <li>all vertices and edges are added to graph with one mutation.</li>
+ * </ul>
+ * Sub-processes with an in-band graft node mutate the graph while being expanded, so they are produced one by one as before.
+ *
+ * @author Serge
+ * Date: 10/18/2026
+ * Time: 5:50 PM
+ */
+@Service
+@Slf4j
+@Profile("dispatcher")
+@RequiredArgsConstructor(onConstructor_={@Autowired})
+public class TaskBulkProducingService {
+
+    private static final int SPECS_PER_VARIABLE_TX = 500;
+
+    private final TaskProducingService taskProducingService;
+    private final TaskTxService taskTxService;
+    private final VariableTxService variableTxService;
+    private final ExecContextGraphService execContextGraphService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private record SubProcessTemplate(ExecContextApiData.ProcessVertex subProcess, ExecContextParamsYaml.Process process, TaskParamsYaml taskParams) {}
+
+    /**
+     * @param specs instances of sub-processes, in order of their task numbers
+     * @param lastIds collects ids of tasks which must be connected to descendants of parent task
+     */
+    public void createTasksForSubProcesses(
+            ExecContextData.GraphAndStates graphAndStates,
+            ExecContextApiData.SimpleExecContext simpleExecContext, InternalFunctionData.ExecutionContextData executionContextData,
+            List<TaskData.SubProcessTaskSpec> specs, Long parentTaskId, List<Long> lastIds, GraftExpander graftExpander) {
+        TxUtils.checkTxExists();
+        ExecContextGraphSyncService.checkWriteLockPresent(simpleExecContext.execContextGraphId);
+        ExecContextTaskStateSyncService.checkWriteLockPresent(simpleExecContext.execContextTaskStateId);
+
+        if (specs.isEmpty()) {
+            return;
+        }
+
+        // streams of variables' data are closed only after the end of transaction,
+        // so the count of them in one transaction is bounded
+        for (int from = 0; from < specs.size(); from += SPECS_PER_VARIABLE_TX) {
+            List<VariableData.SubProcessVariables> variables = new ArrayList<>();
+            for (TaskData.SubProcessTaskSpec spec : specs.subList(from, Math.min(from + SPECS_PER_VARIABLE_TX, specs.size()))) {
+                variables.addAll(spec.variables());
+            }
+            if (!variables.isEmpty()) {
+                variableTxService.createInputVariablesForSubProcesses(variables, simpleExecContext.execContextId);
+            }
+        }
+
+        ExecContextParamsYaml execContextParamsYaml = executionContextData.execContextParamsYaml;
+        if (hasGraft(execContextParamsYaml, executionContextData.subProcesses)) {
+            for (TaskData.SubProcessTaskSpec spec : specs) {
+                taskProducingService.createTasksForSubProcesses(
+                        graphAndStates, simpleExecContext, executionContextData, spec.currTaskContextId(), parentTaskId, lastIds, graftExpander);
+            }
+            return;
+        }
+        createTasks(graphAndStates, simpleExecContext, executionContextData, specs, parentTaskId, lastIds);
+    }
+
+    private void createTasks(
+            ExecContextData.GraphAndStates graphAndStates,
+            ExecContextApiData.SimpleExecContext simpleExecContext, InternalFunctionData.ExecutionContextData executionContextData,
+            List<TaskData.SubProcessTaskSpec> specs, Long parentTaskId, List<Long> lastIds) {
+
+        List<ExecContextApiData.ProcessVertex> subProcesses = executionContextData.subProcesses;
+        if (subProcesses.isEmpty()) {
+            log.info("375.200 There isn't any subProcess");
+            return;
+        }
+        ExecContextParamsYaml.Process process = executionContextData.process;
+        if (process.logic!= EnumsApi.SourceCodeSubProcessLogic.sequential && process.logic!= EnumsApi.SourceCodeSubProcessLogic.and) {
+            throw new BreakFromLambdaException("375.220 only the 'sequential' and 'and' logics are supported");
+        }
+        final boolean and = process.logic==EnumsApi.SourceCodeSubProcessLogic.and;
+
+        ExecContextParamsYaml execContextParamsYaml = executionContextData.execContextParamsYaml;
+        Map<String, Map<String, String>> inlines = execContextParamsYaml.variables.inline;
+        String subProcessContextId = subProcesses.get(0).processContextId;
+        List<SubProcessTemplate> templates = new ArrayList<>(subProcesses.size());
+        for (ExecContextApiData.ProcessVertex subProcess : subProcesses) {
+            ExecContextParamsYaml.Process p = execContextParamsYaml.findProcess(subProcess.process);
+            if (p==null) {
+                throw new BreakFromLambdaException("375.240 Process '" + subProcess.process + "' wasn't found");
+            }
+            // all subProcesses must have the same processContextId
+            if (!and && !subProcessContextId.equals(subProcess.processContextId)) {
+                throw new BreakFromLambdaException("375.260 Different contextId, prev: " + subProcessContextId + ", next: " + subProcess.processContextId);
+            }
+            TaskParamsYaml taskParams = taskProducingService.createTaskParams(
+                    simpleExecContext.execContextId, execContextParamsYaml, p, subProcessContextId, inlines, List.of(parentTaskId));
+            templates.add(new SubProcessTemplate(subProcess, p, taskParams));
+        }
+
+        List<TaskImpl> tasks = new ArrayList<>(specs.size() * templates.size());
+        List<String> taskContextIds = new ArrayList<>(specs.size() * templates.size());
+        for (TaskData.SubProcessTaskSpec spec : specs) {
+            final String currTaskContextId = spec.currTaskContextId();
+            final String parentTaskContextId = and ? ContextUtils.deriveParentTaskContextId(currTaskContextId) : currTaskContextId;
+            int andBranchIndex = 0;
+            for (SubProcessTemplate template : templates) {
+                String taskContextId = and
+                        ? ContextUtils.buildTaskContextId(
+                                ContextUtils.getCurrTaskContextIdForSubProcesses(parentTaskContextId, template.subProcess().processContextId),
+                                Integer.toString(andBranchIndex++))
+                        : currTaskContextId;
+
+                template.taskParams().task.taskContextId = taskContextId;
+                TaskImpl task = new TaskImpl();
+                task.execState = EnumsApi.TaskExecState.PRE_INIT.value;
+                task.execContextId = simpleExecContext.execContextId;
+                task.updateParams(template.taskParams());
+                tasks.add(task);
+                taskContextIds.add(taskContextId);
+            }
+        }
+
+        taskTxService.saveAllNew(tasks);
+
+        List<ExecContextData.NewTaskVertex> newTasks = new ArrayList<>(tasks.size());
+        List<Long> parentTaskIds = List.of(parentTaskId);
+        for (int i = 0; i < tasks.size(); i++) {
+            TaskImpl task = tasks.get(i);
+            SubProcessTemplate template = templates.get(i % templates.size());
+            if (i % templates.size()==0) {
+                parentTaskIds = List.of(parentTaskId);
+            }
+            newTasks.add(new ExecContextData.NewTaskVertex(task.id, taskContextIds.get(i), template.process().tag, parentTaskIds, EnumsApi.TaskExecState.PRE_INIT));
+            if (and) {
+                // parallel, each sub-process branches from the parent task and connects to downstream
+                lastIds.add(task.id);
+            }
+            else {
+                // sequential, each sub-process is chained to the previous one and only the last one connects to downstream
+                parentTaskIds = List.of(task.id);
+                if (i % templates.size()==templates.size()-1) {
+                    lastIds.add(task.id);
+                }
+            }
+            // event will land at ai.metaheuristic.ai.dispatcher.task.TaskVariableInitService.handleEvent
+            eventPublisher.publishEvent(new InitVariablesTxEvent(task.execContextId, task.id));
+        }
+        execContextGraphService.addNewTasksToGraph(graphAndStates, newTasks);
+    }
+
+    private static boolean hasGraft(ExecContextParamsYaml execContextParamsYaml, List<ExecContextApiData.ProcessVertex> subProcesses) {
+        for (ExecContextApiData.ProcessVertex subProcess : subProcesses) {
+            ExecContextParamsYaml.Process p = execContextParamsYaml.findProcess(subProcess.process);
+            if (p!=null && p.graft!=null) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -92,6 +92,7 @@ public class TaskCheckCachingTxService {
     }
 
     public void invalidateCacheItemInternal(Long cacheProcessId) {
+        dispatcherBlobStorage.releaseCacheVariableData(cacheVariableRepository.findIdsByCacheProcessId(cacheProcessId));
         cacheVariableRepository.deleteByCacheProcessId(cacheProcessId);
         cacheProcessRepository.deleteById(cacheProcessId);
     }
@@ -111,7 +112,7 @@ public class TaskCheckCachingTxService {
             return CheckCachingStatus.isnt_check_cache_state;
         }
 
-        TaskParamsYaml tpy = task.getTaskParamsYaml();
+        TaskParamsYaml tpy = task.getTaskParamsYamlForUpdate();
 
         CheckCachingStatus status;
         if (cacheProcess!=null) {
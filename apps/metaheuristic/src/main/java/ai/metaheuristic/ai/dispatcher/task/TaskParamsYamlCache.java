@@ -0,0 +1,78 @@
+/*
+ * Metaheuristic, Copyright (C) 2017-2025, Innovation platforms, LLC
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package ai.metaheuristic.ai.dispatcher.task;
+
+import ai.metaheuristic.ai.utils.IdleEvictingCache;
+import ai.metaheuristic.commons.yaml.task.TaskParamsYaml;
+import ai.metaheuristic.commons.yaml.task.TaskParamsYamlUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Dispatcher-wide cache of parsed {@link TaskParamsYaml}, keyed by taskId and JPA version of TaskImpl.
+ *
+ * <p>The same task is loaded many times within one scheduling cycle, and every new instance of TaskImpl
+ * would parse PARAMS again. An entry is reused only when both the version and the text of params are equal
+ * to ones of the entry, so a task changed by a bulk update or by another node is never served from a wrong entry.
+ *
+ * <p>Parsed params are shared between all instances of TaskImpl with the same version and must never be changed.
+ * Params which will be changed and stored back must be obtained with
+ * {@link ai.metaheuristic.ai.dispatcher.beans.TaskImpl#getTaskParamsYamlForUpdate()}.
+ *
+ * @author Serge
+ * Date: 10/18/2026
+ * Time: 5:15 PM
+ */
+public class TaskParamsYamlCache {
+
+    private static final int MAX_ENTRIES = 5_000;
+    private static final long IDLE_EVICTION_MILLS = TimeUnit.MINUTES.toMillis(10);
+
+    private record Entry(int version, String source, TaskParamsYaml tpy) {}
+
+    private static final IdleEvictingCache<Long, Entry> cache =
+            new IdleEvictingCache<>("TaskParamsYamlCache", MAX_ENTRIES, IDLE_EVICTION_MILLS);
+
+    public static TaskParamsYaml get(Long taskId, Integer version, String params) {
+        //noinspection StringEquality
+        Entry entry = cache.get(taskId, o -> o.version==version && (o.source==params || o.source.equals(params)));
+        if (entry!=null) {
+            return entry.tpy;
+        }
+        TaskParamsYaml tpy = parse(params);
+        cache.put(taskId, new Entry(version, params, tpy));
+        return tpy;
+    }
+
+    public static TaskParamsYaml parse(String params) {
+        TaskParamsYaml temp = TaskParamsYamlUtils.UTILS.to(params);
+        return temp==null ? new TaskParamsYaml() : temp;
+    }
+
+    public static void evict(Long taskId) {
+        cache.remove(taskId);
+    }
+
+    public static IdleEvictingCache.Stats getStats() {
+        return cache.getStats();
+    }
+
+    public static void clear() {
+        cache.clear();
+    }
+}
@@ -258,6 +258,29 @@ public class TaskProducingService {
 
         TxUtils.checkTxExists();
 
+        TaskParamsYaml taskParams = createTaskParams(execContextId, execContextParamsYaml, process, taskContextId, inlines, parentTaskIds);
+
+        TaskImpl task = new TaskImpl();
+        task.execState = taskExecState.value;
+        task.execContextId = execContextId;
+        task.updateParams(taskParams);
+
+        task = taskTxService.save(task);
+
+        // event will land at ai.metaheuristic.ai.dispatcher.task.TaskVariableInitService.handleEvent
+        eventPublisher.publishEvent(new InitVariablesTxEvent(task.execContextId, task.id));
+
+        return task;
+    }
+
+    /**
+     * Params of a new task for the process. Only taskContextId of params differs between
+     * tasks of the same process and parents, so params can be reused as a template.
+     */
+    TaskParamsYaml createTaskParams(
+        Long execContextId, ExecContextParamsYaml execContextParamsYaml, ExecContextParamsYaml.Process process,
+        String taskContextId, @Nullable Map<String, Map<String, String>> inlines, List<Long> parentTaskIds) {
+
         TaskParamsYaml taskParams = new TaskParamsYaml();
         taskParams.task.execContextId = execContextId;
         taskParams.task.taskContextId = taskContextId;
@@ -313,19 +336,7 @@ public class TaskProducingService {
             taskParams.task.cache = new TaskParamsYaml.Cache(process.cache.enabled, process.cache.omitInline, process.cache.cacheMeta);
         }
         taskParams.task.init = new TaskParamsYaml.Init(parentTaskIds, process.cache!=null && process.cache.enabled ? EnumsApi.TaskExecState.CHECK_CACHE : EnumsApi.TaskExecState.NONE);
-
-
-        TaskImpl task = new TaskImpl();
-        task.execState = taskExecState.value;
-        task.execContextId = execContextId;
-        task.updateParams(taskParams);
-
-        task = taskTxService.save(task);
-
-        // event will land at ai.metaheuristic.ai.dispatcher.task.TaskVariableInitService.handleEvent
-        eventPublisher.publishEvent(new InitVariablesTxEvent(task.execContextId, task.id));
-
-        return task;
+        return taskParams;
     }
 
 }
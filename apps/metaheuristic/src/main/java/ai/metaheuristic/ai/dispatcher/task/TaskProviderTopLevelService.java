@@ -211,7 +211,7 @@ public class TaskProviderTopLevelService {
     // read from queue methods
 
     public static boolean alreadyRegistered(Long taskId) {
-        return TaskQueueSyncStaticService.getWithReadSync(()-> TaskQueueService.alreadyRegistered(taskId));
+        return TaskQueueService.alreadyRegistered(taskId);
     }
 
     public static TaskQueue.TaskGroups getTaskGroupForTransferring(Long execContextId) {
@@ -226,8 +226,9 @@ public class TaskProviderTopLevelService {
         return TaskQueueSyncStaticService.getWithReadSync(()-> TaskQueueService.getTaskExecStates(execContextId));
     }
 
+    // is called on each request for a task from Processor, groups of queue can be read without any lock
     public static boolean isQueueEmpty() {
-        return TaskQueueSyncStaticService.getWithReadSync(TaskQueueService::isQueueEmpty);
+        return TaskQueueService.isQueueEmpty();
     }
 
     public static boolean isNeedToShrink() {
@@ -277,6 +278,14 @@ public class TaskProviderTopLevelService {
 
     private static final ConcurrentHashMap<Long, AtomicLong> coreCheckedOn = new ConcurrentHashMap<>();
 
+    /**
+     * The next request of core will look for a task even if the queue of tasks is empty,
+     * i.e. a task which was offered to this core will be found right away
+     */
+    public static void resetQueueEmptySuspension(Long coreId) {
+        coreCheckedOn.remove(coreId);
+    }
+
     public DispatcherCommParamsYaml.@Nullable AssignedTask findTask(Long coreId, boolean isAcceptOnlySigned) {
         if (!globals.isTesting()) {
             throw new IllegalStateException("(!globals.isTesting())");
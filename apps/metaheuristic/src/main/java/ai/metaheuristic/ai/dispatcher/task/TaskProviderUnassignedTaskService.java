@@ -116,6 +116,7 @@ public class TaskProviderUnassignedTaskService {
         }
 
         TaskQueue.AllocatedTask resultTask = null;
+        boolean claimed = false;
         List<TaskQueue.QueuedTask> forRemoving = new ArrayList<>();
 
         QuotasData.ActualQuota quota = null;
@@ -243,6 +244,13 @@ public class TaskProviderUnassignedTaskService {
                 }
 
                 if (resultTask != null) {
+                    // another core is assigning this task right now, there is no reason to wait for lock of task
+                    if (!resultTask.tryClaim()) {
+                        log.debug("317.125 task #{} was already claimed by another core", queuedTask.taskId);
+                        resultTask = null;
+                        continue;
+                    }
+                    claimed = true;
                     break;
                 }
             }
@@ -253,10 +261,24 @@ public class TaskProviderUnassignedTaskService {
             }
         }
 
+        if (resultTask != null && !claimed && !resultTask.tryClaim()) {
+            resultTask = null;
+        }
         if (resultTask == null) {
             searching.status = task_not_found;
             return searching;
         }
+        try {
+            return assignClaimedTask(processorAndCoreParams, currentQuotas, searching, resultTask, quota);
+        }
+        finally {
+            resultTask.releaseClaim();
+        }
+    }
+
+    private TaskData.TaskSearching assignClaimedTask(
+            ProcessorAndCoreParams processorAndCoreParams, DispatcherData.TaskQuotas currentQuotas,
+            TaskData.TaskSearching searching, TaskQueue.AllocatedTask resultTask, QuotasData.@Nullable ActualQuota quota) {
 
         if (resultTask.queuedTask.task == null) {
             log.error("317.160 (resultTask.queuedTask.task == null). shouldn't happened");
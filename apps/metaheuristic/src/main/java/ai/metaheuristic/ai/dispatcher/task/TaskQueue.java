@@ -27,9 +27,17 @@ import lombok.extern.slf4j.Slf4j;
 import org.jspecify.annotations.Nullable;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 
 /**
+ * Structural changes of queue (adding, removing and resetting of groups) are made under
+ * TaskQueueSyncStaticService write lock. Reading of queue for assigning doesn't need any lock -
+ * task groups are kept in CopyOnWriteArrayList, tasks are found via taskId index,
+ * and AllocatedTask is claimed by CAS before assigning.
+ *
  * @author Serge
  * Date: 12/16/2020
  * Time: 3:09 AM
@@ -56,13 +64,35 @@ public class TaskQueue {
     }
 
     public static class AllocatedTask {
+        private static final AtomicIntegerFieldUpdater<AllocatedTask> CLAIMED =
+                AtomicIntegerFieldUpdater.newUpdater(AllocatedTask.class, "claimed");
+
         public final QueuedTask queuedTask;
-        public EnumsApi.TaskExecState state = EnumsApi.TaskExecState.NONE;
-        public boolean assigned;
+        public volatile EnumsApi.TaskExecState state = EnumsApi.TaskExecState.NONE;
+        public volatile boolean assigned;
+        private volatile int claimed = 0;
 
         public AllocatedTask(QueuedTask queuedTask) {
             this.queuedTask = queuedTask;
         }
+
+        /**
+         * Claims this task for assigning to a core. Only one poll can hold a claim,
+         * other polls skip the task instead of waiting on the lock of task.
+         *
+         * @return true if the claim was acquired
+         */
+        public boolean tryClaim() {
+            return CLAIMED.compareAndSet(this, 0, 1);
+        }
+
+        public void releaseClaim() {
+            claimed = 0;
+        }
+
+        public boolean isClaimed() {
+            return claimed==1;
+        }
     }
 
     public static final int GROUP_SIZE_DEFAULT = 10;
@@ -92,7 +122,11 @@ public class TaskQueue {
         public final @Nullable AllocatedTask[] tasks;
         public int allocated = 0;
         public int priority;
-        public boolean locked;
+        public volatile boolean locked;
+
+        // index of queue, is maintained by group itself because a group can be reset outside of queue, i.e. TaskGroups.reset()
+        @Nullable
+        private Map<Long, TaskGroup> taskIndex = null;
 
         public TaskGroup(Long execContextId, int priority, int groupSize) {
             this.execContextId = execContextId;
@@ -125,6 +159,9 @@ public class TaskQueue {
                 if (tasks[i]!=null && tasks[i].queuedTask.taskId.equals(taskId)) {
                     tasks[i] = null;
                     --allocated;
+                    if (taskIndex!=null) {
+                        taskIndex.remove(taskId, this);
+                    }
 
                     boolean noneMatch = true;
                     for (AllocatedTask task : tasks) {
@@ -206,6 +243,9 @@ public class TaskQueue {
                     break;
                 }
             }
+            if (taskIndex!=null) {
+                taskIndex.put(task.taskId, this);
+            }
         }
 
         @Nullable
@@ -220,6 +260,13 @@ public class TaskQueue {
         }
 
         public void reset() {
+            if (taskIndex!=null) {
+                for (AllocatedTask task : tasks) {
+                    if (task!=null) {
+                        taskIndex.remove(task.queuedTask.taskId, this);
+                    }
+                }
+            }
             allocated = 0;
             execContextId = null;
             Arrays.fill(tasks, null);
@@ -304,13 +351,17 @@ public class TaskQueue {
 
     }
 
+    /**
+     * Iterator over a snapshot of groups, can be used without any lock
+     */
     public GroupIterator getIterator() {
-        return new GroupIterator(taskGroups, groupSize);
+        return new GroupIterator(Arrays.asList(taskGroups.toArray(new TaskGroup[0])), groupSize);
     }
 
     private final int minQueueSize;
     private final int groupSize;
-    private final List<TaskGroup> taskGroups = new ArrayList<>();
+    private final List<TaskGroup> taskGroups = new CopyOnWriteArrayList<>();
+    private final Map<Long, TaskGroup> groupByTaskId = new ConcurrentHashMap<>();
     private final AtomicInteger taskForExecution = new AtomicInteger();
 
     public TaskQueue() {
@@ -361,20 +412,14 @@ public class TaskQueue {
 
     @Nullable
     public AllocatedTask getTaskExecState(Long execContextId, Long taskId) {
-        for (TaskGroup taskGroup : taskGroups) {
-            if (!execContextId.equals(taskGroup.execContextId)) {
-                continue;
-            }
-            for (AllocatedTask task : taskGroup.tasks) {
-                if (task==null) {
-                    continue;
-                }
-                if (task.queuedTask.taskId.equals(taskId)) {
-                    return task;
-                }
-            }
-        }
-        return null;
+        TaskGroup taskGroup = findGroup(execContextId, taskId);
+        return taskGroup==null ? null : taskGroup.alreadyRegisteredAsTask(taskId);
+    }
+
+    @Nullable
+    private TaskGroup findGroup(Long execContextId, Long taskId) {
+        TaskGroup taskGroup = groupByTaskId.get(taskId);
+        return taskGroup!=null && execContextId.equals(taskGroup.execContextId) ? taskGroup : null;
     }
 
     /**
@@ -390,13 +435,8 @@ public class TaskQueue {
             log.debug("029.200 set task #{} as {}, execContextId: #{}", taskId, state, execContextId);
         }
         boolean changed = false;
-        for (TaskGroup taskGroup : taskGroups) {
-            if (!execContextId.equals(taskGroup.execContextId)) {
-                continue;
-            }
-            if (taskGroup.allocated==0) {
-                continue;
-            }
+        TaskGroup taskGroup = findGroup(execContextId, taskId);
+        if (taskGroup!=null && taskGroup.allocated!=0) {
             for (AllocatedTask task : taskGroup.tasks) {
                 if (task==null) {
                     continue;
@@ -477,21 +517,8 @@ public class TaskQueue {
     }
 
     public void removeAll(List<QueuedTask> forRemoving) {
-        if (forRemoving.isEmpty()) {
-            return;
-        }
-        Set<Long> execContextIds = new HashSet<>();
-        for (QueuedTask o : forRemoving) {
-            execContextIds.add(o.execContextId);
-        }
-        for (TaskGroup taskGroup : taskGroups) {
-            if (execContextIds.contains(taskGroup.execContextId)) {
-                for (QueuedTask queuedTask : forRemoving) {
-                    if (queuedTask.execContextId.equals(taskGroup.execContextId)) {
-                        taskGroup.deRegisterTask(queuedTask.taskId);
-                    }
-                }
-            }
+        for (QueuedTask queuedTask : forRemoving) {
+            deRegisterTask(queuedTask.execContextId, queuedTask.taskId);
         }
     }
 
@@ -525,7 +552,7 @@ public class TaskQueue {
                     continue;
                 }
                 if (group.priority==task.priority) {
-                    taskGroup = new TaskGroup(task.execContextId, task.priority, groupSize);
+                    taskGroup = newTaskGroup(task.execContextId, task.priority);
                     if (i+1==taskGroups.size()) {
                         taskGroups.add(taskGroup);
                     }
@@ -545,7 +572,7 @@ public class TaskQueue {
                     continue;
                 }
                 if (group.priority < task.priority) {
-                    taskGroup = new TaskGroup(task.execContextId, task.priority, groupSize);
+                    taskGroup = newTaskGroup(task.execContextId, task.priority);
                     taskGroups.add(i, taskGroup);
                     break;
                 }
@@ -553,13 +580,19 @@ public class TaskQueue {
         }
 
         if (taskGroup==null) {
-            taskGroup = new TaskGroup(task.execContextId, task.priority, groupSize);
+            taskGroup = newTaskGroup(task.execContextId, task.priority);
             taskGroups.add(taskGroup);
         }
         taskGroup.addTask(task);
         return taskGroup;
     }
 
+    private TaskGroup newTaskGroup(Long execContextId, int priority) {
+        TaskGroup taskGroup = new TaskGroup(execContextId, priority, groupSize);
+        taskGroup.taskIndex = groupByTaskId;
+        return taskGroup;
+    }
+
     public void addNewInternalTask(Long execContextId, Long taskId, TaskParamsYaml taskParamYaml) {
         if (taskParamYaml.task.context!= EnumsApi.FunctionExecContext.internal) {
             throw new IllegalStateException("029.360 (taskParamYaml.task.context!= EnumsApi.FunctionExecContext.internal)");
@@ -572,30 +605,29 @@ public class TaskQueue {
     }
 
     public void startTaskProcessing(Long execContextId, Long taskId) {
-        for (TaskGroup taskGroup : taskGroups) {
-            if (execContextId.equals(taskGroup.execContextId)) {
-                AllocatedTask allocatedTask = taskGroup.assignTask(taskId);
-                if (allocatedTask!=null) {
-                    allocatedTask.state = EnumsApi.TaskExecState.IN_PROGRESS;
-                    return;
-                }
+        TaskGroup taskGroup = findGroup(execContextId, taskId);
+        if (taskGroup!=null) {
+            AllocatedTask allocatedTask = taskGroup.assignTask(taskId);
+            if (allocatedTask!=null) {
+                allocatedTask.state = EnumsApi.TaskExecState.IN_PROGRESS;
             }
         }
     }
 
     public void shrink() {
         if (taskGroups.size()>minQueueSize) {
-            int size = taskGroups.size();
-            for (int i = 0; i < size; i++) {
-                if (size==minQueueSize) {
+            // CopyOnWriteArrayList copies the array on each removing, so all empty groups are removed at once
+            int forRemoving = taskGroups.size() - minQueueSize;
+            List<TaskGroup> emptyGroups = new ArrayList<>();
+            for (TaskGroup taskGroup : taskGroups) {
+                if (emptyGroups.size()==forRemoving) {
                     break;
                 }
-                if (taskGroups.get(i).noneTasks()) {
-                    taskGroups.remove(i);
-                    --size;
-                    --i;
+                if (taskGroup.noneTasks()) {
+                    emptyGroups.add(taskGroup);
                 }
             }
+            taskGroups.removeAll(emptyGroups);
         }
     }
 
@@ -612,6 +644,7 @@ public class TaskQueue {
             taskGroup.reset();
         }
         taskGroups.clear();
+        groupByTaskId.clear();
     }
 
     public boolean alreadyRegistered(Long taskId) {
@@ -620,22 +653,14 @@ public class TaskQueue {
 
 
     public TaskQueue.@Nullable AllocatedTask alreadyRegisteredAsTask(Long taskId) {
-        for (TaskGroup o : taskGroups) {
-            final AllocatedTask allocatedTask = o.alreadyRegisteredAsTask(taskId);
-            if (allocatedTask !=null) {
-                return allocatedTask;
-            }
-        }
-        return null;
+        TaskGroup taskGroup = groupByTaskId.get(taskId);
+        return taskGroup==null ? null : taskGroup.alreadyRegisteredAsTask(taskId);
     }
 
     public void deRegisterTask(Long execContextId, Long taskId) {
-        for (TaskGroup taskGroup : taskGroups) {
-            if (execContextId.equals(taskGroup.execContextId)) {
-                if (taskGroup.deRegisterTask(taskId)) {
-                    return;
-                }
-            }
+        TaskGroup taskGroup = findGroup(execContextId, taskId);
+        if (taskGroup!=null) {
+            taskGroup.deRegisterTask(taskId);
         }
     }
 
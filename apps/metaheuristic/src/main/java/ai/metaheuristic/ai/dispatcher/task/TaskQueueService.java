@@ -100,18 +100,13 @@ public class TaskQueueService {
         return taskQueue.allTaskGroupFinished(execContextId);
     }
 
+    // taskId index of queue is concurrent, so lookups don't need any lock
     public static boolean alreadyRegistered(Long taskId) {
         return taskQueue.alreadyRegistered(taskId);
     }
 
-    public static boolean alreadyRegisteredWithSync(Long taskId) {
-        checkWriteLockNotPresent();
-        return getWithSync(() -> taskQueue.alreadyRegistered(taskId));
-    }
-
-    public static TaskQueue.@Nullable AllocatedTask alreadyRegisteredAsTaskWithSync(Long taskId) {
-        checkWriteLockNotPresent();
-        return getWithSyncNullable(() -> taskQueue.alreadyRegisteredAsTask(taskId));
+    public static TaskQueue.@Nullable AllocatedTask alreadyRegisteredAsTask(Long taskId) {
+        return taskQueue.alreadyRegisteredAsTask(taskId);
     }
 
     public static void addNewTask(TaskQueue.QueuedTask queuedTask) {
@@ -29,7 +29,7 @@ import java.util.function.Supplier;
  */
 public class TaskQueueSyncStaticService {
 
-    private static final CommonSync<Integer> commonSync = new CommonSync<>();
+    private static final CommonSync<Integer> commonSync = new CommonSync<>("taskQueue");
     private static final Integer ID = 1;
 
     private static ReentrantReadWriteLock.WriteLock getWriteLock() {
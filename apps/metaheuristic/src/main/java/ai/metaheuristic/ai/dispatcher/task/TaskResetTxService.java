@@ -39,6 +39,7 @@ import ai.metaheuristic.ai.utils.TxUtils;
 import ai.metaheuristic.ai.yaml.exec_context_task_state.ExecContextTaskStateParamsYaml;
 import ai.metaheuristic.api.EnumsApi;
 import ai.metaheuristic.api.dispatcher.InternalFunction;
+import ai.metaheuristic.commons.spi.DispatcherBlobStorage;
 import ai.metaheuristic.commons.S;
 import ai.metaheuristic.commons.yaml.task.TaskParamsYaml;
 import lombok.RequiredArgsConstructor;
@@ -74,6 +75,7 @@ public class TaskResetTxService {
     private final TaskFinishingTxService taskFinishingTxService;
     private final VariableRepository variableRepository;
     private final ExecContextVariableStateService execContextVariableStateService;
+    private final DispatcherBlobStorage dispatcherBlobStorage;
 
     @Transactional
     public void resetTaskAndExecContextTx(Long execContextId, Long taskId) {
@@ -182,7 +184,9 @@ public class TaskResetTxService {
         // This removes input variables created by mh.batch-line-splitter for its sub-process children
         // and also output variables of the deleted tasks — all will be recreated when the splitter re-runs.
         for (String ctxId : deletedCtxIds) {
+            List<Long> variableBlobIds = variableRepository.findVariableBlobIdsByExecContextIdAndTaskContextId(execContextId, ctxId);
             variableRepository.deleteByExecContextIdAndTaskContextId(execContextId, ctxId);
+            dispatcherBlobStorage.releaseVariableData(variableBlobIds);
             log.info("801.213 Deleted variables for removed context {} in execContext #{}", ctxId, execContextId);
         }
 
@@ -32,7 +32,7 @@ import java.util.function.Supplier;
 @Slf4j
 public class TaskSyncService {
 
-    private static final CommonSync<Long> commonSync = new CommonSync<>();
+    private static final CommonSync<Long> commonSync = new CommonSync<>("task");
 
     public static void checkWriteLockPresent(Long taskId) {
         if (!getWriteLock(taskId).isHeldByCurrentThread()) {
@@ -17,6 +17,7 @@
 package ai.metaheuristic.ai.dispatcher.task;
 
 import ai.metaheuristic.ai.dispatcher.beans.TaskImpl;
+import ai.metaheuristic.ai.dispatcher.commons.JdbcBatchUtils;
 import ai.metaheuristic.ai.dispatcher.repositories.TaskRepository;
 import ai.metaheuristic.ai.utils.TxUtils;
 import ai.metaheuristic.api.data.task.TaskApiData;
@@ -25,6 +26,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -39,7 +41,12 @@ import java.util.stream.Stream;
 @RequiredArgsConstructor(onConstructor_={@Autowired})
 public class TaskTxService {
 
+    private static final String INSERT_TASK_SQL =
+            "insert into MH_TASK (VERSION, PARAMS, UPDATED_ON, IS_COMPLETED, EXEC_CONTEXT_ID, EXEC_STATE, IS_RESULT_RECEIVED, RESULT_RESOURCE_SCHEDULED_ON) " +
+            "values (?, ?, ?, ?, ?, ?, ?, ?)";
+
     private final TaskRepository taskRepository;
+    private final JdbcTemplate jdbcTemplate;
 
     public TaskImpl save(TaskImpl task) {
         TxUtils.checkTxExists();
@@ -54,6 +61,37 @@ public class TaskTxService {
         return task;
     }
 
+    /**
+     * Inserts new tasks by JDBC batches, ids of tasks are assigned from generated keys
+     */
+    public void saveAllNew(List<TaskImpl> tasks) {
+        TxUtils.checkTxExists();
+
+        final long mills = System.currentTimeMillis();
+        for (TaskImpl task : tasks) {
+            if (task.id!=null) {
+                throw new IllegalStateException("(task.id!=null), task #" + task.id);
+            }
+            task.setUpdatedOn(mills);
+        }
+        JdbcBatchUtils.insertWithGeneratedIds(jdbcTemplate, INSERT_TASK_SQL, tasks,
+                (ps, t) -> {
+                    ps.setInt(1, 0);
+                    ps.setString(2, t.getParams());
+                    ps.setLong(3, mills);
+                    ps.setInt(4, t.completed);
+                    ps.setLong(5, t.execContextId);
+                    ps.setInt(6, t.execState);
+                    ps.setInt(7, t.resultReceived);
+                    ps.setLong(8, t.resultResourceScheduledOn);
+                },
+                (t, id) -> {
+                    t.id = id;
+                    t.version = 0;
+                },
+                taskRepository::save);
+    }
+
     @Transactional(readOnly = true)
     public Map<Long, TaskApiData.TaskState> getExecStateOfTasks(Long execContextId) {
         long mills = System.currentTimeMillis();
@@ -99,7 +99,7 @@ public class TaskVariableInitTxService {
     private void prepareVariables(ExecContextParamsYaml execContextParamsYaml, TaskImpl task, List<String> allParentTaskContextIds) {
         TxUtils.checkTxExists();
 
-        TaskParamsYaml taskParams = task.getTaskParamsYaml();
+        TaskParamsYaml taskParams = task.getTaskParamsYamlForUpdate();
 
         log.info("179.035 prepareVariables() task #{}, processCode: {}, existing inputs: {}, existing outputs: {}",
                 task.id, taskParams.task.processCode,
@@ -83,7 +83,7 @@ public class TaskVariableService {
             log.warn("441.180 Task {} was reset, can't set new value to field resultReceived", task.id);
             return Enums.UploadVariableStatus.TASK_WAS_RESET;
         }
-        TaskParamsYaml tpy = task.getTaskParamsYaml();
+        TaskParamsYaml tpy = task.getTaskParamsYamlForUpdate();
         TaskParamsYaml.OutputVariable output = tpy.task.outputs.stream().filter(o->o.id.equals(variableId)).findFirst().orElse(null);
         if (output==null) {
             return Enums.UploadVariableStatus.UNRECOVERABLE_ERROR;
@@ -32,7 +32,7 @@ import java.util.function.Supplier;
 @Slf4j
 public class VariableSyncService {
 
-    private static final CommonSync<Long> commonSync = new CommonSync<>();
+    private static final CommonSync<Long> commonSync = new CommonSync<>("variable");
 
     public static void checkWriteLockPresent(Long variableId) {
         if (!getWriteLock(variableId).isHeldByCurrentThread()) {
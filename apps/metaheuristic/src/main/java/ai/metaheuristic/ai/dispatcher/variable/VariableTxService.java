@@ -23,6 +23,7 @@ import ai.metaheuristic.ai.dispatcher.repositories.*;
 import ai.metaheuristic.commons.utils.ContextUtils;
 import ai.metaheuristic.ai.dispatcher.beans.TaskImpl;
 import ai.metaheuristic.ai.dispatcher.beans.Variable;
+import ai.metaheuristic.ai.dispatcher.commons.JdbcBatchUtils;
 import ai.metaheuristic.ai.dispatcher.data.VariableData;
 import ai.metaheuristic.ai.dispatcher.event.EventPublisherService;
 import ai.metaheuristic.ai.dispatcher.event.events.ResourceCloseTxEvent;
@@ -32,6 +33,7 @@ import ai.metaheuristic.ai.dispatcher.event.events.VariableUploadedTxEvent;
 import ai.metaheuristic.ai.dispatcher.exec_context.ExecContextCache;
 import ai.metaheuristic.commons.CommonConsts;
 import ai.metaheuristic.commons.spi.DispatcherBlobStorage;
+import ai.metaheuristic.commons.spi.VariableDataRange;
 import ai.metaheuristic.ai.dispatcher.storage.GeneralBlobService;
 import ai.metaheuristic.commons.spi.GeneralBlobTxService;
 import ai.metaheuristic.ai.exceptions.*;
@@ -56,6 +58,7 @@ import org.apache.commons.lang3.tuple.Pair;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.jspecify.annotations.Nullable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
@@ -66,10 +69,12 @@ import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.sql.Timestamp;
+import java.sql.Types;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -97,10 +102,22 @@ public class VariableTxService {
     private final ExecContextRepository execContextRepository;
     private final ExecContextTaskStateRepository execContextTaskStateRepository;
     private final ExecContextGraphRepository execContextGraphRepository;
+    private final JdbcTemplate jdbcTemplate;
 
     private Variable createInitialized(
             InputStream is, long size, String variable, @Nullable String filename,
             Long execContextId, String taskContextId, EnumsApi.VariableType type) {
+        Variable data = newVariable(is, size, variable, filename, execContextId, taskContextId, type);
+        variableRepository.save(data);
+        return data;
+    }
+
+    /**
+     * Stores the data as a new blob and returns a new variable for it, the variable itself isn't saved
+     */
+    private Variable newVariable(
+            InputStream is, long size, String variable, @Nullable String filename,
+            Long execContextId, String taskContextId, EnumsApi.VariableType type) {
         if (S.b(variable)) {
             throw new ExecContextCommonException("171.040 Wrong format of sourceCode, input variable for source code isn't specified");
         }
@@ -123,8 +140,6 @@ public class VariableTxService {
 
         data.variableBlobId = dispatcherBlobStorage.createAndStoreVariableData(is, size);
 
-        variableRepository.save(data);
-
         return data;
     }
 
@@ -365,25 +380,92 @@ public class VariableTxService {
             String currTaskContextId, boolean contentAsArray) {
         TxUtils.checkTxExists();
 
+        List<Variable> arrayElements = createArrayElements(variableDataSource, execContextId, currTaskContextId, contentAsArray);
+        variableRepository.saveAll(arrayElements);
+        List<Variable> variables = createSubProcessVariables(variableDataSource, arrayElements, execContextId, inputVariableName, currTaskContextId, contentAsArray);
+        variableRepository.saveAll(variables);
+    }
+
+    /**
+     * Bulk version of {@link #createInputVariablesForSubProcess} for fan-out functions.
+     * Blobs are still stored one by one, rows of variables are inserted by JDBC batches.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void createInputVariablesForSubProcesses(List<VariableData.SubProcessVariables> subProcessVariables, Long execContextId) {
+        TxUtils.checkTxExists();
+
+        List<List<Variable>> arrayElements = new ArrayList<>(subProcessVariables.size());
+        List<Variable> allArrayElements = new ArrayList<>();
+        for (VariableData.SubProcessVariables spv : subProcessVariables) {
+            List<Variable> elements = createArrayElements(spv.variableDataSource(), execContextId, spv.taskContextId(), spv.contentAsArray());
+            arrayElements.add(elements);
+            allArrayElements.addAll(elements);
+        }
+        insertVariables(allArrayElements);
+
+        List<Variable> variables = new ArrayList<>(subProcessVariables.size());
+        for (int i = 0; i < subProcessVariables.size(); i++) {
+            VariableData.SubProcessVariables spv = subProcessVariables.get(i);
+            variables.addAll(createSubProcessVariables(
+                    spv.variableDataSource(), arrayElements.get(i), execContextId, spv.inputVariableName(), spv.taskContextId(), spv.contentAsArray()));
+        }
+        insertVariables(variables);
+    }
+
+    private static final String INSERT_VARIABLE_SQL =
+            "insert into MH_VARIABLE (VERSION, IS_INITED, IS_NULLIFIED, NAME, TASK_CONTEXT_ID, EXEC_CONTEXT_ID, VARIABLE_BLOB_ID, UPLOAD_TS, FILENAME, PARAMS) " +
+            "values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private void insertVariables(List<Variable> variables) {
+        JdbcBatchUtils.insertWithGeneratedIds(jdbcTemplate, INSERT_VARIABLE_SQL, variables,
+                (ps, v) -> {
+                    ps.setInt(1, 0);
+                    ps.setBoolean(2, v.inited);
+                    ps.setBoolean(3, v.nullified);
+                    ps.setString(4, v.name);
+                    ps.setString(5, v.taskContextId);
+                    ps.setLong(6, v.execContextId);
+                    if (v.variableBlobId==null) {
+                        ps.setNull(7, Types.BIGINT);
+                    }
+                    else {
+                        ps.setLong(7, v.variableBlobId);
+                    }
+                    ps.setTimestamp(8, v.uploadTs);
+                    ps.setString(9, v.filename);
+                    ps.setString(10, v.getParams());
+                },
+                (v, id) -> {
+                    v.id = id;
+                    v.setVersion(0);
+                },
+                variableRepository::save);
+    }
+
+    /**
+     * Elements of array variable, which must be stored before the array variable itself,
+     * because the array refers to them by ids.
+     */
+    private List<Variable> createArrayElements(
+            VariableData.VariableDataSource variableDataSource, Long execContextId, String currTaskContextId, boolean contentAsArray) {
+
         List<BatchTopLevelService.FileWithMapping> files = variableDataSource.files;
         String inputVariableContent = variableDataSource.inputVariableContent;
-        VariableData.Permutation permutation = variableDataSource.permutation;
-        List<Pair<String, Boolean>> booleanVariables = variableDataSource.booleanVariables;
+        Path inputVariableFile = variableDataSource.inputVariableFile;
 
-        if (files.isEmpty() && inputVariableContent==null && permutation==null && booleanVariables.isEmpty()) {
-            throw new IllegalStateException("(files.isEmpty() && inputVariableContent==null && permutation==null && booleanVariables.isEmpty())");
+        if (files.isEmpty() && inputVariableContent==null && inputVariableFile==null && variableDataSource.permutation==null && variableDataSource.booleanVariables.isEmpty()) {
+            throw new IllegalStateException("(files.isEmpty() && inputVariableContent==null && inputVariableFile==null && permutation==null && booleanVariables.isEmpty())");
         }
 
-        if (!files.isEmpty() || (inputVariableContent!=null && contentAsArray)) {
-            List<VariableUtils.VariableHolder> variableHolders = new ArrayList<>();
+        List<Variable> elements = new ArrayList<>();
+        if (!files.isEmpty() || ((inputVariableContent!=null || inputVariableFile!=null) && contentAsArray)) {
             for (BatchTopLevelService.FileWithMapping f : files) {
                 String variableName = VariableUtils.getNameForVariableInArray();
 
                 try {
                     InputStream fis = Files.newInputStream(f.file);
                     eventPublisher.publishEvent(new ResourceCloseTxEvent(fis));
-                    Variable v = createInitialized(fis, Files.size(f.file), variableName, f.originName, execContextId, currTaskContextId, EnumsApi.VariableType.unknown);
-                    variableHolders.add(new VariableUtils.VariableHolder(v));
+                    elements.add(newVariable(fis, Files.size(f.file), variableName, f.originName, execContextId, currTaskContextId, EnumsApi.VariableType.unknown));
                 }
                 catch (IOException e) {
                     ExceptionUtils.rethrow(e);
@@ -392,34 +474,59 @@ public class VariableTxService {
 
             if (!S.b(inputVariableContent)) {
                 String variableName = VariableUtils.getNameForVariableInArray();
-                Variable v = createInitialized(inputVariableContent, variableName, variableName, execContextId, currTaskContextId, EnumsApi.VariableType.text);
+                elements.add(newVariable(inputVariableContent, variableName, variableName, execContextId, currTaskContextId, EnumsApi.VariableType.text));
+            }
 
-                VariableUtils.VariableHolder variableHolder = new VariableUtils.VariableHolder(v);
-                variableHolders.add(variableHolder);
+            if (inputVariableFile!=null) {
+                String variableName = VariableUtils.getNameForVariableInArray();
+                elements.add(newVariable(inputVariableFile, variableName, variableName, execContextId, currTaskContextId));
             }
+        }
+        return elements;
+    }
+
+    private List<Variable> createSubProcessVariables(
+            VariableData.VariableDataSource variableDataSource, List<Variable> arrayElements,
+            Long execContextId, String inputVariableName, String currTaskContextId, boolean contentAsArray) {
 
+        List<BatchTopLevelService.FileWithMapping> files = variableDataSource.files;
+        String inputVariableContent = variableDataSource.inputVariableContent;
+        Path inputVariableFile = variableDataSource.inputVariableFile;
+        VariableData.Permutation permutation = variableDataSource.permutation;
+        List<Pair<String, Boolean>> booleanVariables = variableDataSource.booleanVariables;
+
+        List<Variable> variables = new ArrayList<>();
+        if (!files.isEmpty() || ((inputVariableContent!=null || inputVariableFile!=null) && contentAsArray)) {
+            List<VariableUtils.VariableHolder> variableHolders = new ArrayList<>(arrayElements.size());
+            for (Variable element : arrayElements) {
+                variableHolders.add(new VariableUtils.VariableHolder(element));
+            }
             VariableArrayParamsYaml vapy = VariableUtils.toVariableArrayParamsYaml(variableHolders);
             String yaml = VariableArrayParamsYamlUtils.BASE_YAML_UTILS.toString(vapy);
             byte[] bytes = yaml.getBytes();
             ByteArrayInputStream bais = new ByteArrayInputStream(bytes);
             // we fire this event to be sure that ref to ByteArrayInputStream live longer than TX
             eventPublisher.publishEvent(new ResourceCloseTxEvent(bais));
-            Variable v = createInitialized(bais, bytes.length, inputVariableName, null, execContextId, currTaskContextId, EnumsApi.VariableType.yaml);
+            variables.add(newVariable(bais, bytes.length, inputVariableName, null, execContextId, currTaskContextId, EnumsApi.VariableType.yaml));
         }
 
         for (Pair<String, Boolean> booleanVariable : booleanVariables) {
-            Variable v = createInitialized(booleanVariable.getValue().toString(), booleanVariable.getKey(), null, execContextId, currTaskContextId, EnumsApi.VariableType.text);
+            variables.add(newVariable(booleanVariable.getValue().toString(), booleanVariable.getKey(), null, execContextId, currTaskContextId, EnumsApi.VariableType.text));
         }
 
         if (inputVariableContent!=null && !contentAsArray) {
-            Variable v = createInitialized(inputVariableContent, inputVariableName, null, execContextId, currTaskContextId, EnumsApi.VariableType.text);
+            variables.add(newVariable(inputVariableContent, inputVariableName, null, execContextId, currTaskContextId, EnumsApi.VariableType.text));
+        }
+
+        if (inputVariableFile!=null && !contentAsArray) {
+            variables.add(newVariable(inputVariableFile, inputVariableName, null, execContextId, currTaskContextId));
         }
 
         if (permutation!=null) {
             {
                 VariableArrayParamsYaml vapy = VariableUtils.toVariableArrayParamsYaml(permutation.permutedVariables);
                 String yaml = VariableArrayParamsYamlUtils.BASE_YAML_UTILS.toString(vapy);
-                Variable v = createInitialized(yaml, permutation.permutedVariableName, null, execContextId, currTaskContextId, EnumsApi.VariableType.yaml);
+                variables.add(newVariable(yaml, permutation.permutedVariableName, null, execContextId, currTaskContextId, EnumsApi.VariableType.yaml));
             }
             if (permutation.permuteInlines) {
                 if (permutation.inlineVariableName==null || permutation.inlinePermuted==null) {
@@ -427,9 +534,10 @@ public class VariableTxService {
                 }
                 Yaml yampUtil = YamlUtils.init(Map.class);
                 String yaml = yampUtil.dumpAsMap(permutation.inlinePermuted);
-                Variable v = createInitialized(yaml, permutation.inlineVariableName, null, execContextId, currTaskContextId, EnumsApi.VariableType.yaml);
+                variables.add(newVariable(yaml, permutation.inlineVariableName, null, execContextId, currTaskContextId, EnumsApi.VariableType.yaml));
             }
         }
+        return variables;
     }
 
     @SuppressWarnings({"SameParameterValue"})
@@ -760,6 +868,28 @@ public class VariableTxService {
         }
     }
 
+    /**
+     * @return range of variable's data or null if storage doesn't support random access
+     */
+    @Nullable
+    @Transactional(readOnly = true)
+    public VariableDataRange getVariableDataRangeWithTx(Long variableId, long offset, long maxLength) {
+        Variable sv = getVariableNotNull(variableId);
+        if (sv.nullified) {
+            throw new VariableIsNullException("171.785 Variable #"+variableId+" is nullified. Must not be queried", variableId);
+        }
+        final Long variableBlobId = getVariableBlobIdNotNull(variableId);
+        try {
+            return dispatcherBlobStorage.getVariableDataRange(variableBlobId, offset, maxLength);
+        } catch (CommonErrorWithDataException e) {
+            throw e;
+        } catch (Exception e) {
+            String es = "171.790 Error while reading a range of data";
+            log.error(es, e);
+            throw new IllegalStateException(es, e);
+        }
+    }
+
     @Transactional(readOnly = true)
     public byte[] getVariableAsBytes(Long variableId) {
         final Long variableBlobId = getVariableBlobIdNotNull(variableId);
@@ -802,12 +932,23 @@ public class VariableTxService {
         return variableRepository.getIdAndStorageUrlInVarsForExecContext(execContextId, variables);
     }
 
-    private Variable createInitialized(String data, String variable, @Nullable String filename, Long execContextId, String taskContextId, EnumsApi.VariableType type) {
+    private Variable newVariable(String data, String variable, @Nullable String filename, Long execContextId, String taskContextId, EnumsApi.VariableType type) {
         final byte[] bytes = data.getBytes();
         InputStream is = new ByteArrayInputStream(bytes);
         // we fire this event to be sure that ref to ByteArrayInputStream live longer than TX
         eventPublisher.publishEvent(new ResourceCloseTxEvent(is));
-        return createInitialized(is, bytes.length, variable, filename, execContextId, taskContextId, type);
+        return newVariable(is, bytes.length, variable, filename, execContextId, taskContextId, type);
+    }
+
+    private Variable newVariable(Path file, String variable, @Nullable String filename, Long execContextId, String taskContextId) {
+        try {
+            InputStream is = Files.newInputStream(file);
+            eventPublisher.publishEvent(new ResourceCloseTxEvent(is));
+            return newVariable(is, Files.size(file), variable, filename, execContextId, taskContextId, EnumsApi.VariableType.text);
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 
 
@@ -867,7 +1008,9 @@ public class VariableTxService {
 
     @Transactional
     public void deleteOrphanVariables(List<Long> ids) {
+        List<Long> variableBlobIds = variableRepository.findVariableBlobIdsByIds(ids);
         variableRepository.deleteByIds(ids);
+        dispatcherBlobStorage.releaseVariableData(variableBlobIds);
     }
 
 }
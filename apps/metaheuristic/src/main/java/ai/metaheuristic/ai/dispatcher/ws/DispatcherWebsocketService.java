@@ -41,6 +41,7 @@ import org.springframework.stereotype.Service;
 public class DispatcherWebsocketService {
 
     private final SimpMessagingTemplate template;
+    private final TaskOfferService taskOfferService;
 
     private long eventId = 0;
 
@@ -59,6 +60,11 @@ public class DispatcherWebsocketService {
     @EventListener
     public void handleNewTaskWasProducedEvent(NewWebsocketEvent event) {
         try {
+            // idle cores get tasks directly, all others are woken up only if there are tasks left
+            if (event.type==Enums.WebsocketEventType.task && !taskOfferService.offerTasks()) {
+                log.debug("188.030 All new tasks were offered to idle cores");
+                return;
+            }
             log.info("188.040 New tasks were produced and processors will be informed via websockets");
             sendEvent(Enums.WebsocketEventType.task);
         } catch (Throwable th) {
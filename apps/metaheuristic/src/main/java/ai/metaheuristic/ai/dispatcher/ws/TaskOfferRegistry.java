@@ -0,0 +1,149 @@
+/*
+ * Metaheuristic, Copyright (C) 2017-2025, Innovation platforms, LLC
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package ai.metaheuristic.ai.dispatcher.ws;
+
+import ai.metaheuristic.ai.Consts;
+import org.jspecify.annotations.Nullable;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * State of push-based offering of tasks: which processors listen to their personal topics,
+ * which cores are idle, and which offered tasks weren't picked up yet.
+ *
+ * <p>A core is idle when its last request for a task was answered with nothing. An offer is accepted
+ * when the core requests tasks again and either gets the offered task or reports it as its own.
+ *
+ * @author Serge
+ * Date: 10/18/2026
+ * Time: 10:20 PM
+ */
+public class TaskOfferRegistry {
+
+    public record IdleCore(Long processorId, Long coreId, boolean acceptOnlySigned, int currentQuota, List<Long> taskIds, long lastSeen) {}
+
+    public record Offer(Long taskId, Long execContextId, Long processorId, Long coreId, long offeredOn) {}
+
+    // key is id of websocket session + ':' + id of subscription
+    private final Map<String, Long> subscriptions = new ConcurrentHashMap<>();
+    // key is coreId
+    private final Map<Long, IdleCore> idleCores = new ConcurrentHashMap<>();
+    // key is taskId
+    private final Map<Long, Offer> offers = new ConcurrentHashMap<>();
+
+    @Nullable
+    public static Long toProcessorId(@Nullable String destination) {
+        if (destination==null || !destination.startsWith(Consts.WS_PROCESSOR_TOPIC_PREFIX)) {
+            return null;
+        }
+        try {
+            return Long.valueOf(destination.substring(Consts.WS_PROCESSOR_TOPIC_PREFIX.length()));
+        }
+        catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    public void subscribe(String sessionId, String subscriptionId, Long processorId) {
+        subscriptions.put(sessionId + ':' + subscriptionId, processorId);
+    }
+
+    public void unsubscribe(String sessionId, String subscriptionId) {
+        Long processorId = subscriptions.remove(sessionId + ':' + subscriptionId);
+        if (processorId!=null) {
+            forgetIdleCoresIfNotSubscribed(processorId);
+        }
+    }
+
+    public void disconnect(String sessionId) {
+        final String prefix = sessionId + ':';
+        List<Long> processorIds = new ArrayList<>();
+        subscriptions.entrySet().removeIf(e -> {
+            if (e.getKey().startsWith(prefix)) {
+                processorIds.add(e.getValue());
+                return true;
+            }
+            return false;
+        });
+        processorIds.forEach(this::forgetIdleCoresIfNotSubscribed);
+    }
+
+    private void forgetIdleCoresIfNotSubscribed(Long processorId) {
+        if (!isSubscribed(processorId)) {
+            idleCores.values().removeIf(o -> o.processorId.equals(processorId));
+        }
+    }
+
+    public boolean isSubscribed(Long processorId) {
+        return subscriptions.containsValue(processorId);
+    }
+
+    /**
+     * @return true if the core is idle now
+     */
+    public boolean registerRequest(Long processorId, Long coreId, boolean acceptOnlySigned, int currentQuota, List<Long> taskIds,
+                                   @Nullable Long assignedTaskId, long now) {
+        offers.values().removeIf(o -> o.coreId.equals(coreId) && (o.taskId.equals(assignedTaskId) || taskIds.contains(o.taskId)));
+
+        boolean idle = assignedTaskId==null && isSubscribed(processorId) && !hasOffer(coreId);
+        if (idle) {
+            idleCores.put(coreId, new IdleCore(processorId, coreId, acceptOnlySigned, currentQuota, List.copyOf(taskIds), now));
+        }
+        else {
+            idleCores.remove(coreId);
+        }
+        return idle;
+    }
+
+    /**
+     * Idle cores, the longest waiting first. Cores which weren't heard from during idleTtlMills are forgotten.
+     */
+    public List<IdleCore> getIdleCores(long now, long idleTtlMills) {
+        idleCores.values().removeIf(o -> now - o.lastSeen > idleTtlMills);
+        List<IdleCore> list = new ArrayList<>(idleCores.values());
+        list.sort(Comparator.comparingLong(IdleCore::lastSeen));
+        return list;
+    }
+
+    public void addOffer(Offer offer) {
+        idleCores.remove(offer.coreId);
+        offers.put(offer.taskId, offer);
+    }
+
+    public boolean hasOffer(Long coreId) {
+        return offers.values().stream().anyMatch(o -> o.coreId.equals(coreId));
+    }
+
+    /**
+     * Removes and returns offers which weren't accepted during timeoutMills
+     */
+    public List<Offer> removeExpiredOffers(long now, long timeoutMills) {
+        List<Offer> expired = new ArrayList<>();
+        for (Offer offer : offers.values()) {
+            if (now - offer.offeredOn > timeoutMills && offers.remove(offer.taskId, offer)) {
+                expired.add(offer);
+            }
+        }
+        return expired;
+    }
+
+    public int offerCount() {
+        return offers.size();
+    }
+}
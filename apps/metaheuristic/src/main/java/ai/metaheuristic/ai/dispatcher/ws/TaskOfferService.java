@@ -0,0 +1,194 @@
+/*
+ * Metaheuristic, Copyright (C) 2017-2025, Innovation platforms, LLC
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package ai.metaheuristic.ai.dispatcher.ws;
+
+import ai.metaheuristic.ai.Consts;
+import ai.metaheuristic.ai.Enums;
+import ai.metaheuristic.ai.data.DispatcherData;
+import ai.metaheuristic.ai.dispatcher.event.events.CoreTaskRequestedEvent;
+import ai.metaheuristic.ai.dispatcher.event.events.ResetTaskEvent;
+import ai.metaheuristic.ai.dispatcher.task.TaskProviderTopLevelService;
+import ai.metaheuristic.ai.yaml.communication.dispatcher.DispatcherCommParamsYaml;
+import ai.metaheuristic.ai.yaml.ws_event.WebsocketEventParams;
+import ai.metaheuristic.ai.yaml.ws_event.WebsocketEventParamsUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.Nullable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Push-based offering of tasks to idle cores.
+ *
+ * <p>Processor subscribes to its personal topic {@link Consts#WS_PROCESSOR_TOPIC_PREFIX}+processorId.
+ * When new tasks are queued, the dispatcher assigns them to idle cores of such processors with the same
+ * logic which is used for /srv-v2 requests, so env, quotas and tags of core are respected, and sends
+ * a wake-up event only to the processors which got tasks. The processor requests tasks as usual
+ * and gets the offered task at once, as a task which was assigned to its core.
+ *
+ * <p>An offer which wasn't picked up during {@link #OFFER_TIMEOUT_MILLS} is reset, so the task is queued again.
+ * Expired offers are checked on each round of offering and by the dispatcher's scheduler,
+ * see {@link ai.metaheuristic.ai.Schedulers.TaskOfferSchedulers}.
+ * Processors without a personal topic and tasks which weren't offered to anyone are served
+ * by the broadcast event and by the regular polling, as before.
+ *
+ * @author Serge
+ * Date: 10/18/2026
+ * Time: 10:40 PM
+ */
+@Slf4j
+@Service
+@Profile("dispatcher & websocket")
+@RequiredArgsConstructor(onConstructor_={@Autowired})
+public class TaskOfferService {
+
+    private static final long OFFER_TIMEOUT_MILLS = TimeUnit.MINUTES.toMillis(2);
+    private static final long IDLE_TTL_MILLS = TimeUnit.MINUTES.toMillis(5);
+
+    private final SimpMessagingTemplate template;
+    private final TaskProviderTopLevelService taskProviderTopLevelService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final TaskOfferRegistry registry = new TaskOfferRegistry();
+    private final AtomicBoolean offering = new AtomicBoolean();
+    private final AtomicBoolean offerAgain = new AtomicBoolean();
+    private long eventId = 0;
+
+    @EventListener
+    public void handleSessionSubscribeEvent(SessionSubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        Long processorId = TaskOfferRegistry.toProcessorId(accessor.getDestination());
+        if (processorId!=null && accessor.getSessionId()!=null && accessor.getSubscriptionId()!=null) {
+            log.info("187.020 processor #{} subscribed to its topic", processorId);
+            registry.subscribe(accessor.getSessionId(), accessor.getSubscriptionId(), processorId);
+        }
+    }
+
+    @EventListener
+    public void handleSessionUnsubscribeEvent(SessionUnsubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        if (accessor.getSessionId()!=null && accessor.getSubscriptionId()!=null) {
+            registry.unsubscribe(accessor.getSessionId(), accessor.getSubscriptionId());
+        }
+    }
+
+    @EventListener
+    public void handleSessionDisconnectEvent(SessionDisconnectEvent event) {
+        registry.disconnect(event.getSessionId());
+    }
+
+    @EventListener
+    public void handleCoreTaskRequestedEvent(CoreTaskRequestedEvent event) {
+        registry.registerRequest(event.processorId, event.coreId, event.acceptOnlySigned, event.currentQuota, event.taskIds,
+                event.assignedTaskId, System.currentTimeMillis());
+    }
+
+    /**
+     * Offers queued tasks to idle cores. Concurrent calls are collapsed into one more round of offering.
+     *
+     * @return true if there are still new tasks in queue which weren't offered to anyone
+     */
+    public boolean offerTasks() {
+        if (!offering.compareAndSet(false, true)) {
+            offerAgain.set(true);
+            return false;
+        }
+        try {
+            do {
+                offerAgain.set(false);
+                resetExpiredOffers();
+                offerTasksInternal();
+            } while (offerAgain.get());
+        }
+        finally {
+            offering.set(false);
+        }
+        return !TaskProviderTopLevelService.isQueueEmpty();
+    }
+
+    private void offerTasksInternal() {
+        List<TaskOfferRegistry.IdleCore> idleCores = registry.getIdleCores(System.currentTimeMillis(), IDLE_TTL_MILLS);
+        // quotas are shared by all cores of processor
+        Map<Long, DispatcherData.TaskQuotas> quotas = new HashMap<>();
+        Set<Long> processorIds = new LinkedHashSet<>();
+        for (TaskOfferRegistry.IdleCore idleCore : idleCores) {
+            if (TaskProviderTopLevelService.isQueueEmpty()) {
+                break;
+            }
+            DispatcherData.TaskQuotas processorQuotas = quotas.computeIfAbsent(idleCore.processorId(), o -> new DispatcherData.TaskQuotas(idleCore.currentQuota()));
+            DispatcherCommParamsYaml.AssignedTask assignedTask = findTask(idleCore, processorQuotas);
+            if (assignedTask==null) {
+                continue;
+            }
+            TaskProviderTopLevelService.resetQueueEmptySuspension(idleCore.coreId());
+            registry.addOffer(new TaskOfferRegistry.Offer(
+                    assignedTask.taskId, assignedTask.execContextId, idleCore.processorId(), idleCore.coreId(), System.currentTimeMillis()));
+            processorIds.add(idleCore.processorId());
+            log.info("187.040 task #{} was offered to processor #{}, core #{}", assignedTask.taskId, idleCore.processorId(), idleCore.coreId());
+        }
+        for (Long processorId : processorIds) {
+            sendEvent(processorId);
+        }
+    }
+
+    private DispatcherCommParamsYaml.@Nullable AssignedTask findTask(TaskOfferRegistry.IdleCore idleCore, DispatcherData.TaskQuotas quotas) {
+        try {
+            return taskProviderTopLevelService.findTask(idleCore.coreId(), idleCore.acceptOnlySigned(), quotas, idleCore.taskIds(), false);
+        }
+        catch (ObjectOptimisticLockingFailureException e) {
+            log.warn("187.060 core #{}, ObjectOptimisticLockingFailureException: {}", idleCore.coreId(), e.getMessage());
+        }
+        catch (Throwable th) {
+            log.error("187.080 Error while offering a task to core #" + idleCore.coreId(), th);
+        }
+        return null;
+    }
+
+    /**
+     * Resets offers which weren't picked up during {@link #OFFER_TIMEOUT_MILLS}.
+     * Is called by scheduler as well, so an offer expires even when no new tasks are queued.
+     */
+    public void resetExpiredOffers() {
+        for (TaskOfferRegistry.Offer offer : registry.removeExpiredOffers(System.currentTimeMillis(), OFFER_TIMEOUT_MILLS)) {
+            log.warn("187.100 task #{} wasn't picked up by processor #{}, core #{}, the task will be reset",
+                    offer.taskId(), offer.processorId(), offer.coreId());
+            eventPublisher.publishEvent(new ResetTaskEvent(offer.execContextId(), offer.taskId()));
+        }
+    }
+
+    private void sendEvent(Long processorId) {
+        WebsocketEventParams params = new WebsocketEventParams();
+        params.eventId = eventId++;
+        params.type = Enums.WebsocketEventType.task;
+        String text = WebsocketEventParamsUtils.BASE_UTILS.toString(params);
+        template.convertAndSend(Consts.WS_PROCESSOR_TOPIC_PREFIX + processorId, text);
+    }
+}
@@ -50,4 +50,17 @@ public class ChecksumAndSignatureUtils {
             return status;
         }
     }
+
+    /**
+     * Verification of function's file with checksum which was calculated while the file was being downloaded
+     */
+    public static CheckSumAndSignatureStatus getCheckSumAndSignatureStatus(
+        ProcessorAndCoreData.AssetManagerUrl assetManagerUrl, DispatcherLookupParamsYaml.AssetManager asset,
+        String functionCode, ChecksumAndSignatureData.ChecksumWithSignatureInfo checksumState, String actualChecksum) {
+
+        final PublicKey publicKey = asset.publicKey!=null ? ProcessorUtils.createPublicKey(asset) : null;
+        return ChecksumWithSignatureUtils.verifyCalculatedChecksumAndSignature(
+            "Asset url: "+ assetManagerUrl.url +", function: "+functionCode, actualChecksum, publicKey,
+            checksumState.originChecksumWithSignature, checksumState.hashAlgo);
+    }
 }
@@ -21,8 +21,10 @@ import ai.metaheuristic.ai.data.DispatcherData;
 import ai.metaheuristic.ai.functions.FunctionEnums.DownloadPriority;
 import ai.metaheuristic.ai.processor.DispatcherContextInfoHolder;
 import ai.metaheuristic.ai.processor.ProcessorAndCoreData;
+import ai.metaheuristic.ai.processor.actors.DownloadBandwidthLimiter;
 import ai.metaheuristic.ai.processor.actors.DownloadUtils;
 import ai.metaheuristic.ai.processor.actors.GetDispatcherContextInfoService;
+import ai.metaheuristic.ai.processor.actors.ParallelChunkDownloader;
 import ai.metaheuristic.ai.processor.net.HttpClientExecutor;
 import ai.metaheuristic.ai.processor.processor_environment.MetadataParams;
 import ai.metaheuristic.ai.processor.processor_environment.ProcessorEnvironment;
@@ -36,6 +38,7 @@ import ai.metaheuristic.api.data.checksum_signature.ChecksumAndSignatureData;
 import ai.metaheuristic.commons.CommonConsts;
 import ai.metaheuristic.commons.S;
 import ai.metaheuristic.commons.utils.ArtifactCommonUtils;
+import ai.metaheuristic.commons.utils.Checksum;
 import ai.metaheuristic.commons.utils.DirUtils;
 import ai.metaheuristic.commons.utils.ZipUtils;
 import ai.metaheuristic.commons.utils.checksum.CheckSumAndSignatureStatus;
@@ -43,6 +46,7 @@ import ai.metaheuristic.commons.utils.threads.MultiTenantedQueue;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.codec.binary.Hex;
 import org.apache.hc.client5.http.HttpResponseException;
 import org.apache.hc.client5.http.fluent.Request;
 import org.apache.hc.client5.http.fluent.Response;
@@ -50,6 +54,7 @@ import org.apache.hc.core5.http.ClassicHttpResponse;
 import org.apache.hc.core5.http.Header;
 import org.apache.hc.core5.http.HttpEntity;
 import org.apache.hc.core5.http.HttpResponse;
+import org.apache.hc.core5.http.io.entity.EntityUtils;
 import org.apache.hc.core5.net.URIBuilder;
 import org.apache.hc.core5.util.Timeout;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -61,13 +66,14 @@ import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
-import java.io.OutputStream;
 import java.net.ConnectException;
 import java.net.SocketTimeoutException;
 import java.net.URISyntaxException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
 import java.time.Duration;
 import java.util.UUID;
 
@@ -84,6 +90,7 @@ public class DownloadFunctionService {
     private final ProcessorEnvironment processorEnvironment;
     private final GetDispatcherContextInfoService getDispatcherContextInfoService;
     private final FunctionRepositoryProcessorService functionRepositoryProcessorService;
+    private final DownloadBandwidthLimiter downloadBandwidthLimiter;
 
     private final MultiTenantedQueue<DownloadPriority, DownloadFunctionTask> downloadFunctionQueue =
         new MultiTenantedQueue<>(100, Duration.ZERO, true, "download-function-", this::downloadFunction);
@@ -151,7 +158,6 @@ public class DownloadFunctionService {
         }
 
         String functionZipFilename = ArtifactCommonUtils.normalizeCode(task.functionCode) + CommonConsts.ZIP_EXT;
-        String mask = functionZipFilename + ".%s.tmp";
         Path parentDir = DirUtils.getParent(assetFile.file, Path.of(actualFunctionFile));
         if (parentDir==null) {
             log.error("811.070 parentDir is null");
@@ -190,173 +196,107 @@ public class DownloadFunctionService {
             return;
         }
 
+        // the data file and the state of download stay between attempts, so an interrupted download is resumed
+        final Path dataFile = downloadDir.resolve(functionZipFilename + ".part");
+        // checksum is calculated while chunks are being received, so the file isn't read once more for it
+        final @Nullable MessageDigest digest = checksum.hashAlgo==null ? null : Checksum.getMessageDigest(checksum.hashAlgo);
         try {
             Files.createDirectories(downloadDir);
             Files.createDirectories(parentDir);
 
-            EnumsApi.FunctionState functionState = EnumsApi.FunctionState.none;
-            int idx = 0;
             final String targetUrl = assetManager.url + Consts.REST_ASSET_URL + "/function";
-            do {
-                final String randomPartUri = '/' + UUID.randomUUID().toString().substring(0, 8);
-                try {
-
-                    final URIBuilder builder = new URIBuilder(targetUrl + randomPartUri).setCharset(StandardCharsets.UTF_8)
-                            .addParameter("code", task.functionCode)
-                            .addParameter("chunkSize", contextInfo.chunkSize.toString())
-                            .addParameter("chunkNum", Integer.toString(idx));
-
-                    final Request request = Request.get(builder.build()).connectTimeout(Timeout.ofSeconds(5));
-                            //.socketTimeout(20000);
-
-                    RestUtils.addHeaders(request);
-
-                    Response response = HttpClientExecutor.getExecutor(assetManager.url, assetManager.username, assetManager.password).execute(request);
-                    Path partFile = downloadDir.resolve(String.format(mask, idx));
-
-                    final HttpResponse httpResponse = response.returnResponse();
-                    if (!(httpResponse instanceof ClassicHttpResponse classicHttpResponse)) {
-                        throw new IllegalStateException("(!(httpResponse instanceof ClassicHttpResponse classicHttpResponse))");
-                    }
-                    final int statusCode = classicHttpResponse.getCode();
-                    if (statusCode == HttpStatus.UNPROCESSABLE_CONTENT.value()) {
-                        final String es = S.f("811.047 Function %s can't be downloaded, assetManager manager %s was mis-configure. Reason: Current dispatcher is configured with assetMode==replicated, but you're trying to use it as the source for downloading of functions", task.functionCode, assetManager.url);
-                        log.error(es);
-                        FunctionRepositoryProcessorService.setFunctionState(assetManagerUrl, functionCode, EnumsApi.FunctionState.dispatcher_config_error, assetFile);
-                        functionState = EnumsApi.FunctionState.dispatcher_config_error;
-                        break;
-                    }
-                    else if (statusCode == HttpStatus.GONE.value()) {
-                        final String es = S.f("811.048 Function %s was deleted at assetManager manager %s.", task.functionCode, assetManager.url);
-                        log.error(es);
-                        // do not delete this function code because it can be received from dispatcher, so it'll be created constantly, if deleted
-                        FunctionRepositoryProcessorService.setFunctionState(assetManagerUrl, functionCode, EnumsApi.FunctionState.not_found, assetFile);
-                        functionState = EnumsApi.FunctionState.not_found;
-                        break;
-                    }
-                    else if (statusCode != HttpStatus.OK.value()) {
-                        final String es = S.f("811.050 Function %s can't be downloaded from assetManager manager %s, checkSumAndSignatureStatus code: %d", task.functionCode, assetManager.url, statusCode);
-                        log.error(es);
-                        FunctionRepositoryProcessorService.setFunctionState(assetManagerUrl, functionCode, EnumsApi.FunctionState.download_error, assetFile);
-                        functionState = EnumsApi.FunctionState.download_error;
-                        break;
-                    }
+            final long chunkSize = contextInfo.chunkSize;
+            final ParallelChunkDownloader.Result result;
+            try {
+                result = ParallelChunkDownloader.download(dataFile, chunkSize, assetManagerDownloadConcurrency(assetManagerUrl),
+                        (chunkNum) -> downloadBandwidthLimiter.charge(fetchChunk(assetManager, targetUrl, functionCode, chunkSize, chunkNum)),
+                        digest==null ? null : digest::update);
+            }
+            catch (HttpResponseException e) {
+                if (e.getStatusCode() == HttpServletResponse.SC_BAD_GATEWAY) {
+                    log.warn("811.035 BAD_GATEWAY error while downloading a function #{} on assetManager srv {}. will try later again", functionCode, assetManager.url);
+                    // do nothing and try later again
+                    return;
+                }
+                throw e;
+            }
 
-                    try (final OutputStream out = Files.newOutputStream(partFile)) {
-                        final HttpEntity entity = classicHttpResponse.getEntity();
-                        if (entity != null) {
-                            entity.writeTo(out);
-                        } else {
-                            log.warn("811.055 http entity is null");
-                        }
-                    }
-                    final Header[] headers = httpResponse.getHeaders();
-                    if (!DownloadUtils.isChunkConsistent(partFile, headers)) {
-                        log.error("811.060 error while downloading chunk of function {}, size is different", functionCode);
-                        FunctionRepositoryProcessorService.setFunctionState(assetManagerUrl, functionCode, EnumsApi.FunctionState.download_error, assetFile);
-                        functionState = EnumsApi.FunctionState.download_error;
-                        break;
-                    }
-                    if (DownloadUtils.isLastChunk(headers)) {
-                        functionState = EnumsApi.FunctionState.ok;
-                        break;
-                    }
-                    if (Files.size(partFile)==0) {
-                        functionState = EnumsApi.FunctionState.ok;
-                        break;
-                    }
-                } catch (HttpResponseException e) {
-                    if (e.getStatusCode() == HttpStatus.UNPROCESSABLE_CONTENT.value()) {
-                        final String es = S.f("811.065 Function %s can't be downloaded, assetManager manager %s was mis-configured", task.functionCode, assetManager.url);
-                        log.warn(es);
-                        FunctionRepositoryProcessorService.setFunctionState(assetManagerUrl, functionCode, EnumsApi.FunctionState.dispatcher_config_error, assetFile);
-                        functionState = EnumsApi.FunctionState.dispatcher_config_error;
-                        break;
-                    } else if (e.getStatusCode() == HttpServletResponse.SC_BAD_GATEWAY) {
-                        final String es = String.format("811.035 BAD_GATEWAY error while downloading " +
-                                "a function #%s on assetManager srv %s. will try later again", task.functionCode, assetManager.url);
-                        log.warn(es);
-                        // do nothing and try later again
-                        return;
-                    } else if (e.getStatusCode() == HttpServletResponse.SC_GONE) {
-                        final String es = S.f("811.070 Function %s wasn't found on assetManager manager %s", task.functionCode, assetManager.url);
-                        log.warn(es);
-                        // do not delete this function code because it can be received from dispatcher, so it'll be created constantly, if deleted
-                        FunctionRepositoryProcessorService.setFunctionState(assetManagerUrl, functionCode, EnumsApi.FunctionState.not_found, assetFile);
-                        functionState = EnumsApi.FunctionState.not_found;
-                        break;
-                    } else if (e.getStatusCode() == HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE) {
-                        final String es = S.f("811.080 Unknown error with a function %s on assetManager manager %s", task.functionCode, assetManager.url);
-                        log.warn(es);
-                        FunctionRepositoryProcessorService.setFunctionState(assetManagerUrl, functionCode, EnumsApi.FunctionState.download_error, assetFile);
-                        functionState = EnumsApi.FunctionState.download_error;
-                        break;
-                    } else if (e.getStatusCode() == HttpServletResponse.SC_NOT_ACCEPTABLE) {
-                        final String es = S.f("811.090 Unknown error with a resource %s on assetManager manager %s", task.functionCode, assetManager.url);
-                        log.warn(es);
-                        FunctionRepositoryProcessorService.setFunctionState(assetManagerUrl, functionCode, EnumsApi.FunctionState.download_error, assetFile);
-                        functionState = EnumsApi.FunctionState.download_error;
-                        break;
-                    } else {
-                        final String es = S.f("811.091 Unknown error with a resource %s on assetManager manager %s, dispatcher %s", task.functionCode, assetManager.url);
-                        log.warn(es);
-                        FunctionRepositoryProcessorService.setFunctionState(assetManagerUrl, functionCode, EnumsApi.FunctionState.download_error, assetFile);
-                        functionState = EnumsApi.FunctionState.download_error;
-                        break;
+            EnumsApi.FunctionState functionState = switch (result.status()) {
+                case ok -> EnumsApi.FunctionState.ok;
+                case bad_gateway -> {
+                    log.warn("811.035 BAD_GATEWAY error while downloading a function #{} on assetManager srv {}. will try later again", functionCode, assetManager.url);
+                    yield null;
+                }
+                case gone -> {
+                    log.error("811.048 Function {} was deleted at assetManager manager {}.", functionCode, assetManager.url);
+                    // do not delete this function code because it can be received from dispatcher, so it'll be created constantly, if deleted
+                    yield EnumsApi.FunctionState.not_found;
+                }
+                case unexpected_status -> {
+                    if (result.statusCode() == HttpStatus.UNPROCESSABLE_CONTENT.value()) {
+                        log.error("811.047 Function {} can't be downloaded, assetManager manager {} was mis-configure. Reason: Current dispatcher is configured with assetMode==replicated, but you're trying to use it as the source for downloading of functions", functionCode, assetManager.url);
+                        yield EnumsApi.FunctionState.dispatcher_config_error;
                     }
+                    log.error("811.050 Function {} can't be downloaded from assetManager manager {}, status code: {}", functionCode, assetManager.url, result.statusCode());
+                    yield EnumsApi.FunctionState.download_error;
                 }
-                // work around for handling a burst access to assetManager server
-                //noinspection BusyWait
-                //Thread.sleep(50);
-                idx++;
-            } while (idx < 1000);
-            if (functionState == EnumsApi.FunctionState.none) {
-                log.error("811.100 something wrong, is file too big or chunkSize too small? chunkSize: {}", contextInfo.chunkSize);
-                return;
-            }
-            else if (functionState == EnumsApi.FunctionState.download_error) {
-                log.warn("811.110 function {} will be downloaded later, state: {}", functionCode, functionState);
-                FunctionRepositoryProcessorService.setFunctionState(assetManagerUrl, functionCode, EnumsApi.FunctionState.download_error, assetFile);
-                return;
-            }
-            else if (functionState == EnumsApi.FunctionState.dispatcher_config_error) {
-                log.warn("811.111 function {} can't be downloaded, state: {}", functionCode, functionState);
-                FunctionRepositoryProcessorService.setFunctionState(assetManagerUrl, functionCode, EnumsApi.FunctionState.dispatcher_config_error, assetFile);
+                case no_content -> {
+                    log.error("811.050 Function {} can't be downloaded from assetManager manager {}, status code: {}", functionCode, assetManager.url, result.statusCode());
+                    yield EnumsApi.FunctionState.download_error;
+                }
+                case transmitting_error -> {
+                    log.error("811.060 error while downloading chunk #{} of function {}", result.chunkNum(), functionCode);
+                    yield EnumsApi.FunctionState.download_error;
+                }
+                case too_many_chunks -> {
+                    log.error("811.100 something wrong, is file too big or chunkSize too small? chunkSize: {}", contextInfo.chunkSize);
+                    yield null;
+                }
+            };
+            if (functionState==null) {
                 return;
             }
-            else if (functionState == EnumsApi.FunctionState.not_found) {
-                log.warn("811.112 function {} can't be downloaded, state: {}", functionCode, functionState);
-                FunctionRepositoryProcessorService.setFunctionState(assetManagerUrl, functionCode, EnumsApi.FunctionState.not_found, assetFile);
+            if (functionState!=EnumsApi.FunctionState.ok) {
+                log.warn("811.110 function {} wasn't downloaded, state: {}", functionCode, functionState);
+                FunctionRepositoryProcessorService.setFunctionState(assetManagerUrl, functionCode, functionState, assetFile);
                 return;
             }
-
-            DownloadUtils.combineParts(functionZip, functionZip, idx);
-            //ZipUtils.unzipFolder(functionZip, parentDir);
-
-            int i=0;
+            Files.move(dataFile, functionZip, StandardCopyOption.REPLACE_EXISTING);
         } catch (HttpResponseException e) {
             logError(functionCode, e);
+            return;
         } catch (SocketTimeoutException e) {
             log.error("811.140 SocketTimeoutException: {}", e.toString());
+            return;
         } catch (ConnectException e) {
             log.error("811.143 ConnectException: {}", e.toString());
+            return;
         } catch (IOException e) {
             log.error("811.150 IOException", e);
+            return;
         } catch (URISyntaxException e) {
             log.error("811.160 URISyntaxException", e);
+            return;
         } catch (Throwable th) {
             log.error("811.165 Throwable", th);
+            return;
         }
         CheckSumAndSignatureStatus checkSumAndSignatureStatus;
-        try {
-            checkSumAndSignatureStatus = ChecksumAndSignatureUtils.getCheckSumAndSignatureStatus(assetManagerUrl, assetManager, functionCode, checksum, functionZip);
-            FunctionRepositoryProcessorService.setChecksumAndSignatureStatus(assetManagerUrl, functionCode, checkSumAndSignatureStatus);
-        } catch (IOException e) {
-            log.error("811.185 Error in getCheckSumAndSignatureStatus(),functionCode: {},  assetManager file {}, error: {}",
-                    functionCode, assetFile.getFile().toAbsolutePath(), e.toString());
-            FunctionRepositoryProcessorService.setFunctionState(assetManagerUrl, functionCode, EnumsApi.FunctionState.io_error, assetFile);
-            return;
+        if (digest!=null) {
+            checkSumAndSignatureStatus = ChecksumAndSignatureUtils.getCheckSumAndSignatureStatus(
+                    assetManagerUrl, assetManager, functionCode, checksum, Hex.encodeHexString(digest.digest()));
+        }
+        else {
+            try {
+                checkSumAndSignatureStatus = ChecksumAndSignatureUtils.getCheckSumAndSignatureStatus(assetManagerUrl, assetManager, functionCode, checksum, functionZip);
+            } catch (IOException e) {
+                log.error("811.185 Error in getCheckSumAndSignatureStatus(),functionCode: {},  assetManager file {}, error: {}",
+                        functionCode, assetFile.getFile().toAbsolutePath(), e.toString());
+                FunctionRepositoryProcessorService.setFunctionState(assetManagerUrl, functionCode, EnumsApi.FunctionState.io_error, assetFile);
+                return;
+            }
         }
+        FunctionRepositoryProcessorService.setChecksumAndSignatureStatus(assetManagerUrl, functionCode, checkSumAndSignatureStatus);
 
         if (checkSumAndSignatureStatus.checksum != EnumsApi.ChecksumState.wrong && checkSumAndSignatureStatus.signature != EnumsApi.SignatureState.wrong) {
             ZipUtils.unzipFolder(functionZip, parentDir);
@@ -381,6 +321,38 @@ public class DownloadFunctionService {
         }
     }
 
+    private int assetManagerDownloadConcurrency(ProcessorAndCoreData.AssetManagerUrl assetManagerUrl) {
+        // there isn't a per-assetManager setting, so the concurrency of variable downloads is used
+        return processorEnvironment.getProcessorEnv().dispatcherLookupExtendedService().lookupExtendedMap.values().stream()
+                .filter(o -> assetManagerUrl.url.equals(o.dispatcherLookup.assetManagerUrl))
+                .mapToInt(o -> o.dispatcherLookup.downloadConcurrency)
+                .max()
+                .orElse(Consts.DOWNLOAD_CONCURRENCY_DEFAULT);
+    }
+
+    private static ParallelChunkDownloader.ChunkResponse fetchChunk(
+            DispatcherLookupParamsYaml.AssetManager assetManager, String targetUrl, String functionCode, long chunkSize, int chunkNum) throws IOException, URISyntaxException {
+        final String randomPartUri = '/' + UUID.randomUUID().toString().substring(0, 8);
+        final URIBuilder builder = new URIBuilder(targetUrl + randomPartUri).setCharset(StandardCharsets.UTF_8)
+                .addParameter("code", functionCode)
+                .addParameter("chunkSize", Long.toString(chunkSize))
+                .addParameter("chunkNum", Integer.toString(chunkNum));
+
+        final Request request = Request.get(builder.build()).connectTimeout(Timeout.ofSeconds(5));
+        RestUtils.addHeaders(request);
+
+        Response response = HttpClientExecutor.getExecutor(assetManager.url, assetManager.username, assetManager.password).execute(request);
+        final HttpResponse httpResponse = response.returnResponse();
+        if (!(httpResponse instanceof ClassicHttpResponse classicHttpResponse)) {
+            throw new IllegalStateException("(!(httpResponse instanceof ClassicHttpResponse classicHttpResponse))");
+        }
+        final Header[] headers = httpResponse.getHeaders();
+        final HttpEntity entity = classicHttpResponse.getEntity();
+        final byte[] body = entity==null ? new byte[0] : EntityUtils.toByteArray(entity);
+        return new ParallelChunkDownloader.ChunkResponse(
+                classicHttpResponse.getCode(), body, DownloadUtils.getChunkSize(headers), DownloadUtils.isLastChunk(headers), DownloadUtils.getTotalSize(headers));
+    }
+
     private DispatcherData.@Nullable DispatcherContextInfo getDispatcherContextInfo(ProcessorAndCoreData.AssetManagerUrl assetManagerUrl) {
         final DispatcherData.DispatcherContextInfo contextInfo = DispatcherContextInfoHolder.getCtx(assetManagerUrl);
 
@@ -87,7 +87,7 @@ public class DownloadGitFunctionService {
     }
 
     public static class GitRepoSync {
-        private static final CommonSync<String> commonSync = new CommonSync<>();
+        private static final CommonSync<String> commonSync = new CommonSync<>("gitFunction");
 
         public static void getWithSyncVoid(final String repo, Runnable runnable) {
             final ReentrantReadWriteLock.WriteLock lock = commonSync.getWriteLock(repo);
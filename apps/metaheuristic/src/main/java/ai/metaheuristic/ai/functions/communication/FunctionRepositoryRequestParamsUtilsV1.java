@@ -71,13 +71,13 @@ public class FunctionRepositoryRequestParamsUtilsV1
 
     @Override
     public String toString(@NonNull FunctionRepositoryRequestParamsV1 yaml) {
-        return getYaml().dump(yaml);
+        return dump(yaml);
     }
 
     @NonNull
     @Override
     public FunctionRepositoryRequestParamsV1 to(@NonNull String s) {
-        final FunctionRepositoryRequestParamsV1 p = getYaml().load(s);
+        final FunctionRepositoryRequestParamsV1 p = load(s);
         return p;
     }
 
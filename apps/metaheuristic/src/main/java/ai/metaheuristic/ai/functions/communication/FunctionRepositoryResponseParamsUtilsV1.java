@@ -85,13 +85,13 @@ public class FunctionRepositoryResponseParamsUtilsV1
 
     @Override
     public String toString(@NonNull FunctionRepositoryResponseParamsV1 yaml) {
-        return getYaml().dump(yaml);
+        return dump(yaml);
     }
 
     @NonNull
     @Override
     public FunctionRepositoryResponseParamsV1 to(@NonNull String s) {
-        final FunctionRepositoryResponseParamsV1 p = getYaml().load(s);
+        final FunctionRepositoryResponseParamsV1 p = load(s);
         return p;
     }
 
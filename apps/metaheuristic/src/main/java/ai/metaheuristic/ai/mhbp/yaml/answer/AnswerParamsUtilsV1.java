@@ -72,12 +72,12 @@ public class AnswerParamsUtilsV1 extends
     public String toString(AnswerParamsV1 yaml) {
         yaml.checkIntegrity();
 
-        return getYaml().dump(yaml);
+        return dump(yaml);
     }
 
     @Override
     public AnswerParamsV1 to(String s) {
-        final AnswerParamsV1 p = getYaml().load(s);
+        final AnswerParamsV1 p = load(s);
         return p;
     }
 
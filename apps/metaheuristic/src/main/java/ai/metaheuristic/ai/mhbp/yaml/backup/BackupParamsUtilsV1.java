@@ -100,12 +100,12 @@ public class BackupParamsUtilsV1 extends
     public String toString(BackupParamsV1 yaml) {
         yaml.checkIntegrity();
 
-        return getYaml().dump(yaml);
+        return dump(yaml);
     }
 
     @Override
     public BackupParamsV1 to(String s) {
-        final BackupParamsV1 p = getYaml().load(s);
+        final BackupParamsV1 p = load(s);
         return p;
     }
 
@@ -70,12 +70,12 @@ public class ChapterParamsUtilsV1 extends
     public String toString(ChapterParamsV1 yaml) {
         yaml.checkIntegrity();
 
-        return getYaml().dump(yaml);
+        return dump(yaml);
     }
 
     @Override
     public ChapterParamsV1 to(String s) {
-        final ChapterParamsV1 p = getYaml().load(s);
+        final ChapterParamsV1 p = load(s);
         return p;
     }
 
@@ -70,12 +70,12 @@ public class ChatParamsUtilsV1 extends
     public String toString(ChatParamsV1 yaml) {
         yaml.checkIntegrity();
 
-        return getYaml().dump(yaml);
+        return dump(yaml);
     }
 
     @Override
     public ChatParamsV1 to(String s) {
-        final ChatParamsV1 p = getYaml().load(s);
+        final ChatParamsV1 p = load(s);
         return p;
     }
 
@@ -72,12 +72,12 @@ public class ChatLogParamsUtilsV1 extends
     public String toString(ChatLogParamsV1 yaml) {
         yaml.checkIntegrity();
 
-        return getYaml().dump(yaml);
+        return dump(yaml);
     }
 
     @Override
     public ChatLogParamsV1 to(String s) {
-        final ChatLogParamsV1 p = getYaml().load(s);
+        final ChatLogParamsV1 p = load(s);
         return p;
     }
 
@@ -102,12 +102,12 @@ public class KbParamsUtilsV1 extends
     public String toString(KbParamsV1 yaml) {
         yaml.checkIntegrity();
 
-        return getYaml().dump(yaml);
+        return dump(yaml);
     }
 
     @Override
     public KbParamsV1 to(String s) {
-        final KbParamsV1 p = getYaml().load(s);
+        final KbParamsV1 p = load(s);
         return p;
     }
 
@@ -70,12 +70,12 @@ public class PartParamsUtilsV1 extends
     public String toString(PartParamsV1 yaml) {
         yaml.checkIntegrity();
 
-        return getYaml().dump(yaml);
+        return dump(yaml);
     }
 
     @Override
     public PartParamsV1 to(String s) {
-        final PartParamsV1 p = getYaml().load(s);
+        final PartParamsV1 p = load(s);
         return p;
     }
 
@@ -87,12 +87,12 @@ public class ScenarioParamsUtilsV1 extends
     public String toString(ScenarioParamsV1 yaml) {
         yaml.checkIntegrity();
 
-        return getYaml().dump(yaml);
+        return dump(yaml);
     }
 
     @Override
     public ScenarioParamsV1 to(String s) {
-        final ScenarioParamsV1 p = getYaml().load(s);
+        final ScenarioParamsV1 p = load(s);
         return p;
     }
 
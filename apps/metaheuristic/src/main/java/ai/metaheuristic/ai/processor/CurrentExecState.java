@@ -17,6 +17,7 @@ package ai.metaheuristic.ai.processor;
 
 import ai.metaheuristic.ai.Enums;
 import ai.metaheuristic.api.EnumsApi;
+import ai.metaheuristic.commons.system.ProcessSupervisor;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
 
@@ -89,6 +90,8 @@ public class CurrentExecState {
         } finally {
             writeLock.unlock();
         }
+        // running functions of deleted or stopped execContexts must be terminated without waiting for the next check
+        ProcessSupervisor.signal();
     }
 
     public void register(DispatcherUrl dispatcherUrl, Map<EnumsApi.ExecContextState, String> states) {
@@ -121,6 +124,7 @@ public class CurrentExecState {
 
         } finally {
             writeLock.unlock();
+            ProcessSupervisor.signal();
         }
     }
 
@@ -26,6 +26,7 @@ import ai.metaheuristic.ai.processor.utils.DispatcherUtils;
 import ai.metaheuristic.ai.processor.ws.ProcessorWebsocketService;
 import ai.metaheuristic.ai.shutdown.ShutdownInterface;
 import ai.metaheuristic.ai.utils.RestUtils;
+import ai.metaheuristic.ai.yaml.communication.CommFormatUtils;
 import ai.metaheuristic.ai.yaml.communication.dispatcher.DispatcherCommParamsYaml;
 import ai.metaheuristic.ai.yaml.communication.dispatcher.DispatcherCommParamsYamlUtils;
 import ai.metaheuristic.ai.yaml.communication.processor.ProcessorCommParamsYaml;
@@ -81,6 +82,8 @@ public class DispatcherRequestor implements ShutdownInterface {
     private final ProcessorWebsocketService.@Nullable WebSocketInfra wsInfra;
     private static final Random R = new Random();
     private Enums.RequestToDispatcherType defaultTaskRequest = Enums.RequestToDispatcherType.both;
+    // format of requests, it's switched to the format in which the dispatcher has answered last time
+    private volatile CommFormatUtils.CommFormat commFormat = CommFormatUtils.CommFormat.yaml;
 
     private final MultiTenantedQueue<Enums.WebsocketEventType, RequestDispatcherForNewTaskEvent> DISPATCHER_REQUESTOR_MTQ =
         new MultiTenantedQueue<>(2, ConstsApi.SECONDS_1, true, null, this::handleRequestDispatcherForNewTaskEvent);
@@ -115,7 +118,8 @@ public class DispatcherRequestor implements ShutdownInterface {
                 dispatcherWsUrl,
                 dispatcher.dispatcherLookup.getRestUsername(),
                 dispatcher.dispatcherLookup.getRestPassword(),
-                this::consumeDispatcherEvent);
+                this::consumeDispatcherEvent,
+                () -> metadataService.getProcessorSession(dispatcherUrl).processorId);
             wsInfra.runInfra();
         }
         else {
@@ -224,23 +228,32 @@ public class DispatcherRequestor implements ShutdownInterface {
             }
 
             final String url = dispatcherRestUrl + '/' + R.nextInt(100_000, 1_000_000);
-            String yaml = ProcessorCommParamsYamlUtils.BASE_YAML_UTILS.toString(pcpy);
+            final CommFormatUtils.CommFormat format = commFormat;
+            byte[] data = CommFormatUtils.encode(format, ProcessorCommParamsYamlUtils.BASE_YAML_UTILS, pcpy);
 
             log.info("Start to request a dispatcher at {}, quotas: {}", url, pcpy.request.currentQuota);
 
-            final String result = RestUtils.makeRequest(restTemplate, url, yaml, dispatcher.authHeader, dispatcherRestUrl);
+            final RestUtils.CommResponse result = RestUtils.makeCommRequest(restTemplate, url, data, format, dispatcher.authHeader, dispatcherRestUrl);
 
             if (result == null) {
                 log.warn("777.210 Dispatcher returned null as a result");
+                // the dispatcher could be replaced with one which doesn't support the current format
+                commFormat = CommFormatUtils.CommFormat.yaml;
                 return;
             }
-            DispatcherCommParamsYaml dispatcherYaml = DispatcherCommParamsYamlUtils.BASE_YAML_UTILS.to(result);
+            commFormat = result.format();
+            DispatcherCommParamsYaml dispatcherYaml = CommFormatUtils.decode(
+                    result.format(), DispatcherCommParamsYamlUtils.BASE_YAML_UTILS, DispatcherCommParamsYaml.class, result.body());
 
             if (!dispatcherYaml.success) {
                 log.error("777.240 Something wrong at the dispatcher {}. Check the dispatcher's logs for more info.", dispatcherUrl );
                 return;
             }
             processDispatcherCommParamsYaml(pcpy, dispatcherUrl, dispatcherYaml);
+            if (wsInfra!=null) {
+                // processorId could be assigned with this response
+                wsInfra.subscribeToProcessorTopic();
+            }
         }
         catch (CustomInterruptedException | InterruptedException e) {
             //
@@ -23,14 +23,17 @@ import ai.metaheuristic.ai.processor.processor_environment.ProcessorEnvironment;
 import ai.metaheuristic.ai.processor.utils.DispatcherUtils;
 import ai.metaheuristic.ai.shutdown.ShutdownInterface;
 import ai.metaheuristic.ai.utils.RestUtils;
+import ai.metaheuristic.ai.yaml.communication.CommFormatUtils;
+import ai.metaheuristic.ai.yaml.communication.keep_alive.KeepAliveDigestUtils;
 import ai.metaheuristic.ai.yaml.communication.keep_alive.KeepAliveRequestParamYaml;
+import ai.metaheuristic.ai.yaml.communication.keep_alive.KeepAliveRequestParamYamlUtils;
 import ai.metaheuristic.ai.yaml.communication.keep_alive.KeepAliveResponseParamYaml;
 import ai.metaheuristic.ai.yaml.communication.keep_alive.KeepAliveResponseParamYamlUtils;
-import ai.metaheuristic.ai.yaml.communication.processor.ProcessorCommParamsYamlUtils;
 import ai.metaheuristic.ai.yaml.dispatcher_lookup.DispatcherLookupExtendedParams;
 import ai.metaheuristic.ai.yaml.metadata.MetadataParamsYaml;
 import ai.metaheuristic.commons.CommonConsts;
 import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.Nullable;
 import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.http.converter.StringHttpMessageConverter;
 import org.springframework.web.client.RestTemplate;
@@ -86,6 +89,16 @@ public class ProcessorKeepAliveRequestor implements ShutdownInterface {
     }
 
     private boolean shutdown = false;
+    // format of requests, it's switched to the format in which the dispatcher has answered last time
+    private volatile CommFormatUtils.CommFormat commFormat = CommFormatUtils.CommFormat.yaml;
+
+    // digests of status and cores which were accepted by the dispatcher, a section with the same digest isn't sent again.
+    // Digests are sent only in gzip-json format, which ignores unknown properties, so the dispatcher
+    // which doesn't know about digests just doesn't accept them, and all sections are sent as before
+    @Nullable
+    private volatile String acceptedStatusDigest = null;
+    @Nullable
+    private volatile String acceptedCoresDigest = null;
 
     public void shutdown() {
         shutdown = true;
@@ -133,26 +146,60 @@ public class ProcessorKeepAliveRequestor implements ShutdownInterface {
                     processorEnvironment.getProcessorEnv().dispatcherLookupExtendedService().lookupExtendedMap.get(dispatcherUrl);
 
             final String url = dispatcherRestUrl + '/' + R.nextInt(100_000, 1_000_000);
-            String yaml = ProcessorCommParamsYamlUtils.BASE_YAML_UTILS.toString(karpy);
+            final CommFormatUtils.CommFormat format = commFormat;
+            if (format==CommFormatUtils.CommFormat.gzipJson) {
+                omitAcceptedSections(karpy);
+            }
+            byte[] data = CommFormatUtils.encode(format, KeepAliveRequestParamYamlUtils.BASE_YAML_UTILS, karpy);
 
-            final String result = RestUtils.makeRequest(restTemplate, url, yaml, dispatcher.authHeader, dispatcherRestUrl);
+            final RestUtils.CommResponse result = RestUtils.makeCommRequest(restTemplate, url, data, format, dispatcher.authHeader, dispatcherRestUrl);
 
             if (result == null) {
                 log.warn("776.050 Dispatcher returned null as a result");
+                // the dispatcher could be replaced with one which doesn't support the current format
+                commFormat = CommFormatUtils.CommFormat.yaml;
+                resetAcceptedDigests();
                 return;
             }
-            KeepAliveResponseParamYaml responseParamYaml = KeepAliveResponseParamYamlUtils.BASE_YAML_UTILS.to(result);
+            commFormat = result.format();
+            KeepAliveResponseParamYaml responseParamYaml = CommFormatUtils.decode(
+                    result.format(), KeepAliveResponseParamYamlUtils.BASE_YAML_UTILS, KeepAliveResponseParamYaml.class, result.body());
 
             if (!responseParamYaml.success) {
+                resetAcceptedDigests();
                 log.error("776.060 Something wrong at the dispatcher {}. Check the dispatcher's logs for more info.", dispatcherUrl );
                 return;
             }
+            // null digest means that the dispatcher didn't accept the section and it has to be sent in full
+            acceptedStatusDigest = responseParamYaml.response.acceptedStatusDigest;
+            acceptedCoresDigest = responseParamYaml.response.acceptedCoresDigest;
             processorKeepAliveProcessor.processKeepAliveResponseParamYaml(dispatcherUrl, responseParamYaml);
 
         } catch (Throwable e) {
+            resetAcceptedDigests();
             log.error("776.130 Error in fixedDelay(), dispatcher url: {}, error: {}", dispatcherRestUrl, e.getMessage());
         }
     }
+
+    private void omitAcceptedSections(KeepAliveRequestParamYaml karpy) {
+        if (karpy.processor.status!=null) {
+            final String statusDigest = KeepAliveDigestUtils.statusDigest(karpy.processor.status);
+            karpy.processor.statusDigest = statusDigest;
+            if (statusDigest.equals(acceptedStatusDigest)) {
+                karpy.processor.status = null;
+            }
+        }
+        final String coresDigest = KeepAliveDigestUtils.coresDigest(karpy.cores);
+        karpy.processor.coresDigest = coresDigest;
+        if (coresDigest.equals(acceptedCoresDigest)) {
+            karpy.cores.clear();
+        }
+    }
+
+    private void resetAcceptedDigests() {
+        acceptedStatusDigest = null;
+        acceptedCoresDigest = null;
+    }
 }
 
 
@@ -0,0 +1,301 @@
+/*
+ * Metaheuristic, Copyright (C) 2017-2025, Innovation platforms, LLC
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package ai.metaheuristic.ai.processor;
+
+import ai.metaheuristic.ai.yaml.processor_task.ProcessorCoreTask;
+import ai.metaheuristic.ai.yaml.processor_task.ProcessorTaskUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.Nullable;
+import org.yaml.snakeyaml.error.YAMLException;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.CRC32C;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardOpenOption.*;
+
+/**
+ * Append-only journal with states of tasks of one core for one dispatcher.
+ *
+ * <p>A change of task's state is appended as one record instead of rewriting task.yaml of the task.
+ * Params of task are written only once, in record {@link RecordType#TASK}, all transitions are written
+ * as {@link RecordType#STATE} which is the task without params.
+ *
+ * <pre>
+ * int       length of body
+ * int       CRC32C of body
+ * body:
+ * byte      type of record, {@link RecordType#code}
+ * long      taskId
+ * bytes     ProcessorCoreTask as yaml in UTF-8, absent in {@link RecordType#DELETE}
+ * </pre>
+ * A crash in the middle of append leaves a torn record at the end of journal. Such record is detected
+ * by its length or checksum and is cut off by {@link #replay()}.
+ *
+ * <p>When the journal holds much more records than there are live tasks, it is rewritten by {@link #compact}
+ * to a temp file with one {@link RecordType#TASK} record per task, and the temp file replaces the journal atomically.
+ *
+ * <p>The journal isn't thread-safe, all calls are made under the write lock of core in {@link ProcessorTaskService}.
+ *
+ * @author Serge
+ * Date: 10/18/2026
+ * Time: 6:10 PM
+ */
+@Slf4j
+public class ProcessorTaskJournal implements Closeable {
+
+    public static final int MIN_RECORDS_FOR_COMPACTION = 1000;
+    public static final int MAX_RECORDS_PER_TASK = 4;
+
+    // length + checksum
+    private static final int HEADER_LENGTH = 8;
+    // type + taskId
+    private static final int BODY_HEADER_LENGTH = 9;
+    private static final int MAX_BODY_LENGTH = 64 * 1024 * 1024;
+
+    public enum RecordType {
+        TASK(1), STATE(2), DELETE(3);
+
+        public final byte code;
+
+        RecordType(int code) {
+            this.code = (byte) code;
+        }
+
+        @Nullable
+        public static RecordType of(byte code) {
+            for (RecordType value : values()) {
+                if (value.code==code) {
+                    return value;
+                }
+            }
+            return null;
+        }
+    }
+
+    public final Path journalFile;
+
+    @Nullable
+    private FileChannel channel = null;
+
+    // number of records in journal, including records which were superseded by later ones
+    private int records = 0;
+
+    public ProcessorTaskJournal(Path journalFile) {
+        this.journalFile = journalFile;
+    }
+
+    public int getRecords() {
+        return records;
+    }
+
+    /**
+     * Restores tasks by replaying all records of journal. A broken tail of journal is cut off.
+     *
+     * @return Map of tasks, key - taskId
+     */
+    public Map<Long, ProcessorCoreTask> replay() throws IOException {
+        close();
+        records = 0;
+        Map<Long, ProcessorCoreTask> tasks = new HashMap<>();
+        if (Files.notExists(journalFile)) {
+            return tasks;
+        }
+        final long fileLength = Files.size(journalFile);
+        long validLength = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(journalFile), 64 * 1024))) {
+            while (validLength + HEADER_LENGTH <= fileLength) {
+                int length = in.readInt();
+                int checksum = in.readInt();
+                if (length < BODY_HEADER_LENGTH || length > MAX_BODY_LENGTH || validLength + HEADER_LENGTH + length > fileLength) {
+                    break;
+                }
+                byte[] body = new byte[length];
+                in.readFully(body);
+                if (checksum(body, 0, length)!=checksum) {
+                    break;
+                }
+                apply(tasks, body);
+                validLength += HEADER_LENGTH + length;
+                records++;
+            }
+        }
+        if (validLength < fileLength) {
+            log.warn("714.020 journal {} has a broken tail, {} bytes will be cut off", journalFile.toAbsolutePath(), fileLength - validLength);
+            try (FileChannel ch = FileChannel.open(journalFile, WRITE)) {
+                ch.truncate(validLength);
+                ch.force(true);
+            }
+        }
+        return tasks;
+    }
+
+    private void apply(Map<Long, ProcessorCoreTask> tasks, byte[] body) {
+        ByteBuffer bb = ByteBuffer.wrap(body);
+        RecordType type = RecordType.of(bb.get());
+        long taskId = bb.getLong();
+        if (type==null) {
+            log.warn("714.040 unknown type of record {} for task #{} in journal {}", body[0], taskId, journalFile.toAbsolutePath());
+            return;
+        }
+        if (type==RecordType.DELETE) {
+            tasks.remove(taskId);
+            return;
+        }
+        ProcessorCoreTask task;
+        try {
+            task = ProcessorTaskUtils.to(new String(body, BODY_HEADER_LENGTH, body.length - BODY_HEADER_LENGTH, UTF_8));
+        } catch (YAMLException e) {
+            log.warn("714.060 state of task #{} can't be restored from journal {}, error: {}", taskId, journalFile.toAbsolutePath(), e.getMessage());
+            return;
+        }
+        if (type==RecordType.STATE) {
+            ProcessorCoreTask prev = tasks.get(taskId);
+            if (prev==null) {
+                log.warn("714.080 state of task #{} without its params was found in journal {}", taskId, journalFile.toAbsolutePath());
+                return;
+            }
+            task.params = prev.params;
+        }
+        tasks.put(taskId, task);
+    }
+
+    public void appendTask(ProcessorCoreTask task) throws IOException {
+        append(toRecord(RecordType.TASK, task.taskId, ProcessorTaskUtils.toString(task)));
+    }
+
+    public void appendState(ProcessorCoreTask task) throws IOException {
+        append(toRecord(RecordType.STATE, task.taskId, ProcessorTaskUtils.toString(withoutParams(task))));
+    }
+
+    public void appendDelete(Long taskId) throws IOException {
+        append(toRecord(RecordType.DELETE, taskId, null));
+    }
+
+    private void append(ByteBuffer record) throws IOException {
+        FileChannel ch = getChannel();
+        long position = ch.size();
+        try {
+            while (record.hasRemaining()) {
+                ch.write(record);
+            }
+            ch.force(false);
+        } catch (IOException e) {
+            // a torn record in the middle of journal would hide all records after it
+            try {
+                ch.truncate(position);
+            } catch (IOException e1) {
+                log.error("714.100 journal {} can't be truncated after failed append, error: {}", journalFile.toAbsolutePath(), e1.getMessage());
+                close();
+            }
+            throw e;
+        }
+        records++;
+    }
+
+    public boolean isCompactionNeeded(int liveTasks) {
+        return records > Math.max(MIN_RECORDS_FOR_COMPACTION, liveTasks * MAX_RECORDS_PER_TASK);
+    }
+
+    public void compact(Collection<ProcessorCoreTask> tasks) throws IOException {
+        Path tempFile = journalFile.resolveSibling(journalFile.getFileName() + ".tmp");
+        try (OutputStream os = new BufferedOutputStream(Files.newOutputStream(tempFile, CREATE, WRITE, TRUNCATE_EXISTING), 64 * 1024)) {
+            for (ProcessorCoreTask task : tasks) {
+                ByteBuffer record = toRecord(RecordType.TASK, task.taskId, ProcessorTaskUtils.toString(task));
+                os.write(record.array(), 0, record.limit());
+            }
+        }
+        try (FileChannel ch = FileChannel.open(tempFile, WRITE)) {
+            ch.force(true);
+        }
+        close();
+        Files.move(tempFile, journalFile, ATOMIC_MOVE);
+        records = tasks.size();
+    }
+
+    private FileChannel getChannel() throws IOException {
+        if (channel==null || !channel.isOpen()) {
+            Files.createDirectories(journalFile.getParent());
+            channel = FileChannel.open(journalFile, CREATE, WRITE, APPEND);
+        }
+        return channel;
+    }
+
+    @Override
+    public void close() {
+        if (channel==null) {
+            return;
+        }
+        try {
+            channel.close();
+        } catch (IOException e) {
+            log.warn("714.120 error while closing journal {}, error: {}", journalFile.toAbsolutePath(), e.getMessage());
+        }
+        channel = null;
+    }
+
+    static ByteBuffer toRecord(RecordType type, long taskId, @Nullable String yaml) {
+        byte[] bytes = yaml==null ? new byte[0] : yaml.getBytes(UTF_8);
+        int length = BODY_HEADER_LENGTH + bytes.length;
+        ByteBuffer bb = ByteBuffer.allocate(HEADER_LENGTH + length);
+        bb.putInt(length).putInt(0).put(type.code).putLong(taskId).put(bytes);
+        bb.putInt(4, checksum(bb.array(), HEADER_LENGTH, length));
+        bb.flip();
+        return bb;
+    }
+
+    private static int checksum(byte[] bytes, int offset, int length) {
+        CRC32C crc = new CRC32C();
+        crc.update(bytes, offset, length);
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Copy of task without params. Params can't be just set to null in the task itself
+     * because the instance of task is shared with readers which don't take any lock.
+     */
+    static ProcessorCoreTask withoutParams(ProcessorCoreTask task) {
+        ProcessorCoreTask t = new ProcessorCoreTask();
+        t.quotas.quota = task.quotas.quota;
+        task.output.outputStatuses.forEach(o -> t.output.outputStatuses.add(new ProcessorCoreTask.OutputStatus(o.variableId, o.uploaded)));
+        task.empty.empties.forEach(o -> t.empty.empties.add(new ProcessorCoreTask.EmptyStateOfInput(o.variableId, o.empty)));
+        t.taskId = task.taskId;
+        t.execContextId = task.execContextId;
+        t.functionExecResult = task.functionExecResult;
+        t.clean = task.clean;
+        t.cleaningPolicy = task.cleaningPolicy;
+        t.dispatcherUrl = task.dispatcherUrl;
+        t.createdOn = task.createdOn;
+        t.assetsPrepared = task.assetsPrepared;
+        t.launchedOn = task.launchedOn;
+        t.finishedOn = task.finishedOn;
+        t.reportedOn = task.reportedOn;
+        t.reported = task.reported;
+        t.delivered = task.delivered;
+        t.completed = task.completed;
+        t.metas.addAll(task.metas);
+        return t;
+    }
+}
@@ -34,6 +34,7 @@ import ai.metaheuristic.commons.utils.DirUtils;
 import ai.metaheuristic.commons.yaml.task.TaskParamsYaml;
 import ai.metaheuristic.commons.yaml.task.TaskParamsYamlUtils;
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
@@ -54,6 +55,8 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -86,6 +89,16 @@ public class ProcessorTaskService {
      */
     private final ConcurrentHashMap<String, Map<DispatcherUrl, Map<Long, ProcessorCoreTask>>> map = new ConcurrentHashMap<>();
 
+    /**
+     * key - code of core, tasks of different cores are changed independently
+     */
+    private final ConcurrentHashMap<String, ReentrantReadWriteLock> coreLocks = new ConcurrentHashMap<>();
+
+    /**
+     * key - path to journal, i.e. one journal for each pair of core and dispatcher
+     */
+    private final ConcurrentHashMap<Path, ProcessorTaskJournal> journals = new ConcurrentHashMap<>();
+
     public Path processorPath;
 
    @PostConstruct
@@ -102,9 +115,39 @@ public class ProcessorTaskService {
        int i = 0;
     }
 
+    @PreDestroy
+    public void preDestroy() {
+        journals.values().forEach(ProcessorTaskJournal::close);
+    }
+
+    private Lock writeLock(ProcessorData.ProcessorCoreAndProcessorIdAndDispatcherUrlRef core) {
+        return coreLocks.computeIfAbsent(core.coreCode, k -> new ReentrantReadWriteLock()).writeLock();
+    }
+
+    private Lock readLock(ProcessorData.ProcessorCoreAndProcessorIdAndDispatcherUrlRef core) {
+        return readLock(core.coreCode);
+    }
+
+    private Lock readLock(String coreCode) {
+        return coreLocks.computeIfAbsent(coreCode, k -> new ReentrantReadWriteLock()).readLock();
+    }
+
+    private ProcessorTaskJournal getJournal(ProcessorData.ProcessorCoreAndProcessorIdAndDispatcherUrlRef core) {
+        Path journalFile = processorPath.resolve(core.coreCode).resolve(Consts.TASK_DIR)
+                .resolve(MetadataParams.asCode(core.dispatcherUrl)).resolve(Consts.TASK_JOURNAL);
+        return journals.computeIfAbsent(journalFile, ProcessorTaskJournal::new);
+    }
+
+    private record JournaledTasks(ProcessorData.ProcessorCoreAndProcessorIdAndDispatcherUrlRef core, Map<Long, ProcessorCoreTask> tasks, Set<Long> taskIdsWithDir) {}
+
+    /**
+     * States of tasks are restored by replaying of journals. Dirs of tasks are only listed, task.yaml is read
+     * only from dirs of tasks which were created before the journal was introduced, such tasks are moved to journal.
+     */
     @SneakyThrows
     private void init(Path processorPath) {
         final LinkedList<CompletableFuture<Void>> list = new LinkedList<>();
+        final List<JournaledTasks> journaledTasks = new ArrayList<>();
         try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
             for (ProcessorData.ProcessorCoreAndProcessorIdAndDispatcherUrlRef core : processorEnvironment.getProcessorEnv().metadataParams().getAllEnabledRefsForCores()) {
 
@@ -116,6 +159,8 @@ public class ProcessorTaskService {
                     Files.createDirectories(dispatcherDir);
                 }
 
+                final JournaledTasks journaled = new JournaledTasks(core, getJournal(core).replay(), ConcurrentHashMap.newKeySet());
+                journaledTasks.add(journaled);
                 try {
                     DispatcherUrl dispatcherUrl = core.dispatcherUrl;
 
@@ -128,7 +173,7 @@ public class ProcessorTaskService {
                             }
                             try {
                                 try (final Stream<Path> stream = Files.list(p)) {
-                                    stream.map(taskDir -> CompletableFuture.supplyAsync(() -> processTaskDir(core, taskDir, taskGroupDir, dispatcherUrl), executor))
+                                    stream.map(taskDir -> CompletableFuture.supplyAsync(() -> processTaskDir(core, taskDir, taskGroupDir, dispatcherUrl, journaled), executor))
                                         .collect(Collectors.toCollection(() -> list));
                                 }
                             } catch (IOException e) {
@@ -146,9 +191,36 @@ public class ProcessorTaskService {
             }
             CompletableFuture.allOf(list.toArray(CompletableFuture[]::new)).join();
         }
+        for (JournaledTasks journaled : journaledTasks) {
+            restoreJournaledTasks(journaled);
+        }
+    }
+
+    @SneakyThrows
+    private void restoreJournaledTasks(JournaledTasks journaled) {
+        final ProcessorData.ProcessorCoreAndProcessorIdAndDispatcherUrlRef core = journaled.core;
+        try {
+            writeLock(core).lock();
+            ProcessorTaskJournal journal = getJournal(core);
+            for (ProcessorCoreTask task : journaled.tasks.values()) {
+                if (S.b(task.dispatcherUrl) || !journaled.taskIdsWithDir.contains(task.taskId)) {
+                    log.warn("713.120 task #{} from dispatcher {} was deleted from journal, dir of task exists: {}",
+                            task.taskId, core.dispatcherUrl.url, journaled.taskIdsWithDir.contains(task.taskId));
+                    journal.appendDelete(task.taskId);
+                    continue;
+                }
+                addTakToCore(core, task);
+                fixStateOfTask(core, task);
+            }
+            compactIfNeeded(core, journal);
+            log.info("713.125 {} tasks of core {} were restored from journal {}",
+                    getTasksForProcessorCore(core).size(), core.coreCode, journal.journalFile.toAbsolutePath());
+        } finally {
+            writeLock(core).unlock();
+        }
     }
 
-    private Void processTaskDir(ProcessorData.ProcessorCoreAndProcessorIdAndDispatcherUrlRef core, Path taskDir, Path taskGroupDir, DispatcherUrl dispatcherUrl) {
+    private Void processTaskDir(ProcessorData.ProcessorCoreAndProcessorIdAndDispatcherUrlRef core, Path taskDir, Path taskGroupDir, DispatcherUrl dispatcherUrl, JournaledTasks journaled) {
         try {
             if (!Thread.currentThread().isVirtual()) {
                 throw new IllegalStateException("(!Thread.currentThread().isVirtual())");
@@ -156,6 +228,10 @@ public class ProcessorTaskService {
             String groupDirName = taskGroupDir.getFileName().toString();
             String name = taskDir.getFileName().toString();
             long taskId = Long.parseLong(groupDirName) * DigitUtils.DIV + Long.parseLong(name);
+            if (journaled.tasks.containsKey(taskId)) {
+                journaled.taskIdsWithDir.add(taskId);
+                return null;
+            }
             log.info("Found dir of task with id: {}, {}, {}, {}", taskId, groupDirName, name, dispatcherUrl.url);
             Path taskYamlFile = taskDir.resolve(Consts.TASK_YAML);
             boolean exists = Files.exists(taskYamlFile);
@@ -176,15 +252,8 @@ public class ProcessorTaskService {
                     log.warn("713.115 task #{} from dispatcher {} is broken - (task.taskId==null || taskId!=task.taskId). Will be deleted", taskId, dispatcherUrl);
                     return null;
                 }
-                addTakToCore(core, task);
-
-                // fix state of task
-                FunctionApiData.FunctionExec functionExec = FunctionExecUtils.to(task.getFunctionExecResult());
-                if (functionExec != null &&
-                        ((functionExec.generalExec != null && !functionExec.exec.isOk) ||
-                                (functionExec.generalExec != null && !functionExec.generalExec.isOk))) {
-                    markAsFinished(core, taskId, functionExec);
-                }
+                moveToJournal(core, task, taskDir);
+                fixStateOfTask(core, task);
             }
         } catch (IOException e) {
             String es = "713.140 Error";
@@ -198,6 +267,32 @@ public class ProcessorTaskService {
         return null;
     }
 
+    /**
+     * task.yaml of task, which was created before the journal was introduced, is deleted only after
+     * the task was written to journal
+     */
+    private void moveToJournal(ProcessorData.ProcessorCoreAndProcessorIdAndDispatcherUrlRef core, ProcessorCoreTask task, Path taskDir) throws IOException {
+        try {
+            writeLock(core).lock();
+            getJournal(core).appendTask(task);
+            addTakToCore(core, task);
+            Files.deleteIfExists(taskDir.resolve(Consts.TASK_YAML));
+            Files.deleteIfExists(taskDir.resolve(Consts.TASK_YAML + ".bak"));
+            log.info("713.130 task #{} was moved from task.yaml to journal", task.taskId);
+        } finally {
+            writeLock(core).unlock();
+        }
+    }
+
+    private void fixStateOfTask(ProcessorData.ProcessorCoreAndProcessorIdAndDispatcherUrlRef core, ProcessorCoreTask task) {
+        FunctionApiData.FunctionExec functionExec = FunctionExecUtils.to(task.getFunctionExecResult());
+        if (functionExec != null &&
+                ((functionExec.generalExec != null && !functionExec.exec.isOk) ||
+                        (functionExec.generalExec != null && !functionExec.generalExec.isOk))) {
+            markAsFinished(core, task.taskId, functionExec);
+        }
+    }
+
     public static void deleteDir(Path f, String info) {
         log.warn(info + ", file: " + f.toAbsolutePath());
         try {
@@ -209,7 +304,7 @@ public class ProcessorTaskService {
 
     public void setReportedOn(ProcessorData.ProcessorCoreAndProcessorIdAndDispatcherUrlRef core, long taskId) {
         try {
-            ProcessorSyncHolder.writeLock.lock();
+            writeLock(core).lock();
             log.info("713.200 setReportedOn({}, {})", core.dispatcherUrl, taskId);
             ProcessorCoreTask task = findByIdForCore(core, taskId);
             if (task == null) {
@@ -220,13 +315,13 @@ public class ProcessorTaskService {
             task.setReportedOn(System.currentTimeMillis());
             save(core, task);
         } finally {
-            ProcessorSyncHolder.writeLock.unlock();
+            writeLock(core).unlock();
         }
     }
 
     public void setInputAsEmpty(ProcessorData.ProcessorCoreAndProcessorIdAndDispatcherUrlRef core, long taskId, String variableId) {
         try {
-            ProcessorSyncHolder.writeLock.lock();
+            writeLock(core).lock();
             log.info("713.240 setInputAsEmpty({}, {})", core.dispatcherUrl, taskId);
             ProcessorCoreTask task = findByIdForCore(core, taskId);
             if (task == null) {
@@ -246,13 +341,13 @@ public class ProcessorTaskService {
 
             save(core, task);
         } finally {
-            ProcessorSyncHolder.writeLock.unlock();
+            writeLock(core).unlock();
         }
     }
 
     public void setDelivered(ProcessorData.ProcessorCoreAndProcessorIdAndDispatcherUrlRef core, Long taskId) {
         try {
-            ProcessorSyncHolder.writeLock.lock();
+            writeLock(core).lock();
 
             log.info("713.280 setDelivered({}, {})", core.dispatcherUrl.url, taskId);
             ProcessorCoreTask task = findByIdForCore(core, taskId);
@@ -281,13 +376,13 @@ public class ProcessorTaskService {
             }
             save(core, task);
         } finally {
-            ProcessorSyncHolder.writeLock.unlock();
+            writeLock(core).unlock();
         }
     }
 
     public void setVariableUploadedAndCompleted(ProcessorData.ProcessorCoreAndProcessorIdAndDispatcherUrlRef core, Long taskId, Long outputVariableId) {
         try {
-            ProcessorSyncHolder.writeLock.lock();
+            writeLock(core).lock();
             log.info("setResourceUploadedAndCompleted({}, {}, {})", core.dispatcherUrl, taskId, outputVariableId);
             ProcessorCoreTask task = findByIdForCore(core, taskId);
             if (task == null) {
@@ -298,14 +393,14 @@ public class ProcessorTaskService {
             task.setCompleted(task.isDelivered());
             save(core, task);
         } finally {
-            ProcessorSyncHolder.writeLock.unlock();
+            writeLock(core).unlock();
         }
     }
 
     @SuppressWarnings("unused")
     public void setCompleted(ProcessorData.ProcessorCoreAndProcessorIdAndDispatcherUrlRef core, Long taskId) {
         try {
-            ProcessorSyncHolder.writeLock.lock();
+            writeLock(core).lock();
             log.info("setCompleted({}, {})", core.dispatcherUrl, taskId);
             ProcessorCoreTask task = findByIdForCore(core, taskId);
             if (task == null) {
@@ -315,13 +410,13 @@ public class ProcessorTaskService {
             task.setCompleted(true);
             save(core, task);
         } finally {
-            ProcessorSyncHolder.writeLock.unlock();
+            writeLock(core).unlock();
         }
     }
 
     public List<ProcessorCoreTask> getForReporting(ProcessorData.ProcessorCoreAndProcessorIdAndDispatcherUrlRef core) {
         try {
-            ProcessorSyncHolder.readLock.lock();
+            readLock(core).lock();
             List<ProcessorCoreTask> result = getTasksForProcessorCore(core).values().stream()
                 .filter(o -> o.finishedOn != null)
                 .filter(processorTask -> !processorTask.isReported() ||
@@ -330,7 +425,7 @@ public class ProcessorTaskService {
                 .collect(Collectors.toList());
             return result;
         } finally {
-            ProcessorSyncHolder.readLock.unlock();
+            readLock(core).unlock();
         }
     }
 
@@ -361,19 +456,19 @@ public class ProcessorTaskService {
 
     public void markAsFinishedWithError(ProcessorData.ProcessorCoreAndProcessorIdAndDispatcherUrlRef core, long taskId, String es) {
         try {
-            ProcessorSyncHolder.writeLock.lock();
+            writeLock(core).lock();
             markAsFinished(core, taskId,
                     new FunctionApiData.FunctionExec(
                             null, null, null,
                             new FunctionApiData.SystemExecResult("system-error", false, -992, es)));
         } finally {
-            ProcessorSyncHolder.writeLock.unlock();
+            writeLock(core).unlock();
         }
     }
 
     void markAsFinished(ProcessorData.ProcessorCoreAndProcessorIdAndDispatcherUrlRef core, Long taskId, FunctionApiData.FunctionExec functionExec) {
         try {
-            ProcessorSyncHolder.writeLock.lock();
+            writeLock(core).lock();
             log.info("markAsFinished({}, #{}, {})", core.dispatcherUrl.url, taskId, functionExec);
 
             processorEnvironment.getProcessorEnv().metadataParams().removeQuota(core.dispatcherUrl.url, taskId);
@@ -405,13 +500,13 @@ public class ProcessorTaskService {
                 save(core, task);
             }
         } finally {
-            ProcessorSyncHolder.writeLock.unlock();
+            writeLock(core).unlock();
         }
     }
 
     void markAsAssetPrepared(ProcessorData.ProcessorCoreAndProcessorIdAndDispatcherUrlRef core, Long taskId, boolean status) {
         try {
-            ProcessorSyncHolder.writeLock.lock();
+            writeLock(core).lock();
             log.info("markAsAssetPrepared(dispatcherUrl: {}, taskId: {}, status: {})", core.dispatcherUrl, taskId, status);
             ProcessorCoreTask task = findByIdForCore(core, taskId);
             if (task == null) {
@@ -421,7 +516,7 @@ public class ProcessorTaskService {
                 save(core, task);
             }
         } finally {
-            ProcessorSyncHolder.writeLock.unlock();
+            writeLock(core).unlock();
         }
     }
 
@@ -441,7 +536,7 @@ public class ProcessorTaskService {
 
     public List<ProcessorCoreTask> findAllByCompletedIsFalse(ProcessorData.ProcessorCoreAndProcessorIdAndDispatcherUrlRef core) {
         try {
-            ProcessorSyncHolder.writeLock.lock();
+            writeLock(core).lock();
             List<ProcessorCoreTask> list = new ArrayList<>();
             for (ProcessorCoreTask task : getTasksForProcessorCore(core).values()) {
                 if (!task.completed) {
@@ -455,7 +550,7 @@ public class ProcessorTaskService {
             }
             return list;
         } finally {
-            ProcessorSyncHolder.writeLock.unlock();
+            writeLock(core).unlock();
         }
     }
 
@@ -473,12 +568,12 @@ public class ProcessorTaskService {
     }
 
     private Map<Long, ProcessorCoreTask> getTasksForProcessorCore(ProcessorData.ProcessorCoreAndProcessorIdAndDispatcherUrlRef core) {
-        return map.computeIfAbsent(core.coreCode, k -> new HashMap<>()).computeIfAbsent(core.dispatcherUrl, m -> new HashMap<>());
+        return map.computeIfAbsent(core.coreCode, k -> new ConcurrentHashMap<>()).computeIfAbsent(core.dispatcherUrl, m -> new ConcurrentHashMap<>());
     }
 
     public List<ProcessorCoreTask> findAllByCompetedIsFalseAndFinishedOnIsNullAndAssetsPreparedIs(ProcessorData.ProcessorCoreAndProcessorIdAndDispatcherUrlRef core, boolean assetsPreparedStatus) {
         try {
-            ProcessorSyncHolder.writeLock.lock();
+            writeLock(core).lock();
 
             List<ProcessorCoreTask> list = new ArrayList<>();
             Map<Long, ProcessorCoreTask> mapForDispatcherUrl = getTasksForProcessorCore(core);
@@ -497,23 +592,23 @@ public class ProcessorTaskService {
             });
             return list;
         } finally {
-            ProcessorSyncHolder.writeLock.unlock();
+            writeLock(core).unlock();
         }
     }
 
     public void addTakToCore(ProcessorData.ProcessorCoreAndProcessorIdAndDispatcherUrlRef core, ProcessorCoreTask task) {
         try {
-            ProcessorSyncHolder.writeLock.lock();
+            writeLock(core).lock();
             getTasksForProcessorCore(core).put(task.taskId, task);
         } finally {
-            ProcessorSyncHolder.writeLock.unlock();
+            writeLock(core).unlock();
         }
     }
 
     @SneakyThrows
     public void createTask(ProcessorData.ProcessorCoreAndProcessorIdAndDispatcherUrlRef core, DispatcherCommParamsYaml.AssignedTask assignedTask) {
         try {
-            ProcessorSyncHolder.writeLock.lock();
+            writeLock(core).lock();
             processorEnvironment.getProcessorEnv().metadataParams().registerTaskQuota(core.dispatcherUrl.url, assignedTask.taskId, assignedTask.tag, assignedTask.quota);
 
             log.info("713.500 Prepare new task #{} on core #{}", assignedTask.taskId, core.coreId);
@@ -561,22 +656,23 @@ public class ProcessorTaskService {
                     }
                 }
                 Files.createDirectories(taskDir);
-                Path taskYamlFile = taskDir.resolve(Consts.TASK_YAML);
-                Files.writeString(taskYamlFile, ProcessorTaskUtils.toString(task), StandardCharsets.UTF_8, CREATE, WRITE, TRUNCATE_EXISTING);
+                ProcessorTaskJournal journal = getJournal(core);
+                journal.appendTask(task);
+                compactIfNeeded(core, journal);
             } catch (Throwable th) {
                 String es = "713.540 Error";
                 log.error(es, th);
                 throw new RuntimeException(es, th);
             }
         } finally {
-            ProcessorSyncHolder.writeLock.unlock();
+            writeLock(core).unlock();
         }
     }
 
     @Nullable
     public ProcessorCoreTask resetTask(ProcessorData.ProcessorCoreAndProcessorIdAndDispatcherUrlRef core, Long taskId) {
         try {
-            ProcessorSyncHolder.writeLock.lock();
+            writeLock(core).lock();
             ProcessorCoreTask task = findByIdForCore(core, taskId);
             if (task == null) {
                 return null;
@@ -584,14 +680,14 @@ public class ProcessorTaskService {
             task.setLaunchedOn(null);
             return save(core, task);
         } finally {
-            ProcessorSyncHolder.writeLock.unlock();
+            writeLock(core).unlock();
         }
     }
 
     @Nullable
     public ProcessorCoreTask setLaunchOn(ProcessorData.ProcessorCoreAndProcessorIdAndDispatcherUrlRef core, long taskId) {
         try {
-            ProcessorSyncHolder.writeLock.lock();
+            writeLock(core).lock();
             ProcessorCoreTask task = findByIdForCore(core, taskId);
             if (task == null) {
                 return null;
@@ -599,16 +695,36 @@ public class ProcessorTaskService {
             task.setLaunchedOn(System.currentTimeMillis());
             return save(core, task);
         } finally {
-            ProcessorSyncHolder.writeLock.unlock();
+            writeLock(core).unlock();
         }
     }
 
-    @SneakyThrows
     private ProcessorCoreTask save(ProcessorData.ProcessorCoreAndProcessorIdAndDispatcherUrlRef core, ProcessorCoreTask task) {
-        Path taskDir = prepareTaskDir(core, task.taskId);
-        Path taskYaml = taskDir.resolve(Consts.TASK_YAML);
+        ProcessorTaskJournal journal = getJournal(core);
+        try {
+            journal.appendState(task);
+            compactIfNeeded(core, journal);
+        } catch (IOException e) {
+            String es = "713.565 Error while writing to journal: " + journal.journalFile.toAbsolutePath();
+            log.error(es, e);
+            throw new IllegalStateException(es, e);
+        }
+        return task;
+    }
 
-        return actualSave(task, taskDir, taskYaml);
+    /**
+     * must be called under write lock of core
+     */
+    private void compactIfNeeded(ProcessorData.ProcessorCoreAndProcessorIdAndDispatcherUrlRef core, ProcessorTaskJournal journal) throws IOException {
+        Map<Long, ProcessorCoreTask> tasks = getTasksForProcessorCore(core);
+        if (!journal.isCompactionNeeded(tasks.size())) {
+            return;
+        }
+        long mills = System.currentTimeMillis();
+        int records = journal.getRecords();
+        journal.compact(tasks.values());
+        log.info("713.570 journal of core {} was compacted from {} records to {} for {} milliseconds",
+                core.coreCode, records, journal.getRecords(), System.currentTimeMillis() - mills);
     }
 
     public static ProcessorCoreTask actualSave(ProcessorCoreTask task, Path taskDir, Path taskYaml) throws IOException {
@@ -634,7 +750,7 @@ public class ProcessorTaskService {
     @Nullable
     public ProcessorCoreTask findByIdForCore(ProcessorData.ProcessorCoreAndProcessorIdAndDispatcherUrlRef core, Long taskId) {
         try {
-            ProcessorSyncHolder.readLock.lock();
+            readLock(core).lock();
 
             return getTasksForProcessorCore(core)
                     .entrySet()
@@ -644,37 +760,34 @@ public class ProcessorTaskService {
                     .map(Map.Entry::getValue)
                     .orElse(null);
         } finally {
-            ProcessorSyncHolder.readLock.unlock();
+            readLock(core).unlock();
         }
     }
 
     public List<ProcessorCoreTask> findAllForCore(ProcessorData.ProcessorCoreAndProcessorIdAndDispatcherUrlRef core) {
         try {
-            ProcessorSyncHolder.readLock.lock();
+            readLock(core).lock();
 
             Collection<ProcessorCoreTask> values = getTasksForProcessorCore(core).values();
             return List.copyOf(values);
         } finally {
-            ProcessorSyncHolder.readLock.unlock();
+            readLock(core).unlock();
         }
     }
 
     public List<String> findCoreCodesWithTaskId(Long taskId) {
         List<String> codes = new ArrayList<>();
-        try {
-            ProcessorSyncHolder.readLock.lock();
-            for (Map.Entry<String, Map<DispatcherUrl, Map<Long, ProcessorCoreTask>>> entry : map.entrySet()) {
+        for (Map.Entry<String, Map<DispatcherUrl, Map<Long, ProcessorCoreTask>>> entry : map.entrySet()) {
+            try {
+                readLock(entry.getKey()).lock();
                 for (Map.Entry<DispatcherUrl, Map<Long, ProcessorCoreTask>> dispatcherUrlMapEntry : entry.getValue().entrySet()) {
-                    for (Map.Entry<Long, ProcessorCoreTask> longProcessorCoreTaskEntry : dispatcherUrlMapEntry.getValue().entrySet()) {
-                        if (longProcessorCoreTaskEntry.getKey().equals(taskId)) {
-                            codes.add(entry.getKey());
-                        }
+                    if (dispatcherUrlMapEntry.getValue().containsKey(taskId)) {
+                        codes.add(entry.getKey());
                     }
                 }
+            } finally {
+                readLock(entry.getKey()).unlock();
             }
-
-        } finally {
-            ProcessorSyncHolder.readLock.unlock();
         }
         return codes;
     }
@@ -688,13 +801,17 @@ public class ProcessorTaskService {
         final Path taskDir = DirUtils.getPoweredPath(dispatcherDir, taskId);
 
         try {
-            ProcessorSyncHolder.writeLock.lock();
+            writeLock(core).lock();
             processorEnvironment.getProcessorEnv().metadataParams().removeQuota(core.dispatcherUrl.url, taskId);
             try {
+                // the dir of task without a record in journal is deleted at startup anyway
+                Map<Long, ProcessorCoreTask> mapTask = getTasksForProcessorCore(core);
+                if (mapTask.containsKey(taskId)) {
+                    getJournal(core).appendDelete(taskId);
+                }
                 if (Files.exists(taskDir)) {
                     deleteDir(taskDir, "delete dir in ProcessorTaskService.delete()");
                 }
-                Map<Long, ProcessorCoreTask> mapTask = getTasksForProcessorCore(core);
                 if (log.isDebugEnabled()) {
                     log.debug("Does task present in map before deleting: {}", mapTask.containsKey(taskId));
                 }
@@ -708,7 +825,7 @@ public class ProcessorTaskService {
                 log.error("713.600 Error deleting task " + taskId, th);
             }
         } finally {
-            ProcessorSyncHolder.writeLock.unlock();
+            writeLock(core).unlock();
         }
     }
 
@@ -737,14 +854,14 @@ public class ProcessorTaskService {
         final Path taskDir = DirUtils.getPoweredPath(dispatcherDir, taskId);
 
         try {
-            ProcessorSyncHolder.writeLock.lock();
+            writeLock(core).lock();
             if (deleteTaskAssetDir(taskDir)) {
                 log.info("01.713.640 asset dir of task #{} was deleted, url {}", taskId, core.dispatcherUrl.url);
             }
         } catch (Throwable th) {
             log.error("01.713.660 Error deleting asset dir of task " + taskId, th);
         } finally {
-            ProcessorSyncHolder.writeLock.unlock();
+            writeLock(core).unlock();
         }
     }
 
@@ -47,6 +47,7 @@ import ai.metaheuristic.commons.dispatcher_schedule.ExtendedTimePeriod;
 import ai.metaheuristic.commons.exceptions.CheckIntegrityFailedException;
 import ai.metaheuristic.commons.exceptions.ScheduleInactivePeriodException;
 import ai.metaheuristic.commons.security.AsymmetricEncryptor;
+import ai.metaheuristic.commons.system.ConsoleTail;
 import ai.metaheuristic.commons.system.SystemProcessLauncher;
 import ai.metaheuristic.commons.utils.ArtifactCommonUtils;
 import ai.metaheuristic.commons.utils.FunctionCoreUtils;
@@ -62,6 +63,7 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.function.Supplier;
@@ -90,6 +92,11 @@ public class TaskProcessor {
 
     private static final AtomicInteger activeTaskProcessing = new AtomicInteger();
 
+    public record TaskRef(String dispatcherUrl, Long taskId) {}
+
+    // console output of running functions, for streaming it while a task is being processed
+    private static final Map<TaskRef, ConsoleTail> consoleTails = new ConcurrentHashMap<>();
+
     private boolean processing = false;
 
     private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
@@ -114,6 +121,14 @@ public class TaskProcessor {
         this.downloadSealedSecretService = downloadSealedSecretService;
     }
 
+    /**
+     * The last lines of console output of the function which is running for the task right now
+     */
+    @Nullable
+    public static ConsoleTail getConsoleTail(String dispatcherUrl, Long taskId) {
+        return consoleTails.get(new TaskRef(dispatcherUrl, taskId));
+    }
+
     public void process(ProcessorData.ProcessorCoreAndProcessorIdAndDispatcherUrlRef core) {
         if (!globals.processor.enabled) {
             return;
@@ -663,7 +678,11 @@ public class TaskProcessor {
             // the trailing arg is a real file path before opening it.
             cmd.add(paramFile.toAbsolutePath().toString());
 
-            Path consoleLogFile = systemDir.resolve(Consts.MH_SYSTEM_CONSOLE_OUTPUT_FILE_NAME);
+            Path consoleLogFile = systemDir.resolve(globals.processor.compressConsoleLog
+                    ? Consts.MH_SYSTEM_CONSOLE_OUTPUT_FILE_NAME + SystemProcessLauncher.GZIP_EXT
+                    : Consts.MH_SYSTEM_CONSOLE_OUTPUT_FILE_NAME);
+            final TaskRef taskRef = new TaskRef(task.dispatcherUrl, task.taskId);
+            final ConsoleTail consoleTail = new ConsoleTail(globals.processor.taskConsoleOutputMaxLines);
 
             final Supplier<Boolean> execContextDeletionCheck =
                     () -> currentExecState.isState(new ProcessorAndCoreData.DispatcherUrl(task.dispatcherUrl), task.execContextId,
@@ -677,19 +696,21 @@ public class TaskProcessor {
             // ownership of keyBytes; this method does NOT zero or close anything.
             try {
                 activeTaskProcessing.incrementAndGet();
+                consoleTails.put(taskRef, consoleTail);
                 log.info("All systems are checked for the task #{}, lift off, active task processing: {}", task.taskId, activeTaskProcessing.get());
                 if (secretHandoff != null) {
                     systemExecResult = SystemProcessLauncher.execCommandWithSecret(
                             cmd, taskDir, consoleLogFile, taskParamYaml.task.timeoutBeforeTerminate, functionPrepareResult.function.code, schedule,
                             globals.processor.taskConsoleOutputMaxLines, List.of(execContextDeletionCheck), null,
-                            secretHandoff);
+                            secretHandoff, consoleTail);
                 } else {
                     systemExecResult = SystemProcessLauncher.execCommand(
                             cmd, taskDir, consoleLogFile, taskParamYaml.task.timeoutBeforeTerminate, functionPrepareResult.function.code, schedule,
-                            globals.processor.taskConsoleOutputMaxLines, List.of(execContextDeletionCheck), null);
+                            globals.processor.taskConsoleOutputMaxLines, List.of(execContextDeletionCheck), null, null, consoleTail);
                 }
             }
             finally {
+                consoleTails.remove(taskRef, consoleTail);
                 activeTaskProcessing.decrementAndGet();
             }
         }
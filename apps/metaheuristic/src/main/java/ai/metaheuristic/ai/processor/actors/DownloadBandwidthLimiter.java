@@ -0,0 +1,97 @@
+/*
+ * Metaheuristic, Copyright (C) 2017-2025, Innovation platforms, LLC
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package ai.metaheuristic.ai.processor.actors;
+
+import ai.metaheuristic.ai.Globals;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Processor-wide limit of bandwidth for downloading of variables and functions, mh.processor.download-bandwidth-limit.
+ *
+ * <p>Each received chunk is charged with its size, and the thread which has received it waits
+ * until the average rate is within the limit again. Idle time is accumulated for {@link #MAX_BURST_NANOS} at most,
+ * so after a pause downloads can go at full speed only for a short time.
+ *
+ * @author Serge
+ * Date: 10/18/2026
+ * Time: 8:05 PM
+ */
+@Slf4j
+@Service
+@Profile("processor")
+public class DownloadBandwidthLimiter {
+
+    private static final long MAX_BURST_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final long bytesPerSecond;
+    private long nextFreeNanos;
+
+    @Autowired
+    public DownloadBandwidthLimiter(Globals globals) {
+        this(globals.processor.downloadBandwidthLimit.toBytes());
+    }
+
+    DownloadBandwidthLimiter(long bytesPerSecond) {
+        this.bytesPerSecond = bytesPerSecond;
+        this.nextFreeNanos = System.nanoTime();
+        if (bytesPerSecond>0) {
+            log.info("811.300 bandwidth of downloads is limited with {} bytes per second", bytesPerSecond);
+        }
+    }
+
+    public boolean isUnlimited() {
+        return bytesPerSecond<=0;
+    }
+
+    /**
+     * Charges bytes which were received, and waits if the limit was exceeded
+     */
+    public void acquire(long bytes) {
+        final long waitNanos = reserve(bytes, System.nanoTime());
+        if (waitNanos<=0) {
+            return;
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public ParallelChunkDownloader.ChunkResponse charge(ParallelChunkDownloader.ChunkResponse response) {
+        acquire(response.body().length);
+        return response;
+    }
+
+    /**
+     * @return how long the caller has to wait, in nanos
+     */
+    synchronized long reserve(long bytes, long now) {
+        if (isUnlimited() || bytes<=0) {
+            return 0;
+        }
+        final long start = Math.max(nextFreeNanos, now - MAX_BURST_NANOS);
+        nextFreeNanos = start + (long) (bytes * 1_000_000_000.0 / bytesPerSecond);
+        return nextFreeNanos - now;
+    }
+}
@@ -17,17 +17,9 @@
 package ai.metaheuristic.ai.processor.actors;
 
 import ai.metaheuristic.ai.Consts;
-import ai.metaheuristic.api.data.AssetFile;
-import org.apache.commons.io.FileUtils;
 import org.apache.hc.core5.http.Header;
 import org.jspecify.annotations.Nullable;
 
-import java.io.*;
-import java.nio.file.Files;
-import java.nio.file.Path;
-
-import static java.nio.file.StandardOpenOption.*;
-
 /**
  * @author Serge
  * Date: 8/23/2019
@@ -35,19 +27,26 @@ import static java.nio.file.StandardOpenOption.*;
  */
 public class DownloadUtils {
 
-    public static boolean isChunkConsistent(Path partFile, Header[] headers) throws IOException {
-        String sizeAsStr = getHeader(headers, Consts.HEADER_MH_CHUNK_SIZE);
-        if (sizeAsStr==null || sizeAsStr.isBlank()) {
-            return true;
-        }
-        long expectedSize = Long.parseLong(sizeAsStr);
-        return Files.size(partFile)==expectedSize;
-    }
-
     public static boolean isLastChunk(Header[] headers) {
         return "true".equals(getHeader(headers, Consts.HEADER_MH_IS_LAST_CHUNK));
     }
 
+    @Nullable
+    public static Long getChunkSize(Header[] headers) {
+        return getLongHeader(headers, Consts.HEADER_MH_CHUNK_SIZE);
+    }
+
+    @Nullable
+    public static Long getTotalSize(Header[] headers) {
+        return getLongHeader(headers, Consts.HEADER_MH_TOTAL_SIZE);
+    }
+
+    @Nullable
+    private static Long getLongHeader(Header[] headers, String name) {
+        String value = getHeader(headers, name);
+        return value==null || value.isBlank() ? null : Long.valueOf(value.strip());
+    }
+
     @Nullable
     private static String getHeader(Header[] headers, String name) {
         for (Header header : headers) {
@@ -57,34 +56,4 @@ public class DownloadUtils {
         }
         return null;
     }
-
-    public static void combineParts(Path partBaseFile, Path tempFile, int idx) throws IOException {
-        try (OutputStream fos = Files.newOutputStream(tempFile, CREATE, TRUNCATE_EXISTING, WRITE, SYNC); BufferedOutputStream bos = new BufferedOutputStream(fos, 1_000_000)) {
-            for (int i = 0; i <= idx; i++) {
-                Path p = Path.of(partBaseFile.toAbsolutePath() + "." + i + ".tmp");
-                if (Files.size(p)==0) {
-                    continue;
-                }
-                Files.copy(p, bos);
-            }
-            bos.flush();
-        }
-    }
-
-    public static void combineParts(AssetFile assetFile, File tempFile, int idx) throws IOException {
-        try (FileOutputStream fos = new FileOutputStream(tempFile)) {
-            for (int i = 0; i <= idx; i++) {
-                final File input = new File(assetFile.file.toAbsolutePath() + "." + i + ".tmp");
-                if (input.length()==0) {
-                    continue;
-                }
-                FileUtils.copyFile(input, fos);
-            }
-            fos.flush();
-            final FileDescriptor fd = fos.getFD();
-            if (fd.valid()) {
-                fd.sync();
-            }
-        }
-    }
 }
@@ -36,7 +36,9 @@ import org.apache.hc.client5.http.fluent.Request;
 import org.apache.hc.client5.http.fluent.Response;
 import org.apache.hc.core5.http.ClassicHttpResponse;
 import org.apache.hc.core5.http.Header;
+import org.apache.hc.core5.http.HttpEntity;
 import org.apache.hc.core5.http.HttpResponse;
+import org.apache.hc.core5.http.io.entity.EntityUtils;
 import org.apache.hc.core5.net.URIBuilder;
 import org.apache.hc.core5.util.Timeout;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -46,7 +48,6 @@ import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
-import java.io.OutputStream;
 import java.net.*;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
@@ -63,6 +64,7 @@ public class DownloadVariableService extends AbstractTaskQueue<DownloadVariableT
     private final ProcessorTaskService processorTaskService;
     private final CurrentExecState currentExecState;
     private final ApplicationEventPublisher eventPublisher;
+    private final DownloadBandwidthLimiter downloadBandwidthLimiter;
 
     @SuppressWarnings("Duplicates")
     public void process() {
@@ -143,143 +145,89 @@ public class DownloadVariableService extends AbstractTaskQueue<DownloadVariableT
                 processorTaskService.markAsFinishedWithError(task.core, task.taskId, es);
                 return;
             }
-            Path tempFile = Files.createTempFile(parentDir, "resource-", ".temp");
-
-            String mask = assetFile.file.getFileName().toString() + ".%s.tmp";
-            // TODO 2023-06-26 re-write with nio
-            Path dir = parentDir;
-            Enums.VariableState resourceState = Enums.VariableState.none;
-            int idx = 0;
-            do {
-                try {
-                    final URIBuilder builder = new URIBuilder(uri).setCharset(StandardCharsets.UTF_8)
-                            .addParameter("id", task.variableId)
-                            .addParameter("chunkSize", dispatcherContextInfo.chunkSize.toString())
-                            .addParameter("chunkNum", Integer.toString(idx));
-
-                    final URI build = builder.build();
-                    final Request request = Request.get(build)
-                            .connectTimeout(Timeout.ofSeconds(5));
-//                            .socketTimeout(20000);
-
-                    RestUtils.addHeaders(request);
-
-                    Response response = HttpClientExecutor.getExecutor(
-                            task.core.dispatcherUrl.url, task.dispatcher.restUsername, task.dispatcher.restPassword).execute(request);
-                    Path partFile = dir.resolve(String.format(mask, idx));
-                    final HttpResponse httpResponse = response.returnResponse();
-                    if (!(httpResponse instanceof ClassicHttpResponse classicHttpResponse)) {
-                        throw new IllegalStateException("(!(httpResponse instanceof ClassicHttpResponse classicHttpResponse))");
-                    }
-                    final int statusCode = classicHttpResponse.getCode();
-                    if (statusCode ==HttpServletResponse.SC_NO_CONTENT) {
-                        if (task.nullable) {
-                            processorTaskService.setInputAsEmpty(task.core, task.taskId, task.variableId);
-                            resourceState = Enums.VariableState.variable_is_null;
-                        }
-                        else {
-                            es = String.format("810.027 Dispatcher reported that variable #%s is empty but configuration states nullable==false. " +
-                                    "Task #%s is finished with error.", task.variableId, task.getTaskId());
-                            log.warn(es);
-                            processorTaskService.markAsFinishedWithError(task.core, task.getTaskId(), es);
-                            resourceState = Enums.VariableState.variable_cant_be_null;
-                        }
-                        break;
-                    }
-                    if (statusCode ==HttpServletResponse.SC_GONE) {
-                        resourceState = setVariableWasntFound(task);
-                        break;
-                    }
-                    else if (statusCode == HttpServletResponse.SC_BAD_GATEWAY ) {
-                        es = "810.029 BAD_GATEWAY error while downloading a variable #"+task.variableId+" . will try later again";
-                        log.warn(es);
-                        // do nothing and try later again
-                        return;
-                    }
-                    else if (statusCode != HttpServletResponse.SC_OK ) {
-                        es = "810.030 An unexpected http status code: "+statusCode+",  #"+task.variableId;
-                        log.error(es);
-                        return;
-                    }
-
-                    try (OutputStream out = Files.newOutputStream(partFile)) {
-                        classicHttpResponse.getEntity().writeTo(out);
-                    }
-                    final Header[] headers = httpResponse.getHeaders();
-                    if (!DownloadUtils.isChunkConsistent(partFile, headers)) {
-                        log.error("810.032 error while downloading chunk of resource {}, size is different", assetFile.file.toAbsolutePath());
-                        resourceState = Enums.VariableState.transmitting_error;
-                        break;
-                    }
-                    if (DownloadUtils.isLastChunk(headers)) {
-                        resourceState = Enums.VariableState.ok;
-                        break;
-                    }
-                    if (Files.size(partFile)==0) {
-                        resourceState = Enums.VariableState.ok;
-                        break;
-                    }
-                } catch (HttpResponseException e) {
-                    if (e.getStatusCode() == HttpServletResponse.SC_GONE) {
-                        resourceState = setVariableWasntFound(task);
-                        break;
-                    }
-                    else if (e.getStatusCode() == HttpServletResponse.SC_BAD_GATEWAY ) {
-                        es = String.format("810.035 BAD_GATEWAY error while downloading a variable #%s. will try later again", task.variableId);
-                        log.warn(es);
-                        // do nothing and try later again
-                        return;
-                    }
-                    else if (e.getStatusCode() == HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE ) {
-                        es = String.format("810.036 Unknown error with a resource %s. Task #%s is finished.", task.variableId, task.getTaskId());
-                        log.warn(es);
-                        processorTaskService.markAsFinishedWithError(task.core, task.getTaskId(), es);
-                        resourceState = Enums.VariableState.unknown_error;
-                        break;
-                    }
-                    else if (e.getStatusCode() == HttpServletResponse.SC_NOT_ACCEPTABLE) {
-                        es = String.format("810.037 Unknown error with a resource %s. Task #%s is finished.", task.variableId, task.getTaskId());
-                        log.warn(es);
-                        processorTaskService.markAsFinishedWithError(task.core, task.getTaskId(), es);
-                        resourceState = Enums.VariableState.unknown_error;
-                        break;
-                    }
-                    else {
-                        es = String.format("810.038 An unknown error while downloading a variable #%s. Task #%s is finished with an error.", task.variableId, task.getTaskId());
-                        log.warn(es);
-                        processorTaskService.markAsFinishedWithError(task.core, task.getTaskId(), es);
-                        resourceState = Enums.VariableState.unknown_error;
-                        break;
-                    }
+            // the data file and the state of download stay between attempts, so an interrupted download is resumed
+            final Path dataFile = parentDir.resolve(assetFile.file.getFileName().toString() + ".part");
+            final long chunkSize = dispatcherContextInfo.chunkSize;
+            final ParallelChunkDownloader.Result result;
+            try {
+                result = ParallelChunkDownloader.download(dataFile, chunkSize, task.dispatcher.downloadConcurrency,
+                        (chunkNum) -> downloadBandwidthLimiter.charge(fetchChunk(task, uri, chunkSize, chunkNum)));
+            } catch (HttpResponseException e) {
+                if (e.getStatusCode() == HttpServletResponse.SC_GONE) {
+                    setVariableWasntFound(task);
                 }
-                catch(SocketTimeoutException e) {
-                    log.error("810.040 SocketTimeoutException, uri: " + uri+", " + e.getMessage());
-                    return;
+                else if (e.getStatusCode() == HttpServletResponse.SC_BAD_GATEWAY ) {
+                    es = String.format("810.035 BAD_GATEWAY error while downloading a variable #%s. will try later again", task.variableId);
+                    log.warn(es);
+                    // do nothing and try later again
                 }
-                catch(ConnectException e) {
-                    log.error("810.042 ConnectException, uri: " + uri+", " + e.getMessage());
-                    return;
+                else if (e.getStatusCode() == HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE ) {
+                    es = String.format("810.036 Unknown error with a resource %s. Task #%s is finished.", task.variableId, task.getTaskId());
+                    log.warn(es);
+                    processorTaskService.markAsFinishedWithError(task.core, task.getTaskId(), es);
+                }
+                else if (e.getStatusCode() == HttpServletResponse.SC_NOT_ACCEPTABLE) {
+                    es = String.format("810.037 Unknown error with a resource %s. Task #%s is finished.", task.variableId, task.getTaskId());
+                    log.warn(es);
+                    processorTaskService.markAsFinishedWithError(task.core, task.getTaskId(), es);
+                }
+                else {
+                    es = String.format("810.038 An unknown error while downloading a variable #%s. Task #%s is finished with an error.", task.variableId, task.getTaskId());
+                    log.warn(es);
+                    processorTaskService.markAsFinishedWithError(task.core, task.getTaskId(), es);
                 }
-                idx++;
-            } while (idx<1000);
-            if (resourceState == Enums.VariableState.none) {
-                log.error("810.050 something wrong, is file too big or chunkSize too small? chunkSize: {}", dispatcherContextInfo.chunkSize);
                 return;
             }
-            else if (resourceState == Enums.VariableState.unknown_error || resourceState == Enums.VariableState.variable_doesnt_exist) {
-                log.warn("810.053 Variable {} can't be acquired, state: {}", task.variableId, resourceState);
+            catch(SocketTimeoutException e) {
+                log.error("810.040 SocketTimeoutException, uri: " + uri+", " + e.getMessage());
                 return;
             }
-            else if (resourceState == Enums.VariableState.transmitting_error || resourceState == Enums.VariableState.variable_cant_be_null || resourceState == Enums.VariableState.variable_is_null) {
+            catch(ConnectException e) {
+                log.error("810.042 ConnectException, uri: " + uri+", " + e.getMessage());
                 return;
             }
 
-            DownloadUtils.combineParts(assetFile.file, tempFile, idx);
+            switch (result.status()) {
+                case ok:
+                    break;
+                case no_content:
+                    if (task.nullable) {
+                        processorTaskService.setInputAsEmpty(task.core, task.taskId, task.variableId);
+                    }
+                    else {
+                        es = String.format("810.027 Dispatcher reported that variable #%s is empty but configuration states nullable==false. " +
+                                "Task #%s is finished with error.", task.variableId, task.getTaskId());
+                        log.warn(es);
+                        processorTaskService.markAsFinishedWithError(task.core, task.getTaskId(), es);
+                    }
+                    deleteDownload(dataFile);
+                    return;
+                case gone:
+                    setVariableWasntFound(task);
+                    deleteDownload(dataFile);
+                    return;
+                case bad_gateway:
+                    es = "810.029 BAD_GATEWAY error while downloading a variable #"+task.variableId+" . will try later again";
+                    log.warn(es);
+                    // do nothing and try later again
+                    return;
+                case unexpected_status:
+                    es = "810.030 An unexpected http status code: "+result.statusCode()+",  #"+task.variableId;
+                    log.error(es);
+                    return;
+                case transmitting_error:
+                    log.error("810.032 error while downloading chunk #{} of resource {}, will try later again", result.chunkNum(), assetFile.file.toAbsolutePath());
+                    return;
+                case too_many_chunks:
+                    log.error("810.050 something wrong, is file too big or chunkSize too small? chunkSize: {}", dispatcherContextInfo.chunkSize);
+                    return;
+            }
+
             try {
-                Files.move(tempFile, assetFile.file);
+                Files.move(dataFile, assetFile.file);
             }
             catch (IOException e) {
-                log.warn("810.060 Can't rename file {} to file {}", tempFile, assetFile.file);
+                log.warn("810.060 Can't rename file {} to file {}", dataFile, assetFile.file);
                 return;
             }
             log.info("Variable #{} was loaded", task.variableId);
@@ -301,6 +249,41 @@ public class DownloadVariableService extends AbstractTaskQueue<DownloadVariableT
         }
     }
 
+    private static ParallelChunkDownloader.ChunkResponse fetchChunk(DownloadVariableTask task, String uri, long chunkSize, int chunkNum) throws IOException, URISyntaxException {
+        final URIBuilder builder = new URIBuilder(uri).setCharset(StandardCharsets.UTF_8)
+                .addParameter("id", task.variableId)
+                .addParameter("chunkSize", Long.toString(chunkSize))
+                .addParameter("chunkNum", Integer.toString(chunkNum));
+
+        final URI build = builder.build();
+        final Request request = Request.get(build)
+                .connectTimeout(Timeout.ofSeconds(5));
+
+        RestUtils.addHeaders(request);
+
+        Response response = HttpClientExecutor.getExecutor(
+                task.core.dispatcherUrl.url, task.dispatcher.restUsername, task.dispatcher.restPassword).execute(request);
+        final HttpResponse httpResponse = response.returnResponse();
+        if (!(httpResponse instanceof ClassicHttpResponse classicHttpResponse)) {
+            throw new IllegalStateException("(!(httpResponse instanceof ClassicHttpResponse classicHttpResponse))");
+        }
+        final Header[] headers = httpResponse.getHeaders();
+        final HttpEntity entity = classicHttpResponse.getEntity();
+        final byte[] body = entity==null ? new byte[0] : EntityUtils.toByteArray(entity);
+        return new ParallelChunkDownloader.ChunkResponse(
+                classicHttpResponse.getCode(), body, DownloadUtils.getChunkSize(headers), DownloadUtils.isLastChunk(headers), DownloadUtils.getTotalSize(headers));
+    }
+
+    private static void deleteDownload(Path dataFile) {
+        try {
+            Files.deleteIfExists(dataFile);
+            Files.deleteIfExists(ParallelChunkDownloader.stateFile(dataFile));
+        }
+        catch (IOException e) {
+            log.warn("810.210 Can't delete file {}, {}", dataFile, e.getMessage());
+        }
+    }
+
     private Enums.VariableState setVariableWasntFound(DownloadVariableTask task) {
         String es;
         es = String.format("810.200 Variable %s wasn't found on dispatcher. Set state of task #%s to 'finished' with error.", task.variableId, task.getTaskId());
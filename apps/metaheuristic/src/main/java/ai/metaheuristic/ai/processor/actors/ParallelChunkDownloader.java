@@ -0,0 +1,478 @@
+/*
+ * Metaheuristic, Copyright (C) 2017-2025, Innovation platforms, LLC
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package ai.metaheuristic.ai.processor.actors;
+
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.Nullable;
+
+import java.io.*;
+import java.net.URISyntaxException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.CRC32;
+
+import static java.nio.file.StandardOpenOption.*;
+
+/**
+ * Downloads data by chunks, with several chunks in flight at the same time.
+ *
+ * <p>Chunks are written at their offsets into one preallocated file. Each completed chunk is recorded,
+ * together with CRC32 of its data, in a state file next to the data file, so an interrupted download
+ * continues with the chunks which weren't received yet. Data of chunk is forced to disk before the chunk
+ * is recorded as completed. Completed chunks are read back in order as soon as there isn't a gap before them,
+ * while the rest of chunks is still being downloaded, their CRC32 are verified and their data is passed
+ * to {@link DataConsumer}, so i.e. a checksum of whole data is ready when the last chunk was received.
+ * A mismatched chunk is marked as not received and will be downloaded again with the next attempt.
+ *
+ * <p>Chunks are downloaded concurrently only when the total size of data is known, from header
+ * {@link ai.metaheuristic.ai.Consts#HEADER_MH_TOTAL_SIZE}. With a dispatcher which doesn't send it,
+ * chunks are downloaded one by one until the last one.
+ *
+ * @author Serge
+ * Date: 10/18/2026
+ * Time: 5:40 PM
+ */
+@Slf4j
+public class ParallelChunkDownloader {
+
+    public static final int MAX_CONCURRENCY = 16;
+    public static final int MAX_CHUNKS_WITHOUT_TOTAL_SIZE = 1000;
+    public static final String STATE_EXT = ".state";
+
+    public record ChunkResponse(int statusCode, byte[] body, @Nullable Long chunkSize, boolean isLast, @Nullable Long totalSize) {}
+
+    @FunctionalInterface
+    public interface ChunkFetcher {
+        ChunkResponse fetch(int chunkNum) throws IOException, URISyntaxException;
+    }
+
+    /**
+     * Receives the downloaded data in order, from the first byte to the last one.
+     * What was received is the actual data only if download was completed with {@link Status#ok}.
+     */
+    @FunctionalInterface
+    public interface DataConsumer {
+        void accept(ByteBuffer data);
+    }
+
+    public enum Status {ok, no_content, gone, bad_gateway, unexpected_status, transmitting_error, too_many_chunks}
+
+    public record Result(Status status, int chunkNum, int statusCode) {
+        public static final Result OK = new Result(Status.ok, -1, 200);
+
+        public boolean isOk() {
+            return status==Status.ok;
+        }
+    }
+
+    /**
+     * Completed chunks of download and their CRC32.
+     */
+    static final class State {
+        private static final int FORMAT_1 = 1;
+        private static final long NOT_DONE = -1L;
+
+        final long chunkSize;
+        private long totalSize = -1;
+        private long[] crcs = new long[0];
+
+        State(long chunkSize) {
+            this.chunkSize = chunkSize;
+        }
+
+        synchronized long totalSize() {
+            return totalSize;
+        }
+
+        synchronized void setTotalSize(long totalSize) {
+            this.totalSize = totalSize;
+        }
+
+        synchronized int chunkCount() {
+            if (totalSize<0) {
+                throw new IllegalStateException("810.300 total size is unknown");
+            }
+            return totalSize==0 ? 1 : (int) ((totalSize + chunkSize - 1) / chunkSize);
+        }
+
+        synchronized boolean isDone(int chunkNum) {
+            return chunkNum<crcs.length && crcs[chunkNum]!=NOT_DONE;
+        }
+
+        synchronized long crc(int chunkNum) {
+            return chunkNum<crcs.length ? crcs[chunkNum] : NOT_DONE;
+        }
+
+        synchronized void done(int chunkNum, long crc) {
+            if (chunkNum>=crcs.length) {
+                int oldLength = crcs.length;
+                crcs = Arrays.copyOf(crcs, Math.max(chunkNum + 1, oldLength * 2));
+                Arrays.fill(crcs, oldLength, crcs.length, NOT_DONE);
+            }
+            crcs[chunkNum] = crc;
+        }
+
+        synchronized void reset(int chunkNum) {
+            if (chunkNum<crcs.length) {
+                crcs[chunkNum] = NOT_DONE;
+            }
+        }
+
+        synchronized void clear() {
+            totalSize = -1;
+            crcs = new long[0];
+        }
+
+        synchronized void save(Path stateFile) throws IOException {
+            Path tempFile = stateFile.resolveSibling(stateFile.getFileName().toString() + ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile, CREATE, TRUNCATE_EXISTING, WRITE)))) {
+                out.writeInt(FORMAT_1);
+                out.writeLong(chunkSize);
+                out.writeLong(totalSize);
+                out.writeInt(crcs.length);
+                for (long crc : crcs) {
+                    out.writeLong(crc);
+                }
+            }
+            Files.move(tempFile, stateFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+
+        /**
+         * @return null if there isn't a state, state is broken or was created for other size of chunk
+         */
+        @Nullable
+        static State load(Path stateFile, long chunkSize) {
+            if (Files.notExists(stateFile)) {
+                return null;
+            }
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(stateFile)))) {
+                if (in.readInt()!=FORMAT_1 || in.readLong()!=chunkSize) {
+                    return null;
+                }
+                State state = new State(chunkSize);
+                state.totalSize = in.readLong();
+                int count = in.readInt();
+                if (count<0 || count>1_000_000) {
+                    return null;
+                }
+                state.crcs = new long[count];
+                for (int i = 0; i < count; i++) {
+                    state.crcs[i] = in.readLong();
+                }
+                return state;
+            }
+            catch (IOException e) {
+                log.warn("810.310 broken state of download {}, will start from scratch, {}", stateFile, e.getMessage());
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Reads completed chunks back in order, verifies their CRC32 and passes their data to consumer.
+     * Reading stops at the first mismatched chunk.
+     */
+    static final class InOrderReader {
+        private final FileChannel channel;
+        private final State state;
+        @Nullable
+        private final DataConsumer consumer;
+        private final ByteBuffer buffer = ByteBuffer.allocate(0x10000);
+        private int next = 0;
+        @Nullable
+        private Result failure = null;
+
+        InOrderReader(FileChannel channel, State state, @Nullable DataConsumer consumer) {
+            this.channel = channel;
+            this.state = state;
+            this.consumer = consumer;
+        }
+
+        synchronized void advance() throws IOException {
+            final long totalSize = state.totalSize();
+            if (failure!=null || totalSize<0) {
+                return;
+            }
+            final int chunkCount = state.chunkCount();
+            while (next<chunkCount && state.isDone(next)) {
+                final long offset = next * state.chunkSize;
+                final long end = Math.min(offset + state.chunkSize, totalSize);
+                CRC32 crc32 = new CRC32();
+                long position = offset;
+                while (position<end) {
+                    buffer.clear();
+                    buffer.limit((int) Math.min(buffer.capacity(), end - position));
+                    int read = channel.read(buffer, position);
+                    if (read<0) {
+                        break;
+                    }
+                    buffer.flip();
+                    crc32.update(buffer);
+                    if (consumer!=null) {
+                        buffer.rewind();
+                        consumer.accept(buffer);
+                    }
+                    position += read;
+                }
+                if (position!=end || crc32.getValue()!=state.crc(next)) {
+                    log.error("810.390 checksum of chunk #{} doesn't match, the chunk will be downloaded again", next);
+                    state.reset(next);
+                    failure = new Result(Status.transmitting_error, next, 200);
+                    return;
+                }
+                next++;
+            }
+        }
+
+        /**
+         * @return null if all chunks were read and verified
+         */
+        @Nullable
+        synchronized Result result() {
+            if (failure!=null) {
+                return failure;
+            }
+            if (state.totalSize()<0 || next<state.chunkCount()) {
+                return new Result(Status.transmitting_error, next, 200);
+            }
+            return null;
+        }
+    }
+
+    public static Path stateFile(Path dataFile) {
+        return dataFile.resolveSibling(dataFile.getFileName().toString() + STATE_EXT);
+    }
+
+    /**
+     * Downloads all chunks which weren't received yet into dataFile.
+     * The state file is deleted when the download was completed and verified.
+     */
+    public static Result download(Path dataFile, long chunkSize, int concurrency, ChunkFetcher fetcher) throws IOException, URISyntaxException {
+        return download(dataFile, chunkSize, concurrency, fetcher, null);
+    }
+
+    /**
+     * The same as {@link #download(Path, long, int, ChunkFetcher)}, and the whole data is passed in order to consumer.
+     * The data is passed from the first byte with every call, also when a download was resumed.
+     */
+    public static Result download(Path dataFile, long chunkSize, int concurrency, ChunkFetcher fetcher, @Nullable DataConsumer consumer) throws IOException, URISyntaxException {
+        if (chunkSize<=0) {
+            throw new IllegalArgumentException("810.320 chunkSize must be positive, actual: " + chunkSize);
+        }
+        final Path stateFile = stateFile(dataFile);
+        State loaded = State.load(stateFile, chunkSize);
+        final State state;
+        if (loaded==null || Files.notExists(dataFile)) {
+            state = new State(chunkSize);
+            Files.deleteIfExists(dataFile);
+        }
+        else {
+            state = loaded;
+            log.info("810.330 resume download of {}", dataFile);
+        }
+
+        try (FileChannel channel = FileChannel.open(dataFile, CREATE, READ, WRITE)) {
+            final InOrderReader reader = new InOrderReader(channel, state, consumer);
+            int chunkNum = 0;
+            while (state.totalSize()<0) {
+                if (chunkNum>=MAX_CHUNKS_WITHOUT_TOTAL_SIZE) {
+                    return new Result(Status.too_many_chunks, chunkNum, 200);
+                }
+                if (!state.isDone(chunkNum)) {
+                    Result result = fetchChunk(channel, state, stateFile, fetcher, chunkNum);
+                    if (result!=null) {
+                        return result;
+                    }
+                }
+                chunkNum++;
+            }
+
+            preallocate(channel, state.totalSize());
+
+            List<Integer> missing = new ArrayList<>();
+            for (int i = 0; i < state.chunkCount(); i++) {
+                if (!state.isDone(i)) {
+                    missing.add(i);
+                }
+            }
+            Result result = fetchChunks(channel, state, stateFile, fetcher, missing, concurrency, reader);
+            if (result!=null) {
+                return result;
+            }
+
+            result = verify(channel, state, reader);
+            if (result!=null) {
+                state.save(stateFile);
+                return result;
+            }
+        }
+        Files.deleteIfExists(stateFile);
+        return Result.OK;
+    }
+
+    private static void preallocate(FileChannel channel, long totalSize) throws IOException {
+        long size = channel.size();
+        if (size>totalSize) {
+            channel.truncate(totalSize);
+        }
+        else if (size<totalSize) {
+            // extends the file to its final size at once, sparse where filesystem supports that
+            channel.write(ByteBuffer.wrap(new byte[1]), totalSize - 1);
+        }
+    }
+
+    @Nullable
+    private static Result fetchChunks(
+            FileChannel channel, State state, Path stateFile, ChunkFetcher fetcher, List<Integer> missing, int concurrency,
+            InOrderReader reader) throws IOException, URISyntaxException {
+
+        final int workers = Math.min(Math.max(1, Math.min(concurrency, MAX_CONCURRENCY)), missing.size());
+        if (workers<=1) {
+            for (Integer chunkNum : missing) {
+                Result result = fetchChunk(channel, state, stateFile, fetcher, chunkNum);
+                if (result!=null) {
+                    return result;
+                }
+                reader.advance();
+            }
+            return null;
+        }
+
+        final AtomicInteger cursor = new AtomicInteger();
+        final AtomicReference<Result> failure = new AtomicReference<>();
+        final AtomicReference<Exception> error = new AtomicReference<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < workers; i++) {
+                executor.submit(() -> {
+                    int idx;
+                    // the first failed chunk stops all workers, completed chunks stay recorded in state
+                    while (failure.get()==null && error.get()==null && (idx = cursor.getAndIncrement())<missing.size()) {
+                        try {
+                            Result result = fetchChunk(channel, state, stateFile, fetcher, missing.get(idx));
+                            if (result!=null) {
+                                failure.compareAndSet(null, result);
+                            }
+                            else {
+                                reader.advance();
+                            }
+                        }
+                        catch (Exception e) {
+                            error.compareAndSet(null, e);
+                        }
+                    }
+                });
+            }
+        }
+        Exception e = error.get();
+        if (e instanceof IOException ioe) {
+            throw ioe;
+        }
+        if (e instanceof URISyntaxException use) {
+            throw use;
+        }
+        if (e instanceof RuntimeException re) {
+            throw re;
+        }
+        if (e!=null) {
+            throw new IllegalStateException("810.340 error while downloading chunks", e);
+        }
+        return failure.get();
+    }
+
+    @Nullable
+    private static Result fetchChunk(FileChannel channel, State state, Path stateFile, ChunkFetcher fetcher, int chunkNum) throws IOException, URISyntaxException {
+        ChunkResponse response = fetcher.fetch(chunkNum);
+        switch (response.statusCode) {
+            case 200:
+                break;
+            case 204:
+                return new Result(Status.no_content, chunkNum, response.statusCode);
+            case 410:
+                return new Result(Status.gone, chunkNum, response.statusCode);
+            case 502:
+                return new Result(Status.bad_gateway, chunkNum, response.statusCode);
+            default:
+                return new Result(Status.unexpected_status, chunkNum, response.statusCode);
+        }
+        final byte[] body = response.body;
+        if (response.chunkSize!=null && response.chunkSize!=body.length) {
+            log.error("810.350 chunk #{} has size {} but expected {}", chunkNum, body.length, response.chunkSize);
+            return new Result(Status.transmitting_error, chunkNum, response.statusCode);
+        }
+
+        final long offset = chunkNum * state.chunkSize;
+        final long knownTotalSize = state.totalSize();
+        if (response.totalSize!=null) {
+            if (knownTotalSize>=0 && knownTotalSize!=response.totalSize) {
+                log.error("810.360 total size was changed from {} to {}, download will start from scratch", knownTotalSize, response.totalSize);
+                state.clear();
+                state.save(stateFile);
+                return new Result(Status.transmitting_error, chunkNum, response.statusCode);
+            }
+            state.setTotalSize(response.totalSize);
+        }
+        else if (response.isLast || body.length==0) {
+            state.setTotalSize(offset + body.length);
+        }
+
+        final long totalSize = state.totalSize();
+        if (totalSize>=0) {
+            long expected = offset>=totalSize ? 0 : Math.min(state.chunkSize, totalSize - offset);
+            if (body.length!=expected) {
+                log.error("810.370 chunk #{} has size {} but expected {}, total size: {}", chunkNum, body.length, expected, totalSize);
+                return new Result(Status.transmitting_error, chunkNum, response.statusCode);
+            }
+        }
+
+        ByteBuffer bb = ByteBuffer.wrap(body);
+        long position = offset;
+        while (bb.hasRemaining()) {
+            position += channel.write(bb, position);
+        }
+        channel.force(false);
+
+        CRC32 crc32 = new CRC32();
+        crc32.update(body);
+        state.done(chunkNum, crc32.getValue());
+        state.save(stateFile);
+        return null;
+    }
+
+    @Nullable
+    private static Result verify(FileChannel channel, State state, InOrderReader reader) throws IOException {
+        final long totalSize = state.totalSize();
+        if (channel.size()!=totalSize) {
+            log.error("810.380 size of file is {} but expected {}", channel.size(), totalSize);
+            state.clear();
+            return new Result(Status.transmitting_error, -1, 200);
+        }
+        // chunks which were completed before this call, or while the total size was unknown, are read here
+        reader.advance();
+        return reader.result();
+    }
+}
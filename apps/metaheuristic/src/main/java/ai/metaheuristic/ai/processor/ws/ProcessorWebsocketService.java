@@ -1,5 +1,6 @@
 package ai.metaheuristic.ai.processor.ws;
 
+import ai.metaheuristic.ai.Consts;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.apache.tomcat.websocket.Constants;
@@ -64,10 +65,17 @@ public class ProcessorWebsocketService {
         @Nullable
         private Thread mainThread = null;
         private final Consumer<String> eventConsumerFunc;
+        private final Supplier<@Nullable Long> processorIdFunc;
+        @Nullable
+        private volatile StompSession session = null;
+        private StompSession.@Nullable Subscription processorSubscription = null;
+        @Nullable
+        private Long subscribedProcessorId = null;
 
-        public WebSocketInfra(String url, String  user, String pass, Consumer<String> eventConsumerFunc) {
+        public WebSocketInfra(String url, String  user, String pass, Consumer<String> eventConsumerFunc, Supplier<@Nullable Long> processorIdFunc) {
             this.url = url;
             this.eventConsumerFunc = eventConsumerFunc;
+            this.processorIdFunc = processorIdFunc;
             webSocketClient = new StandardWebSocketClient();
             // hard-lock on Apache Tomcat
             webSocketClient.setUserProperties(Map.of(
@@ -141,6 +149,52 @@ public class ProcessorWebsocketService {
             terminateWsThread();
         }
 
+        private void setSession(StompSession session) {
+            writeLock.lock();
+            try {
+                this.session = session;
+                this.processorSubscription = null;
+                this.subscribedProcessorId = null;
+            }
+            finally {
+                writeLock.unlock();
+            }
+            subscribeToProcessorTopic();
+        }
+
+        /**
+         * Subscribes to the personal topic of processor, the dispatcher sends there offers of tasks for idle cores.
+         * The subscription is done after processorId was assigned and again after each re-connection.
+         */
+        public void subscribeToProcessorTopic() {
+            final Long processorId = processorIdFunc.get();
+            final StompSession s = session;
+            if (processorId==null || s==null || !s.isConnected() || processorId.equals(subscribedProcessorId)) {
+                return;
+            }
+            writeLock.lock();
+            try {
+                if (s!=session || processorId.equals(subscribedProcessorId)) {
+                    return;
+                }
+                if (processorSubscription!=null) {
+                    processorSubscription.unsubscribe();
+                }
+                StompHeaders headers = new StompHeaders();
+                headers.add("url", url);
+                headers.setDestination(Consts.WS_PROCESSOR_TOPIC_PREFIX + processorId);
+                processorSubscription = s.subscribe(headers, new MyStompFrameHandler(url, eventConsumerFunc));
+                subscribedProcessorId = processorId;
+                log.debug("	subscribed to topic of processor #{}, {}", processorId, url);
+            }
+            catch (Throwable th) {
+                log.warn("Error while subscribing to topic of processor #{}, {}, error: {}", processorId, url, th.getMessage());
+            }
+            finally {
+                writeLock.unlock();
+            }
+        }
+
         private boolean connectToServer()  {
             log.debug("start processing CompletableFuture, " + url);
             inProcess.set(true);
@@ -154,6 +208,7 @@ public class ProcessorWebsocketService {
                     headers.add("url", url);
                     headers.setDestination("/topic/events");
                     session.subscribe(headers, new MyStompFrameHandler(url, eventConsumerFunc));
+                    setSession(session);
                     sessionHandler.initialized = true;
                     log.debug("\tinitialization of session was completed, " + url);
                 }
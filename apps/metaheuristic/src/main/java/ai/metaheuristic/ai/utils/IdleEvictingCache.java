@@ -0,0 +1,168 @@
+/*
+ * Metaheuristic, Copyright (C) 2017-2025, Innovation platforms, LLC
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package ai.metaheuristic.ai.utils;
+
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Bounded in-memory cache for resident objects of dispatcher, such as parsed params or graphs.
+ *
+ * <p>An entry which wasn't accessed for idleEvictionMills is evicted. When the cache is over maxEntries,
+ * idle entries are evicted and then the least recently accessed ones, 10% below maxEntries at once,
+ * so the full scan isn't done for each new entry. Without overflow idle entries are swept
+ * not more often than once per idleEvictionMills.
+ *
+ * <p>Values are shared between threads as is, a cached value must be either immutable or thread-safe.
+ *
+ * @author Serge
+ * Date: 10/18/2026
+ * Time: 10:05 PM
+ */
+@Slf4j
+public class IdleEvictingCache<K, V> {
+
+    public record Stats(long hits, long misses, int size) {}
+
+    private static final class Entry<V> {
+        final V value;
+        volatile long lastAccess;
+
+        Entry(V value, long now) {
+            this.value = value;
+            this.lastAccess = now;
+        }
+    }
+
+    private final String name;
+    private final int maxEntries;
+    private final long idleEvictionMills;
+
+    private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final AtomicLong lastIdleSweep = new AtomicLong(System.currentTimeMillis());
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public IdleEvictingCache(String name, int maxEntries, long idleEvictionMills) {
+        this.name = name;
+        this.maxEntries = maxEntries;
+        this.idleEvictionMills = idleEvictionMills;
+    }
+
+    @Nullable
+    public V get(K key) {
+        return get(key, v -> true);
+    }
+
+    /**
+     * Returns the cached value only if it's still valid for the caller, e.g. it was built from the same version of entity.
+     * A value which isn't valid is counted as a miss and is left in place, the caller is expected to {@link #put} a new one.
+     */
+    @Nullable
+    public V get(K key, Predicate<? super V> valid) {
+        Entry<V> entry = entries.get(key);
+        if (entry==null || !valid.test(entry.value)) {
+            misses.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+        entry.lastAccess = System.currentTimeMillis();
+        return entry.value;
+    }
+
+    public void put(K key, V value) {
+        final long now = System.currentTimeMillis();
+        entries.put(key, new Entry<>(value, now));
+        evictIfNeeded(now);
+    }
+
+    /**
+     * Returns the cached value or atomically puts the value created by mappingFunction
+     */
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+        V value = get(key);
+        if (value!=null) {
+            return value;
+        }
+        final long now = System.currentTimeMillis();
+        Entry<V> entry = entries.computeIfAbsent(key, k -> new Entry<>(mappingFunction.apply(k), now));
+        evictIfNeeded(now);
+        return entry.value;
+    }
+
+    public void remove(K key) {
+        entries.remove(key);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    public Stats getStats() {
+        return new Stats(hits.get(), misses.get(), entries.size());
+    }
+
+    private void evictIfNeeded(long now) {
+        if (entries.size() > maxEntries) {
+            evictEldest();
+            return;
+        }
+        final long last = lastIdleSweep.get();
+        if (now - last >= idleEvictionMills && lastIdleSweep.compareAndSet(last, now)) {
+            evictIdle(now);
+        }
+    }
+
+    private void evictIdle(long now) {
+        entries.values().removeIf(o -> now - o.lastAccess > idleEvictionMills);
+    }
+
+    private synchronized void evictEldest() {
+        if (entries.size() <= maxEntries) {
+            return;
+        }
+        final long now = System.currentTimeMillis();
+        lastIdleSweep.set(now);
+        evictIdle(now);
+
+        int toEvict = entries.size() - maxEntries + maxEntries/10;
+        if (toEvict>0) {
+            List<Map.Entry<K, Entry<V>>> list = new ArrayList<>(entries.entrySet());
+            list.sort(Comparator.comparingLong(o -> o.getValue().lastAccess));
+            for (int i = 0; i < toEvict && i < list.size(); i++) {
+                entries.remove(list.get(i).getKey(), list.get(i).getValue());
+            }
+        }
+        if (log.isDebugEnabled()) {
+            Stats stats = getStats();
+            log.debug("935.100 cache '{}', hits: {}, misses: {}, size: {}", name, stats.hits(), stats.misses(), stats.size());
+        }
+    }
+}
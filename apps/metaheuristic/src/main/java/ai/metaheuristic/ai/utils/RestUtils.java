@@ -16,6 +16,7 @@
 
 package ai.metaheuristic.ai.utils;
 
+import ai.metaheuristic.ai.yaml.communication.CommFormatUtils;
 import ai.metaheuristic.commons.utils.threads.ThreadUtils;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.hc.client5.http.ConnectTimeoutException;
@@ -32,6 +33,7 @@ import java.net.SocketTimeoutException;
 import java.net.UnknownHostException;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import static org.springframework.http.HttpStatus.*;
@@ -67,23 +69,63 @@ public class RestUtils {
         return header;
     }
 
+    public record CommResponse(byte[] body, CommFormatUtils.CommFormat format) {}
+
     @Nullable
     public static String makeRequest(RestTemplate restTemplate, String url, String requestContent, String authHeader, String serverRestUrl) throws InterruptedException {
-        String result = null;
-        try {
-            HttpHeaders headers = new HttpHeaders();
-            headers.setAccept(Collections.singletonList(MediaType.APPLICATION_JSON));
-            headers.setContentType(MediaType.APPLICATION_JSON);
-            headers.set(HttpHeaders.AUTHORIZATION, authHeader);
+        HttpHeaders headers = new HttpHeaders();
+        headers.setAccept(Collections.singletonList(MediaType.APPLICATION_JSON));
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.set(HttpHeaders.AUTHORIZATION, authHeader);
+
+        HttpEntity<String> request = new HttpEntity<>(requestContent, headers);
+
+        log.debug("ExchangeData:\n{}", requestContent);
+        ResponseEntity<String> response = exchange(restTemplate, url, request, String.class, serverRestUrl);
+        if (response==null) {
+            return null;
+        }
+        String result = response.getBody();
+        log.debug("ExchangeData from dispatcher:\n{}", result);
+        return result;
+    }
+
+    /**
+     * Request to /srv-v2 or /keep-alive in the negotiated format, see {@link CommFormatUtils}.
+     * The format of requestContent must be the same as format.
+     */
+    @Nullable
+    public static CommResponse makeCommRequest(
+            RestTemplate restTemplate, String url, byte[] requestContent, CommFormatUtils.CommFormat format,
+            String authHeader, String serverRestUrl) throws InterruptedException {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setAccept(List.of(MediaType.APPLICATION_JSON, MediaType.APPLICATION_OCTET_STREAM));
+        // YAML is still sent as application/json, the same as it was with String content
+        headers.setContentType(format==CommFormatUtils.CommFormat.gzipJson ? MediaType.APPLICATION_OCTET_STREAM : MediaType.APPLICATION_JSON);
+        headers.set(HttpHeaders.AUTHORIZATION, authHeader);
+        headers.set(CommFormatUtils.HEADER_COMM_ACCEPT, CommFormatUtils.GZIP_JSON_FORMAT);
+        String formatHeader = format.headerValue();
+        if (formatHeader!=null) {
+            headers.set(CommFormatUtils.HEADER_COMM_FORMAT, formatHeader);
+        }
 
-            HttpEntity<String> request = new HttpEntity<>(requestContent, headers);
+        HttpEntity<byte[]> request = new HttpEntity<>(requestContent, headers);
+        ResponseEntity<byte[]> response = exchange(restTemplate, url, request, byte[].class, serverRestUrl);
+        if (response==null || response.getBody()==null) {
+            return null;
+        }
+        CommFormatUtils.CommFormat responseFormat = CommFormatUtils.responseFormat(response.getHeaders().getFirst(CommFormatUtils.HEADER_COMM_FORMAT));
+        log.debug("775.060 comm request, format: {}, size of request: {}, response format: {}, size of response: {}",
+                format, requestContent.length, responseFormat, response.getBody().length);
+        return new CommResponse(response.getBody(), responseFormat);
+    }
 
-            log.debug("ExchangeData:\n{}", requestContent);
+    @Nullable
+    private static <T> ResponseEntity<T> exchange(RestTemplate restTemplate, String url, HttpEntity<?> request, Class<T> responseType, String serverRestUrl) throws InterruptedException {
+        try {
             ThreadUtils.checkInterrupted();
             Thread.sleep(0);
-            ResponseEntity<String> response = restTemplate.exchange(url, HttpMethod.POST, request, String.class);
-            result = response.getBody();
-            log.debug("ExchangeData from dispatcher:\n{}", result);
+            return restTemplate.exchange(url, HttpMethod.POST, request, responseType);
         } catch (HttpClientErrorException e) {
             int value = e.getStatusCode().value();
             if (value==UNAUTHORIZED.value() || value==FORBIDDEN.value() || value==NOT_FOUND.value()) {
@@ -92,6 +134,7 @@ public class RestUtils {
             else {
                 throw e;
             }
+            return null;
         } catch (ResourceAccessException e) {
             Throwable cause = e.getCause();
             switch (cause) {
@@ -124,6 +167,5 @@ public class RestUtils {
             }
             return null;
         }
-        return result;
     }
 }
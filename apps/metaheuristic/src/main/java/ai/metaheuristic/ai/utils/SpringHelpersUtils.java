@@ -52,6 +52,7 @@ public class SpringHelpersUtils {
             STANDALONE_PROFILE, // standalone это профиль для запуска в режиме приложения на базе electron
             "external-storage", // data of all Variables will be stored in external storage (not in DB)
             "disk-storage", // disk as external storage
+            "cas-storage", // content-addressed disk storage, identical data is stored once and shared via reference counting
             "test",
             "disable-check-frontend",
             WEBSOCKET_PROFILE, // turn on a notification of Processor by Dispatcher over websockets
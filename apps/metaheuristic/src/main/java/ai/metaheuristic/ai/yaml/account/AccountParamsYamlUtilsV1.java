@@ -76,12 +76,12 @@ public class AccountParamsYamlUtilsV1
 
     @Override
     public String toString(AccountParamsYamlV1 yaml) {
-        return getYaml().dump(yaml);
+        return dump(yaml);
     }
 
     @Override
     public AccountParamsYamlV1 to(String s) {
-        final AccountParamsYamlV1 p = getYaml().load(s);
+        final AccountParamsYamlV1 p = load(s);
         return p;
     }
 
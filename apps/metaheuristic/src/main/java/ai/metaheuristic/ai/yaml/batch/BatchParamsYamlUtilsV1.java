@@ -72,12 +72,12 @@ public class BatchParamsYamlUtilsV1
 
     @Override
     public String toString(BatchParamsYamlV1 yaml) {
-        return getYaml().dump(yaml);
+        return dump(yaml);
     }
 
     @Override
     public BatchParamsYamlV1 to(String s) {
-        final BatchParamsYamlV1 p = getYaml().load(s);
+        final BatchParamsYamlV1 p = load(s);
         return p;
     }
 
@@ -0,0 +1,188 @@
+/*
+ * Metaheuristic, Copyright (C) 2017-2025, Innovation platforms, LLC
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package ai.metaheuristic.ai.yaml.communication;
+
+import ai.metaheuristic.ai.exceptions.CommPayloadTooLargeException;
+import ai.metaheuristic.ai.yaml.communication.dispatcher.DispatcherCommParamsYamlUtils;
+import ai.metaheuristic.ai.yaml.communication.keep_alive.KeepAliveRequestParamYamlUtils;
+import ai.metaheuristic.ai.yaml.communication.keep_alive.KeepAliveResponseParamYamlUtils;
+import ai.metaheuristic.ai.yaml.communication.processor.ProcessorCommParamsYamlUtils;
+import ai.metaheuristic.api.data.BaseParams;
+import ai.metaheuristic.commons.yaml.versioning.BaseYamlUtils;
+import org.jspecify.annotations.Nullable;
+import tools.jackson.databind.DeserializationFeature;
+import tools.jackson.databind.MapperFeature;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.SerializationFeature;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Wire format of /srv-v2 and /keep-alive exchanges between processor and dispatcher.
+ *
+ * <p>YAML stays the default format. A processor advertises the formats which it can read
+ * in header {@link #HEADER_COMM_ACCEPT}, the dispatcher answers in gzip-compressed JSON only if
+ * it knows the advertised format, and marks such answer with header {@link #HEADER_COMM_FORMAT}.
+ * After that the processor sends its requests in the same format, and marks them with the same header.
+ * A request without {@link #HEADER_COMM_FORMAT} is YAML, so old processors and old dispatchers keep working as before.
+ *
+ * <p>JSON carries only the current version of params, without any upgrading or downgrading,
+ * so the versions of all four params classes are a part of the format's name.
+ * Processor and dispatcher with different versions of params just stay with YAML.
+ *
+ * @author Serge
+ * Date: 10/18/2026
+ * Time: 2:40 PM
+ */
+public class CommFormatUtils {
+
+    public static final String HEADER_COMM_FORMAT = "X-MH-Comm-Format";
+    public static final String HEADER_COMM_ACCEPT = "X-MH-Comm-Accept";
+
+    public static final String GZIP_JSON_FORMAT = "gzip-json;v=" +
+            version(ProcessorCommParamsYamlUtils.BASE_YAML_UTILS) + '.' +
+            version(DispatcherCommParamsYamlUtils.BASE_YAML_UTILS) + '.' +
+            version(KeepAliveRequestParamYamlUtils.BASE_YAML_UTILS) + '.' +
+            version(KeepAliveResponseParamYamlUtils.BASE_YAML_UTILS);
+
+    // limit for decompressed json, a small gzip body can be inflated to gigabytes
+    public static final int DEFAULT_MAX_JSON_SIZE = 16 * 1024 * 1024;
+
+    // params are declared with final fields, such as ProcessorCommParamsYaml.request, which must be restored too
+    private static final ObjectMapper MAPPER = JsonMapper.builder()
+            .configure(SerializationFeature.FAIL_ON_EMPTY_BEANS, false)
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+            .configure(MapperFeature.USE_GETTERS_AS_SETTERS, true)
+            .configure(MapperFeature.ALLOW_FINAL_FIELDS_AS_MUTATORS, true)
+            .build();
+
+    public enum CommFormat {
+        yaml, gzipJson;
+
+        @Nullable
+        public String headerValue() {
+            return this==gzipJson ? GZIP_JSON_FORMAT : null;
+        }
+    }
+
+    private static int version(BaseYamlUtils<?> utils) {
+        return utils.getDefault().getVersion();
+    }
+
+    /**
+     * Format of request's body, header {@link #HEADER_COMM_FORMAT}
+     *
+     * @throws IllegalArgumentException if format is unknown
+     */
+    public static CommFormat requestFormat(@Nullable String header) {
+        if (header==null || header.isBlank()) {
+            return CommFormat.yaml;
+        }
+        if (GZIP_JSON_FORMAT.equals(header.strip())) {
+            return CommFormat.gzipJson;
+        }
+        throw new IllegalArgumentException("Unsupported comm format: " + header);
+    }
+
+    /**
+     * Format of response, chosen by the formats which were advertised by processor in header {@link #HEADER_COMM_ACCEPT}
+     */
+    public static CommFormat negotiate(@Nullable String accept) {
+        if (accept==null || accept.isBlank()) {
+            return CommFormat.yaml;
+        }
+        for (String s : accept.split(",")) {
+            if (GZIP_JSON_FORMAT.equals(s.strip())) {
+                return CommFormat.gzipJson;
+            }
+        }
+        return CommFormat.yaml;
+    }
+
+    /**
+     * Format of dispatcher's response, by the value of header {@link #HEADER_COMM_FORMAT}.
+     * Unlike {@link #requestFormat}, an unknown value is treated as YAML
+     * because the response was produced by dispatcher which wasn't asked for anything else.
+     */
+    public static CommFormat responseFormat(@Nullable String header) {
+        return header!=null && GZIP_JSON_FORMAT.equals(header.strip()) ? CommFormat.gzipJson : CommFormat.yaml;
+    }
+
+    public static byte[] toGzipJson(BaseParams params) {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream(1024);
+        try (OutputStream os = new GZIPOutputStream(baos, 4096)) {
+            MAPPER.writeValue(os, params);
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return baos.toByteArray();
+    }
+
+    public static <T extends BaseParams> T fromGzipJson(byte[] bytes, Class<T> clazz) {
+        return fromGzipJson(bytes, clazz, DEFAULT_MAX_JSON_SIZE);
+    }
+
+    /**
+     * @param maxSize max size of decompressed json, the body is sent by other side and can't be trusted
+     * @throws CommPayloadTooLargeException if decompressed json is bigger than maxSize
+     */
+    public static <T extends BaseParams> T fromGzipJson(byte[] bytes, Class<T> clazz, int maxSize) {
+        final byte[] json;
+        try (InputStream is = new GZIPInputStream(new ByteArrayInputStream(bytes), 4096)) {
+            json = is.readNBytes(maxSize + 1);
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (json.length > maxSize) {
+            throw new CommPayloadTooLargeException(
+                    "Decompressed json for " + clazz.getSimpleName() + " exceeds max size " + maxSize + ", compressed size: " + bytes.length);
+        }
+        T params = MAPPER.readValue(json, clazz);
+        if (params==null) {
+            throw new IllegalStateException("Empty json for " + clazz.getSimpleName());
+        }
+        params.checkIntegrity();
+        return params;
+    }
+
+    public static <T extends BaseParams> byte[] encode(CommFormat format, BaseYamlUtils<T> utils, T params) {
+        return format==CommFormat.gzipJson
+                ? toGzipJson(params)
+                : utils.toString(params).getBytes(StandardCharsets.UTF_8);
+    }
+
+    public static <T extends BaseParams> T decode(CommFormat format, BaseYamlUtils<T> utils, Class<T> clazz, byte[] bytes) {
+        return decode(format, utils, clazz, bytes, DEFAULT_MAX_JSON_SIZE);
+    }
+
+    public static <T extends BaseParams> T decode(CommFormat format, BaseYamlUtils<T> utils, Class<T> clazz, byte[] bytes, int maxJsonSize) {
+        return format==CommFormat.gzipJson
+                ? fromGzipJson(bytes, clazz, maxJsonSize)
+                : utils.to(new String(bytes, StandardCharsets.UTF_8));
+    }
+}
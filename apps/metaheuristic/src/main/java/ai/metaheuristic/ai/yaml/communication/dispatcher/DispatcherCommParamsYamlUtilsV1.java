@@ -63,12 +63,12 @@ public class DispatcherCommParamsYamlUtilsV1 extends
     public String toString(DispatcherCommParamsYamlV1 yaml) {
         yaml.checkIntegrity();
 
-        return getYaml().dump(yaml);
+        return dump(yaml);
     }
 
     @Override
     public DispatcherCommParamsYamlV1 to(String s) {
-        final DispatcherCommParamsYamlV1 p = getYaml().load(s);
+        final DispatcherCommParamsYamlV1 p = load(s);
         return p;
     }
 
@@ -118,12 +118,12 @@ public class DispatcherCommParamsYamlUtilsV2 extends
     public String toString(DispatcherCommParamsYamlV2 yaml) {
         yaml.checkIntegrity();
 
-        return getYaml().dump(yaml);
+        return dump(yaml);
     }
 
     @Override
     public DispatcherCommParamsYamlV2 to(String s) {
-        final DispatcherCommParamsYamlV2 p = getYaml().load(s);
+        final DispatcherCommParamsYamlV2 p = load(s);
         return p;
     }
 
@@ -0,0 +1,100 @@
+/*
+ * Metaheuristic, Copyright (C) 2017-2025, Innovation platforms, LLC
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package ai.metaheuristic.ai.yaml.communication.keep_alive;
+
+import ai.metaheuristic.api.EnumsApi;
+import ai.metaheuristic.commons.utils.Checksum;
+import org.jspecify.annotations.Nullable;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Digests of sections of {@link KeepAliveRequestParamYaml}, which are used for differential keep-alive.
+ *
+ * <p>A processor sends a digest of its status and a digest of its cores with every request,
+ * and omits a section if its digest is equal to the digest which was accepted by dispatcher last time.
+ * A digest is calculated over a canonical text of section, i.e. maps are sorted by key and null lists are
+ * the same as empty ones, so the same section has the same digest at processor's and dispatcher's sides,
+ * regardless of format of transfer.
+ *
+ * @author Serge
+ * Date: 10/18/2026
+ * Time: 6:10 PM
+ */
+public class KeepAliveDigestUtils {
+
+    public static String statusDigest(KeepAliveRequestParamYaml.ProcessorStatus status) {
+        StringBuilder sb = new StringBuilder(1024);
+        KeepAliveRequestParamYaml.Env env = status.env;
+        if (env!=null) {
+            append(sb, "mirrors", env.mirrors);
+            append(sb, "envs", env.envs);
+            for (KeepAliveRequestParamYaml.DiskStorage disk : env.disk) {
+                append(sb, "disk", disk.code, disk.path);
+            }
+            KeepAliveRequestParamYaml.Quotas q = env.quotas;
+            append(sb, "quotas", q.limit, q.defaultValue, q.disabled);
+            for (KeepAliveRequestParamYaml.Quota quota : q.values) {
+                append(sb, "quota", quota.tag, quota.amount, quota.disabled);
+            }
+        }
+        if (status.gitStatusInfo!=null) {
+            append(sb, "git", status.gitStatusInfo.status, status.gitStatusInfo.version, status.gitStatusInfo.error);
+        }
+        append(sb, "status", status.schedule, status.ip, status.host, status.logDownloadable, status.taskParamsVersion, status.os, status.currDir);
+        if (status.errors!=null) {
+            for (String error : status.errors) {
+                append(sb, "error", error);
+            }
+        }
+        append(sb, "key", status.publicKeySpki, status.keyFingerprint);
+        return digest(sb);
+    }
+
+    public static String coresDigest(List<KeepAliveRequestParamYaml.Core> cores) {
+        StringBuilder sb = new StringBuilder(256);
+        cores.stream()
+                .sorted(Comparator.comparing(o -> o.coreCode, Comparator.nullsFirst(Comparator.naturalOrder())))
+                .forEach(core -> append(sb, "core", core.coreCode, core.coreId, core.coreDir, core.tags));
+        return digest(sb);
+    }
+
+    private static void append(StringBuilder sb, String section, Map<String, String> map) {
+        new TreeMap<>(map).forEach((k, v) -> append(sb, section, k, v));
+    }
+
+    private static void append(StringBuilder sb, String section, @Nullable Object ... values) {
+        sb.append(section);
+        for (Object value : values) {
+            // values are prefixed with their length, so a value which contains a separator can't shift the next ones
+            if (value==null) {
+                sb.append("|-");
+                continue;
+            }
+            String s = value.toString();
+            sb.append('|').append(s.length()).append(':').append(s);
+        }
+        sb.append('\n');
+    }
+
+    private static String digest(StringBuilder sb) {
+        return Checksum.getChecksum(EnumsApi.HashAlgo.SHA256, sb.toString());
+    }
+}
@@ -173,6 +173,15 @@ public class KeepAliveRequestParamYaml implements BaseParams {
 
         public String processorCode;
 
+        // Differential keep-alive. Digests of status and of cores, see KeepAliveDigestUtils.
+        // A section which was omitted is the same as the section which was accepted by dispatcher last time.
+        // @Nullable per the @Nullable-exception rule — no version bump.
+        @Nullable
+        public String statusDigest;
+
+        @Nullable
+        public String coresDigest;
+
         public Processor(String processorCode) {
             this.processorCode = processorCode;
         }
@@ -100,13 +100,13 @@ public class KeepAliveRequestParamYamlUtilsV1 extends
 
     @Override
     public String toString(@NonNull KeepAliveRequestParamYamlV1 yaml) {
-        return getYaml().dump(yaml);
+        return dump(yaml);
     }
 
     @NonNull
     @Override
     public KeepAliveRequestParamYamlV1 to(@NonNull String s) {
-        final KeepAliveRequestParamYamlV1 p = getYaml().load(s);
+        final KeepAliveRequestParamYamlV1 p = load(s);
         return p;
     }
 
@@ -67,13 +67,13 @@ public class KeepAliveRequestParamYamlUtilsV2 extends
 
     @Override
     public String toString(@NonNull KeepAliveRequestParamYamlV2 yaml) {
-        return getYaml().dump(yaml);
+        return dump(yaml);
     }
 
     @NonNull
     @Override
     public KeepAliveRequestParamYamlV2 to(@NonNull String s) {
-        final KeepAliveRequestParamYamlV2 p = getYaml().load(s);
+        final KeepAliveRequestParamYamlV2 p = load(s);
         return p;
     }
 
@@ -124,13 +124,13 @@ public class KeepAliveRequestParamYamlUtilsV3 extends
 
     @Override
     public String toString(@NonNull KeepAliveRequestParamYamlV3 yaml) {
-        return getYaml().dump(yaml);
+        return dump(yaml);
     }
 
     @NonNull
     @Override
     public KeepAliveRequestParamYamlV3 to(@NonNull String s) {
-        final KeepAliveRequestParamYamlV3 p = getYaml().load(s);
+        final KeepAliveRequestParamYamlV3 p = load(s);
         return p;
     }
 
@@ -174,6 +174,15 @@ public class KeepAliveRequestParamYamlV3 implements BaseParams {
 
         public String processorCode;
 
+        // Differential keep-alive. Digests of status and of cores, see KeepAliveDigestUtils.
+        // A section which was omitted is the same as the section which was accepted by dispatcher last time.
+        // @Nullable per the @Nullable-exception rule — no version bump.
+        @Nullable
+        public String statusDigest;
+
+        @Nullable
+        public String coresDigest;
+
         public ProcessorV3(String processorCode) {
             this.processorCode = processorCode;
         }
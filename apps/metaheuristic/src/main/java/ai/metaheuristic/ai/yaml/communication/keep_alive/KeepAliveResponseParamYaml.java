@@ -149,6 +149,15 @@ public class KeepAliveResponseParamYaml implements BaseParams {
         @Nullable
         public List<VaultEntryInvalidation> vaultInvalidations;
 
+        // Differential keep-alive. Digests of processor's status and cores which were accepted by dispatcher.
+        // null means that processor has to send the section in full with the next request.
+        // @Nullable per the @Nullable-exception rule — no version bump.
+        @Nullable
+        public String acceptedStatusDigest;
+
+        @Nullable
+        public String acceptedCoresDigest;
+
         public DispatcherResponse(String processorCode) {
             this.processorCode = processorCode;
         }
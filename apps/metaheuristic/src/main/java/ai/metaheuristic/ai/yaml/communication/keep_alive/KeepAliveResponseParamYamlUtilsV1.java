@@ -66,13 +66,13 @@ public class KeepAliveResponseParamYamlUtilsV1 extends
 
     @Override
     public String toString(@NonNull KeepAliveResponseParamYamlV1 yaml) {
-        return getYaml().dump(yaml);
+        return dump(yaml);
     }
 
     @NonNull
     @Override
     public KeepAliveResponseParamYamlV1 to(@NonNull String s) {
-        final KeepAliveResponseParamYamlV1 p = getYaml().load(s);
+        final KeepAliveResponseParamYamlV1 p = load(s);
         return p;
     }
 
@@ -82,6 +82,8 @@ public class KeepAliveResponseParamYamlUtilsV2 extends
                     vV2.companyId, vV2.keyCode, vV2.action, vV2.ts));
             }
         }
+        response.acceptedStatusDigest = r.acceptedStatusDigest;
+        response.acceptedCoresDigest = r.acceptedCoresDigest;
 
         t.success = v2.success;
         t.msg = v2.msg;
@@ -107,13 +109,13 @@ public class KeepAliveResponseParamYamlUtilsV2 extends
 
     @Override
     public String toString(@NonNull KeepAliveResponseParamYamlV2 yaml) {
-        return getYaml().dump(yaml);
+        return dump(yaml);
     }
 
     @NonNull
     @Override
     public KeepAliveResponseParamYamlV2 to(@NonNull String s) {
-        final KeepAliveResponseParamYamlV2 p = getYaml().load(s);
+        final KeepAliveResponseParamYamlV2 p = load(s);
         return p;
     }
 
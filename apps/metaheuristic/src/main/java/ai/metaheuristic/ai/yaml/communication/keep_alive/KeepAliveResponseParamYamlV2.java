@@ -132,6 +132,15 @@ public class KeepAliveResponseParamYamlV2 implements BaseParams {
         @Nullable
         public List<VaultEntryInvalidationV2> vaultInvalidations;
 
+        // Differential keep-alive. Digests of processor's status and cores which were accepted by dispatcher.
+        // null means that processor has to send the section in full with the next request.
+        // @Nullable per the @Nullable-exception rule — no version bump.
+        @Nullable
+        public String acceptedStatusDigest;
+
+        @Nullable
+        public String acceptedCoresDigest;
+
         public DispatcherResponseV2(String processorCode) {
             this.processorCode = processorCode;
         }
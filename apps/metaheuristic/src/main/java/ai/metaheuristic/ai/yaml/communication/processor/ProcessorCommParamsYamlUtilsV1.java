@@ -110,13 +110,13 @@ public class ProcessorCommParamsYamlUtilsV1
 
     @Override
     public String toString(@NonNull ProcessorCommParamsYamlV1 yaml) {
-        return getYaml().dump(yaml);
+        return dump(yaml);
     }
 
     @NonNull
     @Override
     public ProcessorCommParamsYamlV1 to(@NonNull String s) {
-        final ProcessorCommParamsYamlV1 p = getYaml().load(s);
+        final ProcessorCommParamsYamlV1 p = load(s);
         return p;
     }
 
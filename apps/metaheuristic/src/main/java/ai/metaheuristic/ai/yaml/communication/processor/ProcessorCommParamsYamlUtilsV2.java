@@ -66,13 +66,13 @@ public class ProcessorCommParamsYamlUtilsV2
 
     @Override
     public String toString(@NonNull ProcessorCommParamsYamlV2 yaml) {
-        return getYaml().dump(yaml);
+        return dump(yaml);
     }
 
     @NonNull
     @Override
     public ProcessorCommParamsYamlV2 to(@NonNull String s) {
-        final ProcessorCommParamsYamlV2 p = getYaml().load(s);
+        final ProcessorCommParamsYamlV2 p = load(s);
         return p;
     }
 
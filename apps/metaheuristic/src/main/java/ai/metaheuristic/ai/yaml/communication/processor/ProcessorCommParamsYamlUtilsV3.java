@@ -113,13 +113,13 @@ public class ProcessorCommParamsYamlUtilsV3
 
     @Override
     public String toString(@NonNull ProcessorCommParamsYamlV3 yaml) {
-        return getYaml().dump(yaml);
+        return dump(yaml);
     }
 
     @NonNull
     @Override
     public ProcessorCommParamsYamlV3 to(@NonNull String s) {
-        final ProcessorCommParamsYamlV3 p = getYaml().load(s);
+        final ProcessorCommParamsYamlV3 p = load(s);
         return p;
     }
 
@@ -71,12 +71,12 @@ public class CompanyParamsYamlUtilsV1
 
     @Override
     public String toString(CompanyParamsYamlV1 yaml) {
-        return getYaml().dump(yaml);
+        return dump(yaml);
     }
 
     @Override
     public CompanyParamsYamlV1 to(String s) {
-        final CompanyParamsYamlV1 p = getYaml().load(s);
+        final CompanyParamsYamlV1 p = load(s);
         return p;
     }
 
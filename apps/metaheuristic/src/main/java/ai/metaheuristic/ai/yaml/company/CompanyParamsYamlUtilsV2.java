@@ -77,13 +77,13 @@ public class CompanyParamsYamlUtilsV2
 
     @Override
     public String toString(@NonNull CompanyParamsYamlV2 yaml) {
-        return getYaml().dump(yaml);
+        return dump(yaml);
     }
 
     @NonNull
     @Override
     public CompanyParamsYamlV2 to(@NonNull String s) {
-        final CompanyParamsYamlV2 p = getYaml().load(s);
+        final CompanyParamsYamlV2 p = load(s);
         return p;
     }
 
@@ -67,7 +67,7 @@ public class CoreStatusYamlUtilsV1
 
     @Override
     public String toString(@NonNull CoreStatusYamlV1 yaml) {
-        return getYaml().dump(yaml);
+        return dump(yaml);
     }
 
     @NonNull
@@ -76,7 +76,7 @@ public class CoreStatusYamlUtilsV1
         if (S.b(s)) {
             throw new BlankYamlParamsException("'yaml' parameter is blank");
         }
-        final CoreStatusYamlV1 p = getYaml().load(s);
+        final CoreStatusYamlV1 p = load(s);
         return p;
     }
 
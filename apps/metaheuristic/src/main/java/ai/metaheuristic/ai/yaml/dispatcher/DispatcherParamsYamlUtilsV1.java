@@ -73,13 +73,13 @@ public class DispatcherParamsYamlUtilsV1
 
     @Override
     public String toString(@NonNull DispatcherParamsYamlV1 yaml) {
-        return getYaml().dump(yaml);
+        return dump(yaml);
     }
 
     @NonNull
     @Override
     public DispatcherParamsYamlV1 to(@NonNull String s) {
-        final DispatcherParamsYamlV1 p = getYaml().load(s);
+        final DispatcherParamsYamlV1 p = load(s);
         return p;
     }
 
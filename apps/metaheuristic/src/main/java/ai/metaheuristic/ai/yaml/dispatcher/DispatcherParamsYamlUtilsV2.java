@@ -80,13 +80,13 @@ public class DispatcherParamsYamlUtilsV2
 
     @Override
     public String toString(@NonNull DispatcherParamsYamlV2 yaml) {
-        return getYaml().dump(yaml);
+        return dump(yaml);
     }
 
     @NonNull
     @Override
     public DispatcherParamsYamlV2 to(@NonNull String s) {
-        final DispatcherParamsYamlV2 p = getYaml().load(s);
+        final DispatcherParamsYamlV2 p = load(s);
         return p;
     }
 
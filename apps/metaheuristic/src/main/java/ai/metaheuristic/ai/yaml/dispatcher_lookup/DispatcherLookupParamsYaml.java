@@ -16,6 +16,7 @@
 
 package ai.metaheuristic.ai.yaml.dispatcher_lookup;
 
+import ai.metaheuristic.ai.Consts;
 import ai.metaheuristic.ai.Enums;
 import ai.metaheuristic.api.EnumsApi;
 import ai.metaheuristic.api.data.BaseParams;
@@ -39,7 +40,7 @@ import java.util.List;
 @NoArgsConstructor
 public class DispatcherLookupParamsYaml implements BaseParams {
 
-    public final int version=2;
+    public final int version=3;
 
     @Override
     public boolean checkIntegrity() {
@@ -104,6 +105,8 @@ public class DispatcherLookupParamsYaml implements BaseParams {
         public String restPassword;
         public String assetManagerUrl;
         public int priority=0;
+        // how many chunks of variable are downloaded concurrently
+        public int downloadConcurrency=Consts.DOWNLOAD_CONCURRENCY_DEFAULT;
     }
 
     public final List<DispatcherLookup> dispatchers = new ArrayList<>();
@@ -26,12 +26,14 @@ public class DispatcherLookupParamsYamlUtils {
 
     private static final DispatcherLookupParamsYamlUtilsV1 YAML_UTILS_V_1 = new DispatcherLookupParamsYamlUtilsV1();
     private static final DispatcherLookupParamsYamlUtilsV2 YAML_UTILS_V_2 = new DispatcherLookupParamsYamlUtilsV2();
-    private static final DispatcherLookupParamsYamlUtilsV2 DEFAULT_UTILS = YAML_UTILS_V_2;
+    private static final DispatcherLookupParamsYamlUtilsV3 YAML_UTILS_V_3 = new DispatcherLookupParamsYamlUtilsV3();
+    private static final DispatcherLookupParamsYamlUtilsV3 DEFAULT_UTILS = YAML_UTILS_V_3;
 
     public static final BaseYamlUtils<DispatcherLookupParamsYaml> BASE_YAML_UTILS = new BaseYamlUtils<>(
             Map.of(
                     1, YAML_UTILS_V_1,
-                    2, YAML_UTILS_V_2
+                    2, YAML_UTILS_V_2,
+                    3, YAML_UTILS_V_3
             ),
             DEFAULT_UTILS
     );
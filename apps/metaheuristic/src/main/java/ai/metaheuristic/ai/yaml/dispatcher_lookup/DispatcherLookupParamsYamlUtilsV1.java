@@ -90,7 +90,7 @@ public class DispatcherLookupParamsYamlUtilsV1
 
     @Override
     public String toString(@NonNull DispatcherLookupParamsYamlV1 yaml) {
-        return getYaml().dump(yaml);
+        return dump(yaml);
     }
 
     @NonNull
@@ -99,7 +99,7 @@ public class DispatcherLookupParamsYamlUtilsV1
         if (S.b(s)) {
             return new DispatcherLookupParamsYamlV1();
         }
-        final DispatcherLookupParamsYamlV1 p = getYaml().load(s);
+        final DispatcherLookupParamsYamlV1 p = load(s);
         return p;
     }
 
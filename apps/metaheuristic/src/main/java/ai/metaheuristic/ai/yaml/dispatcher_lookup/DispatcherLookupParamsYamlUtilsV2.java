@@ -16,11 +16,13 @@
 
 package ai.metaheuristic.ai.yaml.dispatcher_lookup;
 
+import ai.metaheuristic.ai.Consts;
 import ai.metaheuristic.commons.S;
 import ai.metaheuristic.commons.yaml.YamlUtils;
 import ai.metaheuristic.commons.yaml.versioning.AbstractParamsYamlUtils;
 
 import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
 import org.yaml.snakeyaml.Yaml;
 
 import java.util.Set;
@@ -32,7 +34,7 @@ import java.util.stream.Collectors;
  * Time: 8:05 AM
  */
 public class DispatcherLookupParamsYamlUtilsV2
-        extends AbstractParamsYamlUtils<DispatcherLookupParamsYamlV2, DispatcherLookupParamsYaml, Void, Void, Void, Void> {
+        extends AbstractParamsYamlUtils<DispatcherLookupParamsYamlV2, DispatcherLookupParamsYamlV3, DispatcherLookupParamsYamlUtilsV3, Void, Void, Void> {
 
     @Override
     public int getVersion() {
@@ -47,28 +49,28 @@ public class DispatcherLookupParamsYamlUtilsV2
 
     @NonNull
     @Override
-    public DispatcherLookupParamsYaml upgradeTo(@NonNull DispatcherLookupParamsYamlV2 src) {
+    public DispatcherLookupParamsYamlV3 upgradeTo(@NonNull DispatcherLookupParamsYamlV2 src) {
         src.checkIntegrity();
 
-        DispatcherLookupParamsYaml trg = new DispatcherLookupParamsYaml();
+        DispatcherLookupParamsYamlV3 trg = new DispatcherLookupParamsYamlV3();
 
         src.dispatchers.stream().map(DispatcherLookupParamsYamlUtilsV2::toDispatcher).collect(Collectors.toCollection(() -> trg.dispatchers));
 
-        Set<DispatcherLookupParamsYaml.AssetManager> assets = src.assetManagers.stream().map(DispatcherLookupParamsYamlUtilsV2::toAsset).collect(Collectors.toSet());
+        Set<DispatcherLookupParamsYamlV3.AssetManagerV3> assets = src.assetManagers.stream().map(DispatcherLookupParamsYamlUtilsV2::toAsset).collect(Collectors.toSet());
         trg.assetManagers.addAll(assets);
 
         trg.checkIntegrity();
         return trg;
     }
 
-    private static DispatcherLookupParamsYaml.DispatcherLookup toDispatcher(DispatcherLookupParamsYamlV2.DispatcherLookupV2 v2) {
-        return new DispatcherLookupParamsYaml.DispatcherLookup(
+    private static DispatcherLookupParamsYamlV3.DispatcherLookupV3 toDispatcher(DispatcherLookupParamsYamlV2.DispatcherLookupV2 v2) {
+        return new DispatcherLookupParamsYamlV3.DispatcherLookupV3(
                 v2.taskProcessingTime, v2.disabled, v2.url, v2.signatureRequired, v2.publicKey, v2.lookupType,
-                v2.authType, v2.restUsername, v2.restPassword, v2.assetManagerUrl, v2.priority);
+                v2.authType, v2.restUsername, v2.restPassword, v2.assetManagerUrl, v2.priority, Consts.DOWNLOAD_CONCURRENCY_DEFAULT);
     }
 
-    private static DispatcherLookupParamsYaml.AssetManager toAsset(DispatcherLookupParamsYamlV2.AssetManagerV2 v2) {
-        return new DispatcherLookupParamsYaml.AssetManager(v2.url, v2.username, v2.password, v2.publicKey, v2.disabled);
+    private static DispatcherLookupParamsYamlV3.AssetManagerV3 toAsset(DispatcherLookupParamsYamlV2.AssetManagerV2 v2) {
+        return new DispatcherLookupParamsYamlV3.AssetManagerV3(v2.url, v2.username, v2.password, v2.publicKey, v2.disabled);
     }
 
     @NonNull
@@ -78,8 +80,8 @@ public class DispatcherLookupParamsYamlUtilsV2
     }
 
     @Override
-    public Void nextUtil() {
-        return null;
+    public @Nullable DispatcherLookupParamsYamlUtilsV3 nextUtil() {
+        return (DispatcherLookupParamsYamlUtilsV3) DispatcherLookupParamsYamlUtils.BASE_YAML_UTILS.getForVersion(3);
     }
 
     @Override
@@ -89,7 +91,7 @@ public class DispatcherLookupParamsYamlUtilsV2
 
     @Override
     public String toString(@NonNull DispatcherLookupParamsYamlV2 yaml) {
-        return getYaml().dump(yaml);
+        return dump(yaml);
     }
 
     @NonNull
@@ -98,7 +100,7 @@ public class DispatcherLookupParamsYamlUtilsV2
         if (S.b(s)) {
             return new DispatcherLookupParamsYamlV2();
         }
-        final DispatcherLookupParamsYamlV2 p = getYaml().load(s);
+        final DispatcherLookupParamsYamlV2 p = load(s);
         return p;
     }
 }
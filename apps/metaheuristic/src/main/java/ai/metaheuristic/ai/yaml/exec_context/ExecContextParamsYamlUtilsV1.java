@@ -70,13 +70,13 @@ public class ExecContextParamsYamlUtilsV1
 
     @Override
     public String toString(@NonNull ExecContextParamsYamlV1 yaml) {
-        return getYaml().dump(yaml);
+        return dump(yaml);
     }
 
     @NonNull
     @Override
     public ExecContextParamsYamlV1 to(@NonNull String s) {
-        final ExecContextParamsYamlV1 p = getYaml().load(s);
+        final ExecContextParamsYamlV1 p = load(s);
         return p;
     }
 
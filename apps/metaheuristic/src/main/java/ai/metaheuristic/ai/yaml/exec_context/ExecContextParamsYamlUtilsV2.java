@@ -113,13 +113,13 @@ public class ExecContextParamsYamlUtilsV2
 
     @Override
     public String toString(@NonNull ExecContextParamsYamlV2 yaml) {
-        return getYaml().dump(yaml);
+        return dump(yaml);
     }
 
     @NonNull
     @Override
     public ExecContextParamsYamlV2 to(@NonNull String s) {
-        final ExecContextParamsYamlV2 p = getYaml().load(s);
+        final ExecContextParamsYamlV2 p = load(s);
         return p;
     }
 
@@ -121,13 +121,13 @@ public class ExecContextParamsYamlUtilsV3
 
     @Override
     public String toString(@NonNull ExecContextParamsYamlV3 yaml) {
-        return getYaml().dump(yaml);
+        return dump(yaml);
     }
 
     @NonNull
     @Override
     public ExecContextParamsYamlV3 to(@NonNull String s) {
-        final ExecContextParamsYamlV3 p = getYaml().load(s);
+        final ExecContextParamsYamlV3 p = load(s);
         return p;
     }
 
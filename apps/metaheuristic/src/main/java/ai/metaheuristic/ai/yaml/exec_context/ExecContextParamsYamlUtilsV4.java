@@ -122,13 +122,13 @@ public class ExecContextParamsYamlUtilsV4
 
     @Override
     public String toString(@NonNull ExecContextParamsYamlV4 yaml) {
-        return getYaml().dump(yaml);
+        return dump(yaml);
     }
 
     @NonNull
     @Override
     public ExecContextParamsYamlV4 to(@NonNull String s) {
-        final ExecContextParamsYamlV4 p = getYaml().load(s);
+        final ExecContextParamsYamlV4 p = load(s);
         return p;
     }
 }
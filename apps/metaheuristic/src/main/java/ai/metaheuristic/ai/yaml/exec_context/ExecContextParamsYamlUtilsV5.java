@@ -125,13 +125,13 @@ public class ExecContextParamsYamlUtilsV5
 
     @Override
     public String toString(@NonNull ExecContextParamsYamlV5 yaml) {
-        return getYaml().dump(yaml);
+        return dump(yaml);
     }
 
     @NonNull
     @Override
     public ExecContextParamsYamlV5 to(@NonNull String s) {
-        final ExecContextParamsYamlV5 p = getYaml().load(s);
+        final ExecContextParamsYamlV5 p = load(s);
         return p;
     }
 }
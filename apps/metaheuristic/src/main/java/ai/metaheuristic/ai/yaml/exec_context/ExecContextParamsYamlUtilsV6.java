@@ -148,13 +148,13 @@ public class ExecContextParamsYamlUtilsV6
 
     @Override
     public String toString(@NonNull ExecContextParamsYamlV6 yaml) {
-        return getYaml().dump(yaml);
+        return dump(yaml);
     }
 
     @NonNull
     @Override
     public ExecContextParamsYamlV6 to(@NonNull String s) {
-        final ExecContextParamsYamlV6 p = getYaml().load(s);
+        final ExecContextParamsYamlV6 p = load(s);
         return p;
     }
 }
@@ -0,0 +1,107 @@
+/*
+ * Metaheuristic, Copyright (C) 2017-2025, Innovation platforms, LLC
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package ai.metaheuristic.ai.yaml.exec_context_graph;
+
+import ai.metaheuristic.ai.dispatcher.data.ExecContextData;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import org.jgrapht.alg.util.Pair;
+import org.jgrapht.graph.DefaultEdge;
+import org.jgrapht.graph.DirectedAcyclicGraph;
+import org.jgrapht.nio.Attribute;
+import org.jgrapht.nio.DefaultAttribute;
+import org.jgrapht.nio.dot.DOTExporter;
+import org.jgrapht.nio.dot.DOTImporter;
+import org.jgrapht.util.SupplierUtil;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * DOT form of the graph of tasks, which was stored in {@link ExecContextGraphParamsYamlV1#graph}
+ * and is still used for displaying the graph.
+ *
+ * @author Serge
+ * Date: 10/18/2026
+ * Time: 4:20 PM
+ */
+@Slf4j
+public class ExecContextGraphDotUtils {
+
+    private static final String TASK_CONTEXT_ID_ATTR = "ctxid";
+    private static final String TAG_ATTR = "tag";
+
+    private static final DOTImporter<ExecContextData.TaskVertex, DefaultEdge> DOT_IMPORTER = new DOTImporter<>();
+    static {
+        // https://stackoverflow.com/questions/60461351/import-graph-with-1-4-0
+        DOT_IMPORTER.setVertexFactory(ExecContextGraphDotUtils::getTaskVertexFactory);
+        DOT_IMPORTER.addVertexAttributeConsumer(ExecContextGraphDotUtils::getVertexAttributeConsumer);
+    }
+
+    @SneakyThrows
+    public static DirectedAcyclicGraph<ExecContextData.TaskVertex, DefaultEdge> importExecContextGraph(String graphAsString) {
+        DirectedAcyclicGraph<ExecContextData.TaskVertex, DefaultEdge> graph = new DirectedAcyclicGraph<>(
+                ExecContextData.TaskVertex::new, SupplierUtil.DEFAULT_EDGE_SUPPLIER, false);
+
+        DOT_IMPORTER.importGraph(graph, new StringReader(graphAsString));
+        return graph;
+    }
+
+    public static String asString(DirectedAcyclicGraph<ExecContextData.TaskVertex, DefaultEdge> graph) {
+        Function<ExecContextData.TaskVertex, String> vertexIdProvider = v -> v.taskId.toString();
+        Function<ExecContextData.TaskVertex, Map<String, Attribute>> vertexAttributeProvider = v -> {
+            Map<String, Attribute> m = new HashMap<>();
+            m.put(TASK_CONTEXT_ID_ATTR, DefaultAttribute.createAttribute(v.taskContextId));
+            // rare: only a tagged vertex adds this key, so all other vertices serialize unchanged.
+            if (v.tag != null) {
+                m.put(TAG_ATTR, DefaultAttribute.createAttribute(v.tag));
+            }
+            return m;
+        };
+
+        DOTExporter<ExecContextData.TaskVertex, DefaultEdge> exporter = new DOTExporter<>(vertexIdProvider);
+        exporter.setVertexAttributeProvider(vertexAttributeProvider);
+
+        StringWriter writer = new StringWriter();
+        exporter.exportGraph(graph, writer);
+        return writer.toString();
+    }
+
+    private static void getVertexAttributeConsumer(Pair<ExecContextData.TaskVertex, String> vertex, Attribute attribute) {
+        switch(vertex.getSecond()) {
+            case TASK_CONTEXT_ID_ATTR:
+                vertex.getFirst().taskContextId = attribute.getValue();
+                break;
+            case TAG_ATTR:
+                vertex.getFirst().tag = attribute.getValue();
+                break;
+            case "ID":
+                // do nothing
+                break;
+            default:
+                log.error("Unknown attribute in task graph, attr: " + vertex.getSecond()+", attr value: " + attribute.getValue());
+        }
+    }
+
+    private static ExecContextData.TaskVertex getTaskVertexFactory(String id) {
+        return new ExecContextData.TaskVertex(Long.parseLong(id));
+    }
+}
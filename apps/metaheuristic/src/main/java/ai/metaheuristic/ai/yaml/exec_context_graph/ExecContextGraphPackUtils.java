@@ -0,0 +1,167 @@
+/*
+ * Metaheuristic, Copyright (C) 2017-2025, Innovation platforms, LLC
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package ai.metaheuristic.ai.yaml.exec_context_graph;
+
+import ai.metaheuristic.ai.dispatcher.data.ExecContextData;
+import ai.metaheuristic.commons.utils.VarIntUtils;
+import org.jgrapht.graph.DefaultEdge;
+import org.jgrapht.graph.DirectedAcyclicGraph;
+import org.jgrapht.util.SupplierUtil;
+import org.jspecify.annotations.Nullable;
+
+import java.io.ByteArrayOutputStream;
+import java.util.*;
+
+/**
+ * Compact binary form of the graph of tasks, stored as base64 in {@link ExecContextGraphParamsYaml#packedGraph}.
+ *
+ * <pre>
+ * byte      format
+ * varint    count of strings in dictionary, then each string as varint length + UTF-8 bytes
+ * varint    count of vertices
+ *           for each vertex in topological order:
+ *              zigzag varint   taskId as delta from taskId of previous vertex
+ *              varint          index of taskContextId in dictionary + 1, 0 for null
+ *              varint          index of tag in dictionary + 1, 0 for null
+ *           for each vertex in topological order:
+ *              varint          count of children
+ *              varint          index of each child, sorted, as delta from the previous index
+ *                              (index of vertex itself for the first child)
+ * </pre>
+ * Vertices are stored in topological order so unpacking adds every edge forward,
+ * and DirectedAcyclicGraph never has to reorder vertices.
+ *
+ * @author Serge
+ * Date: 10/18/2026
+ * Time: 11:45 AM
+ */
+public class ExecContextGraphPackUtils {
+
+    private static final int FORMAT_1 = 1;
+
+    public static final String EMPTY_PACKED_GRAPH = pack(createGraph());
+
+    public static DirectedAcyclicGraph<ExecContextData.TaskVertex, DefaultEdge> createGraph() {
+        return new DirectedAcyclicGraph<>(ExecContextData.TaskVertex::new, SupplierUtil.DEFAULT_EDGE_SUPPLIER, false);
+    }
+
+    public static String pack(DirectedAcyclicGraph<ExecContextData.TaskVertex, DefaultEdge> graph) {
+        return Base64.getEncoder().encodeToString(packToBytes(graph));
+    }
+
+    public static DirectedAcyclicGraph<ExecContextData.TaskVertex, DefaultEdge> unpack(String packed) {
+        return unpackFromBytes(Base64.getDecoder().decode(packed));
+    }
+
+    public static byte[] packToBytes(DirectedAcyclicGraph<ExecContextData.TaskVertex, DefaultEdge> graph) {
+        List<ExecContextData.TaskVertex> vertices = new ArrayList<>(graph.vertexSet().size());
+        // iterator of DirectedAcyclicGraph returns vertices in topological order
+        graph.iterator().forEachRemaining(vertices::add);
+
+        Map<ExecContextData.TaskVertex, Integer> indexes = new HashMap<>(vertices.size()*2);
+        Map<String, Integer> dictionary = new LinkedHashMap<>();
+        for (int i = 0; i < vertices.size(); i++) {
+            ExecContextData.TaskVertex v = vertices.get(i);
+            indexes.put(v, i);
+            if (v.taskContextId!=null) {
+                dictionary.putIfAbsent(v.taskContextId, dictionary.size());
+            }
+            if (v.tag!=null) {
+                dictionary.putIfAbsent(v.tag, dictionary.size());
+            }
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(vertices.size()*6 + 16);
+        out.write(FORMAT_1);
+
+        VarIntUtils.writeLong(out, dictionary.size());
+        for (String s : dictionary.keySet()) {
+            VarIntUtils.writeString(out, s);
+        }
+
+        VarIntUtils.writeLong(out, vertices.size());
+        long prevTaskId = 0;
+        for (ExecContextData.TaskVertex v : vertices) {
+            VarIntUtils.writeSignedLong(out, v.taskId - prevTaskId);
+            prevTaskId = v.taskId;
+            VarIntUtils.writeLong(out, dictionaryRef(dictionary, v.taskContextId));
+            VarIntUtils.writeLong(out, dictionaryRef(dictionary, v.tag));
+        }
+
+        for (int i = 0; i < vertices.size(); i++) {
+            Set<DefaultEdge> edges = graph.outgoingEdgesOf(vertices.get(i));
+            int[] children = new int[edges.size()];
+            int idx = 0;
+            for (DefaultEdge edge : edges) {
+                children[idx++] = indexes.get(graph.getEdgeTarget(edge));
+            }
+            Arrays.sort(children);
+            VarIntUtils.writeLong(out, children.length);
+            int prev = i;
+            for (int child : children) {
+                VarIntUtils.writeLong(out, child - prev);
+                prev = child;
+            }
+        }
+        return out.toByteArray();
+    }
+
+    public static DirectedAcyclicGraph<ExecContextData.TaskVertex, DefaultEdge> unpackFromBytes(byte[] bytes) {
+        VarIntUtils.Reader r = new VarIntUtils.Reader(bytes);
+        int format = r.readByte();
+        if (format!=FORMAT_1) {
+            throw new IllegalStateException("Unsupported format of packed graph: " + format);
+        }
+
+        int dictionarySize = r.readInt();
+        String[] dictionary = new String[dictionarySize];
+        for (int i = 0; i < dictionarySize; i++) {
+            dictionary[i] = r.readString();
+        }
+
+        DirectedAcyclicGraph<ExecContextData.TaskVertex, DefaultEdge> graph = createGraph();
+        int count = r.readInt();
+        ExecContextData.TaskVertex[] vertices = new ExecContextData.TaskVertex[count];
+        long taskId = 0;
+        for (int i = 0; i < count; i++) {
+            taskId += r.readSignedLong();
+            String taskContextId = fromDictionary(dictionary, r.readInt());
+            String tag = fromDictionary(dictionary, r.readInt());
+            vertices[i] = new ExecContextData.TaskVertex(taskId, taskContextId, tag);
+            graph.addVertex(vertices[i]);
+        }
+
+        for (int i = 0; i < count; i++) {
+            int children = r.readInt();
+            int idx = i;
+            for (int j = 0; j < children; j++) {
+                idx += r.readInt();
+                graph.addEdge(vertices[i], vertices[idx]);
+            }
+        }
+        return graph;
+    }
+
+    private static int dictionaryRef(Map<String, Integer> dictionary, @Nullable String s) {
+        return s==null ? 0 : dictionary.get(s) + 1;
+    }
+
+    @Nullable
+    private static String fromDictionary(String[] dictionary, int ref) {
+        return ref==0 ? null : dictionary[ref - 1];
+    }
+}
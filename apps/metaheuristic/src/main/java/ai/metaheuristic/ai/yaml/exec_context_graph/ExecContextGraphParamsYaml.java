@@ -16,7 +16,6 @@
 
 package ai.metaheuristic.ai.yaml.exec_context_graph;
 
-import ai.metaheuristic.api.ConstsApi;
 import ai.metaheuristic.api.data.BaseParams;
 import lombok.Data;
 
@@ -30,14 +29,14 @@ import lombok.Data;
 @Data
 public class ExecContextGraphParamsYaml implements BaseParams {
 
-    public final int version = 1;
+    public final int version = 2;
 
     @Override
     public boolean checkIntegrity() {
         return true;
     }
 
-    // this is a graph of processes for runtime phase
-    public String graph = ConstsApi.EMPTY_GRAPH;
+    // graph of tasks for runtime phase, packed with ExecContextGraphPackUtils and encoded with base64
+    public String packedGraph = ExecContextGraphPackUtils.EMPTY_PACKED_GRAPH;
 
 }
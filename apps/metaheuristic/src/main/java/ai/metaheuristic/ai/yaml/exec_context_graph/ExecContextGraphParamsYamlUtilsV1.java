@@ -29,7 +29,7 @@ import org.yaml.snakeyaml.Yaml;
  */
 public class ExecContextGraphParamsYamlUtilsV1
         extends AbstractParamsYamlUtils<
-        ExecContextGraphParamsYamlV1, ExecContextGraphParamsYaml, Void,
+        ExecContextGraphParamsYamlV1, ExecContextGraphParamsYamlV2, ExecContextGraphParamsYamlUtilsV2,
         Void, Void, Void> {
 
     @Override
@@ -45,9 +45,9 @@ public class ExecContextGraphParamsYamlUtilsV1
 
     @NonNull
     @Override
-    public ExecContextGraphParamsYaml upgradeTo(@NonNull ExecContextGraphParamsYamlV1 v1) {
-        ExecContextGraphParamsYaml t = new ExecContextGraphParamsYaml();
-        t.graph = v1.graph;
+    public ExecContextGraphParamsYamlV2 upgradeTo(@NonNull ExecContextGraphParamsYamlV1 v1) {
+        ExecContextGraphParamsYamlV2 t = new ExecContextGraphParamsYamlV2();
+        t.packedGraph = ExecContextGraphPackUtils.pack(ExecContextGraphDotUtils.importExecContextGraph(v1.graph));
         return t;
     }
 
@@ -58,8 +58,8 @@ public class ExecContextGraphParamsYamlUtilsV1
     }
 
     @Override
-    public Void nextUtil() {
-        return null;
+    public ExecContextGraphParamsYamlUtilsV2 nextUtil() {
+        return (ExecContextGraphParamsYamlUtilsV2) ExecContextGraphParamsYamlUtils.BASE_YAML_UTILS.getForVersion(2);
     }
 
     @Override
@@ -69,13 +69,13 @@ public class ExecContextGraphParamsYamlUtilsV1
 
     @Override
     public String toString(@NonNull ExecContextGraphParamsYamlV1 yaml) {
-        return getYaml().dump(yaml);
+        return dump(yaml);
     }
 
     @NonNull
     @Override
     public ExecContextGraphParamsYamlV1 to(@NonNull String s) {
-        final ExecContextGraphParamsYamlV1 p = getYaml().load(s);
+        final ExecContextGraphParamsYamlV1 p = load(s);
         return p;
     }
 }
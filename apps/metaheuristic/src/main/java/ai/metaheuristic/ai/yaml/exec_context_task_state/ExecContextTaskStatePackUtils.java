@@ -0,0 +1,101 @@
+/*
+ * Metaheuristic, Copyright (C) 2017-2025, Innovation platforms, LLC
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package ai.metaheuristic.ai.yaml.exec_context_task_state;
+
+import ai.metaheuristic.api.EnumsApi;
+import ai.metaheuristic.commons.utils.VarIntUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.util.*;
+
+/**
+ * Compact binary form of states of tasks, stored as base64 in {@link ExecContextTaskStateParamsYamlV2#packedStates}.
+ *
+ * <pre>
+ * byte      format
+ * varint    count of states
+ *           for each state, ordered by taskId:
+ *              zigzag varint   taskId as delta from the previous taskId
+ *              byte            EnumsApi.TaskExecState.value
+ * varint    count of triesWasMade
+ *           for each entry, ordered by taskId:
+ *              zigzag varint   taskId as delta from the previous taskId
+ *              zigzag varint   number of tries
+ * </pre>
+ *
+ * @author Serge
+ * Date: 10/18/2026
+ * Time: 12:40 PM
+ */
+public class ExecContextTaskStatePackUtils {
+
+    private static final int FORMAT_1 = 1;
+
+    public static final String EMPTY_PACKED_STATES = pack(Map.of(), Map.of());
+
+    public static String pack(Map<Long, EnumsApi.TaskExecState> states, Map<Long, Integer> triesWasMade) {
+        return Base64.getEncoder().encodeToString(packToBytes(states, triesWasMade));
+    }
+
+    public static void unpack(String packed, Map<Long, EnumsApi.TaskExecState> states, Map<Long, Integer> triesWasMade) {
+        unpackFromBytes(Base64.getDecoder().decode(packed), states, triesWasMade);
+    }
+
+    public static byte[] packToBytes(Map<Long, EnumsApi.TaskExecState> states, Map<Long, Integer> triesWasMade) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(states.size()*3 + triesWasMade.size()*3 + 8);
+        out.write(FORMAT_1);
+
+        VarIntUtils.writeLong(out, states.size());
+        long prev = 0;
+        for (Map.Entry<Long, EnumsApi.TaskExecState> e : new TreeMap<>(states).entrySet()) {
+            VarIntUtils.writeSignedLong(out, e.getKey() - prev);
+            prev = e.getKey();
+            out.write(e.getValue().value);
+        }
+
+        VarIntUtils.writeLong(out, triesWasMade.size());
+        prev = 0;
+        for (Map.Entry<Long, Integer> e : new TreeMap<>(triesWasMade).entrySet()) {
+            VarIntUtils.writeSignedLong(out, e.getKey() - prev);
+            prev = e.getKey();
+            VarIntUtils.writeSignedLong(out, e.getValue());
+        }
+        return out.toByteArray();
+    }
+
+    public static void unpackFromBytes(byte[] bytes, Map<Long, EnumsApi.TaskExecState> states, Map<Long, Integer> triesWasMade) {
+        VarIntUtils.Reader r = new VarIntUtils.Reader(bytes);
+        int format = r.readByte();
+        if (format!=FORMAT_1) {
+            throw new IllegalStateException("Unsupported format of packed states: " + format);
+        }
+
+        int count = r.readInt();
+        long taskId = 0;
+        for (int i = 0; i < count; i++) {
+            taskId += r.readSignedLong();
+            states.put(taskId, EnumsApi.TaskExecState.from(r.readByte()));
+        }
+
+        count = r.readInt();
+        taskId = 0;
+        for (int i = 0; i < count; i++) {
+            taskId += r.readSignedLong();
+            triesWasMade.put(taskId, (int) r.readSignedLong());
+        }
+    }
+}
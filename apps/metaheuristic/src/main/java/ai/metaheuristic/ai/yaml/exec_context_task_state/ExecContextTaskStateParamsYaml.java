@@ -34,14 +34,26 @@ import java.util.concurrent.atomic.AtomicInteger;
 @Data
 public class ExecContextTaskStateParamsYaml implements BaseParams {
 
-    public final int version = 1;
+    public final int version = 2;
 
     @Override
     public boolean checkIntegrity() {
         return true;
     }
 
-    public final Map<Long, EnumsApi.TaskExecState> states = new HashMap<>();
+    // states and triesWasMade aren't dumped as is, they are persisted in packed form, see packedStates
+    public final transient Map<Long, EnumsApi.TaskExecState> states = new HashMap<>();
 
-    public final Map<Long, Integer> triesWasMade = new HashMap<>();
+    public final transient Map<Long, Integer> triesWasMade = new HashMap<>();
+
+    // the same field as ExecContextTaskStateParamsYamlV2.packedStates, packed with ExecContextTaskStatePackUtils and encoded with base64
+    public String getPackedStates() {
+        return ExecContextTaskStatePackUtils.pack(states, triesWasMade);
+    }
+
+    public void setPackedStates(String packedStates) {
+        states.clear();
+        triesWasMade.clear();
+        ExecContextTaskStatePackUtils.unpack(packedStates, states, triesWasMade);
+    }
 }
@@ -28,11 +28,13 @@ import java.util.Map;
 public class ExecContextTaskStateParamsYamlUtils {
 
     private static final ExecContextTaskStateParamsYamlUtilsV1 YAML_UTILS_V_1 = new ExecContextTaskStateParamsYamlUtilsV1();
-    private static final ExecContextTaskStateParamsYamlUtilsV1 DEFAULT_UTILS = YAML_UTILS_V_1;
+    private static final ExecContextTaskStateParamsYamlUtilsV2 YAML_UTILS_V_2 = new ExecContextTaskStateParamsYamlUtilsV2();
+    private static final ExecContextTaskStateParamsYamlUtilsV2 DEFAULT_UTILS = YAML_UTILS_V_2;
 
     public static final BaseYamlUtils<ExecContextTaskStateParamsYaml> BASE_YAML_UTILS = new BaseYamlUtils<>(
             Map.of(
-                    1, YAML_UTILS_V_1
+                    1, YAML_UTILS_V_1,
+                    2, YAML_UTILS_V_2
             ),
             DEFAULT_UTILS
     );
@@ -29,7 +29,7 @@ import org.yaml.snakeyaml.Yaml;
  */
 public class ExecContextTaskStateParamsYamlUtilsV1
         extends AbstractParamsYamlUtils<
-        ExecContextTaskStateParamsYamlV1, ExecContextTaskStateParamsYaml, Void,
+        ExecContextTaskStateParamsYamlV1, ExecContextTaskStateParamsYamlV2, ExecContextTaskStateParamsYamlUtilsV2,
         Void, Void, Void> {
 
     @Override
@@ -45,10 +45,9 @@ public class ExecContextTaskStateParamsYamlUtilsV1
 
     @NonNull
     @Override
-    public ExecContextTaskStateParamsYaml upgradeTo(@NonNull ExecContextTaskStateParamsYamlV1 v1) {
-        ExecContextTaskStateParamsYaml t = new ExecContextTaskStateParamsYaml();
-        t.states.putAll(v1.states);
-        t.triesWasMade.putAll(v1.triesWasMade);
+    public ExecContextTaskStateParamsYamlV2 upgradeTo(@NonNull ExecContextTaskStateParamsYamlV1 v1) {
+        ExecContextTaskStateParamsYamlV2 t = new ExecContextTaskStateParamsYamlV2();
+        t.packedStates = ExecContextTaskStatePackUtils.pack(v1.states, v1.triesWasMade);
         return t;
     }
 
@@ -59,8 +58,8 @@ public class ExecContextTaskStateParamsYamlUtilsV1
     }
 
     @Override
-    public Void nextUtil() {
-        return null;
+    public ExecContextTaskStateParamsYamlUtilsV2 nextUtil() {
+        return (ExecContextTaskStateParamsYamlUtilsV2) ExecContextTaskStateParamsYamlUtils.BASE_YAML_UTILS.getForVersion(2);
     }
 
     @Override
@@ -70,13 +69,13 @@ public class ExecContextTaskStateParamsYamlUtilsV1
 
     @Override
     public String toString(@NonNull ExecContextTaskStateParamsYamlV1 yaml) {
-        return getYaml().dump(yaml);
+        return dump(yaml);
     }
 
     @NonNull
     @Override
     public ExecContextTaskStateParamsYamlV1 to(@NonNull String s) {
-        final ExecContextTaskStateParamsYamlV1 p = getYaml().load(s);
+        final ExecContextTaskStateParamsYamlV1 p = load(s);
         return p;
     }
 }
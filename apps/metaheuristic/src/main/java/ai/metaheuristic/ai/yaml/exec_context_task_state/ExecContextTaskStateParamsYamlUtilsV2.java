@@ -0,0 +1,80 @@
+/*
+ * Metaheuristic, Copyright (C) 2017-2025, Innovation platforms, LLC
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package ai.metaheuristic.ai.yaml.exec_context_task_state;
+
+import ai.metaheuristic.commons.yaml.YamlUtils;
+import ai.metaheuristic.commons.yaml.versioning.AbstractParamsYamlUtils;
+import org.jspecify.annotations.NonNull;
+import org.yaml.snakeyaml.Yaml;
+
+/**
+ * @author Serge
+ * Date: 10/18/2026
+ * Time: 12:50 PM
+ */
+public class ExecContextTaskStateParamsYamlUtilsV2
+        extends AbstractParamsYamlUtils<
+        ExecContextTaskStateParamsYamlV2, ExecContextTaskStateParamsYaml, Void,
+        Void, Void, Void> {
+
+    @Override
+    public int getVersion() {
+        return 2;
+    }
+
+    @NonNull
+    @Override
+    public Yaml getYaml() {
+        return YamlUtils.init(ExecContextTaskStateParamsYamlV2.class);
+    }
+
+    @NonNull
+    @Override
+    public ExecContextTaskStateParamsYaml upgradeTo(@NonNull ExecContextTaskStateParamsYamlV2 v2) {
+        ExecContextTaskStateParamsYaml t = new ExecContextTaskStateParamsYaml();
+        t.setPackedStates(v2.packedStates);
+        return t;
+    }
+
+    @NonNull
+    @Override
+    public Void downgradeTo(@NonNull Void yaml) {
+        return null;
+    }
+
+    @Override
+    public Void nextUtil() {
+        return null;
+    }
+
+    @Override
+    public Void prevUtil() {
+        return null;
+    }
+
+    @Override
+    public String toString(@NonNull ExecContextTaskStateParamsYamlV2 yaml) {
+        return dump(yaml);
+    }
+
+    @NonNull
+    @Override
+    public ExecContextTaskStateParamsYamlV2 to(@NonNull String s) {
+        final ExecContextTaskStateParamsYamlV2 p = load(s);
+        return p;
+    }
+}
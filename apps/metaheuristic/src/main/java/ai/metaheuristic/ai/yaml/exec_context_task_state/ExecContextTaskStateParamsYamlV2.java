@@ -0,0 +1,39 @@
+/*
+ * Metaheuristic, Copyright (C) 2017-2025, Innovation platforms, LLC
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package ai.metaheuristic.ai.yaml.exec_context_task_state;
+
+import ai.metaheuristic.api.data.BaseParams;
+import lombok.Data;
+
+/**
+ * @author Serge
+ * Date: 10/18/2026
+ * Time: 12:35 PM
+ */
+@Data
+public class ExecContextTaskStateParamsYamlV2 implements BaseParams {
+
+    public final int version = 2;
+
+    @Override
+    public boolean checkIntegrity() {
+        return true;
+    }
+
+    // states and triesWasMade, packed with ExecContextTaskStatePackUtils and encoded with base64
+    public String packedStates = ExecContextTaskStatePackUtils.EMPTY_PACKED_STATES;
+}
@@ -72,13 +72,13 @@ public class ExecutionGateParamsYamlUtilsV1
 
     @Override
     public String toString(@NonNull ExecutionGateParamsYamlV1 yaml) {
-        return getYaml().dump(yaml);
+        return dump(yaml);
     }
 
     @NonNull
     @Override
     public ExecutionGateParamsYamlV1 to(@NonNull String s) {
-        final ExecutionGateParamsYamlV1 p = getYaml().load(s);
+        final ExecutionGateParamsYamlV1 p = load(s);
         return p;
     }
 }
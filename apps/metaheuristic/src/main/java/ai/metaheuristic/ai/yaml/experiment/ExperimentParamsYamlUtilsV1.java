@@ -75,13 +75,13 @@ public class ExperimentParamsYamlUtilsV1
 
     @Override
     public String toString(@NonNull ExperimentParamsYamlV1 yaml) {
-        return getYaml().dump(yaml);
+        return dump(yaml);
     }
 
     @NonNull
     @Override
     public ExperimentParamsYamlV1 to(@NonNull String s) {
-        final ExperimentParamsYamlV1 p = getYaml().load(s);
+        final ExperimentParamsYamlV1 p = load(s);
         return p;
     }
 
@@ -80,13 +80,13 @@ public class ExperimentResultTaskParamsYamlUtilsV1
 
     @Override
     public String toString(@NonNull ExperimentResultTaskParamsV1 paramsYaml) {
-        return getYaml().dump(paramsYaml);
+        return dump(paramsYaml);
     }
 
     @NonNull
     @Override
     public ExperimentResultTaskParamsV1 to(@NonNull String s) {
-        final ExperimentResultTaskParamsV1 p = getYaml().load(s);
+        final ExperimentResultTaskParamsV1 p = load(s);
         return p;
     }
 
@@ -70,13 +70,13 @@ public class FunctionExecutionTimeParamsYamlUtilsV1
 
     @Override
     public String toString(@NonNull FunctionExecutionTimeParamsYamlV1 yaml) {
-        return getYaml().dump(yaml);
+        return dump(yaml);
     }
 
     @NonNull
     @Override
     public FunctionExecutionTimeParamsYamlV1 to(@NonNull String s) {
-        final FunctionExecutionTimeParamsYamlV1 p = getYaml().load(s);
+        final FunctionExecutionTimeParamsYamlV1 p = load(s);
         return p;
     }
 
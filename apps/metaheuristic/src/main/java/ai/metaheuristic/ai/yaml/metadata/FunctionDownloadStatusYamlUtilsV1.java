@@ -82,7 +82,7 @@ public class FunctionDownloadStatusYamlUtilsV1
 
     @Override
     public String toString(@NonNull FunctionDownloadStatusYamlV1 yaml) {
-        return getYaml().dump(yaml);
+        return dump(yaml);
     }
 
     @NonNull
@@ -92,7 +92,7 @@ public class FunctionDownloadStatusYamlUtilsV1
             throw new BlankYamlParamsException("'yaml' parameter is blank");
         }
         //noinspection UnnecessaryLocalVariable
-        final FunctionDownloadStatusYamlV1 p = getYaml().load(s);
+        final FunctionDownloadStatusYamlV1 p = load(s);
         // trying to fix a bad config
         p.statuses.stream().filter(c -> c.sourcing==null).forEach(o->o.sourcing= EnumsApi.FunctionSourcing.dispatcher);
         return p;
@@ -104,7 +104,7 @@ public class MetadataParamsYamlUtilsV1
 
     @Override
     public String toString(@NonNull MetadataParamsYamlV1 yaml) {
-        return getYaml().dump(yaml);
+        return dump(yaml);
     }
 
     @NonNull
@@ -113,7 +113,7 @@ public class MetadataParamsYamlUtilsV1
         if (S.b(s)) {
             return new MetadataParamsYamlV1();
         }
-        final MetadataParamsYamlV1 p = getYaml().load(s);
+        final MetadataParamsYamlV1 p = load(s);
         return p;
     }
 
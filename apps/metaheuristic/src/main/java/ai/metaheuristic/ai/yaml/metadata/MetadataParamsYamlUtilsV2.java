@@ -68,7 +68,7 @@ public class MetadataParamsYamlUtilsV2
 
     @Override
     public String toString(@NonNull MetadataParamsYamlV2 yaml) {
-        return getYaml().dump(yaml);
+        return dump(yaml);
     }
 
     @NonNull
@@ -77,7 +77,7 @@ public class MetadataParamsYamlUtilsV2
         if (S.b(s)) {
             return new MetadataParamsYamlV2();
         }
-        final MetadataParamsYamlV2 p = getYaml().load(s);
+        final MetadataParamsYamlV2 p = load(s);
         return p;
     }
 }
@@ -92,7 +92,7 @@ public class MetadataParamsYamlUtilsV3
 
     @Override
     public String toString(@NonNull MetadataParamsYamlV3 yaml) {
-        return getYaml().dump(yaml);
+        return dump(yaml);
     }
 
     @NonNull
@@ -101,7 +101,7 @@ public class MetadataParamsYamlUtilsV3
         if (S.b(s)) {
             return new MetadataParamsYamlV3();
         }
-        final MetadataParamsYamlV3 p = getYaml().load(s);
+        final MetadataParamsYamlV3 p = load(s);
         return p;
     }
 }
@@ -91,7 +91,7 @@ public class MetadataParamsYamlUtilsV4
 
     @Override
     public String toString(@NonNull MetadataParamsYamlV4 yaml) {
-        return getYaml().dump(yaml);
+        return dump(yaml);
     }
 
     @NonNull
@@ -100,7 +100,7 @@ public class MetadataParamsYamlUtilsV4
         if (S.b(s)) {
             return new MetadataParamsYamlV4();
         }
-        final MetadataParamsYamlV4 p = getYaml().load(s);
+        final MetadataParamsYamlV4 p = load(s);
         return p;
     }
 }
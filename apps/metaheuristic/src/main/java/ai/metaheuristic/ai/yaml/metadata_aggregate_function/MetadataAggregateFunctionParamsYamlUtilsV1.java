@@ -72,7 +72,7 @@ public class MetadataAggregateFunctionParamsYamlUtilsV1
 
     @Override
     public String toString(@NonNull MetadataAggregateFunctionParamsYamlV1 yaml) {
-        return getYaml().dump(yaml);
+        return dump(yaml);
     }
 
     @NonNull
@@ -81,7 +81,7 @@ public class MetadataAggregateFunctionParamsYamlUtilsV1
         if (S.b(s)) {
             throw new BlankYamlParamsException("'yaml' parameter is blank");
         }
-        final MetadataAggregateFunctionParamsYamlV1 p = getYaml().load(s);
+        final MetadataAggregateFunctionParamsYamlV1 p = load(s);
         return p;
     }
 
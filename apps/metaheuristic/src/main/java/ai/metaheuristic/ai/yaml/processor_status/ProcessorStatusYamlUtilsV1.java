@@ -101,7 +101,7 @@ public class ProcessorStatusYamlUtilsV1
 
     @Override
     public String toString(@NonNull ProcessorStatusYamlV1 yaml) {
-        return getYaml().dump(yaml);
+        return dump(yaml);
     }
 
     @NonNull
@@ -110,7 +110,7 @@ public class ProcessorStatusYamlUtilsV1
         if (S.b(s)) {
             throw new BlankYamlParamsException("'yaml' parameter is blank");
         }
-        final ProcessorStatusYamlV1 p = getYaml().load(s);
+        final ProcessorStatusYamlV1 p = load(s);
         return p;
     }
 
@@ -109,7 +109,7 @@ public class ProcessorStatusYamlUtilsV2
 
     @Override
     public String toString(@NonNull ProcessorStatusYamlV2 yaml) {
-        return getYaml().dump(yaml);
+        return dump(yaml);
     }
 
     @NonNull
@@ -118,7 +118,7 @@ public class ProcessorStatusYamlUtilsV2
         if (S.b(s)) {
             throw new BlankYamlParamsException("'yaml' parameter is blank");
         }
-        final ProcessorStatusYamlV2 p = getYaml().load(s);
+        final ProcessorStatusYamlV2 p = load(s);
         return p;
     }
 
@@ -109,7 +109,7 @@ public class ProcessorStatusYamlUtilsV3
 
     @Override
     public String toString(@NonNull ProcessorStatusYamlV3 yaml) {
-        return getYaml().dump(yaml);
+        return dump(yaml);
     }
 
     @NonNull
@@ -118,7 +118,7 @@ public class ProcessorStatusYamlUtilsV3
         if (S.b(s)) {
             throw new BlankYamlParamsException("'yaml' parameter is blank");
         }
-        final ProcessorStatusYamlV3 p = getYaml().load(s);
+        final ProcessorStatusYamlV3 p = load(s);
         return p;
     }
 
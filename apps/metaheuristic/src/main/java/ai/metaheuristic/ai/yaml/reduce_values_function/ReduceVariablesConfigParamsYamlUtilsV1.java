@@ -92,7 +92,7 @@ public class ReduceVariablesConfigParamsYamlUtilsV1
 
     @Override
     public String toString(@NonNull ReduceVariablesConfigParamsYamlV1 yaml) {
-        return getYaml().dump(yaml);
+        return dump(yaml);
     }
 
     @NonNull
@@ -101,7 +101,7 @@ public class ReduceVariablesConfigParamsYamlUtilsV1
         if (S.b(s)) {
             throw new BlankYamlParamsException("'yaml' parameter is blank");
         }
-        final ReduceVariablesConfigParamsYamlV1 p = getYaml().load(s);
+        final ReduceVariablesConfigParamsYamlV1 p = load(s);
         return p;
     }
 
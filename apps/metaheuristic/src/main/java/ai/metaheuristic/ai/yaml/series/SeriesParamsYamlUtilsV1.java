@@ -83,13 +83,13 @@ public class SeriesParamsYamlUtilsV1
 
     @Override
     public String toString(@NonNull SeriesParamsYamlV1 yaml) {
-        return getYaml().dump(yaml);
+        return dump(yaml);
     }
 
     @NonNull
     @Override
     public SeriesParamsYamlV1 to(@NonNull String s) {
-        final SeriesParamsYamlV1 p = getYaml().load(s);
+        final SeriesParamsYamlV1 p = load(s);
         return p;
     }
 
@@ -72,7 +72,7 @@ public class WebsocketEventParamsUtilsV1
 
     @Override
     public String toString(WebsocketEventParamsV1 yaml) {
-        return getYaml().dump(yaml);
+        return dump(yaml);
     }
 
     @Override
@@ -80,7 +80,7 @@ public class WebsocketEventParamsUtilsV1
         if (S.b(s)) {
             throw new BlankYamlParamsException("'yaml' parameter is blank");
         }
-        final WebsocketEventParamsV1 p = getYaml().load(s);
+        final WebsocketEventParamsV1 p = load(s);
         return p;
     }
 
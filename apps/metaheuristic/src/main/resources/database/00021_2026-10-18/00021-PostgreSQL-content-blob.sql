@@ -0,0 +1,33 @@
+-- ===============  DO NOT UPDATE THIS COPYRIGHT =========================
+--  Metaheuristic, Copyright (C) 2017-2024, Innovation platforms, LLC
+--
+--  This program is free software: you can redistribute it and/or modify
+--  it under the terms of the GNU General Public License as published by
+--  the Free Software Foundation, version 3 of the License.
+--
+--  This program is distributed in the hope that it will be useful,
+--  but WITHOUT ANY WARRANTY; without even the implied warranty of
+--  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+--  GNU General Public License for more details.
+--
+--  You should have received a copy of the GNU General Public License
+--  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+
+-- data of content-addressed storage (profile cas-storage), shared by variable blobs and cache variables
+CREATE TABLE mh_content_blob
+(
+    ID                  SERIAL PRIMARY KEY,
+    VERSION             NUMERIC(5, 0)  NOT NULL,
+    SHA256              VARCHAR(64) NOT NULL,
+    DATA_LENGTH         bigint not null,
+    REF_COUNT           bigint not null,
+    UPDATED_ON          bigint not null
+);
+
+CREATE UNIQUE INDEX mh_content_blob_sha256_unq_idx
+    ON mh_content_blob (SHA256);
+
+CREATE INDEX mh_content_blob_ref_count_idx
+    ON mh_content_blob (REF_COUNT);
+
+ALTER TABLE mh_cache_variable ADD COLUMN SHA256 VARCHAR(64);
@@ -17,11 +17,15 @@
 package ai.metaheuristic.ai.dispatcher.cache;
 
 import ai.metaheuristic.ai.dispatcher.data.CacheData;
+import ai.metaheuristic.commons.utils.checksum.Sha256LengthInputStream;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.output.NullOutputStream;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.parallel.Execution;
 
 import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 
@@ -101,4 +105,19 @@ class CacheUtilsTest {
         assertTrue(asString.contains("###"));
         assertTrue(asString.endsWith("###4"));
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Checksum stored at write time is the same as checksum calculated from data")
+    void testChecksumOfStoredBlob() throws IOException {
+        byte[] data = new byte[100_000];
+        new java.util.Random(17).nextBytes(data);
+
+        Sha256LengthInputStream hashingStream = new Sha256LengthInputStream(new ByteArrayInputStream(data));
+        IOUtils.copyLarge(hashingStream, NullOutputStream.INSTANCE);
+
+        CacheData.Sha256PlusLength result = CacheUtils.getSha256PlusLength(new ByteArrayInputStream(data));
+
+        assertEquals(result.getSha256(), hashingStream.getSha256());
+        assertEquals(result.getLength(), hashingStream.getLength());
+    }
+}
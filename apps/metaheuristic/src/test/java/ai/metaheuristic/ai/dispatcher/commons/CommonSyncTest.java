@@ -0,0 +1,108 @@
+/*
+ * Metaheuristic, Copyright (C) 2017-2025, Innovation platforms, LLC
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package ai.metaheuristic.ai.dispatcher.commons;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Serge
+ * Date: 10/18/2026
+ * Time: 5:10 PM
+ */
+@Execution(ExecutionMode.CONCURRENT)
+class CommonSyncTest {
+
+    @Test
+    public void test_sameLockForSameId() {
+        CommonSync<Long> sync = new CommonSync<>("test-same");
+        assertSame(sync.getLock(1L), sync.getLock(1L));
+        assertSame(sync.getWriteLock(1L), sync.getLock(1L).writeLock());
+        assertNotSame(sync.getLock(1L), sync.getLock(2L));
+    }
+
+    @Test
+    public void test_heldLockIsntEvicted() {
+        CommonSync<Long> sync = new CommonSync<>("test-held");
+        ReentrantReadWriteLock.WriteLock writeLock = sync.getWriteLock(1L);
+        sync.getLock(2L);
+
+        writeLock.lock();
+        try {
+            assertEquals(1, sync.evictIdle(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(2), 0));
+            assertEquals(1, sync.size());
+            assertSame(writeLock, sync.getWriteLock(1L));
+            assertTrue(sync.getWriteLock(1L).isHeldByCurrentThread());
+        }
+        finally {
+            writeLock.unlock();
+        }
+        assertEquals(1, sync.evictIdle(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(2), 0));
+        assertEquals(0, sync.size());
+        assertEquals(2, sync.getStats().evictions());
+    }
+
+    @Test
+    public void test_waitingThreadKeepsLock() throws InterruptedException {
+        CommonSync<Long> sync = new CommonSync<>("test-waiting");
+        ReentrantReadWriteLock.WriteLock writeLock = sync.getWriteLock(1L);
+        writeLock.lock();
+
+        CountDownLatch started = new CountDownLatch(1);
+        AtomicBoolean inside = new AtomicBoolean();
+        Thread t = new Thread(() -> {
+            ReentrantReadWriteLock.ReadLock readLock = sync.getReadLock(1L);
+            started.countDown();
+            readLock.lock();
+            try {
+                inside.set(true);
+            }
+            finally {
+                readLock.unlock();
+            }
+        });
+        try {
+            t.start();
+            assertTrue(started.await(10, TimeUnit.SECONDS));
+            while (((CommonSync.CountedLock)sync.getLock(1L)).getHolders()<2) {
+                Thread.sleep(5);
+            }
+            assertEquals(0, sync.evictIdle(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(2), 0));
+            assertFalse(inside.get());
+        }
+        finally {
+            writeLock.unlock();
+        }
+        t.join(TimeUnit.SECONDS.toMillis(10));
+        assertTrue(inside.get());
+
+        CommonSync.Stats stats = sync.getStats();
+        assertEquals(2, stats.acquisitions());
+        assertEquals(1, stats.contended());
+        assertEquals(0, ((CommonSync.CountedLock)sync.getLock(1L)).getHolders());
+        assertTrue(CommonSync.getAllStats().stream().anyMatch(o -> o.name().equals("test-waiting")));
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Metaheuristic, Copyright (C) 2017-2025, Innovation platforms, LLC
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package ai.metaheuristic.ai.dispatcher.commons;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Serge
+ * Date: 10/18/2026
+ * Time: 6:30 PM
+ */
+@Execution(ExecutionMode.CONCURRENT)
+class JdbcBatchUtilsTest {
+
+    private static final class Row {
+        final String name;
+        Long id = null;
+
+        Row(String name) {
+            this.name = name;
+        }
+    }
+
+    private static JdbcTemplate createTable(String db) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource("jdbc:h2:mem:" + db + ";DB_CLOSE_DELAY=-1", "sa", ""));
+        jdbcTemplate.execute("create table T_ROW (ID bigint generated by default as identity (start with 1) PRIMARY KEY, NAME VARCHAR(50) not null)");
+        return jdbcTemplate;
+    }
+
+    @Test
+    public void test_insertWithGeneratedIds() {
+        JdbcTemplate jdbcTemplate = createTable("jdbc_batch_utils_1");
+        // more than one JDBC batch
+        int count = JdbcBatchUtils.JDBC_BATCH_SIZE * 2 + 3;
+        List<Row> rows = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            rows.add(new Row("row-" + i));
+        }
+
+        JdbcBatchUtils.insertWithGeneratedIds(jdbcTemplate, "insert into T_ROW (NAME) values (?)", rows,
+                (ps, r) -> ps.setString(1, r.name), (r, id) -> r.id = id, r -> fail("fallback must not be used"));
+
+        Map<Long, String> stored = new HashMap<>();
+        jdbcTemplate.query("select ID, NAME from T_ROW", rs -> {
+            stored.put(rs.getLong(1), rs.getString(2));
+        });
+        assertEquals(count, stored.size());
+        for (Row row : rows) {
+            assertNotNull(row.id);
+            assertEquals(row.name, stored.get(row.id));
+        }
+    }
+
+    @Test
+    public void test_emptyList() {
+        JdbcTemplate jdbcTemplate = createTable("jdbc_batch_utils_2");
+        JdbcBatchUtils.insertWithGeneratedIds(jdbcTemplate, "insert into T_ROW (NAME) values (?)", List.<Row>of(),
+                (ps, r) -> ps.setString(1, r.name), (r, id) -> r.id = id, r -> fail("fallback must not be used"));
+        assertEquals(0, jdbcTemplate.queryForObject("select count(*) from T_ROW", Integer.class));
+    }
+}
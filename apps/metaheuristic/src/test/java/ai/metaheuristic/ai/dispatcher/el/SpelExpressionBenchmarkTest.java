@@ -0,0 +1,74 @@
+/*
+ * Metaheuristic, Copyright (C) 2017-2025, Innovation platforms, LLC
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package ai.metaheuristic.ai.dispatcher.el;
+
+import org.junit.jupiter.api.Disabled;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of evaluation of a typical condition of source code,
+ * with parsing for each evaluation vs an expression from {@link SpelExpressionCache}.
+ *
+ * @author Serge
+ * Date: 10/18/2026
+ * Time: 9:20 PM
+ */
+public class SpelExpressionBenchmarkTest {
+
+    @Disabled
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @Fork(1)
+    @State(Scope.Benchmark)
+    @Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+    @Measurement(iterations = 10, time = 1, timeUnit = TimeUnit.SECONDS)
+    public static class ParseVsCached {
+
+        @Param({"#currIndex > #factorialOf - 1", "#isValid && #currIndex % 2 == 0 || #status == 'done'"})
+        public String expression;
+
+        public StandardEvaluationContext context;
+
+        @Setup
+        public void setup() {
+            context = new StandardEvaluationContext();
+            context.setVariable("currIndex", 3);
+            context.setVariable("factorialOf", 5);
+            context.setVariable("isValid", true);
+            context.setVariable("status", "done");
+        }
+
+        @Benchmark
+        public Object parseEachTime() {
+            return new SpelExpressionParser().parseExpression(expression).getValue(context);
+        }
+
+        @Benchmark
+        public Object cached() {
+            return SpelExpressionCache.get(expression).getValue(context);
+        }
+
+        public static void main(String[] args) throws Exception {
+            org.openjdk.jmh.Main.main(args);
+        }
+    }
+}
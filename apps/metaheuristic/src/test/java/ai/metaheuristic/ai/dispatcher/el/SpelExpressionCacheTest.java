@@ -0,0 +1,82 @@
+/*
+ * Metaheuristic, Copyright (C) 2017-2025, Innovation platforms, LLC
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package ai.metaheuristic.ai.dispatcher.el;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+import org.springframework.expression.Expression;
+import org.springframework.expression.ParseException;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Serge
+ * Date: 10/18/2026
+ * Time: 9:05 PM
+ */
+@Execution(ExecutionMode.CONCURRENT)
+class SpelExpressionCacheTest {
+
+    private static final AtomicLong SEQUENCE = new AtomicLong(1_000_000);
+
+    @Test
+    public void test_sameText_isParsedOnce() {
+        String text = "#a > " + SEQUENCE.incrementAndGet();
+        Expression e1 = SpelExpressionCache.get(text);
+        Expression e2 = SpelExpressionCache.get(new String(text.toCharArray()));
+        assertSame(e1, e2);
+        assertNotSame(e1, SpelExpressionCache.get(text + " - 1"));
+    }
+
+    @Test
+    public void test_sharedExpression_usesStateOfContext() {
+        String text = "#a > #b - " + SEQUENCE.incrementAndGet();
+
+        StandardEvaluationContext ctx1 = new StandardEvaluationContext();
+        ctx1.setVariable("a", 3_000_000);
+        ctx1.setVariable("b", 1);
+        StandardEvaluationContext ctx2 = new StandardEvaluationContext();
+        ctx2.setVariable("a", 1);
+        ctx2.setVariable("b", 3_000_000);
+
+        assertEquals(Boolean.TRUE, SpelExpressionCache.get(text).getValue(ctx1));
+        assertEquals(Boolean.FALSE, SpelExpressionCache.get(text).getValue(ctx2));
+    }
+
+    @Test
+    public void test_brokenExpression_isNotCached() {
+        String text = "#a > > " + SEQUENCE.incrementAndGet();
+        int size = SpelExpressionCache.getStats().size();
+        assertThrows(ParseException.class, () -> SpelExpressionCache.get(text));
+        assertThrows(ParseException.class, () -> SpelExpressionCache.get(text));
+        // other tests can add entries concurrently, but this one mustn't be added twice
+        assertTrue(SpelExpressionCache.getStats().size() - size < 10);
+    }
+
+    @Test
+    public void test_sizeIsBounded() {
+        for (int i = 0; i < 2_500; i++) {
+            SpelExpressionCache.get("#a + " + SEQUENCE.incrementAndGet());
+        }
+        assertTrue(SpelExpressionCache.getStats().size() <= 1_000);
+    }
+}
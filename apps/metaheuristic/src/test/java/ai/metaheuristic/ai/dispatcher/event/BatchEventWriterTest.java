@@ -0,0 +1,111 @@
+/*
+ * Metaheuristic, Copyright (C) 2017-2025, Innovation platforms, LLC
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package ai.metaheuristic.ai.dispatcher.event;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Serge
+ * Date: 10/18/2026
+ * Time: 9:05 PM
+ */
+@Execution(ExecutionMode.CONCURRENT)
+public class BatchEventWriterTest {
+
+    @Test
+    public void test_batchesAndShutdown() throws InterruptedException {
+        List<List<Integer>> batches = Collections.synchronizedList(new ArrayList<>());
+        BatchEventWriter<Integer> writer = new BatchEventWriter<>("test-batches", 1000, 10, 200, 1000, o -> batches.add(new ArrayList<>(o)));
+        for (int i = 0; i < 25; i++) {
+            assertTrue(writer.put(i));
+        }
+        writer.shutdown();
+
+        List<Integer> all = new ArrayList<>();
+        for (List<Integer> batch : batches) {
+            assertTrue(batch.size()<=10);
+            all.addAll(batch);
+        }
+        assertEquals(25, all.size());
+        for (int i = 0; i < 25; i++) {
+            assertEquals(i, all.get(i));
+        }
+        BatchEventWriter.Stats stats = writer.getStats();
+        assertEquals(25, stats.written());
+        assertEquals(0, stats.queueDepth());
+        assertTrue(stats.batches()>=3);
+
+        // after shutdown an event is written by the caller
+        assertTrue(writer.put(42));
+        assertEquals(42, batches.getLast().getFirst());
+    }
+
+    @Test
+    public void test_windowFlushesIncompleteBatch() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        BatchEventWriter<Integer> writer = new BatchEventWriter<>("test-window", 1000, 100, 50, 1000, o -> latch.countDown());
+        writer.put(1);
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+        writer.shutdown();
+    }
+
+    @Test
+    public void test_fullBufferDropsAfterTimeout() throws InterruptedException {
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        BatchEventWriter<Integer> writer = new BatchEventWriter<>("test-backpressure", 2, 1, 10, 100, o -> {
+            blocked.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        writer.put(1);
+        assertTrue(blocked.await(10, TimeUnit.SECONDS));
+        assertTrue(writer.put(2));
+        assertTrue(writer.put(3));
+        assertFalse(writer.put(4));
+        assertEquals(1, writer.getStats().dropped());
+
+        release.countDown();
+        writer.shutdown();
+        assertEquals(3, writer.getStats().written());
+    }
+
+    @Test
+    public void test_failedBatch() {
+        BatchEventWriter<Integer> writer = new BatchEventWriter<>("test-failed", 10, 5, 10, 100, o -> {
+            throw new IllegalStateException("broken db");
+        });
+        writer.put(1);
+        writer.shutdown();
+        assertEquals(1, writer.getStats().failed());
+        assertEquals(0, writer.getStats().written());
+    }
+}
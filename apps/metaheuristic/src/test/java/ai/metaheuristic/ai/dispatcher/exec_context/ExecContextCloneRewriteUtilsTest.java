@@ -16,7 +16,8 @@
 package ai.metaheuristic.ai.dispatcher.exec_context;
 
 import ai.metaheuristic.ai.dispatcher.data.ExecContextData;
-import ai.metaheuristic.ai.dispatcher.exec_context_graph.ExecContextGraphService;
+import ai.metaheuristic.ai.yaml.exec_context_graph.ExecContextGraphPackUtils;
+import ai.metaheuristic.ai.yaml.exec_context_graph.ExecContextGraphParamsYaml;
 import ai.metaheuristic.ai.yaml.exec_context_task_state.ExecContextTaskStateParamsYaml;
 import ai.metaheuristic.api.EnumsApi;
 import ai.metaheuristic.api.data.exec_context.ExecContextApiData;
@@ -37,12 +38,24 @@ import static org.assertj.core.api.Assertions.assertThat;
 @Execution(ExecutionMode.CONCURRENT)
 public class ExecContextCloneRewriteUtilsTest {
 
+    private static ExecContextGraphParamsYaml toParams(DirectedAcyclicGraph<ExecContextData.TaskVertex, DefaultEdge> g) {
+        ExecContextGraphParamsYaml params = new ExecContextGraphParamsYaml();
+        params.packedGraph = ExecContextGraphPackUtils.pack(g);
+        return params;
+    }
+
     @Test
     public void test_rewriteGraph_emptyMap_returnsInputUnchanged() {
-        String input = "strict digraph G { 100; 200; 100 -> 200; }";
+        DirectedAcyclicGraph<ExecContextData.TaskVertex, DefaultEdge> g = ExecContextGraphPackUtils.createGraph();
+        ExecContextData.TaskVertex v100 = new ExecContextData.TaskVertex(100L, "1###");
+        ExecContextData.TaskVertex v200 = new ExecContextData.TaskVertex(200L, "1###");
+        g.addVertex(v100);
+        g.addVertex(v200);
+        g.addEdge(v100, v200);
+        ExecContextGraphParamsYaml input = toParams(g);
         //act
-        String out = ExecContextCloneRewriteUtils.rewriteDotGraph(input, Map.of());
-        assertThat(out).isEqualTo(input);
+        ExecContextGraphParamsYaml out = ExecContextCloneRewriteUtils.rewriteGraph(input, Map.of());
+        assertThat(out.packedGraph).isEqualTo(input.packedGraph);
     }
 
     @Test
@@ -54,13 +67,13 @@ public class ExecContextCloneRewriteUtilsTest {
                         org.jgrapht.util.SupplierUtil.DEFAULT_EDGE_SUPPLIER,
                         false);
         g.addVertex(new ExecContextData.TaskVertex(100L, "1###"));
-        String input = ExecContextGraphService.asString(g);
+        ExecContextGraphParamsYaml input = toParams(g);
 
         //act
-        String out = ExecContextCloneRewriteUtils.rewriteDotGraph(input, Map.of(100L, 500L));
+        ExecContextGraphParamsYaml out = ExecContextCloneRewriteUtils.rewriteGraph(input, Map.of(100L, 500L));
 
         DirectedAcyclicGraph<ExecContextData.TaskVertex, DefaultEdge> rebuilt =
-                ExecContextGraphService.importExecContextGraph(out);
+                ExecContextGraphPackUtils.unpack(out.packedGraph);
         assertThat(rebuilt.vertexSet()).hasSize(1);
         ExecContextData.TaskVertex v = rebuilt.vertexSet().iterator().next();
         assertThat(v.taskId).isEqualTo(500L);
@@ -82,15 +95,15 @@ public class ExecContextCloneRewriteUtilsTest {
         g.addVertex(v300);
         g.addEdge(v100, v200);
         g.addEdge(v200, v300);
-        String input = ExecContextGraphService.asString(g);
+        ExecContextGraphParamsYaml input = toParams(g);
 
         Map<Long, Long> map = Map.of(100L, 500L, 200L, 600L, 300L, 700L);
 
         //act
-        String out = ExecContextCloneRewriteUtils.rewriteDotGraph(input, map);
+        ExecContextGraphParamsYaml out = ExecContextCloneRewriteUtils.rewriteGraph(input, map);
 
         DirectedAcyclicGraph<ExecContextData.TaskVertex, DefaultEdge> rebuilt =
-                ExecContextGraphService.importExecContextGraph(out);
+                ExecContextGraphPackUtils.unpack(out.packedGraph);
         Set<Long> ids = rebuilt.vertexSet().stream()
                 .map(v -> v.taskId).collect(java.util.stream.Collectors.toSet());
         assertThat(ids).containsExactlyInAnyOrder(500L, 600L, 700L);
@@ -106,14 +119,14 @@ public class ExecContextCloneRewriteUtilsTest {
                         false);
         g.addVertex(new ExecContextData.TaskVertex(100L, "1###"));
         g.addVertex(new ExecContextData.TaskVertex(200L, "1###"));
-        String input = ExecContextGraphService.asString(g);
+        ExecContextGraphParamsYaml input = toParams(g);
 
         // only 100 mapped; 200 not in map
         //act
-        String out = ExecContextCloneRewriteUtils.rewriteDotGraph(input, Map.of(100L, 500L));
+        ExecContextGraphParamsYaml out = ExecContextCloneRewriteUtils.rewriteGraph(input, Map.of(100L, 500L));
 
         DirectedAcyclicGraph<ExecContextData.TaskVertex, DefaultEdge> rebuilt =
-                ExecContextGraphService.importExecContextGraph(out);
+                ExecContextGraphPackUtils.unpack(out.packedGraph);
         Set<Long> ids = rebuilt.vertexSet().stream()
                 .map(v -> v.taskId).collect(java.util.stream.Collectors.toSet());
         assertThat(ids).containsExactlyInAnyOrder(500L, 200L);
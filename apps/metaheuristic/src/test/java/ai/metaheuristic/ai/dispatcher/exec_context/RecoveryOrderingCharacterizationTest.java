@@ -173,7 +173,7 @@ public class RecoveryOrderingCharacterizationTest extends PreparingSourceCode {
             // the assignable Task reaching the task queue is proof the pass ran for this ExecContext
             // AND that it took the non-empty branch
             await().atMost(Duration.ofSeconds(30)).pollInterval(Duration.ofMillis(200))
-                    .until(() -> TaskQueueService.alreadyRegisteredWithSync(assignable.id));
+                    .until(() -> TaskQueueService.alreadyRegistered(assignable.id));
 
             // THE KEY ASSERTION. Delete the `if (vertices.isEmpty())` guard and this becomes 1.
             assertEquals(0, execContextTaskResettingTopLevelService.getResetTasksWithErrorEventThreadedPool().size(execContextId),
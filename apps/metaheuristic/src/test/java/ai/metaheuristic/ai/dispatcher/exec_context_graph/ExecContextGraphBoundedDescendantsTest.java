@@ -17,6 +17,7 @@
 package ai.metaheuristic.ai.dispatcher.exec_context_graph;
 
 import ai.metaheuristic.ai.dispatcher.data.ExecContextData;
+import ai.metaheuristic.ai.yaml.exec_context_graph.ExecContextGraphDotUtils;
 import org.jgrapht.graph.DefaultEdge;
 import org.jgrapht.graph.DirectedAcyclicGraph;
 import org.junit.jupiter.api.Test;
@@ -50,7 +51,7 @@ public class ExecContextGraphBoundedDescendantsTest {
     private static final Predicate<ExecContextData.TaskVertex> DESCEND_EVERYWHERE = _ -> true;
 
     private static DirectedAcyclicGraph<ExecContextData.TaskVertex, DefaultEdge> graphOf(String edgesAndVertices) {
-        return ExecContextGraphService.importExecContextGraph(
+        return ExecContextGraphDotUtils.importExecContextGraph(
                 "strict digraph G {\n" + edgesAndVertices + "\n}\n");
     }
 
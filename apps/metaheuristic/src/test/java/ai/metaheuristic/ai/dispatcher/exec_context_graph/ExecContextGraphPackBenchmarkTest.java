@@ -0,0 +1,160 @@
+/*
+ * Metaheuristic, Copyright (C) 2017-2025, Innovation platforms, LLC
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package ai.metaheuristic.ai.dispatcher.exec_context_graph;
+
+import ai.metaheuristic.ai.dispatcher.data.ExecContextData;
+import ai.metaheuristic.ai.yaml.exec_context_graph.ExecContextGraphDotUtils;
+import ai.metaheuristic.ai.yaml.exec_context_graph.ExecContextGraphPackUtils;
+import ai.metaheuristic.ai.yaml.exec_context_task_state.ExecContextTaskStatePackUtils;
+import ai.metaheuristic.ai.yaml.exec_context_task_state.ExecContextTaskStateParamsYamlV1;
+import ai.metaheuristic.api.EnumsApi;
+import ai.metaheuristic.commons.yaml.YamlUtils;
+import org.jgrapht.graph.DefaultEdge;
+import org.jgrapht.graph.DirectedAcyclicGraph;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.*;
+import org.yaml.snakeyaml.Yaml;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares DOT/YAML form (params version 1) with packed form (params version 2)
+ * of ExecContextGraph and ExecContextTaskState for a big graph.
+ *
+ * @author Serge
+ * Date: 10/18/2026
+ * Time: 2:10 PM
+ */
+public class ExecContextGraphPackBenchmarkTest {
+
+    private static final int VERTICES = 50_000;
+
+    private static DirectedAcyclicGraph<ExecContextData.TaskVertex, DefaultEdge> createGraph(int count) {
+        Random r = new Random(42);
+        DirectedAcyclicGraph<ExecContextData.TaskVertex, DefaultEdge> graph = ExecContextGraphPackUtils.createGraph();
+        ExecContextData.TaskVertex root = new ExecContextData.TaskVertex(100_000L, "1");
+        graph.addVertex(root);
+        ExecContextData.TaskVertex prev = root;
+        for (int i = 1; i < count; i++) {
+            // fan-out of batch lines with a few sub-processes, like a batch-splitter would create
+            ExecContextData.TaskVertex v = new ExecContextData.TaskVertex(100_000L + i, "1,2#" + (i/4), i%1000==0 ? "terminal" : null);
+            graph.addVertex(v);
+            graph.addEdge(i%4==1 ? root : prev, v);
+            if (i>10 && r.nextInt(10)==0) {
+                // v doesn't have any children yet, so an edge to v can't create a cycle
+                graph.addEdge(new ExecContextData.TaskVertex(100_000L + r.nextInt(i - 1) + 1), v);
+            }
+            prev = v;
+        }
+        return graph;
+    }
+
+    private static ExecContextTaskStateParamsYamlV1 createStates(int count) {
+        ExecContextTaskStateParamsYamlV1 v1 = new ExecContextTaskStateParamsYamlV1();
+        EnumsApi.TaskExecState[] values = {EnumsApi.TaskExecState.OK, EnumsApi.TaskExecState.NONE, EnumsApi.TaskExecState.IN_PROGRESS};
+        for (int i = 0; i < count; i++) {
+            v1.states.put(100_000L + i, values[i%values.length]);
+            if (i%50==0) {
+                v1.triesWasMade.put(100_000L + i, 1);
+            }
+        }
+        return v1;
+    }
+
+    @Disabled
+    @Test
+    public void test_sizes() {
+        DirectedAcyclicGraph<ExecContextData.TaskVertex, DefaultEdge> graph = createGraph(VERTICES);
+        String dot = ExecContextGraphDotUtils.asString(graph);
+        String packed = ExecContextGraphPackUtils.pack(graph);
+        System.out.println("graph, DOT: " + dot.length() + ", packed: " + packed.length());
+
+        ExecContextTaskStateParamsYamlV1 v1 = createStates(VERTICES);
+        String yaml = YamlUtils.init(ExecContextTaskStateParamsYamlV1.class).dumpAsMap(v1);
+        String packedStates = ExecContextTaskStatePackUtils.pack(v1.states, v1.triesWasMade);
+        System.out.println("states, YAML: " + yaml.length() + ", packed: " + packedStates.length());
+    }
+
+    @Disabled
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Fork(1)
+    @State(Scope.Benchmark)
+    @Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+    @Measurement(iterations = 10, time = 1, timeUnit = TimeUnit.SECONDS)
+    public static class GraphDotVsPacked {
+
+        public DirectedAcyclicGraph<ExecContextData.TaskVertex, DefaultEdge> graph;
+        public String dot;
+        public String packed;
+        public ExecContextTaskStateParamsYamlV1 states;
+        public String statesYaml;
+        public String packedStates;
+        public Yaml yaml;
+
+        @Setup
+        public void setup() {
+            graph = createGraph(VERTICES);
+            dot = ExecContextGraphDotUtils.asString(graph);
+            packed = ExecContextGraphPackUtils.pack(graph);
+            states = createStates(VERTICES);
+            yaml = YamlUtils.init(ExecContextTaskStateParamsYamlV1.class);
+            statesYaml = yaml.dumpAsMap(states);
+            packedStates = ExecContextTaskStatePackUtils.pack(states.states, states.triesWasMade);
+        }
+
+        @Benchmark
+        public DirectedAcyclicGraph<ExecContextData.TaskVertex, DefaultEdge> parseDot() {
+            return ExecContextGraphDotUtils.importExecContextGraph(dot);
+        }
+
+        @Benchmark
+        public DirectedAcyclicGraph<ExecContextData.TaskVertex, DefaultEdge> unpackGraph() {
+            return ExecContextGraphPackUtils.unpack(packed);
+        }
+
+        @Benchmark
+        public String exportDot() {
+            return ExecContextGraphDotUtils.asString(graph);
+        }
+
+        @Benchmark
+        public String packGraph() {
+            return ExecContextGraphPackUtils.pack(graph);
+        }
+
+        @Benchmark
+        public Object parseStatesYaml() {
+            return yaml.load(statesYaml);
+        }
+
+        @Benchmark
+        public Map<Long, EnumsApi.TaskExecState> unpackStates() {
+            Map<Long, EnumsApi.TaskExecState> map = new HashMap<>();
+            ExecContextTaskStatePackUtils.unpack(packedStates, map, new HashMap<>());
+            return map;
+        }
+
+        public static void main(String[] args) throws Exception {
+            org.openjdk.jmh.Main.main(args);
+        }
+    }
+}
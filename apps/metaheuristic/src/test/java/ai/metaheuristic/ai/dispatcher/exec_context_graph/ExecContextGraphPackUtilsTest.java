@@ -0,0 +1,114 @@
+/*
+ * Metaheuristic, Copyright (C) 2017-2025, Innovation platforms, LLC
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package ai.metaheuristic.ai.dispatcher.exec_context_graph;
+
+import ai.metaheuristic.ai.dispatcher.data.ExecContextData;
+import ai.metaheuristic.ai.yaml.exec_context_graph.ExecContextGraphDotUtils;
+import ai.metaheuristic.ai.yaml.exec_context_graph.ExecContextGraphPackUtils;
+import ai.metaheuristic.ai.yaml.exec_context_graph.ExecContextGraphParamsYaml;
+import ai.metaheuristic.ai.yaml.exec_context_graph.ExecContextGraphParamsYamlUtils;
+import org.jgrapht.graph.DefaultEdge;
+import org.jgrapht.graph.DirectedAcyclicGraph;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Serge
+ * Date: 10/18/2026
+ * Time: 1:40 PM
+ */
+@Execution(ExecutionMode.CONCURRENT)
+public class ExecContextGraphPackUtilsTest {
+
+    private static Set<String> edges(DirectedAcyclicGraph<ExecContextData.TaskVertex, DefaultEdge> graph) {
+        Set<String> set = new HashSet<>();
+        for (DefaultEdge e : graph.edgeSet()) {
+            set.add(graph.getEdgeSource(e).taskId + "->" + graph.getEdgeTarget(e).taskId);
+        }
+        return set;
+    }
+
+    private static void assertSameGraph(DirectedAcyclicGraph<ExecContextData.TaskVertex, DefaultEdge> expected, DirectedAcyclicGraph<ExecContextData.TaskVertex, DefaultEdge> actual) {
+        assertEquals(expected.vertexSet().size(), actual.vertexSet().size());
+        for (ExecContextData.TaskVertex v : expected.vertexSet()) {
+            ExecContextData.TaskVertex a = actual.vertexSet().stream().filter(o -> o.taskId.equals(v.taskId)).findFirst().orElseThrow();
+            assertEquals(v.taskContextId, a.taskContextId);
+            assertEquals(v.tag, a.tag);
+        }
+        assertEquals(edges(expected), edges(actual));
+    }
+
+    @Test
+    public void test_packUnpack() {
+        DirectedAcyclicGraph<ExecContextData.TaskVertex, DefaultEdge> graph = ExecContextGraphPackUtils.createGraph();
+        // taskIds aren't in topological order on purpose
+        ExecContextData.TaskVertex v10 = new ExecContextData.TaskVertex(10L, "1");
+        ExecContextData.TaskVertex v5 = new ExecContextData.TaskVertex(5L, "1,2#1", "batch-line");
+        ExecContextData.TaskVertex v7 = new ExecContextData.TaskVertex(7L, "1,2#2", "batch-line");
+        ExecContextData.TaskVertex v3 = new ExecContextData.TaskVertex(3L, "1");
+        ExecContextData.TaskVertex v100 = new ExecContextData.TaskVertex(100L);
+        graph.addVertex(v10);
+        graph.addVertex(v5);
+        graph.addVertex(v7);
+        graph.addVertex(v3);
+        graph.addVertex(v100);
+        graph.addEdge(v10, v5);
+        graph.addEdge(v10, v7);
+        graph.addEdge(v5, v3);
+        graph.addEdge(v7, v3);
+        graph.addEdge(v10, v3);
+
+        String packed = ExecContextGraphPackUtils.pack(graph);
+        assertSameGraph(graph, ExecContextGraphPackUtils.unpack(packed));
+        assertEquals(packed, ExecContextGraphPackUtils.pack(ExecContextGraphPackUtils.unpack(packed)));
+    }
+
+    @Test
+    public void test_empty() {
+        assertTrue(ExecContextGraphPackUtils.unpack(ExecContextGraphPackUtils.EMPTY_PACKED_GRAPH).vertexSet().isEmpty());
+        assertEquals(ExecContextGraphPackUtils.EMPTY_PACKED_GRAPH, new ExecContextGraphParamsYaml().packedGraph);
+    }
+
+    @Test
+    public void test_upgradeFromV1() {
+        String yaml = """
+            graph: "strict digraph G {\\r\\n  46651 [ ctxid=\\"1\\" ];\\r\\n  46652 [ ctxid=\\"1\\" ];\\r\\
+              \\n  46653 [ ctxid=\\"1\\" tag=\\"t1\\" ];\\r\\n  46651 -> 46652;\\r\\n  46652 -> 46653;\\r\\n}\\r\\n"
+            version: 1
+            """;
+
+        ExecContextGraphParamsYaml ecgpy = ExecContextGraphParamsYamlUtils.BASE_YAML_UTILS.to(yaml);
+        assertEquals(2, ecgpy.version);
+
+        DirectedAcyclicGraph<ExecContextData.TaskVertex, DefaultEdge> graph = ExecContextGraphService.importExecContextGraph(ecgpy);
+        assertSameGraph(ExecContextGraphDotUtils.importExecContextGraph(ExecContextGraphDotUtils.asString(graph)), graph);
+        assertEquals(3, graph.vertexSet().size());
+        assertEquals(Set.of("46651->46652", "46652->46653"), edges(graph));
+        assertEquals("t1", graph.vertexSet().stream().filter(o -> o.taskId==46653L).findFirst().orElseThrow().tag);
+
+        String v2Yaml = ExecContextGraphParamsYamlUtils.BASE_YAML_UTILS.toString(ecgpy);
+        assertTrue(v2Yaml.contains("version: 2"));
+        assertFalse(v2Yaml.contains("digraph"));
+        ExecContextGraphParamsYaml ecgpy2 = ExecContextGraphParamsYamlUtils.BASE_YAML_UTILS.to(v2Yaml);
+        assertEquals(ecgpy.packedGraph, ecgpy2.packedGraph);
+    }
+}
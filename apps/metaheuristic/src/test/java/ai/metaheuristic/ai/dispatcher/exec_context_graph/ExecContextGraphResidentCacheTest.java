@@ -0,0 +1,159 @@
+/*
+ * Metaheuristic, Copyright (C) 2017-2025, Innovation platforms, LLC
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package ai.metaheuristic.ai.dispatcher.exec_context_graph;
+
+import ai.metaheuristic.ai.dispatcher.beans.ExecContextGraph;
+import ai.metaheuristic.ai.dispatcher.data.ExecContextData;
+import ai.metaheuristic.ai.yaml.exec_context_graph.ExecContextGraphPackUtils;
+import ai.metaheuristic.ai.yaml.exec_context_graph.ExecContextGraphParamsYaml;
+import org.jgrapht.graph.DefaultEdge;
+import org.jgrapht.graph.DirectedAcyclicGraph;
+import org.jgrapht.util.SupplierUtil;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Serge
+ * Date: 10/18/2026
+ * Time: 10:05 AM
+ */
+@Execution(ExecutionMode.CONCURRENT)
+class ExecContextGraphResidentCacheTest {
+
+    private static final AtomicLong ID_SEQUENCE = new AtomicLong(1_000_000);
+
+    private static DirectedAcyclicGraph<ExecContextData.TaskVertex, DefaultEdge> createChain(long ... taskIds) {
+        DirectedAcyclicGraph<ExecContextData.TaskVertex, DefaultEdge> graph =
+                new DirectedAcyclicGraph<>(ExecContextData.TaskVertex::new, SupplierUtil.DEFAULT_EDGE_SUPPLIER, false);
+        ExecContextData.TaskVertex prev = null;
+        for (long taskId : taskIds) {
+            ExecContextData.TaskVertex v = new ExecContextData.TaskVertex(taskId, "1", taskId==taskIds[taskIds.length-1] ? "terminal" : null);
+            graph.addVertex(v);
+            if (prev!=null) {
+                graph.addEdge(prev, v);
+            }
+            prev = v;
+        }
+        return graph;
+    }
+
+    private static ExecContextGraph createEntity(DirectedAcyclicGraph<ExecContextData.TaskVertex, DefaultEdge> graph) {
+        ExecContextGraph ecg = new ExecContextGraph();
+        ecg.id = ID_SEQUENCE.incrementAndGet();
+        ExecContextGraphParamsYaml ecgpy = new ExecContextGraphParamsYaml();
+        ecgpy.packedGraph = ExecContextGraphPackUtils.pack(graph);
+        ecg.updateParams(ecgpy);
+        return ecg;
+    }
+
+    @Test
+    public void test_sameSource_isResident() {
+        ExecContextGraph ecg = createEntity(createChain(1L, 2L, 3L));
+
+        ExecContextGraphResidentCache.ResidentGraph r1 = ExecContextGraphResidentCache.get(ecg);
+        ExecContextGraphResidentCache.ResidentGraph r2 = ExecContextGraphResidentCache.get(ecg);
+        assertSame(r1, r2);
+
+        // an equal packed text from a freshly loaded entity must hit the same resident graph
+        ExecContextGraph reloaded = new ExecContextGraph();
+        reloaded.id = ecg.id;
+        reloaded.setParams(new String(ecg.getParams()));
+        assertSame(r1, ExecContextGraphResidentCache.get(reloaded));
+
+        assertEquals(3, r1.graph.vertexSet().size());
+        ExecContextData.TaskVertex v = r1.vertex(3L);
+        assertNotNull(v);
+        assertEquals("terminal", v.tag);
+        assertEquals("1", v.taskContextId);
+        assertNull(r1.vertex(42L));
+    }
+
+    @Test
+    public void test_changedSource_isReloaded() {
+        ExecContextGraph ecg = createEntity(createChain(1L, 2L, 3L));
+        ExecContextGraphResidentCache.ResidentGraph r1 = ExecContextGraphResidentCache.get(ecg);
+
+        ExecContextGraphParamsYaml ecgpy = new ExecContextGraphParamsYaml();
+        ecgpy.packedGraph = ExecContextGraphPackUtils.pack(createChain(1L, 2L, 3L, 4L));
+        ecg.updateParams(ecgpy);
+
+        ExecContextGraphResidentCache.ResidentGraph r2 = ExecContextGraphResidentCache.get(ecg);
+        assertNotSame(r1, r2);
+        assertEquals(4, r2.graph.vertexSet().size());
+        assertNotNull(r2.vertex(4L));
+    }
+
+    @Test
+    public void test_copyForMutation_doesntChangeResident() {
+        ExecContextGraph ecg = createEntity(createChain(1L, 2L, 3L));
+        ExecContextGraphResidentCache.ResidentGraph r1 = ExecContextGraphResidentCache.get(ecg);
+
+        DirectedAcyclicGraph<ExecContextData.TaskVertex, DefaultEdge> copy = ExecContextGraphResidentCache.copyForMutation(r1.graph);
+        assertEquals(r1.graph.vertexSet(), copy.vertexSet());
+        assertEquals(r1.graph.edgeSet().size(), copy.edgeSet().size());
+
+        ExecContextData.TaskVertex v4 = new ExecContextData.TaskVertex(4L, "1");
+        copy.addVertex(v4);
+        copy.addEdge(new ExecContextData.TaskVertex(3L), v4);
+
+        assertEquals(3, r1.graph.vertexSet().size());
+        assertEquals(2, r1.graph.edgeSet().size());
+        assertEquals(4, copy.vertexSet().size());
+        assertEquals(3, copy.edgeSet().size());
+    }
+
+    @Test
+    public void test_mutatedResident_ancestorsHaveTaskContextId() {
+        ExecContextGraph ecg = createEntity(createChain(1L, 2L, 3L));
+        DirectedAcyclicGraph<ExecContextData.TaskVertex, DefaultEdge> copy =
+                ExecContextGraphResidentCache.copyForMutation(ExecContextGraphResidentCache.getGraph(ecg));
+
+        ExecContextData.TaskVertex v4 = new ExecContextData.TaskVertex(4L, "1,2|1");
+        copy.addVertex(v4);
+        ExecContextGraphService.addEdgesToGraph(copy, List.of(2L, 3L, 42L), Set.of(v4));
+
+        ExecContextGraphParamsYaml ecgpy = ecg.getExecContextGraphParamsYaml();
+        ecgpy.packedGraph = ExecContextGraphPackUtils.pack(copy);
+        ecg.updateParams(ecgpy);
+        ExecContextGraphResidentCache.put(ecg.id, ecgpy.packedGraph, copy);
+
+        Set<ExecContextData.TaskVertex> ancestors = ExecContextGraphService.findAncestors(ecg, v4);
+        assertEquals(3, ancestors.size());
+        for (ExecContextData.TaskVertex ancestor : ancestors) {
+            assertEquals("1", ancestor.taskContextId, "task #" + ancestor.taskId);
+        }
+        Set<ExecContextData.TaskVertex> direct = ExecContextGraphService.findDirectAncestors(ecg, v4);
+        assertEquals(2, direct.size());
+        direct.forEach(o -> assertNotNull(o.taskContextId));
+        assertEquals("terminal", direct.stream().filter(o -> o.taskId==3L).findFirst().orElseThrow().tag);
+    }
+
+    @Test
+    public void test_evict() {
+        ExecContextGraph ecg = createEntity(createChain(1L, 2L));
+        ExecContextGraphResidentCache.ResidentGraph r1 = ExecContextGraphResidentCache.get(ecg);
+        ExecContextGraphResidentCache.evict(ecg.id);
+        assertNotSame(r1, ExecContextGraphResidentCache.get(ecg));
+    }
+}
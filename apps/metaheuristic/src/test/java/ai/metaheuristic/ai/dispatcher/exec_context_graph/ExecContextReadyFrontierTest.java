@@ -0,0 +1,239 @@
+/*
+ * Metaheuristic, Copyright (C) 2017-2025, Innovation platforms, LLC
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package ai.metaheuristic.ai.dispatcher.exec_context_graph;
+
+import ai.metaheuristic.ai.Consts;
+import ai.metaheuristic.ai.dispatcher.beans.ExecContextTaskState;
+import ai.metaheuristic.ai.dispatcher.data.ExecContextData;
+import ai.metaheuristic.ai.yaml.exec_context_graph.ExecContextGraphPackUtils;
+import ai.metaheuristic.ai.yaml.exec_context_task_state.ExecContextTaskStateParamsYaml;
+import ai.metaheuristic.api.EnumsApi;
+import org.jgrapht.graph.DefaultEdge;
+import org.jgrapht.graph.DirectedAcyclicGraph;
+import org.jgrapht.traverse.BreadthFirstIterator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifies the incremental ready frontier against the full traversal,
+ * which was used by ExecContextGraphService.findAllForAssigning() before.
+ *
+ * @author Serge
+ * Date: 10/18/2026
+ * Time: 4:10 PM
+ */
+@Execution(ExecutionMode.CONCURRENT)
+public class ExecContextReadyFrontierTest {
+
+    private static final EnumsApi.TaskExecState[] STATES = {
+            EnumsApi.TaskExecState.NONE, EnumsApi.TaskExecState.NONE, EnumsApi.TaskExecState.NONE,
+            EnumsApi.TaskExecState.OK, EnumsApi.TaskExecState.OK, EnumsApi.TaskExecState.OK,
+            EnumsApi.TaskExecState.IN_PROGRESS, EnumsApi.TaskExecState.ERROR, EnumsApi.TaskExecState.SKIPPED,
+            EnumsApi.TaskExecState.CHECK_CACHE, EnumsApi.TaskExecState.ERROR_WITH_RECOVERY,
+            EnumsApi.TaskExecState.INIT, EnumsApi.TaskExecState.PRE_INIT
+    };
+
+    private static DirectedAcyclicGraph<ExecContextData.TaskVertex, DefaultEdge> randomDag(Random r, int count) {
+        DirectedAcyclicGraph<ExecContextData.TaskVertex, DefaultEdge> graph = ExecContextGraphPackUtils.createGraph();
+        List<ExecContextData.TaskVertex> vertices = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            ExecContextData.TaskVertex v = new ExecContextData.TaskVertex(1000L + r.nextInt(count * 10), "1",
+                    r.nextInt(15)==0 ? Consts.TAG_TERMINAL : null);
+            if (!graph.addVertex(v)) {
+                continue;
+            }
+            // edges always go from an earlier vertex to a later one, so the graph stays acyclic.
+            // some vertices are left without parents to have several roots
+            if (!vertices.isEmpty() && r.nextInt(8)!=0) {
+                int parents = 1 + r.nextInt(3);
+                for (int j = 0; j < parents; j++) {
+                    graph.addEdge(vertices.get(r.nextInt(vertices.size())), v);
+                }
+            }
+            vertices.add(v);
+        }
+        return graph;
+    }
+
+    private static EnumsApi.TaskExecState randomState(Random r) {
+        return STATES[r.nextInt(STATES.length)];
+    }
+
+    @Test
+    public void test_randomDag_equivalence() {
+        for (int seed = 0; seed < 200; seed++) {
+            Random r = new Random(seed);
+            DirectedAcyclicGraph<ExecContextData.TaskVertex, DefaultEdge> graph = randomDag(r, 1 + r.nextInt(60));
+            List<ExecContextData.TaskVertex> vertices = new ArrayList<>(graph.vertexSet());
+
+            Map<Long, EnumsApi.TaskExecState> states = new HashMap<>();
+            // from 'newly created' up to 'almost finished'
+            int initial = r.nextInt(vertices.size() + 1);
+            for (int i = 0; i < initial; i++) {
+                states.put(vertices.get(r.nextInt(vertices.size())).taskId, randomState(r));
+            }
+
+            ExecContextReadyFrontierCache.ReadyFrontier frontier = new ExecContextReadyFrontierCache.ReadyFrontier(graph, states, "0");
+            assertSame(graph, states, frontier, seed);
+
+            for (int step = 1; step <= 50; step++) {
+                List<Long> changed = new ArrayList<>();
+                int changes = 1 + r.nextInt(3);
+                for (int i = 0; i < changes; i++) {
+                    Long taskId = vertices.get(r.nextInt(vertices.size())).taskId;
+                    if (r.nextInt(10)==0) {
+                        states.remove(taskId);
+                    }
+                    else {
+                        states.put(taskId, randomState(r));
+                    }
+                    changed.add(taskId);
+                }
+                // a taskId which isn't in graph must be ignored
+                changed.add(-1L);
+
+                if (r.nextBoolean()) {
+                    frontier.update(changed, states, "" + step);
+                }
+                else {
+                    frontier.sync(states, "" + step);
+                }
+                assertSame(graph, states, frontier, seed);
+            }
+        }
+    }
+
+    @Test
+    public void test_viaExecContextTaskState() {
+        Random r = new Random(42);
+        DirectedAcyclicGraph<ExecContextData.TaskVertex, DefaultEdge> graph = randomDag(r, 40);
+
+        ExecContextTaskState ects = new ExecContextTaskState();
+        ects.id = 2_000_000L + r.nextInt(1000);
+        ects.updateParams(new ExecContextTaskStateParamsYaml());
+
+        for (int step = 0; step < 30; step++) {
+            ExecContextTaskStateParamsYaml ectspy = ects.getExecContextTaskStateParamsYaml();
+            Map<Long, EnumsApi.TaskExecState> expectedStates = new HashMap<>(ectspy.states);
+
+            for (boolean includeForCaching : new boolean[]{true, false}) {
+                assertEquals(
+                        findAllForAssigningByTraversal(graph, expectedStates, includeForCaching),
+                        ExecContextReadyFrontierCache.findAllForAssigning(graph, ects, includeForCaching));
+            }
+
+            String prev = ects.getParams();
+            Long taskId = new ArrayList<>(graph.vertexSet()).get(r.nextInt(graph.vertexSet().size())).taskId;
+            ectspy.states.put(taskId, randomState(r));
+            ects.updateParams(ectspy);
+            if (step%2==0) {
+                ExecContextReadyFrontierCache.afterStatesChanged(graph, ects, ectspy.states, prev, List.of(taskId));
+            }
+        }
+        ExecContextReadyFrontierCache.evict(List.of(ects.id));
+    }
+
+    private static void assertSame(
+            DirectedAcyclicGraph<ExecContextData.TaskVertex, DefaultEdge> graph, Map<Long, EnumsApi.TaskExecState> states,
+            ExecContextReadyFrontierCache.ReadyFrontier frontier, int seed) {
+        for (boolean includeForCaching : new boolean[]{true, false}) {
+            List<ExecContextData.TaskVertex> expected = findAllForAssigningByTraversal(graph, states, includeForCaching);
+            List<ExecContextData.TaskVertex> actual = frontier.findAllForAssigning(includeForCaching);
+            assertEquals(ids(expected), ids(actual), "seed: " + seed + ", includeForCaching: " + includeForCaching);
+        }
+    }
+
+    private static List<Long> ids(List<ExecContextData.TaskVertex> vertices) {
+        return vertices.stream().map(o->o.taskId).collect(Collectors.toList());
+    }
+
+    private static boolean isWaiting(EnumsApi.TaskExecState state, boolean includeForCaching) {
+        return includeForCaching ?
+                (state == EnumsApi.TaskExecState.NONE || state == EnumsApi.TaskExecState.CHECK_CACHE) :
+                state == EnumsApi.TaskExecState.NONE;
+    }
+
+    /**
+     * The full traversal of graph, as it was implemented in ExecContextGraphService.findAllForAssigning()
+     */
+    private static List<ExecContextData.TaskVertex> findAllForAssigningByTraversal(
+            DirectedAcyclicGraph<ExecContextData.TaskVertex, DefaultEdge> graph, Map<Long, EnumsApi.TaskExecState> states, boolean includeForCaching) {
+
+        ExecContextData.TaskVertex startVertex = graph.vertexSet().stream()
+                .filter( v -> graph.incomingEdgesOf(v).isEmpty())
+                .findFirst()
+                .orElse(null);
+
+        if (startVertex!=null && isWaiting(states.getOrDefault(startVertex.taskId, EnumsApi.TaskExecState.NONE), includeForCaching)) {
+            return List.of(startVertex);
+        }
+
+        Iterator<ExecContextData.TaskVertex> iterator = new BreadthFirstIterator<>(graph, (ExecContextData.TaskVertex)null);
+        List<ExecContextData.TaskVertex> vertices = new ArrayList<>();
+        iterator.forEachRemaining(v -> {
+            EnumsApi.TaskExecState state = states.getOrDefault(v.taskId, EnumsApi.TaskExecState.NONE);
+            if (isWaiting(state, includeForCaching) && isParentFullyProcessed(graph, states, v)) {
+                vertices.add(v);
+            }
+        });
+        if (!vertices.isEmpty()) {
+            return vertices;
+        }
+
+        ExecContextData.TaskVertex endVertex = graph.vertexSet().stream()
+                .filter( v -> graph.outgoingEdgesOf(v).isEmpty() && isWaiting(states.getOrDefault(v.taskId, EnumsApi.TaskExecState.NONE), includeForCaching))
+                .findFirst()
+                .orElse(null);
+
+        if (endVertex!=null) {
+            boolean allDone = graph.incomingEdgesOf(endVertex).stream()
+                    .map(graph::getEdgeSource)
+                    .allMatch( v -> EnumsApi.TaskExecState.isFinishedState(states.getOrDefault(v.taskId, EnumsApi.TaskExecState.NONE)));
+            if (allDone) {
+                return List.of(endVertex);
+            }
+        }
+        return List.of();
+    }
+
+    private static boolean isParentFullyProcessed(
+            DirectedAcyclicGraph<ExecContextData.TaskVertex, DefaultEdge> graph, Map<Long, EnumsApi.TaskExecState> states, ExecContextData.TaskVertex vertex) {
+        for (ExecContextData.TaskVertex ancestor : graph.getAncestors(vertex)) {
+            if (!EnumsApi.TaskExecState.isFinishedState(states.getOrDefault(ancestor.taskId, EnumsApi.TaskExecState.NONE))) {
+                return false;
+            }
+        }
+        if (Consts.TAG_TERMINAL.equals(vertex.tag)) {
+            return true;
+        }
+        Set<ExecContextData.TaskVertex> directParents = graph.incomingEdgesOf(vertex).stream()
+                .map(graph::getEdgeSource).collect(Collectors.toSet());
+        if (!directParents.isEmpty()) {
+            return directParents.stream().anyMatch(p -> {
+                EnumsApi.TaskExecState st = states.getOrDefault(p.taskId, EnumsApi.TaskExecState.NONE);
+                return st != EnumsApi.TaskExecState.ERROR && st != EnumsApi.TaskExecState.SKIPPED;
+            });
+        }
+        return true;
+    }
+}
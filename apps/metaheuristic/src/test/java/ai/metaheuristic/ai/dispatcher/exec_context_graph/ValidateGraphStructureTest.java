@@ -51,7 +51,7 @@ public class ValidateGraphStructureTest {
 
         ExecContextGraphParamsYaml ecgpy = ExecContextGraphParamsYamlUtils.BASE_YAML_UTILS.to(yaml);
 
-        DirectedAcyclicGraph<ExecContextData.TaskVertex, DefaultEdge> graph = ExecContextGraphService.importExecContextGraph(ecgpy.graph);
+        DirectedAcyclicGraph<ExecContextData.TaskVertex, DefaultEdge> graph = ExecContextGraphService.importExecContextGraph(ecgpy);
 
 
         List<ExecContextData.TaskVertex> l = ExecContextGraphService.findAllRootVertices(graph);
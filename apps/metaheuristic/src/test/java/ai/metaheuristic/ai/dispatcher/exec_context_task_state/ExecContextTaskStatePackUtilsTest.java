@@ -0,0 +1,87 @@
+/*
+ * Metaheuristic, Copyright (C) 2017-2025, Innovation platforms, LLC
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package ai.metaheuristic.ai.dispatcher.exec_context_task_state;
+
+import ai.metaheuristic.ai.yaml.exec_context_task_state.ExecContextTaskStatePackUtils;
+import ai.metaheuristic.ai.yaml.exec_context_task_state.ExecContextTaskStateParamsYaml;
+import ai.metaheuristic.ai.yaml.exec_context_task_state.ExecContextTaskStateParamsYamlUtils;
+import ai.metaheuristic.api.EnumsApi;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.parallel.ExecutionMode.CONCURRENT;
+
+/**
+ * @author Serge
+ * Date: 10/18/2026
+ * Time: 1:55 PM
+ */
+@Execution(CONCURRENT)
+public class ExecContextTaskStatePackUtilsTest {
+
+    @Test
+    public void test_packUnpack() {
+        Map<Long, EnumsApi.TaskExecState> states = new HashMap<>();
+        states.put(45064L, EnumsApi.TaskExecState.OK);
+        states.put(45065L, EnumsApi.TaskExecState.NONE);
+        states.put(12L, EnumsApi.TaskExecState.ERROR_WITH_RECOVERY);
+        states.put(900_000_000_000L, EnumsApi.TaskExecState.PRE_INIT);
+        Map<Long, Integer> tries = new HashMap<>();
+        tries.put(45065L, 3);
+        tries.put(12L, 1);
+
+        Map<Long, EnumsApi.TaskExecState> states2 = new HashMap<>();
+        Map<Long, Integer> tries2 = new HashMap<>();
+        ExecContextTaskStatePackUtils.unpack(ExecContextTaskStatePackUtils.pack(states, tries), states2, tries2);
+
+        assertEquals(states, states2);
+        assertEquals(tries, tries2);
+    }
+
+    @Test
+    public void test_upgradeFromV1_andRoundTrip() {
+        String yaml = """
+            states:
+              45064: OK
+              45065: NONE
+              45066: ERROR
+              45063: SKIPPED
+            triesWasMade:
+              45066: 2
+            version: 1
+            """;
+
+        ExecContextTaskStateParamsYaml paramsYaml = ExecContextTaskStateParamsYamlUtils.BASE_YAML_UTILS.to(yaml);
+        assertEquals(4, paramsYaml.states.size());
+        assertEquals(EnumsApi.TaskExecState.ERROR, paramsYaml.states.get(45066L));
+        assertEquals(2, paramsYaml.triesWasMade.get(45066L));
+
+        String v2Yaml = ExecContextTaskStateParamsYamlUtils.BASE_YAML_UTILS.toString(paramsYaml);
+        assertTrue(v2Yaml.contains("packedStates"));
+        assertTrue(v2Yaml.contains("version: 2"));
+        assertFalse(v2Yaml.contains("45064"));
+        assertFalse(v2Yaml.contains("triesWasMade"));
+
+        ExecContextTaskStateParamsYaml paramsYaml2 = ExecContextTaskStateParamsYamlUtils.BASE_YAML_UTILS.to(v2Yaml);
+        assertEquals(paramsYaml.states, paramsYaml2.states);
+        assertEquals(paramsYaml.triesWasMade, paramsYaml2.triesWasMade);
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * Metaheuristic, Copyright (C) 2017-2025, Innovation platforms, LLC
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package ai.metaheuristic.ai.dispatcher.experiment_result;
+
+import ai.metaheuristic.ai.yaml.experiment_result.ExperimentResultParamsYamlWithCache;
+import ai.metaheuristic.api.data.experiment.ExperimentApiData;
+import ai.metaheuristic.api.data.experiment_result.ExperimentResultParams;
+import ai.metaheuristic.api.data.experiment_result.ExperimentResultTaskParams;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Serge
+ * Date: 10/18/2026
+ * Time: 9:10 PM
+ */
+@Execution(ExecutionMode.CONCURRENT)
+class ExperimentResultColumnsTest {
+
+    private static final Long FEATURE_1 = 10L;
+    private static final Long FEATURE_2 = 11L;
+
+    private static ExperimentResultTaskParams task(long taskId, int execState, Map<String, String> inline, double metric) {
+        ExperimentResultTaskParams task = new ExperimentResultTaskParams();
+        task.taskId = taskId;
+        task.execState = execState;
+        task.taskParams = new ExperimentResultTaskParams.TaskParams(inline, inline);
+        task.metrics.values.put("roc", BigDecimal.valueOf(metric));
+        task.metrics.values.put("loss", BigDecimal.ONE);
+        return task;
+    }
+
+    private static ExperimentResultColumns create() {
+        ExperimentResultParams erp = new ExperimentResultParams();
+        erp.hyperParams.add(new ExperimentApiData.HyperParam("a", "[1, 2, 3]", 3));
+        erp.hyperParams.add(new ExperimentApiData.HyperParam("b", "[x, y]", 2));
+        erp.hyperParams.add(new ExperimentApiData.HyperParam("c", "5", 1));
+        for (long taskId = 1; taskId <= 7; taskId++) {
+            ExperimentResultParams.ExperimentTaskFeature tf = new ExperimentResultParams.ExperimentTaskFeature();
+            tf.taskId = taskId;
+            tf.featureId = taskId <= 6 ? FEATURE_1 : FEATURE_2;
+            tf.taskType = (int) (taskId % 3);
+            erp.taskFeatures.add(tf);
+        }
+
+        ExperimentResultColumns.Builder builder = new ExperimentResultColumns.Builder(42L, new ExperimentResultParamsYamlWithCache(erp));
+        // tasks are added not in order of taskId
+        builder.add(task(6, 3, Map.of("a", "3", "b", "y", "c", "5"), 6));
+        builder.add(task(1, 3, Map.of("a", "1", "b", "x", "c", "5"), 1));
+        builder.add(task(2, 3, Map.of("a", "2", "b", "x", "c", "5"), 2));
+        builder.add(task(3, 3, Map.of("a", "3", "b", "x"), 3));
+        // isn't finished
+        builder.add(task(4, 1, Map.of("a", "1", "b", "y", "c", "5"), 4));
+        // unknown value of hyper-param
+        builder.add(task(5, 3, Map.of("a", "99", "b", "y", "c", "5"), 5));
+        builder.add(task(7, 3, Map.of("a", "1", "b", "x", "c", "5"), 7));
+        return builder.build();
+    }
+
+    private static long[] taskIds(ExperimentResultColumns columns, int[] rows) {
+        return Arrays.stream(rows).mapToLong(columns::taskId).toArray();
+    }
+
+    @Test
+    public void test_select() {
+        ExperimentResultColumns columns = create();
+        assertEquals(7, columns.size());
+
+        assertArrayEquals(new long[]{1, 2, 3, 5, 6}, taskIds(columns, columns.select(FEATURE_1, new String[0])));
+        assertArrayEquals(new long[]{7}, taskIds(columns, columns.select(FEATURE_2, new String[]{"", " "})));
+        assertArrayEquals(new long[0], taskIds(columns, columns.select(12L, new String[0])));
+
+        // variants of one hyper-param are OR-ed
+        assertArrayEquals(new long[]{1, 3, 6}, taskIds(columns, columns.select(FEATURE_1, new String[]{"a-0", "a-2"})));
+        // different hyper-params are AND-ed
+        assertArrayEquals(new long[]{1, 3}, taskIds(columns, columns.select(FEATURE_1, new String[]{"a-0", "a-2", "b-0"})));
+        // hyper-param with one variant isn't filtered, a task without such variable isn't filtered by it too
+        assertArrayEquals(new long[]{1, 2, 3, 5, 6}, taskIds(columns, columns.select(FEATURE_1, new String[]{"c-0"})));
+        assertArrayEquals(new long[]{3}, taskIds(columns, columns.select(FEATURE_1, new String[]{"c-0", "a-2", "b-0"})));
+        // unknown value of hyper-param can't be matched
+        assertArrayEquals(new long[0], taskIds(columns, columns.select(FEATURE_1, new String[]{"a-5"})));
+    }
+
+    @Test
+    public void test_taskType() {
+        ExperimentResultColumns columns = create();
+        int[] rows = columns.select(FEATURE_1, new String[0]);
+        for (int row : rows) {
+            assertEquals(columns.taskId(row) % 3, columns.taskType(row));
+        }
+    }
+
+    @Test
+    public void test_sumMetric() {
+        ExperimentResultColumns columns = create();
+        BigDecimal[][] z = new BigDecimal[2][3];
+        for (BigDecimal[] row : z) {
+            Arrays.fill(row, BigDecimal.ZERO);
+        }
+        columns.sumMetric(columns.select(FEATURE_1, new String[0]), "a", Map.of("1", 0, "2", 1, "3", 2), "b", Map.of("x", 0, "y", 1), z);
+
+        // the first metric of task is summed, an unknown value of hyper-param is placed to the first cell
+        assertEquals(0, BigDecimal.valueOf(1).compareTo(z[0][0]));
+        assertEquals(0, BigDecimal.valueOf(2).compareTo(z[0][1]));
+        assertEquals(0, BigDecimal.valueOf(3).compareTo(z[0][2]));
+        assertEquals(0, BigDecimal.valueOf(5).compareTo(z[1][0]));
+        assertEquals(0, BigDecimal.ZERO.compareTo(z[1][1]));
+        assertEquals(0, BigDecimal.valueOf(6).compareTo(z[1][2]));
+    }
+}
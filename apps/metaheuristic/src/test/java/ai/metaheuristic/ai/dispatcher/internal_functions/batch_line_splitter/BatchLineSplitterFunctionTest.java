@@ -0,0 +1,181 @@
+/*
+ * Metaheuristic, Copyright (C) 2017-2025, Innovation platforms, LLC
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package ai.metaheuristic.ai.dispatcher.internal_functions.batch_line_splitter;
+
+import ai.metaheuristic.ai.Enums;
+import ai.metaheuristic.ai.dispatcher.beans.Variable;
+import ai.metaheuristic.ai.dispatcher.internal_functions.InternalFunctionVariableService;
+import ai.metaheuristic.ai.dispatcher.variable.VariableUtils;
+import ai.metaheuristic.ai.exceptions.InternalFunctionException;
+import ai.metaheuristic.api.data.exec_context.ExecContextApiData;
+import ai.metaheuristic.api.data.exec_context.ExecContextParamsYaml;
+import ai.metaheuristic.commons.yaml.task.TaskParamsYaml;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Sub-process tasks are created by batches, each batch in its own transaction, and edges to descendants
+ * are created only with the last batch. When a batch fails, tasks of already committed batches must be deleted.
+ *
+ * Test approach: hand-rolled fakes which subclass the services with null collaborators,
+ * any unexpected call would NPE.
+ *
+ * @author Serge
+ * Date: 10/18/2026
+ * Time: 5:10 PM
+ */
+@Execution(ExecutionMode.CONCURRENT)
+class BatchLineSplitterFunctionTest {
+
+    private static final AtomicLong ID_SEQUENCE = new AtomicLong(2_000_000);
+
+    private static final class ContentVariableService extends InternalFunctionVariableService {
+        private final String content;
+
+        ContentVariableService(String content) {
+            super(null, null, null, null, null, null, null, null);
+            this.content = content;
+        }
+
+        @Override
+        public List<VariableUtils.VariableHolder> discoverVariables(Long execContextId, String taskContextId, String name) {
+            Variable v = new Variable();
+            v.id = 1L;
+            v.name = name;
+            return List.of(new VariableUtils.VariableHolder(v));
+        }
+
+        @Override
+        public void storeToFile(VariableUtils.VariableHolder holder, Path file) {
+            try {
+                Files.writeString(file, content, StandardCharsets.UTF_8);
+            }
+            catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        }
+    }
+
+    private static final class RecordingTxService extends BatchLineSplitterTxService {
+        private final int failAtCall;
+        final List<Integer> batchSizes = new ArrayList<>();
+        final List<Boolean> lastBatches = new ArrayList<>();
+        final List<String> deletedFor = new ArrayList<>();
+
+        RecordingTxService(int failAtCall) {
+            super(null, null, null, null, null, null, null, null, null);
+            this.failAtCall = failAtCall;
+        }
+
+        @Override
+        public Void createTasksTx(
+                ExecContextApiData.SimpleExecContext simpleExecContext, Long taskId, TaskParamsYaml taskParamsYaml,
+                List<Path> chunkFiles, int prevTaskNumber, List<Long> lastIds, boolean lastBatch) {
+            batchSizes.add(chunkFiles.size());
+            lastBatches.add(lastBatch);
+            if (batchSizes.size()==failAtCall) {
+                throw new InternalFunctionException(Enums.InternalFunctionProcessing.system_error, "batch #" + failAtCall + " was failed");
+            }
+            return null;
+        }
+
+        @Override
+        public Void deleteSubProcessTasksTx(ExecContextApiData.SimpleExecContext simpleExecContext, Long taskId, String taskContextId) {
+            deletedFor.add(taskId + ":" + taskContextId);
+            return null;
+        }
+    }
+
+    private static ExecContextApiData.SimpleExecContext simpleExecContext() {
+        long id = ID_SEQUENCE.incrementAndGet();
+        return new ExecContextApiData.SimpleExecContext(1L, id, id, id, id, 1L, 1L, new ExecContextParamsYaml());
+    }
+
+    private static TaskParamsYaml taskParamsYaml() {
+        TaskParamsYaml tpy = new TaskParamsYaml();
+        tpy.task.taskContextId = "1";
+        tpy.task.metas.add(Map.of(BatchLineSplitterFunction.VARIABLE_FOR_SPLITTING, "text"));
+        tpy.task.metas.add(Map.of(BatchLineSplitterFunction.NUMBER_OF_LINES_PER_TASK, "1"));
+        return tpy;
+    }
+
+    private static String lines(int count) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            sb.append("line ").append(i).append('\n');
+        }
+        return sb.toString();
+    }
+
+    @Test
+    public void test_failureInSecondBatch_deletesCommittedTasks() {
+        RecordingTxService txService = new RecordingTxService(2);
+        BatchLineSplitterFunction function = new BatchLineSplitterFunction(new ContentVariableService(lines(250)), txService);
+
+        assertThrows(InternalFunctionException.class, () -> function.process(simpleExecContext(), 42L, "1", taskParamsYaml()));
+
+        assertEquals(List.of(100, 100), txService.batchSizes);
+        assertEquals(List.of(false, false), txService.lastBatches);
+        assertEquals(List.of("42:1"), txService.deletedFor);
+    }
+
+    @Test
+    public void test_failureInLastBatch_deletesCommittedTasks() {
+        RecordingTxService txService = new RecordingTxService(4);
+        BatchLineSplitterFunction function = new BatchLineSplitterFunction(new ContentVariableService(lines(250)), txService);
+
+        assertThrows(InternalFunctionException.class, () -> function.process(simpleExecContext(), 42L, "1", taskParamsYaml()));
+
+        assertEquals(List.of(100, 100, 50, 0), txService.batchSizes);
+        assertEquals(List.of(false, false, false, true), txService.lastBatches);
+        assertEquals(List.of("42:1"), txService.deletedFor);
+    }
+
+    @Test
+    public void test_failureInFirstBatch_nothingToDelete() {
+        RecordingTxService txService = new RecordingTxService(1);
+        BatchLineSplitterFunction function = new BatchLineSplitterFunction(new ContentVariableService(lines(250)), txService);
+
+        assertThrows(InternalFunctionException.class, () -> function.process(simpleExecContext(), 42L, "1", taskParamsYaml()));
+
+        assertEquals(List.of(100), txService.batchSizes);
+        assertTrue(txService.deletedFor.isEmpty());
+    }
+
+    @Test
+    public void test_noFailure() {
+        RecordingTxService txService = new RecordingTxService(-1);
+        BatchLineSplitterFunction function = new BatchLineSplitterFunction(new ContentVariableService(lines(250)), txService);
+
+        function.process(simpleExecContext(), 42L, "1", taskParamsYaml());
+
+        assertEquals(List.of(100, 100, 50, 0), txService.batchSizes);
+        assertTrue(txService.deletedFor.isEmpty());
+    }
+}
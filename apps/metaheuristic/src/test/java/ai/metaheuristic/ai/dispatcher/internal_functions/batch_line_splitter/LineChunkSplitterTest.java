@@ -0,0 +1,88 @@
+/*
+ * Metaheuristic, Copyright (C) 2017-2025, Innovation platforms, LLC
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package ai.metaheuristic.ai.dispatcher.internal_functions.batch_line_splitter;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Serge
+ * Date: 10/18/2026
+ * Time: 4:40 PM
+ */
+@Execution(ExecutionMode.CONCURRENT)
+class LineChunkSplitterTest {
+
+    private static String read(Path file) throws Exception {
+        return Files.readString(file, StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void test_chunks(@TempDir Path dir) throws Exception {
+        String content = "line 1\r\nline 2\n\n   \nline 3\nстрока 4\nline 5\n";
+        LineChunkSplitter splitter = new LineChunkSplitter(new BufferedReader(new StringReader(content)), dir, 2);
+
+        List<Path> chunks = splitter.nextChunks(2);
+        assertEquals(2, chunks.size());
+        assertEquals("line 1\nline 2", read(chunks.get(0)));
+        assertEquals("line 3\nстрока 4", read(chunks.get(1)));
+        assertEquals(2, splitter.getChunkNumber());
+
+        chunks = splitter.nextChunks(2);
+        assertEquals(1, chunks.size());
+        assertEquals("line 5", read(chunks.get(0)));
+        assertEquals(3, splitter.getChunkNumber());
+
+        assertTrue(splitter.nextChunks(2).isEmpty());
+        assertTrue(splitter.nextChunks(2).isEmpty());
+    }
+
+    @Test
+    public void test_exactNumberOfLines(@TempDir Path dir) throws Exception {
+        LineChunkSplitter splitter = new LineChunkSplitter(new BufferedReader(new StringReader("a\nb\nc\nd\n\n\n")), dir, 2);
+
+        List<Path> chunks = splitter.nextChunks(10);
+        assertEquals(2, chunks.size());
+        assertEquals("a\nb", read(chunks.get(0)));
+        assertEquals("c\nd", read(chunks.get(1)));
+        assertTrue(splitter.nextChunks(10).isEmpty());
+    }
+
+    @Test
+    public void test_blankContent(@TempDir Path dir) throws Exception {
+        LineChunkSplitter splitter = new LineChunkSplitter(new BufferedReader(new StringReader("\n  \n\t\n")), dir, 5);
+        assertTrue(splitter.nextChunks(10).isEmpty());
+        assertEquals(0, splitter.getChunkNumber());
+    }
+
+    @Test
+    public void test_wrongNumberOfLines(@TempDir Path dir) {
+        assertThrows(IllegalArgumentException.class, () -> new LineChunkSplitter(new BufferedReader(new StringReader("a")), dir, 0));
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Metaheuristic, Copyright (C) 2017-2025, Innovation platforms, LLC
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package ai.metaheuristic.ai.dispatcher.keep_alive;
+
+import ai.metaheuristic.ai.yaml.communication.keep_alive.KeepAliveResponseParamYaml;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Serge
+ * Date: 10/18/2026
+ * Time: 7:10 PM
+ */
+@Execution(ExecutionMode.CONCURRENT)
+class KeepAliveStatusCacheTest {
+
+    private static final AtomicLong ID_SEQUENCE = new AtomicLong(2_000_000);
+
+    @Test
+    public void test_status() {
+        Long processorId = ID_SEQUENCE.incrementAndGet();
+        assertFalse(KeepAliveStatusCache.isStatusAccepted(processorId, "d1"));
+
+        KeepAliveStatusCache.acceptStatus(processorId, "d1");
+        assertTrue(KeepAliveStatusCache.isStatusAccepted(processorId, "d1"));
+        assertFalse(KeepAliveStatusCache.isStatusAccepted(processorId, "d2"));
+
+        KeepAliveStatusCache.acceptStatus(processorId, "d2");
+        assertFalse(KeepAliveStatusCache.isStatusAccepted(processorId, "d1"));
+        assertTrue(KeepAliveStatusCache.isStatusAccepted(processorId, "d2"));
+
+        KeepAliveStatusCache.evict(processorId);
+        assertFalse(KeepAliveStatusCache.isStatusAccepted(processorId, "d2"));
+    }
+
+    @Test
+    public void test_cores() {
+        Long processorId = ID_SEQUENCE.incrementAndGet();
+        assertNull(KeepAliveStatusCache.getAcceptedCores(processorId, "c1"));
+
+        List<KeepAliveResponseParamYaml.CoreInfo> coreInfos = new ArrayList<>();
+        coreInfos.add(new KeepAliveResponseParamYaml.CoreInfo(11L, "core-1"));
+        KeepAliveStatusCache.acceptCores(processorId, "c1", coreInfos);
+
+        // the accepted list isn't affected by changes of the source list
+        coreInfos.add(new KeepAliveResponseParamYaml.CoreInfo(12L, "core-2"));
+
+        List<KeepAliveResponseParamYaml.CoreInfo> accepted = KeepAliveStatusCache.getAcceptedCores(processorId, "c1");
+        assertNotNull(accepted);
+        assertEquals(1, accepted.size());
+        assertEquals("core-1", accepted.get(0).code);
+        assertNull(KeepAliveStatusCache.getAcceptedCores(processorId, "c2"));
+
+        // status and cores are accepted independently
+        assertFalse(KeepAliveStatusCache.isStatusAccepted(processorId, "c1"));
+    }
+}
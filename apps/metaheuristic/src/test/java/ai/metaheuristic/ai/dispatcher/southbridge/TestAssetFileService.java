@@ -83,9 +83,9 @@ public class TestAssetFileService {
         private final Path observedFile;
 
         RecordingVariableTxService(Path observedFile) {
-            // All 12 collaborators are null; safe because the only overridden method
+            // All 13 collaborators are null; safe because the only overridden method
             // never touches them, and any unstubbed call would NPE — see class javadoc.
-            super(null, null, null, null, null, null, null, null, null, null, null, null);
+            super(null, null, null, null, null, null, null, null, null, null, null, null, null);
             this.observedFile = observedFile;
         }
 
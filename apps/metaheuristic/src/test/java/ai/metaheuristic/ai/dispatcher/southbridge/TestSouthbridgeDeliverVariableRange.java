@@ -0,0 +1,211 @@
+/*
+ * Metaheuristic, Copyright (C) 2017-2025, Innovation platforms, LLC
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package ai.metaheuristic.ai.dispatcher.southbridge;
+
+import ai.metaheuristic.ai.Consts;
+import ai.metaheuristic.ai.Globals;
+import ai.metaheuristic.ai.dispatcher.DispatcherCommandProcessor;
+import ai.metaheuristic.ai.dispatcher.function.FunctionDataTxService;
+import ai.metaheuristic.ai.dispatcher.keep_alive.KeepAliveService;
+import ai.metaheuristic.ai.dispatcher.processor.ProcessorCache;
+import ai.metaheuristic.ai.dispatcher.processor.ProcessorTxService;
+import ai.metaheuristic.ai.dispatcher.variable.VariableTxService;
+import ai.metaheuristic.ai.dispatcher.variable_global.GlobalVariableTxService;
+import ai.metaheuristic.ai.exceptions.VariableIsNullException;
+import ai.metaheuristic.ai.utils.cleaner.CleanerInfo;
+import ai.metaheuristic.api.EnumsApi;
+import ai.metaheuristic.commons.spi.VariableDataRange;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.io.AbstractResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author Serge
+ * Date: 10/18/2026
+ * Time: 4:50 PM
+ */
+@Execution(ExecutionMode.CONCURRENT)
+public class TestSouthbridgeDeliverVariableRange {
+
+    private static final String CONTENT = "0123456789abcdefghijklmnopqrstuvwxyz";
+
+    private static SouthbridgeService createService(Path tempDir, VariableTxService variableTxService) throws Exception {
+        Path dispatcherTempPath = tempDir.resolve("dispatcher-temp");
+        Files.createDirectories(dispatcherTempPath);
+        Globals globals = new Globals();
+        globals.dispatcherTempPath = dispatcherTempPath;
+
+        return new SouthbridgeService(
+                globals,
+                variableTxService,
+                mock(GlobalVariableTxService.class),
+                mock(FunctionDataTxService.class),
+                mock(DispatcherCommandProcessor.class),
+                mock(KeepAliveService.class),
+                mock(ApplicationEventPublisher.class),
+                mock(ProcessorCache.class),
+                mock(ProcessorTxService.class)
+        );
+    }
+
+    // a storage with random access, the range is read directly from the file of storage
+    private static VariableTxService createRandomAccessStorage(Path blobFile) {
+        VariableTxService variableTxService = mock(VariableTxService.class);
+        when(variableTxService.getVariableDataRangeWithTx(anyLong(), anyLong(), anyLong()))
+                .thenAnswer(inv -> VariableDataRange.ofFile(blobFile, inv.getArgument(1), inv.getArgument(2)));
+        return variableTxService;
+    }
+
+    @Test
+    public void test_parseRangeHeader() {
+        assertEquals(new SouthbridgeService.DataRange(10, 10, true), SouthbridgeService.DataRange.parseRangeHeader("bytes=10-19"));
+        assertEquals(new SouthbridgeService.DataRange(10, Long.MAX_VALUE, true), SouthbridgeService.DataRange.parseRangeHeader("bytes=10-"));
+        assertEquals(new SouthbridgeService.DataRange(0, 1, true), SouthbridgeService.DataRange.parseRangeHeader(" bytes=0-0 "));
+
+        assertNull(SouthbridgeService.DataRange.parseRangeHeader(null));
+        // suffix ranges and multi-ranges aren't supported, the whole data will be returned
+        assertNull(SouthbridgeService.DataRange.parseRangeHeader("bytes=-10"));
+        assertNull(SouthbridgeService.DataRange.parseRangeHeader("bytes=0-1,5-6"));
+        assertNull(SouthbridgeService.DataRange.parseRangeHeader("bytes=20-10"));
+        assertNull(SouthbridgeService.DataRange.parseRangeHeader("items=0-10"));
+        assertNull(SouthbridgeService.DataRange.parseRangeHeader("bytes=a-b"));
+
+        assertEquals(SouthbridgeService.DataRange.WHOLE, SouthbridgeService.DataRange.of(null, 0, null));
+        assertEquals(new SouthbridgeService.DataRange(30, 10, false), SouthbridgeService.DataRange.of("10", 3, null));
+        assertEquals(new SouthbridgeService.DataRange(5, 2, true), SouthbridgeService.DataRange.of("10", 3, "bytes=5-6"));
+    }
+
+    @Test
+    @SneakyThrows
+    public void test_chunks_randomAccess_noTempFile(@TempDir Path tempDir) {
+        Path blobFile = tempDir.resolve("blob.bin");
+        Files.writeString(blobFile, CONTENT, StandardCharsets.UTF_8);
+        VariableTxService variableTxService = createRandomAccessStorage(blobFile);
+        SouthbridgeService service = createService(tempDir, variableTxService);
+
+        ByteArrayOutputStream all = new ByteArrayOutputStream();
+        int chunkNum = 0;
+        while (true) {
+            ResponseEntity<AbstractResource> entity = service.deliverVariable(null, "42", "10", chunkNum++).entity;
+            assertNotNull(entity);
+            assertEquals(HttpStatus.OK, entity.getStatusCode());
+            byte[] bytes = drain(entity);
+            assertEquals(Long.toString(bytes.length), entity.getHeaders().getFirst(Consts.HEADER_MH_CHUNK_SIZE));
+            all.writeBytes(bytes);
+            if (Boolean.parseBoolean(entity.getHeaders().getFirst(Consts.HEADER_MH_IS_LAST_CHUNK))) {
+                break;
+            }
+        }
+        assertEquals(4, chunkNum);
+        assertEquals(CONTENT, all.toString(StandardCharsets.UTF_8));
+
+        verify(variableTxService, never()).storeToFileWithTx(anyLong(), any(Path.class));
+        assertFalse(Files.exists(tempDir.resolve("dispatcher-temp").resolve("variable").resolve("variable-42")));
+    }
+
+    @Test
+    @SneakyThrows
+    public void test_httpRange(@TempDir Path tempDir) {
+        Path blobFile = tempDir.resolve("blob.bin");
+        Files.writeString(blobFile, CONTENT, StandardCharsets.UTF_8);
+        SouthbridgeService service = createService(tempDir, createRandomAccessStorage(blobFile));
+
+        ResponseEntity<AbstractResource> entity = service.deliverData(null, EnumsApi.DataType.variable, "42", null, 0, "bytes=10-15").entity;
+        assertNotNull(entity);
+        assertEquals(HttpStatus.PARTIAL_CONTENT, entity.getStatusCode());
+        assertEquals("bytes 10-15/" + CONTENT.length(), entity.getHeaders().getFirst(HttpHeaders.CONTENT_RANGE));
+        assertEquals("abcdef", new String(drain(entity), StandardCharsets.UTF_8));
+        assertEquals("false", entity.getHeaders().getFirst(Consts.HEADER_MH_IS_LAST_CHUNK));
+
+        entity = service.deliverData(null, EnumsApi.DataType.variable, "42", null, 0, "bytes=30-").entity;
+        assertNotNull(entity);
+        assertEquals(HttpStatus.PARTIAL_CONTENT, entity.getStatusCode());
+        assertEquals("uvwxyz", new String(drain(entity), StandardCharsets.UTF_8));
+        assertEquals("true", entity.getHeaders().getFirst(Consts.HEADER_MH_IS_LAST_CHUNK));
+
+        entity = service.deliverData(null, EnumsApi.DataType.variable, "42", null, 0, "bytes=100-").entity;
+        assertNotNull(entity);
+        assertEquals(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE, entity.getStatusCode());
+        assertEquals("bytes */" + CONTENT.length(), entity.getHeaders().getFirst(HttpHeaders.CONTENT_RANGE));
+    }
+
+    @Test
+    @SneakyThrows
+    public void test_chunks_fallbackToTempFile(@TempDir Path tempDir) {
+        VariableTxService variableTxService = mock(VariableTxService.class);
+        // storage without random access
+        when(variableTxService.getVariableDataRangeWithTx(anyLong(), anyLong(), anyLong())).thenReturn(null);
+        doAnswer(inv -> {
+            Files.writeString(inv.getArgument(1), CONTENT, StandardCharsets.UTF_8);
+            return null;
+        }).when(variableTxService).storeToFileWithTx(anyLong(), any(Path.class));
+        SouthbridgeService service = createService(tempDir, variableTxService);
+
+        ResponseEntity<AbstractResource> entity = service.deliverVariable(null, "43", "10", 2).entity;
+        assertNotNull(entity);
+        assertEquals("klmnopqrst", new String(drain(entity), StandardCharsets.UTF_8));
+        assertEquals("false", entity.getHeaders().getFirst(Consts.HEADER_MH_IS_LAST_CHUNK));
+
+        entity = service.deliverVariable(null, "43", "10", 5).entity;
+        assertNotNull(entity);
+        assertEquals(HttpStatus.OK, entity.getStatusCode());
+        assertEquals("0", entity.getHeaders().getFirst(Consts.HEADER_MH_CHUNK_SIZE));
+        assertEquals("true", entity.getHeaders().getFirst(Consts.HEADER_MH_IS_LAST_CHUNK));
+
+        verify(variableTxService, times(1)).storeToFileWithTx(anyLong(), any(Path.class));
+    }
+
+    @Test
+    @SneakyThrows
+    public void test_nullifiedVariable(@TempDir Path tempDir) {
+        VariableTxService variableTxService = mock(VariableTxService.class);
+        when(variableTxService.getVariableDataRangeWithTx(anyLong(), anyLong(), anyLong()))
+                .thenThrow(new VariableIsNullException("nullified", 44L));
+        SouthbridgeService service = createService(tempDir, variableTxService);
+
+        CleanerInfo cleanerInfo = service.deliverVariable(null, "44", "10", 0);
+        assertNotNull(cleanerInfo.entity);
+        assertEquals(HttpStatus.NO_CONTENT, cleanerInfo.entity.getStatusCode());
+    }
+
+    @SneakyThrows
+    private static byte[] drain(ResponseEntity<AbstractResource> entity) {
+        AbstractResource body = entity.getBody();
+        assertNotNull(body);
+        try (InputStream is = body.getInputStream()) {
+            return is.readAllBytes();
+        }
+    }
+}
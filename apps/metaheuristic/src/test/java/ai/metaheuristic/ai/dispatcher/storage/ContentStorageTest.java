@@ -0,0 +1,87 @@
+/*
+ * Metaheuristic, Copyright (C) 2017-2025, Innovation platforms, LLC
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package ai.metaheuristic.ai.dispatcher.storage;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Serge
+ * Date: 10/18/2026
+ * Time: 8:15 PM
+ */
+@Execution(ExecutionMode.CONCURRENT)
+public class ContentStorageTest {
+
+    private static final byte[] DATA = "some data of variable".getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    public void test_sameData_isStoredOnce(@TempDir Path dir) throws Exception {
+        ContentAddressedBlobStorageService.ContentStorage storage = new ContentAddressedBlobStorageService.ContentStorage(dir);
+
+        ContentAddressedBlobStorageService.StoredContent c1 = storage.store(new ByteArrayInputStream(DATA));
+        ContentAddressedBlobStorageService.StoredContent c2 = storage.store(new ByteArrayInputStream(DATA));
+
+        assertEquals(c1, c2);
+        assertEquals(DATA.length, c1.length());
+        assertEquals(64, c1.sha256().length());
+
+        Path path = storage.getPath(c1.sha256());
+        assertArrayEquals(DATA, Files.readAllBytes(path));
+        try (Stream<Path> files = Files.walk(dir)) {
+            assertEquals(1, files.filter(Files::isRegularFile).count());
+        }
+
+        ContentAddressedBlobStorageService.StoredContent c3 = storage.store(new ByteArrayInputStream("other data".getBytes(StandardCharsets.UTF_8)));
+        assertNotEquals(c1.sha256(), c3.sha256());
+        assertTrue(Files.exists(storage.getPath(c3.sha256())));
+    }
+
+    @Test
+    public void test_deleteIfNotTouchedSince(@TempDir Path dir) throws Exception {
+        ContentAddressedBlobStorageService.ContentStorage storage = new ContentAddressedBlobStorageService.ContentStorage(dir);
+        ContentAddressedBlobStorageService.StoredContent c = storage.store(new ByteArrayInputStream(DATA));
+        Path path = storage.getPath(c.sha256());
+
+        long now = System.currentTimeMillis();
+        Files.setLastModifiedTime(path, FileTime.fromMillis(now));
+        assertFalse(storage.deleteIfNotTouchedSince(c.sha256(), now - 60_000));
+        assertTrue(Files.exists(path));
+
+        Files.setLastModifiedTime(path, FileTime.fromMillis(now - 120_000));
+        // storing the same data again touches the file
+        storage.store(new ByteArrayInputStream(DATA));
+        assertFalse(storage.deleteIfNotTouchedSince(c.sha256(), now - 60_000));
+
+        Files.setLastModifiedTime(path, FileTime.fromMillis(now - 120_000));
+        assertTrue(storage.deleteIfNotTouchedSince(c.sha256(), now - 60_000));
+        assertFalse(Files.exists(path));
+        assertFalse(storage.deleteIfNotTouchedSince(c.sha256(), now - 60_000));
+    }
+}
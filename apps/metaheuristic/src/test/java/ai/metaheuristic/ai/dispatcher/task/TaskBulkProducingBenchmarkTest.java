@@ -0,0 +1,170 @@
+/*
+ * Metaheuristic, Copyright (C) 2017-2025, Innovation platforms, LLC
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package ai.metaheuristic.ai.dispatcher.task;
+
+import ai.metaheuristic.ai.dispatcher.commons.JdbcBatchUtils;
+import ai.metaheuristic.ai.dispatcher.data.ExecContextData;
+import ai.metaheuristic.ai.dispatcher.exec_context_graph.ExecContextGraphResidentCache;
+import ai.metaheuristic.ai.yaml.exec_context_graph.ExecContextGraphPackUtils;
+import org.jgrapht.graph.DefaultEdge;
+import org.jgrapht.graph.DirectedAcyclicGraph;
+import org.junit.jupiter.api.Disabled;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fan-out of 10k tasks: a mutation of graph and a single-row insert per task, as
+ * TaskProducingService.createTasksForSubProcesses() does, vs one mutation of graph and
+ * JDBC batches, as TaskBulkProducingService does.
+ *
+ * @author Serge
+ * Date: 10/18/2026
+ * Time: 6:45 PM
+ */
+public class TaskBulkProducingBenchmarkTest {
+
+    private static final int TASKS = 10_000;
+    private static final long PARENT_TASK_ID = 1L;
+
+    private static final String INSERT_TASK_SQL =
+            "insert into MH_TASK (VERSION, PARAMS, UPDATED_ON, IS_COMPLETED, EXEC_CONTEXT_ID, EXEC_STATE, IS_RESULT_RECEIVED, RESULT_RESOURCE_SCHEDULED_ON) " +
+            "values (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    // a typical params of task with a few variables, the content doesn't matter for inserting
+    private static final String PARAMS = "version: 1\ntask:\n  execContextId: 1\n  processCode: process-1\n" + "  inputs: []\n".repeat(20);
+
+    private static final AtomicInteger DB_NUMBER = new AtomicInteger();
+
+    private static DirectedAcyclicGraph<ExecContextData.TaskVertex, DefaultEdge> createInitialGraph() {
+        DirectedAcyclicGraph<ExecContextData.TaskVertex, DefaultEdge> graph = ExecContextGraphPackUtils.createGraph();
+        graph.addVertex(new ExecContextData.TaskVertex(PARENT_TASK_ID, "1"));
+        return graph;
+    }
+
+    @Disabled
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Fork(1)
+    @State(Scope.Benchmark)
+    @Warmup(iterations = 2)
+    @Measurement(iterations = 5)
+    public static class FanOut {
+
+        public JdbcTemplate jdbcTemplate;
+        public DirectedAcyclicGraph<ExecContextData.TaskVertex, DefaultEdge> graph;
+
+        @Setup(Level.Invocation)
+        public void setup() {
+            jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(
+                    "jdbc:h2:mem:fan_out_" + DB_NUMBER.incrementAndGet() + ";DB_CLOSE_DELAY=-1", "sa", ""));
+            jdbcTemplate.execute("""
+                    CREATE TABLE mh_task
+                    (
+                        ID                           bigint generated by default as identity (start with 1) PRIMARY KEY,
+                        VERSION                      NUMERIC(5, 0)  NOT NULL,
+                        PARAMS                       MEDIUMTEXT     not null,
+                        CORE_ID                      NUMERIC(10, 0),
+                        ASSIGNED_ON                  bigint,
+                        UPDATED_ON                   bigint,
+                        COMPLETED_ON                 bigint,
+                        IS_COMPLETED                 tinyint     not null default 0,
+                        FUNCTION_EXEC_RESULTS        MEDIUMTEXT,
+                        EXEC_CONTEXT_ID              NUMERIC(10, 0) NOT NULL,
+                        EXEC_STATE                   tinyint     not null default 0,
+                        IS_RESULT_RECEIVED           tinyint     not null default 0,
+                        RESULT_RESOURCE_SCHEDULED_ON bigint,
+                        ACCESS_BY_PROCESSOR_ON       bigint
+                    )""");
+            graph = createInitialGraph();
+        }
+
+        @TearDown(Level.Invocation)
+        public void tearDown() {
+            jdbcTemplate.execute("SHUTDOWN");
+        }
+
+        @Benchmark
+        public String taskByTask() {
+            String packed = null;
+            for (int i = 0; i < TASKS; i++) {
+                Long taskId = jdbcTemplate.execute((ConnectionCallback<Long>) con -> {
+                    try (PreparedStatement ps = con.prepareStatement(INSERT_TASK_SQL, Statement.RETURN_GENERATED_KEYS)) {
+                        setValues(ps);
+                        ps.executeUpdate();
+                        try (ResultSet rs = ps.getGeneratedKeys()) {
+                            rs.next();
+                            return rs.getLong(1);
+                        }
+                    }
+                });
+                // the same as ExecContextGraphService.changeGraphWithState() does for each task
+                DirectedAcyclicGraph<ExecContextData.TaskVertex, DefaultEdge> copy = ExecContextGraphResidentCache.copyForMutation(graph);
+                ExecContextData.TaskVertex v = new ExecContextData.TaskVertex(taskId, "1,2#" + i);
+                copy.addVertex(v);
+                copy.addEdge(new ExecContextData.TaskVertex(PARENT_TASK_ID), v);
+                packed = ExecContextGraphPackUtils.pack(copy);
+                graph = copy;
+            }
+            return packed;
+        }
+
+        @Benchmark
+        public String bulk() {
+            List<long[]> tasks = new ArrayList<>(TASKS);
+            for (int i = 0; i < TASKS; i++) {
+                tasks.add(new long[1]);
+            }
+            JdbcBatchUtils.insertWithGeneratedIds(jdbcTemplate, INSERT_TASK_SQL, tasks,
+                    (ps, t) -> setValues(ps), (t, id) -> t[0] = id, t -> { throw new IllegalStateException("batch isn't supported"); });
+
+            DirectedAcyclicGraph<ExecContextData.TaskVertex, DefaultEdge> copy = ExecContextGraphResidentCache.copyForMutation(graph);
+            ExecContextData.TaskVertex parent = new ExecContextData.TaskVertex(PARENT_TASK_ID);
+            for (int i = 0; i < TASKS; i++) {
+                ExecContextData.TaskVertex v = new ExecContextData.TaskVertex(tasks.get(i)[0], "1,2#" + i);
+                copy.addVertex(v);
+                copy.addEdge(parent, v);
+            }
+            graph = copy;
+            return ExecContextGraphPackUtils.pack(copy);
+        }
+
+        private static void setValues(PreparedStatement ps) throws java.sql.SQLException {
+            ps.setInt(1, 0);
+            ps.setString(2, PARAMS);
+            ps.setLong(3, System.currentTimeMillis());
+            ps.setInt(4, 0);
+            ps.setLong(5, 1L);
+            ps.setInt(6, 0);
+            ps.setInt(7, 0);
+            ps.setLong(8, 0L);
+        }
+
+        public static void main(String[] args) throws Exception {
+            org.openjdk.jmh.Main.main(args);
+        }
+    }
+}
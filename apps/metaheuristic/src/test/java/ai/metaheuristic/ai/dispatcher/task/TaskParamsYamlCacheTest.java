@@ -0,0 +1,104 @@
+/*
+ * Metaheuristic, Copyright (C) 2017-2025, Innovation platforms, LLC
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package ai.metaheuristic.ai.dispatcher.task;
+
+import ai.metaheuristic.ai.dispatcher.beans.TaskImpl;
+import ai.metaheuristic.ai.yaml.task.TaskParamsYamlUtilsBenchmarkTest;
+import ai.metaheuristic.commons.yaml.task.TaskParamsYaml;
+import ai.metaheuristic.commons.yaml.task.TaskParamsYamlUtils;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Serge
+ * Date: 10/18/2026
+ * Time: 5:40 PM
+ */
+@Execution(ExecutionMode.CONCURRENT)
+class TaskParamsYamlCacheTest {
+
+    private static final AtomicLong ID_SEQUENCE = new AtomicLong(2_000_000);
+    private static final String PARAMS = TaskParamsYamlUtilsBenchmarkTest.createTaskParams();
+
+    private static TaskImpl loadTask(Long id, Integer version, String params) {
+        // emulation of loading by Hibernate, which sets fields directly
+        TaskImpl task = new TaskImpl();
+        task.id = id;
+        task.version = version;
+        task.setParams(params);
+        task.setParamsChanged(false);
+        return task;
+    }
+
+    @Test
+    void test_sameVersion_isShared() {
+        Long id = ID_SEQUENCE.incrementAndGet();
+        TaskParamsYaml tpy1 = loadTask(id, 1, PARAMS).getTaskParamsYaml();
+        TaskParamsYaml tpy2 = loadTask(id, 1, new String(PARAMS)).getTaskParamsYaml();
+        assertSame(tpy1, tpy2);
+    }
+
+    @Test
+    void test_changedVersionOrText_isReparsed() {
+        Long id = ID_SEQUENCE.incrementAndGet();
+        TaskParamsYaml tpy1 = loadTask(id, 1, PARAMS).getTaskParamsYaml();
+
+        TaskParamsYaml tpy2 = loadTask(id, 2, PARAMS).getTaskParamsYaml();
+        assertNotSame(tpy1, tpy2);
+
+        TaskParamsYaml changed = TaskParamsYamlUtils.UTILS.to(PARAMS);
+        changed.task.processCode = "process-02";
+        TaskParamsYaml tpy3 = loadTask(id, 2, TaskParamsYamlUtils.UTILS.toString(changed)).getTaskParamsYaml();
+        assertNotSame(tpy2, tpy3);
+        assertEquals("process-02", tpy3.task.processCode);
+    }
+
+    @Test
+    void test_forUpdate_isPrivate() {
+        Long id = ID_SEQUENCE.incrementAndGet();
+        TaskImpl task = loadTask(id, 1, PARAMS);
+        TaskParamsYaml shared = task.getTaskParamsYaml();
+
+        TaskParamsYaml tpy = task.getTaskParamsYamlForUpdate();
+        assertNotSame(shared, tpy);
+        tpy.task.processCode = "process-03";
+        task.updateParams(tpy);
+
+        assertEquals("process-03", task.getTaskParamsYaml().task.processCode);
+        assertEquals("process-01", shared.task.processCode);
+
+        // the entry was evicted, and an instance with the changed params isn't put to the cache before version is changed
+        TaskParamsYaml fresh = loadTask(id, 1, PARAMS).getTaskParamsYaml();
+        assertNotSame(shared, fresh);
+        assertEquals("process-01", fresh.task.processCode);
+    }
+
+    @Test
+    void test_notPersisted_isntCached() {
+        TaskImpl task = new TaskImpl();
+        task.setParams(PARAMS);
+        TaskParamsYaml tpy = task.getTaskParamsYaml();
+        assertNotNull(tpy.task);
+        assertEquals("process-01", tpy.task.processCode);
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Metaheuristic, Copyright (C) 2017-2025, Innovation platforms, LLC
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package ai.metaheuristic.ai.dispatcher.ws;
+
+import ai.metaheuristic.ai.Consts;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Serge
+ * Date: 10/18/2026
+ * Time: 11:20 PM
+ */
+@Execution(ExecutionMode.CONCURRENT)
+public class TaskOfferRegistryTest {
+
+    @Test
+    public void test_toProcessorId() {
+        assertEquals(42L, TaskOfferRegistry.toProcessorId(Consts.WS_PROCESSOR_TOPIC_PREFIX + "42"));
+        assertNull(TaskOfferRegistry.toProcessorId("/topic/events"));
+        assertNull(TaskOfferRegistry.toProcessorId(Consts.WS_PROCESSOR_TOPIC_PREFIX + "abc"));
+        assertNull(TaskOfferRegistry.toProcessorId(null));
+    }
+
+    @Test
+    public void test_onlySubscribedProcessorHasIdleCores() {
+        TaskOfferRegistry registry = new TaskOfferRegistry();
+        assertFalse(registry.registerRequest(1L, 11L, false, 0, List.of(), null, 1000));
+
+        registry.subscribe("s1", "sub-1", 1L);
+        assertTrue(registry.registerRequest(1L, 11L, false, 0, List.of(), null, 1000));
+        assertTrue(registry.registerRequest(1L, 12L, false, 0, List.of(), null, 900));
+        // core got a task with this request
+        assertFalse(registry.registerRequest(1L, 13L, false, 0, List.of(), 100L, 1000));
+
+        List<TaskOfferRegistry.IdleCore> idleCores = registry.getIdleCores(1000, 60_000);
+        assertEquals(List.of(12L, 11L), idleCores.stream().map(TaskOfferRegistry.IdleCore::coreId).toList());
+
+        registry.disconnect("s1");
+        assertFalse(registry.isSubscribed(1L));
+        assertTrue(registry.getIdleCores(1000, 60_000).isEmpty());
+    }
+
+    @Test
+    public void test_idleCoreIsForgotten() {
+        TaskOfferRegistry registry = new TaskOfferRegistry();
+        registry.subscribe("s1", "sub-1", 1L);
+        registry.registerRequest(1L, 11L, false, 0, List.of(), null, 1000);
+        assertEquals(1, registry.getIdleCores(2000, 5_000).size());
+        assertTrue(registry.getIdleCores(10_000, 5_000).isEmpty());
+    }
+
+    @Test
+    public void test_offerIsAccepted() {
+        TaskOfferRegistry registry = new TaskOfferRegistry();
+        registry.subscribe("s1", "sub-1", 1L);
+        registry.registerRequest(1L, 11L, false, 0, List.of(), null, 1000);
+
+        registry.addOffer(new TaskOfferRegistry.Offer(100L, 5L, 1L, 11L, 1000));
+        assertTrue(registry.hasOffer(11L));
+        assertTrue(registry.getIdleCores(1000, 60_000).isEmpty());
+
+        // core isn't idle while there is an offer for it
+        assertFalse(registry.registerRequest(1L, 11L, false, 0, List.of(), null, 1100));
+        assertTrue(registry.hasOffer(11L));
+
+        // core got the offered task
+        assertFalse(registry.registerRequest(1L, 11L, false, 0, List.of(), 100L, 1200));
+        assertFalse(registry.hasOffer(11L));
+        assertEquals(0, registry.offerCount());
+
+        registry.addOffer(new TaskOfferRegistry.Offer(101L, 5L, 1L, 11L, 1300));
+        // core reports the offered task as its own
+        registry.registerRequest(1L, 11L, false, 0, List.of(101L), null, 1400);
+        assertEquals(0, registry.offerCount());
+    }
+
+    @Test
+    public void test_expiredOffers() {
+        TaskOfferRegistry registry = new TaskOfferRegistry();
+        registry.addOffer(new TaskOfferRegistry.Offer(100L, 5L, 1L, 11L, 1000));
+        registry.addOffer(new TaskOfferRegistry.Offer(101L, 5L, 1L, 12L, 5000));
+
+        List<TaskOfferRegistry.Offer> expired = registry.removeExpiredOffers(7000, 3000);
+        assertEquals(1, expired.size());
+        assertEquals(100L, expired.get(0).taskId());
+        assertFalse(registry.hasOffer(11L));
+        assertTrue(registry.hasOffer(12L));
+        assertTrue(registry.removeExpiredOffers(7000, 3000).isEmpty());
+    }
+
+    @Test
+    public void test_unsubscribe() {
+        TaskOfferRegistry registry = new TaskOfferRegistry();
+        registry.subscribe("s1", "sub-1", 1L);
+        registry.subscribe("s2", "sub-1", 1L);
+        registry.registerRequest(1L, 11L, false, 0, List.of(), null, 1000);
+
+        registry.unsubscribe("s1", "sub-1");
+        assertTrue(registry.isSubscribed(1L));
+        assertEquals(1, registry.getIdleCores(1000, 60_000).size());
+
+        registry.unsubscribe("s2", "sub-1");
+        assertFalse(registry.isSubscribed(1L));
+        assertTrue(registry.getIdleCores(1000, 60_000).isEmpty());
+    }
+}
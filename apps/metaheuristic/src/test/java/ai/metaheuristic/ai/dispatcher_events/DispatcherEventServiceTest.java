@@ -71,7 +71,7 @@ public class DispatcherEventServiceTest extends MhSharedItTest {
 
         DispatcherApplicationEvent event = new DispatcherApplicationEvent(EnumsApi.DispatcherEventType.BATCH_FILE_UPLOADED, null, null, batchEventData);
 
-        dispatcherEventService.handleAsync(event);
+        dispatcherEventService.handleEvent(event);
 
         LocalDate localDate = LocalDate.now();
         int period = localDate.getYear()*100+localDate.getMonthValue();
@@ -16,6 +16,8 @@
 
 package ai.metaheuristic.ai.graph;
 
+import ai.metaheuristic.ai.dispatcher.exec_context_graph.ExecContextGraphService;
+import ai.metaheuristic.ai.yaml.exec_context_graph.ExecContextGraphDotUtils;
 import ai.metaheuristic.ai.yaml.exec_context_graph.ExecContextGraphParamsYaml;
 import ai.metaheuristic.ai.yaml.exec_context_graph.ExecContextGraphParamsYamlUtils;
 import lombok.AllArgsConstructor;
@@ -131,7 +133,7 @@ public class TestJGrapht {
 
     @Test
     public void test_() {
-        String gStr = ExecContextGraphParamsYamlUtils.BASE_YAML_UTILS.to(key).graph;
+        String gStr = ExecContextGraphDotUtils.asString(ExecContextGraphService.importExecContextGraph(ExecContextGraphParamsYamlUtils.BASE_YAML_UTILS.to(key)));
 
         Graph<String, DefaultEdge> graph = new DirectedAcyclicGraph<>(DefaultEdge.class);
         DOTImporter<String, DefaultEdge> importer = new DOTImporter<>();
@@ -16,12 +16,16 @@
 
 package ai.metaheuristic.ai.lucene;
 
+import ai.metaheuristic.ai.Enums;
 import ai.metaheuristic.ai.Globals;
 import ai.metaheuristic.ai.dispatcher.lucene.LuceneBucketLockedException;
 import ai.metaheuristic.ai.dispatcher.lucene.LuceneDocument;
 import ai.metaheuristic.ai.dispatcher.lucene.LuceneFieldValue;
 import ai.metaheuristic.ai.dispatcher.lucene.LuceneHit;
 import ai.metaheuristic.ai.dispatcher.lucene.LuceneIndexService;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.NIOFSDirectory;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -30,11 +34,13 @@ import org.junit.jupiter.api.parallel.ExecutionMode;
 
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Stream;
 
@@ -296,6 +302,143 @@ public class LuceneIndexServiceTest {
         assertEquals(0, written);
     }
 
+    // ==================== durability / directory ====================
+
+    private LuceneIndexService periodicService(int commitMaxDocs) {
+        Globals globals = new Globals();
+        globals.dispatcher.lucene.durability = Enums.LuceneDurability.periodic;
+        globals.dispatcher.lucene.commitMaxDocs = commitMaxDocs;
+        globals.dispatcherStoragePath = tempStorage;
+        return new LuceneIndexService(globals);
+    }
+
+    private Path bucketDir(String bucket) {
+        return tempStorage.resolve(LuceneIndexService.LUCENE_ROOT_DIR).resolve(bucket);
+    }
+
+    private static int committedDocs(Path bucketDir) throws Exception {
+        try (Directory dir = new NIOFSDirectory(bucketDir); DirectoryReader reader = DirectoryReader.open(dir)) {
+            return reader.numDocs();
+        }
+    }
+
+    @Test
+    public void test_periodic_changesAreSearchableBeforeCommit() throws Exception {
+        String bucket = "test-periodic-nrt";
+        LuceneIndexService periodic = periodicService(1000);
+        try {
+            periodic.addOrUpdate(bucket, new LuceneDocument("DRONE-1", Map.of(
+                    "text", LuceneFieldValue.analyzed("near real time"))));
+
+            assertEquals(1, periodic.search(bucket, "near", "text", Set.of(), 10).size());
+            assertEquals(0, committedDocs(bucketDir(bucket)));
+
+            periodic.commitPending();
+            assertEquals(1, committedDocs(bucketDir(bucket)));
+
+            periodic.delete(bucket, "DRONE-1");
+            assertEquals(0, periodic.search(bucket, "near", "text", Set.of(), 10).size());
+            assertEquals(1, committedDocs(bucketDir(bucket)));
+        } finally {
+            periodic.shutdown();
+        }
+        // shutdown commits whatever is pending
+        assertEquals(0, committedDocs(bucketDir(bucket)));
+    }
+
+    @Test
+    public void test_periodic_commitsAfterMaxDocs() throws Exception {
+        String bucket = "test-periodic-max-docs";
+        LuceneIndexService periodic = periodicService(2);
+        try {
+            periodic.addOrUpdate(bucket, new LuceneDocument("DRONE-1", Map.of(
+                    "text", LuceneFieldValue.analyzed("first"))));
+            assertEquals(0, committedDocs(bucketDir(bucket)));
+            periodic.addOrUpdate(bucket, new LuceneDocument("DRONE-2", Map.of(
+                    "text", LuceneFieldValue.analyzed("second"))));
+            assertEquals(2, committedDocs(bucketDir(bucket)));
+        } finally {
+            periodic.shutdown();
+        }
+    }
+
+    @Test
+    public void test_commitPerOp_everyChangeIsCommitted() throws Exception {
+        String bucket = "test-commit-per-op";
+        svc.addOrUpdate(bucket, new LuceneDocument("DRONE-1", Map.of(
+                "text", LuceneFieldValue.analyzed("durable"))));
+        assertEquals(1, committedDocs(bucketDir(bucket)));
+    }
+
+    @Test
+    public void test_writerIsReopenedAfterRebuild() {
+        String bucket = "test-rebuild-then-add";
+        svc.addOrUpdate(bucket, new LuceneDocument("OLD-1", Map.of(
+                "text", LuceneFieldValue.analyzed("stale"))));
+        svc.rebuildAtomic(bucket, Stream.of(new LuceneDocument("NEW-1", Map.of(
+                "text", LuceneFieldValue.analyzed("fresh")))));
+        svc.addOrUpdate(bucket, new LuceneDocument("NEW-2", Map.of(
+                "text", LuceneFieldValue.analyzed("fresh too"))));
+
+        assertEquals(0, svc.search(bucket, "stale", "text", Set.of(), 10).size());
+        assertEquals(2, svc.search(bucket, "fresh", "text", Set.of(), 10).size());
+    }
+
+    @Test
+    public void test_search_whileWriterReplacesReadOnlySearcher() throws Exception {
+        // after rebuildAtomic the bucket is served by a read-only SearcherManager, the first write
+        // replaces it by the NRT manager of the writer and closes it while readers may be acquiring it
+        for (int i = 0; i < 20; i++) {
+            String bucket = "test-replace-searcher-" + i;
+            svc.rebuildAtomic(bucket, Stream.of(new LuceneDocument("DOC-0", Map.of(
+                    "text", LuceneFieldValue.analyzed("searchable")))));
+
+            CountDownLatch started = new CountDownLatch(4);
+            AtomicBoolean done = new AtomicBoolean();
+            AtomicReference<Throwable> readerError = new AtomicReference<>();
+            List<Thread> readers = new ArrayList<>();
+            for (int r = 0; r < 4; r++) {
+                Thread t = new Thread(() -> {
+                    started.countDown();
+                    try {
+                        while (!done.get()) {
+                            assertFalse(svc.search(bucket, "searchable", "text", Set.of(), 10).isEmpty());
+                        }
+                    } catch (Throwable th) {
+                        readerError.compareAndSet(null, th);
+                    }
+                });
+                t.start();
+                readers.add(t);
+            }
+            started.await();
+            svc.addOrUpdate(bucket, new LuceneDocument("DOC-1", Map.of(
+                    "text", LuceneFieldValue.analyzed("searchable too"))));
+            done.set(true);
+            for (Thread t : readers) {
+                t.join(10_000);
+            }
+            assertNull(readerError.get());
+            assertEquals(2, svc.search(bucket, "searchable", "text", Set.of(), 10).size());
+        }
+    }
+
+    @Test
+    public void test_mmapBucket_addAndSearch() {
+        Globals globals = new Globals();
+        globals.dispatcherStoragePath = tempStorage;
+        globals.dispatcher.lucene.mmapBuckets = List.of("mmap-");
+        LuceneIndexService mmap = new LuceneIndexService(globals);
+        try {
+            String bucket = "mmap-bucket";
+            mmap.addOrUpdate(bucket, new LuceneDocument("DRONE-1", Map.of(
+                    "text", LuceneFieldValue.analyzed("mapped memory"))));
+            assertEquals(1, mmap.search(bucket, "mapped", "text", Set.of(), 10).size());
+        } finally {
+            mmap.shutdown();
+        }
+    }
+
     // Helper because Assertions.assertNull is sometimes shadowed by an import
     private static void assertNull(Object o) {
         if (o != null) {
@@ -0,0 +1,138 @@
+/*
+ * Metaheuristic, Copyright (C) 2017-2025, Innovation platforms, LLC
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package ai.metaheuristic.ai.processor;
+
+import ai.metaheuristic.ai.Consts;
+import ai.metaheuristic.ai.yaml.processor_task.ProcessorCoreTask;
+import ai.metaheuristic.ai.yaml.processor_task.ProcessorTaskUtils;
+import ai.metaheuristic.commons.utils.DirUtils;
+import org.apache.commons.io.file.PathUtils;
+import org.junit.jupiter.api.Disabled;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Processor with thousands of tasks: a transition of task's state, i.e. a rewriting of task.yaml
+ * vs an appending to journal, and a restoring of all tasks at startup, i.e. a parsing of all task.yaml
+ * vs a replaying of journal.
+ *
+ * @author Serge
+ * Date: 10/18/2026
+ * Time: 7:20 PM
+ */
+public class ProcessorTaskJournalBenchmarkTest {
+
+    private static final String PARAMS = "params of task\n".repeat(200);
+
+    @Disabled
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Fork(1)
+    @State(Scope.Benchmark)
+    @Warmup(iterations = 3, time = 2, timeUnit = TimeUnit.SECONDS)
+    @Measurement(iterations = 5, time = 2, timeUnit = TimeUnit.SECONDS)
+    public static class TaskYamlVsJournal {
+
+        @Param({"1000", "5000"})
+        public int tasks;
+
+        public Path temp;
+        public Path yamlDir;
+        public ProcessorTaskJournal journal;
+        public Map<Long, ProcessorCoreTask> map = new HashMap<>();
+        public long counter = 0;
+
+        @Setup
+        public void setup() throws IOException {
+            temp = Files.createTempDirectory("journal-benchmark-");
+            yamlDir = Files.createDirectories(temp.resolve("yaml"));
+            journal = new ProcessorTaskJournal(temp.resolve(Consts.TASK_JOURNAL));
+            for (long taskId = 1; taskId <= tasks; taskId++) {
+                ProcessorCoreTask task = ProcessorTaskJournalTest.createTask(taskId);
+                task.params = PARAMS;
+                map.put(taskId, task);
+                Path taskDir = Files.createDirectories(DirUtils.getPoweredPath(yamlDir, taskId));
+                ProcessorTaskService.actualSave(task, taskDir, taskDir.resolve(Consts.TASK_YAML));
+                journal.appendTask(task);
+            }
+        }
+
+        @TearDown
+        public void tearDown() throws IOException {
+            journal.close();
+            PathUtils.deleteDirectory(temp);
+        }
+
+        private ProcessorCoreTask nextTask() {
+            ProcessorCoreTask task = map.get(counter % tasks + 1);
+            task.reportedOn = ++counter;
+            return task;
+        }
+
+        @Benchmark
+        public ProcessorCoreTask transitionTaskYaml() throws IOException {
+            ProcessorCoreTask task = nextTask();
+            Path taskDir = DirUtils.getPoweredPath(yamlDir, task.taskId);
+            return ProcessorTaskService.actualSave(task, taskDir, taskDir.resolve(Consts.TASK_YAML));
+        }
+
+        @Benchmark
+        public ProcessorCoreTask transitionJournal() throws IOException {
+            ProcessorCoreTask task = nextTask();
+            journal.appendState(task);
+            if (journal.isCompactionNeeded(tasks)) {
+                journal.compact(map.values());
+            }
+            return task;
+        }
+
+        @Benchmark
+        @BenchmarkMode(Mode.SingleShotTime)
+        @OutputTimeUnit(TimeUnit.MILLISECONDS)
+        public Map<Long, ProcessorCoreTask> startupTaskYaml() throws IOException {
+            Map<Long, ProcessorCoreTask> result = new HashMap<>();
+            try (Stream<Path> stream = Files.walk(yamlDir)) {
+                for (Path taskYaml : stream.filter(p -> p.getFileName().toString().equals(Consts.TASK_YAML)).toList()) {
+                    try (InputStream is = Files.newInputStream(taskYaml)) {
+                        ProcessorCoreTask task = ProcessorTaskUtils.to(is);
+                        result.put(task.taskId, task);
+                    }
+                }
+            }
+            return result;
+        }
+
+        @Benchmark
+        @BenchmarkMode(Mode.SingleShotTime)
+        @OutputTimeUnit(TimeUnit.MILLISECONDS)
+        public Map<Long, ProcessorCoreTask> startupJournal() throws IOException {
+            return journal.replay();
+        }
+
+        public static void main(String[] args) throws Exception {
+            org.openjdk.jmh.Main.main(args);
+        }
+    }
+}
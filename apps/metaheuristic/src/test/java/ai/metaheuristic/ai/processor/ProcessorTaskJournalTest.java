@@ -0,0 +1,168 @@
+/*
+ * Metaheuristic, Copyright (C) 2017-2025, Innovation platforms, LLC
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package ai.metaheuristic.ai.processor;
+
+import ai.metaheuristic.ai.yaml.processor_task.ProcessorCoreTask;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.api.parallel.Execution;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.parallel.ExecutionMode.CONCURRENT;
+
+/**
+ * @author Serge
+ * Date: 10/18/2026
+ * Time: 6:55 PM
+ */
+@Execution(CONCURRENT)
+class ProcessorTaskJournalTest {
+
+    static ProcessorCoreTask createTask(long taskId) {
+        ProcessorCoreTask task = new ProcessorCoreTask();
+        task.taskId = taskId;
+        task.execContextId = 42L;
+        task.params = "params of task #" + taskId;
+        task.dispatcherUrl = "http://localhost:8080";
+        task.createdOn = System.currentTimeMillis();
+        task.quotas.quota = 3;
+        task.output.outputStatuses.add(new ProcessorCoreTask.OutputStatus(taskId * 10, false));
+        return task;
+    }
+
+    @Test
+    public void test_replay(@TempDir Path temp) throws Exception {
+        Path journalFile = temp.resolve("task").resolve("journal.bin");
+        try (ProcessorTaskJournal journal = new ProcessorTaskJournal(journalFile)) {
+            for (long taskId = 1; taskId <= 3; taskId++) {
+                ProcessorCoreTask task = createTask(taskId);
+                journal.appendTask(task);
+                task.launchedOn = 100L;
+                task.finishedOn = 200L;
+                task.output.outputStatuses.forEach(o -> o.uploaded = true);
+                journal.appendState(task);
+            }
+            journal.appendDelete(2L);
+            assertEquals(7, journal.getRecords());
+        }
+
+        ProcessorTaskJournal journal = new ProcessorTaskJournal(journalFile);
+        Map<Long, ProcessorCoreTask> tasks = journal.replay();
+        assertEquals(7, journal.getRecords());
+        assertEquals(2, tasks.size());
+        assertFalse(tasks.containsKey(2L));
+
+        ProcessorCoreTask task = tasks.get(3L);
+        assertNotNull(task);
+        // params are restored from the first record of task, the state - from the last one
+        assertEquals("params of task #3", task.params);
+        assertEquals(100L, task.launchedOn);
+        assertEquals(200L, task.finishedOn);
+        assertEquals(3, task.quotas.quota);
+        assertTrue(task.output.allUploaded());
+        journal.close();
+    }
+
+    @Test
+    public void test_brokenTail(@TempDir Path temp) throws Exception {
+        Path journalFile = temp.resolve("journal.bin");
+        try (ProcessorTaskJournal journal = new ProcessorTaskJournal(journalFile)) {
+            journal.appendTask(createTask(1L));
+            journal.appendTask(createTask(2L));
+        }
+        long length = Files.size(journalFile);
+        // a record which was torn by crash
+        Files.write(journalFile, new byte[]{0, 0, 1, 0, 12, 34, 56, 78, 2, 0, 0}, StandardOpenOption.APPEND);
+
+        try (ProcessorTaskJournal journal = new ProcessorTaskJournal(journalFile)) {
+            Map<Long, ProcessorCoreTask> tasks = journal.replay();
+            assertEquals(2, tasks.size());
+            assertEquals(length, Files.size(journalFile));
+
+            // records, which were appended after the cut, must be restored
+            journal.appendTask(createTask(3L));
+        }
+        assertEquals(3, new ProcessorTaskJournal(journalFile).replay().size());
+    }
+
+    @Test
+    public void test_brokenChecksum(@TempDir Path temp) throws Exception {
+        Path journalFile = temp.resolve("journal.bin");
+        try (ProcessorTaskJournal journal = new ProcessorTaskJournal(journalFile)) {
+            journal.appendTask(createTask(1L));
+        }
+        long length = Files.size(journalFile);
+        try (ProcessorTaskJournal journal = new ProcessorTaskJournal(journalFile)) {
+            journal.replay();
+            journal.appendTask(createTask(2L));
+        }
+        byte[] bytes = Files.readAllBytes(journalFile);
+        bytes[bytes.length - 3] ^= 0x55;
+        Files.write(journalFile, bytes);
+
+        Map<Long, ProcessorCoreTask> tasks = new ProcessorTaskJournal(journalFile).replay();
+        assertEquals(1, tasks.size());
+        assertTrue(tasks.containsKey(1L));
+        assertEquals(length, Files.size(journalFile));
+    }
+
+    @Test
+    public void test_compact(@TempDir Path temp) throws Exception {
+        Path journalFile = temp.resolve("journal.bin");
+        try (ProcessorTaskJournal journal = new ProcessorTaskJournal(journalFile)) {
+            ProcessorCoreTask task = createTask(1L);
+            journal.appendTask(task);
+            for (int i = 0; i < ProcessorTaskJournal.MIN_RECORDS_FOR_COMPACTION; i++) {
+                task.reportedOn = (long) i;
+                journal.appendState(task);
+            }
+            assertTrue(journal.isCompactionNeeded(1));
+            long length = Files.size(journalFile);
+
+            journal.compact(Map.of(1L, task).values());
+            assertEquals(1, journal.getRecords());
+            assertFalse(journal.isCompactionNeeded(1));
+            assertTrue(Files.size(journalFile) < length);
+
+            task.completed = true;
+            journal.appendState(task);
+        }
+        Map<Long, ProcessorCoreTask> tasks = new ProcessorTaskJournal(journalFile).replay();
+        ProcessorCoreTask task = tasks.get(1L);
+        assertNotNull(task);
+        assertEquals("params of task #1", task.params);
+        assertEquals(ProcessorTaskJournal.MIN_RECORDS_FOR_COMPACTION - 1, task.reportedOn);
+        assertTrue(task.completed);
+        assertTrue(Files.notExists(temp.resolve("journal.bin.tmp")));
+    }
+
+    @Test
+    public void test_withoutParams() {
+        ProcessorCoreTask task = createTask(1L);
+        task.empty.empties.add(new ProcessorCoreTask.EmptyStateOfInput("11", true));
+        ProcessorCoreTask state = ProcessorTaskJournal.withoutParams(task);
+        assertNull(state.params);
+        assertEquals("params of task #1", task.params);
+        state.params = task.params;
+        assertEquals(task, state);
+    }
+}
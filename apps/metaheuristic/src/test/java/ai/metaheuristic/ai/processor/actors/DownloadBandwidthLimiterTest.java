@@ -0,0 +1,59 @@
+/*
+ * Metaheuristic, Copyright (C) 2017-2025, Innovation platforms, LLC
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package ai.metaheuristic.ai.processor.actors;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.parallel.ExecutionMode.CONCURRENT;
+
+/**
+ * @author Serge
+ * Date: 10/18/2026
+ * Time: 8:30 PM
+ */
+@Execution(CONCURRENT)
+public class DownloadBandwidthLimiterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    public void test_unlimited() {
+        DownloadBandwidthLimiter limiter = new DownloadBandwidthLimiter(0);
+        assertTrue(limiter.isUnlimited());
+        assertEquals(0, limiter.reserve(1_000_000_000L, System.nanoTime()));
+    }
+
+    @Test
+    public void test_reserve() {
+        DownloadBandwidthLimiter limiter = new DownloadBandwidthLimiter(1000);
+        long now = System.nanoTime() + 10 * SECOND;
+
+        // after an idle time, one second of bandwidth can be used at once
+        assertEquals(0, limiter.reserve(1000, now));
+        // then the chunks are paced with the limit
+        assertEquals(SECOND / 2, limiter.reserve(500, now));
+        assertEquals(SECOND * 3 / 2, limiter.reserve(1000, now));
+
+        // the bandwidth is shared, the next chunk is placed after all reserved ones
+        assertEquals(SECOND * 3 / 2, limiter.reserve(1000, now + SECOND));
+    }
+}
@@ -16,15 +16,13 @@
 
 package ai.metaheuristic.ai.processor.actors;
 
+import ai.metaheuristic.ai.Consts;
+import org.apache.hc.core5.http.Header;
+import org.apache.hc.core5.http.message.BasicHeader;
 import org.junit.jupiter.api.Test;
-import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.api.parallel.Execution;
 
-import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-
-import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.*;
 import static org.junit.jupiter.api.parallel.ExecutionMode.CONCURRENT;
 
 /**
@@ -36,23 +34,28 @@ import static org.junit.jupiter.api.parallel.ExecutionMode.CONCURRENT;
 public class DownloadUtilsTest {
 
     @Test
-    public void test_combineParts(@TempDir Path temp) throws IOException {
-        String s1 = "part1\n";
-        String s2 = "part2\n";
-        Path p1 = temp.resolve("s.txt.0.tmp");
-        Files.writeString(p1, s1);
-
-        Path p2 = temp.resolve("s.txt.1.tmp");
-        Files.writeString(p2, s2);
-
-        Path r = temp.resolve("s-result.txt");
-
-
-        DownloadUtils.combineParts( temp.resolve("s.txt"), r, 1);
-
-
-        String s = Files.readString(r);
-        assertEquals(s1+s2, s);
+    public void test_chunkHeaders() {
+        Header[] headers = new Header[]{
+                new BasicHeader(Consts.HEADER_MH_CHUNK_SIZE, "1000"),
+                new BasicHeader(Consts.HEADER_MH_IS_LAST_CHUNK, "true"),
+                new BasicHeader(Consts.HEADER_MH_TOTAL_SIZE, " 5000 ")
+        };
+
+        assertTrue(DownloadUtils.isLastChunk(headers));
+        assertEquals(1000L, DownloadUtils.getChunkSize(headers));
+        assertEquals(5000L, DownloadUtils.getTotalSize(headers));
+    }
 
+    @Test
+    public void test_chunkHeaders_absent() {
+        Header[] headers = new Header[]{
+                new BasicHeader(Consts.HEADER_MH_IS_LAST_CHUNK, "false"),
+                new BasicHeader(Consts.HEADER_MH_TOTAL_SIZE, "")
+        };
+
+        assertFalse(DownloadUtils.isLastChunk(headers));
+        assertNull(DownloadUtils.getChunkSize(headers));
+        assertNull(DownloadUtils.getTotalSize(headers));
+        assertFalse(DownloadUtils.isLastChunk(new Header[0]));
     }
 }
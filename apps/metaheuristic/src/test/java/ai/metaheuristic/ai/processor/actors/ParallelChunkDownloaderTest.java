@@ -0,0 +1,203 @@
+/*
+ * Metaheuristic, Copyright (C) 2017-2025, Innovation platforms, LLC
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package ai.metaheuristic.ai.processor.actors;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.api.parallel.Execution;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.parallel.ExecutionMode.CONCURRENT;
+
+/**
+ * @author Serge
+ * Date: 10/18/2026
+ * Time: 6:15 PM
+ */
+@Execution(CONCURRENT)
+public class ParallelChunkDownloaderTest {
+
+    private static final int CHUNK_SIZE = 100;
+
+    private static byte[] createData(int size) {
+        byte[] data = new byte[size];
+        new Random(42).nextBytes(data);
+        return data;
+    }
+
+    // the same answers as dispatcher gives for chunkSize and chunkNum
+    private static ParallelChunkDownloader.ChunkResponse chunk(byte[] data, int chunkNum, boolean withTotalSize) {
+        int offset = chunkNum * CHUNK_SIZE;
+        int length = Math.max(0, Math.min(CHUNK_SIZE, data.length - offset));
+        byte[] body = length==0 ? new byte[0] : Arrays.copyOfRange(data, offset, offset + length);
+        return new ParallelChunkDownloader.ChunkResponse(200, body, (long) length, offset + length>=data.length, withTotalSize ? (long) data.length : null);
+    }
+
+    @Test
+    public void test_concurrentDownload(@TempDir Path temp) throws Exception {
+        byte[] data = createData(1050);
+        Path dataFile = temp.resolve("v.part");
+
+        // the first 4 requests wait for each other, so they can complete only if they were sent concurrently
+        CountDownLatch latch = new CountDownLatch(4);
+        AtomicInteger requests = new AtomicInteger();
+        ParallelChunkDownloader.Result result = ParallelChunkDownloader.download(dataFile, CHUNK_SIZE, 4, (chunkNum) -> {
+            if (requests.incrementAndGet()<=5 && chunkNum>0) {
+                latch.countDown();
+                try {
+                    assertTrue(latch.await(10, TimeUnit.SECONDS), "chunks weren't requested concurrently");
+                }
+                catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException(e);
+                }
+            }
+            return chunk(data, chunkNum, true);
+        });
+
+        assertTrue(result.isOk(), result.toString());
+        assertEquals(11, requests.get());
+        assertArrayEquals(data, Files.readAllBytes(dataFile));
+        assertFalse(Files.exists(ParallelChunkDownloader.stateFile(dataFile)));
+    }
+
+    @Test
+    public void test_resume(@TempDir Path temp) throws Exception {
+        byte[] data = createData(1000);
+        Path dataFile = temp.resolve("v.part");
+
+        ParallelChunkDownloader.Result result = ParallelChunkDownloader.download(dataFile, CHUNK_SIZE, 1, (chunkNum) ->
+                chunkNum==6 ? new ParallelChunkDownloader.ChunkResponse(502, new byte[0], null, false, null) : chunk(data, chunkNum, true));
+        assertEquals(ParallelChunkDownloader.Status.bad_gateway, result.status());
+        assertEquals(6, result.chunkNum());
+        assertTrue(Files.exists(ParallelChunkDownloader.stateFile(dataFile)));
+
+        Set<Integer> requested = ConcurrentHashMap.newKeySet();
+        result = ParallelChunkDownloader.download(dataFile, CHUNK_SIZE, 3, (chunkNum) -> {
+            requested.add(chunkNum);
+            return chunk(data, chunkNum, true);
+        });
+        assertTrue(result.isOk(), result.toString());
+        assertEquals(Set.of(6, 7, 8, 9), requested);
+        assertArrayEquals(data, Files.readAllBytes(dataFile));
+    }
+
+    @Test
+    public void test_corruptedChunk_isDownloadedAgain(@TempDir Path temp) throws Exception {
+        byte[] data = createData(1000);
+        Path dataFile = temp.resolve("v.part");
+
+        ParallelChunkDownloader.Result result = ParallelChunkDownloader.download(dataFile, CHUNK_SIZE, 2, (chunkNum) ->
+                chunkNum==9 ? new ParallelChunkDownloader.ChunkResponse(502, new byte[0], null, false, null) : chunk(data, chunkNum, true));
+        assertEquals(ParallelChunkDownloader.Status.bad_gateway, result.status());
+
+        // chunk #2 was recorded as completed but its data on disk was damaged
+        try (FileChannel channel = FileChannel.open(dataFile, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{(byte) ~data[250]}), 250);
+        }
+
+        result = ParallelChunkDownloader.download(dataFile, CHUNK_SIZE, 2, (chunkNum) -> chunk(data, chunkNum, true));
+        assertEquals(ParallelChunkDownloader.Status.transmitting_error, result.status());
+        assertEquals(2, result.chunkNum());
+
+        Set<Integer> requested = ConcurrentHashMap.newKeySet();
+        result = ParallelChunkDownloader.download(dataFile, CHUNK_SIZE, 2, (chunkNum) -> {
+            requested.add(chunkNum);
+            return chunk(data, chunkNum, true);
+        });
+        assertTrue(result.isOk(), result.toString());
+        assertEquals(Set.of(2), requested);
+        assertArrayEquals(data, Files.readAllBytes(dataFile));
+    }
+
+    @Test
+    public void test_consumer_receivesDataInOrder(@TempDir Path temp) throws Exception {
+        byte[] data = createData(1050);
+        Path dataFile = temp.resolve("f.part");
+
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        ParallelChunkDownloader.Result result = ParallelChunkDownloader.download(dataFile, CHUNK_SIZE, 2, (chunkNum) ->
+                chunkNum==7 ? new ParallelChunkDownloader.ChunkResponse(502, new byte[0], null, false, null) : chunk(data, chunkNum, true), digest::update);
+        assertEquals(ParallelChunkDownloader.Status.bad_gateway, result.status());
+
+        // a resumed download passes the whole data again, including chunks which were received before
+        digest = MessageDigest.getInstance("SHA-256");
+        result = ParallelChunkDownloader.download(dataFile, CHUNK_SIZE, 4, (chunkNum) -> chunk(data, chunkNum, true), digest::update);
+        assertTrue(result.isOk(), result.toString());
+        assertArrayEquals(MessageDigest.getInstance("SHA-256").digest(data), digest.digest());
+        assertArrayEquals(data, Files.readAllBytes(dataFile));
+    }
+
+    @Test
+    public void test_withoutTotalSize_sequential(@TempDir Path temp) throws Exception {
+        byte[] data = createData(250);
+        Path dataFile = temp.resolve("v.part");
+
+        AtomicInteger requests = new AtomicInteger();
+        ParallelChunkDownloader.Result result = ParallelChunkDownloader.download(dataFile, CHUNK_SIZE, 4, (chunkNum) -> {
+            assertEquals(requests.getAndIncrement(), chunkNum);
+            return chunk(data, chunkNum, false);
+        });
+        assertTrue(result.isOk(), result.toString());
+        assertEquals(3, requests.get());
+        assertArrayEquals(data, Files.readAllBytes(dataFile));
+    }
+
+    @Test
+    public void test_emptyData(@TempDir Path temp) throws Exception {
+        Path dataFile = temp.resolve("v.part");
+        ParallelChunkDownloader.Result result = ParallelChunkDownloader.download(dataFile, CHUNK_SIZE, 4, (chunkNum) -> chunk(new byte[0], chunkNum, true));
+        assertTrue(result.isOk(), result.toString());
+        assertEquals(0, Files.size(dataFile));
+    }
+
+    @Test
+    public void test_noContent(@TempDir Path temp) throws Exception {
+        Path dataFile = temp.resolve("v.part");
+        ParallelChunkDownloader.Result result = ParallelChunkDownloader.download(dataFile, CHUNK_SIZE, 4,
+                (chunkNum) -> new ParallelChunkDownloader.ChunkResponse(204, new byte[0], null, false, null));
+        assertEquals(ParallelChunkDownloader.Status.no_content, result.status());
+    }
+
+    @Test
+    public void test_wrongChunkSize(@TempDir Path temp) throws Exception {
+        byte[] data = createData(300);
+        Path dataFile = temp.resolve("v.part");
+        ParallelChunkDownloader.Result result = ParallelChunkDownloader.download(dataFile, CHUNK_SIZE, 4, (chunkNum) -> {
+            ParallelChunkDownloader.ChunkResponse r = chunk(data, chunkNum, true);
+            return chunkNum==1 ? new ParallelChunkDownloader.ChunkResponse(200, Arrays.copyOf(r.body(), 50), r.chunkSize(), false, r.totalSize()) : r;
+        });
+        assertEquals(ParallelChunkDownloader.Status.transmitting_error, result.status());
+        assertEquals(1, result.chunkNum());
+    }
+}
@@ -23,6 +23,7 @@ import ai.metaheuristic.ai.dispatcher.beans.VariableBlob;
 import ai.metaheuristic.ai.dispatcher.repositories.VariableBlobRepository;
 import ai.metaheuristic.ai.dispatcher.storage.DatabaseBlobPersistService;
 import ai.metaheuristic.commons.spi.GeneralBlobTxService;
+import org.apache.commons.codec.digest.DigestUtils;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.parallel.Execution;
 import org.junit.jupiter.api.parallel.ExecutionMode;
@@ -150,6 +151,27 @@ public class DatabaseBlobPersistServiceWormGuardTest extends MhSharedItTest {
         assertArrayEquals(content, readBlob(blobId));
     }
 
+    /**
+     * SHA-256 and length are computed while data is being stored, so the cache key doesn't need to read the blob.
+     */
+    @Test
+    public void test_storeVariable_sha256AndLengthAreStored() {
+        final Long blobId = generalBlobTxService.createEmptyVariable();
+        final byte[] content = "content-with-checksum".getBytes(StandardCharsets.UTF_8);
+        databaseBlobPersistService.storeVariable(blobId, new ByteArrayInputStream(content), content.length);
+
+        final byte[] other = "other-content".getBytes(StandardCharsets.UTF_8);
+        final Long otherBlobId = databaseBlobPersistService.createVariableWithData(new ByteArrayInputStream(other), other.length);
+
+        VariableBlob vb = variableBlobRepository.findById(blobId).orElseThrow();
+        assertEquals(DigestUtils.sha256Hex(content), vb.getSha256());
+        assertEquals(content.length, vb.getDataLength());
+
+        VariableBlob otherVb = variableBlobRepository.findById(otherBlobId).orElseThrow();
+        assertEquals(DigestUtils.sha256Hex(other), otherVb.getSha256());
+        assertEquals(other.length, otherVb.getDataLength());
+    }
+
     private byte[] readBlob(Long blobId) {
         return new TransactionTemplate(txManager).execute(status -> {
             VariableBlob vb = variableBlobRepository.findById(blobId).orElseThrow();
@@ -0,0 +1,124 @@
+/*
+ * Metaheuristic, Copyright (C) 2017-2025, Innovation platforms, LLC
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package ai.metaheuristic.ai.task;
+
+import ai.metaheuristic.ai.dispatcher.beans.TaskImpl;
+import ai.metaheuristic.ai.dispatcher.task.TaskQueue;
+import ai.metaheuristic.ai.dispatcher.task.TaskQueueSyncStaticService;
+import ai.metaheuristic.api.EnumsApi;
+import ai.metaheuristic.commons.CommonConsts;
+import ai.metaheuristic.commons.yaml.task.TaskParamsYaml;
+import org.junit.jupiter.api.Disabled;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Simulates hundreds of cores which are polling the queue concurrently:
+ * check of empty queue, iteration over groups, claiming of a task and lookups by taskId,
+ * while state of tasks is being changed under the write lock of queue.
+ *
+ * @author Serge
+ * Date: 10/18/2026
+ * Time: 5:40 PM
+ */
+public class TaskQueueBenchmarkTest {
+
+    private static final int EXEC_CONTEXTS = 20;
+    private static final int TASKS_PER_EXEC_CONTEXT = 5_000;
+
+    private static TaskQueue.QueuedTask createTask(Long execContextId, Long taskId, int priority) {
+        TaskImpl task = new TaskImpl();
+        task.execContextId = execContextId;
+        task.id = taskId;
+        task.execState = EnumsApi.TaskExecState.NONE.value;
+        TaskParamsYaml taskParamYaml = new TaskParamsYaml();
+        taskParamYaml.task.taskContextId = CommonConsts.TOP_LEVEL_CONTEXT_ID;
+        return new TaskQueue.QueuedTask(EnumsApi.FunctionExecContext.external, execContextId, taskId, task, taskParamYaml, null, priority);
+    }
+
+    @Disabled
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Fork(1)
+    @Threads(256)
+    @State(Scope.Benchmark)
+    @Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+    @Measurement(iterations = 10, time = 1, timeUnit = TimeUnit.SECONDS)
+    public static class CoresPolling {
+
+        public TaskQueue taskQueue;
+
+        @Setup
+        public void setup() {
+            taskQueue = new TaskQueue();
+            long taskId = 1;
+            for (long execContextId = 1; execContextId <= EXEC_CONTEXTS; execContextId++) {
+                for (int i = 0; i < TASKS_PER_EXEC_CONTEXT; i++) {
+                    taskQueue.addNewTask(createTask(execContextId, taskId++, (int) (execContextId % 3)));
+                }
+                taskQueue.lock(execContextId);
+            }
+        }
+
+        /**
+         * A poll of core: skip assigned or claimed tasks, claim the first free one,
+         * then the task is either assigned or the claim is released
+         */
+        @Benchmark
+        public void pollAndClaim(Blackhole bh) {
+            if (taskQueue.isQueueEmpty()) {
+                return;
+            }
+            TaskQueue.GroupIterator iter = taskQueue.getIterator();
+            while (iter.hasNext()) {
+                TaskQueue.AllocatedTask allocatedTask = iter.next();
+                if (allocatedTask.isClaimed() || !allocatedTask.tryClaim()) {
+                    continue;
+                }
+                try {
+                    bh.consume(allocatedTask.queuedTask.taskId);
+                }
+                finally {
+                    allocatedTask.releaseClaim();
+                }
+                return;
+            }
+        }
+
+        @Benchmark
+        public boolean alreadyRegistered() {
+            return taskQueue.alreadyRegistered(ThreadLocalRandom.current().nextLong(1, EXEC_CONTEXTS * TASKS_PER_EXEC_CONTEXT));
+        }
+
+        /**
+         * Change of state of task, as it's done by SetTaskExecStateInQueueEvent
+         */
+        @Benchmark
+        public boolean setTaskExecState() {
+            long taskId = ThreadLocalRandom.current().nextLong(1, EXEC_CONTEXTS * TASKS_PER_EXEC_CONTEXT);
+            long execContextId = (taskId - 1) / TASKS_PER_EXEC_CONTEXT + 1;
+            return TaskQueueSyncStaticService.getWithSync(
+                    () -> taskQueue.setTaskExecState(execContextId, taskId, EnumsApi.TaskExecState.NONE));
+        }
+
+        public static void main(String[] args) throws Exception {
+            org.openjdk.jmh.Main.main(args);
+        }
+    }
+}
@@ -429,4 +429,61 @@ public class TaskQueueTest {
         assertEquals(1, taskQueue.groupCount(), "Should be able to add tasks after resetAll");
         assertTrue(taskQueue.alreadyRegistered(301L), "Newly added task should be registered");
     }
-}
\ No newline at end of file
+
+    @Test
+    public void test_taskIdIndex() {
+        final TaskQueue taskQueue = new TaskQueue(1, 2);
+
+        TaskQueue.QueuedTask task_1_1 = createTask(1L, 11L, 0);
+        TaskQueue.QueuedTask task_1_2 = createTask(1L, 12L, 0);
+        TaskQueue.QueuedTask task_1_3 = createTask(1L, 13L, 0);
+        TaskQueue.QueuedTask task_2_1 = createTask(2L, 21L, 0);
+
+        taskQueue.addNewTask(task_1_1);
+        taskQueue.addNewTask(task_1_2);
+        taskQueue.addNewTask(task_1_3);
+        taskQueue.addNewTask(task_2_1);
+
+        assertNotNull(taskQueue.getTaskExecState(1L, 13L));
+        // wrong execContextId
+        assertNull(taskQueue.getTaskExecState(2L, 13L));
+        assertNotNull(taskQueue.alreadyRegisteredAsTask(21L));
+
+        taskQueue.lock(1L);
+        taskQueue.startTaskProcessing(1L, 11L);
+        taskQueue.startTaskProcessing(1L, 12L);
+        assertFalse(taskQueue.setTaskExecState(1L, 11L, EnumsApi.TaskExecState.OK));
+        assertTrue(taskQueue.setTaskExecState(1L, 12L, EnumsApi.TaskExecState.OK));
+
+        // groups are reset outside of queue after transferring of states
+        TaskQueue.TaskGroups taskGroups = taskQueue.getTaskGroupForTransferring(1L);
+        assertEquals(1, taskGroups.groups.size());
+        taskGroups.reset();
+
+        assertFalse(taskQueue.alreadyRegistered(11L));
+        assertFalse(taskQueue.alreadyRegistered(12L));
+        assertTrue(taskQueue.alreadyRegistered(13L));
+
+        taskQueue.deRegisterTask(1L, 13L);
+        assertFalse(taskQueue.alreadyRegistered(13L));
+
+        taskQueue.deleteByExecContextId(2L);
+        assertFalse(taskQueue.alreadyRegistered(21L));
+    }
+
+    @Test
+    public void test_claim() {
+        final TaskQueue taskQueue = new TaskQueue(1, 5);
+        TaskQueue.QueuedTask task_1_1 = createTask(1L, 11L, 0);
+        taskQueue.addNewTask(task_1_1);
+
+        TaskQueue.AllocatedTask allocatedTask = taskQueue.alreadyRegisteredAsTask(11L);
+        assertNotNull(allocatedTask);
+        assertTrue(allocatedTask.tryClaim());
+        assertFalse(allocatedTask.tryClaim());
+        assertTrue(allocatedTask.isClaimed());
+        allocatedTask.releaseClaim();
+        assertFalse(allocatedTask.isClaimed());
+        assertTrue(allocatedTask.tryClaim());
+    }
+}
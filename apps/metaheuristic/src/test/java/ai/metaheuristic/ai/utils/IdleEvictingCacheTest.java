@@ -0,0 +1,80 @@
+/*
+ * Metaheuristic, Copyright (C) 2017-2025, Innovation platforms, LLC
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package ai.metaheuristic.ai.utils;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Serge
+ * Date: 10/18/2026
+ * Time: 10:40 PM
+ */
+@Execution(ExecutionMode.CONCURRENT)
+public class IdleEvictingCacheTest {
+
+    @Test
+    public void test_get_put_remove() {
+        IdleEvictingCache<Long, String> cache = new IdleEvictingCache<>("test", 10, TimeUnit.MINUTES.toMillis(1));
+        assertNull(cache.get(1L));
+
+        cache.put(1L, "v1");
+        assertEquals("v1", cache.get(1L));
+        assertEquals(new IdleEvictingCache.Stats(1, 1, 1), cache.getStats());
+
+        cache.remove(1L);
+        assertNull(cache.get(1L));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void test_invalidValue_isMiss() {
+        IdleEvictingCache<Long, String> cache = new IdleEvictingCache<>("test", 10, TimeUnit.MINUTES.toMillis(1));
+        cache.put(1L, "v1");
+
+        assertNull(cache.get(1L, "v2"::equals));
+        assertEquals("v1", cache.get(1L, "v1"::equals));
+        assertEquals(1, cache.getStats().hits());
+        assertEquals(1, cache.getStats().misses());
+    }
+
+    @Test
+    public void test_computeIfAbsent_createsOnce() {
+        IdleEvictingCache<Long, String> cache = new IdleEvictingCache<>("test", 10, TimeUnit.MINUTES.toMillis(1));
+        AtomicInteger created = new AtomicInteger();
+
+        assertEquals("v1", cache.computeIfAbsent(1L, k -> "v" + k + created.incrementAndGet()).substring(0, 2));
+        assertEquals("v11", cache.computeIfAbsent(1L, k -> "v" + k + created.incrementAndGet()));
+        assertEquals(1, created.get());
+    }
+
+    @Test
+    public void test_sizeIsBounded() {
+        IdleEvictingCache<Integer, String> cache = new IdleEvictingCache<>("test", 100, TimeUnit.MINUTES.toMillis(1));
+        for (int i = 0; i < 1_000; i++) {
+            cache.put(i, "v" + i);
+            assertTrue(cache.size() <= 100);
+        }
+        assertTrue(cache.size() >= 90);
+    }
+}
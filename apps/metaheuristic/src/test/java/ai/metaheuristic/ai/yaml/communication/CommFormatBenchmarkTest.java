@@ -0,0 +1,107 @@
+/*
+ * Metaheuristic, Copyright (C) 2017-2025, Innovation platforms, LLC
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package ai.metaheuristic.ai.yaml.communication;
+
+import ai.metaheuristic.ai.yaml.communication.dispatcher.DispatcherCommParamsYaml;
+import ai.metaheuristic.ai.yaml.communication.dispatcher.DispatcherCommParamsYamlUtils;
+import ai.metaheuristic.ai.yaml.communication.processor.ProcessorCommParamsYaml;
+import ai.metaheuristic.ai.yaml.communication.processor.ProcessorCommParamsYamlUtils;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+import static ai.metaheuristic.ai.yaml.communication.CommFormatUtils.CommFormat;
+
+/**
+ * Size and throughput of YAML vs gzip-JSON for /srv-v2 exchange, i.e. a processor with 16 cores,
+ * each of them is requesting a task, and a response with a task assigned to each core.
+ *
+ * @author Serge
+ * Date: 10/18/2026
+ * Time: 3:20 PM
+ */
+public class CommFormatBenchmarkTest {
+
+    private static final int CORES = 16;
+
+    @Disabled
+    @Test
+    public void test_sizes() {
+        ProcessorCommParamsYaml pcpy = CommFormatUtilsTest.createProcessorComm(CORES);
+        DispatcherCommParamsYaml dcpy = CommFormatUtilsTest.createDispatcherComm(CORES);
+        for (CommFormat format : CommFormat.values()) {
+            int request = CommFormatUtils.encode(format, ProcessorCommParamsYamlUtils.BASE_YAML_UTILS, pcpy).length;
+            int response = CommFormatUtils.encode(format, DispatcherCommParamsYamlUtils.BASE_YAML_UTILS, dcpy).length;
+            System.out.println(format + ", request: " + request + ", response: " + response);
+        }
+    }
+
+    @Disabled
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @Fork(1)
+    @State(Scope.Benchmark)
+    @Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+    @Measurement(iterations = 10, time = 1, timeUnit = TimeUnit.SECONDS)
+    public static class YamlVsGzipJson {
+
+        @Param({"yaml", "gzipJson"})
+        public CommFormat format;
+
+        public ProcessorCommParamsYaml request;
+        public DispatcherCommParamsYaml response;
+        public byte[] requestBytes;
+        public byte[] responseBytes;
+
+        @Setup
+        public void setup() {
+            request = CommFormatUtilsTest.createProcessorComm(CORES);
+            response = CommFormatUtilsTest.createDispatcherComm(CORES);
+            requestBytes = CommFormatUtils.encode(format, ProcessorCommParamsYamlUtils.BASE_YAML_UTILS, request);
+            responseBytes = CommFormatUtils.encode(format, DispatcherCommParamsYamlUtils.BASE_YAML_UTILS, response);
+        }
+
+        /**
+         * work of dispatcher for one request: parsing of processor's request and serializing of response
+         */
+        @Benchmark
+        public byte[] dispatcherSide() {
+            ProcessorCommParamsYaml pcpy = CommFormatUtils.decode(
+                    format, ProcessorCommParamsYamlUtils.BASE_YAML_UTILS, ProcessorCommParamsYaml.class, requestBytes);
+            if (pcpy.request.cores.size()!=CORES) {
+                throw new IllegalStateException();
+            }
+            return CommFormatUtils.encode(format, DispatcherCommParamsYamlUtils.BASE_YAML_UTILS, response);
+        }
+
+        /**
+         * work of processor for one request: serializing of request and parsing of dispatcher's response
+         */
+        @Benchmark
+        public DispatcherCommParamsYaml processorSide() {
+            CommFormatUtils.encode(format, ProcessorCommParamsYamlUtils.BASE_YAML_UTILS, request);
+            return CommFormatUtils.decode(
+                    format, DispatcherCommParamsYamlUtils.BASE_YAML_UTILS, DispatcherCommParamsYaml.class, responseBytes);
+        }
+
+        public static void main(String[] args) throws Exception {
+            org.openjdk.jmh.Main.main(args);
+        }
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ * Metaheuristic, Copyright (C) 2017-2025, Innovation platforms, LLC
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package ai.metaheuristic.ai.yaml.communication;
+
+import ai.metaheuristic.ai.exceptions.CommPayloadTooLargeException;
+import ai.metaheuristic.ai.yaml.communication.dispatcher.DispatcherCommParamsYaml;
+import ai.metaheuristic.ai.yaml.communication.dispatcher.DispatcherCommParamsYamlUtils;
+import ai.metaheuristic.ai.yaml.communication.keep_alive.KeepAliveRequestParamYaml;
+import ai.metaheuristic.ai.yaml.communication.keep_alive.KeepAliveRequestParamYamlUtils;
+import ai.metaheuristic.ai.yaml.communication.processor.ProcessorCommParamsYaml;
+import ai.metaheuristic.ai.yaml.communication.processor.ProcessorCommParamsYamlUtils;
+import ai.metaheuristic.api.EnumsApi;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static ai.metaheuristic.ai.yaml.communication.CommFormatUtils.CommFormat;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Serge
+ * Date: 10/18/2026
+ * Time: 3:05 PM
+ */
+@Execution(ExecutionMode.CONCURRENT)
+public class CommFormatUtilsTest {
+
+    public static ProcessorCommParamsYaml createProcessorComm(int cores) {
+        ProcessorCommParamsYaml pcpy = new ProcessorCommParamsYaml();
+        pcpy.request.processorCommContext = new ProcessorCommParamsYaml.ProcessorCommContext(42L, "session-42");
+        pcpy.request.currentQuota = 17;
+        for (int i = 0; i < cores; i++) {
+            ProcessorCommParamsYaml.Core core = new ProcessorCommParamsYaml.Core("core-" + i, 100L + i, null);
+            core.requestTask = new ProcessorCommParamsYaml.RequestTask(true, "11,12,13");
+            pcpy.request.cores.add(core);
+        }
+        return pcpy;
+    }
+
+    public static DispatcherCommParamsYaml createDispatcherComm(int cores) {
+        DispatcherCommParamsYaml dcpy = new DispatcherCommParamsYaml();
+        for (int i = 0; i < cores; i++) {
+            DispatcherCommParamsYaml.AssignedTask at = new DispatcherCommParamsYaml.AssignedTask(
+                    "params of task #" + i, 1000L + i, 15L, EnumsApi.ExecContextState.STARTED, "tag1", 99);
+            dcpy.response.cores.add(new DispatcherCommParamsYaml.Core("core-" + i, 100L + i, at));
+        }
+        return dcpy;
+    }
+
+    @Test
+    public void test_negotiate() {
+        assertEquals(CommFormat.yaml, CommFormatUtils.negotiate(null));
+        assertEquals(CommFormat.yaml, CommFormatUtils.negotiate(""));
+        assertEquals(CommFormat.yaml, CommFormatUtils.negotiate("gzip-json;v=0.0.0.0"));
+        assertEquals(CommFormat.gzipJson, CommFormatUtils.negotiate(CommFormatUtils.GZIP_JSON_FORMAT));
+        assertEquals(CommFormat.gzipJson, CommFormatUtils.negotiate("something-else, " + CommFormatUtils.GZIP_JSON_FORMAT));
+    }
+
+    @Test
+    public void test_requestFormat() {
+        assertEquals(CommFormat.yaml, CommFormatUtils.requestFormat(null));
+        assertEquals(CommFormat.gzipJson, CommFormatUtils.requestFormat(CommFormatUtils.GZIP_JSON_FORMAT));
+        assertThrows(IllegalArgumentException.class, () -> CommFormatUtils.requestFormat("gzip-json;v=0.0.0.0"));
+
+        assertEquals(CommFormat.yaml, CommFormatUtils.responseFormat(null));
+        assertEquals(CommFormat.yaml, CommFormatUtils.responseFormat("gzip-json;v=0.0.0.0"));
+        assertEquals(CommFormat.gzipJson, CommFormatUtils.responseFormat(CommFormatUtils.GZIP_JSON_FORMAT));
+    }
+
+    @Test
+    public void test_processorComm_gzipJson() {
+        ProcessorCommParamsYaml pcpy = createProcessorComm(3);
+
+        byte[] bytes = CommFormatUtils.encode(CommFormat.gzipJson, ProcessorCommParamsYamlUtils.BASE_YAML_UTILS, pcpy);
+        ProcessorCommParamsYaml pcpy1 = CommFormatUtils.decode(CommFormat.gzipJson, ProcessorCommParamsYamlUtils.BASE_YAML_UTILS, ProcessorCommParamsYaml.class, bytes);
+
+        assertEquals(pcpy.version, pcpy1.version);
+        assertNotNull(pcpy1.request.processorCommContext);
+        assertEquals(42L, pcpy1.request.processorCommContext.processorId);
+        assertEquals("session-42", pcpy1.request.processorCommContext.sessionId);
+        assertEquals(17, pcpy1.request.currentQuota);
+        assertEquals(3, pcpy1.request.cores.size());
+        assertEquals("core-2", pcpy1.request.cores.get(2).code);
+        assertEquals(102L, pcpy1.request.cores.get(2).coreId);
+        assertNotNull(pcpy1.request.cores.get(2).requestTask);
+        assertEquals("11,12,13", pcpy1.request.cores.get(2).requestTask.taskIds);
+        assertTrue(pcpy1.request.cores.get(2).requestTask.acceptOnlySigned);
+    }
+
+    @Test
+    public void test_dispatcherComm_gzipJson() {
+        DispatcherCommParamsYaml dcpy = createDispatcherComm(2);
+        dcpy.success = false;
+        dcpy.msg = "msg #1";
+
+        byte[] bytes = CommFormatUtils.encode(CommFormat.gzipJson, DispatcherCommParamsYamlUtils.BASE_YAML_UTILS, dcpy);
+        DispatcherCommParamsYaml dcpy1 = CommFormatUtils.decode(CommFormat.gzipJson, DispatcherCommParamsYamlUtils.BASE_YAML_UTILS, DispatcherCommParamsYaml.class, bytes);
+
+        assertFalse(dcpy1.success);
+        assertEquals("msg #1", dcpy1.msg);
+        assertEquals(2, dcpy1.response.cores.size());
+        DispatcherCommParamsYaml.AssignedTask at = dcpy1.response.cores.get(1).assignedTask;
+        assertNotNull(at);
+        assertEquals(1001L, at.taskId);
+        assertEquals(EnumsApi.ExecContextState.STARTED, at.state);
+        assertEquals("params of task #1", at.params);
+    }
+
+    @Test
+    public void test_keepAlive_gzipJson() {
+        KeepAliveRequestParamYaml karpy = new KeepAliveRequestParamYaml();
+        karpy.processor.processorCommContext = new KeepAliveRequestParamYaml.ProcessorCommContext(42L, "session-42");
+        karpy.cores.add(new KeepAliveRequestParamYaml.Core("/core-1", 101L, "core-1", "tag1, tag2"));
+
+        byte[] bytes = CommFormatUtils.encode(CommFormat.gzipJson, KeepAliveRequestParamYamlUtils.BASE_YAML_UTILS, karpy);
+        KeepAliveRequestParamYaml karpy1 = CommFormatUtils.decode(CommFormat.gzipJson, KeepAliveRequestParamYamlUtils.BASE_YAML_UTILS, KeepAliveRequestParamYaml.class, bytes);
+
+        assertNotNull(karpy1.processor.processorCommContext);
+        assertEquals(42L, karpy1.processor.processorCommContext.processorId);
+        assertEquals(1, karpy1.cores.size());
+        assertEquals("core-1", karpy1.cores.get(0).coreCode);
+        assertEquals("tag1, tag2", karpy1.cores.get(0).tags);
+    }
+
+    @Test
+    public void test_gzipJson_maxSize() throws IOException {
+        ProcessorCommParamsYaml pcpy = createProcessorComm(3);
+        byte[] bytes = CommFormatUtils.toGzipJson(pcpy);
+        int jsonSize;
+        try (InputStream is = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+            jsonSize = is.readAllBytes().length;
+        }
+
+        assertEquals(3, CommFormatUtils.fromGzipJson(bytes, ProcessorCommParamsYaml.class, jsonSize).request.cores.size());
+        assertThrows(CommPayloadTooLargeException.class, () -> CommFormatUtils.fromGzipJson(bytes, ProcessorCommParamsYaml.class, jsonSize - 1));
+    }
+
+    @Test
+    public void test_gzipJson_bomb_isRejected() throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (OutputStream os = new GZIPOutputStream(baos)) {
+            byte[] spaces = new byte[64 * 1024];
+            Arrays.fill(spaces, (byte) ' ');
+            for (int i = 0; i < 1024; i++) {
+                os.write(spaces);
+            }
+        }
+        byte[] bomb = baos.toByteArray();
+
+        assertThrows(CommPayloadTooLargeException.class,
+                () -> CommFormatUtils.decode(CommFormat.gzipJson, ProcessorCommParamsYamlUtils.BASE_YAML_UTILS, ProcessorCommParamsYaml.class, bomb, 1024 * 1024));
+    }
+
+    @Test
+    public void test_yaml_isSameAsBefore() {
+        ProcessorCommParamsYaml pcpy = createProcessorComm(1);
+        byte[] bytes = CommFormatUtils.encode(CommFormat.yaml, ProcessorCommParamsYamlUtils.BASE_YAML_UTILS, pcpy);
+        assertEquals(ProcessorCommParamsYamlUtils.BASE_YAML_UTILS.toString(pcpy), new String(bytes, StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Metaheuristic, Copyright (C) 2017-2025, Innovation platforms, LLC
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package ai.metaheuristic.ai.yaml.communication.keep_alive;
+
+import ai.metaheuristic.ai.yaml.communication.CommFormatUtils;
+import ai.metaheuristic.api.EnumsApi;
+import ai.metaheuristic.commons.utils.GtiUtils;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Serge
+ * Date: 10/18/2026
+ * Time: 6:55 PM
+ */
+@Execution(ExecutionMode.CONCURRENT)
+public class KeepAliveDigestUtilsTest {
+
+    private static KeepAliveRequestParamYaml createRequest() {
+        KeepAliveRequestParamYaml karpy = new KeepAliveRequestParamYaml();
+        KeepAliveRequestParamYaml.Env env = new KeepAliveRequestParamYaml.Env();
+        env.envs.put("python-3", "/usr/bin/python3");
+        env.envs.put("java-21", "/usr/bin/java");
+        env.mirrors.put("https://github.com/sergmain/metaheuristic.git", "/mirrors/mh");
+        env.disk.add(new KeepAliveRequestParamYaml.DiskStorage("storage", "/data"));
+        env.quotas.limit = 10;
+        env.quotas.values.add(new KeepAliveRequestParamYaml.Quota("tag1", 5, false));
+
+        karpy.processor.status = new KeepAliveRequestParamYaml.ProcessorStatus(
+                env, new GtiUtils.GitStatusInfo(EnumsApi.GitStatus.installed, "2.40", null),
+                "workingDay: 0:00-23:59", "127.0.0.1", "localhost", true, 3, EnumsApi.OS.linux, "/mh",
+                null, "spki", "fingerprint");
+        karpy.processor.processorCommContext = new KeepAliveRequestParamYaml.ProcessorCommContext(42L, "session-42");
+        karpy.cores.add(new KeepAliveRequestParamYaml.Core("/mh/core-2", 12L, "core-2", "tag1"));
+        karpy.cores.add(new KeepAliveRequestParamYaml.Core("/mh/core-1", 11L, "core-1", null));
+        return karpy;
+    }
+
+    @Test
+    public void test_statusDigest() {
+        KeepAliveRequestParamYaml karpy = createRequest();
+        final String digest = KeepAliveDigestUtils.statusDigest(karpy.processor.status);
+        assertEquals(digest, KeepAliveDigestUtils.statusDigest(createRequest().processor.status));
+
+        KeepAliveRequestParamYaml.ProcessorStatus status = createRequest().processor.status;
+        status.env.envs.put("python-3", "/opt/python3");
+        assertNotEquals(digest, KeepAliveDigestUtils.statusDigest(status));
+
+        status = createRequest().processor.status;
+        status.env.quotas.values.get(0).disabled = true;
+        assertNotEquals(digest, KeepAliveDigestUtils.statusDigest(status));
+
+        status = createRequest().processor.status;
+        status.addError("error");
+        assertNotEquals(digest, KeepAliveDigestUtils.statusDigest(status));
+
+        // an empty list of errors is the same as no errors
+        status = createRequest().processor.status;
+        status.errors = List.of();
+        assertEquals(digest, KeepAliveDigestUtils.statusDigest(status));
+
+        // null value differs from the string "null"
+        status = createRequest().processor.status;
+        status.keyFingerprint = null;
+        String nullDigest = KeepAliveDigestUtils.statusDigest(status);
+        status.keyFingerprint = "null";
+        assertNotEquals(nullDigest, KeepAliveDigestUtils.statusDigest(status));
+    }
+
+    @Test
+    public void test_coresDigest() {
+        KeepAliveRequestParamYaml karpy = createRequest();
+        final String digest = KeepAliveDigestUtils.coresDigest(karpy.cores);
+
+        // the order of cores doesn't matter
+        assertEquals(digest, KeepAliveDigestUtils.coresDigest(List.of(karpy.cores.get(1), karpy.cores.get(0))));
+
+        karpy.cores.get(0).tags = "tag1, tag2";
+        assertNotEquals(digest, KeepAliveDigestUtils.coresDigest(karpy.cores));
+
+        karpy = createRequest();
+        karpy.cores.get(0).coreId = null;
+        assertNotEquals(digest, KeepAliveDigestUtils.coresDigest(karpy.cores));
+
+        assertNotEquals(digest, KeepAliveDigestUtils.coresDigest(List.of()));
+    }
+
+    @Test
+    public void test_digestIsTheSameAfterTransfer() {
+        KeepAliveRequestParamYaml karpy = createRequest();
+        final String statusDigest = KeepAliveDigestUtils.statusDigest(karpy.processor.status);
+        final String coresDigest = KeepAliveDigestUtils.coresDigest(karpy.cores);
+        karpy.processor.statusDigest = statusDigest;
+        karpy.processor.coresDigest = coresDigest;
+
+        for (CommFormatUtils.CommFormat format : CommFormatUtils.CommFormat.values()) {
+            byte[] bytes = CommFormatUtils.encode(format, KeepAliveRequestParamYamlUtils.BASE_YAML_UTILS, karpy);
+            KeepAliveRequestParamYaml received = CommFormatUtils.decode(
+                    format, KeepAliveRequestParamYamlUtils.BASE_YAML_UTILS, KeepAliveRequestParamYaml.class, bytes);
+
+            assertEquals(statusDigest, received.processor.statusDigest);
+            assertEquals(coresDigest, received.processor.coresDigest);
+            assertNotNull(received.processor.status);
+            assertEquals(statusDigest, KeepAliveDigestUtils.statusDigest(received.processor.status), format.toString());
+            assertEquals(coresDigest, KeepAliveDigestUtils.coresDigest(received.cores), format.toString());
+        }
+    }
+
+    @Test
+    public void test_acceptedDigestsAreTransferred() {
+        KeepAliveResponseParamYaml resp = new KeepAliveResponseParamYaml();
+        resp.response.acceptedStatusDigest = "status-digest";
+        resp.response.acceptedCoresDigest = "cores-digest";
+
+        for (CommFormatUtils.CommFormat format : CommFormatUtils.CommFormat.values()) {
+            byte[] bytes = CommFormatUtils.encode(format, KeepAliveResponseParamYamlUtils.BASE_YAML_UTILS, resp);
+            KeepAliveResponseParamYaml received = CommFormatUtils.decode(
+                    format, KeepAliveResponseParamYamlUtils.BASE_YAML_UTILS, KeepAliveResponseParamYaml.class, bytes);
+            assertEquals("status-digest", received.response.acceptedStatusDigest);
+            assertEquals("cores-digest", received.response.acceptedCoresDigest);
+        }
+    }
+}
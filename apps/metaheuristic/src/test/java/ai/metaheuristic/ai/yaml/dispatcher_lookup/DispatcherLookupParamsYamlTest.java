@@ -16,10 +16,12 @@
 
 package ai.metaheuristic.ai.yaml.dispatcher_lookup;
 
+import ai.metaheuristic.ai.Consts;
 import ai.metaheuristic.commons.exceptions.CheckIntegrityFailedException;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.parallel.Execution;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.parallel.ExecutionMode.CONCURRENT;
@@ -101,4 +103,32 @@ public class DispatcherLookupParamsYamlTest {
         assertTrue(th.getMessage().startsWith("050.120"));
 
     }
+
+    @Test
+    public void test_downloadConcurrency() {
+        String yaml = """
+            version: 3
+            dispatchers:
+              - signatureRequired: false
+                url: http://localhost:8889
+                lookupType: direct
+                authType: basic
+                restUsername: qqq
+                restPassword: 123
+                assetManagerUrl: http://localhost:8889
+                disabled: false
+                downloadConcurrency: 8
+            assetManagers:
+              - url: http://localhost:8889
+                username: rest_user
+                password: 123
+            """;
+
+        DispatcherLookupParamsYaml params = DispatcherLookupParamsYamlUtils.BASE_YAML_UTILS.to(yaml);
+        assertEquals(8, params.dispatchers.get(0).downloadConcurrency);
+
+        // version 2 doesn't have downloadConcurrency, the default value must be used
+        DispatcherLookupParamsYaml paramsV2 = DispatcherLookupParamsYamlUtils.BASE_YAML_UTILS.to(yaml.replace("version: 3", "version: 2").replace("    downloadConcurrency: 8\n", ""));
+        assertEquals(Consts.DOWNLOAD_CONCURRENCY_DEFAULT, paramsV2.dispatchers.get(0).downloadConcurrency);
+    }
 }
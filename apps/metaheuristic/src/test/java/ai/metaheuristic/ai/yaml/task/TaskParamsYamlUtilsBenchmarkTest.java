@@ -0,0 +1,113 @@
+/*
+ * Metaheuristic, Copyright (C) 2017-2025, Innovation platforms, LLC
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package ai.metaheuristic.ai.yaml.task;
+
+import ai.metaheuristic.api.EnumsApi;
+import ai.metaheuristic.api.data.BaseParams;
+import ai.metaheuristic.commons.yaml.task.TaskParamsYaml;
+import ai.metaheuristic.commons.yaml.task.TaskParamsYamlUtils;
+import ai.metaheuristic.commons.yaml.task.TaskParamsYamlV1;
+import ai.metaheuristic.commons.yaml.versioning.AbstractParamsYamlUtils;
+import org.junit.jupiter.api.Disabled;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TaskParamsYamlUtils.UTILS.to()/toString() with pooled Yaml instances, compared with
+ * creating a new Yaml for each call, as it was done before pooling.
+ *
+ * @author Serge
+ * Date: 10/18/2026
+ * Time: 4:50 PM
+ */
+public class TaskParamsYamlUtilsBenchmarkTest {
+
+    public static String createTaskParams() {
+        TaskParamsYamlV1 v1 = new TaskParamsYamlV1();
+        TaskParamsYamlV1.TaskYamlV1 ty = new TaskParamsYamlV1.TaskYamlV1();
+        v1.task = ty;
+        ty.taskContextId = "1,2#3";
+        ty.execContextId = 1L;
+        ty.processCode = "process-01";
+        ty.context = EnumsApi.FunctionExecContext.external;
+        for (int i = 0; i < 5; i++) {
+            ty.inputs.add(new TaskParamsYamlV1.InputVariableV1(
+                    100L + i, EnumsApi.VariableContext.local, "input-" + i, EnumsApi.DataSourcing.dispatcher, null, null, null, null, true, true, null));
+            ty.outputs.add(new TaskParamsYamlV1.OutputVariableV1(
+                    200L + i, EnumsApi.VariableContext.local, "output-" + i, EnumsApi.DataSourcing.dispatcher, null, null, null, true, null, false, false, null));
+        }
+        TaskParamsYamlV1.FunctionConfigV1 function = new TaskParamsYamlV1.FunctionConfigV1();
+        function.code = "function-code:1.0";
+        function.sourcing = EnumsApi.FunctionSourcing.dispatcher;
+        function.file = "function.py";
+        ty.function = function;
+        ty.workingPath = "working-path";
+        ty.triesAfterError = 3;
+
+        // upgrade to the current version
+        return TaskParamsYamlUtils.UTILS.toString(TaskParamsYamlUtils.UTILS.to(TaskParamsYamlUtils.UTILS.toString(v1)));
+    }
+
+    @Disabled
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @Fork(1)
+    @Threads(8)
+    @State(Scope.Benchmark)
+    @Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+    @Measurement(iterations = 10, time = 1, timeUnit = TimeUnit.SECONDS)
+    public static class PooledVsNewYaml {
+
+        public String yaml;
+        public TaskParamsYaml params;
+
+        @Setup
+        public void setup() {
+            yaml = createTaskParams();
+            params = TaskParamsYamlUtils.UTILS.to(yaml);
+        }
+
+        @Benchmark
+        public TaskParamsYaml toPooled() {
+            return TaskParamsYamlUtils.UTILS.to(yaml);
+        }
+
+        @Benchmark
+        public String toStringPooled() {
+            return TaskParamsYamlUtils.UTILS.toString(params);
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        @Benchmark
+        public TaskParamsYaml toNewYaml() {
+            AbstractParamsYamlUtils utils = TaskParamsYamlUtils.UTILS.getDefault();
+            BaseParams current = utils.getYaml().load(yaml);
+            return (TaskParamsYaml) utils.upgradeTo(current);
+        }
+
+        @Benchmark
+        public String toStringNewYaml() {
+            return TaskParamsYamlUtils.UTILS.getDefault().getYaml().dumpAsMap(params);
+        }
+
+        public static void main(String[] args) throws Exception {
+            org.openjdk.jmh.Main.main(args);
+        }
+    }
+}